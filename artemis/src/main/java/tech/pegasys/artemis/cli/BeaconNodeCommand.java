@@ -327,6 +327,9 @@ public class BeaconNodeCommand implements Callable<Integer> {
         .setMetricsCategories(metricsOptions.getMetricsCategories())
         .setDataPath(dataOptions.getDataPath())
         .setDataStorageMode(dataOptions.getDataStorageMode())
+        .setDataArchiveSnapshotFrequency(dataOptions.getDataArchiveSnapshotFrequency())
+        .setDataHotStateCacheSize(dataOptions.getDataHotStateCacheSize())
+        .setDataWriteBehindIntervalMillis(dataOptions.getDataWriteBehindIntervalMillis())
         .setRestApiPort(beaconRestApiOptions.getRestApiPort())
         .setRestApiDocsEnabled(beaconRestApiOptions.isRestApiDocsEnabled())
         .setRestApiEnabled(beaconRestApiOptions.isRestApiEnabled())
@@ -15,6 +15,7 @@ package tech.pegasys.artemis.cli.options;
 
 import picocli.CommandLine.Option;
 import tech.pegasys.artemis.util.cli.VersionProvider;
+import tech.pegasys.artemis.util.config.ArtemisConfiguration;
 import tech.pegasys.artemis.util.config.StateStorageMode;
 
 public class DataOptions {
@@ -34,6 +35,35 @@ public class DataOptions {
       arity = "1")
   private StateStorageMode dataStorageMode = StateStorageMode.PRUNE;
 
+  @Option(
+      names = {"--Xdata-archive-snapshot-frequency"},
+      paramLabel = "<EPOCHS>",
+      description =
+          "Number of epochs between full state snapshots in archive mode. States in between are stored as diffs.",
+      arity = "1",
+      hidden = true)
+  private int dataArchiveSnapshotFrequency =
+      ArtemisConfiguration.DEFAULT_DATA_ARCHIVE_SNAPSHOT_FREQUENCY;
+
+  @Option(
+      names = {"--Xdata-hot-state-cache-size"},
+      paramLabel = "<INTEGER>",
+      description =
+          "Maximum number of non-finalized states to keep in memory. Other states are regenerated when required.",
+      arity = "1",
+      hidden = true)
+  private int dataHotStateCacheSize = ArtemisConfiguration.DEFAULT_DATA_HOT_STATE_CACHE_SIZE;
+
+  @Option(
+      names = {"--Xdata-write-behind-interval"},
+      paramLabel = "<MILLISECONDS>",
+      description =
+          "Interval between writes of batched non-finalizing updates to the database. Set to 0 to write every update before it is applied.",
+      arity = "1",
+      hidden = true)
+  private int dataWriteBehindIntervalMillis =
+      ArtemisConfiguration.DEFAULT_DATA_WRITE_BEHIND_INTERVAL_MILLIS;
+
   public String getDataPath() {
     return dataPath;
   }
@@ -42,6 +72,18 @@ public class DataOptions {
     return dataStorageMode;
   }
 
+  public int getDataArchiveSnapshotFrequency() {
+    return dataArchiveSnapshotFrequency;
+  }
+
+  public int getDataHotStateCacheSize() {
+    return dataHotStateCacheSize;
+  }
+
+  public int getDataWriteBehindIntervalMillis() {
+    return dataWriteBehindIntervalMillis;
+  }
+
   private static String defaultDataPath() {
     return VersionProvider.defaultStoragePath() + System.getProperty("file.separator") + "data";
   }
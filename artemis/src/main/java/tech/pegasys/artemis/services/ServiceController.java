@@ -15,6 +15,8 @@ package tech.pegasys.artemis.services;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import tech.pegasys.artemis.service.serviceutils.Service;
 import tech.pegasys.artemis.service.serviceutils.ServiceConfig;
 import tech.pegasys.artemis.services.beaconchain.BeaconChainService;
@@ -27,6 +29,8 @@ import tech.pegasys.artemis.validator.client.ValidatorClientService;
 public class ServiceController extends Service {
 
   private final List<Service> services = new ArrayList<>();
+  // Started after the other services so stored deposits it replays reach ready subscribers
+  private final Optional<Service> powchainService;
 
   public ServiceController(final ServiceConfig config) {
     services.add(new TimerService(config));
@@ -34,18 +38,27 @@ public class ServiceController extends Service {
     services.add(new ChainStorageService(config));
     services.add(ValidatorClientService.create(config));
     if (!config.getConfig().isInteropEnabled() && config.getConfig().isEth1Enabled()) {
-      services.add(new PowchainService(config));
+      powchainService = Optional.of(new PowchainService(config));
+    } else {
+      powchainService = Optional.empty();
     }
   }
 
   @Override
   protected SafeFuture<?> doStart() {
     return SafeFuture.allOfFailFast(
-        services.stream().map(Service::start).toArray(SafeFuture[]::new));
+            services.stream().map(Service::start).toArray(SafeFuture[]::new))
+        .thenCompose(
+            __ ->
+                SafeFuture.allOfFailFast(
+                    powchainService.stream().map(Service::start).toArray(SafeFuture[]::new)));
   }
 
   @Override
   protected SafeFuture<?> doStop() {
-    return SafeFuture.allOf(services.stream().map(Service::stop).toArray(SafeFuture[]::new));
+    return SafeFuture.allOf(
+        Stream.concat(services.stream(), powchainService.stream())
+            .map(Service::stop)
+            .toArray(SafeFuture[]::new));
   }
 }
@@ -22,6 +22,7 @@ import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.artemis.bls.mikuli.BLS12381;
 import tech.pegasys.artemis.bls.mikuli.BLS12381.BatchSemiAggregate;
+import tech.pegasys.artemis.bls.mikuli.HashToG2Cache;
 import tech.pegasys.artemis.bls.mikuli.PublicKey;
 
 /**
@@ -280,4 +281,12 @@ public class BLS {
   public static boolean completeBatchVerify(List<BatchSemiAggregate> preparedSignatures) {
     return BLS12381.completeBatchVerify(preparedSignatures);
   }
+
+  /**
+   * Returns the cache of messages hashed to G2 used during verification, primarily to expose its
+   * hit and miss statistics.
+   */
+  public static HashToG2Cache getHashToG2Cache() {
+    return BLS12381.getHashToG2Cache();
+  }
 }
@@ -46,6 +46,8 @@ import org.apache.tuweni.bytes.Bytes;
 public final class BLS12381 {
 
   private static final long MAX_BATCH_VERIFY_RANDOM_MULTIPLIER = Long.MAX_VALUE;
+  private static final HashToG2Cache HASH_TO_G2_CACHE =
+      new HashToG2Cache(HashToG2Cache.DEFAULT_MAXIMUM_SIZE);
 
   private static Random getRND() {
     // Milagro RAND has some issues with generating 'small' random numbers
@@ -192,7 +194,7 @@ public final class BLS12381 {
    * @return True if the verification is successful, false otherwise
    */
   private static boolean coreVerify(PublicKey publicKey, Bytes message, Signature signature) {
-    G2Point hashInGroup2 = new G2Point(hashToG2(message));
+    G2Point hashInGroup2 = HASH_TO_G2_CACHE.hashToG2(message);
     return signature.verify(publicKey, hashInGroup2);
   }
 
@@ -210,7 +212,7 @@ public final class BLS12381 {
   public static boolean coreAggregateVerify(
       List<PublicKey> publicKeys, List<Bytes> messages, Signature signature) {
     List<G2Point> hashesInG2 =
-        messages.stream().map(m -> new G2Point(hashToG2(m))).collect(Collectors.toList());
+        messages.stream().map(HASH_TO_G2_CACHE::hashToG2).collect(Collectors.toList());
     return signature.aggregateVerify(publicKeys, hashesInG2);
   }
 
@@ -231,11 +233,11 @@ public final class BLS12381 {
       // optimization: we may omit multiplication of a single component (i.e. multiplier is 1)
       // let it be the component with index 0
       sigG2Point = signature.g2Point();
-      msgG2Point = G2Point.hashToG2(message);
+      msgG2Point = HASH_TO_G2_CACHE.hashToG2(message);
     } else {
       Scalar randomMult = nextBatchRandomMultiplier();
       sigG2Point = signature.g2Point().mul(randomMult);
-      msgG2Point = G2Point.hashToG2(message).mul(randomMult);
+      msgG2Point = HASH_TO_G2_CACHE.hashToG2(message).mul(randomMult);
     }
 
     GTPoint pair = AtePairing.pairNoExp(PublicKey.aggregate(publicKeys).g1Point(), msgG2Point);
@@ -269,17 +271,17 @@ public final class BLS12381 {
       // optimization: we may omit multiplication of a single component (i.e. multiplier is 1)
       // let it be the component with index 0
       sigG2Point1 = signature1.g2Point();
-      msgG2Point1 = G2Point.hashToG2(message1);
+      msgG2Point1 = HASH_TO_G2_CACHE.hashToG2(message1);
     } else {
       Scalar randomMult = nextBatchRandomMultiplier();
       sigG2Point1 = signature1.g2Point().mul(randomMult);
-      msgG2Point1 = G2Point.hashToG2(message1).mul(randomMult);
+      msgG2Point1 = HASH_TO_G2_CACHE.hashToG2(message1).mul(randomMult);
     }
     PublicKey publicKey1 = PublicKey.aggregate(publicKeys1);
 
     Scalar randomMult2 = nextBatchRandomMultiplier();
     G2Point sigG2Point2 = signature2.g2Point().mul(randomMult2);
-    G2Point msgG2Point2 = G2Point.hashToG2(message2).mul(randomMult2);
+    G2Point msgG2Point2 = HASH_TO_G2_CACHE.hashToG2(message2).mul(randomMult2);
     PublicKey publicKey2 = PublicKey.aggregate(publicKeys2);
 
     GTPoint pair2 =
@@ -316,6 +318,15 @@ public final class BLS12381 {
     return AtePairing.fexp(sigPair).equals(AtePairing.fexp(pairProd));
   }
 
+  /**
+   * Returns the cache of messages hashed to G2 which is shared by all verification methods.
+   *
+   * @return the cache, not null
+   */
+  public static HashToG2Cache getHashToG2Cache() {
+    return HASH_TO_G2_CACHE;
+  }
+
   private static Scalar nextBatchRandomMultiplier() {
     long randomLong =
         (getRND().nextLong() & 0x7fffffffffffffffL) % MAX_BATCH_VERIFY_RANDOM_MULTIPLIER;
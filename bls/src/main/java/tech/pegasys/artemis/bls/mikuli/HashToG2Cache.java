@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.bls.mikuli;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.milagro.amcl.BLS381.ECP2;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Bounded, thread safe cache of messages hashed to G2.
+ *
+ * <p>Attestations from the same committee share the same signing root so the (expensive) hash to
+ * curve is repeated for every signature verified against it. Concurrent requests for the same
+ * message wait for a single computation rather than hashing it again.
+ *
+ * <p>Milagro points are mutable and not thread safe, so each caller receives its own copy of the
+ * cached point.
+ */
+public final class HashToG2Cache {
+  static final long DEFAULT_MAXIMUM_SIZE = 4096;
+
+  private final Cache<Bytes, G2Point> cache;
+  private volatile Runnable hitListener = () -> {};
+  private volatile Runnable missListener = () -> {};
+
+  HashToG2Cache(final long maximumSize) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+  }
+
+  /**
+   * Returns the G2 point for the message, calculating it if it's not already cached.
+   *
+   * @param message The message to hash, not null
+   * @return A copy of the message hashed to G2
+   */
+  G2Point hashToG2(final Bytes message) {
+    final AtomicBoolean computed = new AtomicBoolean(false);
+    final G2Point cachedPoint;
+    try {
+      cachedPoint =
+          cache.get(
+              message,
+              () -> {
+                computed.set(true);
+                return G2Point.hashToG2(message);
+              });
+    } catch (final ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException("Failed to hash message to G2", e.getCause());
+    }
+    (computed.get() ? missListener : hitListener).run();
+    return new G2Point(new ECP2(cachedPoint.getPoint()));
+  }
+
+  /**
+   * Registers callbacks run each time a message is found in the cache or has to be hashed.
+   *
+   * @param hitListener Run when the message was already cached
+   * @param missListener Run when the message had to be hashed to G2
+   */
+  public void subscribeCacheAccess(final Runnable hitListener, final Runnable missListener) {
+    this.hitListener = hitListener;
+    this.missListener = missListener;
+  }
+
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  public long getSize() {
+    return cache.size();
+  }
+}
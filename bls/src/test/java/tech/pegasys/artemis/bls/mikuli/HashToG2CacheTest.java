@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.bls.mikuli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class HashToG2CacheTest {
+
+  private final HashToG2Cache cache = new HashToG2Cache(2);
+
+  @Test
+  void succeedsWhenCachedPointMatchesHashToG2() {
+    Bytes message = Bytes.fromHexString("0x1234");
+    assertEquals(G2Point.hashToG2(message), cache.hashToG2(message));
+  }
+
+  @Test
+  void succeedsWhenRepeatedMessageIsServedFromCache() {
+    Bytes message = Bytes.fromHexString("0x1234");
+    G2Point first = cache.hashToG2(message);
+    G2Point second = cache.hashToG2(Bytes.fromHexString("0x1234"));
+
+    assertEquals(first, second);
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  void succeedsWhenModifyingReturnedPointDoesNotChangeCachedPoint() {
+    Bytes message = Bytes.fromHexString("0x1234");
+    G2Point first = cache.hashToG2(message);
+    first.getPoint().inf();
+    G2Point second = cache.hashToG2(message);
+
+    assertNotSame(first, second);
+    assertEquals(G2Point.hashToG2(message), second);
+  }
+
+  @Test
+  void succeedsWhenCacheAccessListenersAreNotified() {
+    AtomicInteger hits = new AtomicInteger();
+    AtomicInteger misses = new AtomicInteger();
+    cache.subscribeCacheAccess(hits::incrementAndGet, misses::incrementAndGet);
+
+    cache.hashToG2(Bytes.fromHexString("0x1234"));
+    cache.hashToG2(Bytes.fromHexString("0x1234"));
+
+    assertEquals(1, hits.get());
+    assertEquals(1, misses.get());
+  }
+
+  @Test
+  void succeedsWhenCacheIsBounded() {
+    cache.hashToG2(Bytes.fromHexString("0x01"));
+    cache.hashToG2(Bytes.fromHexString("0x02"));
+    cache.hashToG2(Bytes.fromHexString("0x03"));
+
+    assertTrue(cache.getSize() <= 2);
+    assertEquals(3, cache.getMissCount());
+  }
+}
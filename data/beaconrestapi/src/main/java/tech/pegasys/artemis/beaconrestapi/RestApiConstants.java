@@ -29,6 +29,8 @@ public class RestApiConstants {
   public static final String TAG_NETWORK = "Network";
   public static final String TAG_VALIDATOR = "Validator";
 
+  public static final String SSZ_CONTENT_TYPE = "application/octet-stream";
+
   public static final String RES_OK = "200"; // SC_OK
   public static final String RES_ACCEPTED = "202"; // SC_ACCEPTED
   public static final String RES_NO_CONTENT = "204"; // SC_NO_CONTENT
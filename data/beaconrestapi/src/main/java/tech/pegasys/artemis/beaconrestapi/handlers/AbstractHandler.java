@@ -15,14 +15,21 @@ package tech.pegasys.artemis.beaconrestapi.handlers;
 
 import static javax.servlet.http.HttpServletResponse.SC_GONE;
 import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.SSZ_CONTENT_TYPE;
 
+import io.javalin.core.util.Header;
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.artemis.provider.JsonProvider;
 import tech.pegasys.artemis.util.async.SafeFuture;
 
 public abstract class AbstractHandler implements Handler {
+  // Responses up to this size are fully serialized before the response is committed
+  static final int STREAMING_THRESHOLD_BYTES = 64 * 1024;
 
   protected final JsonProvider jsonProvider;
 
@@ -72,9 +79,52 @@ public abstract class AbstractHandler implements Handler {
             }));
   }
 
+  protected void handlePossiblyMissingSszResult(
+      final Context ctx, final SafeFuture<Optional<Bytes>> future) {
+    handleOptionalSszResult(ctx, future, SC_NOT_FOUND);
+  }
+
+  protected void handlePossiblyGoneSszResult(
+      final Context ctx, final SafeFuture<Optional<Bytes>> future) {
+    handleOptionalSszResult(ctx, future, SC_GONE);
+  }
+
+  protected void handleOptionalSszResult(
+      final Context ctx, final SafeFuture<Optional<Bytes>> future, final int missingStatus) {
+    ctx.result(
+        future.thenApply(
+            result -> {
+              if (result.isPresent()) {
+                ctx.contentType(SSZ_CONTENT_TYPE);
+                return new ByteArrayInputStream(result.get().toArrayUnsafe());
+              } else {
+                ctx.status(missingStatus);
+                return null;
+              }
+            }));
+  }
+
+  protected boolean isSszRequested(final Context ctx) {
+    final String accept = ctx.header(Header.ACCEPT);
+    return accept != null && accept.contains(SSZ_CONTENT_TYPE);
+  }
+
+  // Write the JSON straight to the response instead of buffering all of it, so any headers must be
+  // set before calling this. If serialization fails within the first STREAMING_THRESHOLD_BYTES
+  // nothing has been written and the error is reported as usual, otherwise the response is
+  // truncated.
+  protected <T> Optional<String> streamJson(final Context ctx, final T result) throws IOException {
+    final DeferredCommitOutputStream out =
+        new DeferredCommitOutputStream(ctx.res, STREAMING_THRESHOLD_BYTES);
+    jsonProvider.writeJson(out, result);
+    out.complete();
+    return Optional.empty();
+  }
+
   @FunctionalInterface
   public interface ResultProcessor<T> {
-    // Process result, returning an optional serialized response
+    // Process result, returning an optional serialized response. An empty result means the
+    // response has already been written.
     Optional<String> process(final Context context, final T result) throws Exception;
   }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.beaconrestapi.handlers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Buffers output until it exceeds a threshold before writing anything to the servlet response.
+ *
+ * <p>Writing to the response commits its status and headers, after which a failure can no longer
+ * be reported as an error status. Responses that fit within the threshold are therefore complete
+ * before the response is committed, while larger responses are streamed to avoid holding the whole
+ * body in memory. If a larger response fails part way through, the client receives a successful
+ * status with a truncated body.
+ */
+class DeferredCommitOutputStream extends OutputStream {
+  private final HttpServletResponse response;
+  private final int threshold;
+  private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+  private OutputStream responseStream;
+
+  DeferredCommitOutputStream(final HttpServletResponse response, final int threshold) {
+    this.response = response;
+    this.threshold = threshold;
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    if (responseStream != null) {
+      responseStream.write(b, off, len);
+      return;
+    }
+    buffer.write(b, off, len);
+    if (buffer.size() > threshold) {
+      startStreaming();
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    // Buffered content is only written once the threshold is exceeded or the output is complete
+    if (responseStream != null) {
+      responseStream.flush();
+    }
+  }
+
+  /** Writes any buffered content to the response once the full output has been produced. */
+  void complete() throws IOException {
+    if (responseStream == null) {
+      startStreaming();
+    }
+    responseStream.flush();
+  }
+
+  private void startStreaming() throws IOException {
+    responseStream = response.getOutputStream();
+    buffer.writeTo(responseStream);
+    buffer = null;
+  }
+}
@@ -14,8 +14,9 @@
 package tech.pegasys.artemis.beaconrestapi.handlers.beacon;
 
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
-import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static tech.pegasys.artemis.beaconrestapi.CacheControlUtils.CACHE_NONE;
 import static tech.pegasys.artemis.beaconrestapi.CacheControlUtils.getMaxAgeForSignedBlock;
+import static tech.pegasys.artemis.beaconrestapi.CacheControlUtils.getMaxAgeForSlot;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.EPOCH;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.EPOCH_QUERY_DESCRIPTION;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.RES_BAD_REQUEST;
@@ -25,12 +26,12 @@ import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.ROOT;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.ROOT_QUERY_DESCRIPTION;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.SLOT;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.SLOT_QUERY_DESCRIPTION;
+import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.SSZ_CONTENT_TYPE;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.TAG_BEACON;
 import static tech.pegasys.artemis.beaconrestapi.SingleQueryParameterUtils.getParameterValueAsBytes32;
 import static tech.pegasys.artemis.beaconrestapi.SingleQueryParameterUtils.getParameterValueAsUnsignedLong;
 import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.primitives.UnsignedLong;
 import io.javalin.core.util.Header;
 import io.javalin.http.Context;
@@ -40,16 +41,18 @@ import io.javalin.plugin.openapi.annotations.OpenApi;
 import io.javalin.plugin.openapi.annotations.OpenApiContent;
 import io.javalin.plugin.openapi.annotations.OpenApiParam;
 import io.javalin.plugin.openapi.annotations.OpenApiResponse;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.api.ChainDataProvider;
 import tech.pegasys.artemis.api.schema.SignedBeaconBlock;
+import tech.pegasys.artemis.beaconrestapi.handlers.AbstractHandler;
 import tech.pegasys.artemis.beaconrestapi.schema.BadRequest;
 import tech.pegasys.artemis.provider.JsonProvider;
 
-public class GetBlock implements Handler {
+public class GetBlock extends AbstractHandler implements Handler {
 
   public static final String ROUTE = "/beacon/block";
   static final String TOO_MANY_PARAMETERS =
@@ -58,11 +61,10 @@ public class GetBlock implements Handler {
       "No parameters were provided; please supply slot, epoch, or root.";
   static final String NO_VALID_PARAMETER =
       "An invalid parameter was specified; please supply slot, epoch, or root.";
-  private final JsonProvider jsonProvider;
   private final ChainDataProvider provider;
 
   public GetBlock(final ChainDataProvider provider, final JsonProvider jsonProvider) {
-    this.jsonProvider = jsonProvider;
+    super(jsonProvider);
     this.provider = provider;
   }
 
@@ -77,11 +79,15 @@ public class GetBlock implements Handler {
         @OpenApiParam(name = ROOT, description = ROOT_QUERY_DESCRIPTION)
       },
       description =
-          "Returns the beacon chain block that matches the specified epoch, slot, or block root.",
+          "Returns the beacon chain block that matches the specified epoch, slot, or block root.\n\n"
+              + "Returns the SSZ encoded block if the request accepts `application/octet-stream`.",
       responses = {
         @OpenApiResponse(
             status = RES_OK,
-            content = @OpenApiContent(from = SignedBeaconBlock.class)),
+            content = {
+              @OpenApiContent(from = SignedBeaconBlock.class),
+              @OpenApiContent(type = SSZ_CONTENT_TYPE)
+            }),
         @OpenApiResponse(status = RES_BAD_REQUEST, description = "Invalid parameter supplied"),
         @OpenApiResponse(status = RES_NOT_FOUND, description = "Specified block not found")
       })
@@ -98,10 +104,13 @@ public class GetBlock implements Handler {
       if (queryParamMap.containsKey(ROOT)) {
         final Bytes32 blockRoot = getParameterValueAsBytes32(queryParamMap, ROOT);
 
-        ctx.result(
-            provider
-                .getBlockByBlockRoot(blockRoot)
-                .thenApplyChecked(block -> handleResponseContext(ctx, block)));
+        if (isSszRequested(ctx)) {
+          ctx.header(Header.CACHE_CONTROL, CACHE_NONE);
+          handlePossiblyMissingSszResult(ctx, provider.getBlockSszByBlockRoot(blockRoot));
+        } else {
+          handlePossiblyMissingResult(
+              ctx, provider.getBlockByBlockRoot(blockRoot), this::handleResult);
+        }
         return;
       }
 
@@ -115,10 +124,12 @@ public class GetBlock implements Handler {
         throw new IllegalArgumentException(NO_VALID_PARAMETER);
       }
 
-      ctx.result(
-          provider
-              .getBlockBySlot(slot)
-              .thenApplyChecked(block -> handleResponseContext(ctx, block)));
+      if (isSszRequested(ctx)) {
+        ctx.header(Header.CACHE_CONTROL, getMaxAgeForSlot(provider, slot));
+        handlePossiblyMissingSszResult(ctx, provider.getBlockSszBySlot(slot));
+      } else {
+        handlePossiblyMissingResult(ctx, provider.getBlockBySlot(slot), this::handleResult);
+      }
 
     } catch (final IllegalArgumentException e) {
       ctx.status(SC_BAD_REQUEST);
@@ -126,15 +137,9 @@ public class GetBlock implements Handler {
     }
   }
 
-  private String handleResponseContext(Context ctx, Optional<SignedBeaconBlock> blockOptional)
-      throws JsonProcessingException {
-    if (blockOptional.isPresent()) {
-      SignedBeaconBlock signedBeaconBlock = blockOptional.get();
-      ctx.header(Header.CACHE_CONTROL, getMaxAgeForSignedBlock(provider, signedBeaconBlock));
-      return jsonProvider.objectToJSON(signedBeaconBlock);
-    } else {
-      ctx.status(SC_NOT_FOUND);
-      return null;
-    }
+  private Optional<String> handleResult(Context ctx, final SignedBeaconBlock signedBeaconBlock)
+      throws IOException {
+    ctx.header(Header.CACHE_CONTROL, getMaxAgeForSignedBlock(provider, signedBeaconBlock));
+    return streamJson(ctx, signedBeaconBlock);
   }
 }
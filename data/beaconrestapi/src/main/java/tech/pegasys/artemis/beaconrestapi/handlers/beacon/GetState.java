@@ -14,7 +14,11 @@
 package tech.pegasys.artemis.beaconrestapi.handlers.beacon;
 
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
+import static javax.servlet.http.HttpServletResponse.SC_GONE;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static tech.pegasys.artemis.beaconrestapi.CacheControlUtils.CACHE_NONE;
 import static tech.pegasys.artemis.beaconrestapi.CacheControlUtils.getMaxAgeForBeaconState;
+import static tech.pegasys.artemis.beaconrestapi.CacheControlUtils.getMaxAgeForSlot;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.NO_CONTENT_PRE_GENESIS;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.RES_BAD_REQUEST;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.RES_INTERNAL_ERROR;
@@ -25,11 +29,11 @@ import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.ROOT;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.ROOT_QUERY_DESCRIPTION;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.SLOT;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.SLOT_QUERY_DESCRIPTION;
+import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.SSZ_CONTENT_TYPE;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.TAG_BEACON;
 import static tech.pegasys.artemis.beaconrestapi.SingleQueryParameterUtils.getParameterValueAsBytes32;
 import static tech.pegasys.artemis.beaconrestapi.SingleQueryParameterUtils.getParameterValueAsUnsignedLong;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.primitives.UnsignedLong;
 import io.javalin.core.util.Header;
 import io.javalin.http.Context;
@@ -39,15 +43,16 @@ import io.javalin.plugin.openapi.annotations.OpenApi;
 import io.javalin.plugin.openapi.annotations.OpenApiContent;
 import io.javalin.plugin.openapi.annotations.OpenApiParam;
 import io.javalin.plugin.openapi.annotations.OpenApiResponse;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.api.ChainDataProvider;
 import tech.pegasys.artemis.api.schema.BeaconState;
 import tech.pegasys.artemis.beaconrestapi.handlers.AbstractHandler;
 import tech.pegasys.artemis.beaconrestapi.schema.BadRequest;
 import tech.pegasys.artemis.provider.JsonProvider;
-import tech.pegasys.artemis.util.async.SafeFuture;
 
 public class GetState extends AbstractHandler implements Handler {
   public static final String ROUTE = "/beacon/state";
@@ -68,9 +73,16 @@ public class GetState extends AbstractHandler implements Handler {
         @OpenApiParam(name = ROOT, description = ROOT_QUERY_DESCRIPTION),
         @OpenApiParam(name = SLOT, description = SLOT_QUERY_DESCRIPTION)
       },
-      description = "Returns the beacon chain state that matches the specified slot or block root.",
+      description =
+          "Returns the beacon chain state that matches the specified slot or block root.\n\n"
+              + "Returns the SSZ encoded state if the request accepts `application/octet-stream`.",
       responses = {
-        @OpenApiResponse(status = RES_OK, content = @OpenApiContent(from = BeaconState.class)),
+        @OpenApiResponse(
+            status = RES_OK,
+            content = {
+              @OpenApiContent(from = BeaconState.class),
+              @OpenApiContent(type = SSZ_CONTENT_TYPE)
+            }),
         @OpenApiResponse(
             status = RES_NOT_FOUND,
             description = "The beacon state matching the supplied query parameter was not found."),
@@ -82,28 +94,34 @@ public class GetState extends AbstractHandler implements Handler {
   public void handle(Context ctx) throws Exception {
     try {
       final Map<String, List<String>> parameters = ctx.queryParamMap();
-      final SafeFuture<Optional<BeaconState>> future;
+      final boolean sszRequested = isSszRequested(ctx);
       if (parameters.size() == 0) {
         throw new IllegalArgumentException("No query parameters specified");
       }
 
-      boolean isFinalizedState = false;
       if (parameters.containsKey(ROOT)) {
-        future = provider.getStateByBlockRoot(getParameterValueAsBytes32(parameters, ROOT));
+        final Bytes32 blockRoot = getParameterValueAsBytes32(parameters, ROOT);
+        if (sszRequested) {
+          ctx.header(Header.CACHE_CONTROL, CACHE_NONE);
+          this.handlePossiblyMissingSszResult(ctx, provider.getStateSszByBlockRoot(blockRoot));
+        } else {
+          this.handlePossiblyMissingResult(
+              ctx, provider.getStateByBlockRoot(blockRoot), this::handleResult);
+        }
       } else if (parameters.containsKey(SLOT)) {
         final UnsignedLong slot = getParameterValueAsUnsignedLong(parameters, SLOT);
-        future = provider.getStateAtSlot(getParameterValueAsUnsignedLong(parameters, SLOT));
-        isFinalizedState = provider.isFinalized(slot);
+        final int missingStatus = provider.isFinalized(slot) ? SC_GONE : SC_NOT_FOUND;
+        if (sszRequested) {
+          ctx.header(Header.CACHE_CONTROL, getMaxAgeForSlot(provider, slot));
+          this.handleOptionalSszResult(ctx, provider.getStateSszAtSlot(slot), missingStatus);
+        } else {
+          this.handleOptionalResult(
+              ctx, provider.getStateAtSlot(slot), this::handleResult, missingStatus);
+        }
       } else {
         ctx.result(
             jsonProvider.objectToJSON(new BadRequest("expected one of " + SLOT + " or " + ROOT)));
         ctx.status(SC_BAD_REQUEST);
-        return;
-      }
-      if (isFinalizedState) {
-        this.handlePossiblyGoneResult(ctx, future, this::handleResult);
-      } else {
-        this.handlePossiblyMissingResult(ctx, future, this::handleResult);
       }
     } catch (final IllegalArgumentException e) {
       ctx.result(jsonProvider.objectToJSON(new BadRequest(e.getMessage())));
@@ -112,8 +130,8 @@ public class GetState extends AbstractHandler implements Handler {
   }
 
   private Optional<String> handleResult(Context ctx, final BeaconState beaconState)
-      throws JsonProcessingException {
+      throws IOException {
     ctx.header(Header.CACHE_CONTROL, getMaxAgeForBeaconState(provider, beaconState));
-    return Optional.of(jsonProvider.objectToJSON(beaconState));
+    return streamJson(ctx, beaconState);
   }
 }
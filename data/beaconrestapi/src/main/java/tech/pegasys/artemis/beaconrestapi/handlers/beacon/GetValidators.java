@@ -16,7 +16,8 @@ package tech.pegasys.artemis.beaconrestapi.handlers.beacon;
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
 import static tech.pegasys.artemis.api.schema.BeaconValidators.PAGE_SIZE_DEFAULT;
 import static tech.pegasys.artemis.api.schema.BeaconValidators.PAGE_TOKEN_DEFAULT;
-import static tech.pegasys.artemis.beaconrestapi.CacheControlUtils.getMaxAgeForBeaconState;
+import static tech.pegasys.artemis.beaconrestapi.CacheControlUtils.CACHE_NONE;
+import static tech.pegasys.artemis.beaconrestapi.CacheControlUtils.getMaxAgeForSlot;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.ACTIVE;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.EPOCH;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.EPOCH_QUERY_DESCRIPTION;
@@ -44,7 +45,6 @@ import java.util.Map;
 import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.api.ChainDataProvider;
-import tech.pegasys.artemis.api.schema.BeaconState;
 import tech.pegasys.artemis.api.schema.BeaconValidators;
 import tech.pegasys.artemis.beaconrestapi.handlers.AbstractHandler;
 import tech.pegasys.artemis.beaconrestapi.schema.BadRequest;
@@ -114,24 +114,25 @@ public class GetValidators extends AbstractHandler implements Handler {
               parameters, PAGE_TOKEN, PAGE_TOKEN_DEFAULT);
 
       boolean isFinalized = false;
-      final SafeFuture<Optional<BeaconState>> future;
+      String cacheControl = CACHE_NONE;
+      final SafeFuture<Optional<BeaconValidators>> future;
       if (parameters.containsKey(EPOCH)) {
         UnsignedLong epoch = getParameterValueAsUnsignedLong(parameters, EPOCH);
         UnsignedLong slot = BeaconStateUtil.compute_start_slot_at_epoch(epoch);
         isFinalized = chainDataProvider.isFinalized(slot);
-        future = chainDataProvider.getStateAtSlot(slot);
+        cacheControl = getMaxAgeForSlot(chainDataProvider, slot);
+        future = chainDataProvider.getValidatorsAtSlot(slot, activeOnly, pageSize, pageToken);
       } else {
         Bytes32 blockRoot =
             chainDataProvider.getBestBlockRoot().orElseThrow(ChainDataUnavailableException::new);
-        future = chainDataProvider.getStateByBlockRoot(blockRoot);
+        future =
+            chainDataProvider.getValidatorsByBlockRoot(blockRoot, activeOnly, pageSize, pageToken);
       }
 
       if (isFinalized) {
-        this.handlePossiblyGoneResult(
-            ctx, future, getResultProcessor(activeOnly, pageSize, pageToken));
+        this.handlePossiblyGoneResult(ctx, future, getResultProcessor(cacheControl));
       } else {
-        this.handlePossiblyMissingResult(
-            ctx, future, getResultProcessor(activeOnly, pageSize, pageToken));
+        this.handlePossiblyMissingResult(ctx, future, getResultProcessor(cacheControl));
       }
     } catch (final IllegalArgumentException e) {
       ctx.result(jsonProvider.objectToJSON(new BadRequest(e.getMessage())));
@@ -139,12 +140,10 @@ public class GetValidators extends AbstractHandler implements Handler {
     }
   }
 
-  private final ResultProcessor<BeaconState> getResultProcessor(
-      final boolean activeOnly, final int pageSize, final int pageToken) {
-    return (ctx, state) -> {
-      final BeaconValidators result = new BeaconValidators(state, activeOnly, pageSize, pageToken);
-      ctx.header(Header.CACHE_CONTROL, getMaxAgeForBeaconState(chainDataProvider, state));
-      return Optional.of(jsonProvider.objectToJSON(result));
+  private ResultProcessor<BeaconValidators> getResultProcessor(final String cacheControl) {
+    return (ctx, result) -> {
+      ctx.header(Header.CACHE_CONTROL, cacheControl);
+      return streamJson(ctx, result);
     };
   }
 
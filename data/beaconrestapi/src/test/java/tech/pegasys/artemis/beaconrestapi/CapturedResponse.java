@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.beaconrestapi;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import io.javalin.http.Context;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/** Captures response bodies that handlers stream directly to the servlet response. */
+public class CapturedResponse {
+  private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+  private final HttpServletResponse response = mock(HttpServletResponse.class);
+  private final Context context;
+
+  public CapturedResponse() {
+    try {
+      when(response.getOutputStream()).thenReturn(new CapturingOutputStream());
+    } catch (final IOException e) {
+      throw new IllegalStateException("Unable to capture response", e);
+    }
+    context = spy(new Context(mock(HttpServletRequest.class), response, Map.of()));
+  }
+
+  /**
+   * @return A context writing to this response. It is a Mockito spy so it can be stubbed and
+   *     verified in the same way as a mock.
+   */
+  public Context getContext() {
+    return context;
+  }
+
+  public HttpServletResponse getResponse() {
+    return response;
+  }
+
+  public String getBody() {
+    return body.toString(StandardCharsets.UTF_8);
+  }
+
+  private class CapturingOutputStream extends ServletOutputStream {
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setWriteListener(final WriteListener writeListener) {}
+
+    @Override
+    public void write(final int b) {
+      body.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+      body.write(b, off, len);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.beaconrestapi.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.javalin.http.Context;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.beaconrestapi.CapturedResponse;
+import tech.pegasys.artemis.provider.JsonProvider;
+
+public class AbstractHandlerTest {
+  private final JsonProvider jsonProvider = new JsonProvider();
+  private final CapturedResponse response = new CapturedResponse();
+  private final Context context = response.getContext();
+  private final TestHandler handler = new TestHandler(jsonProvider);
+
+  @Test
+  public void streamJson_shouldWriteSmallResponse() throws Exception {
+    final List<String> result = List.of("a", "b");
+
+    assertThat(handler.streamJson(context, result)).isEmpty();
+
+    assertThat(response.getBody()).isEqualTo(jsonProvider.objectToJSON(result));
+  }
+
+  @Test
+  public void streamJson_shouldWriteResponseLargerThanThreshold() throws Exception {
+    final List<String> result =
+        List.of("a".repeat(AbstractHandler.STREAMING_THRESHOLD_BYTES), "b");
+
+    handler.streamJson(context, result);
+
+    assertThat(response.getBody()).isEqualTo(jsonProvider.objectToJSON(result));
+  }
+
+  @Test
+  public void streamJson_shouldNotCommitResponseWhenSerializationFailsWithinThreshold()
+      throws Exception {
+    assertThatThrownBy(() -> handler.streamJson(context, List.of("a", new FailingValue())))
+        .isInstanceOf(IOException.class);
+
+    // Nothing was written so the error can still be reported with an error status
+    verify(response.getResponse(), never()).getOutputStream();
+    assertThat(response.getBody()).isEmpty();
+  }
+
+  @Test
+  public void streamJson_shouldTruncateResponseWhenSerializationFailsAfterThreshold() {
+    final String largeValue = "a".repeat(AbstractHandler.STREAMING_THRESHOLD_BYTES);
+
+    assertThatThrownBy(() -> handler.streamJson(context, List.of(largeValue, new FailingValue())))
+        .isInstanceOf(IOException.class);
+
+    assertThat(response.getBody()).startsWith("[\"" + largeValue);
+  }
+
+  public static class FailingValue {
+    public String getValue() {
+      throw new IllegalStateException("Serialization failed");
+    }
+  }
+
+  private static class TestHandler extends AbstractHandler {
+    private TestHandler(final JsonProvider jsonProvider) {
+      super(jsonProvider);
+    }
+
+    @Override
+    public void handle(final Context ctx) {}
+  }
+}
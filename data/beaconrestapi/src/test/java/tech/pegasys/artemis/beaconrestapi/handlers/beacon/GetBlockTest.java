@@ -17,13 +17,16 @@ import static com.google.common.primitives.UnsignedLong.ONE;
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
 import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.artemis.beaconrestapi.CacheControlUtils.CACHE_NONE;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.EPOCH;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.ROOT;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.SLOT;
+import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.SSZ_CONTENT_TYPE;
 import static tech.pegasys.artemis.beaconrestapi.handlers.beacon.GetBlock.NO_PARAMETERS;
 import static tech.pegasys.artemis.beaconrestapi.handlers.beacon.GetBlock.NO_VALID_PARAMETER;
 import static tech.pegasys.artemis.beaconrestapi.handlers.beacon.GetBlock.TOO_MANY_PARAMETERS;
@@ -32,18 +35,22 @@ import static tech.pegasys.artemis.util.async.SafeFuture.completedFuture;
 import com.google.common.primitives.UnsignedLong;
 import io.javalin.core.util.Header;
 import io.javalin.http.Context;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import tech.pegasys.artemis.api.ChainDataProvider;
 import tech.pegasys.artemis.api.schema.SignedBeaconBlock;
+import tech.pegasys.artemis.beaconrestapi.CapturedResponse;
 import tech.pegasys.artemis.beaconrestapi.schema.BadRequest;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.artemis.provider.JsonProvider;
 import tech.pegasys.artemis.util.async.SafeFuture;
 
@@ -53,7 +60,8 @@ public class GetBlockTest {
   @SuppressWarnings("unchecked")
   private final ArgumentCaptor<SafeFuture<String>> args = ArgumentCaptor.forClass(SafeFuture.class);
 
-  private final Context context = mock(Context.class);
+  private final CapturedResponse response = new CapturedResponse();
+  private final Context context = response.getContext();
   private final ChainDataProvider provider = mock(ChainDataProvider.class);
 
   private final JsonProvider jsonProvider = new JsonProvider();
@@ -109,9 +117,9 @@ public class GetBlockTest {
     handler.handle(context);
     verify(context).result(args.capture());
     verify(context).header(Header.CACHE_CONTROL, CACHE_NONE);
-    SafeFuture<String> future = args.getValue();
-    String data = future.get();
-    assertThat(data).isEqualTo(jsonProvider.objectToJSON(new SignedBeaconBlock(signedBeaconBlock)));
+    args.getValue().join();
+    assertThat(response.getBody())
+        .isEqualTo(jsonProvider.objectToJSON(new SignedBeaconBlock(signedBeaconBlock)));
   }
 
   @Test
@@ -136,9 +144,38 @@ public class GetBlockTest {
     handler.handle(context);
     verify(context).result(args.capture());
     verify(context).header(Header.CACHE_CONTROL, CACHE_NONE);
-    SafeFuture<String> future = args.getValue();
-    String data = future.get();
-    assertThat(data).isEqualTo(jsonProvider.objectToJSON(new SignedBeaconBlock(signedBeaconBlock)));
+    args.getValue().join();
+    assertThat(response.getBody())
+        .isEqualTo(jsonProvider.objectToJSON(new SignedBeaconBlock(signedBeaconBlock)));
+  }
+
+  @Test
+  public void shouldReturnSszEncodedBlockWhenOctetStreamAccepted() throws Exception {
+    final Map<String, List<String>> params = Map.of(SLOT, List.of(ONE.toString()));
+    final Bytes ssz = SimpleOffsetSerializer.serialize(signedBeaconBlock);
+    when(context.queryParamMap()).thenReturn(params);
+    when(context.header(Header.ACCEPT)).thenReturn(SSZ_CONTENT_TYPE);
+    when(provider.getBlockSszBySlot(ONE)).thenReturn(completedFuture(Optional.of(ssz)));
+
+    handler.handle(context);
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<SafeFuture<InputStream>> sszArgs =
+        ArgumentCaptor.forClass(SafeFuture.class);
+    verify(context).result(sszArgs.capture());
+    verify(context).contentType(SSZ_CONTENT_TYPE);
+    verify(provider, never()).getBlockBySlot(any());
+    assertThat(Bytes.wrap(sszArgs.getValue().get().readAllBytes())).isEqualTo(ssz);
+  }
+
+  @Test
+  public void shouldReturnNotFoundWhenSszBlockNotFound() throws Exception {
+    final Map<String, List<String>> params = Map.of(ROOT, List.of(blockRoot.toHexString()));
+    when(context.queryParamMap()).thenReturn(params);
+    when(context.header(Header.ACCEPT)).thenReturn(SSZ_CONTENT_TYPE);
+    when(provider.getBlockSszByBlockRoot(blockRoot)).thenReturn(completedFuture(Optional.empty()));
+
+    handler.handle(context);
+    verify(context).status(SC_NOT_FOUND);
   }
 
   @Test
@@ -163,9 +200,9 @@ public class GetBlockTest {
     handler.handle(context);
     verify(context).result(args.capture());
     verify(context).header(Header.CACHE_CONTROL, CACHE_NONE);
-    SafeFuture<String> future = args.getValue();
-    String data = future.get();
-    assertThat(data).isEqualTo(jsonProvider.objectToJSON(new SignedBeaconBlock(signedBeaconBlock)));
+    args.getValue().join();
+    assertThat(response.getBody())
+        .isEqualTo(jsonProvider.objectToJSON(new SignedBeaconBlock(signedBeaconBlock)));
   }
 
   @Test
@@ -19,15 +19,19 @@ import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.EPOCH;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.ROOT;
 import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.SLOT;
+import static tech.pegasys.artemis.beaconrestapi.RestApiConstants.SSZ_CONTENT_TYPE;
 
 import com.google.common.eventbus.EventBus;
 import com.google.common.primitives.UnsignedLong;
+import io.javalin.core.util.Header;
 import io.javalin.http.Context;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -39,7 +43,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import tech.pegasys.artemis.api.ChainDataProvider;
 import tech.pegasys.artemis.api.schema.BeaconState;
+import tech.pegasys.artemis.beaconrestapi.CapturedResponse;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.artemis.provider.JsonProvider;
 import tech.pegasys.artemis.storage.client.MemoryOnlyRecentChainData;
 import tech.pegasys.artemis.storage.client.RecentChainData;
@@ -53,7 +59,8 @@ public class GetStateTest {
   private static UnsignedLong slot;
 
   private final JsonProvider jsonProvider = new JsonProvider();
-  private final Context context = mock(Context.class);
+  private final CapturedResponse response = new CapturedResponse();
+  private final Context context = response.getContext();
   private final String missingRoot = Bytes32.leftPad(Bytes.fromHexString("0xff")).toHexString();
   private final ChainDataProvider dataProvider = mock(ChainDataProvider.class);
 
@@ -131,8 +138,29 @@ public class GetStateTest {
     @SuppressWarnings("unchecked")
     final ArgumentCaptor<SafeFuture<String>> args = ArgumentCaptor.forClass(SafeFuture.class);
     verify(context).result(args.capture());
-    SafeFuture<String> data = args.getValue();
-    assertEquals(data.get(), jsonProvider.objectToJSON(beaconState));
+    args.getValue().join();
+    assertEquals(response.getBody(), jsonProvider.objectToJSON(beaconState));
+  }
+
+  @Test
+  public void shouldReturnSszEncodedStateWhenOctetStreamAccepted() throws Exception {
+    final GetState handler = new GetState(dataProvider, jsonProvider);
+    final Bytes ssz = SimpleOffsetSerializer.serialize(beaconStateInternal);
+
+    when(dataProvider.isStoreAvailable()).thenReturn(true);
+    when(context.queryParamMap()).thenReturn(Map.of(ROOT, List.of(blockRoot.toHexString())));
+    when(context.header(Header.ACCEPT)).thenReturn(SSZ_CONTENT_TYPE);
+    when(dataProvider.getStateSszByBlockRoot(any()))
+        .thenReturn(SafeFuture.completedFuture(Optional.of(ssz)));
+
+    handler.handle(context);
+
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<SafeFuture<InputStream>> args = ArgumentCaptor.forClass(SafeFuture.class);
+    verify(context).result(args.capture());
+    verify(context).contentType(SSZ_CONTENT_TYPE);
+    verify(dataProvider, never()).getStateByBlockRoot(any());
+    assertEquals(ssz, Bytes.wrap(args.getValue().get().readAllBytes()));
   }
 
   @Test
@@ -185,8 +213,8 @@ public class GetStateTest {
     @SuppressWarnings("unchecked")
     final ArgumentCaptor<SafeFuture<String>> args = ArgumentCaptor.forClass(SafeFuture.class);
     verify(context).result(args.capture());
-    SafeFuture<String> data = args.getValue();
-    assertEquals(data.get(), jsonProvider.objectToJSON(beaconState));
+    args.getValue().join();
+    assertEquals(response.getBody(), jsonProvider.objectToJSON(beaconState));
   }
 
   @Test
@@ -35,8 +35,8 @@ import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import tech.pegasys.artemis.api.ChainDataProvider;
-import tech.pegasys.artemis.api.schema.BeaconState;
 import tech.pegasys.artemis.api.schema.BeaconValidators;
+import tech.pegasys.artemis.beaconrestapi.CapturedResponse;
 import tech.pegasys.artemis.datastructures.state.Validator;
 import tech.pegasys.artemis.datastructures.util.BeaconStateUtil;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
@@ -47,13 +47,13 @@ import tech.pegasys.artemis.util.config.Constants;
 
 public class GetValidatorsTest {
   private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
-  private Context context = mock(Context.class);
+  private final CapturedResponse response = new CapturedResponse();
+  private final Context context = response.getContext();
   private final UnsignedLong epoch = dataStructureUtil.randomUnsignedLong();
   private final JsonProvider jsonProvider = new JsonProvider();
   private final Bytes32 blockRoot = dataStructureUtil.randomBytes32();
   private final tech.pegasys.artemis.datastructures.state.BeaconState beaconStateInternal =
       dataStructureUtil.randomBeaconState();
-  private final BeaconState beaconState = new BeaconState(beaconStateInternal);
 
   private final ChainDataProvider provider = mock(ChainDataProvider.class);
 
@@ -67,19 +67,20 @@ public class GetValidatorsTest {
 
     when(provider.isStoreAvailable()).thenReturn(true);
     when(provider.getBestBlockRoot()).thenReturn(Optional.of(blockRoot));
-    when(provider.getStateByBlockRoot(blockRoot))
-        .thenReturn(SafeFuture.completedFuture(Optional.of(beaconState)));
+    when(provider.getValidatorsByBlockRoot(blockRoot, false, PAGE_SIZE_DEFAULT, PAGE_TOKEN_DEFAULT))
+        .thenReturn(SafeFuture.completedFuture(Optional.of(beaconValidators)));
 
     handler.handle(context);
 
     verify(provider).getBestBlockRoot();
-    verify(provider).getStateByBlockRoot(blockRoot);
+    verify(provider)
+        .getValidatorsByBlockRoot(blockRoot, false, PAGE_SIZE_DEFAULT, PAGE_TOKEN_DEFAULT);
     verify(context).result(args.capture());
 
-    SafeFuture<String> data = args.getValue();
+    args.getValue().join();
     assertThat(beaconValidators.validators.size())
         .isEqualTo(Math.min(PAGE_SIZE_DEFAULT, beaconStateInternal.getValidators().size()));
-    assertEquals(data.get(), jsonProvider.objectToJSON(beaconValidators));
+    assertEquals(response.getBody(), jsonProvider.objectToJSON(beaconValidators));
   }
 
   @Test
@@ -90,17 +91,16 @@ public class GetValidatorsTest {
 
     when(provider.isStoreAvailable()).thenReturn(true);
     when(provider.getBestBlockRoot()).thenReturn(Optional.of(blockRoot));
-    when(provider.getStateByBlockRoot(blockRoot))
-        .thenReturn(SafeFuture.completedFuture(Optional.of(new BeaconState(beaconStateW))));
+    when(provider.getValidatorsByBlockRoot(blockRoot, false, PAGE_SIZE_DEFAULT, PAGE_TOKEN_DEFAULT))
+        .thenReturn(SafeFuture.completedFuture(Optional.of(new BeaconValidators(beaconStateW))));
 
     handler.handle(context);
 
     verify(provider).getBestBlockRoot();
-    verify(provider).getStateByBlockRoot(blockRoot);
     verify(context).result(args.capture());
 
-    SafeFuture<String> data = args.getValue();
-    assertEquals(data.get(), jsonProvider.objectToJSON(new BeaconValidators()));
+    args.getValue().join();
+    assertEquals(response.getBody(), jsonProvider.objectToJSON(new BeaconValidators()));
   }
 
   @Test
@@ -112,18 +112,16 @@ public class GetValidatorsTest {
     BeaconValidators beaconValidators = new BeaconValidators(beaconStateInternal);
 
     when(provider.isStoreAvailable()).thenReturn(true);
-    when(provider.getStateAtSlot(slot))
-        .thenReturn(SafeFuture.completedFuture(Optional.of(beaconState)));
+    when(provider.getValidatorsAtSlot(slot, false, PAGE_SIZE_DEFAULT, PAGE_TOKEN_DEFAULT))
+        .thenReturn(SafeFuture.completedFuture(Optional.of(beaconValidators)));
 
     handler.handle(context);
 
-    verify(provider).getStateAtSlot(slot);
+    verify(provider).getValidatorsAtSlot(slot, false, PAGE_SIZE_DEFAULT, PAGE_TOKEN_DEFAULT);
     verify(context).result(args.capture());
 
-    SafeFuture<String> data = args.getValue();
-    assertThat(beaconValidators.validators.size())
-        .isEqualTo(Math.min(PAGE_SIZE_DEFAULT, beaconStateInternal.getValidators().size()));
-    assertEquals(data.get(), jsonProvider.objectToJSON(beaconValidators));
+    args.getValue().join();
+    assertEquals(response.getBody(), jsonProvider.objectToJSON(beaconValidators));
   }
 
   @Test
@@ -146,18 +144,16 @@ public class GetValidatorsTest {
             PAGE_TOKEN_DEFAULT);
 
     when(provider.isStoreAvailable()).thenReturn(true);
-    when(provider.getStateAtSlot(slot))
-        .thenReturn(
-            SafeFuture.completedFuture(
-                Optional.of(new BeaconState(beaconStateWithAddedActiveValidator))));
+    when(provider.getValidatorsAtSlot(slot, true, PAGE_SIZE_DEFAULT, PAGE_TOKEN_DEFAULT))
+        .thenReturn(SafeFuture.completedFuture(Optional.of(beaconActiveValidators)));
 
     handler.handle(context);
 
-    verify(provider).getStateAtSlot(slot);
+    verify(provider).getValidatorsAtSlot(slot, true, PAGE_SIZE_DEFAULT, PAGE_TOKEN_DEFAULT);
     verify(context).result(args.capture());
 
-    SafeFuture<String> data = args.getValue();
-    assertEquals(data.get(), jsonProvider.objectToJSON(beaconActiveValidators));
+    args.getValue().join();
+    assertEquals(response.getBody(), jsonProvider.objectToJSON(beaconActiveValidators));
   }
 
   @Test
@@ -165,7 +161,6 @@ public class GetValidatorsTest {
     GetValidators handler = new GetValidators(provider, jsonProvider);
     when(context.queryParamMap()).thenReturn(Map.of(ACTIVE, List.of("true")));
     when(provider.getBestBlockRoot()).thenReturn(Optional.of(blockRoot));
-    final UnsignedLong slot = BeaconStateUtil.compute_start_slot_at_epoch(epoch);
 
     final tech.pegasys.artemis.datastructures.state.BeaconState beaconStateWithAddedValidator =
         addActiveValidator(beaconStateInternal);
@@ -177,20 +172,19 @@ public class GetValidatorsTest {
             PAGE_SIZE_DEFAULT,
             PAGE_TOKEN_DEFAULT);
 
-    BeaconState result = new BeaconState(beaconStateWithAddedValidator);
     when(provider.isStoreAvailable()).thenReturn(true);
-    when(provider.getStateByBlockRoot(blockRoot))
-        .thenReturn(SafeFuture.completedFuture(Optional.of(result)));
-    when(provider.getStateAtSlot(slot)).thenReturn(SafeFuture.completedFuture(Optional.of(result)));
+    when(provider.getValidatorsByBlockRoot(blockRoot, true, PAGE_SIZE_DEFAULT, PAGE_TOKEN_DEFAULT))
+        .thenReturn(SafeFuture.completedFuture(Optional.of(beaconActiveValidators)));
 
     handler.handle(context);
 
     verify(provider).getBestBlockRoot();
-    verify(provider).getStateByBlockRoot(blockRoot);
+    verify(provider)
+        .getValidatorsByBlockRoot(blockRoot, true, PAGE_SIZE_DEFAULT, PAGE_TOKEN_DEFAULT);
     verify(context).result(args.capture());
 
-    SafeFuture<String> data = args.getValue();
-    assertEquals(data.get(), jsonProvider.objectToJSON(beaconActiveValidators));
+    args.getValue().join();
+    assertEquals(response.getBody(), jsonProvider.objectToJSON(beaconActiveValidators));
   }
 
   @Test
@@ -213,16 +207,16 @@ public class GetValidatorsTest {
             beaconStateInternal, false, epoch, suppliedPageSizeParam, PAGE_TOKEN_DEFAULT);
 
     when(provider.isStoreAvailable()).thenReturn(true);
-    when(provider.getStateAtSlot(slot))
-        .thenReturn(SafeFuture.completedFuture(Optional.of(new BeaconState(beaconStateInternal))));
+    when(provider.getValidatorsAtSlot(slot, false, suppliedPageSizeParam, PAGE_TOKEN_DEFAULT))
+        .thenReturn(SafeFuture.completedFuture(Optional.of(beaconValidators)));
 
     handler.handle(context);
 
-    verify(provider).getStateAtSlot(slot);
+    verify(provider).getValidatorsAtSlot(slot, false, suppliedPageSizeParam, PAGE_TOKEN_DEFAULT);
     verify(context).result(args.capture());
 
-    SafeFuture<String> data = args.getValue();
-    assertEquals(data.get(), jsonProvider.objectToJSON(beaconValidators));
+    args.getValue().join();
+    assertEquals(response.getBody(), jsonProvider.objectToJSON(beaconValidators));
   }
 
   @Test
@@ -249,16 +243,17 @@ public class GetValidatorsTest {
             beaconStateInternal, false, epoch, suppliedPageSizeParam, suppliedPageTokenParam);
 
     when(provider.isStoreAvailable()).thenReturn(true);
-    when(provider.getStateAtSlot(slot))
-        .thenReturn(SafeFuture.completedFuture(Optional.of(new BeaconState(beaconStateInternal))));
+    when(provider.getValidatorsAtSlot(slot, false, suppliedPageSizeParam, suppliedPageTokenParam))
+        .thenReturn(SafeFuture.completedFuture(Optional.of(beaconValidators)));
 
     handler.handle(context);
 
-    verify(provider).getStateAtSlot(slot);
+    verify(provider)
+        .getValidatorsAtSlot(slot, false, suppliedPageSizeParam, suppliedPageTokenParam);
     verify(context).result(args.capture());
 
-    SafeFuture<String> data = args.getValue();
-    assertEquals(data.get(), jsonProvider.objectToJSON(beaconValidators));
+    args.getValue().join();
+    assertEquals(response.getBody(), jsonProvider.objectToJSON(beaconValidators));
   }
 
   @Test
@@ -288,15 +283,15 @@ public class GetValidatorsTest {
                 List.of(String.valueOf(Constants.FAR_FUTURE_EPOCH))));
     when(provider.isStoreAvailable()).thenReturn(true);
     when(provider.getBestBlockRoot()).thenReturn(Optional.of(blockRoot));
-    when(provider.getStateAtSlot(farFutureSlot))
-        .thenReturn(SafeFuture.completedFuture(Optional.of(beaconState)));
+    when(provider.getValidatorsAtSlot(farFutureSlot, true, PAGE_SIZE_DEFAULT, PAGE_TOKEN_DEFAULT))
+        .thenReturn(SafeFuture.completedFuture(Optional.of(BeaconValidators.emptySet())));
 
     handler.handle(context);
 
     verify(context).result(args.capture());
 
-    SafeFuture<String> data = args.getValue();
-    assertEquals(data.get(), jsonProvider.objectToJSON(new BeaconValidators()));
+    args.getValue().join();
+    assertEquals(response.getBody(), jsonProvider.objectToJSON(new BeaconValidators()));
   }
 
   private tech.pegasys.artemis.datastructures.state.BeaconState addActiveValidator(
@@ -18,6 +18,7 @@ import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
 
 public enum ArtemisMetricCategory implements MetricCategory {
   BEACON("beacon"),
+  BLS("bls"),
   EVENTBUS("eventbus"),
   LIBP2P("libp2p"),
   NETWORK("network");
@@ -15,12 +15,14 @@ package tech.pegasys.artemis.api;
 
 import static com.google.common.primitives.UnsignedLong.ONE;
 import static com.google.common.primitives.UnsignedLong.ZERO;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
 import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
 
 import com.google.common.primitives.UnsignedLong;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.api.schema.BeaconChainHead;
 import tech.pegasys.artemis.api.schema.BeaconHead;
@@ -30,7 +32,9 @@ import tech.pegasys.artemis.api.schema.Committee;
 import tech.pegasys.artemis.api.schema.Fork;
 import tech.pegasys.artemis.api.schema.SignedBeaconBlock;
 import tech.pegasys.artemis.api.schema.ValidatorsRequest;
+import tech.pegasys.artemis.datastructures.state.ValidatorPubKeyIndex;
 import tech.pegasys.artemis.datastructures.util.BeaconStateUtil;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.artemis.storage.client.ChainDataUnavailableException;
 import tech.pegasys.artemis.storage.client.CombinedChainDataClient;
 import tech.pegasys.artemis.storage.client.RecentChainData;
@@ -118,6 +122,20 @@ public class ChainDataProvider {
         .thenApply(block -> block.map(SignedBeaconBlock::new));
   }
 
+  /**
+   * Returns the SSZ encoding of the block returned by {@link #getBlockBySlot(UnsignedLong)}.
+   * Finalized blocks are read from storage in their serialized form and are never deserialized.
+   *
+   * @param slot the slot of the block
+   * @return the serialized block, or empty if there is no block available
+   */
+  public SafeFuture<Optional<Bytes>> getBlockSszBySlot(final UnsignedLong slot) {
+    if (!isStoreAvailable()) {
+      return SafeFuture.failedFuture(new ChainDataUnavailableException());
+    }
+    return combinedChainDataClient.getSerializedBlockBySlot(slot);
+  }
+
   public boolean isStoreAvailable() {
     return combinedChainDataClient != null && combinedChainDataClient.isStoreAvailable();
   }
@@ -135,6 +153,13 @@ public class ChainDataProvider {
         .thenApply(block -> block.map(SignedBeaconBlock::new));
   }
 
+  public SafeFuture<Optional<Bytes>> getBlockSszByBlockRoot(final Bytes32 blockParam) {
+    if (!isStoreAvailable()) {
+      return SafeFuture.failedFuture(new ChainDataUnavailableException());
+    }
+    return combinedChainDataClient.getSerializedBlockByBlockRoot(blockParam);
+  }
+
   public SafeFuture<Optional<BeaconState>> getStateByBlockRoot(final Bytes32 blockRoot) {
     if (!isStoreAvailable()) {
       return SafeFuture.failedFuture(new ChainDataUnavailableException());
@@ -145,6 +170,58 @@ public class ChainDataProvider {
   }
 
   public SafeFuture<Optional<BeaconState>> getStateAtSlot(final UnsignedLong slot) {
+    return getStateInEffectAtSlot(slot).thenApply(state -> state.map(BeaconState::new));
+  }
+
+  public SafeFuture<Optional<Bytes>> getStateSszByBlockRoot(final Bytes32 blockRoot) {
+    if (!isStoreAvailable()) {
+      return SafeFuture.failedFuture(new ChainDataUnavailableException());
+    }
+    return combinedChainDataClient
+        .getStateByBlockRoot(blockRoot)
+        .thenApply(state -> state.map(SimpleOffsetSerializer::serialize));
+  }
+
+  public SafeFuture<Optional<Bytes>> getStateSszAtSlot(final UnsignedLong slot) {
+    return getStateInEffectAtSlot(slot)
+        .thenApply(state -> state.map(SimpleOffsetSerializer::serialize));
+  }
+
+  /**
+   * Returns a single page of validators from the state in effect at <code>slot</code>.
+   *
+   * <p>Only the validators and balances on the requested page are read from the state, so
+   * finalized states loaded lazily from storage don't need to be fully materialised.
+   */
+  public SafeFuture<Optional<BeaconValidators>> getValidatorsAtSlot(
+      final UnsignedLong slot, final boolean activeOnly, final int pageSize, final int pageToken) {
+    return getStateInEffectAtSlot(slot)
+        .thenApply(
+            state -> state.map(s -> createValidatorsPage(s, activeOnly, pageSize, pageToken)));
+  }
+
+  public SafeFuture<Optional<BeaconValidators>> getValidatorsByBlockRoot(
+      final Bytes32 blockRoot, final boolean activeOnly, final int pageSize, final int pageToken) {
+    if (!isStoreAvailable()) {
+      return SafeFuture.failedFuture(new ChainDataUnavailableException());
+    }
+    return combinedChainDataClient
+        .getStateByBlockRoot(blockRoot)
+        .thenApply(
+            state -> state.map(s -> createValidatorsPage(s, activeOnly, pageSize, pageToken)));
+  }
+
+  private BeaconValidators createValidatorsPage(
+      final tech.pegasys.artemis.datastructures.state.BeaconState state,
+      final boolean activeOnly,
+      final int pageSize,
+      final int pageToken) {
+    return new BeaconValidators(
+        state, activeOnly, compute_epoch_at_slot(state.getSlot()), pageSize, pageToken);
+  }
+
+  private SafeFuture<Optional<tech.pegasys.artemis.datastructures.state.BeaconState>>
+      getStateInEffectAtSlot(final UnsignedLong slot) {
     return SafeFuture.of(
         () -> {
           if (!isStoreAvailable()) {
@@ -154,9 +231,7 @@ public class ChainDataProvider {
               combinedChainDataClient
                   .getBestBlockRoot()
                   .orElseThrow(ChainDataUnavailableException::new);
-          return combinedChainDataClient
-              .getBlockAndStateInEffectAtSlot(slot, bestRoot)
-              .thenApply(state -> state.map(BeaconState::new));
+          return combinedChainDataClient.getStateAtSlot(slot, bestRoot);
         });
   }
 
@@ -192,12 +267,17 @@ public class ChainDataProvider {
                   ? combinedChainDataClient.getBestSlot()
                   : BeaconStateUtil.compute_start_slot_at_epoch(request.epoch);
 
+          final ValidatorPubKeyIndex validatorPubKeyIndex =
+              combinedChainDataClient
+                  .getValidatorPubKeyIndex()
+                  .orElseGet(ValidatorPubKeyIndex::new);
           return combinedChainDataClient
-              .getBlockAndStateInEffectAtSlot(slot, bestBlockRoot)
+              .getStateAtSlot(slot, bestBlockRoot)
               .thenApply(
                   optionalState ->
                       optionalState.map(
-                          state -> new BeaconValidators(state.getState(), request.pubkeys)));
+                          state ->
+                              new BeaconValidators(state, request.pubkeys, validatorPubKeyIndex)));
         });
   }
 
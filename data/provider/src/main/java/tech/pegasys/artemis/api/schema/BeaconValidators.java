@@ -18,10 +18,16 @@ import static tech.pegasys.artemis.util.config.Constants.FAR_FUTURE_EPOCH;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.google.common.primitives.UnsignedLong;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes48;
+import tech.pegasys.artemis.datastructures.state.ValidatorPubKeyIndex;
+import tech.pegasys.artemis.ssz.SSZTypes.SSZImmutableCollection;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class BeaconValidators {
@@ -47,16 +53,16 @@ public class BeaconValidators {
     this.validators = List.of();
   }
 
-  @VisibleForTesting
   public BeaconValidators(
       tech.pegasys.artemis.datastructures.state.BeaconState state,
       final boolean activeOnly,
       final UnsignedLong epoch,
       final int pageSize,
       final int pageToken) {
+    // Use views over the state rather than copies so only the requested page is read
     this(
-        state.getValidators().stream().map(Validator::new).collect(Collectors.toList()),
-        state.getBalances().stream().collect(Collectors.toList()),
+        Lists.transform(asListView(state.getValidators()), Validator::new),
+        asListView(state.getBalances()),
         activeOnly,
         epoch,
         pageSize,
@@ -65,15 +71,16 @@ public class BeaconValidators {
 
   public BeaconValidators(
       tech.pegasys.artemis.datastructures.state.BeaconState state, List<BLSPubKey> filter) {
+    this(state, filter, new ValidatorPubKeyIndex());
+  }
+
+  public BeaconValidators(
+      final tech.pegasys.artemis.datastructures.state.BeaconState state,
+      final List<BLSPubKey> filter,
+      final ValidatorPubKeyIndex validatorPubKeyIndex) {
     this.validators =
         filter.stream()
-            .map(
-                pubkey ->
-                    state.getValidators().stream()
-                        .filter(val -> new BLSPubKey(val.getPubkey()).equals(pubkey))
-                        .map(validator -> new ValidatorWithIndex(validator, state))
-                        .findFirst()
-                        .orElse(new ValidatorWithIndex(pubkey)))
+            .map(pubkey -> getValidator(state, pubkey, validatorPubKeyIndex))
             .collect(Collectors.toList());
     this.total_size = null;
     this.next_page_token = null;
@@ -128,6 +135,39 @@ public class BeaconValidators {
     }
   }
 
+  private static ValidatorWithIndex getValidator(
+      final tech.pegasys.artemis.datastructures.state.BeaconState state,
+      final BLSPubKey pubkey,
+      final ValidatorPubKeyIndex validatorPubKeyIndex) {
+    final Bytes pubkeyBytes = pubkey.toBytes();
+    if (pubkeyBytes.size() != Bytes48.SIZE) {
+      return new ValidatorWithIndex(pubkey);
+    }
+    return validatorPubKeyIndex
+        .getValidatorIndex(state, Bytes48.wrap(pubkeyBytes))
+        .map(
+            index ->
+                new ValidatorWithIndex(
+                    new Validator(state.getValidators().get(index)),
+                    index,
+                    state.getBalances().get(index)))
+        .orElseGet(() -> new ValidatorWithIndex(pubkey));
+  }
+
+  private static <T> List<T> asListView(final SSZImmutableCollection<T> collection) {
+    return new AbstractList<>() {
+      @Override
+      public T get(final int index) {
+        return collection.get(index);
+      }
+
+      @Override
+      public int size() {
+        return collection.size();
+      }
+    };
+  }
+
   public static long getEffectiveListSize(
       List<Validator> list, boolean activeOnly, UnsignedLong epoch) {
     if (!activeOnly) {
@@ -13,12 +13,15 @@
 
 package tech.pegasys.artemis.provider;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.Version;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.google.common.primitives.UnsignedLong;
+import java.io.IOException;
+import java.io.OutputStream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.api.schema.BLSPubKey;
@@ -64,6 +67,15 @@ public class JsonProvider {
     return objectMapper.writeValueAsString(object);
   }
 
+  /**
+   * Serializes <code>object</code> incrementally to <code>out</code> without building the JSON
+   * in memory first. The stream is flushed but left open.
+   */
+  public <T> void writeJson(final OutputStream out, final T object) throws IOException {
+    objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, object);
+    out.flush();
+  }
+
   public <T> T jsonToObject(String json, Class<T> clazz) throws JsonProcessingException {
     return objectMapper.readValue(json, clazz);
   }
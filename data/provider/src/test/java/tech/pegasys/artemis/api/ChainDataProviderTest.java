@@ -33,6 +33,7 @@ import com.google.common.primitives.UnsignedLong;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -48,6 +49,7 @@ import tech.pegasys.artemis.api.schema.ValidatorsRequest;
 import tech.pegasys.artemis.datastructures.blocks.BeaconBlockAndState;
 import tech.pegasys.artemis.datastructures.state.CommitteeAssignment;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.artemis.storage.Store;
 import tech.pegasys.artemis.storage.api.StorageQueryChannel;
 import tech.pegasys.artemis.storage.client.ChainDataUnavailableException;
@@ -226,6 +228,38 @@ public class ChainDataProviderTest {
         .isEqualTo(new SignedBeaconBlock(signedBeaconBlock));
   }
 
+  @Test
+  public void getBlockSszBySlot_shouldReturnPrecedingBlockWhenFinalizedSlotWasSkipped()
+      throws ExecutionException, InterruptedException {
+    final StorageQueryChannel mockHistoricalChainData = mock(StorageQueryChannel.class);
+    final ChainDataProvider provider =
+        new ChainDataProvider(
+            mockRecentChainData,
+            new CombinedChainDataClient(mockRecentChainData, mockHistoricalChainData));
+    final UnsignedLong skippedSlot = signedBeaconBlock.getSlot().plus(ONE);
+    final Bytes32 precedingBlockRoot = signedBeaconBlock.getMessage().hash_tree_root();
+    final Bytes serialized = SimpleOffsetSerializer.serialize(signedBeaconBlock);
+
+    when(mockRecentChainData.getStore()).thenReturn(mock(Store.class));
+    when(mockRecentChainData.getFinalizedEpoch())
+        .thenReturn(compute_epoch_at_slot(skippedSlot).plus(ONE));
+    when(mockRecentChainData.getBlockRootBySlot(skippedSlot))
+        .thenReturn(Optional.of(precedingBlockRoot));
+    when(mockHistoricalChainData.getBlockByBlockRoot(precedingBlockRoot))
+        .thenReturn(completedFuture(Optional.of(signedBeaconBlock)));
+    when(mockHistoricalChainData.getSerializedBlockByBlockRoot(precedingBlockRoot))
+        .thenReturn(completedFuture(Optional.of(serialized)));
+
+    assertThat(provider.isFinalized(skippedSlot)).isTrue();
+    assertThat(
+            provider
+                .getBlockBySlot(skippedSlot)
+                .get()
+                .map(SignedBeaconBlock::asInternalSignedBeaconBlock))
+        .contains(signedBeaconBlock);
+    assertThat(provider.getBlockSszBySlot(skippedSlot).get()).contains(serialized);
+  }
+
   @Test
   public void getBlockByBlockRoot_shouldThrowWhenStoreNotFound() {
     final ChainDataProvider provider = new ChainDataProvider(null, mockCombinedChainDataClient);
@@ -306,25 +340,41 @@ public class ChainDataProviderTest {
   void getStateBySlot_shouldReturnBeaconStateWhenFound()
       throws ExecutionException, InterruptedException {
     final Bytes32 chainHead = dataStructureUtil.randomBytes32();
-    final BeaconBlockAndState blockAndState =
-        dataStructureUtil.randomBlockAndState(beaconStateInternal.getSlot(), beaconStateInternal);
-    final SafeFuture<Optional<BeaconBlockAndState>> safeFuture =
-        completedFuture(Optional.of(blockAndState));
 
     final ChainDataProvider provider =
         new ChainDataProvider(recentChainData, mockCombinedChainDataClient);
     when(mockCombinedChainDataClient.isStoreAvailable()).thenReturn(true);
     when(mockCombinedChainDataClient.getBestBlockRoot()).thenReturn(Optional.of(chainHead));
-    when(mockCombinedChainDataClient.getBlockAndStateInEffectAtSlot(ZERO, chainHead))
-        .thenReturn(safeFuture);
+    when(mockCombinedChainDataClient.getStateAtSlot(ZERO, chainHead))
+        .thenReturn(completedFuture(Optional.of(beaconStateInternal)));
 
     final SafeFuture<Optional<BeaconState>> future = provider.getStateAtSlot(ZERO);
-    verify(mockCombinedChainDataClient).getBlockAndStateInEffectAtSlot(ZERO, chainHead);
+    verify(mockCombinedChainDataClient).getStateAtSlot(ZERO, chainHead);
+    verify(mockCombinedChainDataClient, never()).getBlockAndStateInEffectAtSlot(any(), any());
 
     final BeaconState result = future.get().get();
     assertThat(result).usingRecursiveComparison().isEqualTo(beaconState);
   }
 
+  @Test
+  void getValidatorsAtSlot_shouldReturnRequestedPage()
+      throws ExecutionException, InterruptedException {
+    final Bytes32 chainHead = dataStructureUtil.randomBytes32();
+    final ChainDataProvider provider =
+        new ChainDataProvider(recentChainData, mockCombinedChainDataClient);
+    when(mockCombinedChainDataClient.isStoreAvailable()).thenReturn(true);
+    when(mockCombinedChainDataClient.getBestBlockRoot()).thenReturn(Optional.of(chainHead));
+    when(mockCombinedChainDataClient.getStateAtSlot(ZERO, chainHead))
+        .thenReturn(completedFuture(Optional.of(beaconStateInternal)));
+
+    final BeaconValidators result = provider.getValidatorsAtSlot(ZERO, false, 10, 1).get().get();
+
+    final BeaconValidators expected = new BeaconValidators(beaconState, false, 10, 1);
+    assertThat(result).usingRecursiveComparison().isEqualTo(expected);
+    assertThat(result.validators).hasSize(10);
+    assertThat(result.validators.get(0).validator_index).isEqualTo(10);
+  }
+
   @Test
   public void getStateByBlockRoot_shouldThrowWhenStoreNotFound() {
     final ChainDataProvider provider = new ChainDataProvider(null, mockCombinedChainDataClient);
@@ -356,15 +406,11 @@ public class ChainDataProviderTest {
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
         new ChainDataProvider(recentChainData, mockCombinedChainDataClient);
-    final BeaconBlockAndState blockAndState =
-        dataStructureUtil.randomBlockAndState(1, beaconStateInternal);
-    final SafeFuture<Optional<BeaconBlockAndState>> safeFuture =
-        completedFuture(Optional.of(blockAndState));
     final ValidatorsRequest smallRequest =
         new ValidatorsRequest(compute_epoch_at_slot(beaconState.slot), List.of(BLSPubKey.empty()));
     when(mockCombinedChainDataClient.isStoreAvailable()).thenReturn(true);
-    when(mockCombinedChainDataClient.getBlockAndStateInEffectAtSlot(any(), any()))
-        .thenReturn(safeFuture);
+    when(mockCombinedChainDataClient.getStateAtSlot(any(), any()))
+        .thenReturn(completedFuture(Optional.of(beaconStateInternal)));
 
     final SafeFuture<Optional<BeaconValidators>> future =
         provider.getValidatorsByValidatorsRequest(smallRequest);
@@ -381,11 +427,7 @@ public class ChainDataProviderTest {
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
         new ChainDataProvider(recentChainData, mockCombinedChainDataClient);
-    final BeaconBlockAndState blockAndState =
-        dataStructureUtil.randomBlockAndState(1, beaconStateInternal);
-    final tech.pegasys.artemis.datastructures.state.BeaconState state = blockAndState.getState();
-    final SafeFuture<Optional<BeaconBlockAndState>> safeFuture =
-        completedFuture(Optional.of(blockAndState));
+    final tech.pegasys.artemis.datastructures.state.BeaconState state = beaconStateInternal;
     final ValidatorsRequest validatorsRequest =
         new ValidatorsRequest(
             compute_epoch_at_slot(beaconState.slot),
@@ -394,8 +436,8 @@ public class ChainDataProviderTest {
                 beaconState.validators.get(11).pubkey,
                 beaconState.validators.get(99).pubkey));
     when(mockCombinedChainDataClient.isStoreAvailable()).thenReturn(true);
-    when(mockCombinedChainDataClient.getBlockAndStateInEffectAtSlot(any(), any()))
-        .thenReturn(safeFuture);
+    when(mockCombinedChainDataClient.getStateAtSlot(any(), any()))
+        .thenReturn(completedFuture(Optional.of(state)));
     final SafeFuture<Optional<BeaconValidators>> future =
         provider.getValidatorsByValidatorsRequest(validatorsRequest);
 
@@ -19,6 +19,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.primitives.UnsignedLong;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
@@ -95,6 +98,16 @@ class JsonProviderTest {
     assertTrue(jsonState.length() > 0);
   }
 
+  @Test
+  void writeJsonShouldMatchObjectToJson() throws IOException {
+    tech.pegasys.artemis.datastructures.state.BeaconState stateInternal =
+        dataStructureUtil.randomBeaconState(UnsignedLong.valueOf(16));
+    BeaconState state = new BeaconState(stateInternal);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    jsonProvider.writeJson(out, state);
+    assertEquals(jsonProvider.objectToJSON(state), out.toString(StandardCharsets.UTF_8));
+  }
+
   @Test
   void validatorsRequestTest() throws JsonProcessingException {
     final String PUBKEY =
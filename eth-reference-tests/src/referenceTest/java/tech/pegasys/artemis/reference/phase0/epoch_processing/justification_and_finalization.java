@@ -25,6 +25,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import tech.pegasys.artemis.core.EpochProcessorUtil;
+import tech.pegasys.artemis.core.epoch.EpochProcessor;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.ethtests.TestSuite;
 
@@ -46,6 +47,30 @@ public class justification_and_finalization extends TestSuite {
     assertEquals(post, wState);
   }
 
+  @ParameterizedTest(name = "{index}.{2} justification and finalization with validator statuses")
+  @MethodSource("mainnetProcessJusticationAndFinalizationSetup")
+  void mainnetProcessJusticationAndFinalizationWithValidatorStatuses(
+      BeaconState pre, BeaconState post, String testName) throws Exception {
+    BeaconState wState =
+        pre.updated(
+            state ->
+                EpochProcessor.processJustificationAndFinalization(
+                    state, EpochProcessor.calculateValidatorStatuses(state)));
+    assertEquals(post, wState);
+  }
+
+  @ParameterizedTest(name = "{index}.{2} justification and finalization with validator statuses")
+  @MethodSource("minimalProcessJusticationAndFinalizationSetup")
+  void minimalProcessJusticationAndFinalizationWithValidatorStatuses(
+      BeaconState pre, BeaconState post, String testName) throws Exception {
+    BeaconState wState =
+        pre.updated(
+            state ->
+                EpochProcessor.processJustificationAndFinalization(
+                    state, EpochProcessor.calculateValidatorStatuses(state)));
+    assertEquals(post, wState);
+  }
+
   @MustBeClosed
   static Stream<Arguments> justificationAndFinalizationSetup(String config) throws Exception {
     Path path =
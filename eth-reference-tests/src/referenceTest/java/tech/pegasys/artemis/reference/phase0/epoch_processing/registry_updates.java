@@ -26,6 +26,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import tech.pegasys.artemis.core.EpochProcessorUtil;
+import tech.pegasys.artemis.core.epoch.EpochProcessor;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.ethtests.TestSuite;
 
@@ -52,6 +53,30 @@ public class registry_updates extends TestSuite {
     assertThat(wState).isEqualTo(post);
   }
 
+  @ParameterizedTest(name = "{index}.{2} process registry updates with validator statuses")
+  @MethodSource("mainnetProcessRegistryUpdates")
+  void mainnetProcessRegistryUpdatesWithValidatorStatuses(
+      BeaconState pre, BeaconState post, String testName) throws Exception {
+    BeaconState wState =
+        pre.updated(
+            state ->
+                EpochProcessor.processRegistryUpdates(
+                    state, EpochProcessor.calculateValidatorStatuses(state)));
+    assertEquals(post, wState);
+  }
+
+  @ParameterizedTest(name = "{index}.{2} process registry updates with validator statuses")
+  @MethodSource("minimalProcessRegistryUpdates")
+  void minimalProcessRegistryUpdatesWithValidatorStatuses(
+      BeaconState pre, BeaconState post, String testName) throws Exception {
+    BeaconState wState =
+        pre.updated(
+            state ->
+                EpochProcessor.processRegistryUpdates(
+                    state, EpochProcessor.calculateValidatorStatuses(state)));
+    assertEquals(post, wState);
+  }
+
   @MustBeClosed
   static Stream<Arguments> mainnetProcessRegistryUpdates() throws Exception {
     return processRegistryUpdates("mainnet");
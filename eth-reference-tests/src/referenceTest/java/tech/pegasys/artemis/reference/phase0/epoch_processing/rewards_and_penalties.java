@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.reference.phase0.epoch_processing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.errorprone.annotations.MustBeClosed;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+import org.apache.tuweni.junit.BouncyCastleExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import tech.pegasys.artemis.core.EpochProcessorUtil;
+import tech.pegasys.artemis.core.epoch.EpochProcessor;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.ethtests.TestSuite;
+
+@ExtendWith(BouncyCastleExtension.class)
+public class rewards_and_penalties extends TestSuite {
+
+  @ParameterizedTest(name = "{index}.{2} process rewards and penalties")
+  @MethodSource("mainnetRewardsAndPenaltiesSetup")
+  void mainnetProcessRewardsAndPenalties(BeaconState pre, BeaconState post, String testName)
+      throws Exception {
+    BeaconState wState = pre.updated(EpochProcessorUtil::process_rewards_and_penalties);
+    assertEquals(post, wState);
+  }
+
+  @ParameterizedTest(name = "{index}.{2} process rewards and penalties")
+  @MethodSource("minimalRewardsAndPenaltiesSetup")
+  void minimalProcessRewardsAndPenalties(BeaconState pre, BeaconState post, String testName)
+      throws Exception {
+    BeaconState wState = pre.updated(EpochProcessorUtil::process_rewards_and_penalties);
+    assertEquals(post, wState);
+  }
+
+  @ParameterizedTest(name = "{index}.{2} process rewards and penalties with validator statuses")
+  @MethodSource("mainnetRewardsAndPenaltiesSetup")
+  void mainnetProcessRewardsAndPenaltiesWithValidatorStatuses(
+      BeaconState pre, BeaconState post, String testName) throws Exception {
+    BeaconState wState =
+        pre.updated(
+            state ->
+                EpochProcessor.processRewardsAndPenalties(
+                    state, EpochProcessor.calculateValidatorStatuses(state)));
+    assertEquals(post, wState);
+  }
+
+  @ParameterizedTest(name = "{index}.{2} process rewards and penalties with validator statuses")
+  @MethodSource("minimalRewardsAndPenaltiesSetup")
+  void minimalProcessRewardsAndPenaltiesWithValidatorStatuses(
+      BeaconState pre, BeaconState post, String testName) throws Exception {
+    BeaconState wState =
+        pre.updated(
+            state ->
+                EpochProcessor.processRewardsAndPenalties(
+                    state, EpochProcessor.calculateValidatorStatuses(state)));
+    assertEquals(post, wState);
+  }
+
+  @MustBeClosed
+  static Stream<Arguments> rewardsAndPenaltiesSetup(String config) throws Exception {
+    Path path =
+        Paths.get(config, "phase0", "epoch_processing", "rewards_and_penalties", "pyspec_tests");
+    return epochProcessingSetup(path, Paths.get(config));
+  }
+
+  @MustBeClosed
+  static Stream<Arguments> minimalRewardsAndPenaltiesSetup() throws Exception {
+    return rewardsAndPenaltiesSetup("minimal");
+  }
+
+  @MustBeClosed
+  static Stream<Arguments> mainnetRewardsAndPenaltiesSetup() throws Exception {
+    return rewardsAndPenaltiesSetup("mainnet");
+  }
+}
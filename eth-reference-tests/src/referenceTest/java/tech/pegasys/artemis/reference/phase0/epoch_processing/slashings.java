@@ -25,6 +25,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import tech.pegasys.artemis.core.EpochProcessorUtil;
+import tech.pegasys.artemis.core.epoch.EpochProcessor;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.ethtests.TestSuite;
 
@@ -47,6 +48,30 @@ public class slashings extends TestSuite {
     assertEquals(post, wState);
   }
 
+  @ParameterizedTest(name = "{index}.{2} process slashings with validator statuses")
+  @MethodSource("mainnetSlashingsSetup")
+  void mainnetProcessSlashingsWithValidatorStatuses(
+      BeaconState pre, BeaconState post, String testName) throws Exception {
+    BeaconState wState =
+        pre.updated(
+            state ->
+                EpochProcessor.processSlashings(
+                    state, EpochProcessor.calculateValidatorStatuses(state)));
+    assertEquals(post, wState);
+  }
+
+  @ParameterizedTest(name = "{index}.{2} process slashings with validator statuses")
+  @MethodSource("minimalSlashingsSetup")
+  void minimalProcessSlashingsWithValidatorStatuses(
+      BeaconState pre, BeaconState post, String testName) throws Exception {
+    BeaconState wState =
+        pre.updated(
+            state ->
+                EpochProcessor.processSlashings(
+                    state, EpochProcessor.calculateValidatorStatuses(state)));
+    assertEquals(post, wState);
+  }
+
   @MustBeClosed
   static Stream<Arguments> slashingsSetup(String config) throws Exception {
     Path path = Paths.get(config, "phase0", "epoch_processing", "slashings", "pyspec_tests");
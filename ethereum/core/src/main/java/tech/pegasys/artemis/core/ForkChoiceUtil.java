@@ -40,6 +40,7 @@ import tech.pegasys.artemis.datastructures.operations.Attestation;
 import tech.pegasys.artemis.datastructures.operations.IndexedAttestation;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.protoarray.ForkChoiceBlockListener;
 import tech.pegasys.artemis.protoarray.ForkChoiceStrategy;
 
 public class ForkChoiceUtil {
@@ -152,7 +153,7 @@ public class ForkChoiceUtil {
       final MutableStore store,
       final SignedBeaconBlock signed_block,
       final StateTransition st,
-      final ForkChoiceStrategy forkChoiceStrategy) {
+      final ForkChoiceBlockListener blockListener) {
     final BeaconBlock block = signed_block.getMessage();
     final BeaconState preState = store.getBlockState(block.getParent_root());
 
@@ -162,10 +163,6 @@ public class ForkChoiceUtil {
       return maybeFailure.get();
     }
 
-    Bytes32 blockRoot = block.hash_tree_root();
-    // Add new block to the store
-    store.putBlock(blockRoot, signed_block);
-
     // Make a copy of the state to avoid mutability issues
     BeaconState state;
 
@@ -176,6 +173,54 @@ public class ForkChoiceUtil {
       return BlockImportResult.failedStateTransition(e);
     }
 
+    return addBlockToStore(store, signed_block, preState, state, st, blockListener);
+  }
+
+  /**
+   * Runs the store updates of ``on_block`` for a block whose post-state has already been computed
+   * and validated, for example by a block import pipeline which runs the state transition of a
+   * block separately from updating the store.
+   *
+   * @param store
+   * @param signed_block
+   * @param preState The state of the block's parent
+   * @param postState The validated state after applying the block
+   * @param st
+   * @param blockListener
+   */
+  @CheckReturnValue
+  public static BlockImportResult on_validated_block(
+      final MutableStore store,
+      final SignedBeaconBlock signed_block,
+      final BeaconState preState,
+      final BeaconState postState,
+      final StateTransition st,
+      final ForkChoiceBlockListener blockListener) {
+    final BeaconBlock block = signed_block.getMessage();
+    if (!store.containsBlock(block.getParent_root())) {
+      return BlockImportResult.FAILED_UNKNOWN_PARENT;
+    }
+
+    final Optional<BlockImportResult> maybeFailure = checkOnBlockConditions(block, preState, store);
+    if (maybeFailure.isPresent()) {
+      return maybeFailure.get();
+    }
+
+    return addBlockToStore(store, signed_block, preState, postState, st, blockListener);
+  }
+
+  private static BlockImportResult addBlockToStore(
+      final MutableStore store,
+      final SignedBeaconBlock signed_block,
+      final BeaconState preState,
+      final BeaconState state,
+      final StateTransition st,
+      final ForkChoiceBlockListener blockListener) {
+    final BeaconBlock block = signed_block.getMessage();
+    Bytes32 blockRoot = block.hash_tree_root();
+    // Add new block to the store
+    store.putBlock(blockRoot, signed_block);
+
     // Add new state for this block to the store
     store.putBlockState(blockRoot, state);
 
@@ -229,7 +274,7 @@ public class ForkChoiceUtil {
       }
     }
 
-    forkChoiceStrategy.onBlock(store, block);
+    blockListener.onBlock(store, block);
 
     final BlockProcessingRecord record = new BlockProcessingRecord(preState, signed_block, state);
     return BlockImportResult.successful(record);
@@ -249,7 +294,7 @@ public class ForkChoiceUtil {
     return Optional.empty();
   }
 
-  private static boolean blockIsFromFuture(BeaconBlock block, ReadOnlyStore store) {
+  public static boolean blockIsFromFuture(BeaconBlock block, ReadOnlyStore store) {
     return get_current_slot(store).compareTo(block.getSlot()) < 0;
   }
 
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.core;
+
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.util.collections.ConcurrentLimitedMap;
+import tech.pegasys.artemis.util.collections.LimitStrategy;
+
+/**
+ * States which have already been advanced across an epoch boundary, keyed by the root of the state
+ * they were advanced from.
+ *
+ * <p>Processing slots is deterministic, so a precomputed state can safely be reused by any {@link
+ * StateTransition}. A single shared instance is used by default so that a transition precomputed
+ * for the head also benefits gossip validation and state regeneration in storage, which run in
+ * different services and create their own {@link StateTransition}.
+ */
+public class PrecomputedStates {
+  private static final int MAX_PRECOMPUTED_STATES = 4;
+  private static final PrecomputedStates SHARED = new PrecomputedStates();
+
+  private final Map<Bytes32, BeaconState> states =
+      ConcurrentLimitedMap.create(
+          MAX_PRECOMPUTED_STATES, LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
+
+  public static PrecomputedStates shared() {
+    return SHARED;
+  }
+
+  void put(final BeaconState preState, final BeaconState state) {
+    states.put(preState.hash_tree_root(), state);
+  }
+
+  /**
+   * Returns the precomputed state for the given pre state if it can be used to advance to the given
+   * slot.
+   *
+   * @param preState The state being advanced
+   * @param slot The slot the state is being advanced to
+   * @return The precomputed state, or empty if there is none for this pre state or it has already
+   *     been advanced beyond the given slot
+   */
+  Optional<BeaconState> get(final BeaconState preState, final UnsignedLong slot) {
+    // Only worth calculating the pre state root when an epoch transition would be required
+    if (states.isEmpty()
+        || compute_epoch_at_slot(preState.getSlot()).equals(compute_epoch_at_slot(slot))) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(states.get(preState.hash_tree_root()))
+        .filter(state -> state.getSlot().compareTo(slot) <= 0);
+  }
+}
@@ -23,12 +23,16 @@ import static tech.pegasys.artemis.util.config.Constants.ZERO_HASH;
 import com.google.common.primitives.UnsignedLong;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.core.blockvalidator.BatchBlockValidator;
 import tech.pegasys.artemis.core.blockvalidator.BlockValidator;
 import tech.pegasys.artemis.core.blockvalidator.BlockValidator.BlockValidationResult;
+import tech.pegasys.artemis.core.epoch.EpochProcessor;
+import tech.pegasys.artemis.core.epoch.ValidatorStatuses;
 import tech.pegasys.artemis.core.exceptions.BlockProcessingException;
 import tech.pegasys.artemis.core.exceptions.EpochProcessingException;
 import tech.pegasys.artemis.core.exceptions.SlotProcessingException;
@@ -38,6 +42,7 @@ import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.util.BeaconStateUtil;
 import tech.pegasys.artemis.metrics.EpochMetrics;
+import tech.pegasys.artemis.util.async.SafeFuture;
 
 public class StateTransition {
 
@@ -49,22 +54,31 @@ public class StateTransition {
 
   private final Optional<EpochMetrics> epochMetrics;
   private final BlockValidator blockValidator;
+  private final PrecomputedStates precomputedStates;
 
   public StateTransition() {
-    this(Optional.empty(), createDefaultBlockValidator());
+    this(Optional.empty(), createDefaultBlockValidator(), PrecomputedStates.shared());
   }
 
   public StateTransition(EpochMetrics epochMetrics) {
-    this(Optional.of(epochMetrics), createDefaultBlockValidator());
+    this(Optional.of(epochMetrics), createDefaultBlockValidator(), PrecomputedStates.shared());
   }
 
   public StateTransition(BlockValidator blockValidator) {
-    this(Optional.empty(), blockValidator);
+    this(Optional.empty(), blockValidator, PrecomputedStates.shared());
   }
 
-  private StateTransition(Optional<EpochMetrics> epochMetrics, BlockValidator blockValidator) {
+  public StateTransition(PrecomputedStates precomputedStates) {
+    this(Optional.empty(), createDefaultBlockValidator(), precomputedStates);
+  }
+
+  private StateTransition(
+      Optional<EpochMetrics> epochMetrics,
+      BlockValidator blockValidator,
+      PrecomputedStates precomputedStates) {
     this.epochMetrics = epochMetrics;
     this.blockValidator = blockValidator;
+    this.precomputedStates = precomputedStates;
   }
 
   public BeaconState initiate(BeaconState preState, SignedBeaconBlock signed_block)
@@ -113,6 +127,46 @@ public class StateTransition {
     }
   }
 
+  /**
+   * Runs state transition up to and with the given block without waiting for the block to be
+   * validated. The post state is available as soon as this method returns so the transition of a
+   * child block can start while the signatures and state root of this block are still being
+   * checked on {@code validationExecutor}.
+   *
+   * @param preState The state of the block's parent
+   * @param signed_block The block to process
+   * @param validationExecutor The executor to validate the block on
+   * @return The post state and the pending result of validating the block
+   * @throws StateTransitionException If slot or block processing fails
+   */
+  public PendingBlockValidation initiateWithPendingValidation(
+      BeaconState preState, SignedBeaconBlock signed_block, Executor validationExecutor)
+      throws StateTransitionException {
+    try {
+      final BeaconBlock block = signed_block.getMessage();
+      BeaconState postSlotState = process_slots(preState, block.getSlot());
+      BeaconState postState = process_block(postSlotState, block);
+
+      final SafeFuture<BlockValidationResult> validationResult = new SafeFuture<>();
+      try {
+        validationExecutor.execute(
+            () ->
+                SafeFuture.ofComposed(
+                        () -> blockValidator.validate(postSlotState, signed_block, postState))
+                    .propagateTo(validationResult));
+      } catch (RejectedExecutionException e) {
+        validationResult.completeExceptionally(e);
+      }
+      return new PendingBlockValidation(postState, validationResult);
+    } catch (SlotProcessingException
+        | BlockProcessingException
+        | EpochProcessingException
+        | IllegalArgumentException e) {
+      LOG.warn("State Transition error", e);
+      throw new StateTransitionException(e);
+    }
+  }
+
   /**
    * v0.7.1
    * https://github.com/ethereum/eth2.0-specs/blob/v0.7.1/specs/core/0_beacon-chain.md#beacon-chain-state-transition-function
@@ -141,13 +195,17 @@ public class StateTransition {
   private static BeaconState process_epoch(BeaconState preState) throws EpochProcessingException {
     return preState.updated(
         state -> {
+          // Validator statuses are calculated once and shared by each step. Equivalent to the
+          // step by step spec implementation in EpochProcessorUtil.
+          final ValidatorStatuses validatorStatuses =
+              EpochProcessor.calculateValidatorStatuses(state);
           // Note: the lines with @ label here will be inserted here in a future phase
-          EpochProcessorUtil.process_justification_and_finalization(state);
-          EpochProcessorUtil.process_rewards_and_penalties(state);
-          EpochProcessorUtil.process_registry_updates(state);
+          EpochProcessor.processJustificationAndFinalization(state, validatorStatuses);
+          EpochProcessor.processRewardsAndPenalties(state, validatorStatuses);
+          EpochProcessor.processRegistryUpdates(state, validatorStatuses);
           // @process_reveal_deadlines
           // @process_challenge_deadlines
-          EpochProcessorUtil.process_slashings(state);
+          EpochProcessor.processSlashings(state, validatorStatuses);
           // @update_period_committee
           EpochProcessorUtil.process_final_updates(state);
           // @after_process_final_updates
@@ -203,7 +261,7 @@ public class StateTransition {
           "process_slots: State slot %s higher than given slot %s",
           preState.getSlot(),
           slot);
-      BeaconState state = preState;
+      BeaconState state = precomputedStates.get(preState, slot).orElse(preState);
       while (state.getSlot().compareTo(slot) < 0) {
         state = process_slot(state);
         // Process epoch on the start slot of the next epoch
@@ -225,6 +283,22 @@ public class StateTransition {
     }
   }
 
+  /**
+   * Processes slots as {@link #process_slots(BeaconState, UnsignedLong)} does and keeps the result
+   * so that later calls advancing the same pre state to the given slot, or beyond it, can start
+   * from the precomputed state instead of repeating epoch processing.
+   *
+   * @param preState The state to advance
+   * @param slot The slot to advance the state to, typically the first slot of an epoch
+   * @return The advanced state
+   */
+  public BeaconState precompute_slots(BeaconState preState, UnsignedLong slot)
+      throws SlotProcessingException, EpochProcessingException {
+    final BeaconState state = process_slots(preState, slot);
+    precomputedStates.put(preState, state);
+    return state;
+  }
+
   private synchronized void recordMetrics(BeaconState state) {
     epochMetrics.ifPresent(
         metrics -> {
@@ -243,4 +317,24 @@ public class StateTransition {
               pendingExits);
         });
   }
+
+  /** The result of a state transition whose block is still being validated. */
+  public static class PendingBlockValidation {
+    private final BeaconState postState;
+    private final SafeFuture<BlockValidationResult> validationResult;
+
+    private PendingBlockValidation(
+        final BeaconState postState, final SafeFuture<BlockValidationResult> validationResult) {
+      this.postState = postState;
+      this.validationResult = validationResult;
+    }
+
+    public BeaconState getPostState() {
+      return postState;
+    }
+
+    public SafeFuture<BlockValidationResult> getValidationResult() {
+      return validationResult;
+    }
+  }
 }
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.core.epoch;
+
+import static tech.pegasys.artemis.core.epoch.ValidatorStatuses.AWAITING_ACTIVATION;
+import static tech.pegasys.artemis.core.epoch.ValidatorStatuses.ELIGIBLE_FOR_ACTIVATION_QUEUE;
+import static tech.pegasys.artemis.core.epoch.ValidatorStatuses.ELIGIBLE_FOR_REWARDS;
+import static tech.pegasys.artemis.core.epoch.ValidatorStatuses.PREVIOUS_EPOCH_HEAD_ATTESTER;
+import static tech.pegasys.artemis.core.epoch.ValidatorStatuses.PREVIOUS_EPOCH_SOURCE_ATTESTER;
+import static tech.pegasys.artemis.core.epoch.ValidatorStatuses.PREVIOUS_EPOCH_TARGET_ATTESTER;
+import static tech.pegasys.artemis.core.epoch.ValidatorStatuses.SLASHING_PENALTY_DUE;
+import static tech.pegasys.artemis.core.epoch.ValidatorStatuses.TO_BE_EJECTED;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.all;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.compute_activation_exit_epoch;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_block_root;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_current_epoch;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_previous_epoch;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.initiate_validator_exit;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.integer_squareroot;
+import static tech.pegasys.artemis.datastructures.util.ValidatorsUtil.decrease_balance;
+import static tech.pegasys.artemis.util.config.Constants.BASE_REWARDS_PER_EPOCH;
+import static tech.pegasys.artemis.util.config.Constants.BASE_REWARD_FACTOR;
+import static tech.pegasys.artemis.util.config.Constants.CHURN_LIMIT_QUOTIENT;
+import static tech.pegasys.artemis.util.config.Constants.EFFECTIVE_BALANCE_INCREMENT;
+import static tech.pegasys.artemis.util.config.Constants.GENESIS_EPOCH;
+import static tech.pegasys.artemis.util.config.Constants.INACTIVITY_PENALTY_QUOTIENT;
+import static tech.pegasys.artemis.util.config.Constants.MIN_EPOCHS_TO_INACTIVITY_PENALTY;
+import static tech.pegasys.artemis.util.config.Constants.MIN_PER_EPOCH_CHURN_LIMIT;
+import static tech.pegasys.artemis.util.config.Constants.PROPOSER_REWARD_QUOTIENT;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import tech.pegasys.artemis.core.EpochProcessorUtil;
+import tech.pegasys.artemis.core.exceptions.EpochProcessingException;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.datastructures.state.MutableBeaconState;
+import tech.pegasys.artemis.ssz.SSZTypes.Bitvector;
+import tech.pegasys.artemis.ssz.SSZTypes.SSZMutableList;
+
+/**
+ * Epoch processing driven by {@link ValidatorStatuses}.
+ *
+ * <p>Produces the same results as the step by step spec implementation in {@link
+ * EpochProcessorUtil}, but calculates the status of each validator once up front and then works
+ * from primitive arrays, rather than rebuilding attesting index sets and reading validator records
+ * in each step.
+ */
+public final class EpochProcessor {
+
+  public static ValidatorStatuses calculateValidatorStatuses(final BeaconState state)
+      throws EpochProcessingException {
+    try {
+      return ValidatorStatuses.create(state);
+    } catch (IllegalArgumentException e) {
+      throw new EpochProcessingException(e);
+    }
+  }
+
+  /**
+   * Processes justification and finalization.
+   *
+   * @see EpochProcessorUtil#process_justification_and_finalization(MutableBeaconState)
+   */
+  public static void processJustificationAndFinalization(
+      final MutableBeaconState state, final ValidatorStatuses validatorStatuses)
+      throws EpochProcessingException {
+    try {
+      final UnsignedLong currentEpoch = get_current_epoch(state);
+      if (currentEpoch.compareTo(UnsignedLong.valueOf(GENESIS_EPOCH + 1)) <= 0) {
+        return;
+      }
+      final UnsignedLong previousEpoch = get_previous_epoch(state);
+      final Checkpoint oldPreviousJustifiedCheckpoint = state.getPrevious_justified_checkpoint();
+      final Checkpoint oldCurrentJustifiedCheckpoint = state.getCurrent_justified_checkpoint();
+      final long totalActiveBalance = validatorStatuses.getCurrentEpochActiveBalance();
+
+      // Process justifications
+      state.setPrevious_justified_checkpoint(oldCurrentJustifiedCheckpoint);
+      final Bitvector justificationBits = state.getJustification_bits().rightShift(1);
+      if (isSupermajority(
+          validatorStatuses.getPreviousEpochTargetAttestingBalance(), totalActiveBalance)) {
+        state.setCurrent_justified_checkpoint(
+            new Checkpoint(previousEpoch, get_block_root(state, previousEpoch)));
+        justificationBits.setBit(1);
+      }
+      if (isSupermajority(
+          validatorStatuses.getCurrentEpochTargetAttestingBalance(), totalActiveBalance)) {
+        state.setCurrent_justified_checkpoint(
+            new Checkpoint(currentEpoch, get_block_root(state, currentEpoch)));
+        justificationBits.setBit(0);
+      }
+      state.setJustification_bits(justificationBits);
+
+      // Process finalizations
+      final UnsignedLong oldPreviousJustifiedEpoch = oldPreviousJustifiedCheckpoint.getEpoch();
+      final UnsignedLong oldCurrentJustifiedEpoch = oldCurrentJustifiedCheckpoint.getEpoch();
+      // The 2nd/3rd/4th most recent epochs are justified, the 2nd using the 4th as source
+      if (all(justificationBits, 1, 4)
+          && oldPreviousJustifiedEpoch.plus(UnsignedLong.valueOf(3)).equals(currentEpoch)) {
+        state.setFinalized_checkpoint(oldPreviousJustifiedCheckpoint);
+      }
+      // The 2nd/3rd most recent epochs are justified, the 2nd using the 3rd as source
+      if (all(justificationBits, 1, 3)
+          && oldPreviousJustifiedEpoch.plus(UnsignedLong.valueOf(2)).equals(currentEpoch)) {
+        state.setFinalized_checkpoint(oldPreviousJustifiedCheckpoint);
+      }
+      // The 1st/2nd/3rd most recent epochs are justified, the 1st using the 3rd as source
+      if (all(justificationBits, 0, 3)
+          && oldCurrentJustifiedEpoch.plus(UnsignedLong.valueOf(2)).equals(currentEpoch)) {
+        state.setFinalized_checkpoint(oldCurrentJustifiedCheckpoint);
+      }
+      // The 1st/2nd most recent epochs are justified, the 1st using the 2nd as source
+      if (all(justificationBits, 0, 2)
+          && oldCurrentJustifiedEpoch.plus(UnsignedLong.ONE).equals(currentEpoch)) {
+        state.setFinalized_checkpoint(oldCurrentJustifiedCheckpoint);
+      }
+    } catch (IllegalArgumentException e) {
+      throw new EpochProcessingException(e);
+    }
+  }
+
+  private static boolean isSupermajority(final long attestingBalance, final long totalBalance) {
+    return attestingBalance * 3 >= totalBalance * 2;
+  }
+
+  /**
+   * Processes rewards and penalties, accumulating the deltas for every validator before applying
+   * them to the balances in a single pass.
+   *
+   * @see EpochProcessorUtil#process_rewards_and_penalties(MutableBeaconState)
+   */
+  public static void processRewardsAndPenalties(
+      final MutableBeaconState state, final ValidatorStatuses validatorStatuses)
+      throws EpochProcessingException {
+    try {
+      if (get_current_epoch(state).equals(UnsignedLong.valueOf(GENESIS_EPOCH))) {
+        return;
+      }
+      final int validatorCount = validatorStatuses.getValidatorCount();
+      final long[] rewards = new long[validatorCount];
+      final long[] penalties = new long[validatorCount];
+
+      final long increment = EFFECTIVE_BALANCE_INCREMENT.longValue();
+      final long totalBalance = validatorStatuses.getCurrentEpochActiveBalance();
+      final long totalIncrements = totalBalance / increment;
+      final long totalBalanceSquareRoot =
+          integer_squareroot(UnsignedLong.valueOf(totalBalance)).longValue();
+      // Factored out from balance totals to avoid uint64 overflow
+      final long sourceIncrements =
+          validatorStatuses.getPreviousEpochSourceAttestingBalance() / increment;
+      final long targetIncrements =
+          validatorStatuses.getPreviousEpochTargetAttestingBalance() / increment;
+      final long headIncrements =
+          validatorStatuses.getPreviousEpochHeadAttestingBalance() / increment;
+
+      final UnsignedLong finalityDelay =
+          get_previous_epoch(state).minus(state.getFinalized_checkpoint().getEpoch());
+      final boolean isInactivityLeak =
+          finalityDelay.compareTo(UnsignedLong.valueOf(MIN_EPOCHS_TO_INACTIVITY_PENALTY)) > 0;
+
+      for (int index = 0; index < validatorCount; index++) {
+        final long effectiveBalance = validatorStatuses.getEffectiveBalance(index);
+        final long baseReward =
+            effectiveBalance * BASE_REWARD_FACTOR / totalBalanceSquareRoot / BASE_REWARDS_PER_EPOCH;
+
+        if (validatorStatuses.hasStatus(index, ELIGIBLE_FOR_REWARDS)) {
+          // Micro-incentives for matching FFG source, FFG target, and head
+          if (validatorStatuses.isUnslashedWithStatus(index, PREVIOUS_EPOCH_SOURCE_ATTESTER)) {
+            rewards[index] += baseReward * sourceIncrements / totalIncrements;
+          } else {
+            penalties[index] += baseReward;
+          }
+          if (validatorStatuses.isUnslashedWithStatus(index, PREVIOUS_EPOCH_TARGET_ATTESTER)) {
+            rewards[index] += baseReward * targetIncrements / totalIncrements;
+          } else {
+            penalties[index] += baseReward;
+          }
+          if (validatorStatuses.isUnslashedWithStatus(index, PREVIOUS_EPOCH_HEAD_ATTESTER)) {
+            rewards[index] += baseReward * headIncrements / totalIncrements;
+          } else {
+            penalties[index] += baseReward;
+          }
+
+          // Inactivity penalty
+          if (isInactivityLeak) {
+            penalties[index] += BASE_REWARDS_PER_EPOCH * baseReward;
+            if (!validatorStatuses.isUnslashedWithStatus(index, PREVIOUS_EPOCH_TARGET_ATTESTER)) {
+              penalties[index] +=
+                  effectiveBalance * finalityDelay.longValue() / INACTIVITY_PENALTY_QUOTIENT;
+            }
+          }
+        }
+
+        // Proposer and inclusion delay micro-rewards
+        if (validatorStatuses.isUnslashedWithStatus(index, PREVIOUS_EPOCH_SOURCE_ATTESTER)) {
+          final long proposerReward = baseReward / PROPOSER_REWARD_QUOTIENT;
+          rewards[validatorStatuses.getInclusionProposer(index)] += proposerReward;
+          rewards[index] +=
+              (baseReward - proposerReward) / validatorStatuses.getInclusionDelay(index);
+        }
+      }
+
+      final SSZMutableList<UnsignedLong> balances = state.getBalances();
+      for (int index = 0; index < validatorCount; index++) {
+        if (rewards[index] == 0 && penalties[index] == 0) {
+          continue;
+        }
+        final long balance = balances.get(index).longValue() + rewards[index];
+        final long newBalance = penalties[index] > balance ? 0 : balance - penalties[index];
+        balances.set(index, UnsignedLong.valueOf(newBalance));
+      }
+    } catch (IllegalArgumentException e) {
+      throw new EpochProcessingException(e);
+    }
+  }
+
+  /**
+   * Processes validator registry updates.
+   *
+   * @see EpochProcessorUtil#process_registry_updates(MutableBeaconState)
+   */
+  public static void processRegistryUpdates(
+      final MutableBeaconState state, final ValidatorStatuses validatorStatuses)
+      throws EpochProcessingException {
+    try {
+      final UnsignedLong currentEpoch = get_current_epoch(state);
+      final int validatorCount = validatorStatuses.getValidatorCount();
+
+      // Process activation eligibility and ejections
+      final UnsignedLong activationEligibilityEpoch = currentEpoch.plus(UnsignedLong.ONE);
+      for (int index = 0; index < validatorCount; index++) {
+        if (validatorStatuses.hasStatus(index, ELIGIBLE_FOR_ACTIVATION_QUEUE)) {
+          state
+              .getValidators()
+              .update(
+                  index,
+                  validator ->
+                      validator.withActivation_eligibility_epoch(activationEligibilityEpoch));
+        }
+        if (validatorStatuses.hasStatus(index, TO_BE_EJECTED)) {
+          initiate_validator_exit(state, index);
+        }
+      }
+
+      // Queue validators eligible for activation and not yet dequeued for activation
+      final long finalizedEpoch = state.getFinalized_checkpoint().getEpoch().longValue();
+      final List<Integer> activationQueue =
+          IntStream.range(0, validatorCount)
+              .filter(
+                  index ->
+                      validatorStatuses.hasStatus(index, AWAITING_ACTIVATION)
+                          && Long.compareUnsigned(
+                                  validatorStatuses.getActivationEligibilityEpoch(index),
+                                  finalizedEpoch)
+                              <= 0)
+              .boxed()
+              .sorted(
+                  Comparator.<Integer>comparingLong(
+                          validatorStatuses::getActivationEligibilityEpoch)
+                      .thenComparing(Comparator.naturalOrder()))
+              .collect(Collectors.toList());
+
+      // Dequeued validators for activation up to churn limit (without resetting activation epoch)
+      final int churnLimit =
+          Math.max(
+              MIN_PER_EPOCH_CHURN_LIMIT,
+              validatorStatuses.getCurrentEpochActiveValidatorCount() / CHURN_LIMIT_QUOTIENT);
+      final UnsignedLong activationEpoch = compute_activation_exit_epoch(currentEpoch);
+      final int activationCount = Math.min(churnLimit, activationQueue.size());
+      for (Integer index : activationQueue.subList(0, activationCount)) {
+        state
+            .getValidators()
+            .update(index, validator -> validator.withActivation_epoch(activationEpoch));
+      }
+    } catch (IllegalArgumentException e) {
+      throw new EpochProcessingException(e);
+    }
+  }
+
+  /**
+   * Processes slashings.
+   *
+   * @see EpochProcessorUtil#process_slashings(MutableBeaconState)
+   */
+  public static void processSlashings(
+      final MutableBeaconState state, final ValidatorStatuses validatorStatuses) {
+    final long totalBalance = validatorStatuses.getCurrentEpochActiveBalance();
+    final long increment = EFFECTIVE_BALANCE_INCREMENT.longValue();
+    long totalSlashings = 0;
+    for (UnsignedLong slashing : state.getSlashings()) {
+      totalSlashings += slashing.longValue();
+    }
+    final long adjustedTotalSlashingBalance = Math.min(totalSlashings * 3, totalBalance);
+
+    for (int index = 0; index < validatorStatuses.getValidatorCount(); index++) {
+      if (!validatorStatuses.hasStatus(index, SLASHING_PENALTY_DUE)) {
+        continue;
+      }
+      final long penaltyNumerator =
+          validatorStatuses.getEffectiveBalance(index) / increment * adjustedTotalSlashingBalance;
+      final long penalty = penaltyNumerator / totalBalance * increment;
+      decrease_balance(state, index, UnsignedLong.valueOf(penalty));
+    }
+  }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.core.epoch;
+
+import static tech.pegasys.artemis.datastructures.util.AttestationUtil.get_attesting_indices;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_block_root;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_block_root_at_slot;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_current_epoch;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_previous_epoch;
+import static tech.pegasys.artemis.util.config.Constants.EFFECTIVE_BALANCE_INCREMENT;
+import static tech.pegasys.artemis.util.config.Constants.EJECTION_BALANCE;
+import static tech.pegasys.artemis.util.config.Constants.EPOCHS_PER_SLASHINGS_VECTOR;
+import static tech.pegasys.artemis.util.config.Constants.FAR_FUTURE_EPOCH;
+import static tech.pegasys.artemis.util.config.Constants.GENESIS_EPOCH;
+import static tech.pegasys.artemis.util.config.Constants.MAX_EFFECTIVE_BALANCE;
+
+import com.google.common.base.Suppliers;
+import com.google.common.primitives.UnsignedLong;
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.datastructures.operations.AttestationData;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.state.PendingAttestation;
+import tech.pegasys.artemis.datastructures.state.Validator;
+import tech.pegasys.artemis.ssz.SSZTypes.SSZList;
+
+/**
+ * The status of every validator at an epoch transition, held in primitive arrays indexed by
+ * validator index.
+ *
+ * <p>Created with a single pass over the validator registry and a single pass over each of the
+ * previous and current epoch attestation lists, so that epoch processing doesn't need to repeatedly
+ * filter attestations, build sets of attesting indices or read validator records.
+ */
+public final class ValidatorStatuses {
+  static final int SLASHED = 1;
+  static final int ACTIVE_IN_CURRENT_EPOCH = 1 << 1;
+  static final int ACTIVE_IN_PREVIOUS_EPOCH = 1 << 2;
+  static final int ELIGIBLE_FOR_REWARDS = 1 << 3;
+  static final int PREVIOUS_EPOCH_SOURCE_ATTESTER = 1 << 4;
+  static final int PREVIOUS_EPOCH_TARGET_ATTESTER = 1 << 5;
+  static final int PREVIOUS_EPOCH_HEAD_ATTESTER = 1 << 6;
+  static final int CURRENT_EPOCH_TARGET_ATTESTER = 1 << 7;
+  static final int ELIGIBLE_FOR_ACTIVATION_QUEUE = 1 << 8;
+  static final int AWAITING_ACTIVATION = 1 << 9;
+  static final int TO_BE_EJECTED = 1 << 10;
+  static final int SLASHING_PENALTY_DUE = 1 << 11;
+
+  private final int[] flags;
+  private final long[] effectiveBalances;
+  private final long[] activationEligibilityEpochs;
+  private final long[] inclusionDelays;
+  private final int[] inclusionProposers;
+
+  private long currentEpochActiveBalance;
+  private long previousEpochSourceAttestingBalance;
+  private long previousEpochTargetAttestingBalance;
+  private long previousEpochHeadAttestingBalance;
+  private long currentEpochTargetAttestingBalance;
+  private int currentEpochActiveValidatorCount;
+
+  private ValidatorStatuses(final int validatorCount) {
+    flags = new int[validatorCount];
+    effectiveBalances = new long[validatorCount];
+    activationEligibilityEpochs = new long[validatorCount];
+    inclusionDelays = new long[validatorCount];
+    inclusionProposers = new int[validatorCount];
+  }
+
+  /**
+   * Calculates the status of every validator in the given state.
+   *
+   * @param state the state at the end of the epoch being processed
+   * @return the validator statuses
+   * @throws IllegalArgumentException if an attestation doesn't match its committee
+   */
+  public static ValidatorStatuses create(final BeaconState state) {
+    final SSZList<Validator> validators = state.getValidators();
+    final ValidatorStatuses statuses = new ValidatorStatuses(validators.size());
+    final UnsignedLong currentEpoch = get_current_epoch(state);
+    final UnsignedLong previousEpoch = get_previous_epoch(state);
+    statuses.processValidators(validators, currentEpoch, previousEpoch);
+
+    // Attestations are only used for rewards, which start after the genesis epoch, and
+    // justification, which starts the epoch after that
+    final UnsignedLong genesisEpoch = UnsignedLong.valueOf(GENESIS_EPOCH);
+    if (currentEpoch.compareTo(genesisEpoch) > 0) {
+      statuses.processPreviousEpochAttestations(state, previousEpoch);
+    }
+    if (currentEpoch.compareTo(genesisEpoch.plus(UnsignedLong.ONE)) > 0) {
+      statuses.processCurrentEpochAttestations(state, currentEpoch);
+    }
+    statuses.calculateAttestingBalances();
+    return statuses;
+  }
+
+  private void processValidators(
+      final SSZList<Validator> validators,
+      final UnsignedLong currentEpoch,
+      final UnsignedLong previousEpoch) {
+    final UnsignedLong slashingPenaltyEpoch =
+        currentEpoch.plus(UnsignedLong.valueOf(EPOCHS_PER_SLASHINGS_VECTOR / 2));
+    final UnsignedLong maxEffectiveBalance = UnsignedLong.valueOf(MAX_EFFECTIVE_BALANCE);
+    final UnsignedLong ejectionBalance = UnsignedLong.valueOf(EJECTION_BALANCE);
+    for (int index = 0; index < validators.size(); index++) {
+      final Validator validator = validators.get(index);
+      final UnsignedLong effectiveBalance = validator.getEffective_balance();
+      final UnsignedLong activationEligibilityEpoch = validator.getActivation_eligibility_epoch();
+      final UnsignedLong activationEpoch = validator.getActivation_epoch();
+      final UnsignedLong exitEpoch = validator.getExit_epoch();
+      final UnsignedLong withdrawableEpoch = validator.getWithdrawable_epoch();
+      final boolean slashed = validator.isSlashed();
+      final boolean activeInCurrentEpoch = isActive(activationEpoch, exitEpoch, currentEpoch);
+      final boolean activeInPreviousEpoch = isActive(activationEpoch, exitEpoch, previousEpoch);
+
+      int status = 0;
+      if (slashed) {
+        status |= SLASHED;
+        if (slashingPenaltyEpoch.equals(withdrawableEpoch)) {
+          status |= SLASHING_PENALTY_DUE;
+        }
+      }
+      if (activeInCurrentEpoch) {
+        status |= ACTIVE_IN_CURRENT_EPOCH;
+        currentEpochActiveBalance += effectiveBalance.longValue();
+        currentEpochActiveValidatorCount++;
+        if (effectiveBalance.compareTo(ejectionBalance) <= 0) {
+          status |= TO_BE_EJECTED;
+        }
+      }
+      if (activeInPreviousEpoch) {
+        status |= ACTIVE_IN_PREVIOUS_EPOCH;
+      }
+      if (activeInPreviousEpoch
+          || (slashed && previousEpoch.plus(UnsignedLong.ONE).compareTo(withdrawableEpoch) < 0)) {
+        status |= ELIGIBLE_FOR_REWARDS;
+      }
+      if (activationEligibilityEpoch.equals(FAR_FUTURE_EPOCH)
+          && effectiveBalance.equals(maxEffectiveBalance)) {
+        status |= ELIGIBLE_FOR_ACTIVATION_QUEUE;
+      }
+      if (activationEpoch.equals(FAR_FUTURE_EPOCH)) {
+        status |= AWAITING_ACTIVATION;
+      }
+      flags[index] = status;
+      effectiveBalances[index] = effectiveBalance.longValue();
+      activationEligibilityEpochs[index] = activationEligibilityEpoch.longValue();
+    }
+  }
+
+  private void processPreviousEpochAttestations(
+      final BeaconState state, final UnsignedLong previousEpoch) {
+    final Supplier<Bytes32> targetRoot =
+        Suppliers.memoize(() -> get_block_root(state, previousEpoch));
+    for (PendingAttestation attestation : state.getPrevious_epoch_attestations()) {
+      final AttestationData data = attestation.getData();
+      int status = PREVIOUS_EPOCH_SOURCE_ATTESTER;
+      if (data.getTarget().getRoot().equals(targetRoot.get())) {
+        status |= PREVIOUS_EPOCH_TARGET_ATTESTER;
+        if (data.getBeacon_block_root().equals(get_block_root_at_slot(state, data.getSlot()))) {
+          status |= PREVIOUS_EPOCH_HEAD_ATTESTER;
+        }
+      }
+      final long inclusionDelay = attestation.getInclusion_delay().longValue();
+      final int proposerIndex = attestation.getProposer_index().intValue();
+      for (int index : get_attesting_indices(state, data, attestation.getAggregation_bits())) {
+        // The earliest included attestation is rewarded, the first one listed wins a tie
+        if ((flags[index] & PREVIOUS_EPOCH_SOURCE_ATTESTER) == 0
+            || inclusionDelay < inclusionDelays[index]) {
+          inclusionDelays[index] = inclusionDelay;
+          inclusionProposers[index] = proposerIndex;
+        }
+        flags[index] |= status;
+      }
+    }
+  }
+
+  private void processCurrentEpochAttestations(
+      final BeaconState state, final UnsignedLong currentEpoch) {
+    final Supplier<Bytes32> targetRoot =
+        Suppliers.memoize(() -> get_block_root(state, currentEpoch));
+    for (PendingAttestation attestation : state.getCurrent_epoch_attestations()) {
+      final AttestationData data = attestation.getData();
+      if (!data.getTarget().getRoot().equals(targetRoot.get())) {
+        continue;
+      }
+      for (int index : get_attesting_indices(state, data, attestation.getAggregation_bits())) {
+        flags[index] |= CURRENT_EPOCH_TARGET_ATTESTER;
+      }
+    }
+  }
+
+  private void calculateAttestingBalances() {
+    for (int index = 0; index < flags.length; index++) {
+      final int status = flags[index];
+      if ((status & SLASHED) != 0) {
+        continue;
+      }
+      final long effectiveBalance = effectiveBalances[index];
+      if ((status & PREVIOUS_EPOCH_SOURCE_ATTESTER) != 0) {
+        previousEpochSourceAttestingBalance += effectiveBalance;
+      }
+      if ((status & PREVIOUS_EPOCH_TARGET_ATTESTER) != 0) {
+        previousEpochTargetAttestingBalance += effectiveBalance;
+      }
+      if ((status & PREVIOUS_EPOCH_HEAD_ATTESTER) != 0) {
+        previousEpochHeadAttestingBalance += effectiveBalance;
+      }
+      if ((status & CURRENT_EPOCH_TARGET_ATTESTER) != 0) {
+        currentEpochTargetAttestingBalance += effectiveBalance;
+      }
+    }
+  }
+
+  private static boolean isActive(
+      final UnsignedLong activationEpoch, final UnsignedLong exitEpoch, final UnsignedLong epoch) {
+    return activationEpoch.compareTo(epoch) <= 0 && epoch.compareTo(exitEpoch) < 0;
+  }
+
+  public int getValidatorCount() {
+    return flags.length;
+  }
+
+  boolean hasStatus(final int index, final int status) {
+    return (flags[index] & status) != 0;
+  }
+
+  /**
+   * Returns true if the validator is not slashed and has all of the specified statuses.
+   *
+   * @param index the validator index
+   * @param status the statuses to check
+   * @return true if the validator is an unslashed validator with the given statuses
+   */
+  boolean isUnslashedWithStatus(final int index, final int status) {
+    return (flags[index] & (status | SLASHED)) == status;
+  }
+
+  long getEffectiveBalance(final int index) {
+    return effectiveBalances[index];
+  }
+
+  long getActivationEligibilityEpoch(final int index) {
+    return activationEligibilityEpochs[index];
+  }
+
+  long getInclusionDelay(final int index) {
+    return inclusionDelays[index];
+  }
+
+  int getInclusionProposer(final int index) {
+    return inclusionProposers[index];
+  }
+
+  int getCurrentEpochActiveValidatorCount() {
+    return currentEpochActiveValidatorCount;
+  }
+
+  // Balance totals are at least EFFECTIVE_BALANCE_INCREMENT to avoid dividing by zero, as in
+  // get_total_balance
+
+  long getCurrentEpochActiveBalance() {
+    return atLeastOneIncrement(currentEpochActiveBalance);
+  }
+
+  long getPreviousEpochSourceAttestingBalance() {
+    return atLeastOneIncrement(previousEpochSourceAttestingBalance);
+  }
+
+  long getPreviousEpochTargetAttestingBalance() {
+    return atLeastOneIncrement(previousEpochTargetAttestingBalance);
+  }
+
+  long getPreviousEpochHeadAttestingBalance() {
+    return atLeastOneIncrement(previousEpochHeadAttestingBalance);
+  }
+
+  long getCurrentEpochTargetAttestingBalance() {
+    return atLeastOneIncrement(currentEpochTargetAttestingBalance);
+  }
+
+  private static long atLeastOneIncrement(final long balance) {
+    return Math.max(balance, EFFECTIVE_BALANCE_INCREMENT.longValue());
+  }
+}
@@ -37,5 +37,18 @@ public interface MutableStore extends ReadOnlyStore {
 
   void setBestJustifiedCheckpoint(Checkpoint best_justified_checkpoint);
 
+  /**
+   * Returns a copy of the latest vote of a validator, or the default vote if it hasn't voted.
+   * Changes to the returned tracker are not recorded; use {@link #putVote(UnsignedLong,
+   * VoteTracker)} to update the vote.
+   */
   VoteTracker getVote(UnsignedLong validatorIndex);
+
+  void putVote(UnsignedLong validatorIndex, VoteTracker vote);
+
+  /**
+   * Passes the vote of every validator which has voted to {@code updater} and records the current
+   * root it returns. Votes are read in place so no {@link VoteTracker} is created per validator.
+   */
+  void updateVotes(VoteUpdater updater);
 }
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.datastructures.forkchoice;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.primitives.UnsignedLong;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Latest votes of validators stored as columns indexed by validator index: the current root, the
+ * next root and the next epoch. Validators without a vote have a null current root.
+ *
+ * <p>Roots are held by reference, so validators voting for the same block share one {@link
+ * Bytes32}. The columns start at the lowest validator index seen rather than at 0, so only the
+ * range from {@link #getFirstIndex()} to {@link #size()} is allocated and has to be scanned.
+ *
+ * <p>Instances created with {@link #createSparse()} hold votes in a sorted map instead, which
+ * suits a few votes from validators spread across the whole validator set.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class ValidatorVotes {
+  private static final int MIN_CAPACITY = 64;
+  private static final Bytes32[] EMPTY_ROOTS = new Bytes32[0];
+  private static final long[] EMPTY_EPOCHS = new long[0];
+
+  // Null unless this instance is sparse, in which case the columns are unused
+  private final NavigableMap<Integer, VoteTracker> sparseVotes;
+  // The validator index of the first element in each column
+  private int offset = 0;
+  private Bytes32[] currentRoots = EMPTY_ROOTS;
+  private Bytes32[] nextRoots = EMPTY_ROOTS;
+  private long[] nextEpochs = EMPTY_EPOCHS;
+  private int firstIndex = Integer.MAX_VALUE;
+  private int size = 0;
+  private int voteCount = 0;
+
+  public ValidatorVotes() {
+    this(null);
+  }
+
+  private ValidatorVotes(final NavigableMap<Integer, VoteTracker> sparseVotes) {
+    this.sparseVotes = sparseVotes;
+  }
+
+  /**
+   * Creates an instance which holds votes in a sorted map rather than columns, so memory use
+   * depends only on the number of votes, not on how far apart the validator indices are. Suited
+   * to sets of changed votes, such as those made by a single transaction.
+   */
+  public static ValidatorVotes createSparse() {
+    return new ValidatorVotes(new TreeMap<>());
+  }
+
+  public static ValidatorVotes fromMap(final Map<UnsignedLong, VoteTracker> votes) {
+    final ValidatorVotes result = new ValidatorVotes();
+    votes.forEach((index, vote) -> result.put(Math.toIntExact(index.longValue()), vote));
+    return result;
+  }
+
+  /** @return One more than the highest validator index with a vote. */
+  public int size() {
+    return size;
+  }
+
+  /** @return The lowest validator index with a vote, or {@link #size()} if there are no votes. */
+  public int getFirstIndex() {
+    return Math.min(firstIndex, size);
+  }
+
+  public int getVoteCount() {
+    return voteCount;
+  }
+
+  public boolean isEmpty() {
+    return voteCount == 0;
+  }
+
+  public boolean contains(final int validatorIndex) {
+    if (sparseVotes != null) {
+      return sparseVotes.containsKey(validatorIndex);
+    }
+    return validatorIndex >= offset
+        && validatorIndex < size
+        && currentRoots[validatorIndex - offset] != null;
+  }
+
+  /**
+   * @return The lowest validator index at or above {@code fromIndex} with a vote, or -1 if there
+   *     is none.
+   */
+  public int nextIndex(final int fromIndex) {
+    if (sparseVotes != null) {
+      final Integer index = sparseVotes.ceilingKey(fromIndex);
+      return index != null ? index : -1;
+    }
+    for (int i = Math.max(fromIndex, getFirstIndex()); i < size; i++) {
+      if (currentRoots[i - offset] != null) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public Bytes32 getCurrentRoot(final int validatorIndex) {
+    if (sparseVotes != null) {
+      return sparseVotes.get(validatorIndex).getCurrentRoot();
+    }
+    return currentRoots[validatorIndex - offset];
+  }
+
+  public Bytes32 getNextRoot(final int validatorIndex) {
+    if (sparseVotes != null) {
+      return sparseVotes.get(validatorIndex).getNextRoot();
+    }
+    return nextRoots[validatorIndex - offset];
+  }
+
+  public UnsignedLong getNextEpoch(final int validatorIndex) {
+    if (sparseVotes != null) {
+      return sparseVotes.get(validatorIndex).getNextEpoch();
+    }
+    return UnsignedLong.fromLongBits(nextEpochs[validatorIndex - offset]);
+  }
+
+  /** @return A new {@link VoteTracker} with the validator's vote, or null if it hasn't voted. */
+  public VoteTracker get(final int validatorIndex) {
+    if (!contains(validatorIndex)) {
+      return null;
+    }
+    return new VoteTracker(
+        getCurrentRoot(validatorIndex),
+        getNextRoot(validatorIndex),
+        getNextEpoch(validatorIndex));
+  }
+
+  public void put(final int validatorIndex, final VoteTracker vote) {
+    set(validatorIndex, vote.getCurrentRoot(), vote.getNextRoot(), vote.getNextEpoch());
+  }
+
+  public void set(
+      final int validatorIndex,
+      final Bytes32 currentRoot,
+      final Bytes32 nextRoot,
+      final UnsignedLong nextEpoch) {
+    if (sparseVotes != null) {
+      final VoteTracker vote = new VoteTracker(currentRoot, nextRoot, nextEpoch);
+      if (sparseVotes.put(validatorIndex, vote) == null) {
+        voteCount++;
+      }
+    } else {
+      ensureCapacity(validatorIndex);
+      final int position = validatorIndex - offset;
+      if (currentRoots[position] == null) {
+        voteCount++;
+      }
+      currentRoots[position] = currentRoot;
+      nextRoots[position] = nextRoot;
+      nextEpochs[position] = nextEpoch.longValue();
+    }
+    firstIndex = Math.min(firstIndex, validatorIndex);
+    size = Math.max(size, validatorIndex + 1);
+  }
+
+  /** Copies all votes from {@code other}, replacing any existing votes for the same validators. */
+  public void putAll(final ValidatorVotes other) {
+    putAll(other, 0, other.size());
+  }
+
+  /**
+   * Copies the votes of validators from {@code fromIndex} (inclusive) to {@code toIndex}
+   * (exclusive) from {@code other}, replacing any existing votes for the same validators.
+   */
+  public void putAll(final ValidatorVotes other, final int fromIndex, final int toIndex) {
+    final int end = Math.min(toIndex, other.size);
+    for (int i = other.nextIndex(fromIndex); i >= 0 && i < end; i = other.nextIndex(i + 1)) {
+      set(i, other.getCurrentRoot(i), other.getNextRoot(i), other.getNextEpoch(i));
+    }
+  }
+
+  public Set<UnsignedLong> getValidatorIndices() {
+    final Set<UnsignedLong> indices = new HashSet<>();
+    for (int i = nextIndex(0); i >= 0; i = nextIndex(i + 1)) {
+      indices.add(UnsignedLong.valueOf(i));
+    }
+    return indices;
+  }
+
+  /** @return The number of validators the columns have space for. */
+  @VisibleForTesting
+  int getCapacity() {
+    return currentRoots.length;
+  }
+
+  private void ensureCapacity(final int validatorIndex) {
+    final int capacity = currentRoots.length;
+    if (validatorIndex >= offset && validatorIndex < offset + capacity) {
+      return;
+    }
+    final int start = capacity == 0 ? validatorIndex : Math.min(offset, validatorIndex);
+    final int end =
+        capacity == 0 ? validatorIndex + 1 : Math.max(offset + capacity, validatorIndex + 1);
+    final int newCapacity = Math.max(Math.max(end - start, capacity * 2), MIN_CAPACITY);
+    // Leave the spare space on the side the columns are growing towards
+    final int newOffset = validatorIndex < offset ? Math.max(0, end - newCapacity) : start;
+
+    final Bytes32[] newCurrentRoots = new Bytes32[newCapacity];
+    final Bytes32[] newNextRoots = new Bytes32[newCapacity];
+    final long[] newNextEpochs = new long[newCapacity];
+    if (capacity > 0) {
+      final int shift = offset - newOffset;
+      System.arraycopy(currentRoots, 0, newCurrentRoots, shift, capacity);
+      System.arraycopy(nextRoots, 0, newNextRoots, shift, capacity);
+      System.arraycopy(nextEpochs, 0, newNextEpochs, shift, capacity);
+    }
+    currentRoots = newCurrentRoots;
+    nextRoots = newNextRoots;
+    nextEpochs = newNextEpochs;
+    offset = newOffset;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ValidatorVotes)) {
+      return false;
+    }
+    final ValidatorVotes that = (ValidatorVotes) o;
+    if (voteCount != that.voteCount || size != that.size) {
+      return false;
+    }
+    for (int i = nextIndex(0); i >= 0; i = nextIndex(i + 1)) {
+      if (!that.contains(i)
+          || !getCurrentRoot(i).equals(that.getCurrentRoot(i))
+          || !getNextRoot(i).equals(that.getNextRoot(i))
+          || !getNextEpoch(i).equals(that.getNextEpoch(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 1;
+    for (int i = nextIndex(0); i >= 0; i = nextIndex(i + 1)) {
+      result = 31 * result + i;
+      result = 31 * result + getCurrentRoot(i).hashCode();
+      result = 31 * result + getNextRoot(i).hashCode();
+      result = 31 * result + getNextEpoch(i).hashCode();
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("voteCount", voteCount)
+        .add("firstIndex", getFirstIndex())
+        .add("size", size)
+        .toString();
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.datastructures.forkchoice;
+
+import org.apache.tuweni.bytes.Bytes32;
+
+@FunctionalInterface
+public interface VoteUpdater {
+
+  /**
+   * Called with the vote of a validator which has voted.
+   *
+   * @param validatorIndex The validator's index
+   * @param currentRoot The root the validator's vote is currently counted for
+   * @param nextRoot The root of the validator's latest vote
+   * @return The root the vote should be counted for from now on
+   */
+  Bytes32 updateCurrentRoot(int validatorIndex, Bytes32 currentRoot, Bytes32 nextRoot);
+}
@@ -13,8 +13,8 @@
 
 package tech.pegasys.artemis.datastructures.state;
 
+import com.google.common.primitives.ImmutableIntArray;
 import com.google.common.primitives.UnsignedLong;
-import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.bls.BLSPublicKey;
@@ -27,7 +27,7 @@ public class TransitionCaches {
 
   private static int MAX_ACTIVE_VALIDATORS_CACHE = 8;
   private static int MAX_BEACON_PROPOSER_INDEX_CACHE = 1;
-  private static int MAX_BEACON_COMMITTEE_CACHE = 64 * 64;
+  private static int MAX_EPOCH_COMMITTEE_SHUFFLE_CACHE = 4;
   private static int MAX_TOTAL_ACTIVE_BALANCE_CACHE = 1;
   private static int MAX_COMMITTEE_SHUFFLE_CACHE = 2;
 
@@ -57,18 +57,18 @@ public class TransitionCaches {
     return NO_OP_INSTANCE;
   }
 
-  private final Cache<UnsignedLong, List<Integer>> activeValidators;
+  private final Cache<UnsignedLong, ImmutableIntArray> activeValidators;
   private final Cache<UnsignedLong, Integer> beaconProposerIndex;
-  private final Cache<Pair<UnsignedLong, UnsignedLong>, List<Integer>> beaconCommittee;
+  private final Cache<UnsignedLong, ImmutableIntArray> epochCommitteeShuffle;
   private final Cache<UnsignedLong, Pair<UnsignedLong, UnsignedLong>> totalActiveBalance;
   private final Cache<UnsignedLong, BLSPublicKey> validatorsPubKeys;
   private final Cache<BLSPublicKey, Integer> validatorIndex;
-  private final Cache<Bytes32, List<Integer>> committeeShuffle;
+  private final Cache<Bytes32, ImmutableIntArray> committeeShuffle;
 
   private TransitionCaches() {
     activeValidators = new LRUCache<>(MAX_ACTIVE_VALIDATORS_CACHE);
     beaconProposerIndex = new LRUCache<>(MAX_BEACON_PROPOSER_INDEX_CACHE);
-    beaconCommittee = new LRUCache<>(MAX_BEACON_COMMITTEE_CACHE);
+    epochCommitteeShuffle = new LRUCache<>(MAX_EPOCH_COMMITTEE_SHUFFLE_CACHE);
     totalActiveBalance = new LRUCache<>(MAX_TOTAL_ACTIVE_BALANCE_CACHE);
     validatorsPubKeys = new LRUCache<>(Integer.MAX_VALUE - 1);
     validatorIndex = new LRUCache<>(Integer.MAX_VALUE - 1);
@@ -76,16 +76,16 @@ public class TransitionCaches {
   }
 
   public TransitionCaches(
-      Cache<UnsignedLong, List<Integer>> activeValidators,
+      Cache<UnsignedLong, ImmutableIntArray> activeValidators,
       Cache<UnsignedLong, Integer> beaconProposerIndex,
-      Cache<Pair<UnsignedLong, UnsignedLong>, List<Integer>> beaconCommittee,
+      Cache<UnsignedLong, ImmutableIntArray> epochCommitteeShuffle,
       Cache<UnsignedLong, Pair<UnsignedLong, UnsignedLong>> totalActiveBalance,
       Cache<UnsignedLong, BLSPublicKey> validatorsPubKeys,
       Cache<BLSPublicKey, Integer> validatorIndex,
-      Cache<Bytes32, List<Integer>> committeeShuffle) {
+      Cache<Bytes32, ImmutableIntArray> committeeShuffle) {
     this.activeValidators = activeValidators;
     this.beaconProposerIndex = beaconProposerIndex;
-    this.beaconCommittee = beaconCommittee;
+    this.epochCommitteeShuffle = epochCommitteeShuffle;
     this.totalActiveBalance = totalActiveBalance;
     this.validatorsPubKeys = validatorsPubKeys;
     this.validatorIndex = validatorIndex;
@@ -93,7 +93,7 @@ public class TransitionCaches {
   }
 
   /** (epoch) -> (active validators) cache */
-  public Cache<UnsignedLong, List<Integer>> getActiveValidators() {
+  public Cache<UnsignedLong, ImmutableIntArray> getActiveValidators() {
     return activeValidators;
   }
 
@@ -102,9 +102,14 @@ public class TransitionCaches {
     return beaconProposerIndex;
   }
 
-  /** (slot, committeeIndex) -> (committee) cache */
-  public Cache<Pair<UnsignedLong, UnsignedLong>, List<Integer>> getBeaconCommittee() {
-    return beaconCommittee;
+  /**
+   * (epoch) -> (attester shuffle for epoch) cache
+   *
+   * <p>Beacon committees are contiguous slices of this shuffle, so they can be served as views
+   * without copying or boxing the validator indices
+   */
+  public Cache<UnsignedLong, ImmutableIntArray> getEpochCommitteeShuffle() {
+    return epochCommitteeShuffle;
   }
 
   /** (epoch) -> (total active balance) cache */
@@ -129,14 +134,14 @@ public class TransitionCaches {
   }
 
   /** (epoch committee seed) -> (validators shuffle for epoch) cache */
-  public Cache<Bytes32, List<Integer>> getCommitteeShuffle() {
+  public Cache<Bytes32, ImmutableIntArray> getCommitteeShuffle() {
     return committeeShuffle;
   }
 
   public void invalidate() {
     activeValidators.clear();
     beaconProposerIndex.clear();
-    beaconCommittee.clear();
+    epochCommitteeShuffle.clear();
     totalActiveBalance.clear();
     validatorsPubKeys.clear();
     committeeShuffle.clear();
@@ -150,7 +155,7 @@ public class TransitionCaches {
     return new TransitionCaches(
         activeValidators.copy(),
         beaconProposerIndex.copy(),
-        beaconCommittee.copy(),
+        epochCommitteeShuffle.copy(),
         totalActiveBalance.copy(),
         validatorsPubKeys,
         validatorIndex,
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.datastructures.state;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.tuweni.bytes.Bytes48;
+import tech.pegasys.artemis.bls.BLSPublicKey;
+import tech.pegasys.artemis.ssz.SSZTypes.SSZList;
+
+/**
+ * Node-wide index from validator public key to validator index.
+ *
+ * <p>Validator indices never change once assigned, so the index is append-only. Only validators
+ * from finalized states are added, which guarantees every state built on top of them has the same
+ * validator at each indexed position. Validators added since the last finalized state are found by
+ * scanning just the unindexed tail of the requested state's registry.
+ *
+ * <p>Keys are the compressed public key bytes to avoid decompressing points for hashing.
+ */
+public class ValidatorPubKeyIndex {
+  private final Map<Bytes48, Integer> indices = new ConcurrentHashMap<>();
+  // Validators 0 until size are indexed. Written after the index entries are added.
+  private volatile int size = 0;
+
+  public ValidatorPubKeyIndex() {}
+
+  /** @param pubKeys The compressed public keys of validators 0 until {@code pubKeys.size()} */
+  public ValidatorPubKeyIndex(final List<Bytes48> pubKeys) {
+    for (int i = 0; i < pubKeys.size(); i++) {
+      indices.put(pubKeys.get(i), i);
+    }
+    size = pubKeys.size();
+  }
+
+  /** @return The number of validators in the index. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds any validators in {@code finalizedState} which aren't yet indexed.
+   *
+   * @param finalizedState A finalized state
+   */
+  public synchronized void addValidators(final BeaconState finalizedState) {
+    final SSZList<Validator> validators = finalizedState.getValidators();
+    final int indexedCount = size;
+    if (validators.size() <= indexedCount) {
+      return;
+    }
+    for (int i = indexedCount; i < validators.size(); i++) {
+      indices.put(getPubKeyBytes(validators.get(i)), i);
+    }
+    size = validators.size();
+  }
+
+  /**
+   * Adds the validator at {@code validatorIndex}, which must be the next unindexed validator.
+   *
+   * @param validatorIndex The index of the validator
+   * @param pubKey The compressed public key of the validator
+   */
+  public synchronized void addValidator(final int validatorIndex, final Bytes48 pubKey) {
+    checkArgument(validatorIndex == size, "Validator %s is not the next index", validatorIndex);
+    indices.put(pubKey, validatorIndex);
+    size = validatorIndex + 1;
+  }
+
+  /**
+   * Looks up the index of a validator in the given state.
+   *
+   * @param state The state to look the validator up in, which must be descended from the finalized
+   *     states that have been indexed
+   * @param publicKey The validator's public key
+   * @return The validator's index or empty if it is not in {@code state}
+   */
+  public Optional<Integer> getValidatorIndex(
+      final BeaconState state, final BLSPublicKey publicKey) {
+    return getValidatorIndex(state, Bytes48.wrap(publicKey.toBytesCompressed()));
+  }
+
+  /**
+   * Looks up the index of a validator in the given state.
+   *
+   * @param state The state to look the validator up in, which must be descended from the finalized
+   *     states that have been indexed
+   * @param key The validator's compressed public key
+   * @return The validator's index or empty if it is not in {@code state}
+   */
+  public Optional<Integer> getValidatorIndex(final BeaconState state, final Bytes48 key) {
+    final int indexedCount = size;
+    final SSZList<Validator> validators = state.getValidators();
+    final Integer validatorIndex = indices.get(key);
+    if (validatorIndex != null) {
+      // States before the validator was added won't contain it yet
+      return validatorIndex < validators.size() ? Optional.of(validatorIndex) : Optional.empty();
+    }
+    for (int i = indexedCount; i < validators.size(); i++) {
+      if (getPubKeyBytes(validators.get(i)).equals(key)) {
+        return Optional.of(i);
+      }
+    }
+    return Optional.empty();
+  }
+
+  public static Bytes48 getPubKeyBytes(final Validator validator) {
+    return Bytes48.wrap(validator.getPubkey().toBytesCompressed());
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ValidatorPubKeyIndex)) {
+      return false;
+    }
+    final ValidatorPubKeyIndex that = (ValidatorPubKeyIndex) o;
+    return size == that.size && indices.equals(that.indices);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(indices, size);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("size", size).toString();
+  }
+}
@@ -28,12 +28,11 @@ import static tech.pegasys.artemis.util.config.Constants.SHUFFLE_ROUND_COUNT;
 import static tech.pegasys.artemis.util.config.Constants.SLOTS_PER_EPOCH;
 import static tech.pegasys.artemis.util.config.Constants.TARGET_AGGREGATORS_PER_COMMITTEE;
 
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.primitives.Ints;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.common.primitives.UnsignedLong;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.crypto.Hash;
@@ -93,12 +92,6 @@ public class CommitteeUtil {
     return indexRet;
   }
 
-  private static List<Integer> shuffle_list(List<Integer> input, Bytes32 seed) {
-    int[] indexes = input.stream().mapToInt(i -> i).toArray();
-    shuffle_list(indexes, seed);
-    return Arrays.stream(indexes).boxed().collect(Collectors.toList());
-  }
-
   /**
    * Ported from Lighthouse client:
    * https://github.com/sigp/lighthouse/blob/master/eth2/utils/swap_or_not_shuffle/src/shuffle_list.rs
@@ -205,12 +198,28 @@ public class CommitteeUtil {
     }
   }
 
-  private static List<Integer> compute_committee_shuffle(
-      BeaconState state, List<Integer> indices, Bytes32 seed, int fromIndex, int toIndex) {
+  private static ImmutableIntArray compute_committee_shuffle(
+      BeaconState state, List<Integer> indices, Bytes32 seed) {
     return BeaconStateCache.getTransitionCaches(state)
         .getCommitteeShuffle()
-        .get(seed, s -> shuffle_list(indices, s))
-        .subList(fromIndex, toIndex);
+        .get(
+            seed,
+            s -> {
+              int[] shuffled = Ints.toArray(indices);
+              shuffle_list(shuffled, s);
+              return ImmutableIntArray.copyOf(shuffled);
+            });
+  }
+
+  /**
+   * Returns committee ``index`` of ``count`` as a view over ``shuffle``. The view shares the
+   * backing array, so no indices are copied or boxed until they are read.
+   */
+  private static List<Integer> compute_committee_slice(
+      ImmutableIntArray shuffle, int index, int count) {
+    int start = Math.floorDiv(shuffle.length() * index, count);
+    int end = Math.floorDiv(shuffle.length() * (index + 1), count);
+    return shuffle.subArray(start, end).asList();
   }
 
   /**
@@ -226,9 +235,7 @@ public class CommitteeUtil {
    */
   public static List<Integer> compute_committee(
       BeaconState state, List<Integer> indices, Bytes32 seed, int index, int count) {
-    int start = Math.floorDiv(indices.size() * index, count);
-    int end = Math.floorDiv(indices.size() * (index + 1), count);
-    return compute_committee_shuffle(state, indices, seed, start, end);
+    return compute_committee_slice(compute_committee_shuffle(state, indices, seed), index, count);
   }
 
   /**
@@ -241,29 +248,27 @@ public class CommitteeUtil {
    */
   public static List<Integer> get_beacon_committee(
       BeaconState state, UnsignedLong slot, UnsignedLong index) {
-    return BeaconStateCache.getTransitionCaches(state)
-        .getBeaconCommittee()
-        .get(
-            Pair.of(slot, index),
-            p -> {
-              UnsignedLong epoch = compute_epoch_at_slot(slot);
-              UnsignedLong committees_per_slot = get_committee_count_at_slot(state, slot);
-              int committeeIndex =
-                  toIntExact(
-                      slot.mod(UnsignedLong.valueOf(SLOTS_PER_EPOCH))
-                          .times(committees_per_slot)
-                          .plus(index)
-                          .longValue());
-              int count =
-                  toIntExact(
-                      committees_per_slot.times(UnsignedLong.valueOf(SLOTS_PER_EPOCH)).longValue());
-              return compute_committee(
-                  state,
-                  get_active_validator_indices(state, epoch),
-                  get_seed(state, epoch, DOMAIN_BEACON_ATTESTER),
-                  committeeIndex,
-                  count);
-            });
+    UnsignedLong epoch = compute_epoch_at_slot(slot);
+    ImmutableIntArray shuffle =
+        BeaconStateCache.getTransitionCaches(state)
+            .getEpochCommitteeShuffle()
+            .get(
+                epoch,
+                e ->
+                    compute_committee_shuffle(
+                        state,
+                        get_active_validator_indices(state, epoch),
+                        get_seed(state, epoch, DOMAIN_BEACON_ATTESTER)));
+    UnsignedLong committees_per_slot = get_committee_count_at_slot(state, slot);
+    int committeeIndex =
+        toIntExact(
+            slot.mod(UnsignedLong.valueOf(SLOTS_PER_EPOCH))
+                .times(committees_per_slot)
+                .plus(index)
+                .longValue());
+    int count =
+        toIntExact(committees_per_slot.times(UnsignedLong.valueOf(SLOTS_PER_EPOCH)).longValue());
+    return compute_committee_slice(shuffle, committeeIndex, count);
   }
 
   public static int getAggregatorModulo(final int committeeSize) {
@@ -158,6 +158,10 @@ public abstract class MerkleTree {
     return calcMixInValue(getNumberOfLeaves());
   }
 
+  public MerkleTreeSnapshot getSnapshot() {
+    return new MerkleTreeSnapshot(treeDepth, tree);
+  }
+
   public Bytes32 getRoot() {
     return Hash.sha2_256(Bytes.concatenate(tree.get(treeDepth).get(0), calcMixInValue()));
   }
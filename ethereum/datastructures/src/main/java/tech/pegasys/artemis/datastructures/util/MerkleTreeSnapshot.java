@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.datastructures.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * An immutable copy of every level of a {@link MerkleTree}, leaves first, which can be persisted
+ * and later restored without rehashing the tree.
+ */
+public class MerkleTreeSnapshot {
+  private final int treeDepth;
+  private final List<List<Bytes32>> levels;
+
+  public MerkleTreeSnapshot(final int treeDepth, final List<List<Bytes32>> levels) {
+    checkArgument(
+        levels.size() == treeDepth + 1,
+        "Expected %s levels but got %s",
+        treeDepth + 1,
+        levels.size());
+    this.treeDepth = treeDepth;
+    this.levels = levels.stream().map(List::copyOf).collect(Collectors.toUnmodifiableList());
+  }
+
+  public int getTreeDepth() {
+    return treeDepth;
+  }
+
+  public List<List<Bytes32>> getLevels() {
+    return levels;
+  }
+
+  public int getNumberOfLeaves() {
+    final List<Bytes32> leaves = levels.get(0);
+    if (!leaves.isEmpty() && leaves.get(leaves.size() - 1).equals(Bytes32.ZERO)) {
+      return leaves.size() - 1;
+    }
+    return leaves.size();
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final MerkleTreeSnapshot that = (MerkleTreeSnapshot) o;
+    return treeDepth == that.treeDepth && Objects.equals(levels, that.levels);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(treeDepth, levels);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("treeDepth", treeDepth)
+        .add("leaves", levels.get(0).size())
+        .toString();
+  }
+}
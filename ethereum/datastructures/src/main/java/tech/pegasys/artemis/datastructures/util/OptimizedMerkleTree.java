@@ -27,6 +27,14 @@ public class OptimizedMerkleTree extends MerkleTree {
     super(treeDepth);
   }
 
+  public static OptimizedMerkleTree fromSnapshot(final MerkleTreeSnapshot snapshot) {
+    final OptimizedMerkleTree merkleTree = new OptimizedMerkleTree(snapshot.getTreeDepth());
+    for (int i = 0; i <= snapshot.getTreeDepth(); i++) {
+      merkleTree.tree.get(i).addAll(snapshot.getLevels().get(i));
+    }
+    return merkleTree;
+  }
+
   @Override
   public void add(Bytes32 leaf) {
     if (!tree.get(0).isEmpty()
@@ -60,6 +68,9 @@ public class OptimizedMerkleTree extends MerkleTree {
 
   @Override
   public int getNumberOfLeaves() {
+    if (tree.get(0).isEmpty()) {
+      return 0;
+    }
     int lastLeafIndex = tree.get(0).size() - 1;
     if (tree.get(0).get(lastLeafIndex).equals(Bytes32.ZERO)) {
       return tree.get(0).size() - 1;
@@ -13,10 +13,10 @@
 
 package tech.pegasys.artemis.datastructures.util;
 
+import com.google.common.primitives.ImmutableIntArray;
 import com.google.common.primitives.UnsignedLong;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import tech.pegasys.artemis.bls.BLSPublicKey;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
@@ -92,11 +92,11 @@ public class ValidatorsUtil {
             epoch,
             e -> {
               SSZList<Validator> validators = state.getValidators();
-              return IntStream.range(0, validators.size())
-                  .filter(index -> is_active_validator(validators.get(index), epoch))
-                  .boxed()
-                  .collect(Collectors.toList());
-            });
+              return ImmutableIntArray.copyOf(
+                  IntStream.range(0, validators.size())
+                      .filter(index -> is_active_validator(validators.get(index), epoch)));
+            })
+        .asList();
   }
 
   public static Optional<Integer> getValidatorIndex(BeaconState state, BLSPublicKey publicKey) {
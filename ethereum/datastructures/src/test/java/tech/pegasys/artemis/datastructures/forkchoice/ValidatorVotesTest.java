@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.datastructures.forkchoice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+
+class ValidatorVotesTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final ValidatorVotes votes = new ValidatorVotes();
+
+  @Test
+  void shouldBeEmptyInitially() {
+    assertThat(votes.isEmpty()).isTrue();
+    assertThat(votes.size()).isZero();
+    assertThat(votes.getFirstIndex()).isZero();
+    assertThat(votes.nextIndex(0)).isEqualTo(-1);
+    assertThat(votes.get(0)).isNull();
+  }
+
+  @Test
+  void shouldReturnCopyOfStoredVote() {
+    final VoteTracker vote = dataStructureUtil.randomVoteTracker();
+    votes.put(5, vote);
+
+    final VoteTracker result = votes.get(5);
+    assertThat(result).isEqualTo(vote);
+    result.setNextEpoch(result.getNextEpoch().plus(UnsignedLong.ONE));
+    assertThat(votes.get(5)).isEqualTo(vote);
+  }
+
+  @Test
+  void shouldTrackRangeOfVotes() {
+    votes.put(70, dataStructureUtil.randomVoteTracker());
+    votes.put(3, dataStructureUtil.randomVoteTracker());
+    votes.put(70, dataStructureUtil.randomVoteTracker());
+
+    assertThat(votes.getVoteCount()).isEqualTo(2);
+    assertThat(votes.getFirstIndex()).isEqualTo(3);
+    assertThat(votes.size()).isEqualTo(71);
+    assertThat(votes.nextIndex(4)).isEqualTo(70);
+    assertThat(votes.contains(4)).isFalse();
+    assertThat(votes.getValidatorIndices())
+        .isEqualTo(Set.of(UnsignedLong.valueOf(3), UnsignedLong.valueOf(70)));
+  }
+
+  @Test
+  void shouldOnlyAllocateColumnsFromLowestVotedIndex() {
+    final VoteTracker vote = dataStructureUtil.randomVoteTracker();
+    votes.put(100_000, vote);
+    assertThat(votes.getCapacity()).isLessThan(1000);
+
+    // Growing downwards keeps the columns around the votes
+    final VoteTracker lowerVote = dataStructureUtil.randomVoteTracker();
+    votes.put(99_900, lowerVote);
+    assertThat(votes.getCapacity()).isLessThan(1000);
+    assertThat(votes.get(100_000)).isEqualTo(vote);
+    assertThat(votes.get(99_900)).isEqualTo(lowerVote);
+    assertThat(votes.nextIndex(0)).isEqualTo(99_900);
+    assertThat(votes.nextIndex(99_901)).isEqualTo(100_000);
+  }
+
+  @Test
+  void sparse_shouldNotAllocateColumns() {
+    final ValidatorVotes sparseVotes = ValidatorVotes.createSparse();
+    final VoteTracker vote = dataStructureUtil.randomVoteTracker();
+    sparseVotes.put(100_000, vote);
+    sparseVotes.put(3, dataStructureUtil.randomVoteTracker());
+
+    assertThat(sparseVotes.getCapacity()).isZero();
+    assertThat(sparseVotes.getVoteCount()).isEqualTo(2);
+    assertThat(sparseVotes.getFirstIndex()).isEqualTo(3);
+    assertThat(sparseVotes.size()).isEqualTo(100_001);
+    assertThat(sparseVotes.nextIndex(4)).isEqualTo(100_000);
+    assertThat(sparseVotes.get(100_000)).isEqualTo(vote);
+  }
+
+  @Test
+  void sparse_shouldEqualColumnarVotesWithSameVotes() {
+    final ValidatorVotes sparseVotes = ValidatorVotes.createSparse();
+    sparseVotes.put(100_000, dataStructureUtil.randomVoteTracker());
+    votes.putAll(sparseVotes);
+
+    assertThat(votes).isEqualTo(sparseVotes);
+    assertThat(votes.hashCode()).isEqualTo(sparseVotes.hashCode());
+  }
+
+  @Test
+  void putAll_shouldOnlyCopyVotesInRange() {
+    final ValidatorVotes source =
+        ValidatorVotes.fromMap(
+            Map.of(
+                UnsignedLong.valueOf(1), dataStructureUtil.randomVoteTracker(),
+                UnsignedLong.valueOf(10), dataStructureUtil.randomVoteTracker(),
+                UnsignedLong.valueOf(20), dataStructureUtil.randomVoteTracker()));
+
+    votes.putAll(source, 5, 20);
+
+    assertThat(votes.getVoteCount()).isEqualTo(1);
+    assertThat(votes.get(10)).isEqualTo(source.get(10));
+  }
+
+  @Test
+  void equals_shouldCompareLatestVotes() {
+    final VoteTracker vote = dataStructureUtil.randomVoteTracker();
+    final ValidatorVotes other = new ValidatorVotes();
+    other.put(500, dataStructureUtil.randomVoteTracker());
+    other.putAll(ValidatorVotes.fromMap(Map.of(UnsignedLong.valueOf(500), vote)));
+    votes.put(500, vote);
+
+    assertThat(votes).isEqualTo(other);
+    assertThat(votes.hashCode()).isEqualTo(other.hashCode());
+  }
+}
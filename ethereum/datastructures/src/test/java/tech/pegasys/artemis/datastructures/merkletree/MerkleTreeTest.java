@@ -22,6 +22,7 @@ import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.artemis.datastructures.util.MerkleTree;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
 import tech.pegasys.artemis.datastructures.util.OptimizedMerkleTree;
 
 public class MerkleTreeTest {
@@ -70,6 +71,29 @@ public class MerkleTreeTest {
     assertThat(results).allSatisfy(Assertions::assertTrue);
   }
 
+  @Test
+  void fromSnapshot_shouldRestoreTreeAndContinueAddingLeaves() {
+    merkleTree1 = new OptimizedMerkleTree(treeDepth);
+    for (int i = 0; i < 5; i++) {
+      merkleTree1.add(leaves.get(i));
+    }
+
+    final MerkleTreeSnapshot snapshot = merkleTree1.getSnapshot();
+    assertThat(snapshot.getNumberOfLeaves()).isEqualTo(5);
+    merkleTree2 = OptimizedMerkleTree.fromSnapshot(snapshot);
+    assertThat(merkleTree2.getRoot()).isEqualTo(merkleTree1.getRoot());
+    assertThat(merkleTree2.getNumberOfLeaves()).isEqualTo(5);
+
+    for (int i = 5; i < 9; i++) {
+      merkleTree1.add(leaves.get(i));
+      merkleTree2.add(leaves.get(i));
+    }
+    assertThat(merkleTree2.getRoot()).isEqualTo(merkleTree1.getRoot());
+    assertThat(merkleTree2.getProof(7)).isEqualTo(merkleTree1.getProof(7));
+    // Later additions must not leak into the earlier snapshot
+    assertThat(snapshot.getNumberOfLeaves()).isEqualTo(5);
+  }
+
   @Test
   void proofsWithViewBoundaryOptimizedTree_getProofForIndexAlwaysSmallerThanLimit() {
     merkleTree1 = new OptimizedMerkleTree(treeDepth);
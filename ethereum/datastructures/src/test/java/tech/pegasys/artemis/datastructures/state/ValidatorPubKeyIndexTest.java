@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.datastructures.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes48;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+
+class ValidatorPubKeyIndexTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final BeaconState state = dataStructureUtil.randomBeaconState();
+  private final ValidatorPubKeyIndex index = new ValidatorPubKeyIndex();
+
+  @Test
+  void addValidators_shouldIndexAllValidatorsInState() {
+    index.addValidators(state);
+
+    assertThat(index.size()).isEqualTo(state.getValidators().size());
+    for (int i = 0; i < state.getValidators().size(); i++) {
+      final Validator validator = state.getValidators().get(i);
+      assertThat(index.getValidatorIndex(state, validator.getPubkey())).contains(i);
+    }
+  }
+
+  @Test
+  void addValidators_shouldOnlyAppendNewValidators() {
+    index.addValidators(state);
+    final Validator validator = dataStructureUtil.randomValidator();
+    final BeaconState nextState = state.updated(s -> s.getValidators().add(validator));
+
+    index.addValidators(nextState);
+    index.addValidators(state);
+
+    assertThat(index.size()).isEqualTo(nextState.getValidators().size());
+    assertThat(index.getValidatorIndex(nextState, validator.getPubkey()))
+        .contains(nextState.getValidators().size() - 1);
+  }
+
+  @Test
+  void getValidatorIndex_shouldFindValidatorsNotYetIndexed() {
+    index.addValidators(state);
+    final Validator validator = dataStructureUtil.randomValidator();
+    final BeaconState nextState = state.updated(s -> s.getValidators().add(validator));
+
+    assertThat(index.getValidatorIndex(nextState, validator.getPubkey()))
+        .contains(nextState.getValidators().size() - 1);
+    assertThat(index.size()).isEqualTo(state.getValidators().size());
+  }
+
+  @Test
+  void getValidatorIndex_shouldReturnEmptyWhenIndexedValidatorNotInState() {
+    final Validator validator = dataStructureUtil.randomValidator();
+    final BeaconState nextState = state.updated(s -> s.getValidators().add(validator));
+    index.addValidators(nextState);
+
+    assertThat(index.getValidatorIndex(state, validator.getPubkey())).isEmpty();
+  }
+
+  @Test
+  void getValidatorIndex_shouldReturnEmptyWhenValidatorNotFound() {
+    index.addValidators(state);
+
+    assertThat(index.getValidatorIndex(state, dataStructureUtil.randomPublicKey())).isEmpty();
+  }
+
+  @Test
+  void shouldCreateIndexFromPubKeys() {
+    final Bytes48 pubKey0 = ValidatorPubKeyIndex.getPubKeyBytes(state.getValidators().get(0));
+    final Bytes48 pubKey1 = ValidatorPubKeyIndex.getPubKeyBytes(state.getValidators().get(1));
+    final ValidatorPubKeyIndex loadedIndex = new ValidatorPubKeyIndex(List.of(pubKey0, pubKey1));
+
+    assertThat(loadedIndex.size()).isEqualTo(2);
+    assertThat(loadedIndex.getValidatorIndex(state, pubKey1)).contains(1);
+  }
+
+  @Test
+  void addValidator_shouldRejectIndexOutOfOrder() {
+    final Bytes48 pubKey = ValidatorPubKeyIndex.getPubKeyBytes(state.getValidators().get(1));
+    assertThatThrownBy(() -> index.addValidator(1, pubKey))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
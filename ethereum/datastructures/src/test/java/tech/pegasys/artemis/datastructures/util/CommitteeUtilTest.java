@@ -14,10 +14,23 @@
 package tech.pegasys.artemis.datastructures.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_committee_count_at_slot;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_seed;
+import static tech.pegasys.artemis.datastructures.util.ValidatorsUtil.get_active_validator_indices;
+import static tech.pegasys.artemis.util.config.Constants.DOMAIN_BEACON_ATTESTER;
+import static tech.pegasys.artemis.util.config.Constants.GENESIS_EPOCH;
+import static tech.pegasys.artemis.util.config.Constants.SLOTS_PER_EPOCH;
 
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.bls.BLSKeyPair;
+import tech.pegasys.artemis.datastructures.operations.DepositData;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
 
 public class CommitteeUtilTest {
 
@@ -34,4 +47,51 @@ public class CommitteeUtilTest {
                 .map(i -> CommitteeUtil.compute_shuffled_index(i, indexes.length, seed))
                 .toArray());
   }
+
+  @Test
+  void getBeaconCommittee_shouldMatchShuffledIndexesAcrossEpoch() {
+    final BeaconState state = createGenesisState(64);
+    final UnsignedLong genesisEpoch = UnsignedLong.valueOf(GENESIS_EPOCH);
+    final List<Integer> activeIndices = get_active_validator_indices(state, genesisEpoch);
+    final Bytes32 seed = get_seed(state, genesisEpoch, DOMAIN_BEACON_ATTESTER);
+
+    final List<Integer> committeeMembers = new ArrayList<>();
+    for (int slot = 0; slot < SLOTS_PER_EPOCH; slot++) {
+      final UnsignedLong committeeSlot = UnsignedLong.valueOf(slot);
+      final int committeeCount = get_committee_count_at_slot(state, committeeSlot).intValue();
+      for (int index = 0; index < committeeCount; index++) {
+        committeeMembers.addAll(
+            CommitteeUtil.get_beacon_committee(state, committeeSlot, UnsignedLong.valueOf(index)));
+      }
+    }
+
+    final List<Integer> expected =
+        IntStream.range(0, activeIndices.size())
+            .mapToObj(
+                i ->
+                    activeIndices.get(
+                        CommitteeUtil.compute_shuffled_index(i, activeIndices.size(), seed)))
+            .collect(Collectors.toList());
+    assertThat(committeeMembers).isEqualTo(expected);
+  }
+
+  @Test
+  void getBeaconCommittee_shouldReturnSameCommitteeForCopiedState() {
+    final BeaconState state = createGenesisState(16);
+    final List<Integer> committee =
+        CommitteeUtil.get_beacon_committee(state, UnsignedLong.ONE, UnsignedLong.ZERO);
+    final BeaconState copiedState = state.updated(s -> s.setSlot(UnsignedLong.ONE));
+
+    assertThat(CommitteeUtil.get_beacon_committee(copiedState, UnsignedLong.ONE, UnsignedLong.ZERO))
+        .isEqualTo(committee);
+  }
+
+  private BeaconState createGenesisState(final int validatorCount) {
+    final List<BLSKeyPair> validatorKeyPairs =
+        new MockStartValidatorKeyPairFactory().generateKeyPairs(0, validatorCount);
+    final List<DepositData> deposits =
+        new MockStartDepositGenerator().createDeposits(validatorKeyPairs);
+    return new MockStartBeaconStateGenerator()
+        .createInitialBeaconState(UnsignedLong.ZERO, deposits);
+  }
 }
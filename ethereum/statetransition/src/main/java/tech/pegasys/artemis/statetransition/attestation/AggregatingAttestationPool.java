@@ -13,56 +13,151 @@
 
 package tech.pegasys.artemis.statetransition.attestation;
 
+import static tech.pegasys.artemis.util.config.Constants.SLOTS_PER_EPOCH;
+
 import com.google.common.primitives.UnsignedLong;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.datastructures.blocks.BeaconBlockBodyLists;
 import tech.pegasys.artemis.datastructures.operations.Attestation;
 import tech.pegasys.artemis.datastructures.operations.AttestationData;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.ssz.SSZTypes.Bitlist;
 import tech.pegasys.artemis.ssz.SSZTypes.SSZList;
 import tech.pegasys.artemis.ssz.SSZTypes.SSZMutableList;
+import tech.pegasys.artemis.util.time.channels.SlotEventsChannel;
 
 /**
  * Maintains a pool of attestations. Attestations can be retrieved either for inclusion in a block
  * or as an aggregate to publish as part of the naive attestation aggregation algorithm. In both
  * cases the returned attestations are aggregated to maximise the number of validators that can be
  * included.
+ *
+ * <p>Attestations are discarded once their slot is too old for them to be included in a block.
  */
-public class AggregatingAttestationPool {
+public class AggregatingAttestationPool implements SlotEventsChannel {
 
   private final Map<Bytes, MatchingDataAttestationGroup> attestationGroupByDataHash =
       new LinkedHashMap<>();
+  private final NavigableMap<UnsignedLong, Set<Bytes>> dataHashBySlot = new TreeMap<>();
 
   public synchronized void add(final Attestation attestation) {
+    final AttestationData attestationData = attestation.getData();
+    final Bytes dataRoot = attestationData.hash_tree_root();
     attestationGroupByDataHash
         .computeIfAbsent(
-            attestation.getData().hash_tree_root(),
-            key -> new MatchingDataAttestationGroup(attestation.getData()))
+            dataRoot,
+            key -> {
+              dataHashBySlot
+                  .computeIfAbsent(attestationData.getSlot(), slot -> new HashSet<>())
+                  .add(dataRoot);
+              return new MatchingDataAttestationGroup(attestationData);
+            })
         .add(attestation);
   }
 
   public synchronized void remove(final Attestation attestation) {
-    final Bytes32 dataRoot = attestation.getData().hash_tree_root();
+    final Bytes dataRoot = attestation.getData().hash_tree_root();
     final MatchingDataAttestationGroup attestations = attestationGroupByDataHash.get(dataRoot);
     if (attestations == null) {
       return;
     }
     attestations.remove(attestation);
     if (attestations.isEmpty()) {
-      attestationGroupByDataHash.remove(dataRoot);
+      removeGroup(attestation.getData().getSlot(), dataRoot);
+    }
+  }
+
+  /**
+   * Discards attestations which can no longer be included in a block, i.e. those more than one
+   * epoch older than the new slot.
+   *
+   * @param slot the current slot
+   */
+  @Override
+  public synchronized void onSlot(final UnsignedLong slot) {
+    final UnsignedLong slotsPerEpoch = UnsignedLong.valueOf(SLOTS_PER_EPOCH);
+    if (slot.compareTo(slotsPerEpoch) <= 0) {
+      return;
     }
+    final NavigableMap<UnsignedLong, Set<Bytes>> expiredSlots =
+        dataHashBySlot.headMap(slot.minus(slotsPerEpoch), false);
+    expiredSlots.values().stream().flatMap(Set::stream).forEach(attestationGroupByDataHash::remove);
+    expiredSlots.clear();
   }
 
-  public synchronized SSZList<Attestation> getAttestationsForBlock(final UnsignedLong slot) {
+  /**
+   * Selects the attestations to include in a block, aiming to include as many new validator votes
+   * as possible.
+   *
+   * <p>This is a greedy solution to the maximum coverage problem. Each candidate aggregate is
+   * scored by the number of validators it contains that are neither already included on chain,
+   * according to the pending attestations in {@code stateAtBlockSlot}, nor included by a previously
+   * selected aggregate with the same data. The highest scoring candidate is selected until the
+   * block is full or no candidate would add a new validator. Scores only ever decrease, so a
+   * candidate is only rescored when it reaches the head of the queue.
+   *
+   * @param stateAtBlockSlot the state the block will be applied to, processed up to the block slot
+   * @return the attestations to include in the block
+   */
+  public synchronized SSZList<Attestation> getAttestationsForBlock(
+      final BeaconState stateAtBlockSlot) {
+    final UnsignedLong slot = stateAtBlockSlot.getSlot();
+    final Map<Bytes, Bitlist> includedValidatorsByDataHash =
+        getIncludedValidators(stateAtBlockSlot);
+    final PriorityQueue<AttestationCandidate> candidates =
+        new PriorityQueue<>(
+            Comparator.comparingInt(AttestationCandidate::getNewValidatorCount)
+                .reversed()
+                .thenComparingLong(AttestationCandidate::getOrder));
+    attestationGroupByDataHash.forEach(
+        (dataRoot, group) -> {
+          if (!group.getAttestationData().canIncludeInBlockAtSlot(slot)) {
+            return;
+          }
+          final Bitlist includedValidators = includedValidatorsByDataHash.get(dataRoot);
+          group.forEach(
+              aggregate ->
+                  candidates.add(
+                      new AttestationCandidate(
+                          aggregate,
+                          dataRoot,
+                          countNewValidators(aggregate, includedValidators),
+                          candidates.size())));
+        });
+
     final SSZMutableList<Attestation> attestations = BeaconBlockBodyLists.createAttestations();
-    attestationGroupByDataHash.values().stream()
-        .filter(group -> group.getAttestationData().canIncludeInBlockAtSlot(slot))
-        .flatMap(MatchingDataAttestationGroup::stream)
-        .limit(attestations.getMaxSize())
-        .forEach(attestations::add);
+    while (attestations.size() < attestations.getMaxSize() && !candidates.isEmpty()) {
+      final AttestationCandidate candidate = candidates.poll();
+      final Bitlist includedValidators = includedValidatorsByDataHash.get(candidate.dataRoot);
+      final int newValidatorCount = countNewValidators(candidate.attestation, includedValidators);
+      if (newValidatorCount == 0) {
+        continue;
+      }
+      if (newValidatorCount < candidate.newValidatorCount) {
+        // Partly covered by an earlier selection so requeue with its updated score
+        candidate.newValidatorCount = newValidatorCount;
+        candidates.add(candidate);
+        continue;
+      }
+      attestations.add(candidate.attestation);
+      final Bitlist aggregationBits = candidate.attestation.getAggregation_bits();
+      if (includedValidators == null) {
+        includedValidatorsByDataHash.put(candidate.dataRoot, aggregationBits.copy());
+      } else {
+        includedValidators.setAllBits(aggregationBits);
+      }
+    }
     return attestations;
   }
 
@@ -71,4 +166,74 @@ public class AggregatingAttestationPool {
     return Optional.ofNullable(attestationGroupByDataHash.get(attestationData.hash_tree_root()))
         .flatMap(attestations -> attestations.stream().findFirst());
   }
+
+  private void removeGroup(final UnsignedLong slot, final Bytes dataRoot) {
+    attestationGroupByDataHash.remove(dataRoot);
+    final Set<Bytes> dataRootsAtSlot = dataHashBySlot.get(slot);
+    if (dataRootsAtSlot != null) {
+      dataRootsAtSlot.remove(dataRoot);
+      if (dataRootsAtSlot.isEmpty()) {
+        dataHashBySlot.remove(slot);
+      }
+    }
+  }
+
+  private Map<Bytes, Bitlist> getIncludedValidators(final BeaconState state) {
+    final Map<Bytes, Bitlist> includedValidators = new HashMap<>();
+    Stream.concat(
+            state.getPrevious_epoch_attestations().stream(),
+            state.getCurrent_epoch_attestations().stream())
+        .forEach(
+            pendingAttestation ->
+                includedValidators.merge(
+                    pendingAttestation.getData().hash_tree_root(),
+                    pendingAttestation.getAggregation_bits().copy(),
+                    (existing, added) -> {
+                      existing.setAllBits(added);
+                      return existing;
+                    }));
+    return includedValidators;
+  }
+
+  private static int countNewValidators(
+      final Attestation attestation, final Bitlist includedValidators) {
+    final Bitlist aggregationBits = attestation.getAggregation_bits();
+    if (includedValidators == null) {
+      return aggregationBits.countSetBits();
+    }
+    return (int)
+        aggregationBits
+            .streamAllSetBits()
+            .filter(
+                index ->
+                    index >= includedValidators.getCurrentSize()
+                        || !includedValidators.getBit(index))
+            .count();
+  }
+
+  private static class AttestationCandidate {
+    private final Attestation attestation;
+    private final Bytes dataRoot;
+    private final long order;
+    private int newValidatorCount;
+
+    private AttestationCandidate(
+        final Attestation attestation,
+        final Bytes dataRoot,
+        final int newValidatorCount,
+        final long order) {
+      this.attestation = attestation;
+      this.dataRoot = dataRoot;
+      this.newValidatorCount = newValidatorCount;
+      this.order = order;
+    }
+
+    public int getNewValidatorCount() {
+      return newValidatorCount;
+    }
+
+    public long getOrder() {
+      return order;
+    }
+  }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.statetransition.blockimport;
+
+import static tech.pegasys.artemis.core.ForkChoiceUtil.blockIsFromFuture;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.core.StateTransition.PendingBlockValidation;
+import tech.pegasys.artemis.core.StateTransitionException;
+import tech.pegasys.artemis.core.exceptions.BlockProcessingException;
+import tech.pegasys.artemis.core.results.BlockImportResult;
+import tech.pegasys.artemis.data.BlockProcessingRecord;
+import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.artemis.datastructures.forkchoice.ReadOnlyStore;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.statetransition.events.block.ImportedBlockEvent;
+import tech.pegasys.artemis.statetransition.forkchoice.ForkChoice;
+import tech.pegasys.artemis.storage.Store;
+import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.ExceptionThrowingFutureSupplier;
+import tech.pegasys.artemis.util.async.SafeFuture;
+
+/**
+ * Imports blocks in three stages which run concurrently for different blocks:
+ *
+ * <ol>
+ *   <li>The state transition, run on a single thread in the order blocks are submitted. A block
+ *       whose parent is still in the pipeline starts from the parent's pending post state.
+ *   <li>Validation of the block signatures and state root, run on a pool of threads.
+ *   <li>Adding the validated block to the store and fork choice, run on a single thread in the
+ *       order blocks are submitted.
+ * </ol>
+ */
+public class BlockImportPipeline {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final RecentChainData recentChainData;
+  private final ForkChoice forkChoice;
+  private final EventBus eventBus;
+  private final Executor transitionExecutor;
+  private final Executor validationExecutor;
+  private final Executor commitExecutor;
+  // Executors created by this pipeline which must be shut down when it stops
+  private final List<ExecutorService> ownedExecutors;
+
+  // Post states of blocks which have been processed but not yet added to the store
+  private final Map<Bytes32, BeaconState> pendingPostStates = new ConcurrentHashMap<>();
+
+  private SafeFuture<BlockImportResult> lastImport = SafeFuture.completedFuture(null);
+
+  BlockImportPipeline(
+      final RecentChainData recentChainData,
+      final ForkChoice forkChoice,
+      final EventBus eventBus,
+      final Executor transitionExecutor,
+      final Executor validationExecutor,
+      final Executor commitExecutor) {
+    this(
+        recentChainData,
+        forkChoice,
+        eventBus,
+        transitionExecutor,
+        validationExecutor,
+        commitExecutor,
+        List.of());
+  }
+
+  private BlockImportPipeline(
+      final RecentChainData recentChainData,
+      final ForkChoice forkChoice,
+      final EventBus eventBus,
+      final Executor transitionExecutor,
+      final Executor validationExecutor,
+      final Executor commitExecutor,
+      final List<ExecutorService> ownedExecutors) {
+    this.recentChainData = recentChainData;
+    this.forkChoice = forkChoice;
+    this.eventBus = eventBus;
+    this.transitionExecutor = transitionExecutor;
+    this.validationExecutor = validationExecutor;
+    this.commitExecutor = commitExecutor;
+    this.ownedExecutors = ownedExecutors;
+  }
+
+  public static BlockImportPipeline create(
+      final RecentChainData recentChainData, final ForkChoice forkChoice, final EventBus eventBus) {
+    final ExecutorService transitionExecutor =
+        Executors.newSingleThreadExecutor(createThreadFactory("block-transition-%d"));
+    final ExecutorService validationExecutor =
+        Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            createThreadFactory("block-validation-%d"));
+    final ExecutorService commitExecutor =
+        Executors.newSingleThreadExecutor(createThreadFactory("block-commit-%d"));
+    return new BlockImportPipeline(
+        recentChainData,
+        forkChoice,
+        eventBus,
+        transitionExecutor,
+        validationExecutor,
+        commitExecutor,
+        List.of(transitionExecutor, validationExecutor, commitExecutor));
+  }
+
+  /** Creates a pipeline which runs every stage on the thread that submits the block. */
+  public static BlockImportPipeline createSynchronous(
+      final RecentChainData recentChainData, final ForkChoice forkChoice, final EventBus eventBus) {
+    final Executor executor = MoreExecutors.directExecutor();
+    return new BlockImportPipeline(
+        recentChainData, forkChoice, eventBus, executor, executor, executor);
+  }
+
+  private static ThreadFactory createThreadFactory(final String nameFormat) {
+    return new ThreadFactoryBuilder().setDaemon(true).setNameFormat(nameFormat).build();
+  }
+
+  /**
+   * Stops accepting new blocks. Blocks already in the pipeline finish importing, while blocks
+   * submitted afterwards complete with an internal error.
+   */
+  public void stop() {
+    ownedExecutors.forEach(ExecutorService::shutdown);
+  }
+
+  /**
+   * Submits a block to the pipeline. Blocks are added to the store in the order they are
+   * submitted, so a block may be submitted before its parent has finished importing.
+   *
+   * @param block The block to import
+   * @return A future which completes with the import result once the block has left the pipeline
+   */
+  public synchronized SafeFuture<BlockImportResult> importBlock(final SignedBeaconBlock block) {
+    final Bytes32 blockRoot = block.getMessage().hash_tree_root();
+    if (recentChainData.containsBlock(blockRoot)) {
+      return SafeFuture.completedFuture(BlockImportResult.knownBlock(block));
+    }
+
+    final SafeFuture<BlockImportResult> validationResult =
+        runOn(transitionExecutor, () -> processTransition(block, blockRoot));
+    final SafeFuture<BlockImportResult> importResult =
+        lastImport
+            .thenCompose(previousResult -> validationResult)
+            .thenCompose(
+                result ->
+                    runOn(commitExecutor, () -> SafeFuture.completedFuture(commit(block, result))))
+            .exceptionally(
+                error -> {
+                  LOG.error("Internal error while importing block: " + block.getMessage(), error);
+                  return BlockImportResult.internalError(
+                      error instanceof Exception ? (Exception) error : new RuntimeException(error));
+                });
+    importResult.always(() -> pendingPostStates.remove(blockRoot));
+    lastImport = importResult;
+    return importResult;
+  }
+
+  private SafeFuture<BlockImportResult> processTransition(
+      final SignedBeaconBlock block, final Bytes32 blockRoot) {
+    final ReadOnlyStore store = recentChainData.getStore();
+    if (blockIsFromFuture(block.getMessage(), store)) {
+      return SafeFuture.completedFuture(BlockImportResult.FAILED_BLOCK_IS_FROM_FUTURE);
+    }
+    final Optional<BeaconState> maybePreState = getPreState(store, block.getParent_root());
+    if (maybePreState.isEmpty()) {
+      return SafeFuture.completedFuture(BlockImportResult.FAILED_UNKNOWN_PARENT);
+    }
+
+    final BeaconState preState = maybePreState.get();
+    final PendingBlockValidation pendingValidation;
+    try {
+      pendingValidation = forkChoice.processBlockTransition(preState, block, validationExecutor);
+    } catch (StateTransitionException e) {
+      return SafeFuture.completedFuture(BlockImportResult.failedStateTransition(e));
+    }
+    final BeaconState postState = pendingValidation.getPostState();
+    pendingPostStates.put(blockRoot, postState);
+
+    return pendingValidation
+        .getValidationResult()
+        .thenApply(
+            result ->
+                result.isValid()
+                    ? BlockImportResult.successful(
+                        new BlockProcessingRecord(preState, block, postState))
+                    : BlockImportResult.failedStateTransition(
+                        new StateTransitionException(
+                            new BlockProcessingException(result.getReason()))));
+  }
+
+  private Optional<BeaconState> getPreState(final ReadOnlyStore store, final Bytes32 parentRoot) {
+    // Blocks are only removed from the pending states after they are added to the store
+    final BeaconState pendingState = pendingPostStates.get(parentRoot);
+    if (pendingState != null) {
+      return Optional.of(pendingState);
+    }
+    return Optional.ofNullable(store.getBlockState(parentRoot));
+  }
+
+  private BlockImportResult commit(
+      final SignedBeaconBlock block, final BlockImportResult validationResult) {
+    if (!validationResult.isSuccessful()) {
+      LOG.trace(
+          "Failed to import block for reason {}: {}",
+          validationResult.getFailureReason(),
+          block.getMessage());
+      return validationResult;
+    }
+
+    final BlockProcessingRecord validatedRecord =
+        validationResult.getBlockProcessingRecord().orElseThrow();
+    if (recentChainData.containsBlock(block.getMessage().hash_tree_root())) {
+      return BlockImportResult.knownBlock(block);
+    }
+
+    final Store.Transaction transaction = recentChainData.startStoreTransaction();
+    final BlockImportResult result =
+        forkChoice.onValidatedBlock(
+            transaction, block, validatedRecord.getPreState(), validatedRecord.getPostState());
+    if (!result.isSuccessful()) {
+      LOG.trace(
+          "Failed to import block for reason {}: {}",
+          result.getFailureReason(),
+          block.getMessage());
+      return result;
+    }
+    LOG.trace("Successfully imported block {}", block.getMessage().hash_tree_root());
+
+    transaction.commit().join();
+    eventBus.post(new ImportedBlockEvent(block));
+    result.getBlockProcessingRecord().ifPresent(eventBus::post);
+    return result;
+  }
+
+  private static <T> SafeFuture<T> runOn(
+      final Executor executor, final ExceptionThrowingFutureSupplier<T> task) {
+    final SafeFuture<T> result = new SafeFuture<>();
+    try {
+      executor.execute(() -> SafeFuture.of(task).propagateTo(result));
+    } catch (RejectedExecutionException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+}
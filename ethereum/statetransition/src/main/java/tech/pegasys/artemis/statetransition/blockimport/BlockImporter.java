@@ -15,10 +15,13 @@ package tech.pegasys.artemis.statetransition.blockimport;
 
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import javax.annotation.CheckReturnValue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import tech.pegasys.artemis.core.blockvalidator.BatchSignatureVerifier;
 import tech.pegasys.artemis.core.results.BlockImportResult;
 import tech.pegasys.artemis.data.BlockProcessingRecord;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
@@ -34,12 +37,26 @@ public class BlockImporter {
   private final RecentChainData recentChainData;
   private final ForkChoice forkChoice;
   private final EventBus eventBus;
+  private final BlockImportPipeline pipeline;
 
   public BlockImporter(
       final RecentChainData recentChainData, final ForkChoice forkChoice, final EventBus eventBus) {
+    this(
+        recentChainData,
+        forkChoice,
+        eventBus,
+        BlockImportPipeline.createSynchronous(recentChainData, forkChoice, eventBus));
+  }
+
+  public BlockImporter(
+      final RecentChainData recentChainData,
+      final ForkChoice forkChoice,
+      final EventBus eventBus,
+      final BlockImportPipeline pipeline) {
     this.recentChainData = recentChainData;
     this.forkChoice = forkChoice;
     this.eventBus = eventBus;
+    this.pipeline = pipeline;
     eventBus.register(this);
   }
 
@@ -76,24 +93,124 @@ public class BlockImporter {
     }
   }
 
+  /**
+   * Imports a chain of blocks, such as a batch downloaded during sync. The signatures of all the
+   * blocks are verified together in a single batch and the blocks are committed in a single
+   * transaction. If any block is invalid, the blocks are imported individually through the {@link
+   * BlockImportPipeline} instead so the valid blocks before it are still imported.
+   *
+   * @param blocks The blocks to import, each one a descendant of the previous one
+   * @return The import result for each block, up to and including the first failed import
+   */
+  @CheckReturnValue
+  public List<BlockImportResult> importBlocks(final List<SignedBeaconBlock> blocks) {
+    final long unknownBlockCount =
+        blocks.stream()
+            .filter(block -> !recentChainData.containsBlock(block.getMessage().hash_tree_root()))
+            .count();
+    // There's nothing to gain from batching the signatures of a single block with itself
+    if (unknownBlockCount > 1) {
+      final Optional<List<BlockImportResult>> results = importBlocksWithBatchVerification(blocks);
+      if (results.isPresent()) {
+        return results.get();
+      }
+    }
+
+    // Submit every block so the pipeline can process them concurrently. Each block depends on the
+    // previous one so all blocks after a failed block will fail too.
+    final List<SafeFuture<BlockImportResult>> pendingResults = new ArrayList<>();
+    blocks.forEach(block -> pendingResults.add(pipeline.importBlock(block)));
+
+    final List<BlockImportResult> results = new ArrayList<>();
+    for (SafeFuture<BlockImportResult> pendingResult : pendingResults) {
+      final BlockImportResult result = pendingResult.join();
+      results.add(result);
+      if (!result.isSuccessful()) {
+        break;
+      }
+    }
+    return results;
+  }
+
+  private Optional<List<BlockImportResult>> importBlocksWithBatchVerification(
+      final List<SignedBeaconBlock> blocks) {
+    LOG.trace("Import {} blocks with batched signature verification", blocks.size());
+    try {
+      final BatchSignatureVerifier signatureVerifier = new BatchSignatureVerifier();
+      final Store.Transaction transaction = recentChainData.startStoreTransaction();
+      final List<SignedBeaconBlock> importedBlocks = new ArrayList<>();
+      final List<BlockImportResult> importedBlockResults = new ArrayList<>();
+      final List<BlockImportResult> results = new ArrayList<>();
+      for (SignedBeaconBlock block : blocks) {
+        if (transaction.containsBlock(block.getMessage().hash_tree_root())) {
+          results.add(BlockImportResult.knownBlock(block));
+          continue;
+        }
+        final BlockImportResult result =
+            forkChoice.onBlockWithDeferredSignatures(transaction, block, signatureVerifier);
+        if (!result.isSuccessful()) {
+          LOG.trace(
+              "Failed to import block in batch for reason {}: {}",
+              result.getFailureReason(),
+              block.getMessage());
+          return Optional.empty();
+        }
+        importedBlocks.add(block);
+        importedBlockResults.add(result);
+        results.add(result);
+      }
+
+      if (!signatureVerifier.batchVerify()) {
+        LOG.debug("Batch of {} blocks contains an invalid signature", blocks.size());
+        return Optional.empty();
+      }
+
+      forkChoice.applyDeferredBlocks(transaction, importedBlocks);
+      transaction.commit().join();
+      LOG.trace("Successfully imported batch of {} blocks", importedBlocks.size());
+      for (int i = 0; i < importedBlocks.size(); i++) {
+        eventBus.post(new ImportedBlockEvent(importedBlocks.get(i)));
+        importedBlockResults.get(i).getBlockProcessingRecord().ifPresent(eventBus::post);
+      }
+      return Optional.of(results);
+    } catch (Exception e) {
+      LOG.error("Internal error while importing batch of blocks", e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Submits a block to the {@link BlockImportPipeline} so its state transition, validation and
+   * commit can overlap with other blocks being imported.
+   *
+   * @param block The block to import
+   * @return A future which completes with the import result
+   */
   public SafeFuture<BlockImportResult> importBlockAsync(final SignedBeaconBlock block) {
-    return SafeFuture.of(() -> importBlock(block));
+    return pipeline.importBlock(block);
   }
 
+  // Proposed blocks go through the pipeline so they are committed in order with blocks which are
+  // already being imported, such as the parent of the proposed block.
   @Subscribe
   @SuppressWarnings("unused")
   private void onBlockProposed(final ProposedBlockEvent blockProposedEvent) {
     LOG.trace("Preparing to import proposed block: {}", blockProposedEvent.getBlock());
-    final BlockImportResult result = importBlock(blockProposedEvent.getBlock());
-    if (result.isSuccessful()) {
-      LOG.trace("Successfully imported proposed block: {}", blockProposedEvent.getBlock());
-    } else {
-      LOG.error(
-          "Failed to import proposed block for reason + "
-              + result.getFailureReason()
-              + ": "
-              + blockProposedEvent,
-          result.getFailureCause().orElse(null));
-    }
+    importBlockAsync(blockProposedEvent.getBlock())
+        .finish(
+            result -> {
+              if (result.isSuccessful()) {
+                LOG.trace(
+                    "Successfully imported proposed block: {}", blockProposedEvent.getBlock());
+              } else {
+                LOG.error(
+                    "Failed to import proposed block for reason + "
+                        + result.getFailureReason()
+                        + ": "
+                        + blockProposedEvent,
+                    result.getFailureCause().orElse(null));
+              }
+            },
+            error -> LOG.error("Failed to import proposed block: " + blockProposedEvent, error));
   }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.statetransition.blockimport;
+
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_beacon_proposer_index;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_committee_count_at_slot;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_current_epoch;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.get_total_active_balance;
+import static tech.pegasys.artemis.datastructures.util.CommitteeUtil.get_beacon_committee;
+import static tech.pegasys.artemis.datastructures.util.ValidatorsUtil.get_active_validator_indices;
+import static tech.pegasys.artemis.util.config.Constants.SECONDS_PER_SLOT;
+import static tech.pegasys.artemis.util.config.Constants.SLOTS_PER_EPOCH;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import tech.pegasys.artemis.core.StateTransition;
+import tech.pegasys.artemis.core.exceptions.EpochProcessingException;
+import tech.pegasys.artemis.core.exceptions.SlotProcessingException;
+import tech.pegasys.artemis.datastructures.blocks.BeaconBlockAndState;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.AsyncRunner;
+import tech.pegasys.artemis.util.time.channels.SlotEventsChannel;
+
+/**
+ * Advances the head state across the next epoch boundary late in the last slot of each epoch, so
+ * that epoch processing and committee shuffling are already done when the first block of the new
+ * epoch is imported or produced.
+ */
+public class EpochTransitionPreprocessor implements SlotEventsChannel {
+  private static final Logger LOG = LogManager.getLogger();
+
+  // Run after attestations and aggregates for the last slot have been produced
+  static final long PRECOMPUTE_DELAY_MILLIS = SECONDS_PER_SLOT * 1000L * 2 / 3;
+
+  private final AsyncRunner asyncRunner;
+  private final RecentChainData recentChainData;
+  private final StateTransition stateTransition;
+
+  public EpochTransitionPreprocessor(
+      final AsyncRunner asyncRunner,
+      final RecentChainData recentChainData,
+      final StateTransition stateTransition) {
+    this.asyncRunner = asyncRunner;
+    this.recentChainData = recentChainData;
+    this.stateTransition = stateTransition;
+  }
+
+  @Override
+  public void onSlot(final UnsignedLong slot) {
+    final UnsignedLong nextSlot = slot.plus(UnsignedLong.ONE);
+    if (!nextSlot.mod(UnsignedLong.valueOf(SLOTS_PER_EPOCH)).equals(UnsignedLong.ZERO)) {
+      return;
+    }
+    asyncRunner
+        .runAfterDelay(
+            () -> precomputeEpochTransition(nextSlot),
+            PRECOMPUTE_DELAY_MILLIS,
+            TimeUnit.MILLISECONDS)
+        .finish(
+            () -> LOG.trace("Precomputed epoch transition to slot {}", nextSlot),
+            error -> LOG.warn("Failed to precompute epoch transition to slot " + nextSlot, error));
+  }
+
+  void precomputeEpochTransition(final UnsignedLong epochStartSlot)
+      throws SlotProcessingException, EpochProcessingException {
+    final Optional<BeaconBlockAndState> head = recentChainData.getBestBlockAndState();
+    if (head.isEmpty() || head.get().getState().getSlot().compareTo(epochStartSlot) >= 0) {
+      return;
+    }
+    final BeaconState state =
+        stateTransition.precompute_slots(head.get().getState(), epochStartSlot);
+    warmTransitionCaches(state);
+  }
+
+  private void warmTransitionCaches(final BeaconState state) {
+    final UnsignedLong epoch = get_current_epoch(state);
+    get_active_validator_indices(state, epoch);
+    get_total_active_balance(state);
+    get_beacon_proposer_index(state);
+
+    final UnsignedLong startSlot = compute_start_slot_at_epoch(epoch);
+    for (int i = 0; i < SLOTS_PER_EPOCH; i++) {
+      final UnsignedLong slot = startSlot.plus(UnsignedLong.valueOf(i));
+      final UnsignedLong committeeCount = get_committee_count_at_slot(state, slot);
+      for (long index = 0; index < committeeCount.longValue(); index++) {
+        get_beacon_committee(state, slot, UnsignedLong.valueOf(index));
+      }
+    }
+  }
+}
@@ -15,23 +15,32 @@ package tech.pegasys.artemis.statetransition.forkchoice;
 
 import static tech.pegasys.artemis.core.ForkChoiceUtil.on_attestation;
 import static tech.pegasys.artemis.core.ForkChoiceUtil.on_block;
+import static tech.pegasys.artemis.core.ForkChoiceUtil.on_validated_block;
 
+import java.util.List;
+import java.util.concurrent.Executor;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.core.StateTransition;
+import tech.pegasys.artemis.core.StateTransition.PendingBlockValidation;
+import tech.pegasys.artemis.core.StateTransitionException;
+import tech.pegasys.artemis.core.blockvalidator.BatchSignatureVerifier;
+import tech.pegasys.artemis.core.blockvalidator.SimpleBlockValidator;
 import tech.pegasys.artemis.core.results.AttestationProcessingResult;
 import tech.pegasys.artemis.core.results.BlockImportResult;
 import tech.pegasys.artemis.datastructures.blocks.BeaconBlock;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.forkchoice.MutableStore;
+import tech.pegasys.artemis.datastructures.forkchoice.ReadOnlyStore;
 import tech.pegasys.artemis.datastructures.operations.Attestation;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.protoarray.ForkChoiceBlockListener;
 import tech.pegasys.artemis.protoarray.ProtoArrayForkChoiceStrategy;
 import tech.pegasys.artemis.storage.Store;
 import tech.pegasys.artemis.storage.api.FinalizedCheckpointChannel;
 import tech.pegasys.artemis.storage.client.RecentChainData;
 
 public class ForkChoice implements FinalizedCheckpointChannel {
-
   private final RecentChainData recentChainData;
   private final StateTransition stateTransition;
 
@@ -61,6 +70,58 @@ public class ForkChoice implements FinalizedCheckpointChannel {
     return on_block(store, block, stateTransition, protoArrayForkChoiceStrategy);
   }
 
+  /**
+   * Processes a block without checking its BLS signatures or adding it to the fork choice strategy.
+   * The signatures are collected by {@code signatureVerifier} so the signatures of many blocks can
+   * be checked in one batch. Once they are valid, {@link #applyDeferredBlocks(ReadOnlyStore,
+   * List)} adds the blocks to the fork choice strategy.
+   *
+   * @param store The store transaction to add the block to
+   * @param block The block to process
+   * @param signatureVerifier Collects the signatures which must be verified
+   * @return The result of processing the block
+   */
+  public BlockImportResult onBlockWithDeferredSignatures(
+      final MutableStore store,
+      final SignedBeaconBlock block,
+      final BatchSignatureVerifier signatureVerifier) {
+    final StateTransition deferredSignatureStateTransition =
+        new StateTransition(new SimpleBlockValidator(true, true, true, signatureVerifier));
+    // Blocks are only added to the fork choice strategy once their signatures have been verified
+    return on_block(store, block, deferredSignatureStateTransition, ForkChoiceBlockListener.NOOP);
+  }
+
+  public void applyDeferredBlocks(final ReadOnlyStore store, final List<SignedBeaconBlock> blocks) {
+    blocks.forEach(block -> protoArrayForkChoiceStrategy.onBlock(store, block.getMessage()));
+  }
+
+  /**
+   * Runs the state transition for a block while its signatures and state root are validated on
+   * {@code validationExecutor}. Once the validation succeeds, {@link
+   * #onValidatedBlock(MutableStore, SignedBeaconBlock, BeaconState, BeaconState)} adds the block
+   * to the store.
+   *
+   * @param preState The state of the block's parent
+   * @param block The block to process
+   * @param validationExecutor The executor to validate the block on
+   * @return The post state and the pending result of validating the block
+   * @throws StateTransitionException If the state transition fails
+   */
+  public PendingBlockValidation processBlockTransition(
+      final BeaconState preState, final SignedBeaconBlock block, final Executor validationExecutor)
+      throws StateTransitionException {
+    return stateTransition.initiateWithPendingValidation(preState, block, validationExecutor);
+  }
+
+  public BlockImportResult onValidatedBlock(
+      final MutableStore store,
+      final SignedBeaconBlock block,
+      final BeaconState preState,
+      final BeaconState postState) {
+    return on_validated_block(
+        store, block, preState, postState, stateTransition, protoArrayForkChoiceStrategy);
+  }
+
   public AttestationProcessingResult onAttestation(
       final MutableStore store, final Attestation attestation) {
     return on_attestation(store, attestation, stateTransition, protoArrayForkChoiceStrategy);
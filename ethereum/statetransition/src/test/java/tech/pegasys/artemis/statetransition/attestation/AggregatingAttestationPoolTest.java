@@ -26,7 +26,9 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.artemis.datastructures.operations.Attestation;
 import tech.pegasys.artemis.datastructures.operations.AttestationData;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.datastructures.state.PendingAttestation;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
 import tech.pegasys.artemis.ssz.SSZTypes.Bitlist;
 import tech.pegasys.artemis.util.config.Constants;
@@ -72,7 +74,7 @@ class AggregatingAttestationPoolTest {
 
   @Test
   public void getAttestationsForBlock_shouldReturnEmptyListWhenNoAttestationsAvailable() {
-    assertThat(aggregatingPool.getAttestationsForBlock(SLOT)).isEmpty();
+    assertThat(aggregatingPool.getAttestationsForBlock(stateAtSlot(SLOT))).isEmpty();
   }
 
   @Test
@@ -81,7 +83,7 @@ class AggregatingAttestationPoolTest {
     addAttestationFromValidators(randomAttestationDataToIncludeInBlock(SLOT.plus(ONE)), 2);
     addAttestationFromValidators(randomAttestationDataToIncludeInBlock(ZERO), 3);
 
-    assertThat(aggregatingPool.getAttestationsForBlock(SLOT)).isEmpty();
+    assertThat(aggregatingPool.getAttestationsForBlock(stateAtSlot(SLOT))).isEmpty();
   }
 
   @Test
@@ -89,7 +91,8 @@ class AggregatingAttestationPoolTest {
     addAttestationFromValidators(randomAttestationDataToIncludeInBlock(SLOT.minus(ONE)), 1);
 
     final UnsignedLong twoEpochs = UnsignedLong.valueOf(2 * Constants.SLOTS_PER_EPOCH);
-    assertThat(aggregatingPool.getAttestationsForBlock(SLOT.plus(twoEpochs))).isEmpty();
+    assertThat(aggregatingPool.getAttestationsForBlock(stateAtSlot(SLOT.plus(twoEpochs))))
+        .isEmpty();
   }
 
   @Test
@@ -98,7 +101,7 @@ class AggregatingAttestationPoolTest {
     final Attestation attestation1 = addAttestationFromValidators(attestationData, 1, 2);
     final Attestation attestation2 = addAttestationFromValidators(attestationData, 3, 4);
 
-    assertThat(aggregatingPool.getAttestationsForBlock(SLOT))
+    assertThat(aggregatingPool.getAttestationsForBlock(stateAtSlot(SLOT)))
         .containsExactly(aggregateAttestations(attestation1, attestation2));
   }
 
@@ -110,7 +113,7 @@ class AggregatingAttestationPoolTest {
     final Attestation attestation3 =
         addAttestationFromValidators(randomAttestationDataToIncludeInBlock(), 3, 4);
 
-    assertThat(aggregatingPool.getAttestationsForBlock(SLOT))
+    assertThat(aggregatingPool.getAttestationsForBlock(stateAtSlot(SLOT)))
         .containsExactlyInAnyOrder(aggregateAttestations(attestation1, attestation2), attestation3);
   }
 
@@ -123,20 +126,99 @@ class AggregatingAttestationPoolTest {
     // Won't be included because of the 2 attestation limit.
     addAttestationFromValidators(attestationData, 2, 6);
 
-    assertThat(aggregatingPool.getAttestationsForBlock(SLOT))
+    assertThat(aggregatingPool.getAttestationsForBlock(stateAtSlot(SLOT)))
         .containsExactly(attestation1, attestation2);
   }
 
+  @Test
+  public void getAttestationsForBlock_shouldPreferAttestationsWithMostNewValidators() {
+    Constants.MAX_ATTESTATIONS = 2;
+    final Attestation attestation1 =
+        addAttestationFromValidators(randomAttestationDataToIncludeInBlock(), 1, 2);
+    final Attestation attestation2 =
+        addAttestationFromValidators(randomAttestationDataToIncludeInBlock(), 1, 2, 3, 4);
+    final Attestation attestation3 =
+        addAttestationFromValidators(randomAttestationDataToIncludeInBlock(), 1, 2, 3);
+
+    assertThat(aggregatingPool.getAttestationsForBlock(stateAtSlot(SLOT)))
+        .containsExactly(attestation2, attestation3)
+        .doesNotContain(attestation1);
+  }
+
+  @Test
+  public void getAttestationsForBlock_shouldRescoreAggregatesOverlappingSelectedAggregate() {
+    Constants.MAX_ATTESTATIONS = 2;
+    final AttestationData attestationData = randomAttestationDataToIncludeInBlock();
+    final Attestation attestation1 = addAttestationFromValidators(attestationData, 1, 2, 3, 4);
+    // Only adds validator 5 once attestation1 is included
+    addAttestationFromValidators(attestationData, 1, 2, 3, 5);
+    final Attestation attestation3 =
+        addAttestationFromValidators(randomAttestationDataToIncludeInBlock(), 1, 2);
+
+    assertThat(aggregatingPool.getAttestationsForBlock(stateAtSlot(SLOT)))
+        .containsExactly(attestation1, attestation3);
+  }
+
+  @Test
+  public void getAttestationsForBlock_shouldNotIncludeValidatorsAlreadyIncludedOnChain() {
+    final AttestationData attestationData = randomAttestationDataToIncludeInBlock();
+    final AttestationData otherData = randomAttestationDataToIncludeInBlock();
+    addAttestationFromValidators(attestationData, 1, 2);
+    final Attestation attestation2 = addAttestationFromValidators(otherData, 3);
+
+    final BeaconState state =
+        stateAtSlot(SLOT)
+            .updated(
+                mutableState ->
+                    mutableState
+                        .getCurrent_epoch_attestations()
+                        .add(
+                            new PendingAttestation(
+                                bitlistOf(1, 2, 3), attestationData, ONE, ZERO)));
+
+    assertThat(aggregatingPool.getAttestationsForBlock(state)).containsExactly(attestation2);
+  }
+
+  @Test
+  public void onSlot_shouldRemoveAttestationsThatCanNoLongerBeIncluded() {
+    final AttestationData oldData = randomAttestationDataToIncludeInBlock(SLOT.minus(ONE));
+    final AttestationData newData = randomAttestationDataToIncludeInBlock(SLOT);
+    addAttestationFromValidators(oldData, 1);
+    final Attestation attestation2 = addAttestationFromValidators(newData, 2);
+
+    final UnsignedLong slotsPerEpoch = UnsignedLong.valueOf(Constants.SLOTS_PER_EPOCH);
+    aggregatingPool.onSlot(SLOT.plus(slotsPerEpoch));
+    assertThat(aggregatingPool.createAggregateFor(oldData)).isEmpty();
+    assertThat(aggregatingPool.createAggregateFor(newData)).contains(attestation2);
+
+    aggregatingPool.onSlot(SLOT.plus(slotsPerEpoch).plus(ONE));
+    assertThat(aggregatingPool.createAggregateFor(newData)).isEmpty();
+  }
+
   private Attestation addAttestationFromValidators(
       final AttestationData data, final int... validators) {
-    final Bitlist bitlist = new Bitlist(20, Constants.MAX_VALIDATORS_PER_COMMITTEE);
-    IntStream.of(validators).forEach(bitlist::setBit);
     final Attestation attestation =
-        new Attestation(bitlist, data, dataStructureUtil.randomSignature());
+        new Attestation(bitlistOf(validators), data, dataStructureUtil.randomSignature());
     aggregatingPool.add(attestation);
     return attestation;
   }
 
+  private Bitlist bitlistOf(final int... validators) {
+    final Bitlist bitlist = new Bitlist(20, Constants.MAX_VALIDATORS_PER_COMMITTEE);
+    IntStream.of(validators).forEach(bitlist::setBit);
+    return bitlist;
+  }
+
+  private BeaconState stateAtSlot(final UnsignedLong slot) {
+    return dataStructureUtil
+        .randomBeaconState(slot)
+        .updated(
+            state -> {
+              state.getPrevious_epoch_attestations().clear();
+              state.getCurrent_epoch_attestations().clear();
+            });
+  }
+
   private AttestationData randomAttestationDataToIncludeInBlock() {
     final UnsignedLong attestationSlot = SLOT.minus(ONE);
     return randomAttestationDataToIncludeInBlock(attestationSlot);
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.statetransition.blockimport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.bls.BLSKeyGenerator;
+import tech.pegasys.artemis.bls.BLSKeyPair;
+import tech.pegasys.artemis.bls.BLSSignature;
+import tech.pegasys.artemis.core.StateTransition;
+import tech.pegasys.artemis.core.results.BlockImportResult;
+import tech.pegasys.artemis.core.results.BlockImportResult.FailureReason;
+import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.artemis.datastructures.util.BeaconStateUtil;
+import tech.pegasys.artemis.statetransition.BeaconChainUtil;
+import tech.pegasys.artemis.statetransition.forkchoice.ForkChoice;
+import tech.pegasys.artemis.storage.client.MemoryOnlyRecentChainData;
+import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.SafeFuture;
+import tech.pegasys.artemis.util.config.Constants;
+
+public class BlockImportPipelineTest {
+  private final List<BLSKeyPair> validatorKeys = BLSKeyGenerator.generateKeyPairs(8);
+  private final EventBus localEventBus = mock(EventBus.class);
+  private final RecentChainData recentChainData = MemoryOnlyRecentChainData.create(localEventBus);
+  private final BeaconChainUtil localChain =
+      BeaconChainUtil.create(recentChainData, validatorKeys, false);
+
+  private final EventBus otherEventBus = mock(EventBus.class);
+  private final RecentChainData otherStorage = MemoryOnlyRecentChainData.create(otherEventBus);
+  private final BeaconChainUtil otherChain =
+      BeaconChainUtil.create(otherStorage, validatorKeys, false);
+
+  private final ForkChoice forkChoice = new ForkChoice(recentChainData, new StateTransition());
+  private final QueuedExecutor transitionExecutor = new QueuedExecutor();
+  private final QueuedExecutor validationExecutor = new QueuedExecutor();
+  private final QueuedExecutor commitExecutor = new QueuedExecutor();
+  private final BlockImportPipeline pipeline =
+      new BlockImportPipeline(
+          recentChainData,
+          forkChoice,
+          localEventBus,
+          transitionExecutor,
+          validationExecutor,
+          commitExecutor);
+
+  private SignedBeaconBlock block1;
+  private SignedBeaconBlock block2;
+
+  @BeforeAll
+  public static void init() {
+    Constants.SLOTS_PER_EPOCH = 6;
+    BeaconStateUtil.BLS_VERIFY_DEPOSIT = false;
+  }
+
+  @AfterAll
+  public static void dispose() {
+    BeaconStateUtil.BLS_VERIFY_DEPOSIT = true;
+  }
+
+  @BeforeEach
+  public void setup() throws Exception {
+    otherChain.initializeStorage();
+    localChain.initializeStorage();
+    block1 = otherChain.createAndImportBlockAtSlot(UnsignedLong.ONE);
+    block2 = otherChain.createAndImportBlockAtSlot(UnsignedLong.valueOf(2));
+    localChain.setSlot(block2.getSlot());
+  }
+
+  @Test
+  public void importBlock_shouldProcessChildBeforeParentIsCommitted() {
+    final SafeFuture<BlockImportResult> result1 = pipeline.importBlock(block1);
+    final SafeFuture<BlockImportResult> result2 = pipeline.importBlock(block2);
+
+    transitionExecutor.runAll();
+    assertThat(validationExecutor.size()).isEqualTo(2);
+    assertThat(commitExecutor.size()).isZero();
+    assertThat(recentChainData.containsBlock(block1.getMessage().hash_tree_root())).isFalse();
+
+    validationExecutor.runAll();
+    commitExecutor.runAll();
+    assertSuccessfulResult(result1);
+    assertSuccessfulResult(result2);
+    assertThat(recentChainData.containsBlock(block1.getMessage().hash_tree_root())).isTrue();
+    assertThat(recentChainData.containsBlock(block2.getMessage().hash_tree_root())).isTrue();
+  }
+
+  @Test
+  public void importBlock_shouldCommitBlocksInSubmittedOrder() {
+    final SafeFuture<BlockImportResult> result1 = pipeline.importBlock(block1);
+    final SafeFuture<BlockImportResult> result2 = pipeline.importBlock(block2);
+    transitionExecutor.runAll();
+
+    // Child finishes validation first but must wait for its parent to be committed
+    validationExecutor.run(1);
+    assertThat(commitExecutor.size()).isZero();
+
+    validationExecutor.run(0);
+    assertThat(commitExecutor.size()).isEqualTo(1);
+    commitExecutor.run(0);
+    assertSuccessfulResult(result1);
+    assertThat(result2).isNotDone();
+
+    commitExecutor.runAll();
+    assertSuccessfulResult(result2);
+  }
+
+  @Test
+  public void importBlock_shouldFailBlockWithInvalidSignatureAndItsChildren() {
+    final SignedBeaconBlock invalidBlock =
+        new SignedBeaconBlock(block1.getMessage(), BLSSignature.random(1));
+    final SafeFuture<BlockImportResult> result1 = pipeline.importBlock(invalidBlock);
+    final SafeFuture<BlockImportResult> result2 = pipeline.importBlock(block2);
+    runAll();
+
+    assertImportFailed(result1, FailureReason.FAILED_STATE_TRANSITION);
+    assertImportFailed(result2, FailureReason.UNKNOWN_PARENT);
+    assertThat(recentChainData.containsBlock(block1.getMessage().hash_tree_root())).isFalse();
+    assertThat(recentChainData.containsBlock(block2.getMessage().hash_tree_root())).isFalse();
+  }
+
+  @Test
+  public void importBlock_shouldFailBlockWithUnknownParent() {
+    final SafeFuture<BlockImportResult> result = pipeline.importBlock(block2);
+    runAll();
+
+    assertImportFailed(result, FailureReason.UNKNOWN_PARENT);
+    assertThat(validationExecutor.size()).isZero();
+  }
+
+  @Test
+  public void importBlock_shouldReturnKnownBlockWithoutProcessing() {
+    assertThat(pipeline.importBlock(block1)).isNotDone();
+    runAll();
+
+    final SafeFuture<BlockImportResult> result = pipeline.importBlock(block1);
+    assertThat(result).isCompleted();
+    assertThat(result.join().isSuccessful()).isTrue();
+    assertThat(transitionExecutor.size()).isZero();
+  }
+
+  private void runAll() {
+    while (transitionExecutor.size() + validationExecutor.size() + commitExecutor.size() > 0) {
+      transitionExecutor.runAll();
+      validationExecutor.runAll();
+      commitExecutor.runAll();
+    }
+  }
+
+  private void assertSuccessfulResult(final SafeFuture<BlockImportResult> result) {
+    assertThat(result).isCompleted();
+    assertThat(result.join().isSuccessful()).isTrue();
+    assertThat(result.join().getBlockProcessingRecord()).isPresent();
+  }
+
+  private void assertImportFailed(
+      final SafeFuture<BlockImportResult> result, final FailureReason expectedReason) {
+    assertThat(result).isCompleted();
+    assertThat(result.join().isSuccessful()).isFalse();
+    assertThat(result.join().getFailureReason()).isEqualTo(expectedReason);
+  }
+
+  private static class QueuedExecutor implements Executor {
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(final Runnable task) {
+      tasks.add(task);
+    }
+
+    public int size() {
+      return tasks.size();
+    }
+
+    public void run(final int index) {
+      tasks.remove(index).run();
+    }
+
+    public void runAll() {
+      while (!tasks.isEmpty()) {
+        tasks.remove(0).run();
+      }
+    }
+  }
+}
@@ -22,6 +22,7 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.primitives.UnsignedLong;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -41,10 +42,12 @@ import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
 import tech.pegasys.artemis.datastructures.util.BeaconStateUtil;
 import tech.pegasys.artemis.statetransition.BeaconChainUtil;
+import tech.pegasys.artemis.statetransition.events.block.ProposedBlockEvent;
 import tech.pegasys.artemis.statetransition.forkchoice.ForkChoice;
 import tech.pegasys.artemis.storage.Store.Transaction;
 import tech.pegasys.artemis.storage.client.MemoryOnlyRecentChainData;
 import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.SafeFuture;
 import tech.pegasys.artemis.util.config.Constants;
 
 public class BlockImporterTest {
@@ -261,6 +264,80 @@ public class BlockImporterTest {
     assertImportFailed(result, FailureReason.FAILED_STATE_TRANSITION);
   }
 
+  @Test
+  public void importBlocks_success() throws Exception {
+    final List<SignedBeaconBlock> blocks = new ArrayList<>();
+    for (int i = 1; i <= 4; i++) {
+      blocks.add(otherChain.createAndImportBlockAtSlot(UnsignedLong.valueOf(i)));
+    }
+    localChain.setSlot(blocks.get(3).getSlot());
+
+    final List<BlockImportResult> results = blockImporter.importBlocks(blocks);
+    assertThat(results).hasSize(4);
+    results.forEach(this::assertSuccessfulResult);
+    blocks.forEach(
+        block ->
+            assertThat(recentChainData.containsBlock(block.getMessage().hash_tree_root()))
+                .isTrue());
+  }
+
+  @Test
+  public void importBlocks_invalidSignature() throws Exception {
+    final List<SignedBeaconBlock> blocks = new ArrayList<>();
+    for (int i = 1; i <= 4; i++) {
+      blocks.add(otherChain.createAndImportBlockAtSlot(UnsignedLong.valueOf(i)));
+    }
+    final SignedBeaconBlock invalidBlock =
+        new SignedBeaconBlock(blocks.get(2).getMessage(), BLSSignature.random(1));
+    blocks.set(2, invalidBlock);
+    localChain.setSlot(blocks.get(3).getSlot());
+
+    final List<BlockImportResult> results = blockImporter.importBlocks(blocks);
+    assertThat(results).hasSize(3);
+    assertSuccessfulResult(results.get(0));
+    assertSuccessfulResult(results.get(1));
+    assertImportFailed(results.get(2), FailureReason.FAILED_STATE_TRANSITION);
+    assertThat(recentChainData.containsBlock(blocks.get(1).getMessage().hash_tree_root()))
+        .isTrue();
+    assertThat(recentChainData.containsBlock(invalidBlock.getMessage().hash_tree_root()))
+        .isFalse();
+  }
+
+  @Test
+  public void onBlockProposed_shouldCommitAfterParentPendingInPipeline() throws Exception {
+    final SignedBeaconBlock parent = otherChain.createAndImportBlockAtSlot(UnsignedLong.ONE);
+    final SignedBeaconBlock proposed =
+        otherChain.createAndImportBlockAtSlot(UnsignedLong.valueOf(2));
+    localChain.setSlot(proposed.getSlot());
+
+    final List<Runnable> queuedTasks = new ArrayList<>();
+    final Executor queuedExecutor = queuedTasks::add;
+    final EventBus eventBus = new EventBus();
+    final BlockImporter pipelinedImporter =
+        new BlockImporter(
+            recentChainData,
+            forkChoice,
+            eventBus,
+            new BlockImportPipeline(
+                recentChainData,
+                forkChoice,
+                eventBus,
+                queuedExecutor,
+                queuedExecutor,
+                queuedExecutor));
+
+    final SafeFuture<BlockImportResult> parentResult = pipelinedImporter.importBlockAsync(parent);
+    eventBus.post(new ProposedBlockEvent(proposed));
+    assertThat(recentChainData.containsBlock(parent.getMessage().hash_tree_root())).isFalse();
+    assertThat(recentChainData.containsBlock(proposed.getMessage().hash_tree_root())).isFalse();
+
+    while (!queuedTasks.isEmpty()) {
+      queuedTasks.remove(0).run();
+    }
+    assertSuccessfulResult(parentResult.join());
+    assertThat(recentChainData.containsBlock(proposed.getMessage().hash_tree_root())).isTrue();
+  }
+
   private void assertImportFailed(
       final BlockImportResult result, final BlockImportResult.FailureReason expectedReason) {
     assertThat(result.isSuccessful()).isFalse();
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.statetransition.blockimport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.primitives.UnsignedLong;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.bls.BLSKeyGenerator;
+import tech.pegasys.artemis.bls.BLSKeyPair;
+import tech.pegasys.artemis.core.PrecomputedStates;
+import tech.pegasys.artemis.core.StateTransition;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.util.BeaconStateUtil;
+import tech.pegasys.artemis.statetransition.BeaconChainUtil;
+import tech.pegasys.artemis.storage.client.MemoryOnlyRecentChainData;
+import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.StubAsyncRunner;
+import tech.pegasys.artemis.util.config.Constants;
+
+public class EpochTransitionPreprocessorTest {
+  private final List<BLSKeyPair> validatorKeys = BLSKeyGenerator.generateKeyPairs(8);
+  private final RecentChainData recentChainData =
+      MemoryOnlyRecentChainData.create(mock(EventBus.class));
+  private final BeaconChainUtil chainUtil =
+      BeaconChainUtil.create(recentChainData, validatorKeys, false);
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final PrecomputedStates precomputedStates = new PrecomputedStates();
+  private final StateTransition stateTransition = new StateTransition(precomputedStates);
+
+  private final EpochTransitionPreprocessor preprocessor =
+      new EpochTransitionPreprocessor(asyncRunner, recentChainData, stateTransition);
+
+  @BeforeAll
+  public static void init() {
+    BeaconStateUtil.BLS_VERIFY_DEPOSIT = false;
+  }
+
+  @AfterAll
+  public static void dispose() {
+    BeaconStateUtil.BLS_VERIFY_DEPOSIT = true;
+  }
+
+  @BeforeEach
+  public void setup() {
+    chainUtil.initializeStorage();
+  }
+
+  @Test
+  public void onSlot_shouldNotPrecomputeBeforeLastSlotOfEpoch() {
+    preprocessor.onSlot(UnsignedLong.valueOf(Constants.SLOTS_PER_EPOCH - 2));
+
+    assertThat(asyncRunner.hasDelayedActions()).isFalse();
+  }
+
+  @Test
+  public void onSlot_shouldPrecomputeTransitionIntoNextEpoch() throws Exception {
+    final UnsignedLong epochStartSlot = UnsignedLong.valueOf(Constants.SLOTS_PER_EPOCH);
+    final BeaconState headState = recentChainData.getBestBlockAndState().orElseThrow().getState();
+
+    preprocessor.onSlot(epochStartSlot.minus(UnsignedLong.ONE));
+    assertThat(asyncRunner.countDelayedActions()).isEqualTo(1);
+    asyncRunner.executeQueuedActions();
+
+    final BeaconState advancedState = stateTransition.process_slots(headState, epochStartSlot);
+    // The precomputed state is returned rather than repeating the epoch transition
+    assertThat(stateTransition.process_slots(headState, epochStartSlot)).isSameAs(advancedState);
+    assertThat(advancedState.hash_tree_root())
+        .isEqualTo(
+            createUncachedStateTransition()
+                .process_slots(headState, epochStartSlot)
+                .hash_tree_root());
+  }
+
+  @Test
+  public void precomputedStateShouldBeUsedForLaterSlotsInTheEpoch() throws Exception {
+    final UnsignedLong epochStartSlot = UnsignedLong.valueOf(Constants.SLOTS_PER_EPOCH);
+    final UnsignedLong laterSlot = epochStartSlot.plus(UnsignedLong.valueOf(2));
+    final BeaconState headState = recentChainData.getBestBlockAndState().orElseThrow().getState();
+
+    preprocessor.precomputeEpochTransition(epochStartSlot);
+
+    assertThat(stateTransition.process_slots(headState, laterSlot).hash_tree_root())
+        .isEqualTo(
+            createUncachedStateTransition()
+                .process_slots(headState, laterSlot)
+                .hash_tree_root());
+  }
+
+  @Test
+  public void precomputedStateShouldBeSharedWithOtherStateTransitions() throws Exception {
+    final UnsignedLong epochStartSlot = UnsignedLong.valueOf(Constants.SLOTS_PER_EPOCH);
+    final BeaconState headState = recentChainData.getBestBlockAndState().orElseThrow().getState();
+
+    preprocessor.precomputeEpochTransition(epochStartSlot);
+
+    assertThat(new StateTransition(precomputedStates).process_slots(headState, epochStartSlot))
+        .isSameAs(stateTransition.process_slots(headState, epochStartSlot));
+  }
+
+  @Test
+  public void precomputeEpochTransition_shouldSkipWhenHeadIsAlreadyInEpoch() throws Exception {
+    chainUtil.createAndImportBlockAtSlot(Constants.SLOTS_PER_EPOCH);
+    final BeaconState headState = recentChainData.getBestBlockAndState().orElseThrow().getState();
+    final UnsignedLong epochStartSlot = UnsignedLong.valueOf(Constants.SLOTS_PER_EPOCH);
+
+    preprocessor.precomputeEpochTransition(epochStartSlot);
+
+    final UnsignedLong nextEpochSlot = epochStartSlot.times(UnsignedLong.valueOf(2));
+    assertThat(stateTransition.process_slots(headState, nextEpochSlot))
+        .isNotSameAs(stateTransition.process_slots(headState, nextEpochSlot));
+  }
+
+  private StateTransition createUncachedStateTransition() {
+    return new StateTransition(new PrecomputedStates());
+  }
+}
@@ -23,7 +23,9 @@ import tech.pegasys.artemis.networking.eth2.gossip.AggregateGossipManager;
 import tech.pegasys.artemis.networking.eth2.gossip.AttestationGossipManager;
 import tech.pegasys.artemis.networking.eth2.gossip.AttestationSubnetSubscriptions;
 import tech.pegasys.artemis.networking.eth2.gossip.BlockGossipManager;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.AttestationValidator;
+import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.BatchSignatureVerificationService;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.BlockValidator;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.SignedAggregateAndProofValidator;
 import tech.pegasys.artemis.networking.eth2.peers.Eth2Peer;
@@ -43,22 +45,29 @@ public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements
   private final Eth2PeerManager peerManager;
   private final EventBus eventBus;
   private final RecentChainData recentChainData;
+  private final StateTransition stateTransition;
+  private final GossipEncoding gossipEncoding;
   private final AtomicReference<State> state = new AtomicReference<>(State.IDLE);
 
   private BlockGossipManager blockGossipManager;
   private AttestationGossipManager attestationGossipManager;
   private AggregateGossipManager aggregateGossipManager;
+  private BatchSignatureVerificationService signatureVerificationService;
 
   public ActiveEth2Network(
       final DiscoveryNetwork<?> discoveryNetwork,
       final Eth2PeerManager peerManager,
       final EventBus eventBus,
-      final RecentChainData recentChainData) {
+      final RecentChainData recentChainData,
+      final StateTransition stateTransition,
+      final GossipEncoding gossipEncoding) {
     super(discoveryNetwork);
     this.discoveryNetwork = discoveryNetwork;
     this.peerManager = peerManager;
     this.eventBus = eventBus;
     this.recentChainData = recentChainData;
+    this.stateTransition = stateTransition;
+    this.gossipEncoding = gossipEncoding;
   }
 
   @Override
@@ -76,20 +85,26 @@ public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements
 
   private void startup() {
     state.set(State.RUNNING);
-    BlockValidator blockValidator = new BlockValidator(recentChainData, new StateTransition());
-    AttestationValidator attestationValidator = new AttestationValidator(recentChainData);
+    signatureVerificationService = BatchSignatureVerificationService.create();
+    signatureVerificationService.start();
+    BlockValidator blockValidator = new BlockValidator(recentChainData, stateTransition);
+    AttestationValidator attestationValidator =
+        new AttestationValidator(recentChainData, signatureVerificationService);
     SignedAggregateAndProofValidator aggregateValidator =
-        new SignedAggregateAndProofValidator(attestationValidator, recentChainData);
+        new SignedAggregateAndProofValidator(
+            attestationValidator, recentChainData, signatureVerificationService);
     final ForkInfo forkInfo = recentChainData.getCurrentForkInfo().orElseThrow();
     AttestationSubnetSubscriptions attestationSubnetSubscriptions =
         new AttestationSubnetSubscriptions(
-            discoveryNetwork, recentChainData, attestationValidator, eventBus);
+            discoveryNetwork, gossipEncoding, recentChainData, attestationValidator, eventBus);
     blockGossipManager =
-        new BlockGossipManager(discoveryNetwork, eventBus, blockValidator, forkInfo);
+        new BlockGossipManager(
+            discoveryNetwork, gossipEncoding, eventBus, blockValidator, forkInfo);
     attestationGossipManager =
-        new AttestationGossipManager(eventBus, attestationSubnetSubscriptions);
+        new AttestationGossipManager(gossipEncoding, eventBus, attestationSubnetSubscriptions);
     aggregateGossipManager =
-        new AggregateGossipManager(discoveryNetwork, eventBus, aggregateValidator, forkInfo);
+        new AggregateGossipManager(
+            discoveryNetwork, gossipEncoding, eventBus, aggregateValidator, forkInfo);
   }
 
   @Override
@@ -100,6 +115,7 @@ public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements
     blockGossipManager.shutdown();
     attestationGossipManager.shutdown();
     aggregateGossipManager.shutdown();
+    signatureVerificationService.stop();
     super.stop();
   }
 
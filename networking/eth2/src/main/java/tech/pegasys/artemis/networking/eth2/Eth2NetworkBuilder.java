@@ -21,9 +21,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import tech.pegasys.artemis.core.StateTransition;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.peers.Eth2PeerManager;
 import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.RpcEncoding;
 import tech.pegasys.artemis.networking.p2p.DiscoveryNetwork;
+import tech.pegasys.artemis.networking.p2p.connection.PeerScorer;
 import tech.pegasys.artemis.networking.p2p.connection.ReputationManager;
 import tech.pegasys.artemis.networking.p2p.libp2p.LibP2PNetwork;
 import tech.pegasys.artemis.networking.p2p.network.NetworkConfig;
@@ -40,6 +43,7 @@ public class Eth2NetworkBuilder {
   private Eth2Config eth2Config;
   private EventBus eventBus;
   private RecentChainData recentChainData;
+  private StateTransition stateTransition;
   private StorageQueryChannel historicalChainData;
   private MetricsSystem metricsSystem;
   private List<RpcMethod> rpcMethods = new ArrayList<>();
@@ -58,24 +62,29 @@ public class Eth2NetworkBuilder {
     // Setup eth2 handlers
     final RpcEncoding rpcEncoding =
         eth2Config.isSnappyCompressionEnabled() ? RpcEncoding.SSZ_SNAPPY : RpcEncoding.SSZ;
+    final GossipEncoding gossipEncoding =
+        eth2Config.isSnappyCompressionEnabled() ? GossipEncoding.SSZ_SNAPPY : GossipEncoding.SSZ;
     final Eth2PeerManager eth2PeerManager =
-        Eth2PeerManager.create(recentChainData, historicalChainData, metricsSystem, rpcEncoding);
+        Eth2PeerManager.create(
+            recentChainData, historicalChainData, metricsSystem, rpcEncoding, timeProvider);
     final Collection<RpcMethod> eth2RpcMethods = eth2PeerManager.getBeaconChainMethods().all();
     rpcMethods.addAll(eth2RpcMethods);
     peerHandlers.add(eth2PeerManager);
 
     // Build core network and inject eth2 handlers
-    final DiscoveryNetwork<?> network = buildNetwork();
+    final DiscoveryNetwork<?> network = buildNetwork(eth2PeerManager);
 
-    return new ActiveEth2Network(network, eth2PeerManager, eventBus, recentChainData);
+    return new ActiveEth2Network(
+        network, eth2PeerManager, eventBus, recentChainData, stateTransition, gossipEncoding);
   }
 
-  protected DiscoveryNetwork<?> buildNetwork() {
+  protected DiscoveryNetwork<?> buildNetwork(final PeerScorer peerScorer) {
     final ReputationManager reputationManager =
         new ReputationManager(timeProvider, Constants.REPUTATION_MANAGER_CAPACITY);
     return DiscoveryNetwork.create(
         new LibP2PNetwork(config, reputationManager, metricsSystem, rpcMethods, peerHandlers),
         reputationManager,
+        peerScorer,
         config);
   }
 
@@ -85,6 +94,7 @@ public class Eth2NetworkBuilder {
     assertNotNull("eventBus", eventBus);
     assertNotNull("metricsSystem", metricsSystem);
     assertNotNull("chainStorageClient", recentChainData);
+    assertNotNull("stateTransition", stateTransition);
     assertNotNull("timeProvider", timeProvider);
   }
 
@@ -122,6 +132,12 @@ public class Eth2NetworkBuilder {
     return this;
   }
 
+  public Eth2NetworkBuilder stateTransition(final StateTransition stateTransition) {
+    checkNotNull(stateTransition);
+    this.stateTransition = stateTransition;
+    return this;
+  }
+
   public Eth2NetworkBuilder metricsSystem(final MetricsSystem metricsSystem) {
     checkNotNull(metricsSystem);
     this.metricsSystem = metricsSystem;
@@ -13,11 +13,14 @@
 
 package tech.pegasys.artemis.networking.eth2.compression;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.artemis.networking.eth2.compression.exceptions.CompressionException;
+import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadLargerThanExpectedException;
+import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadSmallerThanExpectedException;
+import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.ByteBufDecoder;
 
 public interface Compressor {
 
@@ -38,24 +41,33 @@ public interface Compressor {
    */
   default Bytes uncompress(final Bytes data, final int uncompressedPayloadSize)
       throws CompressionException {
-    try (final InputStream byteStream = new ByteArrayInputStream(data.toArrayUnsafe())) {
-      // Read everything
-      return uncompress(byteStream, uncompressedPayloadSize);
-    } catch (IOException e) {
-      throw new RuntimeException(
-          "Unexpected error encountered while preparing to uncompress bytes", e);
+    final ByteBuf input = Unpooled.wrappedBuffer(data.toArrayUnsafe());
+    final ByteBufDecoder<Bytes, CompressionException> decoder =
+        createDecoder(uncompressedPayloadSize);
+    final Optional<Bytes> uncompressed = decoder.decodeOneMessage(input);
+    decoder.complete();
+    if (uncompressed.isEmpty()) {
+      throw new PayloadSmallerThanExpectedException(
+          "Expected " + uncompressedPayloadSize + " bytes but compressed data was truncated");
     }
+    if (input.isReadable()) {
+      throw new PayloadLargerThanExpectedException(
+          String.format(
+              "Expected %d bytes, but %d extra compressed bytes are appended",
+              uncompressedPayloadSize, input.readableBytes()));
+    }
+    return uncompressed.get();
   }
 
   /**
-   * Uncompress a value expected to be {@code uncompressedPayloadSize} bytes.
+   * Creates a decoder which uncompresses a single value expected to be {@code
+   * uncompressedPayloadSize} bytes as its compressed bytes arrive. The decoder consumes no bytes
+   * beyond the end of the compressed value.
    *
-   * @param input The underlying {@link InputStream} to read from.
    * @param uncompressedPayloadSize The expected size of the uncompressed payload
-   * @return The uncompressed bytes read from the underlying inputStream {@code input} stream.
+   * @return A single-use decoder producing the uncompressed bytes
    */
-  Bytes uncompress(final InputStream input, final int uncompressedPayloadSize)
-      throws CompressionException;
+  ByteBufDecoder<Bytes, CompressionException> createDecoder(final int uncompressedPayloadSize);
 
   /**
    * Returns a maximum estimate of the size of a compressed payload given the uncompressed payload
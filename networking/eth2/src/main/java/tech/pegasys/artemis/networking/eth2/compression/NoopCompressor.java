@@ -13,10 +13,13 @@
 
 package tech.pegasys.artemis.networking.eth2.compression;
 
-import java.io.IOException;
-import java.io.InputStream;
+import io.netty.buffer.ByteBuf;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.artemis.networking.eth2.compression.exceptions.CompressionException;
+import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadSmallerThanExpectedException;
+import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.AbstractByteBufDecoder;
+import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.ByteBufDecoder;
 
 public class NoopCompressor implements Compressor {
 
@@ -31,17 +34,39 @@ public class NoopCompressor implements Compressor {
   }
 
   @Override
-  public Bytes uncompress(final InputStream input, final int uncompressedPayloadSize)
-      throws CompressionException {
-    try {
-      return Bytes.wrap(input.readNBytes(uncompressedPayloadSize));
-    } catch (IOException e) {
-      throw new CompressionException("Unable to uncompress data", e);
-    }
+  public ByteBufDecoder<Bytes, CompressionException> createDecoder(
+      final int uncompressedPayloadSize) {
+    return new NoopPayloadDecoder(uncompressedPayloadSize);
   }
 
   @Override
   public int getMaxCompressedLength(final int uncompressedLength) {
     return uncompressedLength;
   }
+
+  private static class NoopPayloadDecoder
+      extends AbstractByteBufDecoder<Bytes, CompressionException> {
+    private final byte[] payload;
+    private int bytesRead = 0;
+
+    private NoopPayloadDecoder(final int payloadSize) {
+      this.payload = new byte[payloadSize];
+    }
+
+    @Override
+    protected Optional<Bytes> decodeOneImpl(final ByteBuf in) {
+      final int bytesToRead = Math.min(in.readableBytes(), payload.length - bytesRead);
+      in.readBytes(payload, bytesRead, bytesToRead);
+      bytesRead += bytesToRead;
+      return bytesRead == payload.length ? Optional.of(Bytes.wrap(payload)) : Optional.empty();
+    }
+
+    @Override
+    protected void throwIfIncomplete() throws CompressionException {
+      if (bytesRead < payload.length) {
+        throw new PayloadSmallerThanExpectedException(
+            String.format("Expected %d bytes but only received %d", payload.length, bytesRead));
+      }
+    }
+  }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.compression;
+
+/**
+ * Per-thread scratch space for compression, so that encoding or decoding a message doesn't require
+ * allocating a new working buffer each time.
+ *
+ * <p>Callers must not hold on to a buffer beyond the current operation, as the next operation on
+ * the same thread will reuse it.
+ */
+final class ScratchBuffers {
+  // Don't keep unusually large buffers around indefinitely
+  private static final int MAX_RETAINED_SIZE = 4 * 1024 * 1024;
+  private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[0]);
+
+  private ScratchBuffers() {}
+
+  static byte[] get(final int minimumSize) {
+    final byte[] buffer = BUFFER.get();
+    if (buffer.length >= minimumSize) {
+      return buffer;
+    }
+    final byte[] newBuffer = new byte[minimumSize];
+    if (minimumSize <= MAX_RETAINED_SIZE) {
+      BUFFER.set(newBuffer);
+    }
+    return newBuffer;
+  }
+}
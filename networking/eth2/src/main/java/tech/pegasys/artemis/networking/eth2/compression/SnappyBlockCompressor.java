@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.tuweni.bytes.Bytes;
+import org.xerial.snappy.Snappy;
+import tech.pegasys.artemis.networking.eth2.compression.exceptions.CompressionException;
+import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadLargerThanExpectedException;
+
+/**
+ * Compresses whole payloads using the snappy block format, without framing, as used for gossip
+ * messages.
+ *
+ * <p>See: https://github.com/google/snappy/blob/master/format_description.txt
+ */
+public class SnappyBlockCompressor {
+
+  /**
+   * Returns the compressed data
+   *
+   * @param data The data to compress
+   * @return The compressed data
+   */
+  public Bytes compress(final Bytes data) {
+    final byte[] input = data.toArrayUnsafe();
+    final byte[] output = ScratchBuffers.get(Snappy.maxCompressedLength(input.length));
+    try {
+      final int compressedLength = Snappy.compress(input, 0, input.length, output, 0);
+      return Bytes.wrap(Arrays.copyOf(output, compressedLength));
+    } catch (final IOException e) {
+      throw new RuntimeException("Failed to compress data", e);
+    }
+  }
+
+  /**
+   * Returns the uncompressed data. The uncompressed length declared by the compressed data is
+   * checked before any data is uncompressed.
+   *
+   * @param data The data to uncompress
+   * @param maxUncompressedSize The maximum permitted size of the uncompressed data
+   * @return The uncompressed data
+   * @throws CompressionException If the data is invalid or its uncompressed size exceeds {@code
+   *     maxUncompressedSize}
+   */
+  public Bytes uncompress(final Bytes data, final int maxUncompressedSize)
+      throws CompressionException {
+    final byte[] input = data.toArrayUnsafe();
+    try {
+      final int uncompressedLength = Snappy.uncompressedLength(input, 0, input.length);
+      if (uncompressedLength > maxUncompressedSize) {
+        throw new PayloadLargerThanExpectedException(
+            String.format(
+                "Uncompressed length %d exceeds the maximum of %d bytes",
+                uncompressedLength, maxUncompressedSize));
+      }
+      final byte[] output = new byte[uncompressedLength];
+      final int actualLength = Snappy.uncompress(input, 0, input.length, output, 0);
+      if (actualLength != uncompressedLength) {
+        throw new CompressionException(
+            String.format(
+                "Expected %d uncompressed bytes but got %d", uncompressedLength, actualLength));
+      }
+      return Bytes.wrap(output);
+    } catch (final IOException e) {
+      throw new CompressionException("Unable to uncompress data", e);
+    }
+  }
+}
@@ -13,69 +13,106 @@
 
 package tech.pegasys.artemis.networking.eth2.compression;
 
-import com.google.common.io.ByteStreams;
-import java.io.ByteArrayOutputStream;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.CHECKSUM_SIZE;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.CHUNK_TYPE_COMPRESSED_DATA;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.CHUNK_TYPE_STREAM_IDENTIFIER;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.CHUNK_TYPE_UNCOMPRESSED_DATA;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.FRAME_HEADER_SIZE;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.MAX_FRAME_CONTENT_SIZE;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.STREAM_IDENTIFIER;
+
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.util.Arrays;
 import org.apache.tuweni.bytes.Bytes;
-import org.xerial.snappy.SnappyFramedInputStream;
-import org.xerial.snappy.SnappyFramedOutputStream;
+import org.xerial.snappy.Snappy;
 import tech.pegasys.artemis.networking.eth2.compression.exceptions.CompressionException;
-import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadLargerThanExpectedException;
-import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadSmallerThanExpectedException;
-import tech.pegasys.artemis.util.iostreams.DelegatingInputStream;
+import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.ByteBufDecoder;
 
+/**
+ * Compresses payloads using the snappy framing format.
+ *
+ * <p>Frames are written directly into a reusable per-thread buffer, so compressing a payload only
+ * allocates the returned bytes.
+ */
 public class SnappyCompressor implements Compressor {
-  // The max uncompressed bytes that will be packed into a single frame
-  // See:
-  // https://github.com/google/snappy/blob/251d935d5096da77c4fef26ea41b019430da5572/framing_format.txt#L104-L106
-  static final int MAX_FRAME_CONTENT_SIZE = 65536;
+  // Matches the threshold used by SnappyFramedOutputStream: chunks whose compressed size is more
+  // than 85% of their original size are stored uncompressed instead
+  private static final int MIN_COMPRESSION_PERCENT = 85;
 
   @Override
   public Bytes compress(final Bytes data) {
+    final byte[] input = data.toArrayUnsafe();
+    final int frameCount = (input.length + MAX_FRAME_CONTENT_SIZE - 1) / MAX_FRAME_CONTENT_SIZE;
+    final int maxFrameSize =
+        FRAME_HEADER_SIZE + CHECKSUM_SIZE + Snappy.maxCompressedLength(MAX_FRAME_CONTENT_SIZE);
+    final int streamIdentifierFrameSize = FRAME_HEADER_SIZE + STREAM_IDENTIFIER.length;
+    final byte[] output = ScratchBuffers.get(streamIdentifierFrameSize + frameCount * maxFrameSize);
 
-    try (final ByteArrayOutputStream out = new ByteArrayOutputStream(data.size() / 2);
-        final OutputStream compressor = new SnappyFramedOutputStream(out)) {
-      compressor.write(data.toArrayUnsafe());
-      compressor.flush();
-      return Bytes.wrap(out.toByteArray());
-    } catch (IOException e) {
+    int outputIndex =
+        writeFrameHeader(output, 0, CHUNK_TYPE_STREAM_IDENTIFIER, STREAM_IDENTIFIER.length);
+    System.arraycopy(STREAM_IDENTIFIER, 0, output, outputIndex, STREAM_IDENTIFIER.length);
+    outputIndex += STREAM_IDENTIFIER.length;
+
+    try {
+      for (int inputIndex = 0; inputIndex < input.length; inputIndex += MAX_FRAME_CONTENT_SIZE) {
+        final int length = Math.min(MAX_FRAME_CONTENT_SIZE, input.length - inputIndex);
+        outputIndex = writeDataFrame(input, inputIndex, length, output, outputIndex);
+      }
+    } catch (final IOException e) {
       throw new RuntimeException("Failed to compress data", e);
     }
+    return Bytes.wrap(Arrays.copyOf(output, outputIndex));
   }
 
-  @Override
-  public Bytes uncompress(final InputStream input, final int uncompressedPayloadSize)
-      throws CompressionException {
-    // This is a bit of a hack - but we don't want to close the underlying stream when
-    // we close the SnappyFramedInputStream
-    final UncloseableInputStream unclosableStream = new UncloseableInputStream(input);
-    // Limit the max number of bytes we're allowed to read
-    final InputStream limitedStream =
-        ByteStreams.limit(unclosableStream, getMaxCompressedLength(uncompressedPayloadSize));
+  private int writeDataFrame(
+      final byte[] input,
+      final int inputIndex,
+      final int length,
+      final byte[] output,
+      final int frameIndex)
+      throws IOException {
+    final int checksum = SnappyFrameFormat.calculateMaskedChecksum(input, inputIndex, length);
+    final int dataIndex = frameIndex + FRAME_HEADER_SIZE + CHECKSUM_SIZE;
+    final int compressedLength = Snappy.compress(input, inputIndex, length, output, dataIndex);
 
-    try (final InputStream snappyIn = new SnappyFramedInputStream(limitedStream)) {
-      final Bytes uncompressed = Bytes.wrap(snappyIn.readNBytes(uncompressedPayloadSize));
+    final int chunkType;
+    final int dataLength;
+    if (compressedLength * 100 <= length * MIN_COMPRESSION_PERCENT) {
+      chunkType = CHUNK_TYPE_COMPRESSED_DATA;
+      dataLength = compressedLength;
+    } else {
+      // Overwrite the compressed data with the original bytes
+      System.arraycopy(input, inputIndex, output, dataIndex, length);
+      chunkType = CHUNK_TYPE_UNCOMPRESSED_DATA;
+      dataLength = length;
+    }
+    final int checksumIndex =
+        writeFrameHeader(output, frameIndex, chunkType, CHECKSUM_SIZE + dataLength);
+    writeIntLE(output, checksumIndex, checksum);
+    return dataIndex + dataLength;
+  }
 
-      // Validate payload is of expected size
-      if (uncompressed.size() < uncompressedPayloadSize) {
-        throw new PayloadSmallerThanExpectedException(
-            String.format(
-                "Expected %d bytes but only uncompressed %d bytes",
-                uncompressedPayloadSize, uncompressed.size()));
-      }
-      if (snappyIn.available() > 0) {
-        throw new PayloadLargerThanExpectedException(
-            String.format(
-                "Expected %d bytes, but at least %d extra bytes are appended",
-                uncompressedPayloadSize, snappyIn.available()));
-      }
+  private int writeFrameHeader(
+      final byte[] output, final int index, final int chunkType, final int chunkLength) {
+    output[index] = (byte) chunkType;
+    output[index + 1] = (byte) chunkLength;
+    output[index + 2] = (byte) (chunkLength >>> 8);
+    output[index + 3] = (byte) (chunkLength >>> 16);
+    return index + FRAME_HEADER_SIZE;
+  }
 
-      return uncompressed;
-    } catch (IOException e) {
-      throw new CompressionException("Unable to uncompress data", e);
-    }
+  private void writeIntLE(final byte[] output, final int index, final int value) {
+    output[index] = (byte) value;
+    output[index + 1] = (byte) (value >>> 8);
+    output[index + 2] = (byte) (value >>> 16);
+    output[index + 3] = (byte) (value >>> 24);
+  }
+
+  @Override
+  public ByteBufDecoder<Bytes, CompressionException> createDecoder(
+      final int uncompressedPayloadSize) {
+    return new SnappyFramedPayloadDecoder(
+        uncompressedPayloadSize, getMaxCompressedLength(uncompressedPayloadSize));
   }
 
   @Override
@@ -85,16 +122,4 @@ public class SnappyCompressor implements Compressor {
     // https://github.com/google/snappy/blob/537f4ad6240e586970fe554614542e9717df7902/snappy.cc#L98
     return 32 + uncompressedLength + uncompressedLength / 6;
   }
-
-  private static class UncloseableInputStream extends DelegatingInputStream {
-
-    public UncloseableInputStream(final InputStream wrapped) {
-      super(wrapped);
-    }
-
-    @Override
-    public void close() {
-      // Don't close wrapped input stream
-    }
-  }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.compression;
+
+import java.util.zip.CRC32C;
+
+/**
+ * Constants and helpers for the snappy framing format.
+ *
+ * <p>See: https://github.com/google/snappy/blob/master/framing_format.txt
+ */
+final class SnappyFrameFormat {
+  static final int FRAME_HEADER_SIZE = 4;
+  static final int CHECKSUM_SIZE = 4;
+
+  // The max uncompressed bytes that will be packed into a single frame
+  // See:
+  // https://github.com/google/snappy/blob/251d935d5096da77c4fef26ea41b019430da5572/framing_format.txt#L104-L106
+  static final int MAX_FRAME_CONTENT_SIZE = 65536;
+
+  static final int CHUNK_TYPE_COMPRESSED_DATA = 0x00;
+  static final int CHUNK_TYPE_UNCOMPRESSED_DATA = 0x01;
+  static final int MAX_UNSKIPPABLE_CHUNK_TYPE = 0x7f;
+  static final int CHUNK_TYPE_STREAM_IDENTIFIER = 0xff;
+  static final byte[] STREAM_IDENTIFIER = {0x73, 0x4e, 0x61, 0x50, 0x70, 0x59};
+
+  private static final int MASK_DELTA = 0xa282ead8;
+
+  private SnappyFrameFormat() {}
+
+  static int calculateMaskedChecksum(final byte[] data, final int offset, final int length) {
+    final CRC32C crc = new CRC32C();
+    crc.update(data, offset, length);
+    final int checksum = (int) crc.getValue();
+    return ((checksum >>> 15) | (checksum << 17)) + MASK_DELTA;
+  }
+}
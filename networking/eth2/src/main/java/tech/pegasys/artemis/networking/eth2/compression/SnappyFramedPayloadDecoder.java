@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.compression;
+
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.CHECKSUM_SIZE;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.CHUNK_TYPE_COMPRESSED_DATA;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.CHUNK_TYPE_STREAM_IDENTIFIER;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.CHUNK_TYPE_UNCOMPRESSED_DATA;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.FRAME_HEADER_SIZE;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.MAX_UNSKIPPABLE_CHUNK_TYPE;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.STREAM_IDENTIFIER;
+
+import io.netty.buffer.ByteBuf;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes;
+import org.xerial.snappy.Snappy;
+import tech.pegasys.artemis.networking.eth2.compression.exceptions.CompressionException;
+import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadLargerThanExpectedException;
+import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadSmallerThanExpectedException;
+import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.AbstractByteBufDecoder;
+
+/**
+ * Decodes a single value from the snappy framing format one frame at a time, stopping as soon as
+ * the expected number of uncompressed bytes has been produced.
+ *
+ * <p>See: https://github.com/google/snappy/blob/master/framing_format.txt
+ */
+class SnappyFramedPayloadDecoder extends AbstractByteBufDecoder<Bytes, CompressionException> {
+  private final byte[] uncompressed;
+  private final int maxCompressedLength;
+  private int uncompressedBytesWritten = 0;
+  private int compressedBytesRead = 0;
+  private boolean streamIdentifierRead = false;
+
+  SnappyFramedPayloadDecoder(final int uncompressedPayloadSize, final int maxCompressedLength) {
+    this.uncompressed = new byte[uncompressedPayloadSize];
+    this.maxCompressedLength = maxCompressedLength;
+  }
+
+  @Override
+  protected Optional<Bytes> decodeOneImpl(final ByteBuf in) throws CompressionException {
+    // Always consume the stream identifier, even for an empty payload
+    while (!streamIdentifierRead || uncompressedBytesWritten < uncompressed.length) {
+      if (in.readableBytes() < FRAME_HEADER_SIZE) {
+        return Optional.empty();
+      }
+      final int chunkType = in.getUnsignedByte(in.readerIndex());
+      final int chunkLength = in.getUnsignedMediumLE(in.readerIndex() + 1);
+      final int frameSize = FRAME_HEADER_SIZE + chunkLength;
+      // Reject oversized data based on the frame header rather than buffering the frame
+      if (compressedBytesRead + frameSize > maxCompressedLength) {
+        throw new CompressionException(
+            String.format(
+                "Compressed data exceeds the maximum of %d bytes for a %d byte payload",
+                maxCompressedLength, uncompressed.length));
+      }
+      if (in.readableBytes() < frameSize) {
+        return Optional.empty();
+      }
+      in.skipBytes(FRAME_HEADER_SIZE);
+      compressedBytesRead += frameSize;
+      processChunk(chunkType, in.readSlice(chunkLength));
+    }
+    return Optional.of(Bytes.wrap(uncompressed));
+  }
+
+  private void processChunk(final int chunkType, final ByteBuf chunk) throws CompressionException {
+    if (chunkType == CHUNK_TYPE_STREAM_IDENTIFIER) {
+      final byte[] identifier = new byte[chunk.readableBytes()];
+      chunk.readBytes(identifier);
+      if (!Arrays.equals(identifier, STREAM_IDENTIFIER)) {
+        throw new CompressionException("Invalid snappy stream identifier");
+      }
+      streamIdentifierRead = true;
+      return;
+    }
+    if (!streamIdentifierRead) {
+      throw new CompressionException("Snappy stream identifier missing");
+    }
+    if (chunkType == CHUNK_TYPE_COMPRESSED_DATA || chunkType == CHUNK_TYPE_UNCOMPRESSED_DATA) {
+      if (chunk.readableBytes() < CHECKSUM_SIZE) {
+        throw new CompressionException("Snappy data chunk is too short to contain a checksum");
+      }
+      final int expectedChecksum = chunk.readIntLE();
+      final int offset = uncompressedBytesWritten;
+      if (chunkType == CHUNK_TYPE_COMPRESSED_DATA) {
+        uncompressChunk(chunk);
+      } else {
+        copyChunk(chunk);
+      }
+      verifyChecksum(expectedChecksum, offset, uncompressedBytesWritten - offset);
+    } else if (chunkType <= MAX_UNSKIPPABLE_CHUNK_TYPE) {
+      throw new CompressionException("Unsupported snappy chunk type: " + chunkType);
+    }
+    // Otherwise this is padding or a reserved skippable chunk which we ignore
+  }
+
+  private void uncompressChunk(final ByteBuf chunk) throws CompressionException {
+    final int compressedLength = chunk.readableBytes();
+    // Copy into reusable scratch space rather than allocating a new array per frame
+    final byte[] compressed = ScratchBuffers.get(compressedLength);
+    chunk.readBytes(compressed, 0, compressedLength);
+    try {
+      final int length = Snappy.uncompressedLength(compressed, 0, compressedLength);
+      checkCapacity(length);
+      Snappy.uncompress(compressed, 0, compressedLength, uncompressed, uncompressedBytesWritten);
+      uncompressedBytesWritten += length;
+    } catch (final IOException e) {
+      throw new CompressionException("Unable to uncompress data", e);
+    }
+  }
+
+  private void copyChunk(final ByteBuf chunk) throws PayloadLargerThanExpectedException {
+    final int length = chunk.readableBytes();
+    checkCapacity(length);
+    chunk.readBytes(uncompressed, uncompressedBytesWritten, length);
+    uncompressedBytesWritten += length;
+  }
+
+  private void checkCapacity(final int chunkUncompressedLength)
+      throws PayloadLargerThanExpectedException {
+    final int remaining = uncompressed.length - uncompressedBytesWritten;
+    if (chunkUncompressedLength > remaining) {
+      throw new PayloadLargerThanExpectedException(
+          String.format(
+              "Expected %d bytes, but at least %d extra bytes are appended",
+              uncompressed.length, chunkUncompressedLength - remaining));
+    }
+  }
+
+  private void verifyChecksum(final int expectedChecksum, final int offset, final int length)
+      throws CompressionException {
+    final int checksum = SnappyFrameFormat.calculateMaskedChecksum(uncompressed, offset, length);
+    if (checksum != expectedChecksum) {
+      throw new CompressionException("Snappy chunk checksum mismatch");
+    }
+  }
+
+  @Override
+  protected void throwIfIncomplete() throws CompressionException {
+    if (uncompressedBytesWritten < uncompressed.length) {
+      throw new PayloadSmallerThanExpectedException(
+          String.format(
+              "Expected %d bytes but only uncompressed %d bytes",
+              uncompressed.length, uncompressedBytesWritten));
+    }
+  }
+}
@@ -19,24 +19,27 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.artemis.datastructures.operations.SignedAggregateAndProof;
 import tech.pegasys.artemis.datastructures.state.ForkInfo;
-import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.AggregateTopicHandler;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.SignedAggregateAndProofValidator;
 import tech.pegasys.artemis.networking.p2p.gossip.GossipNetwork;
 import tech.pegasys.artemis.networking.p2p.gossip.TopicChannel;
 
 public class AggregateGossipManager {
+  private final GossipEncoding gossipEncoding;
   private final EventBus eventBus;
   private final TopicChannel channel;
   private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
   public AggregateGossipManager(
       final GossipNetwork gossipNetwork,
+      final GossipEncoding gossipEncoding,
       final EventBus eventBus,
       final SignedAggregateAndProofValidator validator,
       final ForkInfo forkInfo) {
     final AggregateTopicHandler aggregateTopicHandler =
-        new AggregateTopicHandler(eventBus, forkInfo, validator);
+        new AggregateTopicHandler(eventBus, gossipEncoding, forkInfo, validator);
+    this.gossipEncoding = gossipEncoding;
     this.eventBus = eventBus;
     channel = gossipNetwork.subscribe(aggregateTopicHandler.getTopic(), aggregateTopicHandler);
     eventBus.register(this);
@@ -44,7 +47,7 @@ public class AggregateGossipManager {
 
   @Subscribe
   public void onNewAggregate(final SignedAggregateAndProof aggregateAndProof) {
-    final Bytes data = SimpleOffsetSerializer.serialize(aggregateAndProof);
+    final Bytes data = gossipEncoding.encode(aggregateAndProof);
     channel.gossip(data);
   }
 
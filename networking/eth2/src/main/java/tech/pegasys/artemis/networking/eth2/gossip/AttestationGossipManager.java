@@ -20,18 +20,21 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import tech.pegasys.artemis.datastructures.operations.Attestation;
-import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 
 public class AttestationGossipManager {
   private static final Logger LOG = LogManager.getLogger();
 
+  private final GossipEncoding gossipEncoding;
   private final EventBus eventBus;
   private final AttestationSubnetSubscriptions subnetSubscriptions;
   private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
   public AttestationGossipManager(
+      final GossipEncoding gossipEncoding,
       final EventBus eventBus,
       final AttestationSubnetSubscriptions attestationSubnetSubscriptions) {
+    this.gossipEncoding = gossipEncoding;
     subnetSubscriptions = attestationSubnetSubscriptions;
     this.eventBus = eventBus;
     eventBus.register(this);
@@ -43,7 +46,7 @@ public class AttestationGossipManager {
     subnetSubscriptions
         .getChannel(committeeIndex)
         .ifPresentOrElse(
-            channel -> channel.gossip(SimpleOffsetSerializer.serialize(attestation)),
+            channel -> channel.gossip(gossipEncoding.encode(attestation)),
             () ->
                 LOG.trace(
                     "Ignoring attestation for committee {}, which does not correspond to any currently assigned committee.",
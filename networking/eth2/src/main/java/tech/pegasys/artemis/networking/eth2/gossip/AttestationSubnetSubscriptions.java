@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.AttestationTopicHandler;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.AttestationValidator;
 import tech.pegasys.artemis.networking.p2p.gossip.GossipNetwork;
@@ -31,6 +32,7 @@ import tech.pegasys.artemis.storage.client.RecentChainData;
 
 public class AttestationSubnetSubscriptions implements AutoCloseable {
   private final GossipNetwork gossipNetwork;
+  private final GossipEncoding gossipEncoding;
   private final RecentChainData recentChainData;
   private final AttestationValidator attestationValidator;
   private final EventBus eventBus;
@@ -40,10 +42,12 @@ public class AttestationSubnetSubscriptions implements AutoCloseable {
 
   public AttestationSubnetSubscriptions(
       final GossipNetwork gossipNetwork,
+      final GossipEncoding gossipEncoding,
       final RecentChainData recentChainData,
       final AttestationValidator attestationValidator,
       final EventBus eventBus) {
     this.gossipNetwork = gossipNetwork;
+    this.gossipEncoding = gossipEncoding;
     this.recentChainData = recentChainData;
     this.attestationValidator = attestationValidator;
     this.eventBus = eventBus;
@@ -82,6 +86,7 @@ public class AttestationSubnetSubscriptions implements AutoCloseable {
     final AttestationTopicHandler topicHandler =
         new AttestationTopicHandler(
             eventBus,
+            gossipEncoding,
             attestationValidator,
             subnetId,
             recentChainData.getCurrentForkInfo().orElseThrow());
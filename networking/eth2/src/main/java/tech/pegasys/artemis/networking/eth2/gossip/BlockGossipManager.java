@@ -18,7 +18,7 @@ import com.google.common.eventbus.Subscribe;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.artemis.datastructures.state.ForkInfo;
-import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.BlockTopicHandler;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.BlockValidator;
 import tech.pegasys.artemis.networking.p2p.gossip.GossipNetwork;
@@ -26,17 +26,20 @@ import tech.pegasys.artemis.networking.p2p.gossip.TopicChannel;
 import tech.pegasys.artemis.statetransition.events.block.ProposedBlockEvent;
 
 public class BlockGossipManager {
+  private final GossipEncoding gossipEncoding;
   private final EventBus eventBus;
   private final TopicChannel channel;
   private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
   public BlockGossipManager(
       final GossipNetwork gossipNetwork,
+      final GossipEncoding gossipEncoding,
       final EventBus eventBus,
       final BlockValidator blockValidator,
       final ForkInfo forkInfo) {
     final BlockTopicHandler topicHandler =
-        new BlockTopicHandler(eventBus, blockValidator, forkInfo);
+        new BlockTopicHandler(eventBus, gossipEncoding, blockValidator, forkInfo);
+    this.gossipEncoding = gossipEncoding;
     this.eventBus = eventBus;
     channel = gossipNetwork.subscribe(topicHandler.getTopic(), topicHandler);
     eventBus.register(this);
@@ -45,7 +48,7 @@ public class BlockGossipManager {
   @Subscribe
   @SuppressWarnings("unused")
   void onBlockProposed(final ProposedBlockEvent blockProposedEvent) {
-    final Bytes data = SimpleOffsetSerializer.serialize(blockProposedEvent.getBlock());
+    final Bytes data = gossipEncoding.encode(blockProposedEvent.getBlock());
     channel.gossip(data);
   }
 
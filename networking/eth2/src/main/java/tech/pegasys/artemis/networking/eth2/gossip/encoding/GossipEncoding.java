@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.gossip.encoding;
+
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.artemis.ssz.sos.SimpleOffsetSerializable;
+
+public interface GossipEncoding {
+  GossipEncoding SSZ = new SszGossipEncoding();
+
+  GossipEncoding SSZ_SNAPPY = new SszSnappyGossipEncoding();
+
+  /**
+   * Returns the name of the encoding, which forms the final part of the gossip topic name
+   *
+   * @return The name of the encoding
+   */
+  String getName();
+
+  /**
+   * Encodes a value to be gossiped
+   *
+   * @param value The value to encode
+   * @return The encoded message data
+   */
+  Bytes encode(SimpleOffsetSerializable value);
+
+  /**
+   * Decodes a value from received gossip message data
+   *
+   * @param data The message data
+   * @param valueType The type of value to decode
+   * @param <T> The type of value to decode
+   * @return The decoded value
+   * @throws DecodingException If the data is not a valid encoding of the value type
+   */
+  <T> T decode(Bytes data, Class<T> valueType) throws DecodingException;
+}
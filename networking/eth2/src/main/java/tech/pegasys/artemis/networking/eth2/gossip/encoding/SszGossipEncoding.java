@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.gossip.encoding;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.ssz.SSZException;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.ssz.sos.SimpleOffsetSerializable;
+
+/** Gossips values as plain SSZ. */
+public class SszGossipEncoding implements GossipEncoding {
+
+  SszGossipEncoding() {}
+
+  @Override
+  public String getName() {
+    return "ssz";
+  }
+
+  @Override
+  public Bytes encode(final SimpleOffsetSerializable value) {
+    return SimpleOffsetSerializer.serialize(value);
+  }
+
+  @Override
+  public <T> T decode(final Bytes data, final Class<T> valueType) throws DecodingException {
+    final T value;
+    try {
+      value = SimpleOffsetSerializer.deserialize(data, valueType);
+    } catch (final SSZException e) {
+      throw new DecodingException("Failed to deserialize " + valueType.getSimpleName(), e);
+    }
+    if (value == null) {
+      throw new DecodingException("Unable to deserialize " + valueType.getSimpleName());
+    }
+    return value;
+  }
+}
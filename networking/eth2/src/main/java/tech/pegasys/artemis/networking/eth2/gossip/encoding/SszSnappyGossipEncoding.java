@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.gossip.encoding;
+
+import static tech.pegasys.artemis.util.config.Constants.GOSSIP_MAX_SIZE;
+
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.artemis.networking.eth2.compression.SnappyBlockCompressor;
+import tech.pegasys.artemis.networking.eth2.compression.exceptions.CompressionException;
+import tech.pegasys.artemis.ssz.sos.SimpleOffsetSerializable;
+
+/**
+ * Gossips values as SSZ compressed with the snappy block format. Values are compressed once when
+ * published and uncompressed once when received.
+ */
+public class SszSnappyGossipEncoding implements GossipEncoding {
+  private final SszGossipEncoding sszEncoding = new SszGossipEncoding();
+  private final SnappyBlockCompressor compressor = new SnappyBlockCompressor();
+
+  SszSnappyGossipEncoding() {}
+
+  @Override
+  public String getName() {
+    return "ssz_snappy";
+  }
+
+  @Override
+  public Bytes encode(final SimpleOffsetSerializable value) {
+    return compressor.compress(sszEncoding.encode(value));
+  }
+
+  @Override
+  public <T> T decode(final Bytes data, final Class<T> valueType) throws DecodingException {
+    final Bytes uncompressed;
+    try {
+      uncompressed = compressor.uncompress(data, GOSSIP_MAX_SIZE);
+    } catch (final CompressionException e) {
+      throw new DecodingException("Failed to uncompress gossip message", e);
+    }
+    return sszEncoding.decode(uncompressed, valueType);
+  }
+}
@@ -14,13 +14,12 @@
 package tech.pegasys.artemis.networking.eth2.gossip.topics;
 
 import com.google.common.eventbus.EventBus;
-import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.ssz.SSZException;
 import tech.pegasys.artemis.datastructures.operations.SignedAggregateAndProof;
 import tech.pegasys.artemis.datastructures.state.ForkInfo;
-import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.SignedAggregateAndProofValidator;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.ValidationResult;
+import tech.pegasys.artemis.util.async.SafeFuture;
 
 public class AggregateTopicHandler extends Eth2TopicHandler<SignedAggregateAndProof> {
   public static String TOPIC_NAME = "beacon_aggregate_and_proof";
@@ -28,9 +27,10 @@ public class AggregateTopicHandler extends Eth2TopicHandler<SignedAggregateAndPr
 
   public AggregateTopicHandler(
       final EventBus eventBus,
+      final GossipEncoding gossipEncoding,
       final ForkInfo forkInfo,
       final SignedAggregateAndProofValidator validator) {
-    super(eventBus, forkInfo);
+    super(eventBus, gossipEncoding, forkInfo);
     this.validator = validator;
   }
 
@@ -40,12 +40,13 @@ public class AggregateTopicHandler extends Eth2TopicHandler<SignedAggregateAndPr
   }
 
   @Override
-  protected SignedAggregateAndProof deserialize(final Bytes bytes) throws SSZException {
-    return SimpleOffsetSerializer.deserialize(bytes, SignedAggregateAndProof.class);
+  protected Class<SignedAggregateAndProof> getValueType() {
+    return SignedAggregateAndProof.class;
   }
 
   @Override
-  protected ValidationResult validateData(final SignedAggregateAndProof aggregateAndProof) {
+  protected SafeFuture<ValidationResult> validateData(
+      final SignedAggregateAndProof aggregateAndProof) {
     return validator.validate(aggregateAndProof);
   }
 }
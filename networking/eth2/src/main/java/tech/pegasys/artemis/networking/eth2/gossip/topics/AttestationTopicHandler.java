@@ -17,13 +17,12 @@ import static java.lang.StrictMath.toIntExact;
 
 import com.google.common.eventbus.EventBus;
 import com.google.common.primitives.UnsignedLong;
-import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.ssz.SSZException;
 import tech.pegasys.artemis.datastructures.operations.Attestation;
 import tech.pegasys.artemis.datastructures.state.ForkInfo;
-import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.AttestationValidator;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.ValidationResult;
+import tech.pegasys.artemis.util.async.SafeFuture;
 
 public class AttestationTopicHandler extends Eth2TopicHandler<Attestation> {
 
@@ -32,10 +31,11 @@ public class AttestationTopicHandler extends Eth2TopicHandler<Attestation> {
 
   public AttestationTopicHandler(
       final EventBus eventBus,
+      final GossipEncoding gossipEncoding,
       final AttestationValidator attestationValidator,
       final UnsignedLong subnetId,
       final ForkInfo forkInfo) {
-    super(eventBus, forkInfo);
+    super(eventBus, gossipEncoding, forkInfo);
     this.attestationValidator = attestationValidator;
     this.subnetId = subnetId;
   }
@@ -46,12 +46,12 @@ public class AttestationTopicHandler extends Eth2TopicHandler<Attestation> {
   }
 
   @Override
-  protected Attestation deserialize(final Bytes bytes) throws SSZException {
-    return SimpleOffsetSerializer.deserialize(bytes, Attestation.class);
+  protected Class<Attestation> getValueType() {
+    return Attestation.class;
   }
 
   @Override
-  protected ValidationResult validateData(final Attestation attestation) {
+  protected SafeFuture<ValidationResult> validateData(final Attestation attestation) {
     return attestationValidator.validate(attestation, subnetId);
   }
 }
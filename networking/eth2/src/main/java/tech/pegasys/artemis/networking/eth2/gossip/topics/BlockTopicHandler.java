@@ -14,22 +14,24 @@
 package tech.pegasys.artemis.networking.eth2.gossip.topics;
 
 import com.google.common.eventbus.EventBus;
-import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.ssz.SSZException;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.state.ForkInfo;
-import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.events.GossipedBlockEvent;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.BlockValidator;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.ValidationResult;
+import tech.pegasys.artemis.util.async.SafeFuture;
 
 public class BlockTopicHandler extends Eth2TopicHandler<SignedBeaconBlock> {
   public static String TOPIC_NAME = "beacon_block";
   private final BlockValidator blockValidator;
 
   public BlockTopicHandler(
-      final EventBus eventBus, final BlockValidator blockValidator, final ForkInfo forkInfo) {
-    super(eventBus, forkInfo);
+      final EventBus eventBus,
+      final GossipEncoding gossipEncoding,
+      final BlockValidator blockValidator,
+      final ForkInfo forkInfo) {
+    super(eventBus, gossipEncoding, forkInfo);
     this.blockValidator = blockValidator;
   }
 
@@ -44,12 +46,12 @@ public class BlockTopicHandler extends Eth2TopicHandler<SignedBeaconBlock> {
   }
 
   @Override
-  protected SignedBeaconBlock deserialize(final Bytes bytes) throws SSZException {
-    return SimpleOffsetSerializer.deserialize(bytes, SignedBeaconBlock.class);
+  protected Class<SignedBeaconBlock> getValueType() {
+    return SignedBeaconBlock.class;
   }
 
   @Override
-  protected ValidationResult validateData(final SignedBeaconBlock block) {
-    return blockValidator.validate(block);
+  protected SafeFuture<ValidationResult> validateData(final SignedBeaconBlock block) {
+    return SafeFuture.completedFuture(blockValidator.validate(block));
   }
 }
@@ -17,51 +17,68 @@ import com.google.common.eventbus.EventBus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.ssz.SSZException;
 import tech.pegasys.artemis.datastructures.state.ForkInfo;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.DecodingException;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.ValidationResult;
 import tech.pegasys.artemis.networking.p2p.gossip.TopicHandler;
 import tech.pegasys.artemis.ssz.SSZTypes.Bytes4;
 import tech.pegasys.artemis.ssz.sos.SimpleOffsetSerializable;
+import tech.pegasys.artemis.util.async.SafeFuture;
 
 public abstract class Eth2TopicHandler<T extends SimpleOffsetSerializable> implements TopicHandler {
   private static final Logger LOG = LogManager.getLogger();
+  private static final SafeFuture<Boolean> VALIDATION_FAILED = SafeFuture.completedFuture(false);
 
   private final Bytes4 forkDigest;
+  private final GossipEncoding gossipEncoding;
   protected final EventBus eventBus;
 
-  protected Eth2TopicHandler(final EventBus eventBus, final ForkInfo forkInfo) {
+  protected Eth2TopicHandler(
+      final EventBus eventBus, final GossipEncoding gossipEncoding, final ForkInfo forkInfo) {
     this.eventBus = eventBus;
+    this.gossipEncoding = gossipEncoding;
     this.forkDigest = forkInfo.getForkDigest();
   }
 
   @Override
-  public boolean handleMessage(final Bytes bytes) {
-    T data;
+  public SafeFuture<Boolean> handleMessage(final Bytes bytes) {
+    final T data;
     try {
       data = deserializeData(bytes);
-      final ValidationResult validationResult = validateData(data);
-      switch (validationResult) {
-        case INVALID:
-          LOG.trace("Received invalid message for topic: {}", this::getTopic);
-          return false;
-        case SAVED_FOR_FUTURE:
-          LOG.trace("Deferring message for topic: {}", this::getTopic);
-          eventBus.post(createEvent(data));
-          return false;
-        case VALID:
-          eventBus.post(createEvent(data));
-          return true;
-        default:
-          throw new UnsupportedOperationException(
-              "Unexpected validation result: " + validationResult);
-      }
-    } catch (SSZException e) {
+    } catch (DecodingException e) {
       LOG.trace("Received malformed gossip message on {}", getTopic());
-      return false;
+      return VALIDATION_FAILED;
     } catch (Throwable e) {
       LOG.warn("Encountered exception while processing message for topic {}", getTopic(), e);
-      return false;
+      return VALIDATION_FAILED;
+    }
+
+    return SafeFuture.ofComposed(() -> validateData(data))
+        .thenApply(validationResult -> processValidationResult(data, validationResult))
+        .exceptionally(
+            error -> {
+              LOG.warn(
+                  "Encountered exception while processing message for topic {}", getTopic(), error);
+              return false;
+            });
+  }
+
+  private boolean processValidationResult(final T data, final ValidationResult validationResult) {
+    switch (validationResult) {
+      case INVALID:
+        LOG.trace("Received invalid message for topic: {}", this::getTopic);
+        return false;
+      case SAVED_FOR_FUTURE:
+        LOG.trace("Deferring message for topic: {}", this::getTopic);
+        eventBus.post(createEvent(data));
+        return false;
+      case VALID:
+        eventBus.post(createEvent(data));
+        return true;
+      default:
+        throw new UnsupportedOperationException(
+            "Unexpected validation result: " + validationResult);
     }
   }
 
@@ -70,19 +87,28 @@ public abstract class Eth2TopicHandler<T extends SimpleOffsetSerializable> imple
   }
 
   public String getTopic() {
-    return "/eth2/" + forkDigest.toUnprefixedHexString() + "/" + getTopicName() + "/ssz";
+    return "/eth2/"
+        + forkDigest.toUnprefixedHexString()
+        + "/"
+        + getTopicName()
+        + "/"
+        + gossipEncoding.getName();
   }
 
   protected abstract String getTopicName();
 
-  protected abstract T deserialize(Bytes bytes) throws SSZException;
+  protected abstract Class<T> getValueType();
+
+  protected T deserialize(Bytes bytes) throws DecodingException {
+    return gossipEncoding.decode(bytes, getValueType());
+  }
 
-  protected abstract ValidationResult validateData(T dataObject);
+  protected abstract SafeFuture<ValidationResult> validateData(T dataObject);
 
-  private T deserializeData(Bytes bytes) throws SSZException {
+  private T deserializeData(Bytes bytes) throws DecodingException {
     final T deserialized = deserialize(bytes);
     if (deserialized == null) {
-      throw new SSZException("Unable to deserialize message for topic " + getTopic());
+      throw new DecodingException("Unable to deserialize message for topic " + getTopic());
     }
     return deserialized;
   }
@@ -26,6 +26,7 @@ import static tech.pegasys.artemis.util.config.Constants.SECONDS_PER_SLOT;
 import static tech.pegasys.artemis.util.config.Constants.VALID_ATTESTATION_SET_SIZE;
 
 import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -35,6 +36,7 @@ import tech.pegasys.artemis.datastructures.operations.IndexedAttestation;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.util.CommitteeUtil;
 import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.SafeFuture;
 import tech.pegasys.artemis.util.collections.ConcurrentLimitedSet;
 import tech.pegasys.artemis.util.collections.LimitStrategy;
 import tech.pegasys.artemis.util.config.Constants;
@@ -49,24 +51,26 @@ public class AttestationValidator {
       ConcurrentLimitedSet.create(
           VALID_ATTESTATION_SET_SIZE, LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
   private final RecentChainData recentChainData;
+  private final SignatureVerificationService signatureVerificationService;
 
-  public AttestationValidator(final RecentChainData recentChainData) {
+  public AttestationValidator(
+      final RecentChainData recentChainData,
+      final SignatureVerificationService signatureVerificationService) {
     this.recentChainData = recentChainData;
+    this.signatureVerificationService = signatureVerificationService;
   }
 
-  public ValidationResult validate(
+  public SafeFuture<ValidationResult> validate(
       final Attestation attestation, final UnsignedLong receivedOnSubnetId) {
-    ValidationResult validationResult = singleAttestationChecks(attestation, receivedOnSubnetId);
+    final ValidationResult validationResult =
+        singleAttestationChecks(attestation, receivedOnSubnetId);
     if (validationResult != VALID) {
-      return validationResult;
+      return SafeFuture.completedFuture(validationResult);
     }
 
-    validationResult = singleOrAggregateAttestationChecks(attestation);
-    if (validationResult != VALID) {
-      return validationResult;
-    }
-
-    return addAndCheckFirstValidAttestation(attestation);
+    return singleOrAggregateAttestationChecks(attestation)
+        .thenApply(
+            result -> result != VALID ? result : addAndCheckFirstValidAttestation(attestation));
   }
 
   private ValidationResult addAndCheckFirstValidAttestation(final Attestation attestation) {
@@ -99,7 +103,7 @@ public class AttestationValidator {
     return VALID;
   }
 
-  ValidationResult singleOrAggregateAttestationChecks(final Attestation attestation) {
+  SafeFuture<ValidationResult> singleOrAggregateAttestationChecks(final Attestation attestation) {
     // attestation.data.slot is within the last ATTESTATION_PROPAGATION_SLOT_RANGE slots (within a
     // MAXIMUM_GOSSIP_CLOCK_DISPARITY allowance) -- i.e. attestation.data.slot +
     // ATTESTATION_PROPAGATION_SLOT_RANGE >= current_slot >= attestation.data.slot (a client MAY
@@ -107,10 +111,10 @@ public class AttestationValidator {
     // future attestations for processing at the appropriate slot).
     final UnsignedLong currentTimeMillis = secondsToMillis(recentChainData.getStore().getTime());
     if (isAfterPropagationSlotRange(currentTimeMillis, attestation)) {
-      return INVALID;
+      return SafeFuture.completedFuture(INVALID);
     }
     if (isBeforeMinimumBroadcastTime(attestation, currentTimeMillis)) {
-      return SAVED_FOR_FUTURE;
+      return SafeFuture.completedFuture(SAVED_FOR_FUTURE);
     }
 
     // The block being voted for (attestation.data.beacon_block_root) passes validation.
@@ -119,7 +123,7 @@ public class AttestationValidator {
     final Optional<BeaconState> maybeState =
         recentChainData.getBlockState(attestation.getData().getBeacon_block_root());
     if (maybeState.isEmpty()) {
-      return SAVED_FOR_FUTURE;
+      return SafeFuture.completedFuture(SAVED_FOR_FUTURE);
     }
 
     final BeaconState state = maybeState.get();
@@ -128,15 +132,33 @@ public class AttestationValidator {
         get_beacon_committee(
             state, attestation.getData().getSlot(), attestation.getData().getIndex());
     if (committee.size() != attestation.getAggregation_bits().getCurrentSize()) {
-      return INVALID;
+      return SafeFuture.completedFuture(INVALID);
     }
 
     // The signature of attestation is valid.
     final IndexedAttestation indexedAttestation = get_indexed_attestation(state, attestation);
-    if (!is_valid_indexed_attestation(state, indexedAttestation)) {
-      return INVALID;
+    return isSignatureValid(state, indexedAttestation)
+        .thenApply(signatureValid -> signatureValid ? VALID : INVALID);
+  }
+
+  private SafeFuture<Boolean> isSignatureValid(
+      final BeaconState state, final IndexedAttestation indexedAttestation) {
+    // The structural checks run immediately, only the signature itself is handed to the
+    // verification service so it can be batched with other pending signatures.
+    final List<SafeFuture<Boolean>> signatureResults = new ArrayList<>();
+    final boolean structurallyValid =
+        is_valid_indexed_attestation(
+            state,
+            indexedAttestation,
+            (publicKeys, message, signature) -> {
+              signatureResults.add(
+                  signatureVerificationService.verify(publicKeys, message, signature));
+              return true;
+            });
+    if (!structurallyValid || signatureResults.isEmpty()) {
+      return SafeFuture.completedFuture(false);
     }
-    return VALID;
+    return signatureResults.get(0);
   }
 
   private ValidatorAndSlot getValidatorAndSlot(final Attestation attestation) {
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.gossip.topics.validation;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.artemis.bls.BLS;
+import tech.pegasys.artemis.bls.BLSPublicKey;
+import tech.pegasys.artemis.bls.BLSSignature;
+import tech.pegasys.artemis.bls.mikuli.BLS12381.BatchSemiAggregate;
+import tech.pegasys.artemis.util.async.SafeFuture;
+
+/**
+ * Collects signatures submitted by gossip validation and verifies them in batches on dedicated
+ * worker threads.
+ *
+ * <p>A worker waits for the first pending signature, then keeps collecting until either the batch
+ * is full or the batch window has elapsed. If the batch as a whole fails, each signature in it is
+ * verified individually so that a single invalid message doesn't cause valid ones to be rejected.
+ */
+public class BatchSignatureVerificationService implements SignatureVerificationService {
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final int DEFAULT_MAX_BATCH_SIZE = 250;
+  static final long DEFAULT_BATCH_WINDOW_MILLIS = 5;
+  static final int DEFAULT_QUEUE_CAPACITY = 15_000;
+
+  private final BlockingQueue<SignatureTask> pendingTasks;
+  private final int threadCount;
+  private final int maxBatchSize;
+  private final long batchWindowNanos;
+  private final AtomicBoolean running = new AtomicBoolean(false);
+  private final AtomicBoolean stopped = new AtomicBoolean(false);
+  private volatile ExecutorService executor;
+
+  BatchSignatureVerificationService(
+      final int threadCount,
+      final int queueCapacity,
+      final int maxBatchSize,
+      final long batchWindowMillis) {
+    this.pendingTasks = new ArrayBlockingQueue<>(queueCapacity);
+    this.threadCount = threadCount;
+    this.maxBatchSize = maxBatchSize;
+    this.batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(batchWindowMillis);
+  }
+
+  public static BatchSignatureVerificationService create() {
+    final int threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    return new BatchSignatureVerificationService(
+        threadCount, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH_SIZE, DEFAULT_BATCH_WINDOW_MILLIS);
+  }
+
+  public void start() {
+    if (stopped.get() || !running.compareAndSet(false, true)) {
+      return;
+    }
+    executor =
+        Executors.newFixedThreadPool(
+            threadCount,
+            new ThreadFactoryBuilder()
+                .setNameFormat("signature-verifier-%d")
+                .setDaemon(true)
+                .build());
+    for (int i = 0; i < threadCount; i++) {
+      executor.execute(this::run);
+    }
+  }
+
+  public void stop() {
+    // Set before draining so any task added to the queue afterwards is rejected by verify
+    stopped.set(true);
+    if (!running.compareAndSet(true, false)) {
+      return;
+    }
+    executor.shutdownNow();
+    final List<SignatureTask> remainingTasks = new ArrayList<>();
+    pendingTasks.drainTo(remainingTasks);
+    failTasks(remainingTasks);
+  }
+
+  @Override
+  public SafeFuture<Boolean> verify(
+      final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
+    if (stopped.get()) {
+      return SafeFuture.failedFuture(createStoppedException());
+    }
+    final SignatureTask task = new SignatureTask(publicKeys, message, signature);
+    if (!running.get() || !pendingTasks.offer(task)) {
+      // Apply back pressure to the caller rather than dropping the signature
+      LOG.trace("Signature verification queue unavailable, verifying signature immediately");
+      task.verifyIndividually();
+    } else if (stopped.get() && pendingTasks.remove(task)) {
+      // The service stopped after the task was queued and may have already drained the queue
+      task.result.completeExceptionally(createStoppedException());
+    }
+    return task.result;
+  }
+
+  private void run() {
+    while (running.get()) {
+      final List<SignatureTask> batch = new ArrayList<>();
+      try {
+        collectBatch(batch);
+        verifyBatch(batch);
+      } catch (final InterruptedException e) {
+        // Tasks already removed from the queue would otherwise never complete
+        failTasks(batch);
+        Thread.currentThread().interrupt();
+        return;
+      } catch (final Throwable t) {
+        LOG.error("Unexpected error while verifying signatures", t);
+      }
+    }
+  }
+
+  private void failTasks(final List<SignatureTask> tasks) {
+    tasks.forEach(task -> task.result.completeExceptionally(createStoppedException()));
+  }
+
+  private IllegalStateException createStoppedException() {
+    return new IllegalStateException("Signature verification service stopped");
+  }
+
+  private void collectBatch(final List<SignatureTask> batch) throws InterruptedException {
+    batch.add(pendingTasks.take());
+    final long deadline = System.nanoTime() + batchWindowNanos;
+    while (batch.size() < maxBatchSize) {
+      pendingTasks.drainTo(batch, maxBatchSize - batch.size());
+      final long remainingNanos = deadline - System.nanoTime();
+      if (batch.size() >= maxBatchSize || remainingNanos <= 0) {
+        break;
+      }
+      final SignatureTask nextTask = pendingTasks.poll(remainingNanos, TimeUnit.NANOSECONDS);
+      if (nextTask == null) {
+        break;
+      }
+      batch.add(nextTask);
+    }
+  }
+
+  void verifyBatch(final List<SignatureTask> batch) {
+    if (batch.size() == 1) {
+      batch.get(0).verifyIndividually();
+      return;
+    }
+    if (isBatchValid(batch)) {
+      batch.forEach(task -> task.result.complete(true));
+    } else {
+      // At least one signature is invalid so find out which.
+      batch.parallelStream().forEach(SignatureTask::verifyIndividually);
+    }
+  }
+
+  private boolean isBatchValid(final List<SignatureTask> batch) {
+    try {
+      final List<BatchSemiAggregate> preparedSignatures =
+          IntStream.range(0, batch.size())
+              .parallel()
+              .mapToObj(i -> batch.get(i).prepareBatchVerify(i))
+              .collect(Collectors.toList());
+      return BLS.completeBatchVerify(preparedSignatures);
+    } catch (final RuntimeException e) {
+      LOG.trace("Failed to batch verify signatures", e);
+      return false;
+    }
+  }
+
+  static class SignatureTask {
+    private final List<BLSPublicKey> publicKeys;
+    private final Bytes message;
+    private final BLSSignature signature;
+    final SafeFuture<Boolean> result = new SafeFuture<>();
+
+    SignatureTask(
+        final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
+      this.publicKeys = publicKeys;
+      this.message = message;
+      this.signature = signature;
+    }
+
+    private BatchSemiAggregate prepareBatchVerify(final int index) {
+      return BLS.prepareBatchVerify(index, publicKeys, message, signature);
+    }
+
+    private void verifyIndividually() {
+      try {
+        result.complete(BLS.fastAggregateVerify(publicKeys, message, signature));
+      } catch (final Throwable t) {
+        result.completeExceptionally(t);
+      }
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.gossip.topics.validation;
+
+import java.util.Collections;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.artemis.bls.BLS;
+import tech.pegasys.artemis.bls.BLSPublicKey;
+import tech.pegasys.artemis.bls.BLSSignature;
+import tech.pegasys.artemis.util.async.SafeFuture;
+
+/**
+ * Asynchronous counterpart of {@link tech.pegasys.artemis.bls.BLSSignatureVerifier} used by gossip
+ * validation so that signature checks can be deferred and batched.
+ */
+public interface SignatureVerificationService {
+
+  /** Verifies each signature immediately on the calling thread. */
+  SignatureVerificationService SIMPLE =
+      (publicKeys, message, signature) ->
+          SafeFuture.completedFuture(BLS.fastAggregateVerify(publicKeys, message, signature));
+
+  /**
+   * Schedules verification of an aggregate BLS signature against a message using the list of
+   * public keys.
+   *
+   * @param publicKeys The list of public keys, not null
+   * @param message The message data to verify, not null
+   * @param signature The aggregate signature, not null
+   * @return A future completed with {@code true} if the signature is valid, {@code false} otherwise
+   * @see BLS#fastAggregateVerify(List, Bytes, BLSSignature)
+   */
+  SafeFuture<Boolean> verify(List<BLSPublicKey> publicKeys, Bytes message, BLSSignature signature);
+
+  /** Shortcut to {@link #verify(List, Bytes, BLSSignature)} for non-aggregate case */
+  default SafeFuture<Boolean> verify(
+      final BLSPublicKey publicKey, final Bytes message, final BLSSignature signature) {
+    return verify(Collections.singletonList(publicKey), message, signature);
+  }
+}
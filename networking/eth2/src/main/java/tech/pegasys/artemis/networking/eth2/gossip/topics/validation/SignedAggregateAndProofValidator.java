@@ -32,7 +32,6 @@ import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
-import tech.pegasys.artemis.bls.BLS;
 import tech.pegasys.artemis.bls.BLSPublicKey;
 import tech.pegasys.artemis.bls.BLSSignature;
 import tech.pegasys.artemis.datastructures.operations.AggregateAndProof;
@@ -42,6 +41,7 @@ import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.util.CommitteeUtil;
 import tech.pegasys.artemis.datastructures.util.ValidatorsUtil;
 import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.SafeFuture;
 import tech.pegasys.artemis.util.collections.ConcurrentLimitedSet;
 import tech.pegasys.artemis.util.collections.LimitStrategy;
 import tech.pegasys.artemis.util.config.Constants;
@@ -53,14 +53,18 @@ public class SignedAggregateAndProofValidator {
           VALID_AGGREGATE_SET_SIZE, LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
   private final AttestationValidator attestationValidator;
   private final RecentChainData recentChainData;
+  private final SignatureVerificationService signatureVerificationService;
 
   public SignedAggregateAndProofValidator(
-      final AttestationValidator attestationValidator, final RecentChainData recentChainData) {
+      final AttestationValidator attestationValidator,
+      final RecentChainData recentChainData,
+      final SignatureVerificationService signatureVerificationService) {
     this.attestationValidator = attestationValidator;
     this.recentChainData = recentChainData;
+    this.signatureVerificationService = signatureVerificationService;
   }
 
-  public ValidationResult validate(final SignedAggregateAndProof signedAggregate) {
+  public SafeFuture<ValidationResult> validate(final SignedAggregateAndProof signedAggregate) {
     final AggregateAndProof aggregateAndProof = signedAggregate.getMessage();
     final Attestation aggregate = aggregateAndProof.getAggregate();
 
@@ -70,31 +74,22 @@ public class SignedAggregateAndProofValidator {
             aggregateAndProof.getIndex(), compute_epoch_at_slot(aggregateSlot));
     if (receivedValidAggregations.contains(aggregatorIndexAndEpoch)) {
       LOG.trace("Rejecting duplicate aggregate");
-      return INVALID;
+      return SafeFuture.completedFuture(INVALID);
     }
 
-    final ValidationResult aggregateValidationResult =
+    final SafeFuture<ValidationResult> aggregateValidationResult =
         attestationValidator.singleOrAggregateAttestationChecks(aggregate);
-    if (aggregateValidationResult == INVALID) {
-      LOG.trace("Rejecting aggregate because attestation failed validation");
-      return aggregateValidationResult;
-    }
 
     final Optional<BeaconState> maybeState =
         recentChainData.getBlockState(aggregate.getData().getBeacon_block_root());
     if (maybeState.isEmpty()) {
-      return SAVED_FOR_FUTURE;
+      return aggregateValidationResult.thenApply(
+          result -> result == INVALID ? INVALID : SAVED_FOR_FUTURE);
     }
     final BeaconState state = maybeState.get();
     final BLSPublicKey aggregatorPublicKey =
         ValidatorsUtil.getValidatorPubKey(state, aggregateAndProof.getIndex());
 
-    if (!isSelectionProofValid(
-        aggregateSlot, state, aggregatorPublicKey, aggregateAndProof.getSelection_proof())) {
-      LOG.trace("Rejecting aggregate with incorrect selection proof");
-      return INVALID;
-    }
-
     final List<Integer> beaconCommittee =
         CommitteeUtil.get_beacon_committee(state, aggregateSlot, aggregate.getData().getIndex());
 
@@ -102,28 +97,49 @@ public class SignedAggregateAndProofValidator {
     if (!isAggregator(aggregateAndProof.getSelection_proof(), aggregatorModulo)) {
       LOG.trace(
           "Rejecting aggregate because selection proof does not select validator as aggregator");
-      return INVALID;
+      return SafeFuture.completedFuture(INVALID);
     }
     if (!beaconCommittee.contains(toIntExact(aggregateAndProof.getIndex().longValue()))) {
       LOG.trace(
           "Rejecting aggregate because attester is not in committee. Should have been one of {}",
           beaconCommittee);
-      return INVALID;
+      return SafeFuture.completedFuture(INVALID);
     }
 
-    if (!isSignatureValid(signedAggregate, state, aggregatorPublicKey)) {
-      LOG.trace("Rejecting aggregate with invalid signature");
-      return INVALID;
-    }
-
-    if (!receivedValidAggregations.add(aggregatorIndexAndEpoch)) {
-      LOG.trace("Rejecting duplicate aggregate");
-      return INVALID;
-    }
-    return aggregateValidationResult;
+    // Submit all signatures together so they can be verified in the same batch
+    final SafeFuture<Boolean> selectionProofValid =
+        isSelectionProofValid(
+            aggregateSlot, state, aggregatorPublicKey, aggregateAndProof.getSelection_proof());
+    final SafeFuture<Boolean> signatureValid =
+        isSignatureValid(signedAggregate, state, aggregatorPublicKey);
+
+    return aggregateValidationResult.thenCompose(
+        aggregateResult -> {
+          if (aggregateResult == INVALID) {
+            LOG.trace("Rejecting aggregate because attestation failed validation");
+            return SafeFuture.completedFuture(INVALID);
+          }
+          return selectionProofValid.thenCombine(
+              signatureValid,
+              (selectionProofIsValid, signatureIsValid) -> {
+                if (!selectionProofIsValid) {
+                  LOG.trace("Rejecting aggregate with incorrect selection proof");
+                  return INVALID;
+                }
+                if (!signatureIsValid) {
+                  LOG.trace("Rejecting aggregate with invalid signature");
+                  return INVALID;
+                }
+                if (!receivedValidAggregations.add(aggregatorIndexAndEpoch)) {
+                  LOG.trace("Rejecting duplicate aggregate");
+                  return INVALID;
+                }
+                return aggregateResult;
+              });
+        });
   }
 
-  private boolean isSignatureValid(
+  private SafeFuture<Boolean> isSignatureValid(
       final SignedAggregateAndProof signedAggregate,
       final BeaconState state,
       final BLSPublicKey aggregatorPublicKey) {
@@ -135,10 +151,11 @@ public class SignedAggregateAndProofValidator {
             state.getFork(),
             state.getGenesis_validators_root());
     final Bytes signingRoot = compute_signing_root(aggregateAndProof, domain);
-    return BLS.verify(aggregatorPublicKey, signingRoot, signedAggregate.getSignature());
+    return signatureVerificationService.verify(
+        aggregatorPublicKey, signingRoot, signedAggregate.getSignature());
   }
 
-  private boolean isSelectionProofValid(
+  private SafeFuture<Boolean> isSelectionProofValid(
       final UnsignedLong aggregateSlot,
       final BeaconState state,
       final BLSPublicKey aggregatorPublicKey,
@@ -150,7 +167,7 @@ public class SignedAggregateAndProofValidator {
             state.getFork(),
             state.getGenesis_validators_root());
     final Bytes signingRoot = compute_signing_root(aggregateSlot.longValue(), domain);
-    return BLS.verify(aggregatorPublicKey, signingRoot, selectionProof);
+    return signatureVerificationService.verify(aggregatorPublicKey, signingRoot, selectionProof);
   }
 
   private static class AggregatorIndexAndEpoch {
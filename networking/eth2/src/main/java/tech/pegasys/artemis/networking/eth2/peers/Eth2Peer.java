@@ -20,6 +20,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
@@ -37,10 +38,13 @@ import tech.pegasys.artemis.networking.eth2.rpc.core.ResponseStreamImpl;
 import tech.pegasys.artemis.networking.p2p.peer.DelegatingPeer;
 import tech.pegasys.artemis.networking.p2p.peer.Peer;
 import tech.pegasys.artemis.util.async.SafeFuture;
+import tech.pegasys.artemis.util.time.TimeProvider;
 
 public class Eth2Peer extends DelegatingPeer implements Peer {
   private final BeaconChainMethods rpcMethods;
   private final StatusMessageFactory statusMessageFactory;
+  private final TimeProvider timeProvider;
+  private final PeerPerformance performance = new PeerPerformance();
   private volatile Optional<PeerStatus> remoteStatus = Optional.empty();
   private final SafeFuture<PeerStatus> initialStatus = new SafeFuture<>();
   private AtomicBoolean chainValidated = new AtomicBoolean(false);
@@ -49,10 +53,12 @@ public class Eth2Peer extends DelegatingPeer implements Peer {
   public Eth2Peer(
       final Peer peer,
       final BeaconChainMethods rpcMethods,
-      final StatusMessageFactory statusMessageFactory) {
+      final StatusMessageFactory statusMessageFactory,
+      final TimeProvider timeProvider) {
     super(peer);
     this.rpcMethods = rpcMethods;
     this.statusMessageFactory = statusMessageFactory;
+    this.timeProvider = timeProvider;
   }
 
   public void updateStatus(final PeerStatus status) {
@@ -76,6 +82,23 @@ public class Eth2Peer extends DelegatingPeer implements Peer {
     return outstandingRequests.get();
   }
 
+  /** @return the score for how well this peer responds to requests, where higher is better */
+  public double getScore() {
+    return performance.getScore();
+  }
+
+  public boolean isPerformingPoorly() {
+    return performance.isPerformingPoorly();
+  }
+
+  /**
+   * Records a request which completed but whose response was found to be incomplete, such as a
+   * batch of blocks missing blocks the peer should have had.
+   */
+  public void recordFailedResponse() {
+    performance.recordFailure();
+  }
+
   public boolean hasStatus() {
     return remoteStatus.isPresent();
   }
@@ -167,10 +190,53 @@ public class Eth2Peer extends DelegatingPeer implements Peer {
               final ResponseStreamImpl<O> stream = handler.getResponseStream();
               outstandingRequests.incrementAndGet();
               stream.subscribeCompleted((__) -> outstandingRequests.decrementAndGet());
+              if (method.shouldReceiveResponse()) {
+                trackPerformance(handler, isBlockRequest(method));
+              }
               return stream;
             });
   }
 
+  private boolean isBlockRequest(final Eth2RpcMethod<?, ?> method) {
+    return method.equals(rpcMethods.beaconBlocksByRange())
+        || method.equals(rpcMethods.beaconBlocksByRoot());
+  }
+
+  private void trackPerformance(
+      final Eth2OutgoingRequestHandler<?, ?> handler, final boolean isBlockRequest) {
+    final long requestSentMillis = getCurrentTimeMillis();
+    final AtomicLong initialBytesReceivedMillis = new AtomicLong(-1);
+    handler.subscribeInitialBytesReceived(
+        () -> initialBytesReceivedMillis.set(getCurrentTimeMillis()));
+    handler
+        .getResponseStream()
+        .subscribeCompleted(
+            successful -> {
+              if (!successful) {
+                performance.recordFailure();
+                return;
+              }
+              final long completedMillis = getCurrentTimeMillis();
+              final long firstResponseMillis =
+                  initialBytesReceivedMillis.get() >= 0
+                      ? initialBytesReceivedMillis.get()
+                      : completedMillis;
+              if (!isBlockRequest) {
+                // Other responses, such as status, say nothing about how quickly blocks are sent
+                performance.recordSuccess(firstResponseMillis - requestSentMillis);
+                return;
+              }
+              performance.recordSuccess(
+                  firstResponseMillis - requestSentMillis,
+                  completedMillis - requestSentMillis,
+                  handler.getResponseStream().getResponseChunkCount());
+            });
+  }
+
+  private long getCurrentTimeMillis() {
+    return timeProvider.getTimeInMillis().longValue();
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (o == this) {
@@ -193,6 +259,7 @@ public class Eth2Peer extends DelegatingPeer implements Peer {
     return MoreObjects.toStringHelper(this)
         .add("id", getId())
         .add("remoteStatus", remoteStatus)
+        .add("performance", performance)
         .toString();
   }
 
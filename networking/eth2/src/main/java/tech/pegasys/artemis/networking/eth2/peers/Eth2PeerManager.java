@@ -25,6 +25,7 @@ import tech.pegasys.artemis.datastructures.networking.libp2p.rpc.GoodbyeMessage;
 import tech.pegasys.artemis.networking.eth2.rpc.beaconchain.BeaconChainMethods;
 import tech.pegasys.artemis.networking.eth2.rpc.beaconchain.methods.StatusMessageFactory;
 import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.RpcEncoding;
+import tech.pegasys.artemis.networking.p2p.connection.PeerScorer;
 import tech.pegasys.artemis.networking.p2p.network.PeerHandler;
 import tech.pegasys.artemis.networking.p2p.peer.DisconnectRequestHandler.DisconnectReason;
 import tech.pegasys.artemis.networking.p2p.peer.NodeId;
@@ -35,8 +36,9 @@ import tech.pegasys.artemis.storage.client.CombinedChainDataClient;
 import tech.pegasys.artemis.storage.client.RecentChainData;
 import tech.pegasys.artemis.util.async.DelayedExecutorAsyncRunner;
 import tech.pegasys.artemis.util.events.Subscribers;
+import tech.pegasys.artemis.util.time.TimeProvider;
 
-public class Eth2PeerManager implements PeerLookup, PeerHandler {
+public class Eth2PeerManager implements PeerLookup, PeerHandler, PeerScorer {
   private static final Logger LOG = LogManager.getLogger();
   private final StatusMessageFactory statusMessageFactory;
 
@@ -46,15 +48,18 @@ public class Eth2PeerManager implements PeerLookup, PeerHandler {
 
   private final BeaconChainMethods rpcMethods;
   private final PeerValidatorFactory peerValidatorFactory;
+  private final TimeProvider timeProvider;
 
   Eth2PeerManager(
       final CombinedChainDataClient combinedChainDataClient,
       final RecentChainData storageClient,
       final MetricsSystem metricsSystem,
       final PeerValidatorFactory peerValidatorFactory,
-      final RpcEncoding rpcEncoding) {
+      final RpcEncoding rpcEncoding,
+      final TimeProvider timeProvider) {
     this.statusMessageFactory = new StatusMessageFactory(storageClient);
     this.peerValidatorFactory = peerValidatorFactory;
+    this.timeProvider = timeProvider;
     this.rpcMethods =
         BeaconChainMethods.create(
             DelayedExecutorAsyncRunner.create(),
@@ -63,14 +68,16 @@ public class Eth2PeerManager implements PeerLookup, PeerHandler {
             storageClient,
             metricsSystem,
             statusMessageFactory,
-            rpcEncoding);
+            rpcEncoding,
+            timeProvider);
   }
 
   public static Eth2PeerManager create(
       final RecentChainData storageClient,
       final StorageQueryChannel historicalChainData,
       final MetricsSystem metricsSystem,
-      final RpcEncoding rpcEncoding) {
+      final RpcEncoding rpcEncoding,
+      final TimeProvider timeProvider) {
     final PeerValidatorFactory peerValidatorFactory =
         (peer, status) ->
             PeerChainValidator.create(storageClient, historicalChainData, peer, status);
@@ -79,12 +86,13 @@ public class Eth2PeerManager implements PeerLookup, PeerHandler {
         storageClient,
         metricsSystem,
         peerValidatorFactory,
-        rpcEncoding);
+        rpcEncoding,
+        timeProvider);
   }
 
   @Override
   public void onConnect(final Peer peer) {
-    Eth2Peer eth2Peer = new Eth2Peer(peer, rpcMethods, statusMessageFactory);
+    Eth2Peer eth2Peer = new Eth2Peer(peer, rpcMethods, statusMessageFactory, timeProvider);
     final boolean wasAdded = connectedPeerMap.putIfAbsent(peer.getId(), eth2Peer) == null;
     if (!wasAdded) {
       LOG.warn("Duplicate peer connection detected. Ignoring peer.");
@@ -121,6 +129,8 @@ public class Eth2PeerManager implements PeerLookup, PeerHandler {
         return GoodbyeMessage.REASON_CLIENT_SHUT_DOWN;
       case REMOTE_FAULT:
         return GoodbyeMessage.REASON_FAULT_ERROR;
+      case RATE_LIMITING:
+        return GoodbyeMessage.REASON_RATE_LIMITING;
       case IRRELEVANT_NETWORK:
         return GoodbyeMessage.REASON_IRRELEVANT_NETWORK;
       case UNABLE_TO_VERIFY_NETWORK:
@@ -174,6 +184,20 @@ public class Eth2PeerManager implements PeerLookup, PeerHandler {
     return connectedPeerMap.values().stream().filter(this::peerIsReady);
   }
 
+  @Override
+  public double scorePeer(final NodeId peerId) {
+    return Optional.ofNullable(connectedPeerMap.get(peerId))
+        .map(Eth2Peer::getScore)
+        .orElse(PeerPerformance.INITIAL_SCORE);
+  }
+
+  @Override
+  public boolean isPerformingPoorly(final NodeId peerId) {
+    return Optional.ofNullable(connectedPeerMap.get(peerId))
+        .map(Eth2Peer::isPerformingPoorly)
+        .orElse(false);
+  }
+
   private boolean peerIsReady(Eth2Peer peer) {
     return peer.isChainValidated();
   }
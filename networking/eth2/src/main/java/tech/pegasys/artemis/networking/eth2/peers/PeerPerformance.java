@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.peers;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Tracks how well a peer responds to our requests and condenses it into a score between 0 and 1.
+ *
+ * <p>Response latency, block throughput and failure rate are each tracked as an exponentially
+ * weighted moving average so that the score follows changes in the peer's performance. Peers start
+ * with a neutral score of 0.5 until they have been measured.
+ */
+public class PeerPerformance {
+  static final double INITIAL_SCORE = 0.5;
+  // Weight given to each new sample
+  private static final double SMOOTHING_FACTOR = 0.2;
+  // A peer matching the reference latency and throughput scores 0.5 for each
+  private static final double REFERENCE_LATENCY_MILLIS = 500;
+  private static final double REFERENCE_BLOCKS_PER_SECOND = 32;
+  // Only give up on a peer once enough requests have been made to be confident it is poor
+  private static final int MIN_SAMPLES_TO_EVICT = 10;
+  private static final double EVICTION_SCORE_THRESHOLD = 0.1;
+
+  private double latencyMillis = REFERENCE_LATENCY_MILLIS;
+  private double blocksPerSecond = REFERENCE_BLOCKS_PER_SECOND;
+  private double failureRate = 0;
+  private int sampleCount = 0;
+
+  /**
+   * Records a request for blocks which completed successfully.
+   *
+   * @param requestLatencyMillis The time from sending the request until the first response
+   *     arrived, or until the request completed if there were no responses
+   * @param durationMillis The time from sending the request until it completed
+   * @param responseCount The number of response chunks received
+   */
+  public synchronized void recordSuccess(
+      final long requestLatencyMillis, final long durationMillis, final int responseCount) {
+    latencyMillis = smooth(latencyMillis, requestLatencyMillis);
+    if (responseCount > 0) {
+      // Requests without responses say nothing about how quickly the peer sends blocks
+      final double requestBlocksPerSecond = responseCount * 1000d / Math.max(1, durationMillis);
+      blocksPerSecond = smooth(blocksPerSecond, requestBlocksPerSecond);
+    }
+    failureRate = smooth(failureRate, 0);
+    sampleCount++;
+  }
+
+  /**
+   * Records a request which completed successfully but did not request blocks, so only counts
+   * towards the peer's latency.
+   *
+   * @param requestLatencyMillis The time from sending the request until the first response
+   *     arrived, or until the request completed if there were no responses
+   */
+  public synchronized void recordSuccess(final long requestLatencyMillis) {
+    latencyMillis = smooth(latencyMillis, requestLatencyMillis);
+    failureRate = smooth(failureRate, 0);
+    sampleCount++;
+  }
+
+  /** Records a request which failed or timed out. */
+  public synchronized void recordFailure() {
+    failureRate = smooth(failureRate, 1);
+    sampleCount++;
+  }
+
+  /** @return the peer's score between 0 and 1, where higher is better */
+  public synchronized double getScore() {
+    final double latencyScore =
+        REFERENCE_LATENCY_MILLIS / (REFERENCE_LATENCY_MILLIS + latencyMillis);
+    final double throughputScore =
+        blocksPerSecond / (blocksPerSecond + REFERENCE_BLOCKS_PER_SECOND);
+    return (1 - failureRate) * (latencyScore + throughputScore) / 2;
+  }
+
+  /** @return true if the peer has consistently performed badly enough to be replaced */
+  public synchronized boolean isPerformingPoorly() {
+    return sampleCount >= MIN_SAMPLES_TO_EVICT && getScore() < EVICTION_SCORE_THRESHOLD;
+  }
+
+  private static double smooth(final double average, final double sample) {
+    return average + SMOOTHING_FACTOR * (sample - average);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("latencyMillis", latencyMillis)
+        .add("blocksPerSecond", blocksPerSecond)
+        .add("failureRate", failureRate)
+        .add("sampleCount", sampleCount)
+        .toString();
+  }
+}
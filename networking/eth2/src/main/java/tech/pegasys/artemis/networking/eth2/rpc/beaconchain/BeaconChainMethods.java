@@ -13,15 +13,20 @@
 
 package tech.pegasys.artemis.networking.eth2.rpc.beaconchain;
 
+import com.google.common.primitives.UnsignedLong;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.ToLongFunction;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.networking.libp2p.rpc.BeaconBlocksByRangeRequestMessage;
 import tech.pegasys.artemis.datastructures.networking.libp2p.rpc.BeaconBlocksByRootRequestMessage;
 import tech.pegasys.artemis.datastructures.networking.libp2p.rpc.GoodbyeMessage;
 import tech.pegasys.artemis.datastructures.networking.libp2p.rpc.StatusMessage;
+import tech.pegasys.artemis.metrics.ArtemisMetricCategory;
 import tech.pegasys.artemis.networking.eth2.peers.PeerLookup;
 import tech.pegasys.artemis.networking.eth2.rpc.beaconchain.methods.BeaconBlocksByRangeMessageHandler;
 import tech.pegasys.artemis.networking.eth2.rpc.beaconchain.methods.BeaconBlocksByRootMessageHandler;
@@ -29,11 +34,16 @@ import tech.pegasys.artemis.networking.eth2.rpc.beaconchain.methods.GoodbyeMessa
 import tech.pegasys.artemis.networking.eth2.rpc.beaconchain.methods.StatusMessageFactory;
 import tech.pegasys.artemis.networking.eth2.rpc.beaconchain.methods.StatusMessageHandler;
 import tech.pegasys.artemis.networking.eth2.rpc.core.Eth2RpcMethod;
+import tech.pegasys.artemis.networking.eth2.rpc.core.LocalMessageHandler;
+import tech.pegasys.artemis.networking.eth2.rpc.core.RateLimit;
+import tech.pegasys.artemis.networking.eth2.rpc.core.RateLimitedMessageHandler;
+import tech.pegasys.artemis.networking.eth2.rpc.core.TokenBucket;
 import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.RpcEncoding;
 import tech.pegasys.artemis.networking.p2p.rpc.RpcMethod;
 import tech.pegasys.artemis.storage.client.CombinedChainDataClient;
 import tech.pegasys.artemis.storage.client.RecentChainData;
 import tech.pegasys.artemis.util.async.AsyncRunner;
+import tech.pegasys.artemis.util.time.TimeProvider;
 
 public class BeaconChainMethods {
   private static final String STATUS = "/eth2/beacon_chain/req/status/1";
@@ -43,6 +53,10 @@ public class BeaconChainMethods {
   private static final String BEACON_BLOCKS_BY_RANGE =
       "/eth2/beacon_chain/req/beacon_blocks_by_range/1";
 
+  // Limits on the number of blocks served, to stop syncing peers from starving block import
+  private static final RateLimit PEER_BLOCKS_RATE_LIMIT = new RateLimit(1024, 16);
+  private static final RateLimit TOTAL_BLOCKS_RATE_LIMIT = new RateLimit(4096, 256);
+
   private final Eth2RpcMethod<StatusMessage, StatusMessage> status;
   private final Eth2RpcMethod<GoodbyeMessage, GoodbyeMessage> goodBye;
   private final Eth2RpcMethod<BeaconBlocksByRootRequestMessage, SignedBeaconBlock>
@@ -72,12 +86,17 @@ public class BeaconChainMethods {
       final RecentChainData recentChainData,
       final MetricsSystem metricsSystem,
       final StatusMessageFactory statusMessageFactory,
-      final RpcEncoding rpcEncoding) {
+      final RpcEncoding rpcEncoding,
+      final TimeProvider timeProvider) {
+    final BlockRateLimits blockRateLimits =
+        new BlockRateLimits(asyncRunner, metricsSystem, timeProvider);
     return new BeaconChainMethods(
         createStatus(asyncRunner, statusMessageFactory, peerLookup, rpcEncoding),
         createGoodBye(asyncRunner, metricsSystem, peerLookup, rpcEncoding),
-        createBeaconBlocksByRoot(asyncRunner, recentChainData, peerLookup, rpcEncoding),
-        createBeaconBlocksByRange(asyncRunner, combinedChainDataClient, peerLookup, rpcEncoding));
+        createBeaconBlocksByRoot(
+            asyncRunner, recentChainData, peerLookup, rpcEncoding, blockRateLimits),
+        createBeaconBlocksByRange(
+            asyncRunner, combinedChainDataClient, peerLookup, rpcEncoding, blockRateLimits));
   }
 
   private static Eth2RpcMethod<StatusMessage, StatusMessage> createStatus(
@@ -119,7 +138,8 @@ public class BeaconChainMethods {
           final AsyncRunner asyncRunner,
           final RecentChainData recentChainData,
           final PeerLookup peerLookup,
-          final RpcEncoding rpcEncoding) {
+          final RpcEncoding rpcEncoding,
+          final BlockRateLimits blockRateLimits) {
     final BeaconBlocksByRootMessageHandler beaconBlocksByRootHandler =
         new BeaconBlocksByRootMessageHandler(recentChainData);
     return new Eth2RpcMethod<>(
@@ -129,7 +149,10 @@ public class BeaconChainMethods {
         BeaconBlocksByRootRequestMessage.class,
         SignedBeaconBlock.class,
         true,
-        beaconBlocksByRootHandler,
+        blockRateLimits.apply(
+            "beacon_blocks_by_root",
+            beaconBlocksByRootHandler,
+            request -> request.getBlockRoots().size()),
         peerLookup);
   }
 
@@ -138,7 +161,8 @@ public class BeaconChainMethods {
           final AsyncRunner asyncRunner,
           final CombinedChainDataClient combinedChainDataClient,
           final PeerLookup peerLookup,
-          final RpcEncoding rpcEncoding) {
+          final RpcEncoding rpcEncoding,
+          final BlockRateLimits blockRateLimits) {
 
     final BeaconBlocksByRangeMessageHandler beaconBlocksByRangeHandler =
         new BeaconBlocksByRangeMessageHandler(combinedChainDataClient);
@@ -149,10 +173,19 @@ public class BeaconChainMethods {
         BeaconBlocksByRangeRequestMessage.class,
         SignedBeaconBlock.class,
         true,
-        beaconBlocksByRangeHandler,
+        blockRateLimits.apply(
+            "beacon_blocks_by_range",
+            beaconBlocksByRangeHandler,
+            request -> clampToLong(request.getCount())),
         peerLookup);
   }
 
+  private static long clampToLong(final UnsignedLong value) {
+    return value.compareTo(UnsignedLong.valueOf(Long.MAX_VALUE)) > 0
+        ? Long.MAX_VALUE
+        : value.longValue();
+  }
+
   public Collection<RpcMethod> all() {
     return Collections.unmodifiableCollection(allMethods);
   }
@@ -172,4 +205,43 @@ public class BeaconChainMethods {
   public Eth2RpcMethod<BeaconBlocksByRangeRequestMessage, SignedBeaconBlock> beaconBlocksByRange() {
     return beaconBlocksByRange;
   }
+
+  /** Applies rate limits to methods serving blocks, which share a single node-wide quota. */
+  private static class BlockRateLimits {
+    private final AsyncRunner asyncRunner;
+    private final TimeProvider timeProvider;
+    private final TokenBucket totalQuota;
+    private final LabelledMetric<Counter> throttledRequestCounter;
+
+    private BlockRateLimits(
+        final AsyncRunner asyncRunner,
+        final MetricsSystem metricsSystem,
+        final TimeProvider timeProvider) {
+      this.asyncRunner = asyncRunner;
+      this.timeProvider = timeProvider;
+      this.totalQuota = TOTAL_BLOCKS_RATE_LIMIT.createTokenBucket(timeProvider);
+      this.throttledRequestCounter =
+          metricsSystem.createLabelledCounter(
+              ArtemisMetricCategory.NETWORK,
+              "rpc_requests_throttled_total",
+              "Total number of incoming rpc requests delayed or rejected by rate limits",
+              "method",
+              "outcome");
+    }
+
+    private <I> RateLimitedMessageHandler<I, SignedBeaconBlock> apply(
+        final String methodLabel,
+        final LocalMessageHandler<I, SignedBeaconBlock> handler,
+        final ToLongFunction<I> requestedBlockCount) {
+      return new RateLimitedMessageHandler<>(
+          methodLabel,
+          handler,
+          requestedBlockCount,
+          PEER_BLOCKS_RATE_LIMIT,
+          totalQuota,
+          timeProvider,
+          asyncRunner,
+          throttledRequestCounter);
+    }
+  }
 }
@@ -22,12 +22,10 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Throwables;
 import com.google.common.primitives.UnsignedLong;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import org.apache.logging.log4j.LogManager;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.networking.libp2p.rpc.BeaconBlocksByRangeRequestMessage;
-import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.networking.eth2.peers.Eth2Peer;
 import tech.pegasys.artemis.networking.eth2.rpc.core.LocalMessageHandler;
 import tech.pegasys.artemis.networking.eth2.rpc.core.ResponseCallback;
@@ -43,6 +41,9 @@ public class BeaconBlocksByRangeMessageHandler
   static final RpcException INVALID_STEP =
       new RpcException(INVALID_REQUEST_CODE, "Step must be greater than zero");
 
+  // Limits the number of serialized blocks loaded from storage at once
+  private static final UnsignedLong MAX_FINALIZED_SLOTS_PER_QUERY = UnsignedLong.valueOf(64);
+
   private final CombinedChainDataClient combinedChainDataClient;
 
   public BeaconBlocksByRangeMessageHandler(final CombinedChainDataClient combinedChainDataClient) {
@@ -82,71 +83,99 @@ public class BeaconBlocksByRangeMessageHandler
   private SafeFuture<?> sendMatchingBlocks(
       final BeaconBlocksByRangeRequestMessage message,
       final ResponseCallback<SignedBeaconBlock> callback) {
-    Optional<Bytes32> maybeBestRoot = combinedChainDataClient.getBestBlockRoot();
-    return maybeBestRoot
-        .map(combinedChainDataClient::getStateByBlockRoot)
-        .flatMap(CompletableFuture::join)
-        .map(BeaconState::getSlot)
-        .map(slot -> sendNextBlock(new RequestState(message, slot, maybeBestRoot.get(), callback)))
-        .orElseGet(() -> completedFuture(null));
+    final Optional<Bytes32> maybeBestRoot = combinedChainDataClient.getBestBlockRoot();
+    final UnsignedLong headSlot = combinedChainDataClient.getBestSlot();
+    if (maybeBestRoot.isEmpty()
+        || message.getCount().equals(ZERO)
+        || message.getStartSlot().compareTo(headSlot) > 0) {
+      return completedFuture(null);
+    }
+    final RequestState requestState =
+        new RequestState(message, headSlot, maybeBestRoot.get(), callback);
+
+    // Finalized blocks are streamed straight from storage as SSZ, the rest come from the store
+    final Optional<UnsignedLong> maybeLastFinalizedIndex =
+        combinedChainDataClient
+            .getLastHistoricalSlot()
+            .filter(slot -> slot.compareTo(requestState.startSlot) >= 0)
+            .map(slot -> min(requestState.getLastIndexAtOrBefore(slot), requestState.lastIndex));
+    if (maybeLastFinalizedIndex.isEmpty()) {
+      sendRecentBlocks(requestState, ZERO);
+      return completedFuture(null);
+    }
+    final UnsignedLong lastFinalizedIndex = maybeLastFinalizedIndex.get();
+    return sendFinalizedBlocks(requestState, ZERO, lastFinalizedIndex)
+        .thenRun(
+            () -> {
+              if (lastFinalizedIndex.compareTo(requestState.lastIndex) < 0) {
+                sendRecentBlocks(requestState, lastFinalizedIndex.plus(ONE));
+              }
+            });
   }
 
-  private SafeFuture<RequestState> sendNextBlock(final RequestState requestState) {
+  private SafeFuture<Void> sendFinalizedBlocks(
+      final RequestState requestState,
+      final UnsignedLong fromIndex,
+      final UnsignedLong lastFinalizedIndex) {
+    final UnsignedLong toIndex =
+        min(fromIndex.plus(MAX_FINALIZED_SLOTS_PER_QUERY).minus(ONE), lastFinalizedIndex);
     return combinedChainDataClient
-        .getBlockAtSlotExact(requestState.currentSlot, requestState.headBlockRoot)
+        .getSerializedFinalizedBlocks(
+            requestState.getSlot(fromIndex), requestState.getSlot(toIndex), requestState.step)
         .thenCompose(
-            maybeBlock -> {
-              maybeBlock.ifPresent(requestState::sendBlock);
-              if (requestState.isComplete()) {
-                return completedFuture(requestState);
+            blocks -> {
+              blocks.forEach(requestState.callback::respondSsz);
+              if (toIndex.compareTo(lastFinalizedIndex) >= 0) {
+                return completedFuture(null);
               }
-              requestState.incrementCurrentSlot();
-              return sendNextBlock(requestState);
+              return sendFinalizedBlocks(requestState, toIndex.plus(ONE), lastFinalizedIndex);
             });
   }
 
+  private void sendRecentBlocks(final RequestState requestState, final UnsignedLong fromIndex) {
+    combinedChainDataClient
+        .getRecentBlocks(
+            requestState.headBlockRoot,
+            requestState.getSlot(fromIndex),
+            requestState.getSlot(requestState.lastIndex),
+            requestState.step)
+        .forEach(requestState.callback::respond);
+  }
+
+  private static UnsignedLong min(final UnsignedLong a, final UnsignedLong b) {
+    return a.compareTo(b) <= 0 ? a : b;
+  }
+
+  /**
+   * The requested slots are {@code startSlot + index * step} for each index from zero to {@code
+   * lastIndex}. Working with indices avoids overflowing when the step or count is very large.
+   */
   private static class RequestState {
-    private final UnsignedLong headSlot;
     private final ResponseCallback<SignedBeaconBlock> callback;
     private final Bytes32 headBlockRoot;
+    private final UnsignedLong startSlot;
     private final UnsignedLong step;
-    private UnsignedLong currentSlot;
-    private UnsignedLong remainingBlocks;
+    private final UnsignedLong lastIndex;
 
     public RequestState(
         final BeaconBlocksByRangeRequestMessage message,
         final UnsignedLong headSlot,
         final Bytes32 headBlockRoot,
         final ResponseCallback<SignedBeaconBlock> callback) {
-      this.currentSlot = message.getStartSlot();
-      this.headBlockRoot = headBlockRoot;
-      // Minus 1 to account for sending the block at startSlot.
-      // We only decrement this when moving to the next slot but we're already at the first slot
-      this.remainingBlocks = message.getCount().minus(ONE);
+      this.startSlot = message.getStartSlot();
       this.step = message.getStep();
-      this.headSlot = headSlot;
+      this.headBlockRoot = headBlockRoot;
       this.callback = callback;
+      // Stop at the head slot even if more blocks were requested
+      this.lastIndex = min(message.getCount().minus(ONE), getLastIndexAtOrBefore(headSlot));
     }
 
-    private boolean needsMoreBlocks() {
-      return !remainingBlocks.equals(ZERO);
-    }
-
-    private boolean hasReachedHeadSlot() {
-      return currentSlot.compareTo(headSlot) >= 0;
-    }
-
-    boolean isComplete() {
-      return !needsMoreBlocks() || hasReachedHeadSlot();
-    }
-
-    void sendBlock(final SignedBeaconBlock block) {
-      callback.respond(block);
+    UnsignedLong getLastIndexAtOrBefore(final UnsignedLong slot) {
+      return slot.minus(startSlot).dividedBy(step);
     }
 
-    void incrementCurrentSlot() {
-      remainingBlocks = remainingBlocks.minus(ONE);
-      currentSlot = currentSlot.plus(step);
+    UnsignedLong getSlot(final UnsignedLong index) {
+      return startSlot.plus(index.times(step));
     }
   }
 }
@@ -14,8 +14,9 @@
 package tech.pegasys.artemis.networking.eth2.rpc.core;
 
 import com.google.common.annotations.VisibleForTesting;
-import java.io.InputStream;
+import io.netty.buffer.ByteBuf;
 import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.logging.log4j.LogManager;
@@ -42,6 +43,8 @@ public class Eth2IncomingRequestHandler<TRequest extends RpcRequest, TResponse>
   private final AsyncRunner asyncRunner;
   private final AtomicBoolean requestHandled = new AtomicBoolean(false);
 
+  private volatile ResponseCallback<TResponse> callback;
+
   public Eth2IncomingRequestHandler(
       final AsyncRunner asyncRunner,
       final Eth2RpcMethod<TRequest, TResponse> method,
@@ -57,26 +60,45 @@ public class Eth2IncomingRequestHandler<TRequest extends RpcRequest, TResponse>
   }
 
   @Override
-  public void processInput(
-      final NodeId nodeId, final RpcStream rpcStream, final InputStream input) {
-
+  public void active(final NodeId nodeId, final RpcStream rpcStream) {
+    callback = new RpcResponseCallback<>(rpcStream, rpcEncoder);
     ensureRequestReceivedWithinTimeLimit(rpcStream);
+  }
 
-    final ResponseCallback<TResponse> callback = new RpcResponseCallback<>(rpcStream, rpcEncoder);
+  @Override
+  public void processData(final NodeId nodeId, final RpcStream rpcStream, final ByteBuf data) {
     try {
-      final TRequest request = requestDecoder.decodeRequest(input);
-      final Eth2Peer peer = peerLookup.getConnectedPeer(nodeId);
-      handleRequest(peer, request, callback);
+      final Optional<TRequest> request = requestDecoder.decodeRequest(data);
+      if (request.isPresent()) {
+        final Eth2Peer peer = peerLookup.getConnectedPeer(nodeId);
+        requestHandled.set(true);
+        asyncRunner.runAsync(() -> handleRequest(peer, request.get(), callback)).reportExceptions();
+      }
     } catch (final RpcException e) {
-      requestHandled.set(true);
+      handleInvalidRequest(e);
+    }
+  }
+
+  @Override
+  public void readComplete(final NodeId nodeId, final RpcStream rpcStream) {
+    try {
+      requestDecoder.complete();
+    } catch (final RpcException e) {
+      handleInvalidRequest(e);
+    }
+  }
+
+  private void handleInvalidRequest(final RpcException e) {
+    if (requestHandled.compareAndSet(false, true)) {
       callback.completeWithError(e);
+    } else {
+      LOG.debug("Ignoring invalid data received after request was handled: {}", e.getMessage());
     }
   }
 
   private void handleRequest(
       Eth2Peer peer, TRequest request, ResponseCallback<TResponse> callback) {
     try {
-      requestHandled.set(true);
       localMessageHandler.onIncomingMessage(peer, request, callback);
     } catch (final Throwable t) {
       LOG.error("Unhandled error while processing request " + method.getMultistreamId(), t);
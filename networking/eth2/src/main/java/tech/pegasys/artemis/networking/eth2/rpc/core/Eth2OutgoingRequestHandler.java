@@ -13,7 +13,7 @@
 
 package tech.pegasys.artemis.networking.eth2.rpc.core;
 
-import java.io.InputStream;
+import io.netty.buffer.ByteBuf;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -27,6 +27,7 @@ import tech.pegasys.artemis.networking.p2p.peer.NodeId;
 import tech.pegasys.artemis.networking.p2p.rpc.RpcRequestHandler;
 import tech.pegasys.artemis.networking.p2p.rpc.RpcStream;
 import tech.pegasys.artemis.util.async.AsyncRunner;
+import tech.pegasys.artemis.util.async.SafeFuture;
 
 public class Eth2OutgoingRequestHandler<TRequest extends RpcRequest, TResponse>
     implements RpcRequestHandler {
@@ -39,6 +40,7 @@ public class Eth2OutgoingRequestHandler<TRequest extends RpcRequest, TResponse>
 
   private final AsyncRunner timeoutRunner;
   private final AtomicBoolean hasReceivedInitialBytes = new AtomicBoolean(false);
+  private final SafeFuture<Void> initialBytesReceived = new SafeFuture<>();
   private final AtomicInteger currentChunkCount = new AtomicInteger(0);
   private final AtomicBoolean isClosed = new AtomicBoolean(false);
 
@@ -76,13 +78,23 @@ public class Eth2OutgoingRequestHandler<TRequest extends RpcRequest, TResponse>
   }
 
   @Override
-  public void processInput(
-      final NodeId nodeId, final RpcStream rpcStream, final InputStream input) {
+  public void active(final NodeId nodeId, final RpcStream rpcStream) {
+    this.rpcStream = rpcStream;
+  }
+
+  @Override
+  public void processData(final NodeId nodeId, final RpcStream rpcStream, final ByteBuf data) {
+    if (isClosed.get()) {
+      LOG.trace("Ignoring data received after request was completed");
+      return;
+    }
     try {
       this.rpcStream = rpcStream;
+      if (data.isReadable()) {
+        onFirstByteReceived();
+      }
 
-      Optional<TResponse> maybeResponse =
-          responseDecoder.decodeNextResponse(input, this::onFirstByteReceived);
+      Optional<TResponse> maybeResponse = responseDecoder.decodeNextResponse(data);
       while (!isClosed.get() && maybeResponse.isPresent()) {
         final TResponse response = maybeResponse.get();
         responseProcessor.processResponse(response);
@@ -90,7 +102,7 @@ public class Eth2OutgoingRequestHandler<TRequest extends RpcRequest, TResponse>
         final int chunksReceived = currentChunkCount.incrementAndGet();
         if (chunksReceived >= maximumResponseChunks) {
           // Make sure there aren't any trailing unconsumed bytes
-          if (input.available() > 0) {
+          if (data.isReadable()) {
             LOG.debug(
                 "Encountered unconsumed data after last expected response chunk was processed.");
             cancelRequest(rpcStream, RpcException.EXTRA_DATA_APPENDED);
@@ -103,18 +115,28 @@ public class Eth2OutgoingRequestHandler<TRequest extends RpcRequest, TResponse>
         }
 
         // Get next response
-        maybeResponse = responseDecoder.decodeNextResponse(input);
+        maybeResponse = responseDecoder.decodeNextResponse(data);
       }
-
-      completeRequest(rpcStream);
     } catch (final Throwable t) {
       LOG.error("Encountered error while processing response", t);
       cancelRequest(rpcStream, t);
     }
   }
 
+  @Override
+  public void readComplete(final NodeId nodeId, final RpcStream rpcStream) {
+    try {
+      responseDecoder.complete();
+      completeRequest(rpcStream);
+    } catch (final RpcException e) {
+      LOG.debug("Stream closed part way through a response", e);
+      cancelRequest(rpcStream, e);
+    }
+  }
+
   private void onFirstByteReceived() {
     if (hasReceivedInitialBytes.compareAndSet(false, true)) {
+      initialBytesReceived.complete(null);
       // Setup initial chunk timeout
       ensureNextResponseArrivesInTime(rpcStream, currentChunkCount.get(), currentChunkCount);
     }
@@ -203,4 +225,18 @@ public class Eth2OutgoingRequestHandler<TRequest extends RpcRequest, TResponse>
   public ResponseStreamImpl<TResponse> getResponseStream() {
     return responseStream;
   }
+
+  /**
+   * Notifies the subscriber when the first bytes of the response arrive. The subscriber is not
+   * notified if the request completes without any response data.
+   *
+   * @param subscriber The subscriber to notify
+   */
+  public void subscribeInitialBytesReceived(final InitialBytesReceivedSubscriber subscriber) {
+    initialBytesReceived.thenAccept(__ -> subscriber.onInitialBytesReceived()).reportExceptions();
+  }
+
+  public interface InitialBytesReceivedSubscriber {
+    void onInitialBytesReceived();
+  }
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.rpc.core;
+
+import tech.pegasys.artemis.util.time.TimeProvider;
+
+/** The capacity and refill rate used to create a {@link TokenBucket}. */
+public class RateLimit {
+  private final long capacity;
+  private final double refillPerSecond;
+
+  public RateLimit(final long capacity, final double refillPerSecond) {
+    this.capacity = capacity;
+    this.refillPerSecond = refillPerSecond;
+  }
+
+  public TokenBucket createTokenBucket(final TimeProvider timeProvider) {
+    return new TokenBucket(timeProvider, capacity, refillPerSecond);
+  }
+}
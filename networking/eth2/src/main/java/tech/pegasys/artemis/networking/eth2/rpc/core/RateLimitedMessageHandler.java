@@ -0,0 +1,224 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.rpc.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import tech.pegasys.artemis.networking.eth2.peers.Eth2Peer;
+import tech.pegasys.artemis.networking.p2p.peer.DisconnectRequestHandler.DisconnectReason;
+import tech.pegasys.artemis.networking.p2p.peer.NodeId;
+import tech.pegasys.artemis.util.async.AsyncRunner;
+import tech.pegasys.artemis.util.time.TimeProvider;
+
+/**
+ * Applies per-peer and node-wide quotas to requests for a method, measured in the number of objects
+ * returned.
+ *
+ * <p>The number of objects requested is reserved up front. Any objects sent beyond the reservation
+ * are charged as they are sent, and any part of the reservation left unused is returned once the
+ * response completes. Requests which exceed a quota are delayed until the quota refills if that
+ * will happen soon enough, and are otherwise rejected. Peers which are repeatedly rejected are
+ * disconnected.
+ */
+public class RateLimitedMessageHandler<I, O> implements LocalMessageHandler<I, O> {
+  private static final Logger LOG = LogManager.getLogger();
+
+  // Stay well within the time the requester waits for the first response
+  static final long MAX_DELAY_MILLIS = 2000;
+  // Allow a few rejections before disconnecting, forgiving one every 30 seconds
+  static final RateLimit VIOLATION_LIMIT = new RateLimit(5, 1 / 30.0);
+
+  private final String methodLabel;
+  private final LocalMessageHandler<I, O> delegate;
+  private final ToLongFunction<I> requestedObjectCount;
+  private final RateLimit peerRateLimit;
+  private final TokenBucket totalQuota;
+  private final TimeProvider timeProvider;
+  private final AsyncRunner asyncRunner;
+  private final LabelledMetric<Counter> throttledRequestCounter;
+  private final Map<NodeId, PeerQuota> peerQuotas = new ConcurrentHashMap<>();
+
+  public RateLimitedMessageHandler(
+      final String methodLabel,
+      final LocalMessageHandler<I, O> delegate,
+      final ToLongFunction<I> requestedObjectCount,
+      final RateLimit peerRateLimit,
+      final TokenBucket totalQuota,
+      final TimeProvider timeProvider,
+      final AsyncRunner asyncRunner,
+      final LabelledMetric<Counter> throttledRequestCounter) {
+    this.methodLabel = methodLabel;
+    this.delegate = delegate;
+    this.requestedObjectCount = requestedObjectCount;
+    this.peerRateLimit = peerRateLimit;
+    this.totalQuota = totalQuota;
+    this.timeProvider = timeProvider;
+    this.asyncRunner = asyncRunner;
+    this.throttledRequestCounter = throttledRequestCounter;
+  }
+
+  @Override
+  public void onIncomingMessage(
+      final Eth2Peer peer, final I message, final ResponseCallback<O> callback) {
+    final PeerQuota peerQuota = getPeerQuota(peer);
+    // Don't reserve more than a full bucket, so that large requests can still be served
+    final long reservation =
+        Math.min(requestedObjectCount.applyAsLong(message), peerQuota.objectQuota.getCapacity());
+
+    final long peerDelay = peerQuota.objectQuota.reserve(reservation);
+    if (peerDelay > MAX_DELAY_MILLIS) {
+      peerQuota.objectQuota.release(reservation);
+      rejectForPeerLimit(peer, peerQuota, callback);
+      return;
+    }
+    final long totalDelay = totalQuota.reserve(reservation);
+    if (totalDelay > MAX_DELAY_MILLIS) {
+      peerQuota.objectQuota.release(reservation);
+      totalQuota.release(reservation);
+      LOG.trace("Rejecting {} request from peer {}: server busy", methodLabel, peer.getId());
+      throttledRequestCounter.labels(methodLabel, "busy").inc();
+      callback.completeWithError(RpcException.SERVER_BUSY);
+      return;
+    }
+
+    final ResponseCallback<O> chargingCallback =
+        new ChargingResponseCallback<>(callback, peerQuota.objectQuota, totalQuota, reservation);
+    final long delay = Math.max(peerDelay, totalDelay);
+    if (delay == 0) {
+      delegate.onIncomingMessage(peer, message, chargingCallback);
+      return;
+    }
+    LOG.trace("Delaying {} request from peer {} by {}ms", methodLabel, peer.getId(), delay);
+    throttledRequestCounter.labels(methodLabel, "delayed").inc();
+    asyncRunner
+        .runAfterDelay(
+            () -> delegate.onIncomingMessage(peer, message, chargingCallback),
+            delay,
+            TimeUnit.MILLISECONDS)
+        .finish(
+            () -> {},
+            error -> {
+              LOG.error("Failed to process delayed " + methodLabel + " request", error);
+              chargingCallback.completeWithError(RpcException.SERVER_ERROR);
+            });
+  }
+
+  private void rejectForPeerLimit(
+      final Eth2Peer peer, final PeerQuota peerQuota, final ResponseCallback<O> callback) {
+    LOG.trace("Rejecting {} request from peer {}: rate limit exceeded", methodLabel, peer.getId());
+    throttledRequestCounter.labels(methodLabel, "rejected").inc();
+    callback.completeWithError(RpcException.RATE_LIMITED);
+    if (peerQuota.violations.reserve(1) > 0) {
+      LOG.debug("Disconnecting peer {} which repeatedly exceeded rate limits", peer.getId());
+      peer.disconnectCleanly(DisconnectReason.RATE_LIMITING);
+    }
+  }
+
+  private PeerQuota getPeerQuota(final Eth2Peer peer) {
+    final NodeId peerId = peer.getId();
+    final PeerQuota existingQuota = peerQuotas.get(peerId);
+    if (existingQuota != null) {
+      return existingQuota;
+    }
+    final PeerQuota newQuota =
+        new PeerQuota(
+            peerRateLimit.createTokenBucket(timeProvider),
+            VIOLATION_LIMIT.createTokenBucket(timeProvider));
+    final PeerQuota quota = peerQuotas.putIfAbsent(peerId, newQuota);
+    if (quota != null) {
+      return quota;
+    }
+    peer.subscribeDisconnect(() -> peerQuotas.remove(peerId, newQuota));
+    if (!peer.isConnected()) {
+      peerQuotas.remove(peerId, newQuota);
+    }
+    return newQuota;
+  }
+
+  private static class PeerQuota {
+    private final TokenBucket objectQuota;
+    private final TokenBucket violations;
+
+    private PeerQuota(final TokenBucket objectQuota, final TokenBucket violations) {
+      this.objectQuota = objectQuota;
+      this.violations = violations;
+    }
+  }
+
+  private static class ChargingResponseCallback<T> implements ResponseCallback<T> {
+    private final ResponseCallback<T> delegate;
+    private final TokenBucket peerQuota;
+    private final TokenBucket totalQuota;
+    private final AtomicLong remainingReservation;
+
+    private ChargingResponseCallback(
+        final ResponseCallback<T> delegate,
+        final TokenBucket peerQuota,
+        final TokenBucket totalQuota,
+        final long reservation) {
+      this.delegate = delegate;
+      this.peerQuota = peerQuota;
+      this.totalQuota = totalQuota;
+      this.remainingReservation = new AtomicLong(reservation);
+    }
+
+    @Override
+    public void respond(final T data) {
+      charge();
+      delegate.respond(data);
+    }
+
+    @Override
+    public void respondSsz(final Bytes sszData) {
+      charge();
+      delegate.respondSsz(sszData);
+    }
+
+    @Override
+    public void completeSuccessfully() {
+      releaseUnused();
+      delegate.completeSuccessfully();
+    }
+
+    @Override
+    public void completeWithError(final RpcException error) {
+      releaseUnused();
+      delegate.completeWithError(error);
+    }
+
+    private void charge() {
+      if (remainingReservation.getAndDecrement() <= 0) {
+        // Sending more than was reserved, so charge as we go
+        peerQuota.reserve(1);
+        totalQuota.reserve(1);
+      }
+    }
+
+    private void releaseUnused() {
+      final long unused = remainingReservation.getAndSet(0);
+      if (unused > 0) {
+        peerQuota.release(unused);
+        totalQuota.release(unused);
+      }
+    }
+  }
+}
@@ -13,9 +13,19 @@
 
 package tech.pegasys.artemis.networking.eth2.rpc.core;
 
+import org.apache.tuweni.bytes.Bytes;
+
 public interface ResponseCallback<T> {
   void respond(T data);
 
+  /**
+   * Responds with data which is already SSZ serialized, avoiding the need to deserialize and
+   * re-serialize data loaded from storage.
+   *
+   * @param sszData The SSZ serialization of a response
+   */
+  void respondSsz(Bytes sszData);
+
   void completeSuccessfully();
 
   void completeWithError(RpcException error);
@@ -39,6 +39,11 @@ public final class RpcEncoder {
     return Bytes.concatenate(Bytes.of(SUCCESS_RESPONSE_CODE), encoding.encodePayload(response));
   }
 
+  public Bytes encodeSuccessfulSszResponse(Bytes sszResponse) {
+    return Bytes.concatenate(
+        Bytes.of(SUCCESS_RESPONSE_CODE), encoding.encodeSszPayload(sszResponse));
+  }
+
   public Bytes encodeErrorResponse(RpcException error) {
     return Bytes.concatenate(
         Bytes.of(error.getResponseCode()), encoding.encodePayload(error.getErrorMessage()));
@@ -44,6 +44,12 @@ public class RpcException extends Exception {
   public static final RpcException CHUNK_TOO_LONG =
       new RpcException(INVALID_REQUEST_CODE, "Chunk exceeds maximum allowed length");
 
+  // Rate limiting
+  public static final RpcException RATE_LIMITED =
+      new RpcException(INVALID_REQUEST_CODE, "Peer has exceeded its request rate limit");
+  public static final RpcException SERVER_BUSY =
+      new RpcException(SERVER_ERROR_CODE, "Server is busy, try again later");
+
   private final byte responseCode;
   private final String errorMessage;
 
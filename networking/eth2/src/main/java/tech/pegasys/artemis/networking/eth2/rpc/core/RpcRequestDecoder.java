@@ -13,11 +13,10 @@
 
 package tech.pegasys.artemis.networking.eth2.rpc.core;
 
-import java.io.IOException;
-import java.io.InputStream;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import io.netty.buffer.ByteBuf;
+import java.util.Optional;
 import tech.pegasys.artemis.datastructures.networking.libp2p.rpc.RpcRequest;
+import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.ByteBufDecoder;
 import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.RpcEncoding;
 
 /**
@@ -26,30 +25,44 @@ import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.RpcEncoding;
  * @param <T> The type of request to expect
  */
 public class RpcRequestDecoder<T extends RpcRequest> {
-  private static final Logger LOG = LogManager.getLogger();
-
-  private final Class<T> requestType;
-  private final RpcEncoding encoding;
+  private final ByteBufDecoder<T, RpcException> payloadDecoder;
+  private boolean requestDecoded = false;
 
   public RpcRequestDecoder(final Class<T> requestType, final RpcEncoding encoding) {
-    this.requestType = requestType;
-    this.encoding = encoding;
+    this.payloadDecoder = encoding.createDecoder(requestType);
   }
 
-  public T decodeRequest(final InputStream input) throws RpcException {
-    final T request = encoding.decodePayload(input, requestType);
-
-    // Check for extra bytes remaining
-    try {
-      if (input.available() != 0) {
+  /**
+   * Consumes the next bytes received for this request.
+   *
+   * @param input The newly received bytes
+   * @return The request once all of its bytes have been received, otherwise empty
+   * @throws RpcException If the request is invalid or followed by additional data
+   */
+  public Optional<T> decodeRequest(final ByteBuf input) throws RpcException {
+    if (requestDecoded) {
+      if (input.isReadable()) {
+        throw RpcException.EXTRA_DATA_APPENDED;
+      }
+      return Optional.empty();
+    }
+    final Optional<T> request = payloadDecoder.decodeOneMessage(input);
+    if (request.isPresent()) {
+      requestDecoded = true;
+      // Check for extra bytes remaining
+      if (input.isReadable()) {
         throw RpcException.EXTRA_DATA_APPENDED;
       }
-    } catch (IOException e) {
-      // We were unable to check for extra bytes - log a warning and continue on
-      LOG.warn(
-          "Unexpected error encountered while checking bytes remaining in rpc input stream.", e);
     }
-
     return request;
   }
+
+  /**
+   * Called once the remote peer has finished sending data.
+   *
+   * @throws RpcException If the request was not fully received
+   */
+  public void complete() throws RpcException {
+    payloadDecoder.complete();
+  }
 }
@@ -15,6 +15,7 @@ package tech.pegasys.artemis.networking.eth2.rpc.core;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.artemis.networking.p2p.rpc.RpcStream;
 import tech.pegasys.artemis.networking.p2p.rpc.RpcStream.StreamClosedException;
 
@@ -33,6 +34,11 @@ class RpcResponseCallback<TResponse> implements ResponseCallback<TResponse> {
     rpcStream.writeBytes(rpcEncoder.encodeSuccessfulResponse(data)).reportExceptions();
   }
 
+  @Override
+  public void respondSsz(final Bytes sszData) {
+    rpcStream.writeBytes(rpcEncoder.encodeSuccessfulSszResponse(sszData)).reportExceptions();
+  }
+
   @Override
   public void completeSuccessfully() {
     rpcStream.closeWriteStream().reportExceptions();
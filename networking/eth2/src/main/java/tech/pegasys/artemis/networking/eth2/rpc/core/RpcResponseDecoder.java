@@ -14,15 +14,10 @@
 package tech.pegasys.artemis.networking.eth2.rpc.core;
 
 import static tech.pegasys.artemis.networking.eth2.rpc.core.RpcResponseStatus.SUCCESS_RESPONSE_CODE;
-import static tech.pegasys.artemis.util.bytes.ByteUtil.toByteExactUnsigned;
-import static tech.pegasys.artemis.util.iostreams.IOStreamConstants.END_OF_STREAM;
 
-import java.io.IOException;
-import java.io.InputStream;
+import io.netty.buffer.ByteBuf;
 import java.util.Optional;
-import java.util.OptionalInt;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.ByteBufDecoder;
 import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.RpcEncoding;
 
 /**
@@ -31,65 +26,74 @@ import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.RpcEncoding;
  * @param <T>
  */
 public class RpcResponseDecoder<T> {
-  private static final Logger LOG = LogManager.getLogger();
-
   private final Class<T> responseType;
   private final RpcEncoding encoding;
 
+  private Optional<Byte> respCode = Optional.empty();
+  private Optional<ByteBufDecoder<T, RpcException>> payloadDecoder = Optional.empty();
+  private Optional<ByteBufDecoder<String, RpcException>> errorDecoder = Optional.empty();
+
   protected RpcResponseDecoder(final Class<T> responseType, final RpcEncoding encoding) {
     this.responseType = responseType;
     this.encoding = encoding;
   }
 
-  public Optional<T> decodeNextResponse(final InputStream input) throws RpcException {
-    return decodeNextResponse(input, Optional.empty());
-  }
-
-  public Optional<T> decodeNextResponse(
-      final InputStream input, final FirstByteReceivedListener firstByteReceivedListener)
-      throws RpcException {
-    return decodeNextResponse(input, Optional.of(firstByteReceivedListener));
-  }
-
-  private Optional<T> decodeNextResponse(
-      final InputStream input, Optional<FirstByteReceivedListener> firstByteListener)
-      throws RpcException {
-    try {
-      final OptionalInt maybeStatus = getNextStatusCode(input);
-      if (maybeStatus.isEmpty()) {
-        // Empty status indicates we're finished reading responses
+  /**
+   * Consumes bytes from {@code input} until the next response has been decoded. Bytes following
+   * that response are left unconsumed so callers should keep calling this method until it returns
+   * empty.
+   *
+   * @param input The newly received bytes
+   * @return The next response, or empty if more bytes are required
+   * @throws RpcException If the response is invalid or the peer responded with an error
+   */
+  public Optional<T> decodeNextResponse(final ByteBuf input) throws RpcException {
+    if (respCode.isEmpty()) {
+      if (!input.isReadable()) {
         return Optional.empty();
       }
-      firstByteListener.ifPresent(FirstByteReceivedListener::onFirstByteReceived);
-      final int status = maybeStatus.getAsInt();
-      if (status == SUCCESS_RESPONSE_CODE) {
-        final T response = encoding.decodePayload(input, responseType);
-        return Optional.of(response);
-      } else {
-        throw decodeError(input, status);
-      }
-    } catch (IOException e) {
-      LOG.error("Unexpected error while reading rpc responses", e);
-      throw RpcException.SERVER_ERROR;
+      respCode = Optional.of(input.readByte());
     }
-  }
 
-  private RpcException decodeError(final InputStream input, final int statusCode)
-      throws RpcException {
-    final String errorMessage = encoding.decodePayload(input, String.class);
-    return new RpcException(toByteExactUnsigned(statusCode), errorMessage);
+    final byte status = respCode.get();
+    if (status == SUCCESS_RESPONSE_CODE) {
+      if (payloadDecoder.isEmpty()) {
+        payloadDecoder = Optional.of(encoding.createDecoder(responseType));
+      }
+      final Optional<T> response = payloadDecoder.get().decodeOneMessage(input);
+      if (response.isPresent()) {
+        reset();
+      }
+      return response;
+    } else {
+      if (errorDecoder.isEmpty()) {
+        errorDecoder = Optional.of(encoding.createDecoder(String.class));
+      }
+      final Optional<String> errorMessage = errorDecoder.get().decodeOneMessage(input);
+      if (errorMessage.isPresent()) {
+        reset();
+        throw new RpcException(status, errorMessage.get());
+      }
+      return Optional.empty();
+    }
   }
 
-  private OptionalInt getNextStatusCode(final InputStream input) throws IOException {
-    final int nextByte = input.read();
-    if (nextByte == END_OF_STREAM) {
-      return OptionalInt.empty();
+  /**
+   * Called once the remote peer has finished sending responses.
+   *
+   * @throws RpcException If the stream ended part way through a response
+   */
+  public void complete() throws RpcException {
+    if (payloadDecoder.isPresent()) {
+      payloadDecoder.get().complete();
+    } else if (errorDecoder.isPresent()) {
+      errorDecoder.get().complete();
     }
-
-    return OptionalInt.of(nextByte);
   }
 
-  public interface FirstByteReceivedListener {
-    void onFirstByteReceived();
+  private void reset() {
+    respCode = Optional.empty();
+    payloadDecoder = Optional.empty();
+    errorDecoder = Optional.empty();
   }
 }
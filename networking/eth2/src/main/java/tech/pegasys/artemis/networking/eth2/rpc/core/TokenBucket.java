@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.rpc.core;
+
+import tech.pegasys.artemis.util.time.TimeProvider;
+
+/**
+ * A token bucket which refills continuously at a fixed rate, up to its capacity.
+ *
+ * <p>Tokens may be reserved beyond those currently available, leaving the bucket in debt. The
+ * caller is told how long it would take for the debt to be repaid, so it can choose to delay the
+ * work until then or to release the tokens and reject it.
+ */
+public class TokenBucket {
+  private final TimeProvider timeProvider;
+  private final long capacity;
+  private final double refillPerMilli;
+
+  private double tokens;
+  private long lastRefillMillis;
+
+  public TokenBucket(
+      final TimeProvider timeProvider, final long capacity, final double refillPerSecond) {
+    this.timeProvider = timeProvider;
+    this.capacity = capacity;
+    this.refillPerMilli = refillPerSecond / 1000;
+    this.tokens = capacity;
+    this.lastRefillMillis = getCurrentTimeMillis();
+  }
+
+  /**
+   * Reserves the specified number of tokens.
+   *
+   * @param amount The number of tokens to reserve
+   * @return The number of milliseconds until the bucket would have held enough tokens to cover the
+   *     reservation, or zero if it already did
+   */
+  public synchronized long reserve(final long amount) {
+    refill();
+    tokens -= amount;
+    return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / refillPerMilli);
+  }
+
+  /**
+   * Returns previously reserved tokens which were not used.
+   *
+   * @param amount The number of tokens to return
+   */
+  public synchronized void release(final long amount) {
+    refill();
+    tokens = Math.min(capacity, tokens + amount);
+  }
+
+  public long getCapacity() {
+    return capacity;
+  }
+
+  public synchronized long getAvailableTokens() {
+    refill();
+    return (long) Math.max(0, Math.floor(tokens));
+  }
+
+  private void refill() {
+    final long now = getCurrentTimeMillis();
+    final long elapsedMillis = now - lastRefillMillis;
+    if (elapsedMillis > 0) {
+      tokens = Math.min(capacity, tokens + elapsedMillis * refillPerMilli);
+      lastRefillMillis = now;
+    }
+  }
+
+  private long getCurrentTimeMillis() {
+    return timeProvider.getTimeInMillis().longValue();
+  }
+}
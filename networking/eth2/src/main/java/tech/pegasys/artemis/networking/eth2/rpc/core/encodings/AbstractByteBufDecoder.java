@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.rpc.core.encodings;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.Optional;
+
+/**
+ * Accumulates received bytes until the underlying implementation is able to make progress, so
+ * implementations only need to handle the case where all required bytes are readable at once.
+ *
+ * <p>Implementations must leave bytes unconsumed when they are unable to make progress with them.
+ */
+public abstract class AbstractByteBufDecoder<TMessage, TException extends Exception>
+    implements ByteBufDecoder<TMessage, TException> {
+
+  private CompositeByteBuf cumulation = Unpooled.compositeBuffer();
+
+  @Override
+  public Optional<TMessage> decodeOneMessage(final ByteBuf in) throws TException {
+    if (in.isReadable()) {
+      cumulation.addComponent(true, in.retainedSlice());
+    }
+    boolean succeeded = false;
+    try {
+      Optional<TMessage> message;
+      int readerIndex;
+      do {
+        readerIndex = cumulation.readerIndex();
+        message = decodeOneImpl(cumulation);
+      } while (message.isEmpty()
+          && cumulation.isReadable()
+          && cumulation.readerIndex() != readerIndex);
+
+      if (message.isPresent()) {
+        // Leave any bytes following the decoded message for the caller
+        in.skipBytes(in.readableBytes() - cumulation.readableBytes());
+        releaseCumulation();
+      } else {
+        in.skipBytes(in.readableBytes());
+      }
+      succeeded = true;
+      return message;
+    } finally {
+      if (!succeeded) {
+        releaseCumulation();
+      }
+    }
+  }
+
+  @Override
+  public void complete() throws TException {
+    releaseCumulation();
+    throwIfIncomplete();
+  }
+
+  private void releaseCumulation() {
+    cumulation.release();
+    cumulation = Unpooled.compositeBuffer();
+  }
+
+  /**
+   * Attempt to make progress decoding the message from the accumulated bytes.
+   *
+   * @param in All received bytes not yet consumed
+   * @return The decoded message if complete, otherwise empty
+   */
+  protected abstract Optional<TMessage> decodeOneImpl(ByteBuf in) throws TException;
+
+  /** Called once no more bytes will arrive to report a partially received message. */
+  protected abstract void throwIfIncomplete() throws TException;
+}
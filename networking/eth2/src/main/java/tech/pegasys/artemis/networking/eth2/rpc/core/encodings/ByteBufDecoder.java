@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.rpc.core.encodings;
+
+import io.netty.buffer.ByteBuf;
+import java.util.Optional;
+
+/**
+ * An incremental decoder which consumes bytes as they arrive from the network and produces a
+ * message once enough bytes have been received.
+ *
+ * @param <TMessage> The type of message produced
+ * @param <TException> The type of error raised for invalid or truncated data
+ */
+public interface ByteBufDecoder<TMessage, TException extends Exception> {
+
+  /**
+   * Consumes bytes from {@code in} until a single message has been decoded. Bytes belonging to a
+   * partially received message are retained by the decoder, so any bytes left readable in {@code
+   * in} after this call belong to whatever follows the decoded message.
+   *
+   * @param in The newly received bytes
+   * @return The decoded message, or empty if more bytes are required
+   */
+  Optional<TMessage> decodeOneMessage(ByteBuf in) throws TException;
+
+  /**
+   * Signals that no more bytes will arrive, releasing any retained bytes.
+   *
+   * @throws TException If a message was only partially received
+   */
+  void complete() throws TException;
+}
@@ -13,7 +13,6 @@
 
 package tech.pegasys.artemis.networking.eth2.rpc.core.encodings;
 
-import java.io.InputStream;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.artemis.networking.eth2.compression.Compressor;
 import tech.pegasys.artemis.networking.eth2.rpc.core.RpcException;
@@ -44,11 +43,13 @@ public class LengthPrefixedEncoding implements RpcEncoding {
   }
 
   @Override
-  public <T> T decodePayload(final InputStream inputStream, final Class<T> payloadType)
-      throws RpcException {
-    final LengthPrefixedPayloadDecoder<T> payloadDecoder =
-        new LengthPrefixedPayloadDecoder<>(payloadEncoders.getEncoder(payloadType), compressor);
-    return payloadDecoder.decodePayload(inputStream);
+  public Bytes encodeSszPayload(final Bytes sszPayload) {
+    return encodeMessageWithLength(sszPayload);
+  }
+
+  @Override
+  public <T> ByteBufDecoder<T, RpcException> createDecoder(final Class<T> payloadType) {
+    return new LengthPrefixedPayloadDecoder<>(payloadEncoders.getEncoder(payloadType), compressor);
   }
 
   private Bytes encodeMessageWithLength(final Bytes payload) {
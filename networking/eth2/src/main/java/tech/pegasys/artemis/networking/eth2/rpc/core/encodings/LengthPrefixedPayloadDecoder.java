@@ -14,12 +14,12 @@
 package tech.pegasys.artemis.networking.eth2.rpc.core.encodings;
 
 import static tech.pegasys.artemis.util.config.Constants.MAX_CHUNK_SIZE;
-import static tech.pegasys.artemis.util.iostreams.IOStreamConstants.END_OF_STREAM;
 
 import com.google.protobuf.CodedInputStream;
-import java.io.ByteArrayOutputStream;
+import io.netty.buffer.ByteBuf;
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.Optional;
+import java.util.OptionalInt;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
@@ -29,7 +29,12 @@ import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadLarger
 import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadSmallerThanExpectedException;
 import tech.pegasys.artemis.networking.eth2.rpc.core.RpcException;
 
-class LengthPrefixedPayloadDecoder<T> {
+/**
+ * Decodes a single length-prefixed payload as its bytes arrive
+ *
+ * @param <T> The type of payload to decode
+ */
+class LengthPrefixedPayloadDecoder<T> extends AbstractByteBufDecoder<T, RpcException> {
   private static final Logger LOG = LogManager.getLogger();
 
   static final Bytes MAX_CHUNK_SIZE_PREFIX = ProtobufEncoder.encodeVarInt(MAX_CHUNK_SIZE);
@@ -37,43 +42,51 @@ class LengthPrefixedPayloadDecoder<T> {
   private final RpcPayloadEncoder<T> payloadEncoder;
   private final Compressor compressor;
 
+  private Optional<ByteBufDecoder<Bytes, CompressionException>> payloadDecoder = Optional.empty();
+  private boolean decoded = false;
+
   public LengthPrefixedPayloadDecoder(
       final RpcPayloadEncoder<T> payloadEncoder, final Compressor compressor) {
     this.payloadEncoder = payloadEncoder;
     this.compressor = compressor;
   }
 
-  public T decodePayload(final InputStream inputStream) throws RpcException {
+  @Override
+  protected Optional<T> decodeOneImpl(final ByteBuf in) throws RpcException {
+    if (payloadDecoder.isEmpty()) {
+      final OptionalInt uncompressedPayloadSize = processLengthPrefixHeader(in);
+      if (uncompressedPayloadSize.isEmpty()) {
+        return Optional.empty();
+      }
+      payloadDecoder = Optional.of(compressor.createDecoder(uncompressedPayloadSize.getAsInt()));
+    }
+
     try {
-      final int uncompressedPayloadSize = processLengthPrefixHeader(inputStream);
-      return processPayload(inputStream, uncompressedPayloadSize);
-    } catch (PayloadSmallerThanExpectedException e) {
-      throw RpcException.PAYLOAD_TRUNCATED;
-    } catch (PayloadLargerThanExpectedException e) {
-      throw RpcException.EXTRA_DATA_APPENDED;
+      final Optional<Bytes> uncompressedPayload = payloadDecoder.get().decodeOneMessage(in);
+      if (uncompressedPayload.isEmpty()) {
+        return Optional.empty();
+      }
+      decoded = true;
+      return Optional.of(payloadEncoder.decode(uncompressedPayload.get()));
     } catch (CompressionException e) {
-      LOG.debug("Failed to uncompress rpc payload", e);
-      throw RpcException.FAILED_TO_UNCOMPRESS_MESSAGE;
-    } catch (IOException e) {
-      LOG.error("Unable to decode rpc payload", e);
-      throw RpcException.SERVER_ERROR;
+      throw toRpcException(e);
     }
   }
 
-  /** Decode the length-prefix header, which contains the length of the uncompressed payload */
-  private int processLengthPrefixHeader(final InputStream inputStream)
-      throws RpcException, IOException {
-    // Collect length prefix raw bytes
-    final ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
-
+  /**
+   * Decode the length-prefix header, which contains the length of the uncompressed payload. The
+   * header is only consumed once all of its bytes are available.
+   */
+  private OptionalInt processLengthPrefixHeader(final ByteBuf in) throws RpcException {
+    int headerLength = 0;
     boolean foundTerminatingCharacter = false;
-    int nextByte;
-    while ((nextByte = inputStream.read()) != END_OF_STREAM) {
-      if (headerBytes.size() >= MAX_CHUNK_SIZE_PREFIX.size()) {
+    while (headerLength < in.readableBytes()) {
+      if (headerLength >= MAX_CHUNK_SIZE_PREFIX.size()) {
         // Any protobuf length requiring more bytes than this will also be bigger.
         throw RpcException.CHUNK_TOO_LONG;
       }
-      headerBytes.write(nextByte);
+      final byte nextByte = in.getByte(in.readerIndex() + headerLength);
+      headerLength++;
       if ((nextByte & 0x80) == 0) {
         // Var int ends at first byte where (b & 0x80) == 0
         foundTerminatingCharacter = true;
@@ -82,14 +95,16 @@ class LengthPrefixedPayloadDecoder<T> {
     }
 
     if (!foundTerminatingCharacter) {
-      throw RpcException.MESSAGE_TRUNCATED;
+      return OptionalInt.empty();
     }
 
     // Decode length prefix from raw bytes
-    final CodedInputStream in = CodedInputStream.newInstance(headerBytes.toByteArray());
+    final byte[] headerBytes = new byte[headerLength];
+    in.readBytes(headerBytes);
+    final CodedInputStream codedInput = CodedInputStream.newInstance(headerBytes);
     final int uncompressedPayloadSize;
     try {
-      uncompressedPayloadSize = in.readRawVarint32();
+      uncompressedPayloadSize = codedInput.readRawVarint32();
     } catch (final IOException e) {
       throw RpcException.MALFORMED_MESSAGE_LENGTH;
     }
@@ -101,15 +116,32 @@ class LengthPrefixedPayloadDecoder<T> {
     }
 
     // Return payload size metadata
-    return uncompressedPayloadSize;
+    return OptionalInt.of(uncompressedPayloadSize);
+  }
+
+  @Override
+  protected void throwIfIncomplete() throws RpcException {
+    if (decoded) {
+      return;
+    }
+    if (payloadDecoder.isEmpty()) {
+      throw RpcException.MESSAGE_TRUNCATED;
+    }
+    try {
+      payloadDecoder.get().complete();
+    } catch (CompressionException e) {
+      throw toRpcException(e);
+    }
+    throw RpcException.PAYLOAD_TRUNCATED;
   }
 
-  private T processPayload(final InputStream inputStream, final int uncompressedPayloadSize)
-      throws RpcException, CompressionException {
-    final Bytes uncompressedPayload = compressor.uncompress(inputStream, uncompressedPayloadSize);
-    if (uncompressedPayload.size() < uncompressedPayloadSize) {
-      throw RpcException.PAYLOAD_TRUNCATED;
+  private RpcException toRpcException(final CompressionException e) {
+    if (e instanceof PayloadSmallerThanExpectedException) {
+      return RpcException.PAYLOAD_TRUNCATED;
+    } else if (e instanceof PayloadLargerThanExpectedException) {
+      return RpcException.EXTRA_DATA_APPENDED;
     }
-    return payloadEncoder.decode(uncompressedPayload);
+    LOG.debug("Failed to uncompress rpc payload", e);
+    return RpcException.FAILED_TO_UNCOMPRESS_MESSAGE;
   }
 }
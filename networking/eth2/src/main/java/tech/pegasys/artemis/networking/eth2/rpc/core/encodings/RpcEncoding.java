@@ -13,7 +13,6 @@
 
 package tech.pegasys.artemis.networking.eth2.rpc.core.encodings;
 
-import java.io.InputStream;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.artemis.networking.eth2.compression.NoopCompressor;
 import tech.pegasys.artemis.networking.eth2.compression.SnappyCompressor;
@@ -38,16 +37,23 @@ public interface RpcEncoding {
   <T> Bytes encodePayload(T payload);
 
   /**
-   * Synchronously decodes a single payload value from the given input stream. The first available
-   * byte is expected to be the first byte of an encoded payload and header matching the expected
-   * type.
+   * Encodes a payload which has already been SSZ serialized, such as a block loaded from the
+   * database, with its encoding-dependent header
+   *
+   * @param sszPayload The SSZ serialized payload
+   * @return The encoded header and payload bytes
+   */
+  Bytes encodeSszPayload(Bytes sszPayload);
+
+  /**
+   * Creates a decoder for a single payload value. The first byte supplied to the decoder is
+   * expected to be the first byte of an encoded payload and header matching the expected type.
    *
    * @param <T> The type of payload to decode
    * @param payloadType The type of payload to decode
-   * @return The decoded payload
+   * @return A single-use decoder for the payload
    */
-  <T> T decodePayload(final InputStream inputStream, final Class<T> payloadType)
-      throws RpcException;
+  <T> ByteBufDecoder<T, RpcException> createDecoder(final Class<T> payloadType);
 
   String getName();
 }
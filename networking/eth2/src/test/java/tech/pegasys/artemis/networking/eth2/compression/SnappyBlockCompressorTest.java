@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.compression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.xerial.snappy.Snappy;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.networking.eth2.compression.exceptions.CompressionException;
+import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadLargerThanExpectedException;
+
+public class SnappyBlockCompressorTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final SnappyBlockCompressor compressor = new SnappyBlockCompressor();
+
+  @Test
+  public void roundTrip() throws Exception {
+    final BeaconState state = dataStructureUtil.randomBeaconState(0);
+    final Bytes serializedState =
+        Bytes.wrap(SimpleOffsetSerializer.serialize(state).toArrayUnsafe());
+
+    final Bytes compressed = compressor.compress(serializedState);
+    assertThat(compressed).isNotEqualTo(serializedState);
+
+    assertThat(compressor.uncompress(compressed, serializedState.size()))
+        .isEqualTo(serializedState);
+  }
+
+  @Test
+  public void compress_shouldMatchSnappyBlockFormat() throws Exception {
+    final Bytes data = Bytes.fromHexString("0x0102030401020304010203040102030401020304");
+
+    final Bytes compressed = compressor.compress(data);
+
+    assertThat(Bytes.wrap(Snappy.uncompress(compressed.toArrayUnsafe()))).isEqualTo(data);
+  }
+
+  @Test
+  public void compress_shouldNotShareBuffersBetweenResults() {
+    final Bytes data1 = Bytes.fromHexString("0x01020304");
+    final Bytes data2 = Bytes.fromHexString("0x05060708");
+
+    final Bytes compressed1 = compressor.compress(data1);
+    final Bytes expected = compressed1.copy();
+    compressor.compress(data2);
+
+    assertThat(compressed1).isEqualTo(expected);
+  }
+
+  @Test
+  public void uncompress_shouldRejectPayloadLargerThanMaximumBeforeUncompressing() {
+    final Bytes data = Bytes.wrap(new byte[1000]);
+    final Bytes compressed = compressor.compress(data);
+
+    assertThatThrownBy(() -> compressor.uncompress(compressed, data.size() - 1))
+        .isInstanceOf(PayloadLargerThanExpectedException.class);
+  }
+
+  @Test
+  public void uncompress_invalidData() {
+    final Bytes data = Bytes.fromHexString("0x05ffffffffff");
+
+    assertThatThrownBy(() -> compressor.uncompress(data, 100))
+        .isInstanceOf(CompressionException.class);
+  }
+}
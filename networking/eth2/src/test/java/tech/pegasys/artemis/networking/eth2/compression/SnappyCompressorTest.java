@@ -15,20 +15,22 @@ package tech.pegasys.artemis.networking.eth2.compression;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static tech.pegasys.artemis.networking.eth2.compression.SnappyCompressor.MAX_FRAME_CONTENT_SIZE;
+import static tech.pegasys.artemis.networking.eth2.compression.SnappyFrameFormat.MAX_FRAME_CONTENT_SIZE;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
+import org.xerial.snappy.SnappyFramedInputStream;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
 import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.artemis.networking.eth2.compression.exceptions.CompressionException;
 import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadLargerThanExpectedException;
 import tech.pegasys.artemis.networking.eth2.compression.exceptions.PayloadSmallerThanExpectedException;
+import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.ByteBufDecoder;
 
 public class SnappyCompressorTest {
   // The static snappy header taken from the Snappy library
@@ -53,6 +55,39 @@ public class SnappyCompressorTest {
     assertThat(uncompressed).isEqualTo(serializedState);
   }
 
+  @Test
+  public void roundTrip_emptyPayload() throws Exception {
+    final Bytes compressed = compressor.compress(Bytes.EMPTY);
+    assertThat(compressed).isEqualTo(SNAPPY_HEADER);
+
+    assertThat(compressor.uncompress(compressed, 0)).isEqualTo(Bytes.EMPTY);
+  }
+
+  @Test
+  public void roundTrip_incompressiblePayload() throws Exception {
+    final Bytes data = dataStructureUtil.randomBytes32();
+
+    final Bytes compressed = compressor.compress(data);
+
+    assertThat(compressor.uncompress(compressed, data.size())).isEqualTo(data);
+  }
+
+  @Test
+  public void compress_shouldBeReadableBySnappyFramedInputStream() throws Exception {
+    final BeaconState state = dataStructureUtil.randomBeaconState(0);
+    final Bytes serializedState =
+        Bytes.wrap(SimpleOffsetSerializer.serialize(state).toArrayUnsafe());
+    // Check assumptions
+    assertThat(serializedState.size()).isGreaterThan(MAX_FRAME_CONTENT_SIZE);
+
+    final Bytes compressed = compressor.compress(serializedState);
+
+    try (final SnappyFramedInputStream in =
+        new SnappyFramedInputStream(new ByteArrayInputStream(compressed.toArrayUnsafe()))) {
+      assertThat(Bytes.wrap(in.readAllBytes())).isEqualTo(serializedState);
+    }
+  }
+
   @Test
   public void uncompress_invalidData() {
     final BeaconState state = dataStructureUtil.randomBeaconState(0);
@@ -75,17 +110,18 @@ public class SnappyCompressorTest {
     final Bytes compressedA = compressor.compress(serializedStateA);
     final Bytes compressedB = compressor.compress(serializedStateB);
     final Bytes compressedSeries = Bytes.concatenate(compressedA, compressedB);
-    final InputStream input = new ByteArrayInputStream(compressedSeries.toArrayUnsafe());
+    final ByteBuf input = Unpooled.wrappedBuffer(compressedSeries.toArrayUnsafe());
 
     // Get first value
-    final Bytes uncompressed = compressor.uncompress(input, serializedStateA.size());
-    assertThat(uncompressed).isEqualTo(serializedStateA);
+    final Optional<Bytes> uncompressed =
+        compressor.createDecoder(serializedStateA.size()).decodeOneMessage(input);
+    assertThat(uncompressed).contains(serializedStateA);
     // Then next value
-    final Bytes uncompressed2 = compressor.uncompress(input, serializedStateB.size());
-    assertThat(uncompressed2).isEqualTo(serializedStateB);
-    // Input stream should now be closed
-    assertThat(input.available()).isEqualTo(0);
-    assertThat(input.read()).isEqualTo(-1);
+    final Optional<Bytes> uncompressed2 =
+        compressor.createDecoder(serializedStateB.size()).decodeOneMessage(input);
+    assertThat(uncompressed2).contains(serializedStateB);
+    // All input should now be consumed
+    assertThat(input.isReadable()).isFalse();
   }
 
   @Test
@@ -98,8 +134,7 @@ public class SnappyCompressorTest {
     final int payloadSize = serializedState.size();
     final Bytes compressed = compressor.compress(serializedState.slice(1));
 
-    final InputStream input = new ByteArrayInputStream(compressed.toArrayUnsafe());
-    assertThatThrownBy(() -> compressor.uncompress(input, payloadSize))
+    assertThatThrownBy(() -> compressor.uncompress(compressed, payloadSize))
         .isInstanceOf(PayloadSmallerThanExpectedException.class);
   }
 
@@ -115,8 +150,7 @@ public class SnappyCompressorTest {
         Bytes.concatenate(serializedState, Bytes.fromHexString("0x01"));
     final Bytes compressed = compressor.compress(payloadWithExtraData);
 
-    final InputStream input = new ByteArrayInputStream(compressed.toArrayUnsafe());
-    assertThatThrownBy(() -> compressor.uncompress(input, payloadSize))
+    assertThatThrownBy(() -> compressor.uncompress(compressed, payloadSize))
         .isInstanceOf(PayloadLargerThanExpectedException.class);
   }
 
@@ -140,8 +174,7 @@ public class SnappyCompressorTest {
     final int maxExpectedCompressedBytes = compressor.getMaxCompressedLength(uncompressedByteCount);
     assertThat(maliciousPayload.size()).isGreaterThan(maxExpectedCompressedBytes);
 
-    final InputStream input = new ByteArrayInputStream(maliciousPayload.toArray());
-    assertThatThrownBy(() -> compressor.uncompress(input, uncompressedByteCount))
+    assertThatThrownBy(() -> compressor.uncompress(maliciousPayload, uncompressedByteCount))
         .isInstanceOf(CompressionException.class);
   }
 
@@ -153,17 +186,34 @@ public class SnappyCompressorTest {
 
     final Bytes compressed = compressor.compress(serializedState);
     final int partialPayloadSize = MAX_FRAME_CONTENT_SIZE / 2;
-    final int bytesToRead = partialPayloadSize / 2;
     // Check assumptions
     assertThat(serializedState.size()).isGreaterThan(MAX_FRAME_CONTENT_SIZE);
-    // Calculate the number of compressed bytes to request
-    final int fullCapacity = Math.max(compressed.size(), serializedState.size());
-
-    try (final PipedOutputStream outputStream = new PipedOutputStream();
-        final InputStream inputStream = new PipedInputStream(outputStream, fullCapacity)) {
-      outputStream.write(compressed.slice(0, partialPayloadSize).toArrayUnsafe());
-      assertThatThrownBy(() -> compressor.uncompress(inputStream, bytesToRead))
-          .isInstanceOf(CompressionException.class);
-    }
+
+    final ByteBufDecoder<Bytes, CompressionException> decoder =
+        compressor.createDecoder(serializedState.size());
+    final ByteBuf input =
+        Unpooled.wrappedBuffer(compressed.slice(0, partialPayloadSize).toArrayUnsafe());
+    // Waits for the rest of the frame rather than failing
+    assertThat(decoder.decodeOneMessage(input)).isEmpty();
+    assertThat(input.isReadable()).isFalse();
+
+    assertThatThrownBy(decoder::complete)
+        .isInstanceOf(PayloadSmallerThanExpectedException.class);
+  }
+
+  @Test
+  public void uncompress_invalidChecksum() {
+    final Bytes data = Bytes.of(1, 2, 3, 4, 5, 6, 7, 8);
+    final Bytes compressed = compressor.compress(data);
+    // The checksum immediately follows the stream identifier and the data frame header
+    final int checksumOffset = SNAPPY_HEADER.size() + 4;
+    final Bytes corrupted =
+        Bytes.concatenate(
+            compressed.slice(0, checksumOffset),
+            compressed.slice(checksumOffset, 1).not(),
+            compressed.slice(checksumOffset + 1));
+
+    assertThatThrownBy(() -> compressor.uncompress(corrupted, data.size()))
+        .isInstanceOf(CompressionException.class);
   }
 }
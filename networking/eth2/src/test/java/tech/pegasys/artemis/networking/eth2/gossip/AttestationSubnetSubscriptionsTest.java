@@ -30,6 +30,7 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.AttestationValidator;
 import tech.pegasys.artemis.networking.p2p.gossip.GossipNetwork;
 import tech.pegasys.artemis.networking.p2p.gossip.TopicChannel;
@@ -37,6 +38,7 @@ import tech.pegasys.artemis.storage.client.RecentChainData;
 
 public class AttestationSubnetSubscriptionsTest {
   private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final GossipEncoding gossipEncoding = GossipEncoding.SSZ;
   private AttestationSubnetSubscriptions subnetSubscriptions;
   private final GossipNetwork gossipNetwork = mock(GossipNetwork.class);
   private final EventBus eventBus = mock(EventBus.class);
@@ -48,7 +50,11 @@ public class AttestationSubnetSubscriptionsTest {
         .thenReturn(Optional.of(dataStructureUtil.randomForkInfo()));
     subnetSubscriptions =
         new AttestationSubnetSubscriptions(
-            gossipNetwork, recentChainData, mock(AttestationValidator.class), eventBus);
+            gossipNetwork,
+            gossipEncoding,
+            recentChainData,
+            mock(AttestationValidator.class),
+            eventBus);
 
     when(gossipNetwork.subscribe(any(), any())).thenReturn(mock(TopicChannel.class));
   }
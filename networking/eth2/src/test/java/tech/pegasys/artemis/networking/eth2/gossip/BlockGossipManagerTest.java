@@ -26,7 +26,7 @@ import org.junit.jupiter.api.Test;
 import tech.pegasys.artemis.core.StateTransition;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
-import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.BlockTopicHandler;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.BlockValidator;
 import tech.pegasys.artemis.networking.p2p.gossip.GossipNetwork;
@@ -38,6 +38,7 @@ import tech.pegasys.artemis.storage.client.RecentChainData;
 public class BlockGossipManagerTest {
 
   private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final GossipEncoding gossipEncoding = GossipEncoding.SSZ;
   private final EventBus eventBus = new EventBus();
   private final RecentChainData recentChainData = MemoryOnlyRecentChainData.create(eventBus);
   private final BlockValidator blockValidator =
@@ -51,14 +52,18 @@ public class BlockGossipManagerTest {
         .when(gossipNetwork)
         .subscribe(contains(BlockTopicHandler.TOPIC_NAME), any());
     new BlockGossipManager(
-        gossipNetwork, eventBus, blockValidator, dataStructureUtil.randomForkInfo());
+        gossipNetwork,
+        gossipEncoding,
+        eventBus,
+        blockValidator,
+        dataStructureUtil.randomForkInfo());
   }
 
   @Test
   public void onBlockProposed() {
     // Should gossip new blocks received from event bus
     SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
-    Bytes serialized = SimpleOffsetSerializer.serialize(block);
+    Bytes serialized = gossipEncoding.encode(block);
     eventBus.post(new ProposedBlockEvent(block));
 
     verify(topicChannel).gossip(serialized);
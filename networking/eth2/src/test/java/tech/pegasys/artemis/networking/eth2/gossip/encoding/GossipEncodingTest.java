@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.gossip.encoding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tech.pegasys.artemis.util.config.Constants.GOSSIP_MAX_SIZE;
+
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.networking.eth2.compression.SnappyBlockCompressor;
+
+public class GossipEncodingTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+
+  public static Stream<Arguments> getEncodings() {
+    return Stream.of(GossipEncoding.SSZ, GossipEncoding.SSZ_SNAPPY)
+        .map(encoding -> Arguments.of(encoding.getName(), encoding));
+  }
+
+  @ParameterizedTest(name = "encoding: {0}")
+  @MethodSource("getEncodings")
+  public void roundTrip(final String name, final GossipEncoding encoding) throws Exception {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
+
+    final Bytes encoded = encoding.encode(block);
+
+    assertThat(encoding.decode(encoded, SignedBeaconBlock.class)).isEqualTo(block);
+  }
+
+  @ParameterizedTest(name = "encoding: {0}")
+  @MethodSource("getEncodings")
+  public void decode_invalidData(final String name, final GossipEncoding encoding) {
+    final Bytes data = Bytes.fromHexString("0x1234");
+
+    assertThatThrownBy(() -> encoding.decode(data, SignedBeaconBlock.class))
+        .isInstanceOf(DecodingException.class);
+  }
+
+  @Test
+  public void sszSnappy_encodeShouldCompressSsz() {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
+    final Bytes ssz = SimpleOffsetSerializer.serialize(block);
+
+    final Bytes encoded = GossipEncoding.SSZ_SNAPPY.encode(block);
+
+    assertThat(encoded).isEqualTo(new SnappyBlockCompressor().compress(ssz));
+  }
+
+  @Test
+  public void sszSnappy_decodeShouldRejectDataLargerThanMaxGossipSize() {
+    final Bytes compressed =
+        new SnappyBlockCompressor().compress(Bytes.wrap(new byte[GOSSIP_MAX_SIZE + 1]));
+
+    assertThatThrownBy(() -> GossipEncoding.SSZ_SNAPPY.decode(compressed, SignedBeaconBlock.class))
+        .isInstanceOf(DecodingException.class);
+  }
+}
@@ -23,45 +23,54 @@ import com.google.common.eventbus.EventBus;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.artemis.datastructures.operations.SignedAggregateAndProof;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
-import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.SignedAggregateAndProofValidator;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.ValidationResult;
+import tech.pegasys.artemis.util.async.SafeFuture;
 
 public class AggregateTopicHandlerTest {
   private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final GossipEncoding gossipEncoding = GossipEncoding.SSZ;
   private final EventBus eventBus = mock(EventBus.class);
   private final SignedAggregateAndProofValidator validator =
       mock(SignedAggregateAndProofValidator.class);
   private final AggregateTopicHandler topicHandler =
-      new AggregateTopicHandler(eventBus, dataStructureUtil.randomForkInfo(), validator);
+      new AggregateTopicHandler(
+          eventBus, gossipEncoding, dataStructureUtil.randomForkInfo(), validator);
 
   @Test
   public void handleMessage_validAggregate() {
     final SignedAggregateAndProof aggregate = dataStructureUtil.randomSignedAggregateAndProof();
-    when(validator.validate(aggregate)).thenReturn(ValidationResult.VALID);
+    when(validator.validate(aggregate))
+        .thenReturn(SafeFuture.completedFuture(ValidationResult.VALID));
 
-    final boolean result = topicHandler.handleMessage(SimpleOffsetSerializer.serialize(aggregate));
-    assertThat(result).isTrue();
+    final SafeFuture<Boolean> result =
+        topicHandler.handleMessage(gossipEncoding.encode(aggregate));
+    assertThat(result).isCompletedWithValue(true);
     verify(eventBus).post(aggregate);
   }
 
   @Test
   public void handleMessage_savedForFuture() {
     final SignedAggregateAndProof aggregate = dataStructureUtil.randomSignedAggregateAndProof();
-    when(validator.validate(aggregate)).thenReturn(ValidationResult.SAVED_FOR_FUTURE);
+    when(validator.validate(aggregate))
+        .thenReturn(SafeFuture.completedFuture(ValidationResult.SAVED_FOR_FUTURE));
 
-    final boolean result = topicHandler.handleMessage(SimpleOffsetSerializer.serialize(aggregate));
-    assertThat(result).isFalse();
+    final SafeFuture<Boolean> result =
+        topicHandler.handleMessage(gossipEncoding.encode(aggregate));
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus).post(aggregate);
   }
 
   @Test
   public void handleMessage_invalidAggregate() {
     final SignedAggregateAndProof aggregate = dataStructureUtil.randomSignedAggregateAndProof();
-    when(validator.validate(aggregate)).thenReturn(ValidationResult.INVALID);
+    when(validator.validate(aggregate))
+        .thenReturn(SafeFuture.completedFuture(ValidationResult.INVALID));
 
-    final boolean result = topicHandler.handleMessage(SimpleOffsetSerializer.serialize(aggregate));
-    assertThat(result).isFalse();
+    final SafeFuture<Boolean> result =
+        topicHandler.handleMessage(gossipEncoding.encode(aggregate));
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus, never()).post(aggregate);
   }
 }
@@ -34,23 +34,29 @@ import tech.pegasys.artemis.core.AttestationGenerator;
 import tech.pegasys.artemis.datastructures.blocks.BeaconBlockAndState;
 import tech.pegasys.artemis.datastructures.operations.Attestation;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
-import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.AttestationValidator;
 import tech.pegasys.artemis.statetransition.BeaconChainUtil;
 import tech.pegasys.artemis.storage.client.MemoryOnlyRecentChainData;
 import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.SafeFuture;
 
 public class AttestationTopicHandlerTest {
 
   private static final UnsignedLong SUBNET_ID = UnsignedLong.valueOf(1);
   private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final GossipEncoding gossipEncoding = GossipEncoding.SSZ_SNAPPY;
   private final List<BLSKeyPair> validatorKeys = BLSKeyGenerator.generateKeyPairs(12);
   private final EventBus eventBus = mock(EventBus.class);
   private final RecentChainData recentChainData = MemoryOnlyRecentChainData.create(eventBus);
   private final AttestationValidator attestationValidator = mock(AttestationValidator.class);
   private final AttestationTopicHandler topicHandler =
       new AttestationTopicHandler(
-          eventBus, attestationValidator, SUBNET_ID, dataStructureUtil.randomForkInfo());
+          eventBus,
+          gossipEncoding,
+          attestationValidator,
+          SUBNET_ID,
+          dataStructureUtil.randomForkInfo());
 
   @BeforeEach
   public void setup() {
@@ -62,11 +68,12 @@ public class AttestationTopicHandlerTest {
     final AttestationGenerator attestationGenerator = new AttestationGenerator(validatorKeys);
     final BeaconBlockAndState blockAndState = recentChainData.getBestBlockAndState().orElseThrow();
     final Attestation attestation = attestationGenerator.validAttestation(blockAndState);
-    when(attestationValidator.validate(attestation, SUBNET_ID)).thenReturn(VALID);
-    final Bytes serialized = SimpleOffsetSerializer.serialize(attestation);
+    when(attestationValidator.validate(attestation, SUBNET_ID))
+        .thenReturn(SafeFuture.completedFuture(VALID));
+    final Bytes serialized = gossipEncoding.encode(attestation);
 
-    final boolean result = topicHandler.handleMessage(serialized);
-    assertThat(result).isEqualTo(true);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(serialized);
+    assertThat(result).isCompletedWithValue(true);
     verify(eventBus).post(attestation);
   }
 
@@ -75,11 +82,12 @@ public class AttestationTopicHandlerTest {
     final AttestationGenerator attestationGenerator = new AttestationGenerator(validatorKeys);
     final BeaconBlockAndState blockAndState = recentChainData.getBestBlockAndState().orElseThrow();
     final Attestation attestation = attestationGenerator.validAttestation(blockAndState);
-    when(attestationValidator.validate(attestation, SUBNET_ID)).thenReturn(INVALID);
-    final Bytes serialized = SimpleOffsetSerializer.serialize(attestation);
+    when(attestationValidator.validate(attestation, SUBNET_ID))
+        .thenReturn(SafeFuture.completedFuture(INVALID));
+    final Bytes serialized = gossipEncoding.encode(attestation);
 
-    final boolean result = topicHandler.handleMessage(serialized);
-    assertThat(result).isEqualTo(false);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(serialized);
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus, never()).post(attestation);
   }
 
@@ -88,11 +96,12 @@ public class AttestationTopicHandlerTest {
     final AttestationGenerator attestationGenerator = new AttestationGenerator(validatorKeys);
     final BeaconBlockAndState blockAndState = recentChainData.getBestBlockAndState().orElseThrow();
     final Attestation attestation = attestationGenerator.validAttestation(blockAndState);
-    when(attestationValidator.validate(attestation, SUBNET_ID)).thenReturn(SAVED_FOR_FUTURE);
-    final Bytes serialized = SimpleOffsetSerializer.serialize(attestation);
+    when(attestationValidator.validate(attestation, SUBNET_ID))
+        .thenReturn(SafeFuture.completedFuture(SAVED_FOR_FUTURE));
+    final Bytes serialized = gossipEncoding.encode(attestation);
 
-    final boolean result = topicHandler.handleMessage(serialized);
-    assertThat(result).isEqualTo(false);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(serialized);
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus).post(attestation);
   }
 
@@ -100,7 +109,7 @@ public class AttestationTopicHandlerTest {
   public void handleMessage_invalidAttestation_invalidSSZ() {
     final Bytes serialized = Bytes.fromHexString("0x3456");
 
-    final boolean result = topicHandler.handleMessage(serialized);
-    assertThat(result).isEqualTo(false);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(serialized);
+    assertThat(result).isCompletedWithValue(false);
   }
 }
@@ -26,22 +26,25 @@ import org.junit.jupiter.api.Test;
 import tech.pegasys.artemis.core.StateTransition;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
-import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.events.GossipedBlockEvent;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.BlockValidator;
 import tech.pegasys.artemis.statetransition.BeaconChainUtil;
 import tech.pegasys.artemis.storage.client.MemoryOnlyRecentChainData;
 import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.SafeFuture;
 
 public class BlockTopicHandlerTest {
   private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final GossipEncoding gossipEncoding = GossipEncoding.SSZ_SNAPPY;
   private final EventBus eventBus = mock(EventBus.class);
   private final RecentChainData recentChainData = MemoryOnlyRecentChainData.create(eventBus);
   private final BlockValidator blockValidator =
       new BlockValidator(recentChainData, new StateTransition());
   private final BeaconChainUtil beaconChainUtil = BeaconChainUtil.create(2, recentChainData);
   private final BlockTopicHandler topicHandler =
-      new BlockTopicHandler(eventBus, blockValidator, dataStructureUtil.randomForkInfo());
+      new BlockTopicHandler(
+          eventBus, gossipEncoding, blockValidator, dataStructureUtil.randomForkInfo());
 
   @BeforeEach
   public void setup() {
@@ -52,11 +55,11 @@ public class BlockTopicHandlerTest {
   public void handleMessage_validBlock() throws Exception {
     final UnsignedLong nextSlot = recentChainData.getBestSlot().plus(UnsignedLong.ONE);
     final SignedBeaconBlock block = beaconChainUtil.createBlockAtSlot(nextSlot);
-    Bytes serialized = SimpleOffsetSerializer.serialize(block);
+    Bytes serialized = gossipEncoding.encode(block);
     beaconChainUtil.setSlot(nextSlot);
 
-    final boolean result = topicHandler.handleMessage(serialized);
-    assertThat(result).isEqualTo(true);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(serialized);
+    assertThat(result).isCompletedWithValue(true);
     verify(eventBus).post(new GossipedBlockEvent(block));
   }
 
@@ -64,21 +67,21 @@ public class BlockTopicHandlerTest {
   public void handleMessage_validFutureBlock() throws Exception {
     final UnsignedLong nextSlot = recentChainData.getBestSlot().plus(UnsignedLong.ONE);
     final SignedBeaconBlock block = beaconChainUtil.createBlockAtSlot(nextSlot);
-    Bytes serialized = SimpleOffsetSerializer.serialize(block);
+    Bytes serialized = gossipEncoding.encode(block);
     beaconChainUtil.setSlot(recentChainData.getBestSlot());
 
-    final boolean result = topicHandler.handleMessage(serialized);
-    assertThat(result).isEqualTo(false);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(serialized);
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus).post(new GossipedBlockEvent(block));
   }
 
   @Test
   public void handleMessage_invalidBlock_unknownPreState() {
     SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
-    Bytes serialized = SimpleOffsetSerializer.serialize(block);
+    Bytes serialized = gossipEncoding.encode(block);
 
-    final boolean result = topicHandler.handleMessage(serialized);
-    assertThat(result).isEqualTo(false);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(serialized);
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus).post(new GossipedBlockEvent(block));
   }
 
@@ -86,19 +89,19 @@ public class BlockTopicHandlerTest {
   public void handleMessage_invalidBlock_invalidSSZ() {
     Bytes serialized = Bytes.fromHexString("0x1234");
 
-    final boolean result = topicHandler.handleMessage(serialized);
-    assertThat(result).isEqualTo(false);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(serialized);
+    assertThat(result).isCompletedWithValue(false);
   }
 
   @Test
   public void handleMessage_invalidBlock_wrongProposer() throws Exception {
     final UnsignedLong nextSlot = recentChainData.getBestSlot().plus(UnsignedLong.ONE);
     final SignedBeaconBlock block = beaconChainUtil.createBlockAtSlotFromInvalidProposer(nextSlot);
-    Bytes serialized = SimpleOffsetSerializer.serialize(block);
+    Bytes serialized = gossipEncoding.encode(block);
     beaconChainUtil.setSlot(nextSlot);
 
-    final boolean result = topicHandler.handleMessage(serialized);
-    assertThat(result).isEqualTo(false);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(serialized);
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus, never()).post(new GossipedBlockEvent(block));
   }
 }
@@ -24,15 +24,17 @@ import com.google.common.eventbus.EventBus;
 import java.util.Optional;
 import java.util.function.Supplier;
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.ssz.SSZException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.artemis.datastructures.operations.Attestation;
 import tech.pegasys.artemis.datastructures.state.ForkInfo;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.DecodingException;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.ValidationResult;
 import tech.pegasys.artemis.ssz.SSZTypes.Bytes4;
 import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.SafeFuture;
 
 public class Eth2TopicHandlerTest {
   private static final String TOPIC = "testing";
@@ -43,7 +45,7 @@ public class Eth2TopicHandlerTest {
   private final Bytes message = Bytes.fromHexString("0x01");
 
   private final Attestation deserialized = dataStructureUtil.randomAttestation();
-  private Supplier<Attestation> deserializer = Suppliers.ofInstance(deserialized);
+  private Deserializer deserializer = () -> deserialized;
   private Supplier<ValidationResult> validator = Suppliers.ofInstance(ValidationResult.VALID);
   private final ForkInfo forkInfo = dataStructureUtil.randomForkInfo();
 
@@ -52,32 +54,32 @@ public class Eth2TopicHandlerTest {
   @BeforeEach
   void setUp() {
     when(recentChainData.getCurrentForkInfo()).thenReturn(Optional.of(forkInfo));
-    topicHandler = new MockTopicHandler(eventBus, forkInfo);
+    topicHandler = new MockTopicHandler(eventBus, GossipEncoding.SSZ, forkInfo);
   }
 
   @Test
   public void handleMessage_valid() {
-    final boolean result = topicHandler.handleMessage(message);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(message);
 
-    assertThat(result).isEqualTo(true);
+    assertThat(result).isCompletedWithValue(true);
     verify(eventBus).post(deserialized);
   }
 
   @Test
   public void handleMessage_savedForFuture() {
     validator = Suppliers.ofInstance(ValidationResult.SAVED_FOR_FUTURE);
-    final boolean result = topicHandler.handleMessage(message);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(message);
 
-    assertThat(result).isEqualTo(false);
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus).post(deserialized);
   }
 
   @Test
   public void handleMessage_invalid() {
     validator = Suppliers.ofInstance(ValidationResult.INVALID);
-    final boolean result = topicHandler.handleMessage(message);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(message);
 
-    assertThat(result).isEqualTo(false);
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus, never()).post(deserialized);
   }
 
@@ -85,11 +87,11 @@ public class Eth2TopicHandlerTest {
   public void handleMessage_whenDeserializationFails() {
     deserializer =
         () -> {
-          throw new SSZException("whoops");
+          throw new DecodingException("whoops");
         };
-    final boolean result = topicHandler.handleMessage(message);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(message);
 
-    assertThat(result).isEqualTo(false);
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus, never()).post(deserialized);
   }
 
@@ -99,18 +101,18 @@ public class Eth2TopicHandlerTest {
         () -> {
           throw new RuntimeException("whoops");
         };
-    final boolean result = topicHandler.handleMessage(message);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(message);
 
-    assertThat(result).isEqualTo(false);
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus, never()).post(deserialized);
   }
 
   @Test
   public void handleMessage_whenDeserializeReturnsNull() {
     deserializer = () -> null;
-    final boolean result = topicHandler.handleMessage(message);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(message);
 
-    assertThat(result).isEqualTo(false);
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus, never()).post(deserialized);
   }
 
@@ -120,9 +122,9 @@ public class Eth2TopicHandlerTest {
         () -> {
           throw new RuntimeException("whoops");
         };
-    final boolean result = topicHandler.handleMessage(message);
+    final SafeFuture<Boolean> result = topicHandler.handleMessage(message);
 
-    assertThat(result).isEqualTo(false);
+    assertThat(result).isCompletedWithValue(false);
     verify(eventBus, never()).post(deserialized);
   }
 
@@ -131,24 +133,44 @@ public class Eth2TopicHandlerTest {
     final Bytes4 forkDigest = Bytes4.fromHexString("0x11223344");
     final ForkInfo forkInfo = mock(ForkInfo.class);
     when(forkInfo.getForkDigest()).thenReturn(forkDigest);
-    MockTopicHandler topicHandler = new MockTopicHandler(eventBus, forkInfo);
+    MockTopicHandler topicHandler = new MockTopicHandler(eventBus, GossipEncoding.SSZ, forkInfo);
     assertThat(topicHandler.getTopic()).isEqualTo("/eth2/11223344/testing/ssz");
   }
 
+  @Test
+  public void returnProperTopicNameForSnappyEncoding() {
+    final Bytes4 forkDigest = Bytes4.fromHexString("0x11223344");
+    final ForkInfo forkInfo = mock(ForkInfo.class);
+    when(forkInfo.getForkDigest()).thenReturn(forkDigest);
+    MockTopicHandler topicHandler =
+        new MockTopicHandler(eventBus, GossipEncoding.SSZ_SNAPPY, forkInfo);
+    assertThat(topicHandler.getTopic()).isEqualTo("/eth2/11223344/testing/ssz_snappy");
+  }
+
+  private interface Deserializer {
+    Attestation get() throws DecodingException;
+  }
+
   private class MockTopicHandler extends Eth2TopicHandler<Attestation> {
 
-    protected MockTopicHandler(final EventBus eventBus, final ForkInfo forkInfo) {
-      super(eventBus, forkInfo);
+    protected MockTopicHandler(
+        final EventBus eventBus, final GossipEncoding gossipEncoding, final ForkInfo forkInfo) {
+      super(eventBus, gossipEncoding, forkInfo);
     }
 
     @Override
-    protected Attestation deserialize(final Bytes bytes) throws SSZException {
+    protected Attestation deserialize(final Bytes bytes) throws DecodingException {
       return deserializer.get();
     }
 
     @Override
-    protected ValidationResult validateData(final Attestation attestation) {
-      return validator.get();
+    protected Class<Attestation> getValueType() {
+      return Attestation.class;
+    }
+
+    @Override
+    protected SafeFuture<ValidationResult> validateData(final Attestation attestation) {
+      return SafeFuture.completedFuture(validator.get());
     }
 
     @Override
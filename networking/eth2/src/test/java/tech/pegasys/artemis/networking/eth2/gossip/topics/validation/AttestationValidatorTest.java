@@ -69,7 +69,8 @@ class AttestationValidatorTest {
   private final AttestationGenerator attestationGenerator =
       new AttestationGenerator(beaconChainUtil.getValidatorKeys());
 
-  private final AttestationValidator validator = new AttestationValidator(recentChainData);
+  private final AttestationValidator validator =
+      new AttestationValidator(recentChainData, SignatureVerificationService.SIMPLE);
 
   @BeforeAll
   public static void init() {
@@ -266,12 +267,13 @@ class AttestationValidatorTest {
     final Attestation attestation =
         attestationGenerator.validAttestation(recentChainData.getBestBlockAndState().orElseThrow());
     final UnsignedLong expectedSubnetId = CommitteeUtil.getSubnetId(attestation);
-    assertThat(validator.validate(attestation, expectedSubnetId.plus(ONE))).isEqualTo(INVALID);
-    assertThat(validator.validate(attestation, expectedSubnetId)).isEqualTo(VALID);
+    assertThat(validator.validate(attestation, expectedSubnetId.plus(ONE)).join())
+        .isEqualTo(INVALID);
+    assertThat(validator.validate(attestation, expectedSubnetId).join()).isEqualTo(VALID);
   }
 
   private ValidationResult validate(final Attestation attestation) {
-    return validator.validate(attestation, CommitteeUtil.getSubnetId(attestation));
+    return validator.validate(attestation, CommitteeUtil.getSubnetId(attestation)).join();
   }
 
   private boolean hasSameValidators(final Attestation attestation1, final Attestation attestation) {
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.gossip.topics.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.bls.BLS;
+import tech.pegasys.artemis.bls.BLSKeyPair;
+import tech.pegasys.artemis.bls.BLSSignature;
+import tech.pegasys.artemis.networking.eth2.gossip.topics.validation.BatchSignatureVerificationService.SignatureTask;
+import tech.pegasys.artemis.util.async.SafeFuture;
+
+class BatchSignatureVerificationServiceTest {
+  private static final Bytes MESSAGE = Bytes.fromHexString("0x1234");
+  private static final Bytes OTHER_MESSAGE = Bytes.fromHexString("0x5678");
+
+  private final BatchSignatureVerificationService service =
+      new BatchSignatureVerificationService(2, 100, 10, 5);
+
+  @AfterEach
+  void tearDown() {
+    service.stop();
+  }
+
+  @Test
+  public void shouldVerifySignaturesSubmittedConcurrently() throws Exception {
+    service.start();
+    final List<SafeFuture<Boolean>> results = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      final BLSKeyPair keyPair = BLSKeyPair.random(i);
+      final BLSSignature signature = BLS.sign(keyPair.getSecretKey(), MESSAGE);
+      results.add(service.verify(keyPair.getPublicKey(), MESSAGE, signature));
+    }
+
+    for (SafeFuture<Boolean> result : results) {
+      assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+
+  @Test
+  public void shouldRejectInvalidSignatureSubmittedConcurrently() throws Exception {
+    service.start();
+    final BLSKeyPair keyPair = BLSKeyPair.random(1);
+    final SafeFuture<Boolean> result =
+        service.verify(
+            keyPair.getPublicKey(), MESSAGE, BLS.sign(keyPair.getSecretKey(), OTHER_MESSAGE));
+
+    assertThat(result.get(10, TimeUnit.SECONDS)).isFalse();
+  }
+
+  @Test
+  public void verifyBatch_shouldCompleteAllTasksWhenBatchIsValid() {
+    final List<SignatureTask> batch = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      batch.add(createTask(i, MESSAGE));
+    }
+
+    service.verifyBatch(batch);
+
+    batch.forEach(task -> assertThat(task.result).isCompletedWithValue(true));
+  }
+
+  @Test
+  public void verifyBatch_shouldFallBackToIndividualVerificationWhenBatchFails() {
+    final SignatureTask validTask1 = createTask(1, MESSAGE);
+    final SignatureTask invalidTask = createTask(2, OTHER_MESSAGE, MESSAGE);
+    final SignatureTask validTask2 = createTask(3, MESSAGE);
+
+    service.verifyBatch(List.of(validTask1, invalidTask, validTask2));
+
+    assertThat(validTask1.result).isCompletedWithValue(true);
+    assertThat(invalidTask.result).isCompletedWithValue(false);
+    assertThat(validTask2.result).isCompletedWithValue(true);
+  }
+
+  @Test
+  public void verify_shouldVerifyImmediatelyWhenNotStarted() {
+    final BLSKeyPair keyPair = BLSKeyPair.random(1);
+    final SafeFuture<Boolean> result =
+        service.verify(keyPair.getPublicKey(), MESSAGE, BLS.sign(keyPair.getSecretKey(), MESSAGE));
+
+    assertThat(result).isCompletedWithValue(true);
+  }
+
+  @Test
+  public void verify_shouldRejectSignaturesOnceStopped() {
+    service.start();
+    service.stop();
+
+    final BLSKeyPair keyPair = BLSKeyPair.random(1);
+    final SafeFuture<Boolean> result =
+        service.verify(keyPair.getPublicKey(), MESSAGE, BLS.sign(keyPair.getSecretKey(), MESSAGE));
+
+    assertThat(result).isCompletedExceptionally();
+  }
+
+  @Test
+  public void stop_shouldFailSignaturesWaitingForBatchToFill() {
+    // Long batch window so the worker is still collecting when the service stops
+    final BatchSignatureVerificationService slowService =
+        new BatchSignatureVerificationService(1, 100, 10, 60_000);
+    slowService.start();
+    final BLSKeyPair keyPair = BLSKeyPair.random(1);
+    final SafeFuture<Boolean> result =
+        slowService.verify(
+            keyPair.getPublicKey(), MESSAGE, BLS.sign(keyPair.getSecretKey(), MESSAGE));
+
+    slowService.stop();
+
+    assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  private SignatureTask createTask(final int seed, final Bytes message) {
+    return createTask(seed, message, message);
+  }
+
+  private SignatureTask createTask(
+      final int seed, final Bytes signedMessage, final Bytes verifiedMessage) {
+    final BLSKeyPair keyPair = BLSKeyPair.random(seed);
+    return new SignatureTask(
+        List.of(keyPair.getPublicKey()),
+        verifiedMessage,
+        BLS.sign(keyPair.getSecretKey(), signedMessage));
+  }
+}
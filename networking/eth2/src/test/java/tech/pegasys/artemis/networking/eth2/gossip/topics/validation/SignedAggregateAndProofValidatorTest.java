@@ -49,6 +49,7 @@ import tech.pegasys.artemis.datastructures.util.MockStartValidatorKeyPairFactory
 import tech.pegasys.artemis.statetransition.BeaconChainUtil;
 import tech.pegasys.artemis.storage.client.MemoryOnlyRecentChainData;
 import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.SafeFuture;
 
 /**
  * The following validations MUST pass before forwarding the signed_aggregate_and_proof on the
@@ -96,7 +97,8 @@ class SignedAggregateAndProofValidatorTest {
   private final AttestationValidator attestationValidator = mock(AttestationValidator.class);
 
   private final SignedAggregateAndProofValidator validator =
-      new SignedAggregateAndProofValidator(attestationValidator, recentChainData);
+      new SignedAggregateAndProofValidator(
+          attestationValidator, recentChainData, SignatureVerificationService.SIMPLE);
 
   @BeforeAll
   public static void init() {
@@ -118,7 +120,7 @@ class SignedAggregateAndProofValidatorTest {
     final BeaconBlockAndState chainHead = recentChainData.getBestBlockAndState().orElseThrow();
     final SignedAggregateAndProof aggregate = generator.validAggregateAndProof(chainHead);
     whenAttestationIsValid(aggregate);
-    assertThat(validator.validate(aggregate)).isEqualTo(VALID);
+    assertThat(validator.validate(aggregate).join()).isEqualTo(VALID);
   }
 
   @Test
@@ -127,9 +129,9 @@ class SignedAggregateAndProofValidatorTest {
         generator.validAggregateAndProof(recentChainData.getBestBlockAndState().orElseThrow());
     when(attestationValidator.singleOrAggregateAttestationChecks(
             aggregate.getMessage().getAggregate()))
-        .thenReturn(INVALID);
+        .thenReturn(SafeFuture.completedFuture(INVALID));
 
-    assertThat(validator.validate(aggregate)).isEqualTo(INVALID);
+    assertThat(validator.validate(aggregate).join()).isEqualTo(INVALID);
   }
 
   @Test
@@ -138,9 +140,9 @@ class SignedAggregateAndProofValidatorTest {
         generator.validAggregateAndProof(recentChainData.getBestBlockAndState().orElseThrow());
     when(attestationValidator.singleOrAggregateAttestationChecks(
             aggregate.getMessage().getAggregate()))
-        .thenReturn(SAVED_FOR_FUTURE);
+        .thenReturn(SafeFuture.completedFuture(SAVED_FOR_FUTURE));
 
-    assertThat(validator.validate(aggregate)).isEqualTo(SAVED_FOR_FUTURE);
+    assertThat(validator.validate(aggregate).join()).isEqualTo(SAVED_FOR_FUTURE);
   }
 
   @Test
@@ -149,9 +151,9 @@ class SignedAggregateAndProofValidatorTest {
     final SignedAggregateAndProof aggregate = generator.validAggregateAndProof(target.toUnsigned());
     when(attestationValidator.singleOrAggregateAttestationChecks(
             aggregate.getMessage().getAggregate()))
-        .thenReturn(SAVED_FOR_FUTURE);
+        .thenReturn(SafeFuture.completedFuture(SAVED_FOR_FUTURE));
 
-    assertThat(validator.validate(aggregate)).isEqualTo(SAVED_FOR_FUTURE);
+    assertThat(validator.validate(aggregate).join()).isEqualTo(SAVED_FOR_FUTURE);
   }
 
   @Test
@@ -165,9 +167,9 @@ class SignedAggregateAndProofValidatorTest {
             .generate();
     when(attestationValidator.singleOrAggregateAttestationChecks(
             aggregate.getMessage().getAggregate()))
-        .thenReturn(SAVED_FOR_FUTURE);
+        .thenReturn(SafeFuture.completedFuture(SAVED_FOR_FUTURE));
 
-    assertThat(validator.validate(aggregate)).isEqualTo(INVALID);
+    assertThat(validator.validate(aggregate).join()).isEqualTo(INVALID);
   }
 
   @Test
@@ -195,8 +197,8 @@ class SignedAggregateAndProofValidatorTest {
     assertThat(aggregateAndProof1.getMessage().getAggregate()).isNotEqualTo(aggregate2);
     assertThat(aggregateAndProof1).isNotEqualTo(aggregateAndProof2);
 
-    assertThat(validator.validate(aggregateAndProof1)).isEqualTo(VALID);
-    assertThat(validator.validate(aggregateAndProof2)).isEqualTo(INVALID);
+    assertThat(validator.validate(aggregateAndProof1).join()).isEqualTo(VALID);
+    assertThat(validator.validate(aggregateAndProof2).join()).isEqualTo(INVALID);
   }
 
   @Test
@@ -220,8 +222,8 @@ class SignedAggregateAndProofValidatorTest {
     whenAttestationIsValid(aggregateAndProof1);
     whenAttestationIsValid(aggregateAndProof2);
 
-    assertThat(validator.validate(aggregateAndProof1)).isEqualTo(VALID);
-    assertThat(validator.validate(aggregateAndProof2)).isEqualTo(VALID);
+    assertThat(validator.validate(aggregateAndProof1).join()).isEqualTo(VALID);
+    assertThat(validator.validate(aggregateAndProof2).join()).isEqualTo(VALID);
   }
 
   @Test
@@ -252,8 +254,8 @@ class SignedAggregateAndProofValidatorTest {
     assertThat(aggregateAndProof1.getMessage().getIndex())
         .isEqualTo(aggregateAndProof2.getMessage().getIndex());
 
-    assertThat(validator.validate(aggregateAndProof1)).isEqualTo(VALID);
-    assertThat(validator.validate(aggregateAndProof2)).isEqualTo(VALID);
+    assertThat(validator.validate(aggregateAndProof1).join()).isEqualTo(VALID);
+    assertThat(validator.validate(aggregateAndProof2).join()).isEqualTo(VALID);
   }
 
   @Test
@@ -277,7 +279,7 @@ class SignedAggregateAndProofValidatorTest {
     assertThat(isAggregator(aggregate.getMessage().getSelection_proof(), aggregatorModulo))
         .isFalse();
 
-    assertThat(validator.validate(aggregate)).isEqualTo(INVALID);
+    assertThat(validator.validate(aggregate).join()).isEqualTo(INVALID);
   }
 
   @Test
@@ -301,7 +303,7 @@ class SignedAggregateAndProofValidatorTest {
       fail("Aggregator was in the committee");
     }
 
-    assertThat(validator.validate(aggregate)).isEqualTo(INVALID);
+    assertThat(validator.validate(aggregate).join()).isEqualTo(INVALID);
   }
 
   @Test
@@ -315,7 +317,7 @@ class SignedAggregateAndProofValidatorTest {
             .generate();
     whenAttestationIsValid(aggregate);
 
-    assertThat(validator.validate(aggregate)).isEqualTo(INVALID);
+    assertThat(validator.validate(aggregate).join()).isEqualTo(INVALID);
   }
 
   @Test
@@ -328,8 +330,8 @@ class SignedAggregateAndProofValidatorTest {
     whenAttestationIsValid(invalidAggregate);
     whenAttestationIsValid(validAggregate);
 
-    assertThat(validator.validate(invalidAggregate)).isEqualTo(INVALID);
-    assertThat(validator.validate(validAggregate)).isEqualTo(VALID);
+    assertThat(validator.validate(invalidAggregate).join()).isEqualTo(INVALID);
+    assertThat(validator.validate(validAggregate).join()).isEqualTo(VALID);
   }
 
   private boolean hasSameCommitteeIndex(
@@ -343,7 +345,7 @@ class SignedAggregateAndProofValidatorTest {
   private void whenAttestationIsValid(final SignedAggregateAndProof aggregate) {
     when(attestationValidator.singleOrAggregateAttestationChecks(
             aggregate.getMessage().getAggregate()))
-        .thenReturn(VALID);
+        .thenReturn(SafeFuture.completedFuture(VALID));
   }
 
   private CommitteeAssignment getCommitteeAssignment(
@@ -30,6 +30,7 @@ import tech.pegasys.artemis.networking.p2p.peer.Peer;
 import tech.pegasys.artemis.storage.client.CombinedChainDataClient;
 import tech.pegasys.artemis.storage.client.RecentChainData;
 import tech.pegasys.artemis.util.async.SafeFuture;
+import tech.pegasys.artemis.util.time.StubTimeProvider;
 
 public class Eth2PeerManagerTest {
 
@@ -50,7 +51,8 @@ public class Eth2PeerManagerTest {
           storageClient,
           new NoOpMetricsSystem(),
           peerValidatorFactory,
-          rpcEncoding);
+          rpcEncoding,
+          StubTimeProvider.withTimeInSeconds(1000));
 
   @BeforeEach
   public void setup() {
@@ -149,6 +151,22 @@ public class Eth2PeerManagerTest {
     assertThat(connectedPeersB).containsExactly(eth2Peer);
   }
 
+  @Test
+  public void scorePeer_shouldReturnScoreOfConnectedPeer() {
+    final Peer peer = createPeer(1);
+    peerManager.onConnect(peer);
+
+    assertThat(peerManager.scorePeer(peer.getId()))
+        .isEqualTo(peerManager.getConnectedPeer(peer.getId()).getScore());
+    assertThat(peerManager.isPerformingPoorly(peer.getId())).isFalse();
+  }
+
+  @Test
+  public void scorePeer_shouldReturnInitialScoreForUnknownPeer() {
+    assertThat(peerManager.scorePeer(new MockNodeId(1))).isEqualTo(PeerPerformance.INITIAL_SCORE);
+    assertThat(peerManager.isPerformingPoorly(new MockNodeId(1))).isFalse();
+  }
+
   private Peer createPeer(final int id) {
     final Peer peer = mock(Peer.class);
     when(peer.getId()).thenReturn(new MockNodeId(id));
@@ -162,7 +180,11 @@ public class Eth2PeerManagerTest {
 
   private Eth2Peer createEth2Peer(final Peer peer) {
     final Eth2Peer eth2Peer =
-        new Eth2Peer(peer, peerManager.getBeaconChainMethods(), statusMessageFactory);
+        new Eth2Peer(
+            peer,
+            peerManager.getBeaconChainMethods(),
+            statusMessageFactory,
+            StubTimeProvider.withTimeInSeconds(1000));
     when(peer.idMatches(eth2Peer)).thenReturn(true);
     return eth2Peer;
   }
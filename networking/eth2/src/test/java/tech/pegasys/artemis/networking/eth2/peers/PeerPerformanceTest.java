@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.peers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PeerPerformanceTest {
+  private final PeerPerformance performance = new PeerPerformance();
+
+  @Test
+  public void shouldStartWithNeutralScore() {
+    assertThat(performance.getScore()).isEqualTo(PeerPerformance.INITIAL_SCORE);
+    assertThat(performance.isPerformingPoorly()).isFalse();
+  }
+
+  @Test
+  public void shouldIncreaseScoreForFastResponses() {
+    performance.recordSuccess(50, 100, 20);
+    assertThat(performance.getScore()).isGreaterThan(PeerPerformance.INITIAL_SCORE);
+  }
+
+  @Test
+  public void shouldDecreaseScoreForSlowResponses() {
+    performance.recordSuccess(5000, 10000, 5);
+    assertThat(performance.getScore()).isLessThan(PeerPerformance.INITIAL_SCORE);
+  }
+
+  @Test
+  public void shouldDecreaseScoreForFailures() {
+    performance.recordFailure();
+    assertThat(performance.getScore()).isLessThan(PeerPerformance.INITIAL_SCORE);
+  }
+
+  @Test
+  public void shouldNotChangeThroughputForRequestsWithoutResponses() {
+    final PeerPerformance withEmptyResponse = new PeerPerformance();
+    withEmptyResponse.recordSuccess(500, 10000, 0);
+    assertThat(withEmptyResponse.getScore()).isEqualTo(PeerPerformance.INITIAL_SCORE);
+  }
+
+  @Test
+  public void shouldOnlyUpdateLatencyForRequestsWithoutBlocks() {
+    final PeerPerformance withBlocks = new PeerPerformance();
+    withBlocks.recordSuccess(50, 100, 20);
+    performance.recordSuccess(50);
+    assertThat(performance.getScore()).isGreaterThan(PeerPerformance.INITIAL_SCORE);
+    assertThat(performance.getScore()).isLessThan(withBlocks.getScore());
+  }
+
+  @Test
+  public void shouldRecoverAfterPerformanceImproves() {
+    for (int i = 0; i < 5; i++) {
+      performance.recordFailure();
+    }
+    final double degradedScore = performance.getScore();
+
+    for (int i = 0; i < 5; i++) {
+      performance.recordSuccess(100, 200, 10);
+    }
+    assertThat(performance.getScore()).isGreaterThan(degradedScore);
+  }
+
+  @Test
+  public void shouldNotConsiderPeerPoorUntilEnoughSamplesRecorded() {
+    for (int i = 0; i < 9; i++) {
+      performance.recordFailure();
+    }
+    assertThat(performance.isPerformingPoorly()).isFalse();
+
+    performance.recordFailure();
+    assertThat(performance.isPerformingPoorly()).isTrue();
+  }
+
+  @Test
+  public void shouldConsiderPersistentlySlowPeerPoor() {
+    for (int i = 0; i < 20; i++) {
+      performance.recordSuccess(10000, 20000, 1);
+    }
+    assertThat(performance.isPerformingPoorly()).isTrue();
+  }
+
+  @Test
+  public void shouldNotConsiderOccasionalFailuresPoor() {
+    for (int i = 0; i < 20; i++) {
+      if (i % 4 == 0) {
+        performance.recordFailure();
+      } else {
+        performance.recordSuccess(200, 1000, 64);
+      }
+    }
+    assertThat(performance.isPerformingPoorly()).isFalse();
+  }
+}
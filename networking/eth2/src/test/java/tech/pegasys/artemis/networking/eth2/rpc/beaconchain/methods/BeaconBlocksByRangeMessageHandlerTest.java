@@ -14,7 +14,7 @@
 package tech.pegasys.artemis.networking.eth2.rpc.beaconchain.methods;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -24,24 +24,27 @@ import static tech.pegasys.artemis.networking.eth2.rpc.beaconchain.methods.Beaco
 import static tech.pegasys.artemis.util.async.SafeFuture.completedFuture;
 
 import com.google.common.primitives.UnsignedLong;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.networking.libp2p.rpc.BeaconBlocksByRangeRequestMessage;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.artemis.networking.eth2.peers.Eth2Peer;
 import tech.pegasys.artemis.networking.eth2.rpc.core.ResponseCallback;
 import tech.pegasys.artemis.storage.client.CombinedChainDataClient;
-import tech.pegasys.artemis.util.async.SafeFuture;
 
 class BeaconBlocksByRangeMessageHandlerTest {
-  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
   private final Eth2Peer peer = mock(Eth2Peer.class);
 
   private static final List<SignedBeaconBlock> BLOCKS =
@@ -55,9 +58,26 @@ class BeaconBlocksByRangeMessageHandlerTest {
   private final CombinedChainDataClient combinedChainDataClient =
       mock(CombinedChainDataClient.class);
 
+  private final Set<Integer> emptySlots = new HashSet<>();
+
   private final BeaconBlocksByRangeMessageHandler handler =
       new BeaconBlocksByRangeMessageHandler(combinedChainDataClient);
 
+  @BeforeEach
+  public void setUp() {
+    when(combinedChainDataClient.getLastHistoricalSlot()).thenReturn(Optional.empty());
+    when(combinedChainDataClient.getSerializedFinalizedBlocks(any(), any(), any()))
+        .thenAnswer(
+            invocation ->
+                completedFuture(
+                    matchingBlocks(
+                            invocation.getArgument(0),
+                            invocation.getArgument(1),
+                            invocation.getArgument(2))
+                        .map(SimpleOffsetSerializer::serialize)
+                        .collect(Collectors.toList())));
+  }
+
   @Test
   public void shouldReturnNoBlocksWhenThereAreNoBlocksAtOrAfterStartSlot() {
     final int startBlock = 10;
@@ -67,9 +87,6 @@ class BeaconBlocksByRangeMessageHandlerTest {
     // Series of empty blocks leading up to our best slot.
     withCanonicalHeadBlock(headBlock, UnsignedLong.valueOf(20));
 
-    when(combinedChainDataClient.getBlockAtSlotExact(any(), any()))
-        .thenReturn(completedFuture(Optional.empty()));
-
     handler.onIncomingMessage(
         peer,
         new BeaconBlocksByRangeRequestMessage(
@@ -87,15 +104,9 @@ class BeaconBlocksByRangeMessageHandlerTest {
     final int count = 5;
     final int skip = 1;
     final SignedBeaconBlock headBlock = BLOCKS.get(10);
-    final Bytes32 headBlockRoot = headBlock.getMessage().hash_tree_root();
 
     withCanonicalHeadBlock(headBlock);
 
-    BLOCKS.forEach(
-        block ->
-            when(combinedChainDataClient.getBlockAtSlotExact(block.getSlot(), headBlockRoot))
-                .thenReturn(completedFuture(Optional.of(block))));
-
     handler.onIncomingMessage(
         peer,
         new BeaconBlocksByRangeRequestMessage(
@@ -113,15 +124,9 @@ class BeaconBlocksByRangeMessageHandlerTest {
     final int count = 1;
     final int skip = 1;
     final SignedBeaconBlock headBlock = BLOCKS.get(10);
-    final Bytes32 headBlockRoot = headBlock.getMessage().hash_tree_root();
 
     withCanonicalHeadBlock(headBlock);
 
-    BLOCKS.forEach(
-        block ->
-            when(combinedChainDataClient.getBlockAtSlotExact(block.getSlot(), headBlockRoot))
-                .thenReturn(completedFuture(Optional.of(block))));
-
     handler.onIncomingMessage(
         peer,
         new BeaconBlocksByRangeRequestMessage(
@@ -140,14 +145,8 @@ class BeaconBlocksByRangeMessageHandlerTest {
     final int count = 5;
     final int skip = 2;
     final SignedBeaconBlock headBlock = BLOCKS.get(10);
-    final Bytes32 headBlockRoot = headBlock.getMessage().hash_tree_root();
     withCanonicalHeadBlock(headBlock);
 
-    BLOCKS.forEach(
-        block ->
-            when(combinedChainDataClient.getBlockAtSlotExact(block.getSlot(), headBlockRoot))
-                .thenReturn(completedFuture(Optional.of(block))));
-
     handler.onIncomingMessage(
         peer,
         new BeaconBlocksByRangeRequestMessage(
@@ -166,16 +165,9 @@ class BeaconBlocksByRangeMessageHandlerTest {
     final int count = 5;
     final int skip = 1;
     final SignedBeaconBlock headBlock = BLOCKS.get(10);
-    final Bytes32 headBlockRoot = headBlock.getMessage().hash_tree_root();
 
     withCanonicalHeadBlock(headBlock);
-
-    withBlockAtSlot(2, headBlockRoot);
-    withBlockAtSlot(3, headBlockRoot);
-    withEmptySlot(4, headBlockRoot);
-    withBlockAtSlot(5, headBlockRoot);
-    withBlockAtSlot(6, headBlockRoot);
-    withBlockAtSlot(7, headBlockRoot);
+    withEmptySlot(4);
 
     handler.onIncomingMessage(
         peer,
@@ -195,18 +187,10 @@ class BeaconBlocksByRangeMessageHandlerTest {
     final int count = 4;
     final int skip = 2;
     final SignedBeaconBlock headBlock = BLOCKS.get(10);
-    final Bytes32 headBlockRoot = headBlock.getMessage().hash_tree_root();
 
     withCanonicalHeadBlock(headBlock);
-
-    withBlockAtSlot(2, headBlockRoot);
-    withBlockAtSlot(3, headBlockRoot);
-    withEmptySlot(4, headBlockRoot);
-    withBlockAtSlot(5, headBlockRoot);
-    withBlockAtSlot(6, headBlockRoot);
-    withEmptySlot(7, headBlockRoot);
-    withBlockAtSlot(8, headBlockRoot);
-    withBlockAtSlot(10, headBlockRoot);
+    withEmptySlot(4);
+    withEmptySlot(7);
 
     handler.onIncomingMessage(
         peer,
@@ -232,9 +216,6 @@ class BeaconBlocksByRangeMessageHandlerTest {
     final UnsignedLong bestSlot = UnsignedLong.valueOf(20);
     withCanonicalHeadBlock(headBlock, bestSlot);
 
-    withEmptySlot(15, headBlockRoot);
-    withEmptySlot(20, headBlockRoot);
-
     handler.onIncomingMessage(
         peer,
         new BeaconBlocksByRangeRequestMessage(
@@ -242,9 +223,9 @@ class BeaconBlocksByRangeMessageHandlerTest {
         listener);
 
     verifyNoBlocksReturned();
-    verify(combinedChainDataClient).getBlockAtSlotExact(UnsignedLong.valueOf(15), headBlockRoot);
-    verify(combinedChainDataClient).getBlockAtSlotExact(UnsignedLong.valueOf(20), headBlockRoot);
-    verify(combinedChainDataClient, never()).getBlockAtSlotExact(greaterThan(bestSlot), any());
+    verify(combinedChainDataClient)
+        .getRecentBlocks(
+            headBlockRoot, UnsignedLong.valueOf(15), bestSlot, UnsignedLong.valueOf(skip));
   }
 
   @Test
@@ -269,6 +250,113 @@ class BeaconBlocksByRangeMessageHandlerTest {
     verifyNoMoreInteractions(combinedChainDataClient);
   }
 
+  @Test
+  public void shouldReturnFinalizedBlocksAsSerializedBytes() {
+    final int startBlock = 2;
+    final int count = 5;
+    final int skip = 1;
+    final SignedBeaconBlock headBlock = BLOCKS.get(10);
+
+    withCanonicalHeadBlock(headBlock);
+    withLastHistoricalSlot(4);
+    withEmptySlot(3);
+
+    handler.onIncomingMessage(
+        peer,
+        new BeaconBlocksByRangeRequestMessage(
+            UnsignedLong.valueOf(startBlock),
+            UnsignedLong.valueOf(count),
+            UnsignedLong.valueOf(skip)),
+        listener);
+
+    final InOrder inOrder = Mockito.inOrder(listener);
+    inOrder.verify(listener).respondSsz(SimpleOffsetSerializer.serialize(BLOCKS.get(2)));
+    inOrder.verify(listener).respondSsz(SimpleOffsetSerializer.serialize(BLOCKS.get(4)));
+    inOrder.verify(listener).respond(BLOCKS.get(5));
+    inOrder.verify(listener).respond(BLOCKS.get(6));
+    inOrder.verify(listener).completeSuccessfully();
+    verifyNoMoreInteractions(listener);
+  }
+
+  @Test
+  public void shouldNotLoadRecentBlocksWhenRequestIsEntirelyFinalized() {
+    final int startBlock = 1;
+    final int count = 3;
+    final int skip = 2;
+    final SignedBeaconBlock headBlock = BLOCKS.get(10);
+
+    withCanonicalHeadBlock(headBlock);
+    withLastHistoricalSlot(8);
+
+    handler.onIncomingMessage(
+        peer,
+        new BeaconBlocksByRangeRequestMessage(
+            UnsignedLong.valueOf(startBlock),
+            UnsignedLong.valueOf(count),
+            UnsignedLong.valueOf(skip)),
+        listener);
+
+    verify(combinedChainDataClient)
+        .getSerializedFinalizedBlocks(
+            UnsignedLong.valueOf(1), UnsignedLong.valueOf(5), UnsignedLong.valueOf(skip));
+    verify(combinedChainDataClient, never()).getRecentBlocks(any(), any(), any(), any());
+    final InOrder inOrder = Mockito.inOrder(listener);
+    inOrder.verify(listener).respondSsz(SimpleOffsetSerializer.serialize(BLOCKS.get(1)));
+    inOrder.verify(listener).respondSsz(SimpleOffsetSerializer.serialize(BLOCKS.get(3)));
+    inOrder.verify(listener).respondSsz(SimpleOffsetSerializer.serialize(BLOCKS.get(5)));
+    inOrder.verify(listener).completeSuccessfully();
+    verifyNoMoreInteractions(listener);
+  }
+
+  @Test
+  public void shouldQueryFinalizedBlocksInChunks() {
+    final int startBlock = 0;
+    final int count = 150;
+    final int skip = 1;
+    final SignedBeaconBlock headBlock = BLOCKS.get(10);
+
+    withCanonicalHeadBlock(headBlock, UnsignedLong.valueOf(300));
+    withLastHistoricalSlot(200);
+
+    handler.onIncomingMessage(
+        peer,
+        new BeaconBlocksByRangeRequestMessage(
+            UnsignedLong.valueOf(startBlock),
+            UnsignedLong.valueOf(count),
+            UnsignedLong.valueOf(skip)),
+        listener);
+
+    final InOrder inOrder = Mockito.inOrder(combinedChainDataClient);
+    inOrder
+        .verify(combinedChainDataClient)
+        .getSerializedFinalizedBlocks(
+            UnsignedLong.ZERO, UnsignedLong.valueOf(63), UnsignedLong.ONE);
+    inOrder
+        .verify(combinedChainDataClient)
+        .getSerializedFinalizedBlocks(
+            UnsignedLong.valueOf(64), UnsignedLong.valueOf(127), UnsignedLong.ONE);
+    inOrder
+        .verify(combinedChainDataClient)
+        .getSerializedFinalizedBlocks(
+            UnsignedLong.valueOf(128), UnsignedLong.valueOf(149), UnsignedLong.ONE);
+    verify(combinedChainDataClient, never()).getRecentBlocks(any(), any(), any(), any());
+    verify(listener).completeSuccessfully();
+  }
+
+  @Test
+  public void shouldNotLoadStates() {
+    withCanonicalHeadBlock(BLOCKS.get(10));
+
+    handler.onIncomingMessage(
+        peer,
+        new BeaconBlocksByRangeRequestMessage(
+            UnsignedLong.valueOf(2), UnsignedLong.valueOf(5), UnsignedLong.ONE),
+        listener);
+
+    verify(combinedChainDataClient, never()).getStateByBlockRoot(any());
+    verify(combinedChainDataClient, never()).getBlockAtSlotExact(any(), any());
+  }
+
   private void withCanonicalHeadBlock(final SignedBeaconBlock headBlock) {
     withCanonicalHeadBlock(headBlock, headBlock.getSlot());
   }
@@ -290,22 +378,34 @@ class BeaconBlocksByRangeMessageHandlerTest {
       final SignedBeaconBlock headBlock, final UnsignedLong bestSlot) {
     Bytes32 bestBlockRoot = headBlock.getMessage().hash_tree_root();
     when(combinedChainDataClient.getBestBlockRoot()).thenReturn(Optional.of(bestBlockRoot));
-    when(combinedChainDataClient.getStateByBlockRoot(bestBlockRoot))
-        .thenReturn(
-            SafeFuture.completedFuture(Optional.of(dataStructureUtil.randomBeaconState(bestSlot))));
+    when(combinedChainDataClient.getBestSlot()).thenReturn(bestSlot);
+    // Only blocks up to the head block are on the canonical chain
+    when(combinedChainDataClient.getRecentBlocks(eq(bestBlockRoot), any(), any(), any()))
+        .thenAnswer(
+            invocation ->
+                matchingBlocks(
+                        invocation.getArgument(1),
+                        invocation.getArgument(2),
+                        invocation.getArgument(3))
+                    .filter(block -> block.getSlot().compareTo(headBlock.getSlot()) <= 0)
+                    .collect(Collectors.toList()));
   }
 
-  private void withBlockAtSlot(final int slot, final Bytes32 headBlockRoot) {
-    when(combinedChainDataClient.getBlockAtSlotExact(UnsignedLong.valueOf(slot), headBlockRoot))
-        .thenReturn(completedFuture(Optional.of(BLOCKS.get(slot))));
+  private void withLastHistoricalSlot(final int slot) {
+    when(combinedChainDataClient.getLastHistoricalSlot())
+        .thenReturn(Optional.of(UnsignedLong.valueOf(slot)));
   }
 
-  private void withEmptySlot(final int slot, final Bytes32 headBlockRoot) {
-    when(combinedChainDataClient.getBlockAtSlotExact(UnsignedLong.valueOf(slot), headBlockRoot))
-        .thenReturn(completedFuture(Optional.empty()));
+  private void withEmptySlot(final int slot) {
+    emptySlots.add(slot);
   }
 
-  private UnsignedLong greaterThan(final UnsignedLong bestSlot) {
-    return argThat(argument -> argument.compareTo(bestSlot) > 0);
+  private Stream<SignedBeaconBlock> matchingBlocks(
+      final UnsignedLong startSlot, final UnsignedLong endSlot, final UnsignedLong step) {
+    return BLOCKS.stream()
+        .filter(block -> !emptySlots.contains(block.getSlot().intValue()))
+        .filter(block -> block.getSlot().compareTo(startSlot) >= 0)
+        .filter(block -> block.getSlot().compareTo(endSlot) <= 0)
+        .filter(block -> block.getSlot().minus(startSlot).mod(step).equals(UnsignedLong.ZERO));
   }
 }
@@ -17,9 +17,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 import com.google.common.primitives.UnsignedLong;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -39,6 +40,7 @@ import tech.pegasys.artemis.storage.client.CombinedChainDataClient;
 import tech.pegasys.artemis.storage.client.RecentChainData;
 import tech.pegasys.artemis.util.async.AsyncRunner;
 import tech.pegasys.artemis.util.async.StubAsyncRunner;
+import tech.pegasys.artemis.util.time.StubTimeProvider;
 
 public class BeaconChainMethodsTest {
 
@@ -75,22 +77,22 @@ public class BeaconChainMethodsTest {
 
     final Bytes encoded = methods.status().encodeRequest(expected);
     final RpcRequestDecoder<StatusMessage> decoder = methods.status().createRequestDecoder();
-    StatusMessage decodedRequest = decoder.decodeRequest(inputStream(encoded));
+    final Optional<StatusMessage> decodedRequest = decoder.decodeRequest(buffer(encoded));
 
-    assertThat(decodedRequest).isEqualTo(expected);
+    assertThat(decodedRequest).contains(expected);
   }
 
   @Test
   public void shouldDecodeStatusMessageRequest() throws Exception {
     final BeaconChainMethods methods = getMethods(RpcEncoding.SSZ);
     final RpcRequestDecoder<StatusMessage> decoder = methods.status().createRequestDecoder();
-    final StatusMessage decodedRequest =
-        decoder.decodeRequest(inputStream(SSZ_RECORDED_STATUS_REQUEST_BYTES));
-    assertThat(decodedRequest).isEqualTo(RECORDED_STATUS_MESSAGE_DATA);
+    final Optional<StatusMessage> decodedRequest =
+        decoder.decodeRequest(buffer(SSZ_RECORDED_STATUS_REQUEST_BYTES));
+    assertThat(decodedRequest).contains(RECORDED_STATUS_MESSAGE_DATA);
   }
 
-  private InputStream inputStream(final Bytes bytes) {
-    return new ByteArrayInputStream(bytes.toArrayUnsafe());
+  private ByteBuf buffer(final Bytes bytes) {
+    return Unpooled.wrappedBuffer(bytes.toArrayUnsafe());
   }
 
   public static Stream<Arguments> getEncodings() {
@@ -106,6 +108,7 @@ public class BeaconChainMethodsTest {
         recentChainData,
         metricsSystem,
         statusMessageFactory,
-        rpcEncoding);
+        rpcEncoding,
+        StubTimeProvider.withTimeInSeconds(1000));
   }
 }
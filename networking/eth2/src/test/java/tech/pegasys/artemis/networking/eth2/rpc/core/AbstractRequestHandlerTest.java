@@ -13,19 +13,14 @@
 
 package tech.pegasys.artemis.networking.eth2.rpc.core;
 
-import static com.google.common.base.Preconditions.checkArgument;
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 
-import java.io.IOException;
-import java.util.concurrent.atomic.AtomicBoolean;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
 import tech.pegasys.artemis.networking.eth2.peers.Eth2Peer;
@@ -39,14 +34,11 @@ import tech.pegasys.artemis.networking.p2p.rpc.RpcRequestHandler;
 import tech.pegasys.artemis.networking.p2p.rpc.RpcStream;
 import tech.pegasys.artemis.storage.client.CombinedChainDataClient;
 import tech.pegasys.artemis.storage.client.RecentChainData;
-import tech.pegasys.artemis.util.Waiter;
 import tech.pegasys.artemis.util.async.SafeFuture;
 import tech.pegasys.artemis.util.async.StubAsyncRunner;
-import tech.pegasys.artemis.util.iostreams.MockInputStream;
+import tech.pegasys.artemis.util.time.StubTimeProvider;
 
 abstract class AbstractRequestHandlerTest<T extends RpcRequestHandler> {
-  private static final Logger LOG = LogManager.getLogger();
-
   protected final DataStructureUtil dataStructureUtil = new DataStructureUtil();
   protected final StubAsyncRunner asyncRunner = new StubAsyncRunner();
   protected final PeerLookup peerLookup = mock(PeerLookup.class);
@@ -61,10 +53,6 @@ abstract class AbstractRequestHandlerTest<T extends RpcRequestHandler> {
   protected final Eth2Peer peer = mock(Eth2Peer.class);
   protected T reqHandler;
 
-  private Thread inputHandlerThread;
-  private final AtomicBoolean inputHandlerDone = new AtomicBoolean(false);
-  protected final MockInputStream inputStream = new MockInputStream();
-
   @BeforeEach
   public void setup() {
     beaconChainMethods =
@@ -75,7 +63,8 @@ abstract class AbstractRequestHandlerTest<T extends RpcRequestHandler> {
             recentChainData,
             new NoOpMetricsSystem(),
             new StatusMessageFactory(recentChainData),
-            getRpcEncoding());
+            getRpcEncoding(),
+            StubTimeProvider.withTimeInSeconds(1000));
 
     reqHandler = createRequestHandler(beaconChainMethods);
 
@@ -83,51 +72,22 @@ abstract class AbstractRequestHandlerTest<T extends RpcRequestHandler> {
     lenient().when(rpcStream.closeWriteStream()).thenReturn(SafeFuture.COMPLETE);
     lenient().when(rpcStream.writeBytes(any())).thenReturn(SafeFuture.COMPLETE);
     lenient().when(peerLookup.getConnectedPeer(nodeId)).thenReturn(peer);
+    lenient().when(peer.getId()).thenReturn(nodeId);
+    lenient().when(peer.isConnected()).thenReturn(true);
 
-    // Setup thread to process input
-    startProcessingInput();
-  }
-
-  protected void startProcessingInput() {
-    inputHandlerThread =
-        new Thread(
-            () -> {
-              try {
-                reqHandler.processInput(nodeId, rpcStream, inputStream);
-              } catch (Throwable t) {
-                LOG.warn("Caught error while processing input: ", t);
-              } finally {
-                inputHandlerDone.set(true);
-              }
-            });
-    inputHandlerThread.start();
-  }
-
-  @AfterEach
-  public void teardown() {
-    inputStream.close();
-    if (inputHandlerThread != null) {
-      inputHandlerThread.interrupt();
-    }
-    Waiter.waitFor(() -> assertThat(inputHandlerDone).isTrue());
+    reqHandler.active(nodeId, rpcStream);
   }
 
   protected abstract T createRequestHandler(final BeaconChainMethods beaconChainMethods);
 
   protected abstract RpcEncoding getRpcEncoding();
 
-  protected void deliverBytes(final Bytes bytes) throws IOException {
-    deliverBytes(bytes, bytes.size());
+  protected void deliverBytes(final Bytes bytes) {
+    final ByteBuf data = Unpooled.wrappedBuffer(bytes.toArrayUnsafe());
+    reqHandler.processData(nodeId, rpcStream, data);
   }
 
-  protected void deliverBytes(final Bytes bytes, final int waitUntilBytesConsumed)
-      throws IOException {
-    checkArgument(
-        waitUntilBytesConsumed <= bytes.size(), "Cannot wait for more bytes than those supplied.");
-    inputStream.deliverBytes(bytes);
-    final int maxRemainingBytes = bytes.size() - waitUntilBytesConsumed;
-    Waiter.waitFor(
-        () ->
-            assertThat(inputStream.countUnconsumedBytes()).isLessThanOrEqualTo(maxRemainingBytes));
+  protected void completeInput() {
+    reqHandler.readComplete(nodeId, rpcStream);
   }
 }
@@ -30,7 +30,6 @@ import tech.pegasys.artemis.datastructures.networking.libp2p.rpc.BeaconBlocksByR
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.networking.eth2.rpc.beaconchain.BeaconChainMethods;
 import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.RpcEncoding;
-import tech.pegasys.artemis.util.Waiter;
 import tech.pegasys.artemis.util.async.SafeFuture;
 
 public abstract class Eth2IncomingRequestHandlerTest
@@ -71,9 +70,6 @@ public abstract class Eth2IncomingRequestHandlerTest
 
   @Test
   public void shouldCloseStreamIfRequestNotReceivedInTime() {
-    // Wait for processInput to block on waiting for input
-    Waiter.waitFor(() -> assertThat(inputStream.isWaitingOnNextByteToBeDelivered()).isTrue());
-
     verify(rpcStream, never()).close();
     verify(rpcStream, never()).closeWriteStream();
 
@@ -86,11 +82,10 @@ public abstract class Eth2IncomingRequestHandlerTest
   }
 
   @Test
-  public void shouldNotCloseStreamIfRequestReceivedInTime() throws Exception {
-    // Deliver request and wait for it to be processed
-    inputStream.deliverBytes(requestData);
-    Waiter.waitFor(() -> assertThat(reqHandler.hasRequestBeenReceived()).isTrue());
-    inputStream.close();
+  public void shouldNotCloseStreamIfRequestReceivedInTime() {
+    deliverBytes(requestData);
+    assertThat(reqHandler.hasRequestBeenReceived()).isTrue();
+    completeInput();
 
     // When timeout completes, we should not close stream
     assertThat(asyncRunner.countDelayedActions()).isEqualTo(1);
@@ -99,6 +94,26 @@ public abstract class Eth2IncomingRequestHandlerTest
     verify(rpcStream, never()).close();
   }
 
+  @Test
+  public void shouldHandleRequestDeliveredOneByteAtATime() {
+    for (int i = 0; i < requestData.size() - 1; i++) {
+      deliverBytes(requestData.slice(i, 1));
+      assertThat(reqHandler.hasRequestBeenReceived()).isFalse();
+    }
+    deliverBytes(requestData.slice(requestData.size() - 1));
+    assertThat(reqHandler.hasRequestBeenReceived()).isTrue();
+  }
+
+  @Test
+  public void shouldRespondWithErrorWhenStreamClosedBeforeRequestComplete() {
+    deliverBytes(requestData.slice(0, requestData.size() - 1));
+    completeInput();
+
+    assertThat(reqHandler.hasRequestBeenReceived()).isTrue();
+    final RpcEncoder rpcEncoder = new RpcEncoder(getRpcEncoding());
+    verify(rpcStream).writeBytes(rpcEncoder.encodeErrorResponse(RpcException.PAYLOAD_TRUNCATED));
+  }
+
   public static class Eth2IncomingRequestHandlerTest_ssz extends Eth2IncomingRequestHandlerTest {
 
     @Override
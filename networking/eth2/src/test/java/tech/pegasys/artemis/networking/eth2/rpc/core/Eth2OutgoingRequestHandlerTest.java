@@ -19,9 +19,9 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -82,7 +82,7 @@ public abstract class Eth2OutgoingRequestHandlerTest
       deliverChunk(i);
       assertThat(finishedProcessingFuture).isNotDone();
     }
-    inputStream.close();
+    completeInput();
 
     asyncRequestRunner.waitForExactly(maxChunks - 1);
     assertThat(finishedProcessingFuture).isNotDone();
@@ -94,6 +94,18 @@ public abstract class Eth2OutgoingRequestHandlerTest
     assertThat(finishedProcessingFuture).isCompletedWithValue(null);
   }
 
+  @Test
+  public void shouldNotifySubscriberWhenInitialBytesReceived() {
+    final AtomicInteger notificationCount = new AtomicInteger(0);
+    reqHandler.subscribeInitialBytesReceived(notificationCount::incrementAndGet);
+    sendInitialPayload();
+    assertThat(notificationCount).hasValue(0);
+
+    deliverChunk(0);
+    deliverChunk(1);
+    assertThat(notificationCount).hasValue(1);
+  }
+
   @Test
   public void receiveAllChunksThenEncounterErrorWhileProcessing() throws Exception {
     sendInitialPayload();
@@ -103,7 +115,7 @@ public abstract class Eth2OutgoingRequestHandlerTest
       deliverChunk(i);
       assertThat(finishedProcessingFuture).isNotDone();
     }
-    inputStream.close();
+    completeInput();
 
     asyncRequestRunner.waitForExactly(maxChunks - 1);
     assertThat(finishedProcessingFuture).isNotDone();
@@ -131,7 +143,7 @@ public abstract class Eth2OutgoingRequestHandlerTest
     deliverChunk(0);
     assertThat(finishedProcessingFuture).isNotDone();
     deliverError();
-    inputStream.close();
+    completeInput();
 
     asyncRequestRunner.waitForExactly(1);
     Waiter.waitFor(() -> assertThat(finishedProcessingFuture).isDone());
@@ -150,12 +162,12 @@ public abstract class Eth2OutgoingRequestHandlerTest
         // Send 2 chunks in the last batch of data which should only contain 1 chunk
         final Bytes lastChunk = chunks.get(i);
         final Bytes lastChunkWithExtraChunk = Bytes.concatenate(lastChunk, lastChunk);
-        deliverBytes(lastChunkWithExtraChunk, lastChunk.size());
+        deliverBytes(lastChunkWithExtraChunk);
       } else {
         deliverChunk(i);
       }
     }
-    inputStream.close();
+    completeInput();
 
     asyncRequestRunner.waitForExactly(maxChunks);
     timeoutRunner.executeUntilDone();
@@ -245,11 +257,45 @@ public abstract class Eth2OutgoingRequestHandlerTest
     verify(rpcStream, never()).close();
   }
 
+  @Test
+  public void processChunksSplitAcrossDeliveries() throws Exception {
+    sendInitialPayload();
+
+    // Deliver all chunks in pieces which straddle the chunk boundaries
+    final Bytes allChunks = Bytes.concatenate(chunks.toArray(new Bytes[0]));
+    final int pieceSize = 7;
+    for (int i = 0; i < allChunks.size(); i += pieceSize) {
+      deliverBytes(allChunks.slice(i, Math.min(pieceSize, allChunks.size() - i)));
+    }
+    completeInput();
+
+    asyncRequestRunner.waitForExactly(maxChunks);
+    timeoutRunner.executeUntilDone();
+    assertThat(blocks.size()).isEqualTo(maxChunks);
+    assertThat(finishedProcessingFuture).isCompletedWithValue(null);
+  }
+
+  @Test
+  public void failsWhenStreamClosedPartWayThroughChunk() throws Exception {
+    sendInitialPayload();
+
+    deliverChunk(0);
+    final Bytes secondChunk = chunks.get(1);
+    deliverBytes(secondChunk.slice(0, secondChunk.size() - 1));
+    completeInput();
+
+    asyncRequestRunner.waitForExactly(1);
+    Waiter.waitFor(() -> assertThat(finishedProcessingFuture).isDone());
+    assertThat(blocks.size()).isEqualTo(1);
+    assertThatThrownBy(finishedProcessingFuture::get)
+        .hasRootCause(RpcException.PAYLOAD_TRUNCATED);
+  }
+
   private void sendInitialPayload() {
     reqHandler.handleInitialPayloadSent(rpcStream);
   }
 
-  private void deliverInitialBytes() throws IOException {
+  private void deliverInitialBytes() {
     final Bytes firstByte = chunks.get(0).slice(0, 1);
     deliverBytes(firstByte);
   }
@@ -259,18 +305,14 @@ public abstract class Eth2OutgoingRequestHandlerTest
     return rpcEncoder.encodeSuccessfulResponse(block);
   }
 
-  private void deliverError() throws IOException {
+  private void deliverError() {
     final Bytes errorChunk = rpcEncoder.encodeErrorResponse(RpcException.SERVER_ERROR);
     deliverBytes(errorChunk);
   }
 
-  private void deliverChunk(final int chunk) throws IOException {
+  private void deliverChunk(final int chunk) {
     final Bytes chunkBytes = chunks.get(chunk);
     deliverBytes(chunkBytes);
-    if (chunk < maxChunks - 1) {
-      // Make sure we finish processing this chunk, and loop back around to wait on the next
-      Waiter.waitFor(() -> assertThat(inputStream.isWaitingOnNextByteToBeDelivered()).isTrue());
-    }
   }
 
   public static class Eth2OutgoingRequestHandlerTest_ssz extends Eth2OutgoingRequestHandlerTest {
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.rpc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import tech.pegasys.artemis.networking.eth2.peers.Eth2Peer;
+import tech.pegasys.artemis.networking.p2p.mock.MockNodeId;
+import tech.pegasys.artemis.networking.p2p.peer.DisconnectRequestHandler.DisconnectReason;
+import tech.pegasys.artemis.networking.p2p.peer.PeerDisconnectedSubscriber;
+import tech.pegasys.artemis.util.async.StubAsyncRunner;
+import tech.pegasys.artemis.util.time.StubTimeProvider;
+
+class RateLimitedMessageHandlerTest {
+  private static final String METHOD = "test_method";
+
+  private final StubTimeProvider timeProvider = StubTimeProvider.withTimeInSeconds(1000);
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final TokenBucket totalQuota = new TokenBucket(timeProvider, 15, 1);
+
+  @SuppressWarnings("unchecked")
+  private final LabelledMetric<Counter> throttledRequestCounter = mock(LabelledMetric.class);
+
+  private final Counter counter = mock(Counter.class);
+
+  @SuppressWarnings("unchecked")
+  private final LocalMessageHandler<Long, String> delegate = mock(LocalMessageHandler.class);
+
+  @SuppressWarnings("unchecked")
+  private final ResponseCallback<String> callback = mock(ResponseCallback.class);
+
+  private final Eth2Peer peer = mockPeer(1);
+
+  private final RateLimitedMessageHandler<Long, String> handler =
+      new RateLimitedMessageHandler<>(
+          METHOD,
+          delegate,
+          count -> count,
+          new RateLimit(10, 1),
+          totalQuota,
+          timeProvider,
+          asyncRunner,
+          throttledRequestCounter);
+
+  @BeforeEach
+  public void setup() {
+    when(throttledRequestCounter.labels(anyString(), anyString())).thenReturn(counter);
+  }
+
+  @Test
+  public void shouldHandleRequestWithinQuotaImmediately() {
+    handler.onIncomingMessage(peer, 10L, callback);
+
+    verify(delegate).onIncomingMessage(eq(peer), eq(10L), any());
+    assertThat(asyncRunner.hasDelayedActions()).isFalse();
+    verifyNoInteractions(throttledRequestCounter);
+  }
+
+  @Test
+  public void shouldDelayRequestWhenQuotaRefillsSoon() {
+    handler.onIncomingMessage(peer, 10L, callback);
+    handler.onIncomingMessage(peer, 2L, callback);
+
+    verify(delegate, never()).onIncomingMessage(eq(peer), eq(2L), any());
+    assertThat(asyncRunner.countDelayedActions()).isEqualTo(1);
+    verify(throttledRequestCounter).labels(METHOD, "delayed");
+
+    asyncRunner.executeQueuedActions();
+    verify(delegate).onIncomingMessage(eq(peer), eq(2L), any());
+  }
+
+  @Test
+  public void shouldRejectRequestWhenPeerQuotaExhausted() {
+    handler.onIncomingMessage(peer, 10L, callback);
+    handler.onIncomingMessage(peer, 5L, callback);
+
+    verify(delegate, never()).onIncomingMessage(eq(peer), eq(5L), any());
+    verify(callback).completeWithError(RpcException.RATE_LIMITED);
+    verify(throttledRequestCounter).labels(METHOD, "rejected");
+    assertThat(asyncRunner.hasDelayedActions()).isFalse();
+  }
+
+  @Test
+  public void shouldNotChargeRejectedRequests() {
+    handler.onIncomingMessage(peer, 10L, callback);
+    handler.onIncomingMessage(peer, 5L, callback);
+    verify(callback).completeWithError(RpcException.RATE_LIMITED);
+
+    timeProvider.advanceTimeBySeconds(5);
+    handler.onIncomingMessage(peer, 5L, callback);
+    verify(delegate).onIncomingMessage(eq(peer), eq(5L), any());
+  }
+
+  @Test
+  public void shouldRejectRequestAsBusyWhenTotalQuotaExhausted() {
+    final Eth2Peer otherPeer = mockPeer(2);
+    handler.onIncomingMessage(peer, 10L, callback);
+    handler.onIncomingMessage(otherPeer, 5L, callback);
+    handler.onIncomingMessage(otherPeer, 5L, callback);
+
+    verify(delegate).onIncomingMessage(eq(otherPeer), eq(5L), any());
+    verify(callback).completeWithError(RpcException.SERVER_BUSY);
+    verify(throttledRequestCounter).labels(METHOD, "busy");
+    verify(otherPeer, never()).disconnectCleanly(any());
+  }
+
+  @Test
+  public void shouldReturnUnusedReservationWhenResponseCompletes() {
+    respondWith(3);
+    handler.onIncomingMessage(peer, 10L, callback);
+    verify(callback, times(3)).respond("data");
+    verify(callback).completeSuccessfully();
+
+    assertThat(totalQuota.getAvailableTokens()).isEqualTo(12);
+    handler.onIncomingMessage(peer, 7L, callback);
+    verify(delegate).onIncomingMessage(eq(peer), eq(7L), any());
+    assertThat(asyncRunner.hasDelayedActions()).isFalse();
+  }
+
+  @Test
+  public void shouldChargeObjectsSentBeyondReservation() {
+    respondWith(10);
+    handler.onIncomingMessage(peer, 0L, callback);
+    verify(callback, times(10)).respond("data");
+
+    assertThat(totalQuota.getAvailableTokens()).isEqualTo(5);
+    handler.onIncomingMessage(peer, 1L, callback);
+    verify(throttledRequestCounter).labels(METHOD, "delayed");
+  }
+
+  @Test
+  public void shouldDisconnectPeerAfterRepeatedRejections() {
+    handler.onIncomingMessage(peer, 10L, callback);
+    for (int i = 0; i < 5; i++) {
+      handler.onIncomingMessage(peer, 10L, callback);
+    }
+    verify(callback, times(5)).completeWithError(RpcException.RATE_LIMITED);
+    verify(peer, never()).disconnectCleanly(any());
+
+    handler.onIncomingMessage(peer, 10L, callback);
+    verify(peer).disconnectCleanly(DisconnectReason.RATE_LIMITING);
+  }
+
+  @Test
+  public void shouldDiscardPeerQuotaWhenPeerDisconnects() {
+    handler.onIncomingMessage(peer, 10L, callback);
+    final ArgumentCaptor<PeerDisconnectedSubscriber> disconnectSubscriber =
+        ArgumentCaptor.forClass(PeerDisconnectedSubscriber.class);
+    verify(peer).subscribeDisconnect(disconnectSubscriber.capture());
+
+    disconnectSubscriber.getValue().onDisconnected();
+    handler.onIncomingMessage(peer, 5L, callback);
+    verify(delegate).onIncomingMessage(eq(peer), eq(5L), any());
+    assertThat(asyncRunner.hasDelayedActions()).isFalse();
+  }
+
+  private void respondWith(final int responseCount) {
+    doAnswer(
+            invocation -> {
+              final ResponseCallback<String> responseCallback = invocation.getArgument(2);
+              for (int i = 0; i < responseCount; i++) {
+                responseCallback.respond("data");
+              }
+              responseCallback.completeSuccessfully();
+              return null;
+            })
+        .when(delegate)
+        .onIncomingMessage(any(), any(), any());
+  }
+
+  private static Eth2Peer mockPeer(final int id) {
+    final Eth2Peer peer = mock(Eth2Peer.class);
+    when(peer.getId()).thenReturn(new MockNodeId(id));
+    when(peer.isConnected()).thenReturn(true);
+    return peer;
+  }
+}
@@ -16,8 +16,8 @@ package tech.pegasys.artemis.networking.eth2.rpc.core;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -69,9 +69,9 @@ public class RpcDecoderTestBase {
     assertThat(LENGTH_PREFIX.size()).isEqualTo(3);
   }
 
-  protected InputStream inputStream(final Bytes... bytes) {
+  protected ByteBuf buffer(final Bytes... bytes) {
     final Bytes allBytes = Bytes.concatenate(bytes);
-    return new ByteArrayInputStream(allBytes.toArrayUnsafe());
+    return Unpooled.wrappedBuffer(allBytes.toArrayUnsafe());
   }
 
   protected static BeaconBlocksByRootRequestMessage createRequestMessage(
@@ -16,6 +16,8 @@ package tech.pegasys.artemis.networking.eth2.rpc.core;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import io.netty.buffer.ByteBuf;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.artemis.datastructures.networking.libp2p.rpc.BeaconBlocksByRootRequestMessage;
@@ -27,10 +29,33 @@ class RpcRequestDecoderTest extends RpcDecoderTestBase {
 
   @Test
   public void shouldParseSingleResponseReceivedInSinglePacket() throws Exception {
-    final BeaconBlocksByRootRequestMessage request =
-        decoder.decodeRequest(inputStream(LENGTH_PREFIX, MESSAGE_DATA));
+    final Optional<BeaconBlocksByRootRequestMessage> request =
+        decoder.decodeRequest(buffer(LENGTH_PREFIX, MESSAGE_DATA));
+    decoder.complete();
 
-    assertThat(request).isEqualTo(MESSAGE);
+    assertThat(request).contains(MESSAGE);
+  }
+
+  @Test
+  public void shouldParseRequestReceivedOneByteAtATime() throws Exception {
+    final Bytes allBytes = Bytes.concatenate(LENGTH_PREFIX, MESSAGE_DATA);
+    for (int i = 0; i < allBytes.size() - 1; i++) {
+      assertThat(decoder.decodeRequest(buffer(allBytes.slice(i, 1)))).isEmpty();
+    }
+    final Optional<BeaconBlocksByRootRequestMessage> request =
+        decoder.decodeRequest(buffer(allBytes.slice(allBytes.size() - 1)));
+    decoder.complete();
+
+    assertThat(request).contains(MESSAGE);
+  }
+
+  @Test
+  public void shouldParseRequestSplitWithinLengthPrefix() throws Exception {
+    assertThat(decoder.decodeRequest(buffer(LENGTH_PREFIX.slice(0, 2)))).isEmpty();
+    final Optional<BeaconBlocksByRootRequestMessage> request =
+        decoder.decodeRequest(buffer(LENGTH_PREFIX.slice(2), MESSAGE_DATA));
+
+    assertThat(request).contains(MESSAGE);
   }
 
   @Test
@@ -38,7 +63,32 @@ class RpcRequestDecoderTest extends RpcDecoderTestBase {
     assertThatThrownBy(
             () ->
                 decoder.decodeRequest(
-                    inputStream(LENGTH_PREFIX, MESSAGE_DATA, Bytes.fromHexString("0x1234"))))
+                    buffer(LENGTH_PREFIX, MESSAGE_DATA, Bytes.fromHexString("0x1234"))))
         .isEqualTo(RpcException.EXTRA_DATA_APPENDED);
   }
+
+  @Test
+  public void shouldThrowErrorIfTrailingDataArrivesSeparately() throws Exception {
+    assertThat(decoder.decodeRequest(buffer(LENGTH_PREFIX, MESSAGE_DATA))).contains(MESSAGE);
+    assertThatThrownBy(() -> decoder.decodeRequest(buffer(Bytes.fromHexString("0x1234"))))
+        .isEqualTo(RpcException.EXTRA_DATA_APPENDED);
+  }
+
+  @Test
+  public void shouldThrowErrorIfStreamEndsWithinPayload() throws Exception {
+    assertThat(decoder.decodeRequest(buffer(LENGTH_PREFIX, MESSAGE_DATA.slice(0, 10)))).isEmpty();
+    assertThatThrownBy(decoder::complete).isEqualTo(RpcException.PAYLOAD_TRUNCATED);
+  }
+
+  @Test
+  public void shouldThrowErrorIfStreamEndsWithoutRequest() {
+    assertThatThrownBy(decoder::complete).isEqualTo(RpcException.MESSAGE_TRUNCATED);
+  }
+
+  @Test
+  public void shouldConsumeAllBytesOfPartialRequest() throws Exception {
+    final ByteBuf partialRequest = buffer(LENGTH_PREFIX, MESSAGE_DATA.slice(0, 10));
+    decoder.decodeRequest(partialRequest);
+    assertThat(partialRequest.isReadable()).isFalse();
+  }
 }
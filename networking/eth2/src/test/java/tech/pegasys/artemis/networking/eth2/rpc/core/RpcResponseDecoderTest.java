@@ -16,7 +16,9 @@ package tech.pegasys.artemis.networking.eth2.rpc.core;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-import java.io.InputStream;
+import io.netty.buffer.ByteBuf;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
@@ -31,21 +33,22 @@ class RpcResponseDecoderTest extends RpcDecoderTestBase {
 
   @Test
   public void decodeNextResponse_shouldParseSingleResponse() throws Exception {
-    final InputStream input = inputStream(SUCCESS_CODE, LENGTH_PREFIX, MESSAGE_DATA);
+    final ByteBuf input = buffer(SUCCESS_CODE, LENGTH_PREFIX, MESSAGE_DATA);
     final Optional<BeaconBlocksByRootRequestMessage> result = decoder.decodeNextResponse(input);
     assertThat(result).contains(MESSAGE);
 
     // Next attempt to read should be empty
     final Optional<BeaconBlocksByRootRequestMessage> result2 = decoder.decodeNextResponse(input);
     assertThat(result2).isEmpty();
+    decoder.complete();
   }
 
   @Test
   public void decodeNextResponse_shouldParseMultipleResponses() throws Exception {
     final BeaconBlocksByRootRequestMessage secondMessage = createRequestMessage(2);
     final Bytes secondMessageData = PAYLOAD_ENCODER.encode(secondMessage);
-    final InputStream input =
-        inputStream(
+    final ByteBuf input =
+        buffer(
             SUCCESS_CODE,
             LENGTH_PREFIX,
             MESSAGE_DATA,
@@ -61,14 +64,64 @@ class RpcResponseDecoderTest extends RpcDecoderTestBase {
 
     final Optional<BeaconBlocksByRootRequestMessage> result3 = decoder.decodeNextResponse(input);
     assertThat(result3).isEmpty();
+    decoder.complete();
   }
 
   @Test
-  public void decodeNextResponse_shouldThrowErrorIfStatusCodeIsNotSuccess() throws Exception {
+  public void decodeNextResponse_shouldParseResponsesSplitAcrossBuffers() throws Exception {
+    final BeaconBlocksByRootRequestMessage secondMessage = createRequestMessage(2);
+    final Bytes secondMessageData = PAYLOAD_ENCODER.encode(secondMessage);
+    final Bytes allBytes =
+        Bytes.concatenate(
+            SUCCESS_CODE,
+            LENGTH_PREFIX,
+            MESSAGE_DATA,
+            SUCCESS_CODE,
+            getLengthPrefix(secondMessageData.size()),
+            secondMessageData);
+
+    final List<BeaconBlocksByRootRequestMessage> results = new ArrayList<>();
+    for (int i = 0; i < allBytes.size(); i++) {
+      final ByteBuf input = buffer(allBytes.slice(i, 1));
+      Optional<BeaconBlocksByRootRequestMessage> result = decoder.decodeNextResponse(input);
+      while (result.isPresent()) {
+        results.add(result.get());
+        result = decoder.decodeNextResponse(input);
+      }
+    }
+    decoder.complete();
+
+    assertThat(results).containsExactly(MESSAGE, secondMessage);
+  }
+
+  @Test
+  public void decodeNextResponse_shouldThrowErrorIfStatusCodeIsNotSuccess() {
     assertThatThrownBy(
             () ->
                 decoder.decodeNextResponse(
-                    inputStream(ERROR_CODE, ERROR_MESSAGE_LENGTH_PREFIX, ERROR_MESSAGE_DATA)))
+                    buffer(ERROR_CODE, ERROR_MESSAGE_LENGTH_PREFIX, ERROR_MESSAGE_DATA)))
+        .isEqualTo(new RpcException(ERROR_CODE.get(0), ERROR_MESSAGE));
+  }
+
+  @Test
+  public void decodeNextResponse_shouldThrowErrorWhenErrorMessageArrivesInPieces()
+      throws Exception {
+    assertThat(decoder.decodeNextResponse(buffer(ERROR_CODE, ERROR_MESSAGE_LENGTH_PREFIX)))
+        .isEmpty();
+    assertThatThrownBy(() -> decoder.decodeNextResponse(buffer(ERROR_MESSAGE_DATA)))
         .isEqualTo(new RpcException(ERROR_CODE.get(0), ERROR_MESSAGE));
   }
+
+  @Test
+  public void complete_shouldThrowErrorIfStreamEndsAfterStatusCode() throws Exception {
+    assertThat(decoder.decodeNextResponse(buffer(SUCCESS_CODE))).isEmpty();
+    assertThatThrownBy(decoder::complete).isEqualTo(RpcException.MESSAGE_TRUNCATED);
+  }
+
+  @Test
+  public void complete_shouldThrowErrorIfStreamEndsWithinPayload() throws Exception {
+    final ByteBuf input = buffer(SUCCESS_CODE, LENGTH_PREFIX, MESSAGE_DATA.slice(1));
+    assertThat(decoder.decodeNextResponse(input)).isEmpty();
+    assertThatThrownBy(decoder::complete).isEqualTo(RpcException.PAYLOAD_TRUNCATED);
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.eth2.rpc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.util.time.StubTimeProvider;
+
+class TokenBucketTest {
+  private final StubTimeProvider timeProvider = StubTimeProvider.withTimeInSeconds(1000);
+  private final TokenBucket bucket = new TokenBucket(timeProvider, 10, 2);
+
+  @Test
+  public void shouldStartFull() {
+    assertThat(bucket.getAvailableTokens()).isEqualTo(10);
+  }
+
+  @Test
+  public void reserve_shouldNotDelayWhenTokensAvailable() {
+    assertThat(bucket.reserve(4)).isZero();
+    assertThat(bucket.reserve(6)).isZero();
+    assertThat(bucket.getAvailableTokens()).isZero();
+  }
+
+  @Test
+  public void reserve_shouldReturnTimeUntilDebtIsRepaid() {
+    assertThat(bucket.reserve(10)).isZero();
+    assertThat(bucket.reserve(1)).isEqualTo(500);
+    assertThat(bucket.reserve(2)).isEqualTo(1500);
+    assertThat(bucket.getAvailableTokens()).isZero();
+  }
+
+  @Test
+  public void shouldRefillOverTime() {
+    bucket.reserve(10);
+
+    timeProvider.advanceTimeByMillis(1500);
+    assertThat(bucket.getAvailableTokens()).isEqualTo(3);
+
+    timeProvider.advanceTimeBySeconds(60);
+    assertThat(bucket.getAvailableTokens()).isEqualTo(10);
+  }
+
+  @Test
+  public void release_shouldReturnTokens() {
+    bucket.reserve(8);
+    bucket.release(5);
+    assertThat(bucket.getAvailableTokens()).isEqualTo(7);
+  }
+
+  @Test
+  public void release_shouldNotExceedCapacity() {
+    bucket.reserve(2);
+    timeProvider.advanceTimeBySeconds(1);
+    bucket.release(2);
+    assertThat(bucket.getAvailableTokens()).isEqualTo(10);
+  }
+}
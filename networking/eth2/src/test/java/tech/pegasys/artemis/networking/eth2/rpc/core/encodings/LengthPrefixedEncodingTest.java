@@ -20,9 +20,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static tech.pegasys.artemis.util.config.Constants.MAX_CHUNK_SIZE;
 
 import com.google.common.primitives.UnsignedLong;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
@@ -41,17 +44,14 @@ class LengthPrefixedEncodingTest {
 
   @Test
   public void decodePayload_shouldReturnErrorWhenLengthPrefixIsTooLong() {
-    assertThatThrownBy(
-            () ->
-                encoding.decodePayload(
-                    inputStream("0xAAAAAAAAAAAAAAAAAAAA80"), StatusMessage.class))
+    assertThatThrownBy(() -> decodePayload(bytes("0xAAAAAAAAAAAAAAAAAAAA80"), StatusMessage.class))
         .isEqualTo(RpcException.CHUNK_TOO_LONG);
   }
 
   @Test
   public void decodePayload_shouldReturnErrorWhenNoPayloadIsPresent() {
-    final InputStream invalidMessage = inputStream(ONE_BYTE_LENGTH_PREFIX);
-    assertThatThrownBy(() -> encoding.decodePayload(invalidMessage, StatusMessage.class))
+    final Bytes invalidMessage = bytes(ONE_BYTE_LENGTH_PREFIX);
+    assertThatThrownBy(() -> decodePayload(invalidMessage, StatusMessage.class))
         .isEqualTo(RpcException.PAYLOAD_TRUNCATED);
   }
 
@@ -59,8 +59,8 @@ class LengthPrefixedEncodingTest {
   public void decodePayload_shouldReturnErrorWhenPayloadTooShort() {
     final Bytes correctMessage = createValidStatusMessage();
     final int truncatedSize = correctMessage.size() - 5;
-    final InputStream partialMessage = inputStream(correctMessage.slice(0, truncatedSize));
-    assertThatThrownBy(() -> encoding.decodePayload(partialMessage, StatusMessage.class))
+    final Bytes partialMessage = bytes(correctMessage.slice(0, truncatedSize));
+    assertThatThrownBy(() -> decodePayload(partialMessage, StatusMessage.class))
         .isEqualTo(RpcException.PAYLOAD_TRUNCATED);
   }
 
@@ -69,36 +69,69 @@ class LengthPrefixedEncodingTest {
     final StatusMessage originalMessage = StatusMessage.createPreGenesisStatus();
     final Bytes encoded = encoding.encodePayload(originalMessage);
     final Bytes extraData = Bytes.of(1, 2, 3, 4);
-    final InputStream input = inputStream(encoded, extraData);
-    final StatusMessage result = encoding.decodePayload(input, StatusMessage.class);
+    final ByteBuf input = Unpooled.wrappedBuffer(bytes(encoded, extraData).toArrayUnsafe());
+    final StatusMessage result = decodePayload(encoding, input, StatusMessage.class);
     assertThat(result).isEqualTo(originalMessage);
+    // Extra data is left for the caller to deal with
+    assertThat(input.readableBytes()).isEqualTo(extraData.size());
+  }
+
+  @Test
+  public void decodePayload_shouldDecodeSnappyPayloadDeliveredInPieces() throws RpcException {
+    // Large enough to be split over multiple snappy frames
+    final BeaconBlocksByRootRequestMessage request = createBlocksByRootRequest(3000);
+    final Bytes encoded = RpcEncoding.SSZ_SNAPPY.encodePayload(request);
+    final ByteBufDecoder<BeaconBlocksByRootRequestMessage, RpcException> decoder =
+        RpcEncoding.SSZ_SNAPPY.createDecoder(BeaconBlocksByRootRequestMessage.class);
+
+    final int pieceSize = 1000;
+    Optional<BeaconBlocksByRootRequestMessage> result = Optional.empty();
+    for (int i = 0; i < encoded.size(); i += pieceSize) {
+      assertThat(result).isEmpty();
+      final Bytes piece = encoded.slice(i, Math.min(pieceSize, encoded.size() - i));
+      result = decoder.decodeOneMessage(Unpooled.wrappedBuffer(piece.toArrayUnsafe()));
+    }
+    decoder.complete();
+    assertThat(result).contains(request);
+  }
+
+  @Test
+  public void decodePayload_shouldReturnErrorWhenSnappyPayloadTruncated() {
+    final Bytes encoded = RpcEncoding.SSZ_SNAPPY.encodePayload(createBlocksByRootRequest(3000));
+    final ByteBuf input =
+        Unpooled.wrappedBuffer(encoded.slice(0, encoded.size() - 1).toArrayUnsafe());
+    assertThatThrownBy(
+            () ->
+                decodePayload(
+                    RpcEncoding.SSZ_SNAPPY, input, BeaconBlocksByRootRequestMessage.class))
+        .isEqualTo(RpcException.PAYLOAD_TRUNCATED);
   }
 
   @Test
   public void decodePayload_shouldRejectMessagesThatAreTooLong() {
     // We should reject the message based on the length prefix and skip reading the data entirely.
-    final InputStream input = inputStream(LENGTH_PREFIX_EXCEEDING_MAXIMUM_LENGTH);
-    assertThatThrownBy(() -> encoding.decodePayload(input, StatusMessage.class))
+    final Bytes input = bytes(LENGTH_PREFIX_EXCEEDING_MAXIMUM_LENGTH);
+    assertThatThrownBy(() -> decodePayload(input, StatusMessage.class))
         .isEqualTo(RpcException.CHUNK_TOO_LONG);
   }
 
   @Test
   public void decodePayload_shouldRejectEmptyMessages() {
-    final InputStream input = inputStream(Bytes.EMPTY);
-    assertThatThrownBy(() -> encoding.decodePayload(input, StatusMessage.class))
+    final Bytes input = bytes(Bytes.EMPTY);
+    assertThatThrownBy(() -> decodePayload(input, StatusMessage.class))
         .isEqualTo(RpcException.MESSAGE_TRUNCATED);
   }
 
   @Test
   public void decodePayload_shouldThrowErrorWhenPrefixTruncated() {
-    final InputStream input = inputStream(TWO_BYTE_LENGTH_PREFIX.slice(0, 1));
-    assertThatThrownBy(() -> encoding.decodePayload(input, StatusMessage.class))
+    final Bytes input = bytes(TWO_BYTE_LENGTH_PREFIX.slice(0, 1));
+    assertThatThrownBy(() -> decodePayload(input, StatusMessage.class))
         .isEqualTo(RpcException.MESSAGE_TRUNCATED);
   }
 
   @Test
   public void decodePayload_shouldThrowRpcExceptionIfMessageLengthPrefixIsMoreThanThreeBytes() {
-    assertThatThrownBy(() -> encoding.decodePayload(inputStream("0x80808001"), StatusMessage.class))
+    assertThatThrownBy(() -> decodePayload(bytes("0x80808001"), StatusMessage.class))
         .isEqualTo(RpcException.CHUNK_TOO_LONG);
   }
 
@@ -128,7 +161,7 @@ class LengthPrefixedEncodingTest {
     final int expectedLengthPrefixLength = 1;
     assertThat(data.size())
         .isEqualTo(request.getBlockRoots().size() * Bytes32.SIZE + expectedLengthPrefixLength);
-    assertThat(encoding.decodePayload(inputStream(data), BeaconBlocksByRootRequestMessage.class))
+    assertThat(decodePayload(bytes(data), BeaconBlocksByRootRequestMessage.class))
         .isEqualTo(request);
   }
 
@@ -136,7 +169,7 @@ class LengthPrefixedEncodingTest {
   public void roundtrip_string() throws Exception {
     final String expected = "Some string to test";
     final Bytes encoded = encoding.encodePayload(expected);
-    assertThat(encoding.decodePayload(inputStream(encoded), String.class)).isEqualTo(expected);
+    assertThat(decodePayload(bytes(encoded), String.class)).isEqualTo(expected);
   }
 
   private Bytes createValidStatusMessage() {
@@ -149,15 +182,32 @@ class LengthPrefixedEncodingTest {
             UnsignedLong.ZERO));
   }
 
-  private InputStream inputStream(final Bytes... data) {
-    return inputStream(Bytes.concatenate(data));
+  private BeaconBlocksByRootRequestMessage createBlocksByRootRequest(final int blocksRequested) {
+    final List<Bytes32> roots = new ArrayList<>();
+    for (int i = 0; i < blocksRequested; i++) {
+      roots.add(Bytes32.leftPad(Bytes.ofUnsignedInt(i)));
+    }
+    return new BeaconBlocksByRootRequestMessage(roots);
+  }
+
+  private Bytes bytes(final Bytes... data) {
+    return Bytes.concatenate(data);
+  }
+
+  private Bytes bytes(final String hexString) {
+    return Bytes.fromHexString(hexString);
   }
 
-  private InputStream inputStream(final String hexString) {
-    return inputStream(Bytes.fromHexString(hexString));
+  private <T> T decodePayload(final Bytes data, final Class<T> payloadType) throws RpcException {
+    return decodePayload(encoding, Unpooled.wrappedBuffer(data.toArrayUnsafe()), payloadType);
   }
 
-  private InputStream inputStream(final Bytes bytes) {
-    return new ByteArrayInputStream(bytes.toArrayUnsafe());
+  private <T> T decodePayload(
+      final RpcEncoding encoding, final ByteBuf data, final Class<T> payloadType)
+      throws RpcException {
+    final ByteBufDecoder<T, RpcException> decoder = encoding.createDecoder(payloadType);
+    final Optional<T> result = decoder.decodeOneMessage(data);
+    decoder.complete();
+    return result.orElseThrow();
   }
 }
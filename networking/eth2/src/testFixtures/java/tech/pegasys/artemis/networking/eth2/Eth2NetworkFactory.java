@@ -31,6 +31,8 @@ import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.artemis.core.StateTransition;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.peers.Eth2PeerManager;
 import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.RpcEncoding;
 import tech.pegasys.artemis.networking.p2p.DiscoveryNetwork;
@@ -49,6 +51,7 @@ import tech.pegasys.artemis.storage.client.RecentChainData;
 import tech.pegasys.artemis.util.Waiter;
 import tech.pegasys.artemis.util.config.Constants;
 import tech.pegasys.artemis.util.time.StubTimeProvider;
+import tech.pegasys.artemis.util.time.SystemTimeProvider;
 
 public class Eth2NetworkFactory {
 
@@ -75,6 +78,7 @@ public class Eth2NetworkFactory {
     protected List<RpcMethod> rpcMethods = new ArrayList<>();
     protected List<PeerHandler> peerHandlers = new ArrayList<>();
     protected RpcEncoding rpcEncoding = RpcEncoding.SSZ_SNAPPY;
+    protected GossipEncoding gossipEncoding = GossipEncoding.SSZ_SNAPPY;
 
     public Eth2Network startNetwork() throws Exception {
       setDefaults();
@@ -116,7 +120,11 @@ public class Eth2NetworkFactory {
         final StorageQueryChannel historicalChainData = new StubStorageQueryChannel();
         final Eth2PeerManager eth2PeerManager =
             Eth2PeerManager.create(
-                recentChainData, historicalChainData, METRICS_SYSTEM, rpcEncoding);
+                recentChainData,
+                historicalChainData,
+                METRICS_SYSTEM,
+                rpcEncoding,
+                new SystemTimeProvider());
         final Collection<RpcMethod> eth2Protocols = eth2PeerManager.getBeaconChainMethods().all();
         // Configure eth2 handlers
         this.rpcMethods(eth2Protocols).peerHandler(eth2PeerManager);
@@ -129,9 +137,16 @@ public class Eth2NetworkFactory {
                 new LibP2PNetwork(
                     config, reputationManager, METRICS_SYSTEM, rpcMethods, peerHandlers),
                 reputationManager,
+                eth2PeerManager,
                 config);
 
-        return new ActiveEth2Network(network, eth2PeerManager, eventBus, recentChainData);
+        return new ActiveEth2Network(
+            network,
+            eth2PeerManager,
+            eventBus,
+            recentChainData,
+            new StateTransition(),
+            gossipEncoding);
       }
     }
 
@@ -169,6 +184,11 @@ public class Eth2NetworkFactory {
       return this;
     }
 
+    public Eth2P2PNetworkBuilder gossipEncoding(final GossipEncoding gossipEncoding) {
+      this.gossipEncoding = gossipEncoding;
+      return this;
+    }
+
     public Eth2P2PNetworkBuilder peer(final Eth2Network peer) {
       this.peers.add(peer);
       return this;
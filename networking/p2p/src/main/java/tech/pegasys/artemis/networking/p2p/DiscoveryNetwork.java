@@ -28,6 +28,7 @@ import tech.pegasys.artemis.datastructures.state.Fork;
 import tech.pegasys.artemis.datastructures.state.ForkInfo;
 import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.artemis.networking.p2p.connection.ConnectionManager;
+import tech.pegasys.artemis.networking.p2p.connection.PeerScorer;
 import tech.pegasys.artemis.networking.p2p.connection.ReputationManager;
 import tech.pegasys.artemis.networking.p2p.discovery.DiscoveryService;
 import tech.pegasys.artemis.networking.p2p.discovery.discv5.DiscV5Service;
@@ -65,12 +66,14 @@ public class DiscoveryNetwork<P extends Peer> extends DelegatingP2PNetwork<P> {
   public static <P extends Peer> DiscoveryNetwork<P> create(
       final P2PNetwork<P> p2pNetwork,
       final ReputationManager reputationManager,
+      final PeerScorer peerScorer,
       final NetworkConfig p2pConfig) {
     final DiscoveryService discoveryService = createDiscoveryService(p2pConfig);
     final ConnectionManager connectionManager =
         new ConnectionManager(
             discoveryService,
             reputationManager,
+            peerScorer,
             DelayedExecutorAsyncRunner.create(),
             p2pNetwork,
             p2pConfig.getStaticPeers().stream()
@@ -14,6 +14,7 @@
 package tech.pegasys.artemis.networking.p2p.connection;
 
 import java.time.Duration;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -39,17 +40,20 @@ public class ConnectionManager extends Service {
   private final DiscoveryService discoveryService;
   private final TargetPeerRange targetPeerCountRange;
   private final ReputationManager reputationManager;
+  private final PeerScorer peerScorer;
 
   private volatile long peerConnectedSubscriptionId;
 
   public ConnectionManager(
       final DiscoveryService discoveryService,
       final ReputationManager reputationManager,
+      final PeerScorer peerScorer,
       final AsyncRunner asyncRunner,
       final P2PNetwork<? extends Peer> network,
       final List<PeerAddress> peerAddresses,
       final TargetPeerRange targetPeerCountRange) {
     this.reputationManager = reputationManager;
+    this.peerScorer = peerScorer;
     this.asyncRunner = asyncRunner;
     this.network = network;
     this.staticPeers = new HashSet<>(peerAddresses);
@@ -92,6 +96,7 @@ public class ConnectionManager extends Service {
             })
         .thenCompose(
             __ -> {
+              disconnectPoorlyPerformingPeer();
               connectToKnownPeers();
               return asyncRunner.runAfterDelay(
                   this::searchForPeers, DISCOVERY_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
@@ -108,13 +113,31 @@ public class ConnectionManager extends Service {
 
   private void onPeerConnected(final Peer peer) {
     final int peersToDrop = targetPeerCountRange.getPeersToDrop(network.getPeerCount());
+    if (peersToDrop == 0) {
+      return;
+    }
     network
         .streamPeers()
         .filter(candidate -> !staticPeers.contains(candidate.getAddress()))
+        .sorted(Comparator.comparing(candidate -> peerScorer.scorePeer(candidate.getId())))
         .limit(peersToDrop)
         .forEach(peerToDrop -> peerToDrop.disconnectCleanly(DisconnectReason.TOO_MANY_PEERS));
   }
 
+  private void disconnectPoorlyPerformingPeer() {
+    // Replace at most one peer each time so a generally slow network doesn't cause churn
+    network
+        .streamPeers()
+        .filter(candidate -> !staticPeers.contains(candidate.getAddress()))
+        .filter(candidate -> peerScorer.isPerformingPoorly(candidate.getId()))
+        .min(Comparator.comparing(candidate -> peerScorer.scorePeer(candidate.getId())))
+        .ifPresent(
+            peerToDrop -> {
+              LOG.debug("Disconnecting poorly performing peer {}", peerToDrop.getId());
+              peerToDrop.disconnectCleanly(DisconnectReason.REMOTE_FAULT);
+            });
+  }
+
   @Override
   protected SafeFuture<?> doStop() {
     network.unsubscribeConnect(peerConnectedSubscriptionId);
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.p2p.connection;
+
+import tech.pegasys.artemis.networking.p2p.peer.NodeId;
+
+/** Scores connected peers so that the least useful can be disconnected to make room for others. */
+public interface PeerScorer {
+  PeerScorer NOOP =
+      new PeerScorer() {
+        @Override
+        public double scorePeer(final NodeId peerId) {
+          return 0;
+        }
+
+        @Override
+        public boolean isPerformingPoorly(final NodeId peerId) {
+          return false;
+        }
+      };
+
+  /**
+   * @param peerId The id of a connected peer
+   * @return the score for the peer, where higher is better
+   */
+  double scorePeer(NodeId peerId);
+
+  /**
+   * @param peerId The id of a connected peer
+   * @return true if the peer has performed badly for long enough that it should be replaced
+   */
+  boolean isPerformingPoorly(NodeId peerId);
+}
@@ -14,6 +14,7 @@
 package tech.pegasys.artemis.networking.p2p.gossip;
 
 import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.artemis.util.async.SafeFuture;
 
 public interface TopicHandler {
 
@@ -21,7 +22,7 @@ public interface TopicHandler {
    * Validate and process gossip message
    *
    * @param bytes The gossip message
-   * @return {@code true} if the message is valid, {@code false} otherwise
+   * @return A future completed with {@code true} if the message is valid, {@code false} otherwise
    */
-  boolean handleMessage(Bytes bytes);
+  SafeFuture<Boolean> handleMessage(Bytes bytes);
 }
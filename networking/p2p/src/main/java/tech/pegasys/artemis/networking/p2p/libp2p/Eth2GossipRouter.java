@@ -14,10 +14,9 @@
 package tech.pegasys.artemis.networking.p2p.libp2p;
 
 import io.libp2p.pubsub.gossip.GossipRouter;
-import java.util.Base64;
-import org.apache.tuweni.crypto.Hash;
 import org.jetbrains.annotations.NotNull;
 import pubsub.pb.Rpc.Message;
+import tech.pegasys.artemis.networking.p2p.libp2p.gossip.GossipMessageId;
 
 /** Customization of a standard Libp2p Gossip router for Eth2 spec */
 public class Eth2GossipRouter extends GossipRouter {
@@ -25,8 +24,6 @@ public class Eth2GossipRouter extends GossipRouter {
   @NotNull
   @Override
   protected String getMessageId(@NotNull Message msg) {
-    return Base64.getUrlEncoder()
-        .withoutPadding()
-        .encodeToString(Hash.sha2_256(msg.getData().toByteArray()));
+    return GossipMessageId.toBase64(GossipMessageId.compute(msg.getData().asReadOnlyByteBuffer()));
   }
 }
@@ -72,6 +72,7 @@ import tech.pegasys.artemis.util.async.DelayedExecutorAsyncRunner;
 import tech.pegasys.artemis.util.async.SafeFuture;
 import tech.pegasys.artemis.util.cli.VersionProvider;
 import tech.pegasys.artemis.util.network.NetworkUtility;
+import tech.pegasys.artemis.util.time.SystemTimeProvider;
 
 public class LibP2PNetwork implements P2PNetwork<Peer> {
 
@@ -108,7 +109,7 @@ public class LibP2PNetwork implements P2PNetwork<Peer> {
     // Setup gossip
     gossip = createGossip();
     final PubsubPublisherApi publisher = gossip.createPublisher(privKey, new Random().nextLong());
-    gossipNetwork = new LibP2PGossipNetwork(gossip, publisher);
+    gossipNetwork = new LibP2PGossipNetwork(gossip, publisher, new SystemTimeProvider());
 
     // Setup rpc methods
     rpcMethods.forEach(method -> rpcHandlers.put(method, new RpcHandler(asyncRunner, method)));
@@ -19,35 +19,35 @@ import io.libp2p.core.pubsub.MessageApi;
 import io.libp2p.core.pubsub.PubsubPublisherApi;
 import io.libp2p.core.pubsub.Topic;
 import io.netty.buffer.Unpooled;
-import java.util.Set;
+import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.networking.p2p.gossip.TopicHandler;
 import tech.pegasys.artemis.util.async.SafeFuture;
-import tech.pegasys.artemis.util.collections.ConcurrentLimitedSet;
-import tech.pegasys.artemis.util.collections.LimitStrategy;
 
 public class GossipHandler implements Function<MessageApi, CompletableFuture<Boolean>> {
   private static final Logger LOG = LogManager.getLogger();
 
   private static SafeFuture<Boolean> VALIDATION_FAILED = SafeFuture.completedFuture(false);
-  private static SafeFuture<Boolean> VALIDATION_SUCCEEDED = SafeFuture.completedFuture(true);
-  private static final int MAX_SENT_MESSAGES = 2048;
 
   private final Topic topic;
   private final PubsubPublisherApi publisher;
   private final TopicHandler handler;
-  private final Set<Bytes> processedMessages =
-      ConcurrentLimitedSet.create(MAX_SENT_MESSAGES, LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
+  private final SeenMessageCache seenMessages;
 
   public GossipHandler(
-      final Topic topic, final PubsubPublisherApi publisher, final TopicHandler handler) {
+      final Topic topic,
+      final PubsubPublisherApi publisher,
+      final TopicHandler handler,
+      final SeenMessageCache seenMessages) {
     this.topic = topic;
     this.publisher = publisher;
     this.handler = handler;
+    this.seenMessages = seenMessages;
   }
 
   @Override
@@ -60,20 +60,22 @@ public class GossipHandler implements Function<MessageApi, CompletableFuture<Boo
           GOSSIP_MAX_SIZE);
       return VALIDATION_FAILED;
     }
-    Bytes bytes = Bytes.wrapByteBuf(message.getData()).copy();
-    if (!processedMessages.add(bytes)) {
+    final Bytes32 messageId = GossipMessageId.compute(message.getData().nioBuffer());
+    if (!seenMessages.add(messageId)) {
       // We've already seen this message, skip processing
-      LOG.trace("Ignoring duplicate message for topic {}: {} bytes", topic, bytes.size());
+      LOG.trace("Ignoring duplicate message for topic {}: {} bytes", topic, messageSize);
       return VALIDATION_FAILED;
     }
+    // Only copy the payload once we know it will be processed
+    final Bytes bytes = Bytes.wrapByteBuf(message.getData()).copy();
     LOG.trace("Received message for topic {}: {} bytes", topic, bytes.size());
 
-    final boolean result = handler.handleMessage(bytes);
-    return result ? VALIDATION_SUCCEEDED : VALIDATION_FAILED;
+    return handler.handleMessage(bytes);
   }
 
   public void gossip(Bytes bytes) {
-    if (!processedMessages.add(bytes)) {
+    final Bytes32 messageId = GossipMessageId.compute(ByteBuffer.wrap(bytes.toArrayUnsafe()));
+    if (!seenMessages.add(messageId)) {
       // We've already gossiped this data
       return;
     }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.p2p.libp2p.gossip;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.util.message.BouncyCastleMessageDigestFactory;
+
+/** Computes eth2 gossip message ids, which are the SHA-256 hash of the message data. */
+public final class GossipMessageId {
+  private static final ThreadLocal<MessageDigest> SHA_256 =
+      ThreadLocal.withInitial(GossipMessageId::createDigest);
+
+  private GossipMessageId() {}
+
+  /**
+   * Computes the message id directly from the supplied buffer without copying its contents.
+   *
+   * @param data The message data, which is consumed from its current position
+   * @return The message id
+   */
+  public static Bytes32 compute(final ByteBuffer data) {
+    final MessageDigest digest = SHA_256.get();
+    digest.update(data);
+    return Bytes32.wrap(digest.digest());
+  }
+
+  /** Returns the message id in the string form used by the gossip router. */
+  public static String toBase64(final Bytes32 messageId) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(messageId.toArrayUnsafe());
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return BouncyCastleMessageDigestFactory.create("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 digest is unavailable", e);
+    }
+  }
+}
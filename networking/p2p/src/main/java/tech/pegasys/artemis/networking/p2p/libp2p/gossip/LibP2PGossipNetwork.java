@@ -19,21 +19,30 @@ import io.libp2p.core.pubsub.Topic;
 import io.libp2p.pubsub.gossip.Gossip;
 import tech.pegasys.artemis.networking.p2p.gossip.TopicChannel;
 import tech.pegasys.artemis.networking.p2p.gossip.TopicHandler;
+import tech.pegasys.artemis.util.time.TimeProvider;
 
 public class LibP2PGossipNetwork
     implements tech.pegasys.artemis.networking.p2p.gossip.GossipNetwork {
   private final Gossip gossip;
   private final PubsubPublisherApi publisher;
+  private final TimeProvider timeProvider;
 
-  public LibP2PGossipNetwork(final Gossip gossip, final PubsubPublisherApi publisher) {
+  public LibP2PGossipNetwork(
+      final Gossip gossip, final PubsubPublisherApi publisher, final TimeProvider timeProvider) {
     this.gossip = gossip;
     this.publisher = publisher;
+    this.timeProvider = timeProvider;
   }
 
   @Override
   public TopicChannel subscribe(final String topic, final TopicHandler topicHandler) {
     final Topic libP2PTopic = new Topic(topic);
-    final GossipHandler gossipHandler = new GossipHandler(libP2PTopic, publisher, topicHandler);
+    final GossipHandler gossipHandler =
+        new GossipHandler(
+            libP2PTopic,
+            publisher,
+            topicHandler,
+            SeenMessageCache.createForPropagationWindow(timeProvider));
     PubsubSubscription subscription = gossip.subscribe(gossipHandler, libP2PTopic);
     return new LibP2PTopicChannel(gossipHandler, subscription);
   }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.p2p.libp2p.gossip;
+
+import static tech.pegasys.artemis.util.config.Constants.ATTESTATION_PROPAGATION_SLOT_RANGE;
+import static tech.pegasys.artemis.util.config.Constants.SECONDS_PER_SLOT;
+
+import java.time.Duration;
+import java.util.Arrays;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.util.time.TimeProvider;
+
+/**
+ * Tracks the ids of recently seen gossip messages.
+ *
+ * <p>Ids are grouped into buckets which each cover a fixed period of time, and the oldest bucket is
+ * cleared as a whole once it falls outside the window, so no per-message expiry bookkeeping is
+ * required. Each bucket records at most a fixed number of ids so a peer flooding unique messages
+ * can't grow the cache without bound. Once a bucket is full, further ids are reported as unseen
+ * but not recorded until the next bucket starts, so duplicates of them are processed again.
+ *
+ * <p>Only the first 8 bytes of each id are stored. As ids are SHA-256 hashes, the chance of two
+ * distinct messages within the window sharing a key is negligible.
+ */
+public class SeenMessageCache {
+  // Several times the ~1000 aggregates (64 committees x 16 aggregators) published per slot
+  static final int DEFAULT_MAX_ENTRIES_PER_BUCKET = 4096;
+
+  private final TimeProvider timeProvider;
+  private final long bucketDurationMillis;
+  private final int maxEntriesPerBucket;
+  private final LongHashSet[] buckets;
+  private long latestBucketNumber;
+
+  public SeenMessageCache(
+      final TimeProvider timeProvider,
+      final Duration bucketDuration,
+      final int bucketCount,
+      final int maxEntriesPerBucket) {
+    this.timeProvider = timeProvider;
+    this.bucketDurationMillis = bucketDuration.toMillis();
+    this.maxEntriesPerBucket = maxEntriesPerBucket;
+    this.buckets = new LongHashSet[bucketCount];
+    for (int i = 0; i < bucketCount; i++) {
+      buckets[i] = new LongHashSet();
+    }
+    this.latestBucketNumber = getCurrentBucketNumber();
+  }
+
+  /**
+   * Creates a cache covering the full attestation propagation window, with one bucket per slot.
+   *
+   * @param timeProvider The source of the current time
+   * @return The new cache
+   */
+  public static SeenMessageCache createForPropagationWindow(final TimeProvider timeProvider) {
+    return new SeenMessageCache(
+        timeProvider,
+        Duration.ofSeconds(SECONDS_PER_SLOT),
+        ATTESTATION_PROPAGATION_SLOT_RANGE.intValue() + 1,
+        DEFAULT_MAX_ENTRIES_PER_BUCKET);
+  }
+
+  /**
+   * Records a message id as seen.
+   *
+   * @param messageId The message id
+   * @return true if the id had not already been seen within the window
+   */
+  public synchronized boolean add(final Bytes32 messageId) {
+    final long key = messageId.getLong(0);
+    expireBuckets(getCurrentBucketNumber());
+    for (LongHashSet bucket : buckets) {
+      if (bucket.contains(key)) {
+        return false;
+      }
+    }
+    final LongHashSet latestBucket = buckets[(int) (latestBucketNumber % buckets.length)];
+    if (latestBucket.size() < maxEntriesPerBucket) {
+      latestBucket.add(key);
+    }
+    return true;
+  }
+
+  private long getCurrentBucketNumber() {
+    return timeProvider.getTimeInMillis().longValue() / bucketDurationMillis;
+  }
+
+  private void expireBuckets(final long currentBucketNumber) {
+    if (currentBucketNumber <= latestBucketNumber) {
+      // Keep adding to the latest bucket if the clock goes backwards
+      return;
+    }
+    final long bucketsToClear = Math.min(currentBucketNumber - latestBucketNumber, buckets.length);
+    for (long i = 1; i <= bucketsToClear; i++) {
+      buckets[(int) ((latestBucketNumber + i) % buckets.length)].clear();
+    }
+    latestBucketNumber = currentBucketNumber;
+  }
+
+  /**
+   * A minimal open-addressing set of longs which avoids boxing each key. Cleared buckets keep
+   * their table so a steady message rate causes no further allocation.
+   */
+  private static class LongHashSet {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] table = new long[INITIAL_CAPACITY];
+    private int size = 0;
+    // Zero marks an empty slot so is tracked separately
+    private boolean containsZero = false;
+
+    boolean contains(final long key) {
+      if (key == 0) {
+        return containsZero;
+      }
+      final int mask = table.length - 1;
+      for (int i = indexOf(key, mask); table[i] != 0; i = (i + 1) & mask) {
+        if (table[i] == key) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    int size() {
+      return containsZero ? size + 1 : size;
+    }
+
+    void add(final long key) {
+      if (key == 0) {
+        containsZero = true;
+        return;
+      }
+      if ((size + 1) * 2 > table.length) {
+        resize(table.length * 2);
+      }
+      if (insert(table, key)) {
+        size++;
+      }
+    }
+
+    void clear() {
+      if (size > 0) {
+        Arrays.fill(table, 0);
+        size = 0;
+      }
+      containsZero = false;
+    }
+
+    private void resize(final int newCapacity) {
+      final long[] newTable = new long[newCapacity];
+      for (long key : table) {
+        if (key != 0) {
+          insert(newTable, key);
+        }
+      }
+      table = newTable;
+    }
+
+    private static boolean insert(final long[] table, final long key) {
+      final int mask = table.length - 1;
+      int i = indexOf(key, mask);
+      while (table[i] != 0) {
+        if (table[i] == key) {
+          return false;
+        }
+        i = (i + 1) & mask;
+      }
+      table[i] = key;
+      return true;
+    }
+
+    private static int indexOf(final long key, final int mask) {
+      // Keys are already uniformly distributed hash output
+      return (int) (key ^ (key >>> 32)) & mask;
+    }
+  }
+}
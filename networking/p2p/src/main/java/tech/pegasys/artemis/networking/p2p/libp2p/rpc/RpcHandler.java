@@ -22,11 +22,9 @@ import io.libp2p.core.multistream.ProtocolMatcher;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -125,7 +123,7 @@ public class RpcHandler implements ProtocolBinding<Controller> {
   public SafeFuture<Controller> initChannel(P2PChannel channel, String s) {
     final Connection connection = ((io.libp2p.core.Stream) channel).getConnection();
     final NodeId nodeId = new LibP2PNodeId(connection.secureSession().getRemoteId());
-    Controller controller = new Controller(nodeId, channel, asyncRunner);
+    Controller controller = new Controller(nodeId, channel);
     if (!channel.isInitiator()) {
       controller.setRequestHandler(rpcMethod.createIncomingRequestHandler());
     }
@@ -136,30 +134,19 @@ public class RpcHandler implements ProtocolBinding<Controller> {
   static class Controller extends SimpleChannelInboundHandler<ByteBuf> {
     private final NodeId nodeId;
     private final P2PChannel p2pChannel;
-    private final AsyncRunner asyncRunner;
     private RpcRequestHandler rpcRequestHandler;
     private RpcStream rpcStream;
 
-    private final PipedOutputStream outputStream;
-    private final InputStream inputStream;
-    private boolean outputStreamClosed = false;
+    // Data received before the request handler is ready, retained until it can be delivered
+    private final List<ByteBuf> pendingData = new ArrayList<>();
+    private boolean requestHandlerActive = false;
+    private boolean readComplete = false;
 
     protected final SafeFuture<Controller> activeFuture = new SafeFuture<>();
 
-    private Controller(
-        final NodeId nodeId, final P2PChannel p2pChannel, final AsyncRunner asyncRunner) {
+    private Controller(final NodeId nodeId, final P2PChannel p2pChannel) {
       this.nodeId = nodeId;
       this.p2pChannel = p2pChannel;
-      this.asyncRunner = asyncRunner;
-
-      try {
-        outputStream = new PipedOutputStream();
-        inputStream = new PipedInputStream(outputStream, 2048);
-      } catch (IOException e) {
-        // We should never hits this
-        // This exception should only be thrown if input and output are incorrectly connected
-        throw new IllegalStateException(e);
-      }
     }
 
     @Override
@@ -173,46 +160,54 @@ public class RpcHandler implements ProtocolBinding<Controller> {
     }
 
     @Override
-    protected void channelRead0(final ChannelHandlerContext ctx, final ByteBuf msg) {
-      if (outputStreamClosed) {
-        // Discard any data if output stream has been closed
+    protected synchronized void channelRead0(final ChannelHandlerContext ctx, final ByteBuf msg) {
+      if (readComplete) {
+        // Discard any data received after the stream has been closed
         return;
       }
-      try {
-        // TODO - we may want to optimize this to pass on ByteBuf's directly and manage their
-        //  garbage collection rather than immediately copying these bytes
-        final Bytes bytes = Bytes.wrapByteBuf(msg);
-        outputStream.write(bytes.toArray());
-      } catch (IOException e) {
-        // We should only hit this if the connected input pipe has been prematurely closed
-        throw new IllegalStateException(e);
+      if (!requestHandlerActive) {
+        pendingData.add(msg.retain());
+        return;
       }
+      processData(msg);
     }
 
     public void setRequestHandler(RpcRequestHandler rpcRequestHandler) {
-      if (this.rpcRequestHandler != null) {
-        throw new IllegalStateException("Attempt to set an already set data handler");
+      synchronized (this) {
+        if (this.rpcRequestHandler != null) {
+          throw new IllegalStateException("Attempt to set an already set data handler");
+        }
+        this.rpcRequestHandler = rpcRequestHandler;
+      }
+
+      activeFuture.finish(
+          __ -> activateRequestHandler(),
+          err -> LOG.trace("Stream closed before request handler was activated", err));
+    }
+
+    private synchronized void activateRequestHandler() {
+      rpcRequestHandler.active(nodeId, rpcStream);
+      final List<ByteBuf> receivedData = new ArrayList<>(pendingData);
+      pendingData.clear();
+      for (ByteBuf data : receivedData) {
+        if (!readComplete) {
+          processData(data);
+        }
+        data.release();
+      }
+      requestHandlerActive = true;
+      if (readComplete) {
+        rpcRequestHandler.readComplete(nodeId, rpcStream);
+      }
+    }
+
+    private void processData(final ByteBuf data) {
+      try {
+        rpcRequestHandler.processData(nodeId, rpcStream, data);
+      } catch (final Throwable t) {
+        LOG.error("Unhandled exception while processing rpc input", t);
+        close();
       }
-      this.rpcRequestHandler = rpcRequestHandler;
-
-      activeFuture
-          .thenCompose(
-              __ ->
-                  asyncRunner.runAsync(
-                      () -> rpcRequestHandler.processInput(nodeId, rpcStream, inputStream)))
-          .handle(
-              (res, err) -> {
-                if (err != null) {
-                  LOG.error("Unhandled exception while processing rpc input", err);
-                }
-                try {
-                  inputStream.close();
-                } catch (IOException e) {
-                  throw new RuntimeException(e);
-                }
-                return null;
-              })
-          .reportExceptions();
     }
 
     @Override
@@ -228,24 +223,21 @@ public class RpcHandler implements ProtocolBinding<Controller> {
       close();
     }
 
-    private void close() {
+    private synchronized void close() {
       if (rpcStream != null) {
         rpcStream.close().reportExceptions();
       }
-      closeOutputStream();
-      // Make sure to complete activation future in case we are never activated
-      activeFuture.completeExceptionally(new StreamClosedException());
-    }
-
-    private void closeOutputStream() {
-      if (!outputStreamClosed) {
-        outputStreamClosed = true;
-        try {
-          outputStream.close();
-        } catch (IOException e) {
-          throw new IllegalStateException(e);
+      if (!readComplete) {
+        readComplete = true;
+        if (requestHandlerActive) {
+          rpcRequestHandler.readComplete(nodeId, rpcStream);
+        } else {
+          pendingData.forEach(ByteBuf::release);
+          pendingData.clear();
         }
       }
+      // Make sure to complete activation future in case we are never activated
+      activeFuture.completeExceptionally(new StreamClosedException());
     }
   }
 }
@@ -24,6 +24,7 @@ public interface DisconnectRequestHandler {
     UNABLE_TO_VERIFY_NETWORK,
     TOO_MANY_PEERS,
     REMOTE_FAULT,
+    RATE_LIMITING,
     SHUTTING_DOWN
   }
 }
@@ -13,9 +13,24 @@
 
 package tech.pegasys.artemis.networking.p2p.rpc;
 
-import java.io.InputStream;
+import io.netty.buffer.ByteBuf;
 import tech.pegasys.artemis.networking.p2p.peer.NodeId;
 
+/**
+ * Handles the data received on a single rpc stream. All methods are invoked on the network thread
+ * which owns the stream, so implementations must not block.
+ */
 public interface RpcRequestHandler {
-  void processInput(final NodeId nodeId, final RpcStream rpcStream, final InputStream input);
+
+  /** Called once the stream is ready, before any data is delivered. */
+  void active(final NodeId nodeId, final RpcStream rpcStream);
+
+  /**
+   * Called each time data is received. The buffer is only valid for the duration of the call and
+   * any bytes which must be kept for later need to be retained or copied.
+   */
+  void processData(final NodeId nodeId, final RpcStream rpcStream, final ByteBuf data);
+
+  /** Called once the remote peer will send no more data on this stream. */
+  default void readComplete(final NodeId nodeId, final RpcStream rpcStream) {}
 }
@@ -30,6 +30,7 @@ import tech.pegasys.artemis.datastructures.state.ForkInfo;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
 import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.artemis.networking.p2p.connection.ConnectionManager;
+import tech.pegasys.artemis.networking.p2p.connection.PeerScorer;
 import tech.pegasys.artemis.networking.p2p.connection.ReputationManager;
 import tech.pegasys.artemis.networking.p2p.connection.TargetPeerRange;
 import tech.pegasys.artemis.networking.p2p.discovery.DiscoveryService;
@@ -122,6 +123,7 @@ class DiscoveryNetworkTest {
         DiscoveryNetwork.create(
             p2pNetwork,
             reputationManager,
+            PeerScorer.NOOP,
             new NetworkConfig(
                 null,
                 "127.0.0.1",
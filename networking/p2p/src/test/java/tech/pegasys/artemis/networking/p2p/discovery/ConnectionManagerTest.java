@@ -30,6 +30,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import tech.pegasys.artemis.network.p2p.peer.StubPeer;
 import tech.pegasys.artemis.networking.p2p.connection.ConnectionManager;
+import tech.pegasys.artemis.networking.p2p.connection.PeerScorer;
 import tech.pegasys.artemis.networking.p2p.connection.ReputationManager;
 import tech.pegasys.artemis.networking.p2p.connection.TargetPeerRange;
 import tech.pegasys.artemis.networking.p2p.mock.MockNodeId;
@@ -61,6 +62,7 @@ class ConnectionManagerTest {
 
   private final DiscoveryService discoveryService = mock(DiscoveryService.class);
   private final ReputationManager reputationManager = mock(ReputationManager.class);
+  private final PeerScorer peerScorer = mock(PeerScorer.class);
 
   private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
 
@@ -386,6 +388,80 @@ class ConnectionManagerTest {
     assertThat(peer1.isConnected()).isTrue();
   }
 
+  @Test
+  public void shouldDisconnectLowestScoringPeersWhenPeerCountExceedsLimit() {
+    final ConnectionManager manager = createManager(new TargetPeerRange(1, 1));
+    manager.start().join();
+
+    final PeerConnectedSubscriber<Peer> peerConnectedSubscriber = getPeerConnectedSubscriber();
+
+    final StubPeer peer1 = new StubPeer(new MockNodeId(1));
+    final StubPeer peer2 = new StubPeer(new MockNodeId(2));
+    final StubPeer peer3 = new StubPeer(new MockNodeId(3));
+    when(peerScorer.scorePeer(peer1.getId())).thenReturn(0.2);
+    when(peerScorer.scorePeer(peer2.getId())).thenReturn(0.8);
+    when(peerScorer.scorePeer(peer3.getId())).thenReturn(0.5);
+    when(network.streamPeers()).thenReturn(Stream.of(peer1, peer2, peer3));
+    when(network.getPeerCount()).thenReturn(3);
+    peerConnectedSubscriber.onConnected(peer3);
+
+    assertThat(peer1.getDisconnectReason()).contains(DisconnectReason.TOO_MANY_PEERS);
+    assertThat(peer3.getDisconnectReason()).contains(DisconnectReason.TOO_MANY_PEERS);
+    assertThat(peer2.isConnected()).isTrue();
+  }
+
+  @Test
+  public void shouldDisconnectPoorlyPerformingPeerWhenDiscoverySearchCompletes() {
+    final SafeFuture<Void> search1 = new SafeFuture<>();
+    when(discoveryService.searchForPeers()).thenReturn(search1);
+    final ConnectionManager manager = createManager();
+    manager.start().join();
+
+    final StubPeer peer1 = new StubPeer(new MockNodeId(1));
+    final StubPeer peer2 = new StubPeer(new MockNodeId(2));
+    when(peerScorer.isPerformingPoorly(peer2.getId())).thenReturn(true);
+    when(network.streamPeers()).thenReturn(Stream.of(peer1, peer2));
+    search1.complete(null);
+
+    assertThat(peer1.isConnected()).isTrue();
+    assertThat(peer2.getDisconnectReason()).contains(DisconnectReason.REMOTE_FAULT);
+  }
+
+  @Test
+  public void shouldDisconnectOnlyTheWorstPoorlyPerformingPeerAfterEachDiscoverySearch() {
+    final SafeFuture<Void> search1 = new SafeFuture<>();
+    when(discoveryService.searchForPeers()).thenReturn(search1);
+    final ConnectionManager manager = createManager();
+    manager.start().join();
+
+    final StubPeer peer1 = new StubPeer(new MockNodeId(1));
+    final StubPeer peer2 = new StubPeer(new MockNodeId(2));
+    when(peerScorer.isPerformingPoorly(any())).thenReturn(true);
+    when(peerScorer.scorePeer(peer1.getId())).thenReturn(0.05);
+    when(peerScorer.scorePeer(peer2.getId())).thenReturn(0.01);
+    when(network.streamPeers()).thenReturn(Stream.of(peer1, peer2));
+    search1.complete(null);
+
+    assertThat(peer1.isConnected()).isTrue();
+    assertThat(peer2.getDisconnectReason()).contains(DisconnectReason.REMOTE_FAULT);
+  }
+
+  @Test
+  public void shouldNotDisconnectPoorlyPerformingStaticPeers() {
+    final SafeFuture<Void> search1 = new SafeFuture<>();
+    when(discoveryService.searchForPeers()).thenReturn(search1);
+    final StubPeer peer1 = new StubPeer(new MockNodeId(1));
+    final ConnectionManager manager = createManager(PEER1);
+    when(network.connect(PEER1)).thenReturn(SafeFuture.completedFuture(peer1));
+    manager.start().join();
+
+    when(peerScorer.isPerformingPoorly(peer1.getId())).thenReturn(true);
+    when(network.streamPeers()).thenReturn(Stream.of(peer1));
+    search1.complete(null);
+
+    assertThat(peer1.isConnected()).isTrue();
+  }
+
   @Test
   public void shouldNotDisconnectStaticPeersWhenPeerCountExceedsLimit() {
     final StubPeer peer1 = new StubPeer(new MockNodeId(1));
@@ -423,6 +499,7 @@ class ConnectionManagerTest {
     return new ConnectionManager(
         discoveryService,
         reputationManager,
+        peerScorer,
         asyncRunner,
         network,
         Arrays.asList(peers),
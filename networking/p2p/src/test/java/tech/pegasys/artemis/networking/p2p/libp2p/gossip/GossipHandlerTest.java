@@ -17,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.artemis.util.config.Constants.GOSSIP_MAX_SIZE;
@@ -31,16 +32,23 @@ import org.junit.jupiter.api.Test;
 import tech.pegasys.artemis.network.p2p.jvmlibp2p.MockMessageApi;
 import tech.pegasys.artemis.networking.p2p.gossip.TopicHandler;
 import tech.pegasys.artemis.util.async.SafeFuture;
+import tech.pegasys.artemis.util.time.StubTimeProvider;
 
 public class GossipHandlerTest {
   private final Topic topic = new Topic("Testing");
   private final PubsubPublisherApi publisher = mock(PubsubPublisherApi.class);
   private final TopicHandler topicHandler = mock(TopicHandler.class);
-  private final GossipHandler gossipHandler = new GossipHandler(topic, publisher, topicHandler);
+  private final StubTimeProvider timeProvider = StubTimeProvider.withTimeInSeconds(1000);
+  private final GossipHandler gossipHandler =
+      new GossipHandler(
+          topic,
+          publisher,
+          topicHandler,
+          SeenMessageCache.createForPropagationWindow(timeProvider));
 
   @BeforeEach
   public void setup() {
-    when(topicHandler.handleMessage(any())).thenReturn(true);
+    when(topicHandler.handleMessage(any())).thenReturn(SafeFuture.completedFuture(true));
     when(publisher.publish(any(), any())).thenReturn(SafeFuture.completedFuture(null));
   }
 
@@ -57,12 +65,25 @@ public class GossipHandlerTest {
   public void apply_invalid() {
     final Bytes data = Bytes.fromHexString("0x01");
     final MockMessageApi message = new MockMessageApi(data, topic);
-    when(topicHandler.handleMessage(any())).thenReturn(false);
+    when(topicHandler.handleMessage(any())).thenReturn(SafeFuture.completedFuture(false));
     final SafeFuture<Boolean> result = gossipHandler.apply(message);
 
     assertThat(result).isCompletedWithValue(false);
   }
 
+  @Test
+  public void apply_completesWhenValidationCompletes() {
+    final Bytes data = Bytes.fromHexString("0x01");
+    final MockMessageApi message = new MockMessageApi(data, topic);
+    final SafeFuture<Boolean> validationResult = new SafeFuture<>();
+    when(topicHandler.handleMessage(any())).thenReturn(validationResult);
+    final SafeFuture<Boolean> result = gossipHandler.apply(message);
+
+    assertThat(result).isNotDone();
+    validationResult.complete(true);
+    assertThat(result).isCompletedWithValue(true);
+  }
+
   @Test
   public void apply_exceedsMaxSize() {
     final Bytes data = Bytes.wrap(new byte[GOSSIP_MAX_SIZE + 1]);
@@ -86,6 +107,20 @@ public class GossipHandlerTest {
     verify(topicHandler).handleMessage(any());
   }
 
+  @Test
+  @SuppressWarnings("FutureReturnValueIgnored")
+  public void apply_duplicateAfterPropagationWindow() {
+    final Bytes data = Bytes.fromHexString("0x01");
+    final MockMessageApi message = new MockMessageApi(data, topic);
+
+    gossipHandler.apply(message);
+    timeProvider.advanceTimeBySeconds(60 * 60);
+    final SafeFuture<Boolean> result = gossipHandler.apply(message);
+
+    assertThat(result).isCompletedWithValue(true);
+    verify(topicHandler, times(2)).handleMessage(any());
+  }
+
   @Test
   public void gossip_newMessage() {
     final Bytes message = Bytes.fromHexString("0x01");
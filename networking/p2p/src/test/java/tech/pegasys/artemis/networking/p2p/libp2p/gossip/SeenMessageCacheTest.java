@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.networking.p2p.libp2p.gossip;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.util.time.StubTimeProvider;
+
+class SeenMessageCacheTest {
+  private static final Duration BUCKET_DURATION = Duration.ofSeconds(10);
+  private static final int BUCKET_COUNT = 3;
+  private static final int MAX_ENTRIES_PER_BUCKET = 10_000;
+
+  private final StubTimeProvider timeProvider = StubTimeProvider.withTimeInSeconds(1000);
+  private final SeenMessageCache cache =
+      new SeenMessageCache(timeProvider, BUCKET_DURATION, BUCKET_COUNT, MAX_ENTRIES_PER_BUCKET);
+
+  @Test
+  public void add_shouldReturnTrueForNewMessage() {
+    assertThat(cache.add(messageId(1))).isTrue();
+    assertThat(cache.add(messageId(2))).isTrue();
+  }
+
+  @Test
+  public void add_shouldReturnFalseForDuplicateMessage() {
+    assertThat(cache.add(messageId(1))).isTrue();
+    assertThat(cache.add(messageId(1))).isFalse();
+  }
+
+  @Test
+  public void add_shouldHandleZeroKey() {
+    assertThat(cache.add(Bytes32.ZERO)).isTrue();
+    assertThat(cache.add(Bytes32.ZERO)).isFalse();
+  }
+
+  @Test
+  public void add_shouldRememberMessagesWithinWindow() {
+    assertThat(cache.add(messageId(1))).isTrue();
+    timeProvider.advanceTimeBySeconds(20);
+    assertThat(cache.add(messageId(1))).isFalse();
+  }
+
+  @Test
+  public void add_shouldForgetMessagesOutsideWindow() {
+    assertThat(cache.add(messageId(1))).isTrue();
+    timeProvider.advanceTimeBySeconds(30);
+    assertThat(cache.add(messageId(1))).isTrue();
+  }
+
+  @Test
+  public void add_shouldExpireBucketsIndividually() {
+    assertThat(cache.add(messageId(1))).isTrue();
+    timeProvider.advanceTimeBySeconds(10);
+    assertThat(cache.add(messageId(2))).isTrue();
+    timeProvider.advanceTimeBySeconds(20);
+
+    assertThat(cache.add(messageId(1))).isTrue();
+    assertThat(cache.add(messageId(2))).isFalse();
+  }
+
+  @Test
+  public void add_shouldForgetAllMessagesAfterLongGap() {
+    assertThat(cache.add(messageId(1))).isTrue();
+    assertThat(cache.add(messageId(2))).isTrue();
+    timeProvider.advanceTimeBySeconds(1000);
+
+    assertThat(cache.add(messageId(1))).isTrue();
+    assertThat(cache.add(messageId(2))).isTrue();
+  }
+
+  @Test
+  public void add_shouldHandleManyMessages() {
+    for (int i = 1; i <= MAX_ENTRIES_PER_BUCKET; i++) {
+      assertThat(cache.add(messageId(i))).isTrue();
+    }
+    for (int i = 1; i <= MAX_ENTRIES_PER_BUCKET; i++) {
+      assertThat(cache.add(messageId(i))).isFalse();
+    }
+  }
+
+  @Test
+  public void add_shouldStopRecordingMessagesWhenBucketIsFull() {
+    for (int i = 1; i <= MAX_ENTRIES_PER_BUCKET; i++) {
+      assertThat(cache.add(messageId(i))).isTrue();
+    }
+    final Bytes32 overflowMessage = messageId(MAX_ENTRIES_PER_BUCKET + 1);
+    assertThat(cache.add(overflowMessage)).isTrue();
+    assertThat(cache.add(overflowMessage)).isTrue();
+
+    // Messages recorded before the bucket filled are still remembered
+    assertThat(cache.add(messageId(1))).isFalse();
+  }
+
+  @Test
+  public void add_shouldRecordMessagesAgainOnceNextBucketStarts() {
+    for (int i = 1; i <= MAX_ENTRIES_PER_BUCKET; i++) {
+      assertThat(cache.add(messageId(i))).isTrue();
+    }
+    final Bytes32 overflowMessage = messageId(MAX_ENTRIES_PER_BUCKET + 1);
+    assertThat(cache.add(overflowMessage)).isTrue();
+
+    timeProvider.advanceTimeBySeconds(10);
+    assertThat(cache.add(overflowMessage)).isTrue();
+    assertThat(cache.add(overflowMessage)).isFalse();
+  }
+
+  private Bytes32 messageId(final int seed) {
+    return GossipMessageId.compute(ByteBuffer.wrap(Bytes.ofUnsignedInt(seed).toArrayUnsafe()));
+  }
+}
@@ -26,6 +26,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.artemis.networking.p2p.DiscoveryNetwork;
+import tech.pegasys.artemis.networking.p2p.connection.PeerScorer;
 import tech.pegasys.artemis.networking.p2p.connection.ReputationManager;
 import tech.pegasys.artemis.networking.p2p.connection.TargetPeerRange;
 import tech.pegasys.artemis.networking.p2p.libp2p.LibP2PNetwork;
@@ -96,6 +97,7 @@ public class DiscoveryNetworkFactory {
                     Collections.emptyList(),
                     Collections.emptyList()),
                 reputationManager,
+                PeerScorer.NOOP,
                 config);
         try {
           network.start().get(30, TimeUnit.SECONDS);
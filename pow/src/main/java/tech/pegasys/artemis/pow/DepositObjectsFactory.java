@@ -13,6 +13,7 @@
 
 package tech.pegasys.artemis.pow;
 
+import tech.pegasys.artemis.pow.api.Eth1DepositStorageChannel;
 import tech.pegasys.artemis.pow.api.Eth1EventsChannel;
 import tech.pegasys.artemis.pow.contract.DepositContract;
 import tech.pegasys.artemis.util.async.AsyncRunner;
@@ -21,16 +22,19 @@ public class DepositObjectsFactory {
 
   private final Eth1Provider eth1Provider;
   private final Eth1EventsChannel eth1EventsChannel;
+  private final Eth1DepositStorageChannel eth1DepositStorageChannel;
   private final DepositContract depositContract;
   private final AsyncRunner asyncRunner;
 
   public DepositObjectsFactory(
       Eth1Provider eth1Provider,
       Eth1EventsChannel eth1EventsChannel,
+      Eth1DepositStorageChannel eth1DepositStorageChannel,
       DepositContract depositContract,
       AsyncRunner asyncRunner) {
     this.eth1Provider = eth1Provider;
     this.eth1EventsChannel = eth1EventsChannel;
+    this.eth1DepositStorageChannel = eth1DepositStorageChannel;
     this.depositContract = depositContract;
     this.asyncRunner = asyncRunner;
   }
@@ -49,6 +53,7 @@ public class DepositObjectsFactory {
         eth1Provider,
         asyncRunner,
         eth1EventsChannel,
+        eth1DepositStorageChannel,
         createDepositProcessingController(),
         new MinimumGenesisTimeBlockFinder(eth1Provider));
   }
@@ -22,7 +22,9 @@ import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.web3j.protocol.core.methods.response.EthBlock;
+import tech.pegasys.artemis.pow.api.Eth1DepositStorageChannel;
 import tech.pegasys.artemis.pow.api.Eth1EventsChannel;
+import tech.pegasys.artemis.pow.api.ReplayDepositsResult;
 import tech.pegasys.artemis.util.async.AsyncRunner;
 import tech.pegasys.artemis.util.async.SafeFuture;
 import tech.pegasys.artemis.util.config.Constants;
@@ -34,6 +36,7 @@ public class Eth1DepositManager {
   private final Eth1Provider eth1Provider;
   private final AsyncRunner asyncRunner;
   private final Eth1EventsChannel eth1EventsChannel;
+  private final Eth1DepositStorageChannel eth1DepositStorageChannel;
   private final DepositProcessingController depositProcessingController;
   private final MinimumGenesisTimeBlockFinder minimumGenesisTimeBlockFinder;
 
@@ -41,24 +44,37 @@ public class Eth1DepositManager {
       Eth1Provider eth1Provider,
       AsyncRunner asyncRunner,
       Eth1EventsChannel eth1EventsChannel,
+      Eth1DepositStorageChannel eth1DepositStorageChannel,
       DepositProcessingController depositProcessingController,
       MinimumGenesisTimeBlockFinder minimumGenesisTimeBlockFinder) {
     this.eth1Provider = eth1Provider;
     this.asyncRunner = asyncRunner;
     this.eth1EventsChannel = eth1EventsChannel;
+    this.eth1DepositStorageChannel = eth1DepositStorageChannel;
     this.depositProcessingController = depositProcessingController;
     this.minimumGenesisTimeBlockFinder = minimumGenesisTimeBlockFinder;
   }
 
   public void start() {
-    getHead()
+    eth1DepositStorageChannel
+        .replayDepositEvents()
         .thenCompose(
-            headBlock -> {
-              if (isBlockAfterMinGenesis(headBlock)) {
-                return headAfterMinGenesisMode(headBlock);
-              } else {
-                return headBeforeMinGenesisMode(headBlock);
+            replayDepositsResult -> {
+              LOG.debug("Replayed stored deposit events: {}", replayDepositsResult);
+              if (replayDepositsResult.isPastMinGenesisBlock()) {
+                depositProcessingController.startSubscription(
+                    replayDepositsResult.getFirstUnprocessedBlockNumber());
+                return SafeFuture.COMPLETE;
               }
+              return getHead()
+                  .thenCompose(
+                      headBlock -> {
+                        if (isBlockAfterMinGenesis(headBlock)) {
+                          return headAfterMinGenesisMode(headBlock, replayDepositsResult);
+                        } else {
+                          return headBeforeMinGenesisMode(headBlock, replayDepositsResult);
+                        }
+                      });
             })
         .finish(
             () -> LOG.info("Eth1DepositsManager successfully ran startup sequence."),
@@ -69,11 +85,13 @@ public class Eth1DepositManager {
     depositProcessingController.stopIfSubscribed();
   }
 
-  private SafeFuture<Void> headBeforeMinGenesisMode(EthBlock.Block headBlock) {
+  private SafeFuture<Void> headBeforeMinGenesisMode(
+      EthBlock.Block headBlock, ReplayDepositsResult replayDepositsResult) {
     LOG.debug("Eth1DepositsManager initiating head before genesis mode");
     BigInteger headBlockNumber = headBlock.getNumber();
     return depositProcessingController
-        .fetchDepositsFromGenesisTo(headBlockNumber)
+        .fetchDepositsInRange(
+            replayDepositsResult.getFirstUnprocessedBlockNumber(), headBlockNumber)
         .thenRun(
             () -> {
               depositProcessingController.switchToBlockByBlockMode();
@@ -81,22 +99,26 @@ public class Eth1DepositManager {
             });
   }
 
-  private SafeFuture<Void> headAfterMinGenesisMode(EthBlock.Block headBlock) {
+  private SafeFuture<Void> headAfterMinGenesisMode(
+      EthBlock.Block headBlock, ReplayDepositsResult replayDepositsResult) {
     LOG.debug("Eth1DepositsManager initiating head after genesis mode");
     return minimumGenesisTimeBlockFinder
         .findMinGenesisTimeBlockInHistory(headBlock)
-        .thenCompose(this::sendDepositsUpToMinGenesis)
+        .thenCompose(block -> sendDepositsUpToMinGenesis(block, replayDepositsResult))
         .thenAccept(
             minGenesisTimeBlock -> {
               notifyMinGenesisTimeBlockReached(eth1EventsChannel, minGenesisTimeBlock);
-              depositProcessingController.startSubscription(minGenesisTimeBlock.getNumber());
+              // Deposits up to and including the min genesis block have already been sent
+              depositProcessingController.startSubscription(
+                  minGenesisTimeBlock.getNumber().add(BigInteger.ONE));
             });
   }
 
   private SafeFuture<EthBlock.Block> sendDepositsUpToMinGenesis(
-      final EthBlock.Block minGenesisTimeBlock) {
+      final EthBlock.Block minGenesisTimeBlock, final ReplayDepositsResult replayDepositsResult) {
     return depositProcessingController
-        .fetchDepositsFromGenesisTo(minGenesisTimeBlock.getNumber())
+        .fetchDepositsInRange(
+            replayDepositsResult.getFirstUnprocessedBlockNumber(), minGenesisTimeBlock.getNumber())
         .thenApply(__ -> minGenesisTimeBlock);
   }
 
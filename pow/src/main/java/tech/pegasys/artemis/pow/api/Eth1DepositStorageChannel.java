@@ -0,0 +1,26 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.pow.api;
+
+import tech.pegasys.artemis.util.async.SafeFuture;
+
+public interface Eth1DepositStorageChannel {
+
+  /**
+   * Republishes every stored deposit and min genesis time block event, in block order, to the
+   * {@link Eth1EventsChannel} so that deposit processing can resume from the last stored block
+   * instead of the deposit contract's genesis.
+   */
+  SafeFuture<ReplayDepositsResult> replayDepositEvents();
+}
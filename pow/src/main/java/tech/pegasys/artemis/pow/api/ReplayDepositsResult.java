@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.pow.api;
+
+import com.google.common.base.MoreObjects;
+import java.math.BigInteger;
+import java.util.Objects;
+
+public class ReplayDepositsResult {
+  private static final ReplayDepositsResult EMPTY =
+      new ReplayDepositsResult(BigInteger.valueOf(-1), false);
+
+  private final BigInteger lastProcessedBlockNumber;
+  private final boolean pastMinGenesisBlock;
+
+  private ReplayDepositsResult(
+      final BigInteger lastProcessedBlockNumber, final boolean pastMinGenesisBlock) {
+    this.lastProcessedBlockNumber = lastProcessedBlockNumber;
+    this.pastMinGenesisBlock = pastMinGenesisBlock;
+  }
+
+  public static ReplayDepositsResult empty() {
+    return EMPTY;
+  }
+
+  public static ReplayDepositsResult create(
+      final BigInteger lastProcessedBlockNumber, final boolean pastMinGenesisBlock) {
+    return new ReplayDepositsResult(lastProcessedBlockNumber, pastMinGenesisBlock);
+  }
+
+  public BigInteger getLastProcessedBlockNumber() {
+    return lastProcessedBlockNumber;
+  }
+
+  public BigInteger getFirstUnprocessedBlockNumber() {
+    return lastProcessedBlockNumber.add(BigInteger.ONE);
+  }
+
+  public boolean isPastMinGenesisBlock() {
+    return pastMinGenesisBlock;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final ReplayDepositsResult that = (ReplayDepositsResult) o;
+    return pastMinGenesisBlock == that.pastMinGenesisBlock
+        && Objects.equals(lastProcessedBlockNumber, that.lastProcessedBlockNumber);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(lastProcessedBlockNumber, pastMinGenesisBlock);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("lastProcessedBlockNumber", lastProcessedBlockNumber)
+        .add("pastMinGenesisBlock", pastMinGenesisBlock)
+        .toString();
+  }
+}
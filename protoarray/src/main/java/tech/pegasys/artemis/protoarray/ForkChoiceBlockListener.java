@@ -0,0 +1,27 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.protoarray;
+
+import tech.pegasys.artemis.datastructures.blocks.BeaconBlock;
+import tech.pegasys.artemis.datastructures.forkchoice.ReadOnlyStore;
+
+/** Notified of each block added to the store by {@code on_block}. */
+@FunctionalInterface
+public interface ForkChoiceBlockListener {
+
+  /** A listener for blocks which are added to the fork choice strategy later. */
+  ForkChoiceBlockListener NOOP = (store, block) -> {};
+
+  void onBlock(final ReadOnlyStore store, final BeaconBlock block);
+}
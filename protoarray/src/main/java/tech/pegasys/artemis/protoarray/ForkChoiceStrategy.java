@@ -14,16 +14,12 @@
 package tech.pegasys.artemis.protoarray;
 
 import org.apache.tuweni.bytes.Bytes32;
-import tech.pegasys.artemis.datastructures.blocks.BeaconBlock;
 import tech.pegasys.artemis.datastructures.forkchoice.MutableStore;
-import tech.pegasys.artemis.datastructures.forkchoice.ReadOnlyStore;
 import tech.pegasys.artemis.datastructures.operations.IndexedAttestation;
 
-public interface ForkChoiceStrategy {
+public interface ForkChoiceStrategy extends ForkChoiceBlockListener {
 
   Bytes32 findHead(final MutableStore store);
 
   void onAttestation(final MutableStore store, final IndexedAttestation attestation);
-
-  void onBlock(final ReadOnlyStore store, final BeaconBlock block);
 }
@@ -17,11 +17,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.Math.addExact;
 import static java.lang.Math.subtractExact;
-import static java.lang.Math.toIntExact;
 
+import com.google.common.primitives.Longs;
 import com.google.common.primitives.UnsignedLong;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -86,7 +85,6 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
     votesLock.writeLock().lock();
     try {
       attestation.getAttesting_indices().stream()
-          .parallel()
           .forEach(
               validatorIndex -> {
                 processAttestation(
@@ -151,8 +149,8 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
     VoteTracker vote = store.getVote(validatorIndex);
 
     if (targetEpoch.compareTo(vote.getNextEpoch()) > 0 || vote.equals(VoteTracker.Default())) {
-      vote.setNextRoot(blockRoot);
-      vote.setNextEpoch(targetEpoch);
+      store.putVote(
+          validatorIndex, new VoteTracker(vote.getCurrentRoot(), blockRoot, targetEpoch));
     }
   }
 
@@ -272,61 +270,62 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
       Map<Bytes32, Integer> indices,
       List<UnsignedLong> oldBalances,
       List<UnsignedLong> newBalances) {
-    List<Long> deltas = new ArrayList<>(Collections.nCopies(indices.size(), 0L));
-
-    for (UnsignedLong validatorIndex : store.getVotedValidatorIndices()) {
-      VoteTracker vote = store.getVote(validatorIndex);
-
-      // There is no need to create a score change if the validator has never voted
-      // or both their votes are for the zero hash (alias to the genesis block).
-      if (vote.getCurrentRoot().equals(Bytes32.ZERO) && vote.getNextRoot().equals(Bytes32.ZERO)) {
-        LOG.warn("ProtoArrayForkChoiceStrategy: Unexpected zero hashes in voted validator votes");
-        continue;
-      }
-
-      int validatorIndexInt = toIntExact(validatorIndex.longValue());
-      // If the validator was not included in the oldBalances (i.e. it did not exist yet)
-      // then say its balance was zero.
-      UnsignedLong oldBalance =
-          oldBalances.size() > validatorIndexInt
-              ? oldBalances.get(validatorIndexInt)
-              : UnsignedLong.ZERO;
-
-      // If the validator vote is not known in the newBalances, then use a balance of zero.
-      //
-      // It is possible that there is a vote for an unknown validator if we change our
-      // justified state to a new state with a higher epoch that is on a different fork
-      // because that may have on-boarded less validators than the prior fork.
-      UnsignedLong newBalance =
-          newBalances.size() > validatorIndexInt
-              ? newBalances.get(validatorIndexInt)
-              : UnsignedLong.ZERO;
-
-      if (!vote.getCurrentRoot().equals(vote.getNextRoot()) || !oldBalance.equals(newBalance)) {
-        // We ignore the vote if it is not known in `indices`. We assume that it is outside
-        // of our tree (i.e. pre-finalization) and therefore not interesting.
-        Integer currentDeltaIndex = indices.get(vote.getCurrentRoot());
-        if (currentDeltaIndex != null) {
-          checkState(
-              currentDeltaIndex < deltas.size(), "ProtoArrayForkChoice: Invalid node delta index");
-          long delta = subtractExact(deltas.get(currentDeltaIndex), oldBalance.longValue());
-          deltas.set(currentDeltaIndex, delta);
-        }
-
-        // We ignore the vote if it is not known in `indices`. We assume that it is outside
-        // of our tree (i.e. pre-finalization) and therefore not interesting.
-        Integer nextDeltaIndex = indices.get(vote.getNextRoot());
-        if (nextDeltaIndex != null) {
-          checkState(
-              nextDeltaIndex < deltas.size(), "ProtoArrayForkChoice: Invalid node delta index");
-          long delta = addExact(deltas.get(nextDeltaIndex), newBalance.longValue());
-          deltas.set(nextDeltaIndex, delta);
-        }
-
-        vote.setCurrentRoot(vote.getNextRoot());
-      }
-    }
-    return deltas;
+    long[] deltas = new long[indices.size()];
+
+    store.updateVotes(
+        (validatorIndex, currentRoot, nextRoot) -> {
+          // There is no need to create a score change if the validator has never voted
+          // or both their votes are for the zero hash (alias to the genesis block).
+          if (currentRoot.equals(Bytes32.ZERO) && nextRoot.equals(Bytes32.ZERO)) {
+            LOG.warn(
+                "ProtoArrayForkChoiceStrategy: Unexpected zero hashes in voted validator votes");
+            return currentRoot;
+          }
+
+          // If the validator was not included in the oldBalances (i.e. it did not exist yet)
+          // then say its balance was zero.
+          UnsignedLong oldBalance =
+              oldBalances.size() > validatorIndex
+                  ? oldBalances.get(validatorIndex)
+                  : UnsignedLong.ZERO;
+
+          // If the validator vote is not known in the newBalances, then use a balance of zero.
+          //
+          // It is possible that there is a vote for an unknown validator if we change our
+          // justified state to a new state with a higher epoch that is on a different fork
+          // because that may have on-boarded less validators than the prior fork.
+          UnsignedLong newBalance =
+              newBalances.size() > validatorIndex
+                  ? newBalances.get(validatorIndex)
+                  : UnsignedLong.ZERO;
+
+          if (currentRoot.equals(nextRoot) && oldBalance.equals(newBalance)) {
+            return currentRoot;
+          }
+
+          // We ignore the vote if it is not known in `indices`. We assume that it is outside
+          // of our tree (i.e. pre-finalization) and therefore not interesting.
+          Integer currentDeltaIndex = indices.get(currentRoot);
+          if (currentDeltaIndex != null) {
+            checkState(
+                currentDeltaIndex < deltas.length,
+                "ProtoArrayForkChoice: Invalid node delta index");
+            deltas[currentDeltaIndex] =
+                subtractExact(deltas[currentDeltaIndex], oldBalance.longValue());
+          }
+
+          // We ignore the vote if it is not known in `indices`. We assume that it is outside
+          // of our tree (i.e. pre-finalization) and therefore not interesting.
+          Integer nextDeltaIndex = indices.get(nextRoot);
+          if (nextDeltaIndex != null) {
+            checkState(
+                nextDeltaIndex < deltas.length, "ProtoArrayForkChoice: Invalid node delta index");
+            deltas[nextDeltaIndex] = addExact(deltas[nextDeltaIndex], newBalance.longValue());
+          }
+
+          return nextRoot;
+        });
+    return Longs.asList(deltas);
   }
 
   public static class BlockSlotAndStateRoot {
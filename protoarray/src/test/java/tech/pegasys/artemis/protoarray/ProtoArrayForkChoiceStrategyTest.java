@@ -55,7 +55,7 @@ public class ProtoArrayForkChoiceStrategyTest {
 
     for (int i = 0; i < validatorCount; i++) {
       indices.put(getHash(i), i);
-      store.getVote(valueOf(i));
+      store.putVote(valueOf(i), VoteTracker.Default());
       oldBalances.add(ZERO);
       newBalances.add(ZERO);
     }
@@ -74,7 +74,7 @@ public class ProtoArrayForkChoiceStrategyTest {
 
     for (int i = 0; i < validatorCount; i++) {
       indices.put(getHash(i), i);
-      store.getVote(valueOf(i)).setNextRoot(getHash(0));
+      store.putVote(valueOf(i), new VoteTracker(Bytes32.ZERO, getHash(0), ZERO));
       oldBalances.add(BALANCE);
       newBalances.add(BALANCE);
     }
@@ -103,7 +103,7 @@ public class ProtoArrayForkChoiceStrategyTest {
 
     for (int i = 0; i < validatorCount; i++) {
       indices.put(getHash(i), i);
-      store.getVote(valueOf(i)).setNextRoot(getHash(i));
+      store.putVote(valueOf(i), new VoteTracker(Bytes32.ZERO, getHash(i), ZERO));
       oldBalances.add(BALANCE);
       newBalances.add(BALANCE);
     }
@@ -124,9 +124,7 @@ public class ProtoArrayForkChoiceStrategyTest {
 
     for (int i = 0; i < validatorCount; i++) {
       indices.put(getHash(i), i);
-      VoteTracker vote = store.getVote(valueOf(i));
-      vote.setCurrentRoot(getHash(0));
-      vote.setNextRoot(getHash(1));
+      store.putVote(valueOf(i), new VoteTracker(getHash(0), getHash(1), ZERO));
       oldBalances.add(BALANCE);
       newBalances.add(BALANCE);
     }
@@ -165,14 +163,10 @@ public class ProtoArrayForkChoiceStrategyTest {
     newBalances = Collections.nCopies(2, BALANCE);
 
     // One validator moves their vote from the block to the zero hash.
-    VoteTracker validator1vote = store.getVote(valueOf(0));
-    validator1vote.setCurrentRoot(getHash(1));
-    validator1vote.setNextRoot(Bytes32.ZERO);
+    store.putVote(valueOf(0), new VoteTracker(getHash(1), Bytes32.ZERO, ZERO));
 
     // One validator moves their vote from the block to something outside the tree.
-    VoteTracker validator2vote = store.getVote(valueOf(1));
-    validator2vote.setCurrentRoot(getHash(1));
-    validator2vote.setNextRoot(getHash(1337));
+    store.putVote(valueOf(1), new VoteTracker(getHash(1), getHash(1337), ZERO));
 
     List<Long> deltas = computeDeltas(store, indices, oldBalances, newBalances);
     assertThat(deltas).hasSize(1);
@@ -193,9 +187,7 @@ public class ProtoArrayForkChoiceStrategyTest {
 
     for (int i = 0; i < validatorCount; i++) {
       indices.put(getHash(i), i);
-      VoteTracker vote = store.getVote(valueOf(i));
-      vote.setCurrentRoot(getHash(0));
-      vote.setNextRoot(getHash(1));
+      store.putVote(valueOf(i), new VoteTracker(getHash(0), getHash(1), ZERO));
       oldBalances.add(OLD_BALANCE);
       newBalances.add(NEW_BALANCE);
     }
@@ -236,9 +228,7 @@ public class ProtoArrayForkChoiceStrategyTest {
 
     // Both validators move votes from block 1 to block 2.
     for (int i = 0; i < 2; i++) {
-      VoteTracker vote = store.getVote(valueOf(i));
-      vote.setCurrentRoot(getHash(1));
-      vote.setNextRoot(getHash(2));
+      store.putVote(valueOf(i), new VoteTracker(getHash(1), getHash(2), ZERO));
     }
 
     List<Long> deltas = computeDeltas(store, indices, oldBalances, newBalances);
@@ -269,9 +259,7 @@ public class ProtoArrayForkChoiceStrategyTest {
 
     // Both validators move votes from block 1 to block 2.
     for (int i = 0; i < 2; i++) {
-      VoteTracker vote = store.getVote(valueOf(i));
-      vote.setCurrentRoot(getHash(1));
-      vote.setNextRoot(getHash(2));
+      store.putVote(valueOf(i), new VoteTracker(getHash(1), getHash(2), ZERO));
     }
 
     List<Long> deltas = computeDeltas(store, indices, oldBalances, newBalances);
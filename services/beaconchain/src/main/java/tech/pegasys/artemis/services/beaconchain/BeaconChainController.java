@@ -37,14 +37,19 @@ import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 import tech.pegasys.artemis.api.DataProvider;
 import tech.pegasys.artemis.beaconrestapi.BeaconRestApi;
+import tech.pegasys.artemis.bls.BLS;
+import tech.pegasys.artemis.bls.mikuli.HashToG2Cache;
 import tech.pegasys.artemis.core.BlockProposalUtil;
 import tech.pegasys.artemis.core.StateTransition;
 import tech.pegasys.artemis.datastructures.blocks.NodeSlot;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
 import tech.pegasys.artemis.events.EventChannels;
+import tech.pegasys.artemis.metrics.ArtemisMetricCategory;
 import tech.pegasys.artemis.networking.eth2.Eth2Config;
 import tech.pegasys.artemis.networking.eth2.Eth2Network;
 import tech.pegasys.artemis.networking.eth2.Eth2NetworkBuilder;
@@ -58,7 +63,9 @@ import tech.pegasys.artemis.pow.api.Eth1EventsChannel;
 import tech.pegasys.artemis.service.serviceutils.Service;
 import tech.pegasys.artemis.statetransition.attestation.AggregatingAttestationPool;
 import tech.pegasys.artemis.statetransition.attestation.ForkChoiceAttestationProcessor;
+import tech.pegasys.artemis.statetransition.blockimport.BlockImportPipeline;
 import tech.pegasys.artemis.statetransition.blockimport.BlockImporter;
+import tech.pegasys.artemis.statetransition.blockimport.EpochTransitionPreprocessor;
 import tech.pegasys.artemis.statetransition.events.attestation.BroadcastAggregatesEvent;
 import tech.pegasys.artemis.statetransition.events.attestation.BroadcastAttestationEvent;
 import tech.pegasys.artemis.statetransition.forkchoice.ForkChoice;
@@ -112,6 +119,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
   private volatile ForkChoice forkChoice;
   private volatile StateTransition stateTransition;
   private volatile BlockImporter blockImporter;
+  private volatile BlockImportPipeline blockImportPipeline;
   private volatile RecentChainData recentChainData;
   private volatile Eth2Network p2pNetwork;
   private volatile BeaconRestApi beaconRestAPI;
@@ -121,6 +129,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
   private volatile AttestationManager attestationManager;
   private volatile CombinedChainDataClient combinedChainDataClient;
   private volatile Eth1DataCache eth1DataCache;
+  private volatile Optional<MerkleTreeSnapshot> depositTreeSnapshot = Optional.empty();
 
   private SyncStateTracker syncStateTracker;
 
@@ -164,7 +173,8 @@ public class BeaconChainController extends Service implements TimeTickChannel {
         syncStateTracker.stop(),
         syncService.stop(),
         attestationManager.stop(),
-        SafeFuture.fromRunnable(p2pNetwork::stop));
+        SafeFuture.fromRunnable(p2pNetwork::stop),
+        SafeFuture.fromRunnable(blockImportPipeline::stop));
   }
 
   private SafeFuture<?> initialize() {
@@ -173,7 +183,18 @@ public class BeaconChainController extends Service implements TimeTickChannel {
             eventChannels.getPublisher(StorageUpdateChannel.class),
             eventChannels.getPublisher(FinalizedCheckpointChannel.class),
             eventChannels.getPublisher(ReorgEventChannel.class),
-            eventBus)
+            eventBus,
+            config.getDataHotStateCacheSize())
+        .thenCompose(
+            client ->
+                eventChannels
+                    .getPublisher(StorageQueryChannel.class)
+                    .getDepositTreeSnapshot()
+                    .thenApply(
+                        snapshot -> {
+                          depositTreeSnapshot = snapshot;
+                          return client;
+                        }))
         .thenAccept(
             client -> {
               // Setup chain storage
@@ -201,6 +222,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
     initStateTransition();
     initForkChoice();
     initBlockImporter();
+    initEpochTransitionPreprocessor();
     initCombinedChainDataClient();
     initMetrics();
     initAttestationPool();
@@ -237,11 +259,33 @@ public class BeaconChainController extends Service implements TimeTickChannel {
     LOG.debug("BeaconChainController.initMetrics()");
     final BeaconChainMetrics beaconChainMetrics = new BeaconChainMetrics(recentChainData, nodeSlot);
     beaconChainMetrics.initialize(metricsSystem);
+
+    final HashToG2Cache hashToG2Cache = BLS.getHashToG2Cache();
+    final Counter hashToG2CacheHits =
+        metricsSystem.createCounter(
+            ArtemisMetricCategory.BLS,
+            "hash_to_g2_cache_hits_total",
+            "Number of signature verifications which found the message already hashed to G2");
+    final Counter hashToG2CacheMisses =
+        metricsSystem.createCounter(
+            ArtemisMetricCategory.BLS,
+            "hash_to_g2_cache_misses_total",
+            "Number of signature verifications which had to hash the message to G2");
+    hashToG2Cache.subscribeCacheAccess(hashToG2CacheHits::inc, hashToG2CacheMisses::inc);
+    metricsSystem.createGauge(
+        ArtemisMetricCategory.BLS,
+        "hash_to_g2_cache_size",
+        "Number of messages currently held in the hash to G2 cache",
+        hashToG2Cache::getSize);
   }
 
   public void initDepositProvider() {
     LOG.debug("BeaconChainController.initDepositProvider()");
-    depositProvider = new DepositProvider(recentChainData);
+    depositProvider =
+        new DepositProvider(
+            recentChainData,
+            eventChannels.getPublisher(StorageUpdateChannel.class),
+            depositTreeSnapshot);
     eventChannels
         .subscribe(Eth1EventsChannel.class, depositProvider)
         .subscribe(FinalizedCheckpointChannel.class, depositProvider);
@@ -352,6 +396,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
               .eth2Config(eth2Config)
               .eventBus(eventBus)
               .recentChainData(recentChainData)
+              .stateTransition(stateTransition)
               .historicalChainData(eventChannels.getPublisher(StorageQueryChannel.class))
               .metricsSystem(metricsSystem)
               .timeProvider(timeProvider)
@@ -378,6 +423,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
   public void initAttestationPool() {
     LOG.debug("BeaconChainController.initAttestationPool()");
     attestationPool = new AggregatingAttestationPool();
+    eventChannels.subscribe(SlotEventsChannel.class, attestationPool);
   }
 
   public void initRestAPI() {
@@ -395,7 +441,15 @@ public class BeaconChainController extends Service implements TimeTickChannel {
 
   public void initBlockImporter() {
     LOG.debug("BeaconChainController.initBlockImporter()");
-    blockImporter = new BlockImporter(recentChainData, forkChoice, eventBus);
+    blockImportPipeline = BlockImportPipeline.create(recentChainData, forkChoice, eventBus);
+    blockImporter = new BlockImporter(recentChainData, forkChoice, eventBus, blockImportPipeline);
+  }
+
+  public void initEpochTransitionPreprocessor() {
+    LOG.debug("BeaconChainController.initEpochTransitionPreprocessor()");
+    eventChannels.subscribe(
+        SlotEventsChannel.class,
+        new EpochTransitionPreprocessor(asyncRunner, recentChainData, stateTransition));
   }
 
   public void initSyncManager() {
@@ -15,6 +15,8 @@ package tech.pegasys.artemis.services.chainstorage;
 
 import static tech.pegasys.artemis.util.config.Constants.STORAGE_QUERY_CHANNEL_PARALLELISM;
 
+import tech.pegasys.artemis.pow.api.Eth1DepositStorageChannel;
+import tech.pegasys.artemis.pow.api.Eth1EventsChannel;
 import tech.pegasys.artemis.service.serviceutils.Service;
 import tech.pegasys.artemis.service.serviceutils.ServiceConfig;
 import tech.pegasys.artemis.storage.api.StorageQueryChannel;
@@ -26,10 +28,16 @@ public class ChainStorageService extends Service {
   private final ChainStorageServer server;
 
   public ChainStorageService(final ServiceConfig serviceConfig) {
-    this.server = ChainStorageServer.create(serviceConfig.getEventBus(), serviceConfig.getConfig());
+    this.server =
+        ChainStorageServer.create(
+            serviceConfig.getEventBus(),
+            serviceConfig.getConfig(),
+            serviceConfig.getEventChannels().getPublisher(Eth1EventsChannel.class));
     serviceConfig
         .getEventChannels()
         .subscribe(StorageUpdateChannel.class, server)
+        .subscribe(Eth1EventsChannel.class, server)
+        .subscribe(Eth1DepositStorageChannel.class, server)
         .subscribeMultithreaded(
             StorageQueryChannel.class, server, STORAGE_QUERY_CHANNEL_PARALLELISM);
   }
@@ -41,6 +49,6 @@ public class ChainStorageService extends Service {
 
   @Override
   protected SafeFuture<?> doStop() {
-    return SafeFuture.COMPLETE;
+    return SafeFuture.fromRunnable(server::stop);
   }
 }
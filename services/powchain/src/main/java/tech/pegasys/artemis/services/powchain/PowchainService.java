@@ -24,6 +24,7 @@ import tech.pegasys.artemis.pow.Eth1DepositManager;
 import tech.pegasys.artemis.pow.Eth1Provider;
 import tech.pegasys.artemis.pow.ThrottlingEth1Provider;
 import tech.pegasys.artemis.pow.Web3jEth1Provider;
+import tech.pegasys.artemis.pow.api.Eth1DepositStorageChannel;
 import tech.pegasys.artemis.pow.api.Eth1EventsChannel;
 import tech.pegasys.artemis.service.serviceutils.Service;
 import tech.pegasys.artemis.service.serviceutils.ServiceConfig;
@@ -57,6 +58,7 @@ public class PowchainService extends Service {
         new DepositObjectsFactory(
             eth1Provider,
             config.getEventChannels().getPublisher(Eth1EventsChannel.class),
+            config.getEventChannels().getPublisher(Eth1DepositStorageChannel.class),
             depositContractAccessor.getContract(),
             asyncRunner);
 
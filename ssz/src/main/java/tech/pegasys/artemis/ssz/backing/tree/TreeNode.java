@@ -14,6 +14,7 @@
 package tech.pegasys.artemis.ssz.backing.tree;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static tech.pegasys.artemis.ssz.backing.tree.TreeNodeImpl.BranchNodeImpl;
 import static tech.pegasys.artemis.ssz.backing.tree.TreeNodeImpl.LeafNodeImpl;
 
 import java.util.function.Function;
@@ -35,6 +36,10 @@ public interface TreeNode {
     return new LeafNodeImpl(val);
   }
 
+  static BranchNode createBranchNode(TreeNode left, TreeNode right) {
+    return new BranchNodeImpl(left, right);
+  }
+
   /**
    * Leaf node of a tree which contains 'bytes32' value. This node type corresponds to the 'Root'
    * node in the spec:
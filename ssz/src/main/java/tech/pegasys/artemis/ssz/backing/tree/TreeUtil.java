@@ -15,6 +15,7 @@ package tech.pegasys.artemis.ssz.backing.tree;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 import org.apache.tuweni.bytes.Bytes32;
@@ -23,6 +24,7 @@ import tech.pegasys.artemis.ssz.backing.tree.TreeNode.BranchNode;
 import tech.pegasys.artemis.ssz.backing.tree.TreeNode.LeafNode;
 import tech.pegasys.artemis.ssz.backing.tree.TreeNodeImpl.BranchNodeImpl;
 import tech.pegasys.artemis.ssz.backing.tree.TreeNodeImpl.LeafNodeImpl;
+import tech.pegasys.artemis.ssz.backing.tree.TreeUpdates.Update;
 
 /** Misc Backing binary tree utils */
 public class TreeUtil {
@@ -113,6 +115,39 @@ public class TreeUtil {
     }
   }
 
+  /**
+   * Calculates the subtree replacements which transform the {@code from} tree into the {@code to}
+   * tree. Subtrees with equal roots are skipped so the result size is proportional to the number
+   * of changed nodes rather than to the size of the trees.
+   *
+   * <p>Applying the returned updates one by one via {@link TreeNode#updated(long, TreeNode)} to
+   * the {@code from} tree yields a tree with the same root as the {@code to} tree. Note that the
+   * updates may target nodes on different tree levels so they can't be passed to {@link
+   * TreeUpdates} directly
+   *
+   * @return the list of updates ordered by the position of the target node in the tree
+   */
+  public static List<Update> diff(TreeNode from, TreeNode to) {
+    List<Update> ret = new ArrayList<>();
+    diffRec(from, to, 1, ret);
+    return ret;
+  }
+
+  private static void diffRec(TreeNode from, TreeNode to, long gIndex, List<Update> ret) {
+    if (from == to || from.hashTreeRoot().equals(to.hashTreeRoot())) {
+      return;
+    }
+    if (from instanceof BranchNode && to instanceof BranchNode) {
+      checkArgument(gIndex < (Long.MAX_VALUE >> 1), "Tree is too deep to diff");
+      BranchNode fromBranch = (BranchNode) from;
+      BranchNode toBranch = (BranchNode) to;
+      diffRec(fromBranch.left(), toBranch.left(), gIndex << 1, ret);
+      diffRec(fromBranch.right(), toBranch.right(), (gIndex << 1) | 1, ret);
+    } else {
+      ret.add(new Update(gIndex, to));
+    }
+  }
+
   /** Dumps the tree to stdout */
   public static String dumpBinaryTree(TreeNode node) {
     StringBuilder ret = new StringBuilder();
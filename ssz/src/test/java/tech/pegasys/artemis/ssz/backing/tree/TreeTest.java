@@ -121,6 +121,26 @@ public class TreeTest {
     assertThat(zeroTree.hashTreeRoot()).isEqualTo(zeroTree_.hashTreeRoot());
   }
 
+  @Test
+  public void testDiff() {
+    TreeNode zeroTree = TreeUtil.createDefaultTree(8, TreeUtil.ZERO_LEAF);
+    TreeNode t1 = zeroTree.updated(8 + 2, newTestLeaf(111)).updated(8 + 5, newTestLeaf(222));
+    TreeNode subtree = TreeUtil.createTree(List.of(newTestLeaf(1), newTestLeaf(2)));
+    TreeNode t2 = t1.updated(8 + 5, newTestLeaf(333)).updated(8 + 7, subtree);
+
+    assertThat(TreeUtil.diff(t1, t1)).isEmpty();
+
+    List<Update> diff = TreeUtil.diff(t1, t2);
+    assertThat(diff).extracting(Update::getGeneralizedIndex).containsExactly(8L + 5, 8L + 7);
+    assertThat(diff.get(1).getNewNode()).isSameAs(subtree);
+
+    TreeNode restored = t1;
+    for (Update update : diff) {
+      restored = restored.updated(update.getGeneralizedIndex(), update.getNewNode());
+    }
+    assertThat(restored.hashTreeRoot()).isEqualTo(t2.hashTreeRoot());
+  }
+
   @Test
   // The threading test is probabilistic and may have false positives
   // (i.e. pass on incorrect implementation)
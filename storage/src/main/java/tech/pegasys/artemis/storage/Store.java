@@ -13,9 +13,14 @@
 
 package tech.pegasys.artemis.storage;
 
+import static java.lang.Math.toIntExact;
+
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -32,18 +37,26 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.bls.BLSSignature;
+import tech.pegasys.artemis.core.StateTransition;
+import tech.pegasys.artemis.core.StateTransitionException;
 import tech.pegasys.artemis.datastructures.blocks.BeaconBlock;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.forkchoice.MutableStore;
 import tech.pegasys.artemis.datastructures.forkchoice.ReadOnlyStore;
+import tech.pegasys.artemis.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.artemis.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.artemis.datastructures.forkchoice.VoteUpdater;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.datastructures.state.ValidatorPubKeyIndex;
 import tech.pegasys.artemis.datastructures.util.BeaconStateUtil;
 import tech.pegasys.artemis.storage.api.StorageUpdateChannel;
 import tech.pegasys.artemis.storage.client.FailedPrecommitException;
 import tech.pegasys.artemis.storage.events.StorageUpdate;
 import tech.pegasys.artemis.util.async.SafeFuture;
+import tech.pegasys.artemis.util.collections.ConcurrentLimitedMap;
+import tech.pegasys.artemis.util.collections.LimitStrategy;
+import tech.pegasys.artemis.util.config.ArtemisConfiguration;
 
 public class Store implements ReadOnlyStore {
   private static final Logger LOG = LogManager.getLogger();
@@ -55,9 +68,91 @@ public class Store implements ReadOnlyStore {
   private Checkpoint finalized_checkpoint;
   private Checkpoint best_justified_checkpoint;
   private Map<Bytes32, SignedBeaconBlock> blocks;
+  // Recently used states, evicted states are reloaded from storage or regenerated from their
+  // nearest available ancestor
   private Map<Bytes32, BeaconState> block_states;
+  // States for checkpoint blocks are never evicted so there is always a state to regenerate from
+  private final Map<Bytes32, BeaconState> pinned_block_states = new ConcurrentHashMap<>();
   private Map<Checkpoint, BeaconState> checkpoint_states;
-  private Map<UnsignedLong, VoteTracker> votes;
+  // Guarded by lock
+  private final ValidatorVotes votes = new ValidatorVotes();
+  private final ValidatorPubKeyIndex validatorPubKeyIndex;
+  private final HotStateLoader hotStateLoader;
+
+  public Store(
+      final UnsignedLong time,
+      final UnsignedLong genesis_time,
+      final Checkpoint justified_checkpoint,
+      final Checkpoint finalized_checkpoint,
+      final Checkpoint best_justified_checkpoint,
+      final Map<Bytes32, SignedBeaconBlock> blocks,
+      final Map<Bytes32, BeaconState> block_states,
+      final Map<Checkpoint, BeaconState> checkpoint_states,
+      final ValidatorVotes votes) {
+    this(
+        time,
+        genesis_time,
+        justified_checkpoint,
+        finalized_checkpoint,
+        best_justified_checkpoint,
+        blocks,
+        block_states,
+        checkpoint_states,
+        votes,
+        ArtemisConfiguration.DEFAULT_DATA_HOT_STATE_CACHE_SIZE);
+  }
+
+  public Store(
+      final UnsignedLong time,
+      final UnsignedLong genesis_time,
+      final Checkpoint justified_checkpoint,
+      final Checkpoint finalized_checkpoint,
+      final Checkpoint best_justified_checkpoint,
+      final Map<Bytes32, SignedBeaconBlock> blocks,
+      final Map<Bytes32, BeaconState> block_states,
+      final Map<Checkpoint, BeaconState> checkpoint_states,
+      final ValidatorVotes votes,
+      final int hotStateCacheSize) {
+    this(
+        time,
+        genesis_time,
+        justified_checkpoint,
+        finalized_checkpoint,
+        best_justified_checkpoint,
+        blocks,
+        block_states,
+        checkpoint_states,
+        votes,
+        new ValidatorPubKeyIndex(),
+        hotStateCacheSize);
+  }
+
+  public Store(
+      final UnsignedLong time,
+      final UnsignedLong genesis_time,
+      final Checkpoint justified_checkpoint,
+      final Checkpoint finalized_checkpoint,
+      final Checkpoint best_justified_checkpoint,
+      final Map<Bytes32, SignedBeaconBlock> blocks,
+      final Map<Bytes32, BeaconState> block_states,
+      final Map<Checkpoint, BeaconState> checkpoint_states,
+      final ValidatorVotes votes,
+      final ValidatorPubKeyIndex validatorPubKeyIndex,
+      final int hotStateCacheSize) {
+    this(
+        time,
+        genesis_time,
+        justified_checkpoint,
+        finalized_checkpoint,
+        best_justified_checkpoint,
+        blocks,
+        block_states,
+        checkpoint_states,
+        votes,
+        validatorPubKeyIndex,
+        hotStateCacheSize,
+        HotStateLoader.NONE);
+  }
 
   public Store(
       final UnsignedLong time,
@@ -68,19 +163,41 @@ public class Store implements ReadOnlyStore {
       final Map<Bytes32, SignedBeaconBlock> blocks,
       final Map<Bytes32, BeaconState> block_states,
       final Map<Checkpoint, BeaconState> checkpoint_states,
-      final Map<UnsignedLong, VoteTracker> votes) {
+      final ValidatorVotes votes,
+      final ValidatorPubKeyIndex validatorPubKeyIndex,
+      final int hotStateCacheSize,
+      final HotStateLoader hotStateLoader) {
     this.time = time;
     this.genesis_time = genesis_time;
     this.justified_checkpoint = justified_checkpoint;
     this.finalized_checkpoint = finalized_checkpoint;
     this.best_justified_checkpoint = best_justified_checkpoint;
     this.blocks = new ConcurrentHashMap<>(blocks);
-    this.block_states = new ConcurrentHashMap<>(block_states);
+    this.block_states =
+        ConcurrentLimitedMap.create(hotStateCacheSize, LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
     this.checkpoint_states = new ConcurrentHashMap<>(checkpoint_states);
-    this.votes = new ConcurrentHashMap<>(votes);
+    this.votes.putAll(votes);
+    this.validatorPubKeyIndex = validatorPubKeyIndex;
+    this.hotStateLoader = hotStateLoader;
+    getCheckpointRoots()
+        .forEach(
+            root -> {
+              final BeaconState state = block_states.get(root);
+              if (state != null) {
+                pinned_block_states.put(root, state);
+              }
+            });
+    this.block_states.putAll(block_states);
+    // The persisted index may be behind the finalized state, e.g. after upgrading
+    updateValidatorPubKeyIndex();
   }
 
   public static Store getForkChoiceStore(final BeaconState anchorState) {
+    return getForkChoiceStore(anchorState, ArtemisConfiguration.DEFAULT_DATA_HOT_STATE_CACHE_SIZE);
+  }
+
+  public static Store getForkChoiceStore(
+      final BeaconState anchorState, final int hotStateCacheSize) {
     final BeaconBlock anchorBlock = new BeaconBlock(anchorState.hash_tree_root());
     final Bytes32 anchorRoot = anchorBlock.hash_tree_root();
     final UnsignedLong anchorEpoch = BeaconStateUtil.get_current_epoch(anchorState);
@@ -88,7 +205,6 @@ public class Store implements ReadOnlyStore {
     Map<Bytes32, SignedBeaconBlock> blocks = new HashMap<>();
     Map<Bytes32, BeaconState> block_states = new HashMap<>();
     Map<Checkpoint, BeaconState> checkpoint_states = new HashMap<>();
-    Map<UnsignedLong, VoteTracker> votes = new HashMap<>();
 
     blocks.put(anchorRoot, new SignedBeaconBlock(anchorBlock, BLSSignature.empty()));
     block_states.put(anchorRoot, anchorState);
@@ -103,7 +219,8 @@ public class Store implements ReadOnlyStore {
         blocks,
         block_states,
         checkpoint_states,
-        votes);
+        new ValidatorVotes(),
+        hotStateCacheSize);
   }
 
   public Transaction startTransaction(final StorageUpdateChannel storageUpdateChannel) {
@@ -205,22 +322,125 @@ public class Store implements ReadOnlyStore {
   public BeaconState getBlockState(Bytes32 blockRoot) {
     readLock.lock();
     try {
-      return block_states.get(blockRoot);
+      final BeaconState state = getCachedBlockState(blockRoot);
+      if (state != null) {
+        return state;
+      }
+      if (!blocks.containsKey(blockRoot)) {
+        return null;
+      }
     } finally {
       readLock.unlock();
     }
+    // Loading or regenerating the state is slow, so don't block commits while doing it
+    return hotStateLoader
+        .loadHotState(blockRoot)
+        .map(state -> cacheBlockState(blockRoot, state))
+        .orElseGet(() -> regenerateBlockState(blockRoot));
   }
 
   @Override
   public boolean containsBlockState(Bytes32 blockRoot) {
     readLock.lock();
     try {
-      return block_states.containsKey(blockRoot);
+      // A state is available if it is cached or can be regenerated from a cached ancestor
+      Bytes32 root = blockRoot;
+      while (getCachedBlockState(root) == null) {
+        final SignedBeaconBlock block = blocks.get(root);
+        if (block == null) {
+          return false;
+        }
+        root = block.getParent_root();
+      }
+      return true;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private BeaconState getCachedBlockState(final Bytes32 blockRoot) {
+    final BeaconState pinnedState = pinned_block_states.get(blockRoot);
+    return pinnedState != null ? pinnedState : block_states.get(blockRoot);
+  }
+
+  private BeaconState regenerateBlockState(final Bytes32 blockRoot) {
+    // Find the nearest ancestor with an available state, collecting the blocks to replay
+    final Deque<SignedBeaconBlock> blocksToReplay = new ArrayDeque<>();
+    BeaconState state = null;
+    readLock.lock();
+    try {
+      Bytes32 root = blockRoot;
+      while (state == null) {
+        final SignedBeaconBlock block = blocks.get(root);
+        if (block == null) {
+          return null;
+        }
+        blocksToReplay.push(block);
+        root = block.getParent_root();
+        state = getCachedBlockState(root);
+      }
+    } finally {
+      readLock.unlock();
+    }
+
+    LOG.trace("Regenerating state for block {} from {} blocks", blockRoot, blocksToReplay.size());
+    final StateTransition stateTransition = new StateTransition();
+    try {
+      while (!blocksToReplay.isEmpty()) {
+        // Blocks were fully validated when they were imported so skip signatures and state roots
+        state = stateTransition.initiate(state, blocksToReplay.pop(), false);
+      }
+    } catch (final StateTransitionException e) {
+      LOG.error("Unable to regenerate state for block " + blockRoot, e);
+      return null;
+    }
+    return cacheBlockState(blockRoot, state);
+  }
+
+  private BeaconState cacheBlockState(final Bytes32 blockRoot, final BeaconState state) {
+    readLock.lock();
+    try {
+      // The block may have been pruned while the lock wasn't held
+      if (blocks.containsKey(blockRoot)) {
+        block_states.put(blockRoot, state);
+      }
+      return state;
     } finally {
       readLock.unlock();
     }
   }
 
+  private Set<Bytes32> getCheckpointRoots() {
+    return ImmutableSet.of(
+        justified_checkpoint.getRoot(),
+        finalized_checkpoint.getRoot(),
+        best_justified_checkpoint.getRoot());
+  }
+
+  private void updatePinnedBlockStates() {
+    final Map<Bytes32, BeaconState> newPinnedStates = new HashMap<>();
+    for (Bytes32 root : getCheckpointRoots()) {
+      final BeaconState state = getBlockState(root);
+      if (state != null) {
+        newPinnedStates.put(root, state);
+      }
+    }
+    pinned_block_states.keySet().retainAll(newPinnedStates.keySet());
+    pinned_block_states.putAll(newPinnedStates);
+  }
+
+  private void updateValidatorPubKeyIndex() {
+    final BeaconState finalizedState = pinned_block_states.get(finalized_checkpoint.getRoot());
+    if (finalizedState != null) {
+      validatorPubKeyIndex.addValidators(finalizedState);
+    }
+  }
+
+  /** @return The index of validator public keys, covering all validators in finalized states. */
+  public ValidatorPubKeyIndex getValidatorPubKeyIndex() {
+    return validatorPubKeyIndex;
+  }
+
   @Override
   public BeaconState getCheckpointState(Checkpoint checkpoint) {
     readLock.lock();
@@ -245,7 +465,16 @@ public class Store implements ReadOnlyStore {
   public Set<UnsignedLong> getVotedValidatorIndices() {
     readLock.lock();
     try {
-      return votes.keySet();
+      return votes.getValidatorIndices();
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private VoteTracker getVote(final int validatorIndex) {
+    readLock.lock();
+    try {
+      return votes.get(validatorIndex);
     } finally {
       readLock.unlock();
     }
@@ -262,7 +491,8 @@ public class Store implements ReadOnlyStore {
     private Map<Bytes32, SignedBeaconBlock> blocks = new HashMap<>();
     private Map<Bytes32, BeaconState> block_states = new HashMap<>();
     private Map<Checkpoint, BeaconState> checkpoint_states = new HashMap<>();
-    private Map<UnsignedLong, VoteTracker> votes = new HashMap<>();
+    // Transactions typically change the votes of a few validators spread across the validator set
+    private final ValidatorVotes votes = ValidatorVotes.createSparse();
     private final StoreUpdateHandler updateHandler;
 
     Transaction(
@@ -313,17 +543,53 @@ public class Store implements ReadOnlyStore {
 
     @Override
     public VoteTracker getVote(UnsignedLong validatorIndex) {
-      VoteTracker vote = votes.get(validatorIndex);
+      final int index = toIntExact(validatorIndex.longValue());
+      VoteTracker vote = votes.get(index);
       if (vote == null) {
-        vote = Store.this.votes.get(validatorIndex);
-        if (vote == null) {
-          vote = VoteTracker.Default();
-        } else {
-          vote = vote.copy();
+        vote = Store.this.getVote(index);
+      }
+      return vote != null ? vote : VoteTracker.Default();
+    }
+
+    @Override
+    public void putVote(UnsignedLong validatorIndex, VoteTracker vote) {
+      votes.put(toIntExact(validatorIndex.longValue()), vote);
+    }
+
+    @Override
+    public void updateVotes(final VoteUpdater updater) {
+      readLock.lock();
+      try {
+        final ValidatorVotes storeVotes = Store.this.votes;
+        // Visit every validator with a vote in either set, preferring this transaction's vote
+        int transactionIndex = votes.nextIndex(0);
+        int storeIndex = storeVotes.nextIndex(0);
+        while (transactionIndex >= 0 || storeIndex >= 0) {
+          final int i;
+          final ValidatorVotes source;
+          if (transactionIndex >= 0 && (storeIndex < 0 || transactionIndex <= storeIndex)) {
+            i = transactionIndex;
+            source = votes;
+          } else {
+            i = storeIndex;
+            source = storeVotes;
+          }
+          final Bytes32 currentRoot = source.getCurrentRoot(i);
+          final Bytes32 nextRoot = source.getNextRoot(i);
+          final Bytes32 newCurrentRoot = updater.updateCurrentRoot(i, currentRoot, nextRoot);
+          if (!newCurrentRoot.equals(currentRoot)) {
+            votes.set(i, newCurrentRoot, nextRoot, source.getNextEpoch(i));
+          }
+          if (i == transactionIndex) {
+            transactionIndex = votes.nextIndex(i + 1);
+          }
+          if (i == storeIndex) {
+            storeIndex = storeVotes.nextIndex(i + 1);
+          }
         }
-        votes.put(validatorIndex, vote);
+      } finally {
+        readLock.unlock();
       }
-      return vote;
     }
 
     @CheckReturnValue
@@ -359,6 +625,14 @@ public class Store implements ReadOnlyStore {
                   Store.this.block_states.putAll(block_states);
                   Store.this.checkpoint_states.putAll(checkpoint_states);
                   Store.this.votes.putAll(votes);
+                  if (justified_checkpoint.isPresent()
+                      || finalized_checkpoint.isPresent()
+                      || best_justified_checkpoint.isPresent()) {
+                    updatePinnedBlockStates();
+                  }
+                  if (finalized_checkpoint.isPresent()) {
+                    updateValidatorPubKeyIndex();
+                  }
                   // Prune old data
                   updateResult.getPrunedCheckpoints().forEach(Store.this.checkpoint_states::remove);
                   updateResult
@@ -367,6 +641,7 @@ public class Store implements ReadOnlyStore {
                           prunedRoot -> {
                             Store.this.blocks.remove(prunedRoot);
                             Store.this.block_states.remove(prunedRoot);
+                            Store.this.pinned_block_states.remove(prunedRoot);
                           });
                 } finally {
                   writeLock.unlock();
@@ -438,7 +713,7 @@ public class Store implements ReadOnlyStore {
 
     @Override
     public Set<UnsignedLong> getVotedValidatorIndices() {
-      return Sets.union(votes.keySet(), Store.this.getVotedValidatorIndices());
+      return Sets.union(votes.getValidatorIndices(), Store.this.getVotedValidatorIndices());
     }
 
     private <I, O> O either(I input, Function<I, O> primary, Function<I, O> secondary) {
@@ -495,6 +770,18 @@ public class Store implements ReadOnlyStore {
         checkpoint_states);
   }
 
+  public interface HotStateLoader {
+    HotStateLoader NONE = blockRoot -> Optional.empty();
+
+    /**
+     * Loads a hot state which is not cached in memory from storage.
+     *
+     * @param blockRoot The root of the block the state is for
+     * @return The state, or empty if it is not available in storage
+     */
+    Optional<BeaconState> loadHotState(Bytes32 blockRoot);
+  }
+
   public interface StoreUpdateHandler {
     StoreUpdateHandler NOOP = finalizedCheckpoint -> {};
 
@@ -14,10 +14,13 @@
 package tech.pegasys.artemis.storage.api;
 
 import com.google.common.primitives.UnsignedLong;
+import java.util.List;
 import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
 import tech.pegasys.artemis.util.async.SafeFuture;
 
 public interface StorageQueryChannel {
@@ -28,7 +31,14 @@ public interface StorageQueryChannel {
 
   SafeFuture<Optional<SignedBeaconBlock>> getBlockByBlockRoot(final Bytes32 blockRoot);
 
+  SafeFuture<Optional<Bytes>> getSerializedBlockByBlockRoot(final Bytes32 blockRoot);
+
+  SafeFuture<List<Bytes>> getSerializedFinalizedBlocks(
+      final UnsignedLong startSlot, final UnsignedLong endSlot, final UnsignedLong step);
+
   SafeFuture<Optional<BeaconState>> getLatestFinalizedStateAtSlot(final UnsignedLong slot);
 
   SafeFuture<Optional<BeaconState>> getFinalizedStateByBlockRoot(final Bytes32 blockRoot);
+
+  SafeFuture<Optional<MerkleTreeSnapshot>> getDepositTreeSnapshot();
 }
@@ -14,6 +14,7 @@
 package tech.pegasys.artemis.storage.api;
 
 import java.util.Optional;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
 import tech.pegasys.artemis.storage.Store;
 import tech.pegasys.artemis.storage.events.StorageUpdate;
 import tech.pegasys.artemis.storage.events.StorageUpdateResult;
@@ -26,4 +27,6 @@ public interface StorageUpdateChannel {
   SafeFuture<StorageUpdateResult> onStorageUpdate(StorageUpdate event);
 
   void onGenesis(Store store);
+
+  void onDepositTreeSnapshot(MerkleTreeSnapshot snapshot);
 }
@@ -26,18 +26,22 @@ import static tech.pegasys.artemis.util.config.Constants.SLOTS_PER_HISTORICAL_RO
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.primitives.UnsignedLong;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.datastructures.blocks.BeaconBlock;
 import tech.pegasys.artemis.datastructures.blocks.BeaconBlockAndState;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.CommitteeAssignment;
+import tech.pegasys.artemis.datastructures.state.ValidatorPubKeyIndex;
 import tech.pegasys.artemis.datastructures.util.BeaconStateUtil;
 import tech.pegasys.artemis.datastructures.util.CommitteeUtil;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.artemis.storage.Store;
 import tech.pegasys.artemis.storage.api.StorageQueryChannel;
 import tech.pegasys.artemis.util.async.SafeFuture;
@@ -115,6 +119,57 @@ public class CombinedChainDataClient {
     return getBlockAtSlotFormHistoricalBlockRoots(slot, store, headState);
   }
 
+  /**
+   * Returns the finalized blocks with slots from <code>startSlot</code> to <code>endSlot</code>
+   * inclusive and a multiple of <code>step</code> after <code>startSlot</code>. The blocks are SSZ
+   * serialized exactly as they were stored and are never deserialized.
+   *
+   * @param startSlot the first slot to include
+   * @param endSlot the last slot to include
+   * @param step the distance between requested slots
+   * @return the serialized blocks in slot order
+   */
+  public SafeFuture<List<Bytes>> getSerializedFinalizedBlocks(
+      final UnsignedLong startSlot, final UnsignedLong endSlot, final UnsignedLong step) {
+    return historicalChainData.getSerializedFinalizedBlocks(startSlot, endSlot, step);
+  }
+
+  /**
+   * Returns the blocks held in recent chain data on the chain identified by <code>headBlockRoot
+   * </code>, with slots from <code>startSlot</code> to <code>endSlot</code> inclusive and a
+   * multiple of <code>step</code> after <code>startSlot</code>. Blocks are found by following
+   * parent roots from the head so no states are loaded.
+   *
+   * @param headBlockRoot the block root of the head of the chain
+   * @param startSlot the first slot to include
+   * @param endSlot the last slot to include
+   * @param step the distance between requested slots
+   * @return the matching blocks in slot order
+   */
+  public List<SignedBeaconBlock> getRecentBlocks(
+      final Bytes32 headBlockRoot,
+      final UnsignedLong startSlot,
+      final UnsignedLong endSlot,
+      final UnsignedLong step) {
+    final Store store = getStore();
+    if (store == null) {
+      LOG.trace("No recent blocks because the store is not set");
+      return Collections.emptyList();
+    }
+
+    final List<SignedBeaconBlock> blocks = new ArrayList<>();
+    SignedBeaconBlock block = store.getSignedBlock(headBlockRoot);
+    while (block != null && block.getSlot().compareTo(startSlot) >= 0) {
+      final UnsignedLong slot = block.getSlot();
+      if (slot.compareTo(endSlot) <= 0 && slot.minus(startSlot).mod(step).equals(ZERO)) {
+        blocks.add(block);
+      }
+      block = store.getSignedBlock(block.getParent_root());
+    }
+    Collections.reverse(blocks);
+    return blocks;
+  }
+
   public SafeFuture<Optional<BeaconBlockAndState>> getBlockAndStateInEffectAtSlot(
       final UnsignedLong slot, final Bytes32 headBlockRoot) {
     return getBlockInEffectAtSlot(slot, headBlockRoot)
@@ -150,8 +205,24 @@ public class CombinedChainDataClient {
   }
 
   private boolean isHistoricalData(final UnsignedLong slot) {
-    final boolean finalizedPastFirstEpoch = !recentChainData.getFinalizedEpoch().equals(ZERO);
-    return finalizedPastFirstEpoch && isFinalized(slot);
+    return getLastHistoricalSlot()
+        .map(lastHistoricalSlot -> slot.compareTo(lastHistoricalSlot) <= 0)
+        .orElse(false);
+  }
+
+  /**
+   * Returns the last slot whose blocks are retrieved from historical data rather than recent chain
+   * data. Until an epoch after genesis has been finalized all blocks are available from recent
+   * chain data.
+   *
+   * @return the last historical slot or empty if there is no historical data
+   */
+  public Optional<UnsignedLong> getLastHistoricalSlot() {
+    final UnsignedLong finalizedEpoch = recentChainData.getFinalizedEpoch();
+    if (finalizedEpoch.equals(ZERO)) {
+      return Optional.empty();
+    }
+    return Optional.of(compute_start_slot_at_epoch(finalizedEpoch));
   }
 
   public boolean isFinalized(final UnsignedLong slot) {
@@ -241,6 +312,19 @@ public class CombinedChainDataClient {
     return recentChainData != null && getStore() != null;
   }
 
+  /**
+   * Returns the node's index of validator public keys, which resolves validator indices without
+   * scanning the validator registry.
+   *
+   * @return The validator public key index, or empty if the store is not yet available
+   */
+  public Optional<ValidatorPubKeyIndex> getValidatorPubKeyIndex() {
+    if (!isStoreAvailable()) {
+      return Optional.empty();
+    }
+    return Optional.of(getStore().getValidatorPubKeyIndex());
+  }
+
   public List<CommitteeAssignment> getCommitteesFromState(
       BeaconState state, UnsignedLong startingSlot) {
     List<CommitteeAssignment> result = new ArrayList<>();
@@ -282,6 +366,22 @@ public class CombinedChainDataClient {
     }
   }
 
+  /**
+   * Returns the SSZ encoding of the block returned by {@link #getBlockBySlot(UnsignedLong)}, so a
+   * skipped slot resolves to the latest block before it. Blocks no longer held in recent chain
+   * data are read from storage without being deserialized.
+   *
+   * @param slot the slot to get the block for
+   * @return the serialized block, or empty if no block is available
+   */
+  public SafeFuture<Optional<Bytes>> getSerializedBlockBySlot(final UnsignedLong slot) {
+    final Optional<Bytes32> blockRootBySlot = getBlockRootBySlot(slot);
+    if (blockRootBySlot.isPresent()) {
+      return getSerializedBlockByBlockRoot(blockRootBySlot.get());
+    }
+    return getBlockBySlot(slot).thenApply(block -> block.map(SimpleOffsetSerializer::serialize));
+  }
+
   @VisibleForTesting
   public Optional<SignedBeaconBlock> getBlockFromStore(final Bytes32 blockRoot) {
     return isStoreAvailable()
@@ -294,4 +394,11 @@ public class CombinedChainDataClient {
         .map(value -> SafeFuture.completedFuture(Optional.of(value)))
         .orElseGet(() -> historicalChainData.getBlockByBlockRoot(blockRoot));
   }
+
+  public SafeFuture<Optional<Bytes>> getSerializedBlockByBlockRoot(final Bytes32 blockRoot) {
+    return getBlockFromStore(blockRoot)
+        .map(SimpleOffsetSerializer::serialize)
+        .map(serialized -> SafeFuture.completedFuture(Optional.of(serialized)))
+        .orElseGet(() -> historicalChainData.getSerializedBlockByBlockRoot(blockRoot));
+  }
 }
@@ -39,6 +39,7 @@ import tech.pegasys.artemis.storage.api.FinalizedCheckpointChannel;
 import tech.pegasys.artemis.storage.api.ReorgEventChannel;
 import tech.pegasys.artemis.storage.api.StorageUpdateChannel;
 import tech.pegasys.artemis.util.async.SafeFuture;
+import tech.pegasys.artemis.util.config.ArtemisConfiguration;
 
 /** This class is the ChainStorage client-side logic */
 public abstract class RecentChainData implements StoreUpdateHandler {
@@ -49,6 +50,7 @@ public abstract class RecentChainData implements StoreUpdateHandler {
   protected final FinalizedCheckpointChannel finalizedCheckpointChannel;
   protected final StorageUpdateChannel storageUpdateChannel;
   private final ReorgEventChannel reorgEventChannel;
+  private final int hotStateCacheSize;
 
   private final AtomicBoolean storeInitialized = new AtomicBoolean(false);
   private final SafeFuture<Void> storeInitializedFuture = new SafeFuture<>();
@@ -67,10 +69,25 @@ public abstract class RecentChainData implements StoreUpdateHandler {
       final FinalizedCheckpointChannel finalizedCheckpointChannel,
       final ReorgEventChannel reorgEventChannel,
       final EventBus eventBus) {
+    this(
+        storageUpdateChannel,
+        finalizedCheckpointChannel,
+        reorgEventChannel,
+        eventBus,
+        ArtemisConfiguration.DEFAULT_DATA_HOT_STATE_CACHE_SIZE);
+  }
+
+  RecentChainData(
+      final StorageUpdateChannel storageUpdateChannel,
+      final FinalizedCheckpointChannel finalizedCheckpointChannel,
+      final ReorgEventChannel reorgEventChannel,
+      final EventBus eventBus,
+      final int hotStateCacheSize) {
     this.reorgEventChannel = reorgEventChannel;
     this.eventBus = eventBus;
     this.storageUpdateChannel = storageUpdateChannel;
     this.finalizedCheckpointChannel = finalizedCheckpointChannel;
+    this.hotStateCacheSize = hotStateCacheSize;
   }
 
   public void subscribeStoreInitialized(Runnable runnable) {
@@ -82,7 +99,7 @@ public abstract class RecentChainData implements StoreUpdateHandler {
   }
 
   public void initializeFromGenesis(final BeaconState genesisState) {
-    final Store store = Store.getForkChoiceStore(genesisState);
+    final Store store = Store.getForkChoiceStore(genesisState, hotStateCacheSize);
     final boolean result = setStore(store);
     if (!result) {
       throw new IllegalStateException(
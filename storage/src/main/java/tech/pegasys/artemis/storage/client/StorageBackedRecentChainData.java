@@ -24,6 +24,7 @@ import tech.pegasys.artemis.storage.api.ReorgEventChannel;
 import tech.pegasys.artemis.storage.api.StorageUpdateChannel;
 import tech.pegasys.artemis.util.async.AsyncRunner;
 import tech.pegasys.artemis.util.async.SafeFuture;
+import tech.pegasys.artemis.util.config.ArtemisConfiguration;
 import tech.pegasys.artemis.util.config.Constants;
 
 public class StorageBackedRecentChainData extends RecentChainData {
@@ -35,7 +36,28 @@ public class StorageBackedRecentChainData extends RecentChainData {
       final FinalizedCheckpointChannel finalizedCheckpointChannel,
       final ReorgEventChannel reorgEventChannel,
       final EventBus eventBus) {
-    super(storageUpdateChannel, finalizedCheckpointChannel, reorgEventChannel, eventBus);
+    this(
+        asyncRunner,
+        storageUpdateChannel,
+        finalizedCheckpointChannel,
+        reorgEventChannel,
+        eventBus,
+        ArtemisConfiguration.DEFAULT_DATA_HOT_STATE_CACHE_SIZE);
+  }
+
+  public StorageBackedRecentChainData(
+      final AsyncRunner asyncRunner,
+      final StorageUpdateChannel storageUpdateChannel,
+      final FinalizedCheckpointChannel finalizedCheckpointChannel,
+      final ReorgEventChannel reorgEventChannel,
+      final EventBus eventBus,
+      final int hotStateCacheSize) {
+    super(
+        storageUpdateChannel,
+        finalizedCheckpointChannel,
+        reorgEventChannel,
+        eventBus,
+        hotStateCacheSize);
     this.asyncRunner = asyncRunner;
     eventBus.register(this);
   }
@@ -46,13 +68,30 @@ public class StorageBackedRecentChainData extends RecentChainData {
       final FinalizedCheckpointChannel finalizedCheckpointChannel,
       final ReorgEventChannel reorgEventChannel,
       final EventBus eventBus) {
+    return create(
+        asyncRunner,
+        storageUpdateChannel,
+        finalizedCheckpointChannel,
+        reorgEventChannel,
+        eventBus,
+        ArtemisConfiguration.DEFAULT_DATA_HOT_STATE_CACHE_SIZE);
+  }
+
+  public static SafeFuture<RecentChainData> create(
+      final AsyncRunner asyncRunner,
+      final StorageUpdateChannel storageUpdateChannel,
+      final FinalizedCheckpointChannel finalizedCheckpointChannel,
+      final ReorgEventChannel reorgEventChannel,
+      final EventBus eventBus,
+      final int hotStateCacheSize) {
     StorageBackedRecentChainData client =
         new StorageBackedRecentChainData(
             asyncRunner,
             storageUpdateChannel,
             finalizedCheckpointChannel,
             reorgEventChannel,
-            eventBus);
+            eventBus,
+            hotStateCacheSize);
     return client.initializeFromStorage();
   }
 
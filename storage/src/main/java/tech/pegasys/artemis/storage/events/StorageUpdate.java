@@ -18,7 +18,7 @@ import java.util.Map;
 import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
-import tech.pegasys.artemis.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.artemis.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
 
@@ -31,7 +31,7 @@ public class StorageUpdate {
   private final Map<Bytes32, SignedBeaconBlock> blocks;
   private final Map<Bytes32, BeaconState> blockStates;
   private final Map<Checkpoint, BeaconState> checkpointStates;
-  private final Map<UnsignedLong, VoteTracker> votes;
+  private final ValidatorVotes votes;
 
   public StorageUpdate(
       final Optional<UnsignedLong> genesisTime,
@@ -41,7 +41,7 @@ public class StorageUpdate {
       final Map<Bytes32, SignedBeaconBlock> blocks,
       final Map<Bytes32, BeaconState> blockStates,
       final Map<Checkpoint, BeaconState> checkpointStates,
-      final Map<UnsignedLong, VoteTracker> votes) {
+      final ValidatorVotes votes) {
     this.genesisTime = genesisTime;
     this.justifiedCheckpoint = justifiedCheckpoint;
     this.finalizedCheckpoint = finalizedCheckpoint;
@@ -91,7 +91,7 @@ public class StorageUpdate {
     return checkpointStates;
   }
 
-  public Map<UnsignedLong, VoteTracker> getVotes() {
+  public ValidatorVotes getVotes() {
     return votes;
   }
 }
@@ -15,10 +15,18 @@ package tech.pegasys.artemis.storage.server;
 
 import com.google.common.eventbus.EventBus;
 import com.google.common.primitives.UnsignedLong;
+import java.util.List;
 import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+import tech.pegasys.artemis.pow.api.Eth1DepositStorageChannel;
+import tech.pegasys.artemis.pow.api.Eth1EventsChannel;
+import tech.pegasys.artemis.pow.api.ReplayDepositsResult;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.artemis.storage.Store;
 import tech.pegasys.artemis.storage.api.StorageQueryChannel;
 import tech.pegasys.artemis.storage.api.StorageUpdateChannel;
@@ -27,27 +35,48 @@ import tech.pegasys.artemis.storage.events.StorageUpdateResult;
 import tech.pegasys.artemis.util.async.SafeFuture;
 import tech.pegasys.artemis.util.config.ArtemisConfiguration;
 
-public class ChainStorageServer implements StorageUpdateChannel, StorageQueryChannel {
+public class ChainStorageServer
+    implements StorageUpdateChannel,
+        StorageQueryChannel,
+        Eth1EventsChannel,
+        Eth1DepositStorageChannel {
   private final EventBus eventBus;
   private final VersionedDatabaseFactory databaseFactory;
+  private final Eth1EventsChannel eth1EventsChannel;
 
   private volatile Database database;
+  private volatile DepositStorage depositStorage;
   private volatile Optional<Store> cachedStore = Optional.empty();
 
-  private ChainStorageServer(EventBus eventBus, final VersionedDatabaseFactory dbFactory) {
+  private ChainStorageServer(
+      EventBus eventBus,
+      final VersionedDatabaseFactory dbFactory,
+      final Eth1EventsChannel eth1EventsChannel) {
     this.eventBus = eventBus;
     this.databaseFactory = dbFactory;
+    this.eth1EventsChannel = eth1EventsChannel;
   }
 
-  public static ChainStorageServer create(EventBus eventBus, ArtemisConfiguration config) {
-    return new ChainStorageServer(eventBus, new VersionedDatabaseFactory(config));
+  public static ChainStorageServer create(
+      EventBus eventBus,
+      ArtemisConfiguration config,
+      final Eth1EventsChannel eth1EventsChannel) {
+    return new ChainStorageServer(
+        eventBus, new VersionedDatabaseFactory(config), eth1EventsChannel);
   }
 
   public void start() {
     this.database = databaseFactory.createDatabase();
+    this.depositStorage = DepositStorage.create(eth1EventsChannel, database);
     eventBus.register(this);
   }
 
+  public void stop() throws Exception {
+    if (database != null) {
+      database.close();
+    }
+  }
+
   private synchronized Optional<Store> getStore() {
     if (cachedStore.isEmpty()) {
       // Create store from database
@@ -87,6 +116,26 @@ public class ChainStorageServer implements StorageUpdateChannel, StorageQueryCha
     database.storeGenesis(store);
   }
 
+  @Override
+  public void onDepositTreeSnapshot(final MerkleTreeSnapshot snapshot) {
+    database.storeDepositTreeSnapshot(snapshot);
+  }
+
+  @Override
+  public void onDepositsFromBlock(final DepositsFromBlockEvent event) {
+    database.addDepositsFromBlockEvent(event);
+  }
+
+  @Override
+  public void onMinGenesisTimeBlock(final MinGenesisTimeBlockEvent event) {
+    database.addMinGenesisTimeBlock(event);
+  }
+
+  @Override
+  public SafeFuture<ReplayDepositsResult> replayDepositEvents() {
+    return SafeFuture.of(() -> depositStorage.replayDepositEvents());
+  }
+
   @Override
   public SafeFuture<Optional<SignedBeaconBlock>> getFinalizedBlockAtSlot(final UnsignedLong slot) {
     Optional<SignedBeaconBlock> block =
@@ -107,6 +156,18 @@ public class ChainStorageServer implements StorageUpdateChannel, StorageQueryCha
     return SafeFuture.completedFuture(database.getSignedBlock(blockRoot));
   }
 
+  @Override
+  public SafeFuture<Optional<Bytes>> getSerializedBlockByBlockRoot(final Bytes32 blockRoot) {
+    return SafeFuture.completedFuture(database.getSerializedBlock(blockRoot));
+  }
+
+  @Override
+  public SafeFuture<List<Bytes>> getSerializedFinalizedBlocks(
+      final UnsignedLong startSlot, final UnsignedLong endSlot, final UnsignedLong step) {
+    return SafeFuture.completedFuture(
+        database.getSerializedFinalizedBlocks(startSlot, endSlot, step));
+  }
+
   @Override
   public SafeFuture<Optional<BeaconState>> getLatestFinalizedStateAtSlot(final UnsignedLong slot) {
     return SafeFuture.completedFuture(
@@ -117,4 +178,9 @@ public class ChainStorageServer implements StorageUpdateChannel, StorageQueryCha
   public SafeFuture<Optional<BeaconState>> getFinalizedStateByBlockRoot(final Bytes32 blockRoot) {
     return SafeFuture.completedFuture(database.getState(blockRoot));
   }
+
+  @Override
+  public SafeFuture<Optional<MerkleTreeSnapshot>> getDepositTreeSnapshot() {
+    return SafeFuture.completedFuture(database.getDepositTreeSnapshot());
+  }
 }
@@ -14,10 +14,17 @@
 package tech.pegasys.artemis.storage.server;
 
 import com.google.common.primitives.UnsignedLong;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.artemis.storage.Store;
 import tech.pegasys.artemis.storage.events.StorageUpdate;
 import tech.pegasys.artemis.storage.events.StorageUpdateResult;
@@ -48,5 +55,63 @@ public interface Database extends AutoCloseable {
 
   Optional<SignedBeaconBlock> getSignedBlock(Bytes32 root);
 
+  /**
+   * Returns the SSZ encoding of the hot or finalized block with the given root. Finalized blocks
+   * are returned exactly as they are stored without being deserialized.
+   *
+   * @param root The root of the block
+   * @return The serialized block, or empty if the block is unknown
+   */
+  Optional<Bytes> getSerializedBlock(Bytes32 root);
+
+  /**
+   * Returns the finalized blocks with slots from {@code startSlot} to {@code endSlot} inclusive
+   * and a multiple of {@code step} after {@code startSlot}, in slot order. Blocks are returned SSZ
+   * serialized exactly as they are stored so they can be sent to peers without being deserialized.
+   *
+   * @param startSlot The first slot to include
+   * @param endSlot The last slot to include
+   * @param step The distance between requested slots
+   * @return The serialized finalized blocks in the requested range
+   */
+  List<Bytes> getSerializedFinalizedBlocks(
+      UnsignedLong startSlot, UnsignedLong endSlot, UnsignedLong step);
+
   Optional<BeaconState> getState(Bytes32 root);
+
+  Optional<BeaconState> getCheckpointState(Checkpoint checkpoint);
+
+  /**
+   * Stores the deposits from an eth1 block. Events for blocks at or before the last stored block
+   * are ignored since they have already been stored.
+   *
+   * @param event The deposits from a single eth1 block
+   */
+  void addDepositsFromBlockEvent(DepositsFromBlockEvent event);
+
+  void addMinGenesisTimeBlock(MinGenesisTimeBlockEvent event);
+
+  /**
+   * Streams the stored eth1 deposit events in block number order. The returned stream must be
+   * closed.
+   *
+   * @return A stream of the stored deposit events
+   */
+  Stream<DepositsFromBlockEvent> streamDepositsFromBlocks();
+
+  /**
+   * Streams the stored eth1 deposit events in block number order, starting from the event which
+   * includes the given deposit index. Earlier events are not read. The returned stream must be
+   * closed.
+   *
+   * @param fromDepositIndex The index of the first deposit required
+   * @return A stream of the stored deposit events from the one including the given deposit
+   */
+  Stream<DepositsFromBlockEvent> streamDepositsFromBlocks(UnsignedLong fromDepositIndex);
+
+  Optional<MinGenesisTimeBlockEvent> getMinGenesisTimeBlock();
+
+  void storeDepositTreeSnapshot(MerkleTreeSnapshot snapshot);
+
+  Optional<MerkleTreeSnapshot> getDepositTreeSnapshot();
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server;
+
+import com.google.common.collect.Ordering;
+import com.google.common.primitives.UnsignedLong;
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+import tech.pegasys.artemis.pow.api.Eth1EventsChannel;
+import tech.pegasys.artemis.pow.api.ReplayDepositsResult;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
+
+/**
+ * Republishes the eth1 deposit events stored in a {@link Database} so that deposit processing can
+ * resume from the last stored eth1 block after a restart.
+ *
+ * <p>Once a deposit tree snapshot has been stored, deposits which are both in the snapshot and
+ * before the finalized state's deposit index are never needed again, so replay starts after them.
+ */
+public class DepositStorage {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Eth1EventsChannel eth1EventsChannel;
+  private final Database database;
+
+  private DepositStorage(final Eth1EventsChannel eth1EventsChannel, final Database database) {
+    this.eth1EventsChannel = eth1EventsChannel;
+    this.database = database;
+  }
+
+  public static DepositStorage create(
+      final Eth1EventsChannel eth1EventsChannel, final Database database) {
+    return new DepositStorage(eth1EventsChannel, database);
+  }
+
+  public synchronized ReplayDepositsResult replayDepositEvents() {
+    final Optional<MinGenesisTimeBlockEvent> minGenesisTimeBlock =
+        database.getMinGenesisTimeBlock();
+    BigInteger lastProcessedBlockNumber = BigInteger.valueOf(-1);
+    boolean minGenesisTimeBlockSent = false;
+    int replayedEvents = 0;
+    final UnsignedLong fromDepositIndex = getFirstRequiredDepositIndex();
+    try (final Stream<DepositsFromBlockEvent> events =
+        database.streamDepositsFromBlocks(fromDepositIndex)) {
+      for (Iterator<DepositsFromBlockEvent> i = events.iterator(); i.hasNext(); ) {
+        final DepositsFromBlockEvent event = i.next();
+        if (!minGenesisTimeBlockSent
+            && minGenesisTimeBlock.isPresent()
+            && isAfter(event, minGenesisTimeBlock.get())) {
+          eth1EventsChannel.onMinGenesisTimeBlock(minGenesisTimeBlock.get());
+          minGenesisTimeBlockSent = true;
+        }
+        eth1EventsChannel.onDepositsFromBlock(event);
+        lastProcessedBlockNumber = event.getBlockNumber().bigIntegerValue();
+        replayedEvents++;
+      }
+    }
+
+    if (minGenesisTimeBlock.isPresent()) {
+      if (!minGenesisTimeBlockSent) {
+        eth1EventsChannel.onMinGenesisTimeBlock(minGenesisTimeBlock.get());
+      }
+      // Every block up to the min genesis time block was processed before it was stored
+      final BigInteger minGenesisBlockNumber =
+          minGenesisTimeBlock.get().getBlockNumber().bigIntegerValue();
+      lastProcessedBlockNumber = lastProcessedBlockNumber.max(minGenesisBlockNumber);
+    }
+    LOG.debug(
+        "Replayed deposits from {} eth1 blocks, starting at deposit {}, up to block {}",
+        replayedEvents,
+        fromDepositIndex,
+        lastProcessedBlockNumber);
+    return ReplayDepositsResult.create(lastProcessedBlockNumber, minGenesisTimeBlock.isPresent());
+  }
+
+  private UnsignedLong getFirstRequiredDepositIndex() {
+    final Optional<MerkleTreeSnapshot> snapshot = database.getDepositTreeSnapshot();
+    if (snapshot.isEmpty()) {
+      return UnsignedLong.ZERO;
+    }
+    final UnsignedLong snapshotLeafCount =
+        UnsignedLong.valueOf(snapshot.get().getNumberOfLeaves());
+    final UnsignedLong finalizedDepositIndex =
+        database
+            .getLatestFinalizedRootAtSlot(UnsignedLong.MAX_VALUE)
+            .flatMap(database::getState)
+            .map(BeaconState::getEth1_deposit_index)
+            .orElse(UnsignedLong.ZERO);
+    return Ordering.natural().min(snapshotLeafCount, finalizedDepositIndex);
+  }
+
+  private static boolean isAfter(
+      final DepositsFromBlockEvent event, final MinGenesisTimeBlockEvent minGenesisTimeBlock) {
+    return event.getBlockNumber().compareTo(minGenesisTimeBlock.getBlockNumber()) > 0;
+  }
+}
@@ -14,11 +14,13 @@
 package tech.pegasys.artemis.storage.server;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.UnsignedLong;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import tech.pegasys.artemis.storage.server.rocksdb.RocksDbConfiguration;
@@ -36,12 +38,18 @@ public class VersionedDatabaseFactory {
   private final File dbDirectory;
   private final File dbVersionFile;
   private final StateStorageMode stateStorageMode;
+  private final int archiveSnapshotFrequency;
+  private final int hotStateCacheSize;
+  private final int writeBehindIntervalMillis;
 
   public VersionedDatabaseFactory(final ArtemisConfiguration config) {
     this.dataDirectory = Paths.get(config.getDataPath()).toFile();
     this.dbDirectory = this.dataDirectory.toPath().resolve(DB_PATH).toFile();
     this.dbVersionFile = this.dataDirectory.toPath().resolve(DB_VERSION_PATH).toFile();
     this.stateStorageMode = config.getDataStorageMode();
+    this.archiveSnapshotFrequency = config.getDataArchiveSnapshotFrequency();
+    this.hotStateCacheSize = config.getDataHotStateCacheSize();
+    this.writeBehindIntervalMillis = config.getDataWriteBehindIntervalMillis();
   }
 
   public Database createDatabase() {
@@ -60,13 +68,21 @@ public class VersionedDatabaseFactory {
         throw new UnsupportedOperationException("Unhandled database version " + dbVersion);
     }
     LOG.trace("Created database ({}) at {}", dbVersion.getValue(), dbDirectory.getAbsolutePath());
+    if (writeBehindIntervalMillis > 0) {
+      database =
+          new WriteBehindDatabase(database, writeBehindIntervalMillis, TimeUnit.MILLISECONDS);
+    }
     return database;
   }
 
   private Database createV3Database() {
     final RocksDbConfiguration rocksDbConfiguration =
         RocksDbConfiguration.withDataDirectory(dbDirectory.toPath());
-    return RocksDbDatabase.createV3(rocksDbConfiguration, stateStorageMode);
+    return RocksDbDatabase.createV3(
+        rocksDbConfiguration,
+        stateStorageMode,
+        UnsignedLong.valueOf(archiveSnapshotFrequency),
+        hotStateCacheSize);
   }
 
   private void validateDataPaths() {
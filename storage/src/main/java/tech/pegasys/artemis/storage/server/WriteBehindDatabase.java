@@ -0,0 +1,316 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.UnsignedLong;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.artemis.datastructures.forkchoice.ValidatorVotes;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
+import tech.pegasys.artemis.storage.Store;
+import tech.pegasys.artemis.storage.events.StorageUpdate;
+import tech.pegasys.artemis.storage.events.StorageUpdateResult;
+
+/**
+ * Wraps a {@link Database} so that updates which don't change the finalized checkpoint are
+ * acknowledged immediately and written in the background.
+ *
+ * <p>Pending updates are coalesced and written as a single update every {@code flushInterval}.
+ * Updates which set the finalized checkpoint are a barrier: all pending updates are written first
+ * and the finalizing update is then written before it is acknowledged, so finalized data is always
+ * durable and pruning is computed against a complete database. Blocks and states from pending
+ * updates remain readable through this database until they have been written.
+ *
+ * <p>If writing pending updates fails repeatedly, updates stop being deferred and are instead
+ * written immediately, so failures are reported to the caller rather than pending updates growing
+ * without bound.
+ */
+public class WriteBehindDatabase implements Database {
+  private static final Logger LOG = LogManager.getLogger();
+  static final int MAX_CONSECUTIVE_FLUSH_FAILURES = 3;
+
+  private final Database delegate;
+  private final ScheduledExecutorService executor;
+  // Guards writes to the delegate so pending updates are always written in order
+  private final Object writeLock = new Object();
+
+  private PendingUpdate pending = new PendingUpdate();
+  private Optional<PendingUpdate> writing = Optional.empty();
+  private boolean closed = false;
+  private int consecutiveFlushFailures = 0;
+
+  public WriteBehindDatabase(
+      final Database delegate, final long flushInterval, final TimeUnit unit) {
+    checkArgument(flushInterval > 0, "Flush interval must be positive");
+    this.delegate = delegate;
+    this.executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("db-write-behind").build());
+    executor.scheduleWithFixedDelay(this::flushSafely, flushInterval, flushInterval, unit);
+  }
+
+  @Override
+  public void storeGenesis(final Store store) {
+    synchronized (writeLock) {
+      flush();
+      delegate.storeGenesis(store);
+    }
+  }
+
+  @Override
+  public StorageUpdateResult update(final StorageUpdate event) {
+    if (event.isEmpty()) {
+      return StorageUpdateResult.successfulWithNothingPruned();
+    }
+    synchronized (this) {
+      if (!closed
+          && event.getFinalizedCheckpoint().isEmpty()
+          && consecutiveFlushFailures < MAX_CONSECUTIVE_FLUSH_FAILURES) {
+        pending.add(event);
+        return StorageUpdateResult.successfulWithNothingPruned();
+      }
+    }
+    synchronized (writeLock) {
+      try {
+        flush();
+      } catch (final RuntimeException e) {
+        return StorageUpdateResult.failed(e);
+      }
+      return delegate.update(event);
+    }
+  }
+
+  @Override
+  public Optional<Store> createMemoryStore() {
+    synchronized (writeLock) {
+      flush();
+      return delegate.createMemoryStore();
+    }
+  }
+
+  @Override
+  public Optional<Bytes32> getFinalizedRootAtSlot(final UnsignedLong slot) {
+    return delegate.getFinalizedRootAtSlot(slot);
+  }
+
+  @Override
+  public Optional<Bytes32> getLatestFinalizedRootAtSlot(final UnsignedLong slot) {
+    return delegate.getLatestFinalizedRootAtSlot(slot);
+  }
+
+  @Override
+  public Optional<SignedBeaconBlock> getSignedBlock(final Bytes32 root) {
+    return getUnwritten(pendingUpdate -> pendingUpdate.blocks.get(root))
+        .or(() -> delegate.getSignedBlock(root));
+  }
+
+  @Override
+  public Optional<Bytes> getSerializedBlock(final Bytes32 root) {
+    return getUnwritten(pendingUpdate -> pendingUpdate.blocks.get(root))
+        .map(SimpleOffsetSerializer::serialize)
+        .or(() -> delegate.getSerializedBlock(root));
+  }
+
+  @Override
+  public List<Bytes> getSerializedFinalizedBlocks(
+      final UnsignedLong startSlot, final UnsignedLong endSlot, final UnsignedLong step) {
+    return delegate.getSerializedFinalizedBlocks(startSlot, endSlot, step);
+  }
+
+  @Override
+  public Optional<BeaconState> getState(final Bytes32 root) {
+    return getUnwritten(pendingUpdate -> pendingUpdate.blockStates.get(root))
+        .or(() -> delegate.getState(root));
+  }
+
+  @Override
+  public Optional<BeaconState> getCheckpointState(final Checkpoint checkpoint) {
+    return getUnwritten(pendingUpdate -> pendingUpdate.checkpointStates.get(checkpoint))
+        .or(() -> delegate.getCheckpointState(checkpoint));
+  }
+
+  @Override
+  public void addDepositsFromBlockEvent(final DepositsFromBlockEvent event) {
+    delegate.addDepositsFromBlockEvent(event);
+  }
+
+  @Override
+  public void addMinGenesisTimeBlock(final MinGenesisTimeBlockEvent event) {
+    delegate.addMinGenesisTimeBlock(event);
+  }
+
+  @Override
+  public Stream<DepositsFromBlockEvent> streamDepositsFromBlocks() {
+    return delegate.streamDepositsFromBlocks();
+  }
+
+  @Override
+  public Stream<DepositsFromBlockEvent> streamDepositsFromBlocks(
+      final UnsignedLong fromDepositIndex) {
+    return delegate.streamDepositsFromBlocks(fromDepositIndex);
+  }
+
+  @Override
+  public Optional<MinGenesisTimeBlockEvent> getMinGenesisTimeBlock() {
+    return delegate.getMinGenesisTimeBlock();
+  }
+
+  @Override
+  public void storeDepositTreeSnapshot(final MerkleTreeSnapshot snapshot) {
+    delegate.storeDepositTreeSnapshot(snapshot);
+  }
+
+  @Override
+  public Optional<MerkleTreeSnapshot> getDepositTreeSnapshot() {
+    return delegate.getDepositTreeSnapshot();
+  }
+
+  @Override
+  public void close() throws Exception {
+    synchronized (this) {
+      if (closed) {
+        delegate.close();
+        return;
+      }
+      closed = true;
+    }
+    executor.shutdown();
+    synchronized (writeLock) {
+      flush();
+      delegate.close();
+    }
+  }
+
+  @VisibleForTesting
+  void flush() {
+    synchronized (writeLock) {
+      final PendingUpdate update;
+      synchronized (this) {
+        if (pending.isEmpty()) {
+          return;
+        }
+        update = pending;
+        pending = new PendingUpdate();
+        writing = Optional.of(update);
+      }
+      try {
+        final StorageUpdateResult result = delegate.update(update.toStorageUpdate());
+        if (!result.isSuccessful()) {
+          throw result.getError();
+        }
+        synchronized (this) {
+          writing = Optional.empty();
+          consecutiveFlushFailures = 0;
+        }
+      } catch (final RuntimeException e) {
+        // Put the failed update back ahead of anything received since so it is retried in order
+        synchronized (this) {
+          update.addAll(pending);
+          pending = update;
+          writing = Optional.empty();
+          consecutiveFlushFailures++;
+          if (consecutiveFlushFailures == MAX_CONSECUTIVE_FLUSH_FAILURES) {
+            LOG.error(
+                "Failed to write pending updates {} times in a row. "
+                    + "Further updates will be written immediately until a write succeeds.",
+                consecutiveFlushFailures);
+          }
+        }
+        throw e;
+      }
+    }
+  }
+
+  private void flushSafely() {
+    try {
+      flush();
+    } catch (final Throwable t) {
+      LOG.error("Failed to write pending updates to the database. Will retry.", t);
+    }
+  }
+
+  private synchronized <T> Optional<T> getUnwritten(final Function<PendingUpdate, T> lookup) {
+    return Optional.ofNullable(lookup.apply(pending))
+        .or(() -> writing.map(lookup).flatMap(Optional::ofNullable));
+  }
+
+  /** The combined content of updates which have not yet been written. Later values win. */
+  private static class PendingUpdate {
+    private Optional<UnsignedLong> genesisTime = Optional.empty();
+    private Optional<Checkpoint> justifiedCheckpoint = Optional.empty();
+    private Optional<Checkpoint> bestJustifiedCheckpoint = Optional.empty();
+    private final Map<Bytes32, SignedBeaconBlock> blocks = new HashMap<>();
+    private final Map<Bytes32, BeaconState> blockStates = new HashMap<>();
+    private final Map<Checkpoint, BeaconState> checkpointStates = new HashMap<>();
+    private final ValidatorVotes votes = new ValidatorVotes();
+
+    public void add(final StorageUpdate update) {
+      genesisTime = update.getGenesisTime().or(() -> genesisTime);
+      justifiedCheckpoint = update.getJustifiedCheckpoint().or(() -> justifiedCheckpoint);
+      bestJustifiedCheckpoint =
+          update.getBestJustifiedCheckpoint().or(() -> bestJustifiedCheckpoint);
+      blocks.putAll(update.getBlocks());
+      blockStates.putAll(update.getBlockStates());
+      checkpointStates.putAll(update.getCheckpointStates());
+      votes.putAll(update.getVotes());
+    }
+
+    public void addAll(final PendingUpdate later) {
+      add(later.toStorageUpdate());
+    }
+
+    public boolean isEmpty() {
+      return genesisTime.isEmpty()
+          && justifiedCheckpoint.isEmpty()
+          && bestJustifiedCheckpoint.isEmpty()
+          && blocks.isEmpty()
+          && blockStates.isEmpty()
+          && checkpointStates.isEmpty()
+          && votes.isEmpty();
+    }
+
+    public StorageUpdate toStorageUpdate() {
+      return new StorageUpdate(
+          genesisTime,
+          justifiedCheckpoint,
+          Optional.empty(),
+          bestJustifiedCheckpoint,
+          blocks,
+          blockStates,
+          checkpointStates,
+          votes);
+    }
+  }
+}
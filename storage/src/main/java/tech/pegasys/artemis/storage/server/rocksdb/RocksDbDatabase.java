@@ -13,24 +13,36 @@
 
 package tech.pegasys.artemis.storage.server.rocksdb;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.primitives.UnsignedLong.ZERO;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
 
 import com.google.common.collect.Streams;
 import com.google.common.primitives.UnsignedLong;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
-import tech.pegasys.artemis.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.artemis.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.datastructures.state.Validator;
+import tech.pegasys.artemis.datastructures.state.ValidatorPubKeyIndex;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
+import tech.pegasys.artemis.ssz.SSZTypes.SSZList;
 import tech.pegasys.artemis.storage.Store;
 import tech.pegasys.artemis.storage.events.StorageUpdate;
 import tech.pegasys.artemis.storage.events.StorageUpdateResult;
@@ -42,24 +54,56 @@ import tech.pegasys.artemis.storage.server.rocksdb.dataaccess.RocksDbDao;
 import tech.pegasys.artemis.storage.server.rocksdb.dataaccess.RocksDbDao.Updater;
 import tech.pegasys.artemis.storage.server.rocksdb.dataaccess.V3RocksDbDao;
 import tech.pegasys.artemis.storage.server.rocksdb.schema.V3Schema;
+import tech.pegasys.artemis.storage.server.rocksdb.state.StateDiff;
+import tech.pegasys.artemis.util.config.ArtemisConfiguration;
 import tech.pegasys.artemis.util.config.StateStorageMode;
 
 public class RocksDbDatabase implements Database {
 
   private static final Logger LOG = LogManager.getLogger();
+  private static final UnsignedLong DEFAULT_ARCHIVE_SNAPSHOT_FREQUENCY =
+      UnsignedLong.valueOf(ArtemisConfiguration.DEFAULT_DATA_ARCHIVE_SNAPSHOT_FREQUENCY);
+
   private final StateStorageMode stateStorageMode;
+  // The number of epochs between full state snapshots in archive mode
+  private final UnsignedLong archiveSnapshotFrequency;
+
+  // The maximum number of hot states to keep in memory
+  private final int hotStateCacheSize;
 
   private final RocksDbDao dao;
 
   public static Database createV3(
       final RocksDbConfiguration configuration, final StateStorageMode stateStorageMode) {
+    return createV3(
+        configuration,
+        stateStorageMode,
+        DEFAULT_ARCHIVE_SNAPSHOT_FREQUENCY,
+        ArtemisConfiguration.DEFAULT_DATA_HOT_STATE_CACHE_SIZE);
+  }
+
+  public static Database createV3(
+      final RocksDbConfiguration configuration,
+      final StateStorageMode stateStorageMode,
+      final UnsignedLong archiveSnapshotFrequency,
+      final int hotStateCacheSize) {
+    checkArgument(hotStateCacheSize > 0, "Hot state cache size must be positive");
     final RocksDbInstance db = RocksDbInstanceFactory.create(configuration, V3Schema.class);
-    final RocksDbDao dao = new V3RocksDbDao(db);
-    return new RocksDbDatabase(dao, stateStorageMode);
+    final RocksDbDao dao = new V3RocksDbDao(db, hotStateCacheSize);
+    return new RocksDbDatabase(dao, stateStorageMode, archiveSnapshotFrequency, hotStateCacheSize);
   }
 
-  private RocksDbDatabase(final RocksDbDao dao, final StateStorageMode stateStorageMode) {
+  private RocksDbDatabase(
+      final RocksDbDao dao,
+      final StateStorageMode stateStorageMode,
+      final UnsignedLong archiveSnapshotFrequency,
+      final int hotStateCacheSize) {
+    checkArgument(
+        archiveSnapshotFrequency.compareTo(ZERO) > 0,
+        "Archive snapshot frequency must be positive");
     this.stateStorageMode = stateStorageMode;
+    this.archiveSnapshotFrequency = archiveSnapshotFrequency;
+    this.hotStateCacheSize = hotStateCacheSize;
     this.dao = dao;
   }
 
@@ -76,6 +120,7 @@ public class RocksDbDatabase implements Database {
           store.getBlockState(store.getFinalizedCheckpoint().getRoot());
       updater.addCheckpointState(store.getFinalizedCheckpoint(), genesisState);
       updater.setLatestFinalizedState(genesisState);
+      addValidatorPubKeys(updater, genesisState);
 
       for (Bytes32 root : store.getBlockRoots()) {
         // Since we're storing genesis, we should only have 1 root here corresponding to genesis
@@ -89,7 +134,7 @@ public class RocksDbDatabase implements Database {
         updater.addHotState(root, state);
         // Save to cold storage
         updater.addFinalizedBlock(block);
-        putFinalizedState(updater, root, state);
+        putFinalizedState(updater, root, state, Optional.empty());
       }
 
       updater.commit();
@@ -118,8 +163,16 @@ public class RocksDbDatabase implements Database {
 
     final Map<Bytes32, SignedBeaconBlock> hotBlocksByRoot = dao.getHotBlocks();
     final Map<Bytes32, BeaconState> hotStatesByRoot = dao.getHotStates();
+    // The store regenerates other states from the checkpoint states so make sure they're loaded
+    Stream.of(justifiedCheckpoint, finalizedCheckpoint, bestJustifiedCheckpoint)
+        .map(Checkpoint::getRoot)
+        .filter(root -> !hotStatesByRoot.containsKey(root))
+        .forEach(
+            root -> dao.getHotState(root).ifPresent(state -> hotStatesByRoot.put(root, state)));
     final Map<Checkpoint, BeaconState> checkpointStates = dao.getCheckpointStates();
-    final Map<UnsignedLong, VoteTracker> votes = dao.getVotes();
+    final ValidatorVotes votes = dao.getVotes();
+    final ValidatorPubKeyIndex validatorPubKeyIndex =
+        new ValidatorPubKeyIndex(dao.getValidatorPubKeys());
 
     return Optional.of(
         new Store(
@@ -131,7 +184,10 @@ public class RocksDbDatabase implements Database {
             hotBlocksByRoot,
             hotStatesByRoot,
             checkpointStates,
-            votes));
+            votes,
+            validatorPubKeyIndex,
+            hotStateCacheSize,
+            dao::getHotState));
   }
 
   @Override
@@ -149,11 +205,85 @@ public class RocksDbDatabase implements Database {
     return dao.getHotBlock(root).or(() -> dao.getFinalizedBlock(root));
   }
 
+  @Override
+  public Optional<Bytes> getSerializedBlock(final Bytes32 root) {
+    return dao.getSerializedFinalizedBlock(root)
+        .or(() -> dao.getHotBlock(root).map(SimpleOffsetSerializer::serialize));
+  }
+
+  @Override
+  public List<Bytes> getSerializedFinalizedBlocks(
+      final UnsignedLong startSlot, final UnsignedLong endSlot, final UnsignedLong step) {
+    try (final Stream<ColumnEntry<UnsignedLong, Bytes32>> finalizedRoots =
+        dao.streamFinalizedRoots(startSlot, endSlot)) {
+      return finalizedRoots
+          .filter(entry -> entry.getKey().minus(startSlot).mod(step).equals(ZERO))
+          .flatMap(entry -> dao.getSerializedFinalizedBlock(entry.getValue()).stream())
+          .collect(Collectors.toList());
+    }
+  }
+
   @Override
   public Optional<BeaconState> getState(final Bytes32 root) {
     return dao.getHotState(root).or(() -> dao.getFinalizedState(root));
   }
 
+  @Override
+  public Optional<BeaconState> getCheckpointState(final Checkpoint checkpoint) {
+    return dao.getCheckpointState(checkpoint);
+  }
+
+  @Override
+  public synchronized void addDepositsFromBlockEvent(final DepositsFromBlockEvent event) {
+    final Optional<UnsignedLong> lastBlockNumber = dao.getLastDepositsFromBlockNumber();
+    if (lastBlockNumber.isPresent()
+        && lastBlockNumber.get().compareTo(event.getBlockNumber()) >= 0) {
+      LOG.trace("Ignoring already stored deposits from block {}", event.getBlockNumber());
+      return;
+    }
+    try (final Updater updater = dao.updater()) {
+      updater.addDepositsFromBlockEvent(event);
+      updater.commit();
+    }
+  }
+
+  @Override
+  public void addMinGenesisTimeBlock(final MinGenesisTimeBlockEvent event) {
+    try (final Updater updater = dao.updater()) {
+      updater.setMinGenesisBlock(event);
+      updater.commit();
+    }
+  }
+
+  @Override
+  public Stream<DepositsFromBlockEvent> streamDepositsFromBlocks() {
+    return dao.streamDepositsFromBlocks();
+  }
+
+  @Override
+  public Stream<DepositsFromBlockEvent> streamDepositsFromBlocks(
+      final UnsignedLong fromDepositIndex) {
+    return dao.streamDepositsFromBlocks(fromDepositIndex);
+  }
+
+  @Override
+  public Optional<MinGenesisTimeBlockEvent> getMinGenesisTimeBlock() {
+    return dao.getMinGenesisBlock();
+  }
+
+  @Override
+  public void storeDepositTreeSnapshot(final MerkleTreeSnapshot snapshot) {
+    try (final Updater updater = dao.updater()) {
+      updater.setDepositTreeSnapshot(snapshot);
+      updater.commit();
+    }
+  }
+
+  @Override
+  public Optional<MerkleTreeSnapshot> getDepositTreeSnapshot() {
+    return dao.getDepositTreeSnapshot();
+  }
+
   @Override
   public void close() throws Exception {
     dao.close();
@@ -197,10 +327,19 @@ public class RocksDbDatabase implements Database {
   }
 
   private void putFinalizedState(
-      Updater updater, final Bytes32 blockRoot, final BeaconState state) {
+      final Updater updater,
+      final Bytes32 blockRoot,
+      final BeaconState state,
+      final Optional<FinalizedStateBase> base) {
     switch (stateStorageMode) {
       case ARCHIVE:
-        updater.addFinalizedState(blockRoot, state);
+        if (base.isPresent() && !isSnapshotRequired(base.get().getState(), state)) {
+          final FinalizedStateBase diffBase = base.get();
+          updater.addFinalizedStateDiff(
+              blockRoot, StateDiff.create(diffBase.getBlockRoot(), diffBase.getState(), state));
+        } else {
+          updater.addFinalizedState(blockRoot, state);
+        }
         break;
       case PRUNE:
         // Don't persist finalized state
@@ -210,6 +349,19 @@ public class RocksDbDatabase implements Database {
     }
   }
 
+  /**
+   * A full snapshot is stored for the first finalized state in each period of {@link
+   * #archiveSnapshotFrequency} epochs. This bounds the number of diffs which must be applied to
+   * load any historic state.
+   */
+  private boolean isSnapshotRequired(final BeaconState baseState, final BeaconState state) {
+    final UnsignedLong basePeriod =
+        compute_epoch_at_slot(baseState.getSlot()).dividedBy(archiveSnapshotFrequency);
+    final UnsignedLong period =
+        compute_epoch_at_slot(state.getSlot()).dividedBy(archiveSnapshotFrequency);
+    return !basePeriod.equals(period);
+  }
+
   private Set<Checkpoint> pruneCheckpointStates(
       final Updater updater, final StorageUpdate update, final Checkpoint newFinalizedCheckpoint) {
     final Set<Checkpoint> prunedCheckpoints = new HashSet<>();
@@ -260,9 +412,15 @@ public class RocksDbDatabase implements Database {
       updater.addFinalizedBlock(newlyFinalizedBlock.get());
       final Optional<BeaconState> finalizedState = getHotState(update, newlyFinalizedBlockRoot);
       if (finalizedState.isPresent()) {
-        putFinalizedState(updater, newlyFinalizedBlockRoot, finalizedState.get());
+        final Bytes32 parentRoot = newlyFinalizedBlock.get().getParent_root();
+        putFinalizedState(
+            updater,
+            newlyFinalizedBlockRoot,
+            finalizedState.get(),
+            getFinalizedStateBase(update, parentRoot, highestFinalizedSlot));
         if (isLatestFinalizedBlock) {
           updater.setLatestFinalizedState(finalizedState.get());
+          addValidatorPubKeys(updater, finalizedState.get());
           isLatestFinalizedBlock = false;
         }
       } else {
@@ -285,6 +443,39 @@ public class RocksDbDatabase implements Database {
     }
   }
 
+  /**
+   * Indexes the public keys of validators added by a finalized state. Validator indices never
+   * change, so only validators beyond those already indexed need to be written.
+   */
+  private void addValidatorPubKeys(final Updater updater, final BeaconState finalizedState) {
+    final SSZList<Validator> validators = finalizedState.getValidators();
+    for (int i = dao.getValidatorPubKeyCount(); i < validators.size(); i++) {
+      updater.addValidatorPubKey(
+          UnsignedLong.valueOf(i), ValidatorPubKeyIndex.getPubKeyBytes(validators.get(i)));
+    }
+  }
+
+  /**
+   * Finds the state a newly finalized state can be stored as a diff against. The parent state must
+   * either be recorded as part of this update or already be stored as a finalized state.
+   */
+  private Optional<FinalizedStateBase> getFinalizedStateBase(
+      final StorageUpdate update,
+      final Bytes32 parentRoot,
+      final UnsignedLong highestFinalizedSlot) {
+    if (stateStorageMode != StateStorageMode.ARCHIVE) {
+      return Optional.empty();
+    }
+    final boolean isRecordedInUpdate =
+        getHotBlock(update, parentRoot)
+            .map(parent -> parent.getSlot().compareTo(highestFinalizedSlot) > 0)
+            .orElse(false);
+    if (!isRecordedInUpdate && !dao.containsFinalizedState(parentRoot)) {
+      return Optional.empty();
+    }
+    return getHotState(update, parentRoot).map(state -> new FinalizedStateBase(parentRoot, state));
+  }
+
   private Optional<SignedBeaconBlock> getHotBlock(final StorageUpdate update, final Bytes32 root) {
     return Optional.ofNullable(update.getBlocks().get(root)).or(() -> dao.getHotBlock(root));
   }
@@ -292,4 +483,22 @@ public class RocksDbDatabase implements Database {
   private Optional<BeaconState> getHotState(final StorageUpdate update, final Bytes32 root) {
     return Optional.ofNullable(update.getBlockStates().get(root)).or(() -> dao.getHotState(root));
   }
+
+  private static class FinalizedStateBase {
+    private final Bytes32 blockRoot;
+    private final BeaconState state;
+
+    private FinalizedStateBase(final Bytes32 blockRoot, final BeaconState state) {
+      this.blockRoot = blockRoot;
+      this.state = state;
+    }
+
+    public Bytes32 getBlockRoot() {
+      return blockRoot;
+    }
+
+    public BeaconState getState() {
+      return state;
+    }
+  }
 }
@@ -22,8 +22,10 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.rocksdb.AbstractRocksIterator;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.TransactionDB;
@@ -79,6 +81,37 @@ public class RocksDbInstance implements AutoCloseable {
     }
   }
 
+  /**
+   * Returns the value stored for the given key without deserializing it.
+   *
+   * @param column The column we want to query
+   * @param key The requested key
+   * @param <K> The key type of the column
+   * @param <V> The value type of the column
+   * @return The serialized value stored for {@code key}
+   */
+  public <K, V> Optional<Bytes> getRaw(RocksDbColumn<K, V> column, K key) {
+    assertOpen();
+    final ColumnFamilyHandle handle = columnHandles.get(column);
+    final byte[] keyBytes = column.getKeySerializer().serialize(key);
+    try {
+      return Optional.ofNullable(db.get(handle, keyBytes)).map(Bytes::wrap);
+    } catch (RocksDBException e) {
+      throw new DatabaseStorageException("Failed to get value", e);
+    }
+  }
+
+  public <K, V> boolean containsKey(RocksDbColumn<K, V> column, K key) {
+    assertOpen();
+    final ColumnFamilyHandle handle = columnHandles.get(column);
+    final byte[] keyBytes = column.getKeySerializer().serialize(key);
+    try {
+      return db.get(handle, keyBytes) != null;
+    } catch (RocksDBException e) {
+      throw new DatabaseStorageException("Failed to get value", e);
+    }
+  }
+
   public <K, V> Map<K, V> getAll(RocksDbColumn<K, V> column) {
     assertOpen();
     return stream(column).collect(Collectors.toMap(ColumnEntry::getKey, ColumnEntry::getValue));
@@ -123,6 +156,25 @@ public class RocksDbInstance implements AutoCloseable {
     return stream(column, RocksIterator::seekToFirst);
   }
 
+  /**
+   * Streams the entries with keys from {@code from} to {@code to} inclusive, in key order. The
+   * returned stream must be closed.
+   *
+   * @param column The column we want to query
+   * @param from The first key to include
+   * @param to The last key to include
+   * @param <K> The key type of the column
+   * @param <V> The value type of the column
+   * @return A stream of the entries in the requested range
+   */
+  public <K extends Comparable<K>, V> Stream<ColumnEntry<K, V>> stream(
+      RocksDbColumn<K, V> column, final K from, final K to) {
+    assertOpen();
+    final byte[] fromBytes = column.getKeySerializer().serialize(from);
+    return stream(column, it -> it.seek(fromBytes))
+        .takeWhile(entry -> entry.getKey().compareTo(to) <= 0);
+  }
+
   public Transaction startTransaction() {
     assertOpen();
     return new Transaction(db, defaultHandle, columnHandles);
@@ -156,6 +208,7 @@ public class RocksDbInstance implements AutoCloseable {
     private final ImmutableMap<RocksDbColumn<?, ?>, ColumnFamilyHandle> columnHandles;
     private final org.rocksdb.Transaction rocksDbTx;
     private final WriteOptions writeOptions;
+    private final ReadOptions readOptions;
 
     private final AtomicBoolean closed = new AtomicBoolean(false);
 
@@ -166,9 +219,43 @@ public class RocksDbInstance implements AutoCloseable {
       this.defaultHandle = defaultHandle;
       this.columnHandles = columnHandles;
       this.writeOptions = new WriteOptions();
+      this.readOptions = new ReadOptions();
       this.rocksDbTx = db.beginTransaction(writeOptions);
     }
 
+    public <T> Optional<T> getForUpdate(RocksDbVariable<T> variable) {
+      assertOpen();
+      final byte[] keyBytes = variable.getId().toArrayUnsafe();
+      try {
+        final byte[] data = rocksDbTx.getForUpdate(readOptions, defaultHandle, keyBytes, true);
+        return Optional.ofNullable(data).map(variable.getSerializer()::deserialize);
+      } catch (RocksDBException e) {
+        throw new DatabaseStorageException("Failed to get value", e);
+      }
+    }
+
+    /**
+     * Reads a value, including any changes made earlier in this transaction, and locks the key
+     * until the transaction completes so the value can be safely modified.
+     *
+     * @param column The column we want to query
+     * @param key The requested key
+     * @param <K> The key type of the column
+     * @param <V> The value type of the column
+     * @return The current value for {@code key}
+     */
+    public <K, V> Optional<V> getForUpdate(RocksDbColumn<K, V> column, K key) {
+      assertOpen();
+      final ColumnFamilyHandle handle = columnHandles.get(column);
+      final byte[] keyBytes = column.getKeySerializer().serialize(key);
+      try {
+        return Optional.ofNullable(rocksDbTx.getForUpdate(readOptions, handle, keyBytes, true))
+            .map(data -> column.getValueSerializer().deserialize(data));
+      } catch (RocksDBException e) {
+        throw new DatabaseStorageException("Failed to get value", e);
+      }
+    }
+
     public <T> void put(RocksDbVariable<T> variable, T value) {
       assertOpen();
       final byte[] serialized = variable.getSerializer().serialize(value);
@@ -205,6 +292,15 @@ public class RocksDbInstance implements AutoCloseable {
       }
     }
 
+    public <T> void delete(RocksDbVariable<T> variable) {
+      assertOpen();
+      try {
+        rocksDbTx.delete(defaultHandle, variable.getId().toArrayUnsafe());
+      } catch (RocksDBException e) {
+        throw new DatabaseStorageException("Failed to delete variable", e);
+      }
+    }
+
     public <K, V> void delete(RocksDbColumn<K, V> column, K key) {
       assertOpen();
       final ColumnFamilyHandle handle = columnHandles.get(column);
@@ -246,6 +342,7 @@ public class RocksDbInstance implements AutoCloseable {
     public void close() {
       if (closed.compareAndSet(false, true)) {
         writeOptions.close();
+        readOptions.close();
         rocksDbTx.close();
       }
     }
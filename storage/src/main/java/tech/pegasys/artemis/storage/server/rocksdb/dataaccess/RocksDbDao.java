@@ -14,16 +14,23 @@
 package tech.pegasys.artemis.storage.server.rocksdb.dataaccess;
 
 import com.google.common.primitives.UnsignedLong;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
-import tech.pegasys.artemis.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.artemis.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.artemis.storage.server.rocksdb.core.ColumnEntry;
+import tech.pegasys.artemis.storage.server.rocksdb.state.StateDiff;
 
 /**
  * A RocksDB "data access object" interface to abstract interactions with underlying database.
@@ -50,19 +57,95 @@ public interface RocksDbDao extends AutoCloseable {
 
   Optional<SignedBeaconBlock> getFinalizedBlock(final Bytes32 root);
 
+  /**
+   * Returns a finalized block exactly as it is stored, SSZ serialized, without deserializing it.
+   *
+   * @param root The block root
+   * @return The serialized block or empty if there is no finalized block with this root
+   */
+  Optional<Bytes> getSerializedFinalizedBlock(final Bytes32 root);
+
+  /**
+   * Streams the roots of the finalized blocks with slots from {@code startSlot} to {@code
+   * endSlot} inclusive, in slot order. The returned stream must be closed.
+   *
+   * @param startSlot The first slot to include
+   * @param endSlot The last slot to include
+   * @return A stream of finalized block roots keyed by slot
+   */
+  Stream<ColumnEntry<UnsignedLong, Bytes32>> streamFinalizedRoots(
+      final UnsignedLong startSlot, final UnsignedLong endSlot);
+
+  /**
+   * Returns the state for a non-finalized block, loading it from disk if it is not cached in
+   * memory.
+   *
+   * @param root The block root
+   * @return The state for the block or empty if there is no stored state for the block
+   */
   Optional<BeaconState> getHotState(final Bytes32 root);
 
   Optional<BeaconState> getFinalizedState(final Bytes32 root);
 
+  Optional<BeaconState> getCheckpointState(final Checkpoint checkpoint);
+
+  /**
+   * Checks whether a finalized state, either as a full snapshot or as a diff, is stored for the
+   * given block root without loading it.
+   *
+   * @param root The block root
+   * @return True if the finalized state can be loaded via {@link #getFinalizedState(Bytes32)}
+   */
+  boolean containsFinalizedState(final Bytes32 root);
+
   Map<Bytes32, SignedBeaconBlock> getHotBlocks();
 
+  /**
+   * Returns the non-finalized states currently cached in memory. States which have been evicted
+   * from the cache can still be loaded individually via {@link #getHotState(Bytes32)}.
+   *
+   * @return The cached hot states keyed by block root
+   */
   Map<Bytes32, BeaconState> getHotStates();
 
   Map<Checkpoint, BeaconState> getCheckpointStates();
 
   Stream<ColumnEntry<Checkpoint, BeaconState>> streamCheckpointStates();
 
-  Map<UnsignedLong, VoteTracker> getVotes();
+  ValidatorVotes getVotes();
+
+  /**
+   * Returns the public keys of all indexed validators, ordered by validator index.
+   *
+   * @return The compressed public keys of validators 0 until the returned list's size
+   */
+  List<Bytes48> getValidatorPubKeys();
+
+  /** @return The number of validators whose public keys have been indexed */
+  int getValidatorPubKeyCount();
+
+  /**
+   * Streams the stored eth1 deposit events in block number order. The returned stream must be
+   * closed.
+   *
+   * @return A stream of deposit events keyed by eth1 block number
+   */
+  Stream<DepositsFromBlockEvent> streamDepositsFromBlocks();
+
+  /**
+   * Streams the stored eth1 deposit events in block number order, starting from the event which
+   * includes the given deposit index. The returned stream must be closed.
+   *
+   * @param fromDepositIndex The index of the first deposit required
+   * @return A stream of deposit events keyed by eth1 block number
+   */
+  Stream<DepositsFromBlockEvent> streamDepositsFromBlocks(final UnsignedLong fromDepositIndex);
+
+  Optional<UnsignedLong> getLastDepositsFromBlockNumber();
+
+  Optional<MinGenesisTimeBlockEvent> getMinGenesisBlock();
+
+  Optional<MerkleTreeSnapshot> getDepositTreeSnapshot();
 
   Updater updater();
 
@@ -90,7 +173,17 @@ public interface RocksDbDao extends AutoCloseable {
 
     void addFinalizedState(final Bytes32 blockRoot, final BeaconState state);
 
-    void addVotes(final Map<UnsignedLong, VoteTracker> states);
+    void addFinalizedStateDiff(final Bytes32 blockRoot, final StateDiff stateDiff);
+
+    void addVotes(final ValidatorVotes votes);
+
+    void addValidatorPubKey(final UnsignedLong validatorIndex, final Bytes48 pubKey);
+
+    void addDepositsFromBlockEvent(final DepositsFromBlockEvent event);
+
+    void setMinGenesisBlock(final MinGenesisTimeBlockEvent event);
+
+    void setDepositTreeSnapshot(final MerkleTreeSnapshot snapshot);
 
     void addHotBlocks(final Map<Bytes32, SignedBeaconBlock> blocks);
 
@@ -13,6 +13,7 @@
 
 package tech.pegasys.artemis.storage.server.rocksdb.dataaccess;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.primitives.UnsignedLong;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -32,31 +33,58 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
 import tech.pegasys.artemis.core.StateTransition;
 import tech.pegasys.artemis.core.StateTransitionException;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.artemis.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.artemis.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode;
 import tech.pegasys.artemis.storage.server.DatabaseStorageException;
 import tech.pegasys.artemis.storage.server.rocksdb.core.ColumnEntry;
 import tech.pegasys.artemis.storage.server.rocksdb.core.RocksDbInstance;
 import tech.pegasys.artemis.storage.server.rocksdb.core.RocksDbInstance.Transaction;
 import tech.pegasys.artemis.storage.server.rocksdb.schema.V3Schema;
+import tech.pegasys.artemis.storage.server.rocksdb.state.StateDiff;
+import tech.pegasys.artemis.storage.server.rocksdb.state.TreeNodeStore;
+import tech.pegasys.artemis.util.collections.ConcurrentLimitedMap;
+import tech.pegasys.artemis.util.collections.LimitStrategy;
 
 public class V3RocksDbDao implements RocksDbDao {
   private static final Logger LOG = LogManager.getLogger();
+  // Number of validators whose votes are stored together in a single vote chunk
+  static final int VOTE_CHUNK_SIZE = 1024;
 
   // Persistent data
   private final RocksDbInstance db;
+  private final TreeNodeStore treeNodeStore;
+  private final StateTransition stateTransition;
   // In-memory data
   private final NavigableMap<UnsignedLong, Set<Bytes32>> hotRootsBySlotCache =
       new ConcurrentSkipListMap<>();
-  private final Map<Bytes32, BeaconState> hotStates = new ConcurrentHashMap<>();
+  private final Map<Bytes32, BeaconState> hotStates;
 
-  public V3RocksDbDao(final RocksDbInstance db) {
+  public V3RocksDbDao(final RocksDbInstance db, final int hotStateCacheSize) {
+    this(db, hotStateCacheSize, new StateTransition());
+  }
+
+  @VisibleForTesting
+  public V3RocksDbDao(
+      final RocksDbInstance db,
+      final int hotStateCacheSize,
+      final StateTransition stateTransition) {
     this.db = db;
+    this.stateTransition = stateTransition;
+    this.hotStates =
+        ConcurrentLimitedMap.create(hotStateCacheSize, LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
+    this.treeNodeStore = new TreeNodeStore(db, V3Schema.STATE_TREE_NODES_BY_ROOT);
     initialize();
   }
 
@@ -105,14 +133,84 @@ public class V3RocksDbDao implements RocksDbDao {
     return db.get(V3Schema.FINALIZED_BLOCKS_BY_ROOT, root);
   }
 
+  @Override
+  public Optional<Bytes> getSerializedFinalizedBlock(final Bytes32 root) {
+    return db.getRaw(V3Schema.FINALIZED_BLOCKS_BY_ROOT, root);
+  }
+
+  @Override
+  public Stream<ColumnEntry<UnsignedLong, Bytes32>> streamFinalizedRoots(
+      final UnsignedLong startSlot, final UnsignedLong endSlot) {
+    return db.stream(V3Schema.FINALIZED_ROOTS_BY_SLOT, startSlot, endSlot);
+  }
+
   @Override
   public Optional<BeaconState> getHotState(final Bytes32 root) {
-    return Optional.ofNullable(hotStates.get(root));
+    final BeaconState cachedState = hotStates.get(root);
+    if (cachedState != null) {
+      return Optional.of(cachedState);
+    }
+    // States evicted from the cache are reloaded from the tree node store
+    final Optional<BeaconState> state =
+        db.get(V3Schema.HOT_STATE_ROOTS_BY_BLOCK_ROOT, root).flatMap(this::loadState);
+    state.ifPresent(loadedState -> hotStates.put(root, loadedState));
+    return state;
   }
 
   @Override
   public Optional<BeaconState> getFinalizedState(final Bytes32 root) {
-    return db.get(V3Schema.FINALIZED_STATES_BY_ROOT, root);
+    final Optional<BeaconState> snapshot = getFinalizedSnapshot(root);
+    if (snapshot.isPresent()) {
+      return snapshot;
+    }
+
+    // Walk back through the diffs until we find a full snapshot to apply them to
+    final Deque<StateDiff> diffs = new ArrayDeque<>();
+    Optional<StateDiff> diff = db.get(V3Schema.FINALIZED_STATE_DIFFS_BY_ROOT, root);
+    while (diff.isPresent()) {
+      diffs.push(diff.get());
+      final Bytes32 baseRoot = diff.get().getBaseBlockRoot();
+      final Optional<BeaconState> baseState = getFinalizedSnapshot(baseRoot);
+      if (baseState.isPresent()) {
+        BeaconState state = baseState.get();
+        while (!diffs.isEmpty()) {
+          state = diffs.pop().apply(state);
+        }
+        return Optional.of(state);
+      }
+      diff = db.get(V3Schema.FINALIZED_STATE_DIFFS_BY_ROOT, baseRoot);
+    }
+
+    if (!diffs.isEmpty()) {
+      throw new DatabaseStorageException(
+          "Unable to reconstruct finalized state for block "
+              + root
+              + ". Missing base state for block "
+              + diffs.peek().getBaseBlockRoot());
+    }
+    return Optional.empty();
+  }
+
+  private Optional<BeaconState> getFinalizedSnapshot(final Bytes32 root) {
+    final Optional<Bytes32> stateRoot = db.get(V3Schema.FINALIZED_STATE_ROOTS_BY_BLOCK_ROOT, root);
+    if (stateRoot.isEmpty()) {
+      // Fall back to full states written by earlier versions
+      return db.get(V3Schema.FINALIZED_STATES_BY_ROOT, root);
+    }
+    // Finalized states are never released so can be loaded lazily
+    return Optional.of(
+        treeNodeStore
+            .loadLazily(stateRoot.get())
+            .map(this::createState)
+            .orElseThrow(
+                () -> new DatabaseStorageException("Missing finalized state " + stateRoot.get())));
+  }
+
+  @Override
+  public boolean containsFinalizedState(final Bytes32 root) {
+    return db.containsKey(V3Schema.FINALIZED_STATE_ROOTS_BY_BLOCK_ROOT, root)
+        || db.containsKey(V3Schema.FINALIZED_STATES_BY_ROOT, root)
+        || db.containsKey(V3Schema.FINALIZED_STATE_DIFFS_BY_ROOT, root);
   }
 
   @Override
@@ -122,7 +220,14 @@ public class V3RocksDbDao implements RocksDbDao {
 
   @Override
   public Map<Bytes32, BeaconState> getHotStates() {
-    return new HashMap<>(hotStates);
+    synchronized (hotStates) {
+      return new HashMap<>(hotStates);
+    }
+  }
+
+  @Override
+  public Optional<BeaconState> getCheckpointState(final Checkpoint checkpoint) {
+    return db.get(V3Schema.CHECKPOINT_STATES, checkpoint);
   }
 
   @Override
@@ -136,12 +241,118 @@ public class V3RocksDbDao implements RocksDbDao {
   }
 
   @Override
-  public Map<UnsignedLong, VoteTracker> getVotes() {
-    return db.getAll(V3Schema.VOTES);
+  public ValidatorVotes getVotes() {
+    // Votes written by earlier versions are stored individually and are superseded by any chunks
+    final ValidatorVotes votes = new ValidatorVotes();
+    try (final Stream<ColumnEntry<UnsignedLong, VoteTracker>> legacyVotes =
+        db.stream(V3Schema.VOTES)) {
+      legacyVotes.forEach(
+          entry -> votes.put(Math.toIntExact(entry.getKey().longValue()), entry.getValue()));
+    }
+    try (final Stream<ColumnEntry<UnsignedLong, ValidatorVotes>> chunks =
+        db.stream(V3Schema.VOTE_CHUNKS)) {
+      chunks.forEach(entry -> votes.putAll(entry.getValue()));
+    }
+    return votes;
+  }
+
+  @Override
+  public List<Bytes48> getValidatorPubKeys() {
+    try (final Stream<ColumnEntry<UnsignedLong, Bytes48>> stream =
+        db.stream(V3Schema.VALIDATOR_PUBKEYS_BY_INDEX)) {
+      return stream.map(ColumnEntry::getValue).collect(Collectors.toList());
+    }
+  }
+
+  @Override
+  public int getValidatorPubKeyCount() {
+    return db.getLastEntry(V3Schema.VALIDATOR_PUBKEYS_BY_INDEX)
+        .map(entry -> Math.toIntExact(entry.getKey().longValue()) + 1)
+        .orElse(0);
+  }
+
+  @Override
+  public Stream<DepositsFromBlockEvent> streamDepositsFromBlocks() {
+    return db.stream(V3Schema.DEPOSITS_FROM_BLOCK_EVENTS).map(ColumnEntry::getValue);
+  }
+
+  @Override
+  public Stream<DepositsFromBlockEvent> streamDepositsFromBlocks(
+      final UnsignedLong fromDepositIndex) {
+    final UnsignedLong fromBlockNumber =
+        findDepositsFromBlockNumber(fromDepositIndex).orElse(UnsignedLong.ZERO);
+    return db.stream(V3Schema.DEPOSITS_FROM_BLOCK_EVENTS, fromBlockNumber, UnsignedLong.MAX_VALUE)
+        .map(ColumnEntry::getValue);
+  }
+
+  /**
+   * Deposit indices increase with block number, so binary search the block numbers for the last
+   * event whose first deposit is at or before the given index.
+   */
+  private Optional<UnsignedLong> findDepositsFromBlockNumber(final UnsignedLong depositIndex) {
+    final Optional<UnsignedLong> lastBlockNumber = getLastDepositsFromBlockNumber();
+    if (lastBlockNumber.isEmpty()) {
+      return Optional.empty();
+    }
+    Optional<UnsignedLong> result = Optional.empty();
+    UnsignedLong low = UnsignedLong.ZERO;
+    UnsignedLong high = lastBlockNumber.get();
+    while (low.compareTo(high) <= 0) {
+      final UnsignedLong mid = low.plus(high.minus(low).dividedBy(UnsignedLong.valueOf(2)));
+      final Optional<ColumnEntry<UnsignedLong, DepositsFromBlockEvent>> entry =
+          db.getFloorEntry(V3Schema.DEPOSITS_FROM_BLOCK_EVENTS, mid);
+      if (entry.isPresent() && getFirstDepositIndex(entry.get()).compareTo(depositIndex) <= 0) {
+        result = Optional.of(entry.get().getKey());
+        low = mid.plus(UnsignedLong.ONE);
+      } else if (mid.equals(UnsignedLong.ZERO)) {
+        break;
+      } else {
+        high = mid.minus(UnsignedLong.ONE);
+      }
+    }
+    return result;
+  }
+
+  private UnsignedLong getFirstDepositIndex(
+      final ColumnEntry<UnsignedLong, DepositsFromBlockEvent> entry) {
+    return entry.getValue().getDeposits().get(0).getMerkle_tree_index();
+  }
+
+  @Override
+  public Optional<UnsignedLong> getLastDepositsFromBlockNumber() {
+    return db.getLastEntry(V3Schema.DEPOSITS_FROM_BLOCK_EVENTS).map(ColumnEntry::getKey);
+  }
+
+  @Override
+  public Optional<MinGenesisTimeBlockEvent> getMinGenesisBlock() {
+    return db.get(V3Schema.MIN_GENESIS_BLOCK);
+  }
+
+  @Override
+  public Optional<MerkleTreeSnapshot> getDepositTreeSnapshot() {
+    return db.get(V3Schema.DEPOSIT_TREE_SNAPSHOT);
   }
 
   private Optional<BeaconState> getLatestFinalizedState() {
-    return db.get(V3Schema.LATEST_FINALIZED_STATE);
+    final Optional<Bytes32> stateRoot = db.get(V3Schema.LATEST_FINALIZED_STATE_ROOT);
+    if (stateRoot.isEmpty()) {
+      // Fall back to the full state written by earlier versions
+      return db.get(V3Schema.LATEST_FINALIZED_STATE);
+    }
+    return Optional.of(
+        loadState(stateRoot.get())
+            .orElseThrow(
+                () ->
+                    new DatabaseStorageException(
+                        "Missing latest finalized state " + stateRoot.get())));
+  }
+
+  private Optional<BeaconState> loadState(final Bytes32 stateRoot) {
+    return treeNodeStore.load(stateRoot).map(this::createState);
+  }
+
+  private BeaconState createState(final TreeNode node) {
+    return BeaconState.getSSZType().createFromBackingNode(node);
   }
 
   public Optional<Bytes32> getLatestFinalizedRoot() {
@@ -150,7 +361,7 @@ public class V3RocksDbDao implements RocksDbDao {
 
   @Override
   public Updater updater() {
-    return new V3Updater(db, hotRootsBySlotCache, hotStates);
+    return new V3Updater(db, treeNodeStore, hotRootsBySlotCache, hotStates);
   }
 
   @Override
@@ -172,59 +383,111 @@ public class V3RocksDbDao implements RocksDbDao {
       throw new DatabaseStorageException("Missing latest finalized block information");
     }
 
-    LOG.info("Initializing hot states from hot blocks");
+    hotBlocksByRoot.forEach(
+        (root, block) ->
+            hotRootsBySlotCache
+                .computeIfAbsent(
+                    block.getSlot(), __ -> Collections.newSetFromMap(new ConcurrentHashMap<>()))
+                .add(root));
+
+    LOG.info("Initializing hot states");
     initializeHotStates(finalizedRoot.get(), finalizedState.get(), hotBlocksByRoot);
-    LOG.info("Finished initializing hot states from hot blocks");
+    LOG.info("Finished initializing hot states");
+    LOG.debug(
+        "Tree node cache after initializing hot states: {}", treeNodeStore.getNodeCacheStats());
   }
 
   private void initializeHotStates(
       final Bytes32 finalizedRoot,
       final BeaconState finalizedState,
       final Map<Bytes32, SignedBeaconBlock> hotBlocksByRoot) {
-    // Initialize hot states with latest finalized state
+    // Initialize hot states with latest finalized state, other states are loaded on demand
     hotStates.put(finalizedRoot, finalizedState);
 
+    final Set<Bytes32> storedStateBlockRoots;
+    try (final Stream<ColumnEntry<Bytes32, Bytes32>> stream =
+        db.stream(V3Schema.HOT_STATE_ROOTS_BY_BLOCK_ROOT)) {
+      storedStateBlockRoots = stream.map(ColumnEntry::getKey).collect(Collectors.toSet());
+    }
+
     // Index blocks by parent root
-    final Map<Bytes32, List<SignedBeaconBlock>> blocksByParent = new HashMap<>();
+    final Map<Bytes32, List<Bytes32>> childRootsByParent = new HashMap<>();
     for (Entry<Bytes32, SignedBeaconBlock> hotBlockEntry : hotBlocksByRoot.entrySet()) {
       final SignedBeaconBlock currentBlock = hotBlockEntry.getValue();
-      final List<SignedBeaconBlock> blockList =
-          blocksByParent.computeIfAbsent(currentBlock.getParent_root(), (key) -> new ArrayList<>());
-      blockList.add(currentBlock);
+      final List<Bytes32> childRoots =
+          childRootsByParent.computeIfAbsent(
+              currentBlock.getParent_root(), (key) -> new ArrayList<>());
+      childRoots.add(hotBlockEntry.getKey());
     }
 
-    // Generate remaining hot states
-    final Deque<Bytes32> parentRoots = new ArrayDeque<>();
-    parentRoots.push(finalizedRoot);
+    // Regenerate any states which weren't stored, one generation of blocks at a time so that
+    // independent fork branches are processed in parallel
+    int availableStateCount = 1;
+    int regeneratedStateCount = 0;
+    Set<Bytes32> parentRoots = Set.of(finalizedRoot);
+    Map<Bytes32, BeaconState> regeneratedParentStates = Collections.emptyMap();
     while (!parentRoots.isEmpty()) {
-      final Bytes32 parentRoot = parentRoots.pop();
-      final BeaconState parentState = hotStates.get(parentRoot);
-      final List<SignedBeaconBlock> blocks =
-          blocksByParent.computeIfAbsent(parentRoot, (key) -> Collections.emptyList());
-      for (SignedBeaconBlock block : blocks) {
-        final Bytes32 blockRoot = block.getMessage().hash_tree_root();
-        processBlock(parentState, block)
-            .ifPresent(
-                state -> {
-                  hotStates.put(blockRoot, state);
-                  parentRoots.push(blockRoot);
-                });
+      final List<Bytes32> childRoots =
+          parentRoots.stream()
+              .flatMap(
+                  parentRoot ->
+                      childRootsByParent.getOrDefault(parentRoot, Collections.emptyList()).stream())
+              .collect(Collectors.toList());
+      final Map<Bytes32, BeaconState> parentStates = regeneratedParentStates;
+      final Map<Bytes32, BeaconState> regeneratedStates = new ConcurrentHashMap<>();
+      parentRoots =
+          childRoots
+              .parallelStream()
+              .filter(
+                  root ->
+                      storedStateBlockRoots.contains(root)
+                          || regenerateState(
+                              hotBlocksByRoot, parentStates, regeneratedStates, root))
+              .collect(Collectors.toSet());
+
+      // Store regenerated states so they never need to be regenerated again
+      if (!regeneratedStates.isEmpty()) {
+        try (final Updater updater = updater()) {
+          updater.addHotStates(regeneratedStates);
+          updater.commit();
+        }
       }
+      availableStateCount += parentRoots.size();
+      regeneratedStateCount += regeneratedStates.size();
+      regeneratedParentStates = regeneratedStates;
     }
 
-    if (hotStates.size() != hotBlocksByRoot.size()) {
+    LOG.debug("Regenerated {} hot states which were not stored", regeneratedStateCount);
+    if (availableStateCount != hotBlocksByRoot.size()) {
       LOG.trace(
           "Only {} hot states produced for {} hot blocks.  Some hot blocks must be incompatible with the latest finalized block.",
-          hotStates.size(),
+          availableStateCount,
           hotBlocksByRoot.size());
     }
   }
 
-  private final Optional<BeaconState> processBlock(
+  private boolean regenerateState(
+      final Map<Bytes32, SignedBeaconBlock> hotBlocksByRoot,
+      final Map<Bytes32, BeaconState> parentStates,
+      final Map<Bytes32, BeaconState> regeneratedStates,
+      final Bytes32 blockRoot) {
+    final SignedBeaconBlock block = hotBlocksByRoot.get(blockRoot);
+    final Optional<BeaconState> parentState =
+        Optional.ofNullable(parentStates.get(block.getParent_root()))
+            .or(() -> getHotState(block.getParent_root()));
+    if (parentState.isEmpty()) {
+      return false;
+    }
+    final Optional<BeaconState> state = processBlock(parentState.get(), block);
+    state.ifPresent(postState -> regeneratedStates.put(blockRoot, postState));
+    return state.isPresent();
+  }
+
+  private Optional<BeaconState> processBlock(
       final BeaconState preState, final SignedBeaconBlock block) {
-    StateTransition stateTransition = new StateTransition();
     try {
-      final BeaconState postState = stateTransition.initiate(preState, block);
+      // Blocks were fully validated when they were imported so skip signatures and state roots
+      final BeaconState postState = stateTransition.initiate(preState, block, false);
       return Optional.of(postState);
     } catch (StateTransitionException e) {
       LOG.error(
@@ -238,6 +501,7 @@ public class V3RocksDbDao implements RocksDbDao {
   private static class V3Updater implements Updater {
 
     private final Transaction transaction;
+    private final TreeNodeStore treeNodeStore;
     private final NavigableMap<UnsignedLong, Set<Bytes32>> hotRootsBySlotCache;
     private final Map<Bytes32, BeaconState> hotStates;
 
@@ -249,12 +513,15 @@ public class V3RocksDbDao implements RocksDbDao {
     // Hot state updates
     private final Map<Bytes32, BeaconState> newHotStates = new HashMap<>();
     private final Set<Bytes32> deletedStates = new HashSet<>();
+    private Optional<BeaconState> latestFinalizedState = Optional.empty();
 
     V3Updater(
         final RocksDbInstance db,
+        final TreeNodeStore treeNodeStore,
         final NavigableMap<UnsignedLong, Set<Bytes32>> hotRootsBySlotCache,
         final Map<Bytes32, BeaconState> hotStates) {
       this.transaction = db.startTransaction();
+      this.treeNodeStore = treeNodeStore;
       this.hotRootsBySlotCache = hotRootsBySlotCache;
       this.hotStates = hotStates;
     }
@@ -276,7 +543,7 @@ public class V3RocksDbDao implements RocksDbDao {
 
     @Override
     public void setLatestFinalizedState(final BeaconState state) {
-      transaction.put(V3Schema.LATEST_FINALIZED_STATE, state);
+      latestFinalizedState = Optional.of(state);
     }
 
     @Override
@@ -317,7 +584,15 @@ public class V3RocksDbDao implements RocksDbDao {
 
     @Override
     public void addFinalizedState(final Bytes32 blockRoot, final BeaconState state) {
-      transaction.put(V3Schema.FINALIZED_STATES_BY_ROOT, blockRoot, state);
+      // Shares nodes with the hot state so only nodes not already stored are written
+      treeNodeStore.store(transaction, state.getBackingNode());
+      transaction.put(
+          V3Schema.FINALIZED_STATE_ROOTS_BY_BLOCK_ROOT, blockRoot, state.hash_tree_root());
+    }
+
+    @Override
+    public void addFinalizedStateDiff(final Bytes32 blockRoot, final StateDiff stateDiff) {
+      transaction.put(V3Schema.FINALIZED_STATE_DIFFS_BY_ROOT, blockRoot, stateDiff);
     }
 
     @Override
@@ -331,9 +606,37 @@ public class V3RocksDbDao implements RocksDbDao {
     }
 
     @Override
-    public void addVotes(final Map<UnsignedLong, VoteTracker> votes) {
-      votes.forEach(
-          (validatorIndex, vote) -> transaction.put(V3Schema.VOTES, validatorIndex, vote));
+    public void addVotes(final ValidatorVotes votes) {
+      for (int start = votes.nextIndex(0); start >= 0; ) {
+        final int chunkIndex = start / VOTE_CHUNK_SIZE;
+        final int chunkEnd = (chunkIndex + 1) * VOTE_CHUNK_SIZE;
+        final UnsignedLong key = UnsignedLong.valueOf(chunkIndex);
+        final ValidatorVotes chunk =
+            transaction.getForUpdate(V3Schema.VOTE_CHUNKS, key).orElseGet(ValidatorVotes::new);
+        chunk.putAll(votes, start, chunkEnd);
+        transaction.put(V3Schema.VOTE_CHUNKS, key, chunk);
+        start = votes.nextIndex(chunkEnd);
+      }
+    }
+
+    @Override
+    public void addValidatorPubKey(final UnsignedLong validatorIndex, final Bytes48 pubKey) {
+      transaction.put(V3Schema.VALIDATOR_PUBKEYS_BY_INDEX, validatorIndex, pubKey);
+    }
+
+    @Override
+    public void addDepositsFromBlockEvent(final DepositsFromBlockEvent event) {
+      transaction.put(V3Schema.DEPOSITS_FROM_BLOCK_EVENTS, event.getBlockNumber(), event);
+    }
+
+    @Override
+    public void setMinGenesisBlock(final MinGenesisTimeBlockEvent event) {
+      transaction.put(V3Schema.MIN_GENESIS_BLOCK, event);
+    }
+
+    @Override
+    public void setDepositTreeSnapshot(final MerkleTreeSnapshot snapshot) {
+      transaction.put(V3Schema.DEPOSIT_TREE_SNAPSHOT, snapshot);
     }
 
     @Override
@@ -363,6 +666,10 @@ public class V3RocksDbDao implements RocksDbDao {
 
     @Override
     public void commit() {
+      // Write state trees, only storing nodes which aren't already stored
+      deletedStates.forEach(this::releaseHotState);
+      newHotStates.forEach(this::storeHotState);
+      latestFinalizedState.ifPresent(this::storeLatestFinalizedState);
       // Commit slot updates
       hotRootsBySlotCache.keySet().removeAll(prunedSlots);
       hotRootsBySlotAdditions.forEach(
@@ -388,6 +695,7 @@ public class V3RocksDbDao implements RocksDbDao {
       // Clear hot state updates
       deletedStates.clear();
       newHotStates.clear();
+      latestFinalizedState = Optional.empty();
       // Clear db updates
       transaction.rollback();
       close();
@@ -397,5 +705,34 @@ public class V3RocksDbDao implements RocksDbDao {
     public void close() {
       transaction.close();
     }
+
+    private void storeHotState(final Bytes32 blockRoot, final BeaconState state) {
+      if (transaction.getForUpdate(V3Schema.HOT_STATE_ROOTS_BY_BLOCK_ROOT, blockRoot).isPresent()) {
+        // Already stored
+        return;
+      }
+      treeNodeStore.store(transaction, state.getBackingNode());
+      transaction.put(V3Schema.HOT_STATE_ROOTS_BY_BLOCK_ROOT, blockRoot, state.hash_tree_root());
+    }
+
+    private void releaseHotState(final Bytes32 blockRoot) {
+      transaction
+          .getForUpdate(V3Schema.HOT_STATE_ROOTS_BY_BLOCK_ROOT, blockRoot)
+          .ifPresent(
+              stateRoot -> {
+                treeNodeStore.release(transaction, stateRoot);
+                transaction.delete(V3Schema.HOT_STATE_ROOTS_BY_BLOCK_ROOT, blockRoot);
+              });
+    }
+
+    private void storeLatestFinalizedState(final BeaconState state) {
+      final Optional<Bytes32> previousStateRoot =
+          transaction.getForUpdate(V3Schema.LATEST_FINALIZED_STATE_ROOT);
+      // Add the new reference before releasing the old one so shared nodes aren't deleted
+      treeNodeStore.store(transaction, state.getBackingNode());
+      transaction.put(V3Schema.LATEST_FINALIZED_STATE_ROOT, state.hash_tree_root());
+      previousStateRoot.ifPresent(root -> treeNodeStore.release(transaction, root));
+      transaction.delete(V3Schema.LATEST_FINALIZED_STATE);
+    }
   }
 }
@@ -14,18 +14,32 @@
 package tech.pegasys.artemis.storage.server.rocksdb.schema;
 
 import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES32_SERIALIZER;
+import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES48_SERIALIZER;
 import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.CHECKPOINT_SERIALIZER;
+import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.DEPOSITS_FROM_BLOCK_EVENT_SERIALIZER;
+import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.MERKLE_TREE_SNAPSHOT_SERIALIZER;
+import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.MIN_GENESIS_EVENT_SERIALIZER;
 import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.SIGNED_BLOCK_SERIALIZER;
+import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.STATE_DIFF_SERIALIZER;
 import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.STATE_SERIALIZER;
+import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.STORED_BRANCH_NODE_SERIALIZER;
 import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.UNSIGNED_LONG_SERIALIZER;
+import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.VALIDATOR_VOTES_SERIALIZER;
 import static tech.pegasys.artemis.storage.server.rocksdb.serialization.RocksDbSerializer.VOTES_SERIALIZER;
 
 import com.google.common.primitives.UnsignedLong;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.artemis.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.artemis.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
+import tech.pegasys.artemis.storage.server.rocksdb.state.StateDiff;
+import tech.pegasys.artemis.storage.server.rocksdb.state.StoredBranchNode;
 
 public interface V3Schema extends Schema {
 
@@ -42,6 +56,20 @@ public interface V3Schema extends Schema {
       RocksDbColumn.create(5, CHECKPOINT_SERIALIZER, STATE_SERIALIZER);
   RocksDbColumn<UnsignedLong, VoteTracker> VOTES =
       RocksDbColumn.create(6, UNSIGNED_LONG_SERIALIZER, VOTES_SERIALIZER);
+  RocksDbColumn<Bytes32, StateDiff> FINALIZED_STATE_DIFFS_BY_ROOT =
+      RocksDbColumn.create(7, BYTES32_SERIALIZER, STATE_DIFF_SERIALIZER);
+  RocksDbColumn<Bytes32, StoredBranchNode> STATE_TREE_NODES_BY_ROOT =
+      RocksDbColumn.create(8, BYTES32_SERIALIZER, STORED_BRANCH_NODE_SERIALIZER);
+  RocksDbColumn<Bytes32, Bytes32> HOT_STATE_ROOTS_BY_BLOCK_ROOT =
+      RocksDbColumn.create(9, BYTES32_SERIALIZER, BYTES32_SERIALIZER);
+  RocksDbColumn<Bytes32, Bytes32> FINALIZED_STATE_ROOTS_BY_BLOCK_ROOT =
+      RocksDbColumn.create(10, BYTES32_SERIALIZER, BYTES32_SERIALIZER);
+  RocksDbColumn<UnsignedLong, ValidatorVotes> VOTE_CHUNKS =
+      RocksDbColumn.create(11, UNSIGNED_LONG_SERIALIZER, VALIDATOR_VOTES_SERIALIZER);
+  RocksDbColumn<UnsignedLong, Bytes48> VALIDATOR_PUBKEYS_BY_INDEX =
+      RocksDbColumn.create(12, UNSIGNED_LONG_SERIALIZER, BYTES48_SERIALIZER);
+  RocksDbColumn<UnsignedLong, DepositsFromBlockEvent> DEPOSITS_FROM_BLOCK_EVENTS =
+      RocksDbColumn.create(13, UNSIGNED_LONG_SERIALIZER, DEPOSITS_FROM_BLOCK_EVENT_SERIALIZER);
 
   // Variables
   RocksDbVariable<UnsignedLong> GENESIS_TIME = RocksDbVariable.create(1, UNSIGNED_LONG_SERIALIZER);
@@ -52,4 +80,10 @@ public interface V3Schema extends Schema {
   RocksDbVariable<Checkpoint> FINALIZED_CHECKPOINT =
       RocksDbVariable.create(4, CHECKPOINT_SERIALIZER);
   RocksDbVariable<BeaconState> LATEST_FINALIZED_STATE = RocksDbVariable.create(5, STATE_SERIALIZER);
+  RocksDbVariable<Bytes32> LATEST_FINALIZED_STATE_ROOT =
+      RocksDbVariable.create(6, BYTES32_SERIALIZER);
+  RocksDbVariable<MinGenesisTimeBlockEvent> MIN_GENESIS_BLOCK =
+      RocksDbVariable.create(7, MIN_GENESIS_EVENT_SERIALIZER);
+  RocksDbVariable<MerkleTreeSnapshot> DEPOSIT_TREE_SNAPSHOT =
+      RocksDbVariable.create(8, MERKLE_TREE_SNAPSHOT_SERIALIZER);
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.serialization;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.primitives.UnsignedLong;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.bls.BLSPublicKey;
+import tech.pegasys.artemis.bls.BLSSignature;
+import tech.pegasys.artemis.pow.event.Deposit;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+
+/**
+ * Serializes a {@link DepositsFromBlockEvent} as the block number, hash and timestamp followed by
+ * the deposit count and each deposit's compressed public key, withdrawal credentials, signature,
+ * amount and Merkle tree index.
+ */
+public class DepositsFromBlockEventSerializer implements RocksDbSerializer<DepositsFromBlockEvent> {
+  private static final int PUBKEY_SIZE = 48;
+  private static final int SIGNATURE_SIZE = 96;
+  private static final int DEPOSIT_SIZE =
+      PUBKEY_SIZE + Bytes32.SIZE + SIGNATURE_SIZE + Long.BYTES + Long.BYTES;
+  private static final int HEADER_SIZE = Long.BYTES + Bytes32.SIZE + Long.BYTES + Integer.BYTES;
+
+  @Override
+  public DepositsFromBlockEvent deserialize(final byte[] data) {
+    final ByteBuffer buffer = ByteBuffer.wrap(data);
+    final UnsignedLong blockNumber = UnsignedLong.fromLongBits(buffer.getLong());
+    final Bytes32 blockHash = Bytes32.wrap(readBytes(buffer, Bytes32.SIZE));
+    final UnsignedLong blockTimestamp = UnsignedLong.fromLongBits(buffer.getLong());
+    final int depositCount = buffer.getInt();
+    checkArgument(
+        depositCount > 0 && buffer.remaining() == depositCount * DEPOSIT_SIZE,
+        "Invalid deposit count %s",
+        depositCount);
+    final List<Deposit> deposits = new ArrayList<>(depositCount);
+    for (int i = 0; i < depositCount; i++) {
+      deposits.add(
+          new Deposit(
+              BLSPublicKey.fromBytesCompressed(Bytes.wrap(readBytes(buffer, PUBKEY_SIZE))),
+              Bytes32.wrap(readBytes(buffer, Bytes32.SIZE)),
+              BLSSignature.fromBytes(Bytes.wrap(readBytes(buffer, SIGNATURE_SIZE))),
+              UnsignedLong.fromLongBits(buffer.getLong()),
+              UnsignedLong.fromLongBits(buffer.getLong())));
+    }
+    return new DepositsFromBlockEvent(blockNumber, blockHash, blockTimestamp, deposits);
+  }
+
+  @Override
+  public byte[] serialize(final DepositsFromBlockEvent value) {
+    final List<Deposit> deposits = value.getDeposits();
+    final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + deposits.size() * DEPOSIT_SIZE);
+    buffer
+        .putLong(value.getBlockNumber().longValue())
+        .put(value.getBlockHash().toArrayUnsafe())
+        .putLong(value.getBlockTimestamp().longValue())
+        .putInt(deposits.size());
+    for (Deposit deposit : deposits) {
+      buffer
+          .put(deposit.getPubkey().toBytesCompressed().toArrayUnsafe())
+          .put(deposit.getWithdrawal_credentials().toArrayUnsafe())
+          .put(deposit.getSignature().toBytes().toArrayUnsafe())
+          .putLong(deposit.getAmount().longValue())
+          .putLong(deposit.getMerkle_tree_index().longValue());
+    }
+    return buffer.array();
+  }
+
+  private static byte[] readBytes(final ByteBuffer buffer, final int length) {
+    final byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return bytes;
+  }
+}
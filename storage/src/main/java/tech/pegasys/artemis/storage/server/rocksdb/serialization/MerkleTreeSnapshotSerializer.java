@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.serialization;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+
+/**
+ * Serializes a {@link MerkleTreeSnapshot} as the tree depth followed by the node count and nodes
+ * of each level, leaves first.
+ */
+public class MerkleTreeSnapshotSerializer implements RocksDbSerializer<MerkleTreeSnapshot> {
+
+  @Override
+  public MerkleTreeSnapshot deserialize(final byte[] data) {
+    final ByteBuffer buffer = ByteBuffer.wrap(data);
+    final int treeDepth = buffer.getInt();
+    checkArgument(treeDepth > 0, "Invalid Merkle tree depth %s", treeDepth);
+    final List<List<Bytes32>> levels = new ArrayList<>(treeDepth + 1);
+    for (int i = 0; i <= treeDepth; i++) {
+      final int nodeCount = buffer.getInt();
+      checkArgument(
+          nodeCount >= 0 && nodeCount * Bytes32.SIZE <= buffer.remaining(),
+          "Invalid node count %s",
+          nodeCount);
+      final List<Bytes32> level = new ArrayList<>(nodeCount);
+      for (int j = 0; j < nodeCount; j++) {
+        final byte[] node = new byte[Bytes32.SIZE];
+        buffer.get(node);
+        level.add(Bytes32.wrap(node));
+      }
+      levels.add(level);
+    }
+    checkArgument(!buffer.hasRemaining(), "Unexpected data after Merkle tree snapshot");
+    return new MerkleTreeSnapshot(treeDepth, levels);
+  }
+
+  @Override
+  public byte[] serialize(final MerkleTreeSnapshot value) {
+    final List<List<Bytes32>> levels = value.getLevels();
+    final int nodeCount = levels.stream().mapToInt(List::size).sum();
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(Integer.BYTES * (levels.size() + 1) + nodeCount * Bytes32.SIZE);
+    buffer.putInt(value.getTreeDepth());
+    for (List<Bytes32> level : levels) {
+      buffer.putInt(level.size());
+      level.forEach(node -> buffer.put(node.toArrayUnsafe()));
+    }
+    return buffer.array();
+  }
+}
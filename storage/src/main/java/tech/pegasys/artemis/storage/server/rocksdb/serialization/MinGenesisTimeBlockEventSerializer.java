@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.serialization;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.primitives.UnsignedLong;
+import java.nio.ByteBuffer;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
+
+public class MinGenesisTimeBlockEventSerializer
+    implements RocksDbSerializer<MinGenesisTimeBlockEvent> {
+  private static final int SIZE = Long.BYTES + Long.BYTES + Bytes32.SIZE;
+
+  @Override
+  public MinGenesisTimeBlockEvent deserialize(final byte[] data) {
+    checkArgument(data.length == SIZE, "Invalid min genesis time block event length");
+    final ByteBuffer buffer = ByteBuffer.wrap(data);
+    final UnsignedLong timestamp = UnsignedLong.fromLongBits(buffer.getLong());
+    final UnsignedLong blockNumber = UnsignedLong.fromLongBits(buffer.getLong());
+    final byte[] blockHash = new byte[Bytes32.SIZE];
+    buffer.get(blockHash);
+    return new MinGenesisTimeBlockEvent(timestamp, blockNumber, Bytes32.wrap(blockHash));
+  }
+
+  @Override
+  public byte[] serialize(final MinGenesisTimeBlockEvent value) {
+    return ByteBuffer.allocate(SIZE)
+        .putLong(value.getTimestamp().longValue())
+        .putLong(value.getBlockNumber().longValue())
+        .put(value.getBlockHash().toArrayUnsafe())
+        .array();
+  }
+}
@@ -15,20 +15,38 @@ package tech.pegasys.artemis.storage.server.rocksdb.serialization;
 
 import com.google.common.primitives.UnsignedLong;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.artemis.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.artemis.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.BeaconStateImpl;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
+import tech.pegasys.artemis.storage.server.rocksdb.state.StateDiff;
+import tech.pegasys.artemis.storage.server.rocksdb.state.StoredBranchNode;
 
 public interface RocksDbSerializer<T> {
   RocksDbSerializer<UnsignedLong> UNSIGNED_LONG_SERIALIZER = new UnsignedLongSerializer();
   RocksDbSerializer<Bytes32> BYTES32_SERIALIZER = new BytesSerializer<>(Bytes32::wrap);
+  RocksDbSerializer<Bytes48> BYTES48_SERIALIZER = new BytesSerializer<>(Bytes48::wrap);
   RocksDbSerializer<SignedBeaconBlock> SIGNED_BLOCK_SERIALIZER =
       new SszSerializer<>(SignedBeaconBlock.class);
   RocksDbSerializer<BeaconState> STATE_SERIALIZER = new SszSerializer<>(BeaconStateImpl.class);
   RocksDbSerializer<Checkpoint> CHECKPOINT_SERIALIZER = new SszSerializer<>(Checkpoint.class);
   RocksDbSerializer<VoteTracker> VOTES_SERIALIZER = new SszSerializer<>(VoteTracker.class);
+  RocksDbSerializer<StateDiff> STATE_DIFF_SERIALIZER = new StateDiffSerializer();
+  RocksDbSerializer<StoredBranchNode> STORED_BRANCH_NODE_SERIALIZER =
+      new StoredBranchNodeSerializer();
+  RocksDbSerializer<ValidatorVotes> VALIDATOR_VOTES_SERIALIZER = new ValidatorVotesSerializer();
+  RocksDbSerializer<DepositsFromBlockEvent> DEPOSITS_FROM_BLOCK_EVENT_SERIALIZER =
+      new DepositsFromBlockEventSerializer();
+  RocksDbSerializer<MinGenesisTimeBlockEvent> MIN_GENESIS_EVENT_SERIALIZER =
+      new MinGenesisTimeBlockEventSerializer();
+  RocksDbSerializer<MerkleTreeSnapshot> MERKLE_TREE_SNAPSHOT_SERIALIZER =
+      new MerkleTreeSnapshotSerializer();
 
   T deserialize(final byte[] data);
 
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode.LeafNode;
+import tech.pegasys.artemis.ssz.backing.tree.TreeUpdates.Update;
+import tech.pegasys.artemis.storage.server.rocksdb.state.StateDiff;
+
+/**
+ * Serializes a {@link StateDiff} as the base block root followed by a sequence of (generalized
+ * index, subtree) pairs. Subtrees are written in pre-order, with each node prefixed by a tag byte.
+ */
+public class StateDiffSerializer implements RocksDbSerializer<StateDiff> {
+  private static final byte LEAF_NODE = 0;
+  private static final byte BRANCH_NODE = 1;
+  // Branch with the same node on both sides, as found in default (zero) subtrees
+  private static final byte UNIFORM_BRANCH_NODE = 2;
+
+  @Override
+  public StateDiff deserialize(final byte[] data) {
+    final ByteBuffer buffer = ByteBuffer.wrap(data);
+    final Bytes32 baseBlockRoot = readBytes32(buffer);
+    final List<Update> updates = new ArrayList<>();
+    while (buffer.hasRemaining()) {
+      final long generalizedIndex = buffer.getLong();
+      updates.add(new Update(generalizedIndex, readNode(buffer)));
+    }
+    return new StateDiff(baseBlockRoot, updates);
+  }
+
+  @Override
+  public byte[] serialize(final StateDiff value) {
+    final ByteBuffer indexBuffer = ByteBuffer.allocate(Long.BYTES);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.writeBytes(value.getBaseBlockRoot().toArrayUnsafe());
+    for (Update update : value.getUpdates()) {
+      out.writeBytes(indexBuffer.putLong(0, update.getGeneralizedIndex()).array());
+      writeNode(out, update.getNewNode());
+    }
+    return out.toByteArray();
+  }
+
+  private void writeNode(final ByteArrayOutputStream out, final TreeNode node) {
+    if (node instanceof LeafNode) {
+      out.write(LEAF_NODE);
+      out.writeBytes(((LeafNode) node).getRoot().toArrayUnsafe());
+    } else {
+      final BranchNode branch = (BranchNode) node;
+      if (branch.left() == branch.right()) {
+        out.write(UNIFORM_BRANCH_NODE);
+        writeNode(out, branch.left());
+      } else {
+        out.write(BRANCH_NODE);
+        writeNode(out, branch.left());
+        writeNode(out, branch.right());
+      }
+    }
+  }
+
+  private TreeNode readNode(final ByteBuffer buffer) {
+    final byte nodeType = buffer.get();
+    switch (nodeType) {
+      case LEAF_NODE:
+        return TreeNode.createLeafNode(readBytes32(buffer));
+      case BRANCH_NODE:
+        final TreeNode left = readNode(buffer);
+        final TreeNode right = readNode(buffer);
+        return TreeNode.createBranchNode(left, right);
+      case UNIFORM_BRANCH_NODE:
+        final TreeNode child = readNode(buffer);
+        return TreeNode.createBranchNode(child, child);
+      default:
+        throw new IllegalArgumentException("Unknown tree node type: " + nodeType);
+    }
+  }
+
+  private Bytes32 readBytes32(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[Bytes32.SIZE];
+    buffer.get(bytes);
+    return Bytes32.wrap(bytes);
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.serialization;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.storage.server.rocksdb.state.StoredBranchNode;
+
+/**
+ * Serializes a {@link StoredBranchNode} as a flags byte, the left and right child roots and a
+ * big-endian reference count.
+ */
+public class StoredBranchNodeSerializer implements RocksDbSerializer<StoredBranchNode> {
+  private static final int LEFT_LEAF_FLAG = 0b01;
+  private static final int RIGHT_LEAF_FLAG = 0b10;
+  private static final int SERIALIZED_SIZE = 1 + Bytes32.SIZE + Bytes32.SIZE + Integer.BYTES;
+
+  @Override
+  public StoredBranchNode deserialize(final byte[] data) {
+    checkArgument(data.length == SERIALIZED_SIZE, "Invalid stored node size: %s", data.length);
+    final ByteBuffer buffer = ByteBuffer.wrap(data);
+    final byte flags = buffer.get();
+    final Bytes32 leftRoot = readBytes32(buffer);
+    final Bytes32 rightRoot = readBytes32(buffer);
+    final int referenceCount = buffer.getInt();
+    return new StoredBranchNode(
+        leftRoot,
+        (flags & LEFT_LEAF_FLAG) != 0,
+        rightRoot,
+        (flags & RIGHT_LEAF_FLAG) != 0,
+        referenceCount);
+  }
+
+  @Override
+  public byte[] serialize(final StoredBranchNode value) {
+    int flags = 0;
+    if (value.isLeftLeaf()) {
+      flags |= LEFT_LEAF_FLAG;
+    }
+    if (value.isRightLeaf()) {
+      flags |= RIGHT_LEAF_FLAG;
+    }
+    return ByteBuffer.allocate(SERIALIZED_SIZE)
+        .put((byte) flags)
+        .put(value.getLeftRoot().toArrayUnsafe())
+        .put(value.getRightRoot().toArrayUnsafe())
+        .putInt(value.getReferenceCount())
+        .array();
+  }
+
+  private Bytes32 readBytes32(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[Bytes32.SIZE];
+    buffer.get(bytes);
+    return Bytes32.wrap(bytes);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.serialization;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.primitives.UnsignedLong;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.datastructures.forkchoice.ValidatorVotes;
+
+/**
+ * Serializes a range of {@link ValidatorVotes} compactly. Validators usually vote for a small
+ * number of blocks, so each distinct root is written once and votes refer to roots by position.
+ *
+ * <p>The format is the big-endian first validator index and range length, a bitmap of the
+ * validators in the range which have voted, the distinct roots, and then the current root
+ * position, next root position and next epoch of each vote.
+ */
+public class ValidatorVotesSerializer implements RocksDbSerializer<ValidatorVotes> {
+  private static final int MAX_ROOTS = 0xFFFF;
+  private static final int VOTE_SIZE = Short.BYTES + Short.BYTES + Long.BYTES;
+
+  @Override
+  public ValidatorVotes deserialize(final byte[] data) {
+    final ByteBuffer buffer = ByteBuffer.wrap(data);
+    final int firstIndex = buffer.getInt();
+    final int length = buffer.getInt();
+    checkArgument(firstIndex >= 0 && length >= 0, "Invalid validator votes range");
+    final byte[] bitmap = new byte[bitmapSize(length)];
+    buffer.get(bitmap);
+    final int rootCount = Short.toUnsignedInt(buffer.getShort());
+    final List<Bytes32> roots = new ArrayList<>(rootCount);
+    for (int i = 0; i < rootCount; i++) {
+      final byte[] root = new byte[Bytes32.SIZE];
+      buffer.get(root);
+      roots.add(Bytes32.wrap(root));
+    }
+
+    final ValidatorVotes votes = new ValidatorVotes();
+    for (int i = 0; i < length; i++) {
+      if ((bitmap[i / Byte.SIZE] & (1 << (i % Byte.SIZE))) == 0) {
+        continue;
+      }
+      final Bytes32 currentRoot = roots.get(Short.toUnsignedInt(buffer.getShort()));
+      final Bytes32 nextRoot = roots.get(Short.toUnsignedInt(buffer.getShort()));
+      final UnsignedLong nextEpoch = UnsignedLong.fromLongBits(buffer.getLong());
+      votes.set(firstIndex + i, currentRoot, nextRoot, nextEpoch);
+    }
+    checkArgument(!buffer.hasRemaining(), "Unexpected data after validator votes");
+    return votes;
+  }
+
+  @Override
+  public byte[] serialize(final ValidatorVotes value) {
+    final int firstIndex = value.getFirstIndex();
+    final int length = value.size() - firstIndex;
+    final byte[] bitmap = new byte[bitmapSize(length)];
+    final Map<Bytes32, Integer> rootPositions = new HashMap<>();
+    final List<Bytes32> roots = new ArrayList<>();
+    for (int i = value.nextIndex(firstIndex); i >= 0; i = value.nextIndex(i + 1)) {
+      final int offset = i - firstIndex;
+      bitmap[offset / Byte.SIZE] |= (byte) (1 << (offset % Byte.SIZE));
+      addRoot(rootPositions, roots, value.getCurrentRoot(i));
+      addRoot(rootPositions, roots, value.getNextRoot(i));
+    }
+    checkArgument(roots.size() <= MAX_ROOTS, "Too many distinct roots in validator votes");
+
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(
+            Integer.BYTES * 2
+                + bitmap.length
+                + Short.BYTES
+                + roots.size() * Bytes32.SIZE
+                + value.getVoteCount() * VOTE_SIZE);
+    buffer.putInt(firstIndex).putInt(length).put(bitmap).putShort((short) roots.size());
+    roots.forEach(root -> buffer.put(root.toArrayUnsafe()));
+    for (int i = value.nextIndex(firstIndex); i >= 0; i = value.nextIndex(i + 1)) {
+      buffer
+          .putShort(rootPositions.get(value.getCurrentRoot(i)).shortValue())
+          .putShort(rootPositions.get(value.getNextRoot(i)).shortValue())
+          .putLong(value.getNextEpoch(i).longValue());
+    }
+    return buffer.array();
+  }
+
+  private static void addRoot(
+      final Map<Bytes32, Integer> rootPositions, final List<Bytes32> roots, final Bytes32 root) {
+    rootPositions.computeIfAbsent(
+        root,
+        __ -> {
+          roots.add(root);
+          return roots.size() - 1;
+        });
+  }
+
+  private static int bitmapSize(final int length) {
+    return (length + Byte.SIZE - 1) / Byte.SIZE;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.state;
+
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.artemis.ssz.backing.tree.TreeUpdates;
+
+/**
+ * A branch node which loads its children from a {@link TreeNodeStore} the first time they are
+ * accessed. The hash tree root is known up front so it can be used without loading anything.
+ */
+class LazyBranchNode implements BranchNode {
+  private final TreeNodeStore treeNodeStore;
+  private final Bytes32 root;
+  private volatile BranchNode loadedNode = null;
+
+  LazyBranchNode(final TreeNodeStore treeNodeStore, final Bytes32 root) {
+    this.treeNodeStore = treeNodeStore;
+    this.root = root;
+  }
+
+  @Override
+  public TreeNode left() {
+    return getLoadedNode().left();
+  }
+
+  @Override
+  public TreeNode right() {
+    return getLoadedNode().right();
+  }
+
+  @Override
+  public BranchNode rebind(final boolean left, final TreeNode newNode) {
+    return getLoadedNode().rebind(left, newNode);
+  }
+
+  @Override
+  public TreeNode updated(final TreeUpdates newNodes) {
+    return newNodes.size() == 0 ? this : getLoadedNode().updated(newNodes);
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    return root;
+  }
+
+  private BranchNode getLoadedNode() {
+    if (loadedNode == null) {
+      final StoredBranchNode storedNode = treeNodeStore.getStoredNode(root);
+      loadedNode =
+          TreeNode.createBranchNode(
+              createChild(storedNode.getLeftRoot(), storedNode.isLeftLeaf()),
+              createChild(storedNode.getRightRoot(), storedNode.isRightLeaf()));
+    }
+    return loadedNode;
+  }
+
+  private TreeNode createChild(final Bytes32 childRoot, final boolean isLeaf) {
+    return isLeaf
+        ? TreeNode.createLeafNode(childRoot)
+        : new LazyBranchNode(treeNodeStore, childRoot);
+  }
+
+  @Override
+  public String toString() {
+    return loadedNode == null ? "(lazy " + root + ")" : loadedNode.toString();
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.state;
+
+import com.google.common.base.MoreObjects;
+import java.util.List;
+import java.util.Objects;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode;
+import tech.pegasys.artemis.ssz.backing.tree.TreeUpdates.Update;
+import tech.pegasys.artemis.ssz.backing.tree.TreeUtil;
+
+/**
+ * The changes required to produce a state from the state of an earlier block. Only the subtrees of
+ * the state's backing tree which differ from the base state are recorded.
+ */
+public class StateDiff {
+
+  private final Bytes32 baseBlockRoot;
+  private final List<Update> updates;
+
+  public StateDiff(final Bytes32 baseBlockRoot, final List<Update> updates) {
+    this.baseBlockRoot = baseBlockRoot;
+    this.updates = updates;
+  }
+
+  public static StateDiff create(
+      final Bytes32 baseBlockRoot, final BeaconState baseState, final BeaconState state) {
+    return new StateDiff(
+        baseBlockRoot, TreeUtil.diff(baseState.getBackingNode(), state.getBackingNode()));
+  }
+
+  /** @return The root of the block whose state this diff should be applied to */
+  public Bytes32 getBaseBlockRoot() {
+    return baseBlockRoot;
+  }
+
+  public List<Update> getUpdates() {
+    return updates;
+  }
+
+  public BeaconState apply(final BeaconState baseState) {
+    TreeNode node = baseState.getBackingNode();
+    for (Update update : updates) {
+      node = node.updated(update.getGeneralizedIndex(), update.getNewNode());
+    }
+    return BeaconState.getSSZType().createFromBackingNode(node);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final StateDiff that = (StateDiff) o;
+    if (!Objects.equals(baseBlockRoot, that.baseBlockRoot)
+        || updates.size() != that.updates.size()) {
+      return false;
+    }
+    for (int i = 0; i < updates.size(); i++) {
+      final Update update = updates.get(i);
+      final Update otherUpdate = that.updates.get(i);
+      if (update.getGeneralizedIndex() != otherUpdate.getGeneralizedIndex()
+          || !update.getNewNode().hashTreeRoot().equals(otherUpdate.getNewNode().hashTreeRoot())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(baseBlockRoot, updates.size());
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("baseBlockRoot", baseBlockRoot)
+        .add("updates", updates.size())
+        .toString();
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.state;
+
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode.LeafNode;
+
+/**
+ * A branch node of a state backing tree as stored in the database. Children are referenced by
+ * their hash tree root. Leaf children are not stored separately as their root is their value.
+ *
+ * <p>Nodes are shared between all stored trees which contain them, so each node keeps a count of
+ * the references to it from parent nodes and from state root indices.
+ */
+public class StoredBranchNode {
+
+  private final Bytes32 leftRoot;
+  private final boolean leftLeaf;
+  private final Bytes32 rightRoot;
+  private final boolean rightLeaf;
+  private final int referenceCount;
+
+  public StoredBranchNode(
+      final Bytes32 leftRoot,
+      final boolean leftLeaf,
+      final Bytes32 rightRoot,
+      final boolean rightLeaf,
+      final int referenceCount) {
+    this.leftRoot = leftRoot;
+    this.leftLeaf = leftLeaf;
+    this.rightRoot = rightRoot;
+    this.rightLeaf = rightLeaf;
+    this.referenceCount = referenceCount;
+  }
+
+  public static StoredBranchNode create(final BranchNode node) {
+    final TreeNode left = node.left();
+    final TreeNode right = node.right();
+    return new StoredBranchNode(
+        left.hashTreeRoot(),
+        left instanceof LeafNode,
+        right.hashTreeRoot(),
+        right instanceof LeafNode,
+        1);
+  }
+
+  public Bytes32 getLeftRoot() {
+    return leftRoot;
+  }
+
+  public boolean isLeftLeaf() {
+    return leftLeaf;
+  }
+
+  public Bytes32 getRightRoot() {
+    return rightRoot;
+  }
+
+  public boolean isRightLeaf() {
+    return rightLeaf;
+  }
+
+  public int getReferenceCount() {
+    return referenceCount;
+  }
+
+  public StoredBranchNode withReferenceCount(final int referenceCount) {
+    return new StoredBranchNode(leftRoot, leftLeaf, rightRoot, rightLeaf, referenceCount);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final StoredBranchNode that = (StoredBranchNode) o;
+    return leftLeaf == that.leftLeaf
+        && rightLeaf == that.rightLeaf
+        && referenceCount == that.referenceCount
+        && Objects.equals(leftRoot, that.leftRoot)
+        && Objects.equals(rightRoot, that.rightRoot);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(leftRoot, leftLeaf, rightRoot, rightLeaf, referenceCount);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("leftRoot", leftRoot)
+        .add("leftLeaf", leftLeaf)
+        .add("rightRoot", rightRoot)
+        .add("rightLeaf", rightLeaf)
+        .add("referenceCount", referenceCount)
+        .toString();
+  }
+}
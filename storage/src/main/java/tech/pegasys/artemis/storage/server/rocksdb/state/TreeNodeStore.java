@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.state;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.artemis.storage.server.DatabaseStorageException;
+import tech.pegasys.artemis.storage.server.rocksdb.core.RocksDbInstance;
+import tech.pegasys.artemis.storage.server.rocksdb.core.RocksDbInstance.Transaction;
+import tech.pegasys.artemis.storage.server.rocksdb.schema.RocksDbColumn;
+
+/**
+ * Stores SSZ backing trees content-addressed by hash tree root so that trees which share subtrees
+ * share storage. Storing a tree only writes the branch nodes which aren't already stored, and
+ * releasing a tree only deletes the nodes which are no longer referenced by any other tree.
+ */
+public class TreeNodeStore {
+  private static final Logger LOG = LogManager.getLogger();
+  // Cached nodes keep their whole subtree in memory so the cache must be bounded
+  private static final int DEFAULT_MAX_CACHED_NODES = 10_000;
+
+  private final RocksDbInstance db;
+  private final RocksDbColumn<Bytes32, StoredBranchNode> nodesColumn;
+  // Recently stored or loaded nodes, so loaded trees share them instead of holding copies
+  private final Cache<Bytes32, TreeNode> nodeCache;
+
+  public TreeNodeStore(
+      final RocksDbInstance db, final RocksDbColumn<Bytes32, StoredBranchNode> nodesColumn) {
+    this(db, nodesColumn, DEFAULT_MAX_CACHED_NODES);
+  }
+
+  TreeNodeStore(
+      final RocksDbInstance db,
+      final RocksDbColumn<Bytes32, StoredBranchNode> nodesColumn,
+      final int maxCachedNodes) {
+    this.db = db;
+    this.nodesColumn = nodesColumn;
+    this.nodeCache = CacheBuilder.newBuilder().maximumSize(maxCachedNodes).recordStats().build();
+  }
+
+  public CacheStats getNodeCacheStats() {
+    return nodeCache.stats();
+  }
+
+  /**
+   * Adds a reference to the tree with the given root node, storing any nodes which are not
+   * already present.
+   *
+   * @param transaction The transaction to write the nodes with
+   * @param root The root node of the tree to store
+   */
+  public void store(final Transaction transaction, final TreeNode root) {
+    checkArgument(root instanceof BranchNode, "Only branch nodes can be stored");
+    storeBranch(transaction, (BranchNode) root);
+  }
+
+  private void storeBranch(final Transaction transaction, final BranchNode node) {
+    final Bytes32 root = node.hashTreeRoot();
+    nodeCache.put(root, node);
+    final Optional<StoredBranchNode> existing = transaction.getForUpdate(nodesColumn, root);
+    if (existing.isPresent()) {
+      // The whole subtree is already stored so only the reference count changes
+      final StoredBranchNode storedNode = existing.get();
+      transaction.put(
+          nodesColumn, root, storedNode.withReferenceCount(storedNode.getReferenceCount() + 1));
+      return;
+    }
+
+    final StoredBranchNode storedNode = StoredBranchNode.create(node);
+    if (!storedNode.isLeftLeaf()) {
+      storeBranch(transaction, (BranchNode) node.left());
+    }
+    if (!storedNode.isRightLeaf()) {
+      storeBranch(transaction, (BranchNode) node.right());
+    }
+    transaction.put(nodesColumn, root, storedNode);
+  }
+
+  /**
+   * Removes a reference to the tree with the given root, deleting any nodes which are no longer
+   * referenced.
+   *
+   * @param transaction The transaction to write the changes with
+   * @param root The hash tree root of the tree to release
+   */
+  public void release(final Transaction transaction, final Bytes32 root) {
+    final Optional<StoredBranchNode> existing = transaction.getForUpdate(nodesColumn, root);
+    if (existing.isEmpty()) {
+      LOG.warn("Attempting to release tree node {} which is not stored", root);
+      return;
+    }
+
+    final StoredBranchNode storedNode = existing.get();
+    if (storedNode.getReferenceCount() > 1) {
+      transaction.put(
+          nodesColumn, root, storedNode.withReferenceCount(storedNode.getReferenceCount() - 1));
+      return;
+    }
+
+    transaction.delete(nodesColumn, root);
+    if (!storedNode.isLeftLeaf()) {
+      release(transaction, storedNode.getLeftRoot());
+    }
+    if (!storedNode.isRightLeaf()) {
+      release(transaction, storedNode.getRightRoot());
+    }
+  }
+
+  /**
+   * Loads the tree with the given root.
+   *
+   * @param root The hash tree root of the tree to load
+   * @return The root node of the tree or empty if the tree is not stored
+   */
+  public Optional<TreeNode> load(final Bytes32 root) {
+    if (!db.containsKey(nodesColumn, root)) {
+      return Optional.empty();
+    }
+    return Optional.of(loadBranch(root));
+  }
+
+  /**
+   * Creates a view of the tree with the given root which loads nodes as they are accessed. Only
+   * trees which are never released may be loaded lazily, since nodes are read long after this
+   * method returns.
+   *
+   * @param root The hash tree root of the tree to load
+   * @return The root node of the tree or empty if the tree is not stored
+   */
+  public Optional<TreeNode> loadLazily(final Bytes32 root) {
+    if (!db.containsKey(nodesColumn, root)) {
+      return Optional.empty();
+    }
+    return Optional.of(new LazyBranchNode(this, root));
+  }
+
+  StoredBranchNode getStoredNode(final Bytes32 root) {
+    return db.get(nodesColumn, root)
+        .orElseThrow(() -> new DatabaseStorageException("Missing tree node " + root));
+  }
+
+  private TreeNode loadBranch(final Bytes32 root) {
+    final TreeNode cachedNode = nodeCache.getIfPresent(root);
+    if (cachedNode != null) {
+      return cachedNode;
+    }
+    final StoredBranchNode storedNode = getStoredNode(root);
+    final TreeNode left =
+        storedNode.isLeftLeaf()
+            ? TreeNode.createLeafNode(storedNode.getLeftRoot())
+            : loadBranch(storedNode.getLeftRoot());
+    final TreeNode right =
+        storedNode.isRightLeaf()
+            ? TreeNode.createLeafNode(storedNode.getRightRoot())
+            : loadBranch(storedNode.getRightRoot());
+    final TreeNode node = TreeNode.createBranchNode(left, right);
+    nodeCache.put(root, node);
+    return node;
+  }
+}
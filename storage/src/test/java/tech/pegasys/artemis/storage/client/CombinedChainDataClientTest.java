@@ -17,6 +17,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.artemis.util.async.SafeFuture.completedFuture;
 import static tech.pegasys.artemis.util.config.Constants.SLOTS_PER_EPOCH;
@@ -25,6 +27,7 @@ import com.google.common.primitives.UnsignedLong;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,6 +38,7 @@ import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.CommitteeAssignment;
 import tech.pegasys.artemis.datastructures.util.BeaconStateUtil;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.artemis.storage.Store;
 import tech.pegasys.artemis.storage.api.StorageQueryChannel;
 import tech.pegasys.artemis.util.async.SafeFuture;
@@ -404,6 +408,37 @@ class CombinedChainDataClientTest {
         .isCompletedWithValue(Optional.of(state));
   }
 
+  @Test
+  public void getSerializedBlockBySlot_returnPrecedingBlockWhenFinalizedSlotWasSkipped() {
+    final UnsignedLong skippedSlot = UnsignedLong.ONE;
+    final SignedBeaconBlock block = block(UnsignedLong.ZERO);
+    final Bytes32 blockRoot = block.getMessage().hash_tree_root();
+    final Bytes serialized = SimpleOffsetSerializer.serialize(block);
+    when(recentChainData.getFinalizedEpoch()).thenReturn(UnsignedLong.valueOf(10));
+    when(recentChainData.getBlockRootBySlot(skippedSlot)).thenReturn(Optional.of(blockRoot));
+    when(historicalChainData.getBlockByBlockRoot(blockRoot))
+        .thenReturn(completedFuture(Optional.of(block)));
+    when(historicalChainData.getSerializedBlockByBlockRoot(blockRoot))
+        .thenReturn(completedFuture(Optional.of(serialized)));
+
+    assertThat(client.getBlockBySlot(skippedSlot)).isCompletedWithValue(Optional.of(block));
+    assertThat(client.getSerializedBlockBySlot(skippedSlot))
+        .isCompletedWithValue(Optional.of(serialized));
+  }
+
+  @Test
+  public void getSerializedBlockBySlot_shouldSerializeBlockFromStore() {
+    final UnsignedLong slot = UnsignedLong.ONE;
+    final SignedBeaconBlock block = block(slot);
+    final Bytes32 blockRoot = block.getMessage().hash_tree_root();
+    when(recentChainData.getBlockRootBySlot(slot)).thenReturn(Optional.of(blockRoot));
+    when(store.getSignedBlock(blockRoot)).thenReturn(block);
+
+    assertThat(client.getSerializedBlockBySlot(slot))
+        .isCompletedWithValue(Optional.of(SimpleOffsetSerializer.serialize(block)));
+    verify(historicalChainData, never()).getSerializedBlockByBlockRoot(any());
+  }
+
   private SignedBeaconBlock block(final UnsignedLong slot) {
     return dataStructureUtil.randomSignedBeaconBlock(slot.longValue());
   }
@@ -23,11 +23,20 @@ import static org.mockito.Mockito.when;
 import com.google.common.primitives.UnsignedLong;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.bls.BLSKeyGenerator;
+import tech.pegasys.artemis.core.ChainBuilder;
+import tech.pegasys.artemis.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.datastructures.state.ValidatorPubKeyIndex;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
 import tech.pegasys.artemis.storage.Store;
 import tech.pegasys.artemis.storage.Store.Transaction;
@@ -55,7 +64,7 @@ class StoreTest {
           new HashMap<>(),
           new HashMap<>(),
           new HashMap<>(),
-          new HashMap<>());
+          new ValidatorVotes());
 
   @Test
   public void shouldApplyChangesWhenTransactionCommits() {
@@ -111,4 +120,89 @@ class StoreTest {
     assertEquals(time, store.getTime());
     assertEquals(genesisTime, store.getGenesisTime());
   }
+
+  @Test
+  public void shouldRegenerateBlockStatesEvictedFromCache() throws Exception {
+    final ChainBuilder chainBuilder = ChainBuilder.create(BLSKeyGenerator.generateKeyPairs(3));
+    final SignedBlockAndState genesis = chainBuilder.generateGenesis();
+    chainBuilder.generateBlocksUpToSlot(5);
+    final Store store = Store.getForkChoiceStore(genesis.getState(), 1);
+
+    final StorageUpdateChannel storageUpdateChannel = mock(StorageUpdateChannel.class);
+    when(storageUpdateChannel.onStorageUpdate(any()))
+        .thenReturn(
+            SafeFuture.completedFuture(
+                new SuccessfulStorageUpdateResult(Collections.emptySet(), Collections.emptySet())));
+    final Transaction transaction = store.startTransaction(storageUpdateChannel);
+    final List<SignedBlockAndState> blocksAndStates =
+        chainBuilder.streamBlocksAndStates(1, 5).collect(Collectors.toList());
+    blocksAndStates.forEach(
+        blockAndState -> {
+          transaction.putBlock(blockAndState.getRoot(), blockAndState.getBlock());
+          transaction.putBlockState(blockAndState.getRoot(), blockAndState.getState());
+        });
+    assertThat(transaction.commit()).isCompleted();
+
+    for (SignedBlockAndState blockAndState : blocksAndStates) {
+      assertThat(store.containsBlockState(blockAndState.getRoot())).isTrue();
+      assertThat(store.getBlockState(blockAndState.getRoot())).isEqualTo(blockAndState.getState());
+    }
+    // The finalized state is pinned so it is never evicted
+    assertThat(store.getBlockState(genesis.getRoot())).isSameAs(genesis.getState());
+  }
+
+  @Test
+  public void shouldLoadBlockStatesEvictedFromCacheFromStorage() throws Exception {
+    final ChainBuilder chainBuilder = ChainBuilder.create(BLSKeyGenerator.generateKeyPairs(3));
+    final SignedBlockAndState genesis = chainBuilder.generateGenesis();
+    chainBuilder.generateBlocksUpToSlot(5);
+    final Map<Bytes32, BeaconState> storedStates = new HashMap<>();
+    chainBuilder
+        .streamBlocksAndStates(1, 5)
+        .forEach(
+            blockAndState -> storedStates.put(blockAndState.getRoot(), blockAndState.getState()));
+    final Checkpoint anchorCheckpoint = new Checkpoint(UnsignedLong.ZERO, genesis.getRoot());
+    final Store store =
+        new Store(
+            INITIAL_TIME,
+            INITIAL_GENESIS_TIME,
+            anchorCheckpoint,
+            anchorCheckpoint,
+            anchorCheckpoint,
+            Map.of(genesis.getRoot(), genesis.getBlock()),
+            Map.of(genesis.getRoot(), genesis.getState()),
+            Map.of(anchorCheckpoint, genesis.getState()),
+            new ValidatorVotes(),
+            new ValidatorPubKeyIndex(),
+            1,
+            root -> Optional.ofNullable(storedStates.get(root)));
+
+    final StorageUpdateChannel storageUpdateChannel = mock(StorageUpdateChannel.class);
+    when(storageUpdateChannel.onStorageUpdate(any()))
+        .thenReturn(
+            SafeFuture.completedFuture(
+                new SuccessfulStorageUpdateResult(Collections.emptySet(), Collections.emptySet())));
+    final Transaction transaction = store.startTransaction(storageUpdateChannel);
+    final List<SignedBlockAndState> blocksAndStates =
+        chainBuilder.streamBlocksAndStates(1, 5).collect(Collectors.toList());
+    blocksAndStates.forEach(
+        blockAndState -> {
+          transaction.putBlock(blockAndState.getRoot(), blockAndState.getBlock());
+          transaction.putBlockState(blockAndState.getRoot(), blockAndState.getState());
+        });
+    assertThat(transaction.commit()).isCompleted();
+
+    // Replaying blocks would produce an equal but different instance
+    for (SignedBlockAndState blockAndState : blocksAndStates) {
+      assertThat(store.getBlockState(blockAndState.getRoot()))
+          .isSameAs(storedStates.get(blockAndState.getRoot()));
+    }
+  }
+
+  @Test
+  public void shouldNotRegenerateBlockStateWithUnknownAncestor() {
+    final Bytes32 blockRoot = dataStructureUtil.randomBytes32();
+    assertThat(store.containsBlockState(blockRoot)).isFalse();
+    assertThat(store.getBlockState(blockRoot)).isNull();
+  }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.common.primitives.UnsignedLong;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.pow.api.Eth1EventsChannel;
+import tech.pegasys.artemis.pow.api.ReplayDepositsResult;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
+
+public class DepositStorageTest {
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final Database database = mock(Database.class);
+  private final Eth1EventsChannel eth1EventsChannel = mock(Eth1EventsChannel.class);
+  private final DepositStorage depositStorage = DepositStorage.create(eth1EventsChannel, database);
+
+  private final DepositsFromBlockEvent block3 = createDepositsFromBlockEvent(3, 0);
+  private final DepositsFromBlockEvent block10 = createDepositsFromBlockEvent(10, 1);
+  private final DepositsFromBlockEvent block20 = createDepositsFromBlockEvent(20, 2);
+
+  @Test
+  public void replayDepositEvents_shouldReturnEmptyResultWhenNothingStored() {
+    when(database.getMinGenesisTimeBlock()).thenReturn(Optional.empty());
+    when(database.streamDepositsFromBlocks(UnsignedLong.ZERO)).thenReturn(Stream.empty());
+
+    assertThat(depositStorage.replayDepositEvents()).isEqualTo(ReplayDepositsResult.empty());
+    verifyNoInteractions(eth1EventsChannel);
+  }
+
+  @Test
+  public void replayDepositEvents_shouldReplayDepositsBeforeMinGenesis() {
+    when(database.getMinGenesisTimeBlock()).thenReturn(Optional.empty());
+    when(database.streamDepositsFromBlocks(UnsignedLong.ZERO))
+        .thenReturn(Stream.of(block3, block10));
+
+    assertThat(depositStorage.replayDepositEvents())
+        .isEqualTo(ReplayDepositsResult.create(BigInteger.valueOf(10), false));
+    final InOrder inOrder = inOrder(eth1EventsChannel);
+    inOrder.verify(eth1EventsChannel).onDepositsFromBlock(block3);
+    inOrder.verify(eth1EventsChannel).onDepositsFromBlock(block10);
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void replayDepositEvents_shouldSendMinGenesisBlockInBlockOrder() {
+    final MinGenesisTimeBlockEvent minGenesisTimeBlock = createMinGenesisTimeBlockEvent(15);
+    when(database.getMinGenesisTimeBlock()).thenReturn(Optional.of(minGenesisTimeBlock));
+    when(database.streamDepositsFromBlocks(UnsignedLong.ZERO))
+        .thenReturn(Stream.of(block3, block10, block20));
+
+    assertThat(depositStorage.replayDepositEvents())
+        .isEqualTo(ReplayDepositsResult.create(BigInteger.valueOf(20), true));
+    final InOrder inOrder = inOrder(eth1EventsChannel);
+    inOrder.verify(eth1EventsChannel).onDepositsFromBlock(block3);
+    inOrder.verify(eth1EventsChannel).onDepositsFromBlock(block10);
+    inOrder.verify(eth1EventsChannel).onMinGenesisTimeBlock(minGenesisTimeBlock);
+    inOrder.verify(eth1EventsChannel).onDepositsFromBlock(block20);
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void replayDepositEvents_shouldResumeAfterMinGenesisBlockWhenItIsTheLastEvent() {
+    final MinGenesisTimeBlockEvent minGenesisTimeBlock = createMinGenesisTimeBlockEvent(15);
+    when(database.getMinGenesisTimeBlock()).thenReturn(Optional.of(minGenesisTimeBlock));
+    when(database.streamDepositsFromBlocks(UnsignedLong.ZERO))
+        .thenReturn(Stream.of(block3, block10));
+
+    assertThat(depositStorage.replayDepositEvents())
+        .isEqualTo(ReplayDepositsResult.create(BigInteger.valueOf(15), true));
+    final InOrder inOrder = inOrder(eth1EventsChannel);
+    inOrder.verify(eth1EventsChannel).onDepositsFromBlock(block3);
+    inOrder.verify(eth1EventsChannel).onDepositsFromBlock(block10);
+    inOrder.verify(eth1EventsChannel).onMinGenesisTimeBlock(minGenesisTimeBlock);
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void replayDepositEvents_shouldSkipDepositsInSnapshotAndBeforeFinalizedDepositIndex() {
+    final MerkleTreeSnapshot snapshot = mock(MerkleTreeSnapshot.class);
+    when(snapshot.getNumberOfLeaves()).thenReturn(3);
+    final Bytes32 finalizedRoot = dataStructureUtil.randomBytes32();
+    final BeaconState finalizedState =
+        dataStructureUtil
+            .randomBeaconState()
+            .updated(state -> state.setEth1_deposit_index(UnsignedLong.valueOf(2)));
+    when(database.getMinGenesisTimeBlock()).thenReturn(Optional.empty());
+    when(database.getDepositTreeSnapshot()).thenReturn(Optional.of(snapshot));
+    when(database.getLatestFinalizedRootAtSlot(UnsignedLong.MAX_VALUE))
+        .thenReturn(Optional.of(finalizedRoot));
+    when(database.getState(finalizedRoot)).thenReturn(Optional.of(finalizedState));
+    when(database.streamDepositsFromBlocks(UnsignedLong.valueOf(2)))
+        .thenReturn(Stream.of(block20));
+
+    assertThat(depositStorage.replayDepositEvents())
+        .isEqualTo(ReplayDepositsResult.create(BigInteger.valueOf(20), false));
+    verify(database, never()).streamDepositsFromBlocks();
+    final InOrder inOrder = inOrder(eth1EventsChannel);
+    inOrder.verify(eth1EventsChannel).onDepositsFromBlock(block20);
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  private DepositsFromBlockEvent createDepositsFromBlockEvent(
+      final long blockNumber, final long depositIndex) {
+    return new DepositsFromBlockEvent(
+        UnsignedLong.valueOf(blockNumber),
+        dataStructureUtil.randomBytes32(),
+        dataStructureUtil.randomUnsignedLong(),
+        List.of(dataStructureUtil.randomDepositEvent(UnsignedLong.valueOf(depositIndex))));
+  }
+
+  private MinGenesisTimeBlockEvent createMinGenesisTimeBlockEvent(final long blockNumber) {
+    return new MinGenesisTimeBlockEvent(
+        dataStructureUtil.randomUnsignedLong(),
+        UnsignedLong.valueOf(blockNumber),
+        dataStructureUtil.randomBytes32());
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.primitives.UnsignedLong;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.pegasys.artemis.datastructures.forkchoice.ValidatorVotes;
+import tech.pegasys.artemis.storage.Store;
+import tech.pegasys.artemis.storage.Store.Transaction;
+import tech.pegasys.artemis.storage.events.StorageUpdate;
+import tech.pegasys.artemis.storage.events.StorageUpdateResult;
+import tech.pegasys.artemis.storage.server.rocksdb.AbstractRocksDbDatabaseTest;
+import tech.pegasys.artemis.storage.server.rocksdb.RocksDbConfiguration;
+import tech.pegasys.artemis.storage.server.rocksdb.RocksDbDatabase;
+import tech.pegasys.artemis.util.config.StateStorageMode;
+
+public class WriteBehindRocksDbDatabaseTest extends AbstractRocksDbDatabaseTest {
+
+  private Database delegate;
+
+  @Override
+  protected Database createDatabase(final File tempDir, final StateStorageMode storageMode) {
+    final RocksDbConfiguration config = RocksDbConfiguration.withDataDirectory(tempDir.toPath());
+    delegate = RocksDbDatabase.createV3(config, storageMode);
+    // Only flush when forced to so tests see the behaviour while updates are pending
+    return new WriteBehindDatabase(delegate, 1, TimeUnit.HOURS);
+  }
+
+  @Test
+  public void shouldServePendingBlocksAndStatesBeforeTheyAreWritten() {
+    add(List.of(checkpoint1BlockAndState));
+
+    assertThat(delegate.getSignedBlock(checkpoint1BlockAndState.getRoot())).isEmpty();
+    assertThat(database.getSignedBlock(checkpoint1BlockAndState.getRoot()))
+        .contains(checkpoint1BlockAndState.getBlock());
+    assertThat(database.getState(checkpoint1BlockAndState.getRoot()))
+        .contains(checkpoint1BlockAndState.getState());
+
+    ((WriteBehindDatabase) database).flush();
+
+    assertThat(delegate.getSignedBlock(checkpoint1BlockAndState.getRoot()))
+        .contains(checkpoint1BlockAndState.getBlock());
+    assertThat(delegate.getState(checkpoint1BlockAndState.getRoot()))
+        .contains(checkpoint1BlockAndState.getState());
+  }
+
+  @Test
+  public void shouldServePendingCheckpointStatesBeforeTheyAreWritten() {
+    addBlocks(checkpoint1BlockAndState.getBlock());
+    final Transaction transaction = store.startTransaction(storageUpdateChannel);
+    transaction.putCheckpointState(checkpoint1, checkpoint1BlockAndState.getState());
+    commit(transaction);
+
+    assertThat(delegate.getCheckpointState(checkpoint1)).isEmpty();
+    assertThat(database.getCheckpointState(checkpoint1))
+        .contains(checkpoint1BlockAndState.getState());
+
+    ((WriteBehindDatabase) database).flush();
+
+    assertThat(delegate.getCheckpointState(checkpoint1))
+        .contains(checkpoint1BlockAndState.getState());
+  }
+
+  @Test
+  public void shouldWriteUpdatesImmediatelyAfterRepeatedFlushFailures() throws Exception {
+    final Database failingDelegate = mock(Database.class);
+    final StorageUpdateResult failure =
+        StorageUpdateResult.failed(new IllegalStateException("Write failed"));
+    when(failingDelegate.update(any())).thenReturn(failure);
+    final WriteBehindDatabase writeBehindDatabase =
+        new WriteBehindDatabase(failingDelegate, 1, TimeUnit.HOURS);
+    final StorageUpdate update =
+        new StorageUpdate(
+            Optional.of(UnsignedLong.ONE),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Map.of(),
+            Map.of(),
+            Map.of(),
+            new ValidatorVotes());
+
+    // Deferred while the background writes are expected to recover
+    assertThat(writeBehindDatabase.update(update).isSuccessful()).isTrue();
+    for (int i = 0; i < WriteBehindDatabase.MAX_CONSECUTIVE_FLUSH_FAILURES; i++) {
+      assertThatThrownBy(writeBehindDatabase::flush).isSameAs(failure.getError());
+    }
+
+    // Now the failure is reported to the caller instead of the update being queued
+    assertThat(writeBehindDatabase.update(update).isSuccessful()).isFalse();
+    verify(failingDelegate, times(WriteBehindDatabase.MAX_CONSECUTIVE_FLUSH_FAILURES + 1))
+        .update(any());
+
+    // Once a write succeeds updates are deferred again
+    when(failingDelegate.update(any()))
+        .thenReturn(StorageUpdateResult.successfulWithNothingPruned());
+    writeBehindDatabase.flush();
+    assertThat(writeBehindDatabase.update(update).isSuccessful()).isTrue();
+    verify(failingDelegate, times(WriteBehindDatabase.MAX_CONSECUTIVE_FLUSH_FAILURES + 2))
+        .update(any());
+    writeBehindDatabase.close();
+  }
+
+  @Test
+  public void shouldWritePendingUpdatesBeforeFinalizing() {
+    add(List.of(checkpoint1BlockAndState));
+    finalizeCheckpoint(checkpoint1);
+
+    assertThat(delegate.getFinalizedRootAtSlot(checkpoint1BlockAndState.getSlot()))
+        .contains(checkpoint1BlockAndState.getRoot());
+    assertThat(delegate.getSignedBlock(checkpoint1BlockAndState.getRoot()))
+        .contains(checkpoint1BlockAndState.getBlock());
+  }
+
+  @Test
+  public void shouldWritePendingUpdatesOnClose(@TempDir final Path tempDir) throws Exception {
+    database = setupDatabase(tempDir.toFile(), StateStorageMode.PRUNE);
+    store = Store.getForkChoiceStore(genesisBlockAndState.getState());
+    database.storeGenesis(store);
+    add(List.of(checkpoint1BlockAndState));
+
+    database.close();
+    database = setupDatabase(tempDir.toFile(), StateStorageMode.PRUNE);
+
+    assertHotBlocksAndStatesInclude(List.of(checkpoint1BlockAndState));
+  }
+}
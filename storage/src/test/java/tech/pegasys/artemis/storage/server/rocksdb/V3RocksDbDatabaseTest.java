@@ -14,21 +14,45 @@
 package tech.pegasys.artemis.storage.server.rocksdb;
 
 import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
 
 import com.google.common.collect.Streams;
+import com.google.common.primitives.UnsignedLong;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import tech.pegasys.artemis.core.ChainBuilder;
+import tech.pegasys.artemis.core.StateTransition;
 import tech.pegasys.artemis.datastructures.blocks.SignedBlockAndState;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
+import tech.pegasys.artemis.datastructures.state.ValidatorPubKeyIndex;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.datastructures.util.MerkleTree;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+import tech.pegasys.artemis.datastructures.util.OptimizedMerkleTree;
+import tech.pegasys.artemis.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.artemis.storage.Store;
+import tech.pegasys.artemis.storage.api.TrackingStorageUpdateChannel;
 import tech.pegasys.artemis.storage.server.Database;
+import tech.pegasys.artemis.storage.server.rocksdb.core.RocksDbInstanceFactory;
+import tech.pegasys.artemis.storage.server.rocksdb.dataaccess.V3RocksDbDao;
+import tech.pegasys.artemis.storage.server.rocksdb.schema.V3Schema;
+import tech.pegasys.artemis.util.config.ArtemisConfiguration;
 import tech.pegasys.artemis.util.config.StateStorageMode;
 
 public class V3RocksDbDatabaseTest extends AbstractRocksDbDatabaseTest {
@@ -51,6 +75,256 @@ public class V3RocksDbDatabaseTest extends AbstractRocksDbDatabaseTest {
     testShouldHandleRestartWithUnrecoverableForkBlocks(tempDir, StateStorageMode.PRUNE);
   }
 
+  @Test
+  public void shouldReconstructFinalizedStatesFromSnapshotsAndDiffs(@TempDir final Path tempDir)
+      throws Exception {
+    final ChainBuilder chain = ChainBuilder.create(VALIDATOR_KEYS);
+    final SignedBlockAndState genesis = chain.generateGenesis();
+    // Span several snapshot periods
+    chain.generateBlocksUpToSlot(compute_start_slot_at_epoch(UnsignedLong.valueOf(3)));
+
+    final RocksDbConfiguration config = RocksDbConfiguration.withDataDirectory(tempDir);
+    database =
+        RocksDbDatabase.createV3(
+            config,
+            StateStorageMode.ARCHIVE,
+            UnsignedLong.ONE,
+            ArtemisConfiguration.DEFAULT_DATA_HOT_STATE_CACHE_SIZE);
+    databases.add(database);
+    storageUpdateChannel = new TrackingStorageUpdateChannel(database);
+    store = Store.getForkChoiceStore(genesis.getState());
+    database.storeGenesis(store);
+
+    final List<SignedBlockAndState> blocksAndStates =
+        chain.streamBlocksAndStates().collect(toList());
+    add(blocksAndStates);
+    finalizeCheckpoint(getCheckpointForBlock(chain.getLatestBlockAndState().getBlock()));
+
+    // Close database and rebuild from disk
+    database.close();
+    database =
+        RocksDbDatabase.createV3(
+            config,
+            StateStorageMode.ARCHIVE,
+            UnsignedLong.ONE,
+            ArtemisConfiguration.DEFAULT_DATA_HOT_STATE_CACHE_SIZE);
+    databases.add(database);
+
+    final Map<Bytes32, BeaconState> expectedStates =
+        blocksAndStates.stream()
+            .collect(Collectors.toMap(SignedBlockAndState::getRoot, SignedBlockAndState::getState));
+    assertStatesAvailable(expectedStates);
+  }
+
+  @Test
+  public void shouldPruneHotBlocksStoredBeforeRestart(@TempDir final Path tempDir)
+      throws Exception {
+    final ChainBuilder chain = ChainBuilder.create(VALIDATOR_KEYS);
+    final SignedBlockAndState genesis = chain.generateGenesis();
+    final UnsignedLong finalizedSlot = compute_start_slot_at_epoch(UnsignedLong.ONE);
+    chain.generateBlocksUpToSlot(finalizedSlot);
+
+    database = setupDatabase(tempDir.toFile(), StateStorageMode.PRUNE);
+    store = Store.getForkChoiceStore(genesis.getState());
+    database.storeGenesis(store);
+    add(chain.streamBlocksAndStates(UnsignedLong.ONE, finalizedSlot).collect(toList()));
+
+    // Close database and rebuild from disk
+    database.close();
+    database = setupDatabase(tempDir.toFile(), StateStorageMode.PRUNE);
+    store = database.createMemoryStore().orElseThrow();
+
+    finalizeCheckpoint(getCheckpointForBlock(chain.getBlockAtSlot(finalizedSlot)));
+
+    final Set<Bytes32> expectedPrunedRoots =
+        chain
+            .streamBlocksAndStatesUpTo(finalizedSlot.minus(UnsignedLong.ONE))
+            .map(SignedBlockAndState::getRoot)
+            .collect(Collectors.toSet());
+    assertThat(getLatestUpdateResult().getPrunedBlockRoots())
+        .containsExactlyInAnyOrderElementsOf(expectedPrunedRoots);
+  }
+
+  @Test
+  public void shouldLoadStoredHotStatesOnRestartWithoutReplayingBlocks(@TempDir final Path tempDir)
+      throws Exception {
+    final ChainBuilder chain = ChainBuilder.create(VALIDATOR_KEYS);
+    final SignedBlockAndState genesis = chain.generateGenesis();
+    chain.generateBlocksUpToSlot(10);
+
+    database = setupDatabase(tempDir.toFile(), StateStorageMode.PRUNE);
+    store = Store.getForkChoiceStore(genesis.getState());
+    database.storeGenesis(store);
+    final List<SignedBlockAndState> blocksAndStates =
+        chain.streamBlocksAndStates(1, 10).collect(toList());
+    add(blocksAndStates);
+    database.close();
+
+    final StateTransition stateTransition = mock(StateTransition.class);
+    final RocksDbConfiguration config = RocksDbConfiguration.withDataDirectory(tempDir);
+    try (final V3RocksDbDao dao =
+        new V3RocksDbDao(
+            RocksDbInstanceFactory.create(config, V3Schema.class),
+            ArtemisConfiguration.DEFAULT_DATA_HOT_STATE_CACHE_SIZE,
+            stateTransition)) {
+      // Only the finalized state is cached on startup, the rest are loaded from storage on demand
+      for (SignedBlockAndState blockAndState : blocksAndStates) {
+        assertThat(dao.getHotState(blockAndState.getRoot())).contains(blockAndState.getState());
+      }
+    }
+    verifyNoInteractions(stateTransition);
+  }
+
+  @Test
+  public void shouldLoadHotStatesEvictedFromCache(@TempDir final Path tempDir) throws Exception {
+    final ChainBuilder chain = ChainBuilder.create(VALIDATOR_KEYS);
+    final SignedBlockAndState genesis = chain.generateGenesis();
+    chain.generateBlocksUpToSlot(10);
+
+    final RocksDbConfiguration config = RocksDbConfiguration.withDataDirectory(tempDir);
+    database = RocksDbDatabase.createV3(config, StateStorageMode.PRUNE, UnsignedLong.ONE, 2);
+    databases.add(database);
+    storageUpdateChannel = new TrackingStorageUpdateChannel(database);
+    store = Store.getForkChoiceStore(genesis.getState(), 2);
+    database.storeGenesis(store);
+
+    final List<SignedBlockAndState> blocksAndStates =
+        chain.streamBlocksAndStates(1, 10).collect(toList());
+    add(blocksAndStates);
+
+    final Map<Bytes32, BeaconState> expectedStates =
+        blocksAndStates.stream()
+            .collect(Collectors.toMap(SignedBlockAndState::getRoot, SignedBlockAndState::getState));
+    assertStatesAvailable(expectedStates);
+    assertHotBlocksAndStatesInclude(blocksAndStates);
+  }
+
+  @Test
+  public void shouldGetSerializedFinalizedBlocksInSlotRange(@TempDir final Path tempDir)
+      throws Exception {
+    final ChainBuilder chain = ChainBuilder.create(VALIDATOR_KEYS);
+    final SignedBlockAndState genesis = chain.generateGenesis();
+    final UnsignedLong finalizedSlot = compute_start_slot_at_epoch(UnsignedLong.ONE);
+    chain.generateBlocksUpToSlot(finalizedSlot);
+
+    database = setupDatabase(tempDir.toFile(), StateStorageMode.PRUNE);
+    store = Store.getForkChoiceStore(genesis.getState());
+    database.storeGenesis(store);
+    add(chain.streamBlocksAndStates(UnsignedLong.ONE, finalizedSlot).collect(toList()));
+    finalizeCheckpoint(getCheckpointForBlock(chain.getBlockAtSlot(finalizedSlot)));
+
+    final List<Bytes> expected =
+        Stream.of(2, 4, 6)
+            .map(slot -> SimpleOffsetSerializer.serialize(chain.getBlockAtSlot(slot)))
+            .collect(toList());
+    assertThat(
+            database.getSerializedFinalizedBlocks(
+                UnsignedLong.valueOf(2), UnsignedLong.valueOf(7), UnsignedLong.valueOf(2)))
+        .containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  public void shouldPersistValidatorPubKeysOfFinalizedState(@TempDir final Path tempDir)
+      throws Exception {
+    final BeaconState genesisState = genesisBlockAndState.getState();
+    database = setupDatabase(tempDir.toFile(), StateStorageMode.PRUNE);
+    store = Store.getForkChoiceStore(genesisState);
+    database.storeGenesis(store);
+    database.close();
+
+    final List<Bytes48> expected =
+        genesisState.getValidators().stream()
+            .map(ValidatorPubKeyIndex::getPubKeyBytes)
+            .collect(toList());
+    final RocksDbConfiguration config = RocksDbConfiguration.withDataDirectory(tempDir);
+    try (final V3RocksDbDao dao =
+        new V3RocksDbDao(RocksDbInstanceFactory.create(config, V3Schema.class), 1)) {
+      assertThat(dao.getValidatorPubKeyCount()).isEqualTo(expected.size());
+      assertThat(dao.getValidatorPubKeys()).containsExactlyElementsOf(expected);
+    }
+  }
+
+  @Test
+  public void shouldPersistDepositEventsInBlockOrder(@TempDir final Path tempDir)
+      throws Exception {
+    final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+    final DepositsFromBlockEvent event1 = randomDepositsFromBlockEvent(dataStructureUtil, 3, 0);
+    final DepositsFromBlockEvent event2 = randomDepositsFromBlockEvent(dataStructureUtil, 10, 1);
+    final MinGenesisTimeBlockEvent minGenesisTimeBlock =
+        new MinGenesisTimeBlockEvent(
+            dataStructureUtil.randomUnsignedLong(),
+            UnsignedLong.valueOf(12),
+            dataStructureUtil.randomBytes32());
+    database = setupDatabase(tempDir.toFile(), StateStorageMode.PRUNE);
+    database.addDepositsFromBlockEvent(event1);
+    database.addDepositsFromBlockEvent(event2);
+    // Replayed events for blocks which are already stored are ignored
+    database.addDepositsFromBlockEvent(randomDepositsFromBlockEvent(dataStructureUtil, 3, 0));
+    database.addMinGenesisTimeBlock(minGenesisTimeBlock);
+
+    database.close();
+    database = setupDatabase(tempDir.toFile(), StateStorageMode.PRUNE);
+
+    try (final Stream<DepositsFromBlockEvent> events = database.streamDepositsFromBlocks()) {
+      assertThat(events).containsExactly(event1, event2);
+    }
+    assertThat(database.getMinGenesisTimeBlock()).contains(minGenesisTimeBlock);
+  }
+
+  @Test
+  public void shouldStreamDepositEventsFromEventIncludingDepositIndex(@TempDir final Path tempDir) {
+    final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+    final DepositsFromBlockEvent event1 = randomDepositsFromBlockEvent(dataStructureUtil, 3, 0);
+    final DepositsFromBlockEvent event2 = randomDepositsFromBlockEvent(dataStructureUtil, 10, 1);
+    final DepositsFromBlockEvent event3 = randomDepositsFromBlockEvent(dataStructureUtil, 20, 5);
+    database = setupDatabase(tempDir.toFile(), StateStorageMode.PRUNE);
+    database.addDepositsFromBlockEvent(event1);
+    database.addDepositsFromBlockEvent(event2);
+    database.addDepositsFromBlockEvent(event3);
+
+    assertDepositsFromBlocks(UnsignedLong.ZERO, event1, event2, event3);
+    assertDepositsFromBlocks(UnsignedLong.ONE, event2, event3);
+    // Starts from the last event beginning at or before the requested deposit
+    assertDepositsFromBlocks(UnsignedLong.valueOf(3), event2, event3);
+    assertDepositsFromBlocks(UnsignedLong.valueOf(5), event3);
+    assertDepositsFromBlocks(UnsignedLong.valueOf(100), event3);
+  }
+
+  private void assertDepositsFromBlocks(
+      final UnsignedLong fromDepositIndex, final DepositsFromBlockEvent... expected) {
+    try (final Stream<DepositsFromBlockEvent> events =
+        database.streamDepositsFromBlocks(fromDepositIndex)) {
+      assertThat(events).containsExactly(expected);
+    }
+  }
+
+  @Test
+  public void shouldPersistDepositTreeSnapshot(@TempDir final Path tempDir) throws Exception {
+    final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+    final MerkleTree tree = new OptimizedMerkleTree(32);
+    for (int i = 0; i < 5; i++) {
+      tree.add(dataStructureUtil.randomBytes32());
+    }
+    final MerkleTreeSnapshot snapshot = tree.getSnapshot();
+    database = setupDatabase(tempDir.toFile(), StateStorageMode.PRUNE);
+    assertThat(database.getDepositTreeSnapshot()).isEmpty();
+    database.storeDepositTreeSnapshot(snapshot);
+
+    database.close();
+    database = setupDatabase(tempDir.toFile(), StateStorageMode.PRUNE);
+
+    assertThat(database.getDepositTreeSnapshot()).contains(snapshot);
+  }
+
+  private DepositsFromBlockEvent randomDepositsFromBlockEvent(
+      final DataStructureUtil dataStructureUtil, final long blockNumber, final long depositIndex) {
+    return new DepositsFromBlockEvent(
+        UnsignedLong.valueOf(blockNumber),
+        dataStructureUtil.randomBytes32(),
+        dataStructureUtil.randomUnsignedLong(),
+        List.of(dataStructureUtil.randomDepositEvent(UnsignedLong.valueOf(depositIndex))));
+  }
+
   private void testShouldHandleRestartWithUnrecoverableForkBlocks(
       @TempDir final Path tempDir, final StateStorageMode storageMode) throws Exception {
     // Setup chains
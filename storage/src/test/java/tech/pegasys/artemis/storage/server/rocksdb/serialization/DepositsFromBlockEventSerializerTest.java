@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
+
+public class DepositsFromBlockEventSerializerTest {
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final DepositsFromBlockEventSerializer serializer =
+      new DepositsFromBlockEventSerializer();
+
+  @Test
+  public void roundTrip_singleDeposit() {
+    assertRoundTrip(
+        new DepositsFromBlockEvent(
+            UnsignedLong.valueOf(100),
+            dataStructureUtil.randomBytes32(),
+            dataStructureUtil.randomUnsignedLong(),
+            List.of(dataStructureUtil.randomDepositEvent(UnsignedLong.ZERO))));
+  }
+
+  @Test
+  public void roundTrip_multipleDeposits() {
+    assertRoundTrip(
+        new DepositsFromBlockEvent(
+            UnsignedLong.MAX_VALUE,
+            dataStructureUtil.randomBytes32(),
+            dataStructureUtil.randomUnsignedLong(),
+            List.of(
+                dataStructureUtil.randomDepositEvent(UnsignedLong.valueOf(5)),
+                dataStructureUtil.randomDepositEvent(UnsignedLong.valueOf(6)),
+                dataStructureUtil.randomDepositEvent(UnsignedLong.valueOf(7)))));
+  }
+
+  private void assertRoundTrip(final DepositsFromBlockEvent value) {
+    final byte[] bytes = serializer.serialize(value);
+    final DepositsFromBlockEvent deserialized = serializer.deserialize(bytes);
+    assertThat(deserialized).isEqualTo(value);
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.datastructures.util.MerkleTree;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
+import tech.pegasys.artemis.datastructures.util.OptimizedMerkleTree;
+
+public class MerkleTreeSnapshotSerializerTest {
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final MerkleTreeSnapshotSerializer serializer = new MerkleTreeSnapshotSerializer();
+
+  @Test
+  public void roundTrip_emptyTree() {
+    assertRoundTrip(new OptimizedMerkleTree(32).getSnapshot());
+  }
+
+  @Test
+  public void roundTrip_treeWithLeaves() {
+    final MerkleTree tree = new OptimizedMerkleTree(32);
+    for (int i = 0; i < 13; i++) {
+      tree.add(dataStructureUtil.randomBytes32());
+    }
+    final MerkleTreeSnapshot snapshot = tree.getSnapshot();
+    assertRoundTrip(snapshot);
+
+    final MerkleTreeSnapshot deserialized = serializer.deserialize(serializer.serialize(snapshot));
+    assertThat(OptimizedMerkleTree.fromSnapshot(deserialized).getRoot()).isEqualTo(tree.getRoot());
+  }
+
+  private void assertRoundTrip(final MerkleTreeSnapshot value) {
+    final byte[] bytes = serializer.serialize(value);
+    final MerkleTreeSnapshot deserialized = serializer.deserialize(bytes);
+    assertThat(deserialized).isEqualTo(value);
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.UnsignedLong;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.storage.server.rocksdb.state.StateDiff;
+
+public class StateDiffSerializerTest {
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final StateDiffSerializer serializer = new StateDiffSerializer();
+
+  @Test
+  public void roundTrip() {
+    final BeaconState baseState = dataStructureUtil.randomBeaconState(11);
+    final BeaconState state =
+        baseState.updated(
+            mutableState -> {
+              mutableState.setSlot(baseState.getSlot().plus(UnsignedLong.ONE));
+              mutableState.getBalances().set(3, dataStructureUtil.randomUnsignedLong());
+              mutableState.getValidators().add(dataStructureUtil.randomValidator());
+              mutableState.getBalances().add(dataStructureUtil.randomUnsignedLong());
+            });
+    final StateDiff value = StateDiff.create(dataStructureUtil.randomBytes32(), baseState, state);
+
+    final byte[] bytes = serializer.serialize(value);
+    final StateDiff deserialized = serializer.deserialize(bytes);
+
+    assertThat(deserialized).isEqualTo(value);
+    assertThat(deserialized.apply(baseState)).isEqualTo(state);
+  }
+
+  @Test
+  public void roundTrip_emptyDiff() {
+    final BeaconState state = dataStructureUtil.randomBeaconState(11);
+    final StateDiff value = StateDiff.create(dataStructureUtil.randomBytes32(), state, state);
+
+    final StateDiff deserialized = serializer.deserialize(serializer.serialize(value));
+
+    assertThat(deserialized.getUpdates()).isEmpty();
+    assertThat(deserialized.apply(state)).isEqualTo(state);
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.storage.server.rocksdb.state.StoredBranchNode;
+
+public class StoredBranchNodeSerializerTest {
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final StoredBranchNodeSerializer serializer = new StoredBranchNodeSerializer();
+
+  @Test
+  public void roundTrip_branchChildren() {
+    assertRoundTrip(
+        new StoredBranchNode(
+            dataStructureUtil.randomBytes32(), false, dataStructureUtil.randomBytes32(), false, 1));
+  }
+
+  @Test
+  public void roundTrip_leafChildren() {
+    assertRoundTrip(
+        new StoredBranchNode(
+            dataStructureUtil.randomBytes32(), true, dataStructureUtil.randomBytes32(), true, 7));
+  }
+
+  @Test
+  public void roundTrip_mixedChildren() {
+    assertRoundTrip(
+        new StoredBranchNode(
+            dataStructureUtil.randomBytes32(),
+            false,
+            dataStructureUtil.randomBytes32(),
+            true,
+            Integer.MAX_VALUE));
+  }
+
+  private void assertRoundTrip(final StoredBranchNode value) {
+    final byte[] bytes = serializer.serialize(value);
+    final StoredBranchNode deserialized = serializer.deserialize(bytes);
+    assertThat(deserialized).isEqualTo(value);
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.UnsignedLong;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.artemis.datastructures.forkchoice.ValidatorVotes;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+
+public class ValidatorVotesSerializerTest {
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final ValidatorVotesSerializer serializer = new ValidatorVotesSerializer();
+
+  @Test
+  public void roundTrip_empty() {
+    assertRoundTrip(new ValidatorVotes());
+  }
+
+  @Test
+  public void roundTrip_sparseVotes() {
+    final ValidatorVotes votes = new ValidatorVotes();
+    votes.put(1027, dataStructureUtil.randomVoteTracker());
+    votes.put(1500, dataStructureUtil.randomVoteTracker());
+    votes.put(2047, dataStructureUtil.randomVoteTracker());
+    assertRoundTrip(votes);
+  }
+
+  @Test
+  public void roundTrip_sharedRoots() {
+    final Bytes32 currentRoot = dataStructureUtil.randomBytes32();
+    final Bytes32 nextRoot = dataStructureUtil.randomBytes32();
+    final ValidatorVotes votes = new ValidatorVotes();
+    for (int i = 0; i < 100; i++) {
+      votes.set(i, currentRoot, nextRoot, UnsignedLong.valueOf(i));
+    }
+    assertRoundTrip(votes);
+  }
+
+  @Test
+  public void serialize_shouldWriteEachDistinctRootOnce() {
+    final Bytes32 root = dataStructureUtil.randomBytes32();
+    final ValidatorVotes votes = new ValidatorVotes();
+    for (int i = 0; i < 1024; i++) {
+      votes.set(i, root, root, UnsignedLong.ONE);
+    }
+    final byte[] bytes = serializer.serialize(votes);
+    // Range, bitmap, root count, one root and the root positions and epoch of each vote
+    assertThat(bytes).hasSize(8 + 128 + 2 + Bytes32.SIZE + 1024 * 12);
+  }
+
+  private void assertRoundTrip(final ValidatorVotes value) {
+    final byte[] bytes = serializer.serialize(value);
+    final ValidatorVotes deserialized = serializer.deserialize(bytes);
+    assertThat(deserialized).isEqualTo(value);
+  }
+}
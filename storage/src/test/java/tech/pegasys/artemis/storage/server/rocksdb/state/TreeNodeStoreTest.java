@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.storage.server.rocksdb.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.primitives.UnsignedLong;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.ssz.backing.tree.TreeNode;
+import tech.pegasys.artemis.storage.server.rocksdb.RocksDbConfiguration;
+import tech.pegasys.artemis.storage.server.rocksdb.core.RocksDbInstance;
+import tech.pegasys.artemis.storage.server.rocksdb.core.RocksDbInstance.Transaction;
+import tech.pegasys.artemis.storage.server.rocksdb.core.RocksDbInstanceFactory;
+import tech.pegasys.artemis.storage.server.rocksdb.schema.V3Schema;
+
+public class TreeNodeStoreTest {
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final BeaconState state = dataStructureUtil.randomBeaconState(11);
+  private final BeaconState updatedState =
+      state.updated(
+          mutableState -> {
+            mutableState.setSlot(state.getSlot().plus(UnsignedLong.ONE));
+            mutableState.getBalances().set(3, dataStructureUtil.randomUnsignedLong());
+            mutableState.getValidators().add(dataStructureUtil.randomValidator());
+            mutableState.getBalances().add(dataStructureUtil.randomUnsignedLong());
+          });
+
+  private RocksDbInstance db;
+  private TreeNodeStore treeNodeStore;
+
+  @BeforeEach
+  public void setup(@TempDir final Path tempDir) {
+    db =
+        RocksDbInstanceFactory.create(
+            RocksDbConfiguration.withDataDirectory(tempDir), V3Schema.class);
+    treeNodeStore = new TreeNodeStore(db, V3Schema.STATE_TREE_NODES_BY_ROOT);
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    db.close();
+  }
+
+  @Test
+  public void load_shouldReturnEmptyWhenTreeIsNotStored() {
+    assertThat(treeNodeStore.load(state.hash_tree_root())).isEmpty();
+  }
+
+  @Test
+  public void load_shouldReturnStoredTree() {
+    update(tx -> treeNodeStore.store(tx, state.getBackingNode()));
+
+    assertThat(loadState(state.hash_tree_root())).contains(state);
+  }
+
+  @Test
+  public void load_shouldShareCachedNodesBetweenLoadedTrees() {
+    update(tx -> treeNodeStore.store(tx, state.getBackingNode()));
+    final long initialHits = treeNodeStore.getNodeCacheStats().hitCount();
+
+    final TreeNode loadedNode = treeNodeStore.load(state.hash_tree_root()).orElseThrow();
+
+    assertThat(treeNodeStore.load(state.hash_tree_root())).containsSame(loadedNode);
+    assertThat(treeNodeStore.getNodeCacheStats().hitCount()).isGreaterThan(initialHits);
+  }
+
+  @Test
+  public void load_shouldBoundNodeCache() {
+    final TreeNodeStore boundedStore = new TreeNodeStore(db, V3Schema.STATE_TREE_NODES_BY_ROOT, 1);
+    update(tx -> boundedStore.store(tx, state.getBackingNode()));
+
+    final TreeNode loadedNode = boundedStore.load(state.hash_tree_root()).orElseThrow();
+
+    assertThat(BeaconState.getSSZType().createFromBackingNode(loadedNode)).isEqualTo(state);
+    assertThat(boundedStore.getNodeCacheStats().evictionCount()).isPositive();
+  }
+
+  @Test
+  public void loadLazily_shouldReturnEmptyWhenTreeIsNotStored() {
+    assertThat(treeNodeStore.loadLazily(state.hash_tree_root())).isEmpty();
+  }
+
+  @Test
+  public void loadLazily_shouldLoadFieldsOnAccess() {
+    update(tx -> treeNodeStore.store(tx, updatedState.getBackingNode()));
+
+    final BeaconState loadedState =
+        BeaconState.getSSZType()
+            .createFromBackingNode(treeNodeStore.loadLazily(updatedState.hash_tree_root()).get());
+
+    assertThat(loadedState.getSlot()).isEqualTo(updatedState.getSlot());
+    assertThat(loadedState.getValidators().size()).isEqualTo(updatedState.getValidators().size());
+    assertThat(loadedState.getValidators().get(11).getPubkey())
+        .isEqualTo(updatedState.getValidators().get(11).getPubkey());
+    assertThat(loadedState.getBalances().get(3)).isEqualTo(updatedState.getBalances().get(3));
+  }
+
+  @Test
+  public void loadLazily_shouldOnlyReadAccessedSubtrees() {
+    update(tx -> treeNodeStore.store(tx, updatedState.getBackingNode()));
+    final TreeNodeStore spyStore = spy(treeNodeStore);
+
+    final BeaconState loadedState =
+        BeaconState.getSSZType()
+            .createFromBackingNode(spyStore.loadLazily(updatedState.hash_tree_root()).get());
+    assertThat(loadedState.getValidators().get(11).getPubkey())
+        .isEqualTo(updatedState.getValidators().get(11).getPubkey());
+
+    final ArgumentCaptor<Bytes32> readRoots = ArgumentCaptor.forClass(Bytes32.class);
+    verify(spyStore, atLeastOnce()).getStoredNode(readRoots.capture());
+    assertThat(readRoots.getAllValues())
+        .contains(updatedState.getValidators().hash_tree_root())
+        .doesNotContain(
+            updatedState.getBalances().hash_tree_root(),
+            updatedState.getBlock_roots().hash_tree_root(),
+            updatedState.getRandao_mixes().hash_tree_root());
+    assertThat((long) readRoots.getAllValues().size()).isLessThan(countStoredNodes());
+  }
+
+  @Test
+  public void loadLazily_shouldSupportUpdatingLoadedState() {
+    update(tx -> treeNodeStore.store(tx, state.getBackingNode()));
+    final BeaconState loadedState =
+        BeaconState.getSSZType()
+            .createFromBackingNode(treeNodeStore.loadLazily(state.hash_tree_root()).get());
+
+    final StateDiff diff = StateDiff.create(dataStructureUtil.randomBytes32(), state, updatedState);
+
+    assertThat(diff.apply(loadedState).getBackingNode().hashTreeRoot())
+        .isEqualTo(updatedState.hash_tree_root());
+  }
+
+  @Test
+  public void release_shouldKeepNodesSharedWithOtherTrees() {
+    update(tx -> treeNodeStore.store(tx, state.getBackingNode()));
+    final long nodeCount = countStoredNodes();
+    update(tx -> treeNodeStore.store(tx, updatedState.getBackingNode()));
+    // Only the changed nodes are added
+    assertThat(countStoredNodes()).isLessThan(nodeCount * 2);
+
+    update(tx -> treeNodeStore.release(tx, state.hash_tree_root()));
+
+    assertThat(treeNodeStore.load(state.hash_tree_root())).isEmpty();
+    assertThat(loadState(updatedState.hash_tree_root())).contains(updatedState);
+  }
+
+  @Test
+  public void release_shouldDeleteAllNodesWhenLastReferenceIsReleased() {
+    update(tx -> treeNodeStore.store(tx, state.getBackingNode()));
+    update(tx -> treeNodeStore.store(tx, state.getBackingNode()));
+    update(tx -> treeNodeStore.store(tx, updatedState.getBackingNode()));
+
+    update(tx -> treeNodeStore.release(tx, state.hash_tree_root()));
+    assertThat(loadState(state.hash_tree_root())).contains(state);
+
+    update(tx -> treeNodeStore.release(tx, state.hash_tree_root()));
+    update(tx -> treeNodeStore.release(tx, updatedState.hash_tree_root()));
+    assertThat(countStoredNodes()).isZero();
+  }
+
+  private Optional<BeaconState> loadState(final Bytes32 root) {
+    final Optional<TreeNode> node = treeNodeStore.load(root);
+    return node.map(BeaconState.getSSZType()::createFromBackingNode);
+  }
+
+  private long countStoredNodes() {
+    try (final Stream<?> nodes = db.stream(V3Schema.STATE_TREE_NODES_BY_ROOT)) {
+      return nodes.count();
+    }
+  }
+
+  private void update(final Consumer<Transaction> action) {
+    try (final Transaction transaction = db.startTransaction()) {
+      action.accept(transaction);
+      transaction.commit();
+    }
+  }
+}
@@ -14,10 +14,14 @@
 package tech.pegasys.artemis.storage.api;
 
 import com.google.common.primitives.UnsignedLong;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
 import tech.pegasys.artemis.util.async.SafeFuture;
 
 public class StubStorageQueryChannel implements StorageQueryChannel {
@@ -37,6 +41,17 @@ public class StubStorageQueryChannel implements StorageQueryChannel {
     return SafeFuture.completedFuture(Optional.empty());
   }
 
+  @Override
+  public SafeFuture<Optional<Bytes>> getSerializedBlockByBlockRoot(Bytes32 blockRoot) {
+    return SafeFuture.completedFuture(Optional.empty());
+  }
+
+  @Override
+  public SafeFuture<List<Bytes>> getSerializedFinalizedBlocks(
+      UnsignedLong startSlot, UnsignedLong endSlot, UnsignedLong step) {
+    return SafeFuture.completedFuture(Collections.emptyList());
+  }
+
   @Override
   public SafeFuture<Optional<BeaconState>> getLatestFinalizedStateAtSlot(UnsignedLong slot) {
     return SafeFuture.completedFuture(Optional.empty());
@@ -46,4 +61,9 @@ public class StubStorageQueryChannel implements StorageQueryChannel {
   public SafeFuture<Optional<BeaconState>> getFinalizedStateByBlockRoot(Bytes32 blockRoot) {
     return SafeFuture.completedFuture(Optional.empty());
   }
+
+  @Override
+  public SafeFuture<Optional<MerkleTreeSnapshot>> getDepositTreeSnapshot() {
+    return SafeFuture.completedFuture(Optional.empty());
+  }
 }
@@ -14,6 +14,7 @@
 package tech.pegasys.artemis.storage.api;
 
 import java.util.Optional;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
 import tech.pegasys.artemis.storage.Store;
 import tech.pegasys.artemis.storage.events.StorageUpdate;
 import tech.pegasys.artemis.storage.events.StorageUpdateResult;
@@ -33,4 +34,7 @@ public class StubStorageUpdateChannel implements StorageUpdateChannel {
 
   @Override
   public void onGenesis(Store store) {}
+
+  @Override
+  public void onDepositTreeSnapshot(MerkleTreeSnapshot snapshot) {}
 }
@@ -16,6 +16,7 @@ package tech.pegasys.artemis.storage.api;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
 import tech.pegasys.artemis.storage.Store;
 import tech.pegasys.artemis.storage.events.StorageUpdate;
 import tech.pegasys.artemis.storage.events.StorageUpdateResult;
@@ -51,4 +52,7 @@ public class TrackingStorageUpdateChannel implements StorageUpdateChannel {
 
   @Override
   public void onGenesis(Store store) {}
+
+  @Override
+  public void onDepositTreeSnapshot(MerkleTreeSnapshot snapshot) {}
 }
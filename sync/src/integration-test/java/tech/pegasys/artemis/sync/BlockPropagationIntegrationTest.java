@@ -28,6 +28,7 @@ import tech.pegasys.artemis.bls.BLSKeyGenerator;
 import tech.pegasys.artemis.bls.BLSKeyPair;
 import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.artemis.networking.eth2.Eth2NetworkFactory;
+import tech.pegasys.artemis.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.artemis.networking.eth2.rpc.core.encodings.RpcEncoding;
 import tech.pegasys.artemis.statetransition.events.block.ProposedBlockEvent;
 import tech.pegasys.artemis.util.Waiter;
@@ -43,19 +44,24 @@ public class BlockPropagationIntegrationTest {
   }
 
   public static Stream<Arguments> getEncodings() {
-    final List<RpcEncoding> encodings = List.of(RpcEncoding.SSZ, RpcEncoding.SSZ_SNAPPY);
-    return encodings.stream().map(e -> Arguments.of(e.getName(), e));
+    return Stream.of(
+        Arguments.of("ssz", RpcEncoding.SSZ, GossipEncoding.SSZ),
+        Arguments.of("ssz_snappy", RpcEncoding.SSZ_SNAPPY, GossipEncoding.SSZ_SNAPPY));
   }
 
   @ParameterizedTest(name = "encoding: {0}")
   @MethodSource("getEncodings")
   public void shouldFetchUnknownAncestorsOfPropagatedBlock(
-      final String encodingName, final RpcEncoding encoding) throws Exception {
+      final String encodingName, final RpcEncoding encoding, final GossipEncoding gossipEncoding)
+      throws Exception {
     UnsignedLong currentSlot = UnsignedLong.valueOf(Constants.GENESIS_SLOT);
 
     // Setup node 1
     SyncingNodeManager node1 =
-        SyncingNodeManager.create(networkFactory, validatorKeys, c -> c.rpcEncoding(encoding));
+        SyncingNodeManager.create(
+            networkFactory,
+            validatorKeys,
+            c -> c.rpcEncoding(encoding).gossipEncoding(gossipEncoding));
     node1.chainUtil().setSlot(currentSlot);
 
     // Add some blocks to node1, which node 2 will need to fetch
@@ -68,7 +74,10 @@ public class BlockPropagationIntegrationTest {
 
     // Setup node 2
     SyncingNodeManager node2 =
-        SyncingNodeManager.create(networkFactory, validatorKeys, c -> c.rpcEncoding(encoding));
+        SyncingNodeManager.create(
+            networkFactory,
+            validatorKeys,
+            c -> c.rpcEncoding(encoding).gossipEncoding(gossipEncoding));
 
     // Connect networks
     Waiter.waitFor(node1.connect(node2));
@@ -117,7 +117,14 @@ public class BlockPropagationManager extends Service implements SlotEventsChanne
       return;
     }
 
-    final BlockImportResult result = blockImporter.importBlock(block);
+    blockImporter
+        .importBlockAsync(block)
+        .finish(
+            result -> handleImportResult(block, result),
+            error -> LOG.error("Failed to import block: " + block, error));
+  }
+
+  private void handleImportResult(final SignedBeaconBlock block, final BlockImportResult result) {
     if (result.isSuccessful()) {
       LOG.trace("Imported block: {}", block);
     } else if (result.getFailureReason() == FailureReason.UNKNOWN_PARENT) {
@@ -76,6 +76,7 @@ class FetchBlockTask {
             .filter(p -> !queriedPeers.contains(p.getId()))
             .min(
                 Comparator.comparing(Eth2Peer::getOutstandingRequests)
+                    .thenComparing(Eth2Peer::getScore, Comparator.reverseOrder())
                     .thenComparing(SHUFFLING_COMPARATOR));
 
     if (maybePeer.isEmpty()) {
@@ -18,5 +18,6 @@ enum PeerSyncResult {
   FAULTY_ADVERTISEMENT,
   CANCELLED,
   BAD_BLOCK,
-  IMPORT_FAILED
+  IMPORT_FAILED,
+  NO_SUITABLE_PEERS
 }
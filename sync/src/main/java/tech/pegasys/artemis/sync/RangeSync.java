@@ -0,0 +1,477 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.sync;
+
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
+import static tech.pegasys.artemis.util.config.Constants.MAX_BLOCK_BY_RANGE_REQUEST_SIZE;
+
+import com.google.common.base.Throwables;
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import tech.pegasys.artemis.core.results.BlockImportResult;
+import tech.pegasys.artemis.core.results.BlockImportResult.FailureReason;
+import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.artemis.networking.eth2.peers.Eth2Peer;
+import tech.pegasys.artemis.networking.p2p.network.P2PNetwork;
+import tech.pegasys.artemis.networking.p2p.peer.DisconnectRequestHandler.DisconnectReason;
+import tech.pegasys.artemis.networking.p2p.peer.NodeId;
+import tech.pegasys.artemis.statetransition.blockimport.BlockImporter;
+import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.SafeFuture;
+
+/**
+ * Downloads a range of finalized blocks from all suitable peers at once. The range is split into
+ * batches which are each requested from a single peer. Batches which fail are requested again from
+ * a different peer and downloaded batches are imported strictly in slot order.
+ *
+ * <p>Long runs of empty slots are valid, so an empty response can't be rejected on its own. A
+ * response which is empty or stops short of the end of its batch is only detected as incomplete
+ * when the next batch doesn't connect to it, in which case the peer is penalised and the rest of
+ * the short batch is requested again from a different peer.
+ */
+public class RangeSync {
+  private static final Logger LOG = LogManager.getLogger();
+  private static final UnsignedLong STEP = UnsignedLong.ONE;
+  // Limits the number of downloaded blocks held in memory while waiting for earlier batches
+  static final int MAX_PENDING_BATCHES = 10;
+
+  private final Set<SyncRun> activeSyncRuns = ConcurrentHashMap.newKeySet();
+  private final P2PNetwork<Eth2Peer> network;
+  private final RecentChainData storageClient;
+  private final BlockImporter blockImporter;
+  private final UnsignedLong batchSize;
+
+  private volatile UnsignedLong startingSlot = UnsignedLong.ZERO;
+
+  public RangeSync(
+      final P2PNetwork<Eth2Peer> network,
+      final RecentChainData storageClient,
+      final BlockImporter blockImporter) {
+    this(network, storageClient, blockImporter, MAX_BLOCK_BY_RANGE_REQUEST_SIZE);
+  }
+
+  RangeSync(
+      final P2PNetwork<Eth2Peer> network,
+      final RecentChainData storageClient,
+      final BlockImporter blockImporter,
+      final UnsignedLong batchSize) {
+    this.network = network;
+    this.storageClient = storageClient;
+    this.blockImporter = blockImporter;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Imports all blocks from our first non-finalized slot up to and including the target slot.
+   *
+   * @param targetSlot The last slot to download, which must be finalized by the peers used
+   * @return A future completed with the result once all blocks are imported or the sync fails
+   */
+  public SafeFuture<PeerSyncResult> sync(final UnsignedLong targetSlot) {
+    final UnsignedLong finalizedEpoch = storageClient.getFinalizedEpoch();
+    final UnsignedLong latestFinalizedSlot = compute_start_slot_at_epoch(finalizedEpoch);
+    final UnsignedLong firstNonFinalSlot = latestFinalizedSlot.plus(UnsignedLong.ONE);
+    this.startingSlot = firstNonFinalSlot;
+
+    if (firstNonFinalSlot.compareTo(targetSlot) > 0) {
+      return SafeFuture.completedFuture(PeerSyncResult.SUCCESSFUL_SYNC);
+    }
+    LOG.debug("Start range sync from slot {} to {}", firstNonFinalSlot, targetSlot);
+    final SyncRun syncRun = new SyncRun(firstNonFinalSlot, targetSlot);
+    activeSyncRuns.add(syncRun);
+    syncRun.result.always(() -> activeSyncRuns.remove(syncRun));
+    syncRun.requestBatches();
+    return syncRun.result.whenComplete(
+        (res, err) -> {
+          if (err != null) {
+            LOG.debug("Range sync to slot {} failed: {}", targetSlot, err);
+          } else {
+            LOG.debug("Finished range sync to slot {} with status {}", targetSlot, res.name());
+          }
+        });
+  }
+
+  /** Cancels any syncs in progress. Syncs started afterwards are not affected. */
+  public void stop() {
+    activeSyncRuns.forEach(SyncRun::stop);
+  }
+
+  public UnsignedLong getStartingSlot() {
+    return startingSlot;
+  }
+
+  private class SyncRun {
+    private final SafeFuture<PeerSyncResult> result = new SafeFuture<>();
+    private final AtomicBoolean stopped = new AtomicBoolean(false);
+    private final UnsignedLong targetSlot;
+    // Batches which have not yet been imported, in slot order
+    private final Deque<Batch> batches = new ArrayDeque<>();
+    private final Set<NodeId> busyPeers = new HashSet<>();
+    private Optional<Batch> lastImportedBatch = Optional.empty();
+    private UnsignedLong nextBatchStartSlot;
+    private boolean importing = false;
+
+    private SyncRun(final UnsignedLong startSlot, final UnsignedLong targetSlot) {
+      this.nextBatchStartSlot = startSlot;
+      this.targetSlot = targetSlot;
+    }
+
+    private void stop() {
+      stopped.set(true);
+      checkStopped();
+    }
+
+    private void requestBatches() {
+      final Map<Batch, Eth2Peer> requests = new HashMap<>();
+      synchronized (this) {
+        if (checkStopped()) {
+          return;
+        }
+        while (batches.size() < MAX_PENDING_BATCHES
+            && nextBatchStartSlot.compareTo(targetSlot) <= 0) {
+          final UnsignedLong remainingSlots =
+              targetSlot.minus(nextBatchStartSlot).plus(UnsignedLong.ONE);
+          final UnsignedLong count =
+              remainingSlots.compareTo(batchSize) > 0 ? batchSize : remainingSlots;
+          batches.addLast(new Batch(nextBatchStartSlot, count));
+          nextBatchStartSlot = nextBatchStartSlot.plus(count);
+        }
+
+        for (Batch batch : batches) {
+          if (batch.isAwaitingRequest()) {
+            selectPeer(batch)
+                .ifPresent(
+                    peer -> {
+                      batch.onRequested(peer);
+                      busyPeers.add(peer.getId());
+                      requests.put(batch, peer);
+                    });
+          }
+        }
+
+        if (!importing
+            && !batches.isEmpty()
+            && batches.getFirst().isAwaitingRequest()
+            && batches.stream().noneMatch(Batch::isRequested)) {
+          // No peer is able to provide the next batch so the sync can't make progress
+          LOG.debug("No suitable peers available for {}", batches.getFirst());
+          result.complete(PeerSyncResult.NO_SUITABLE_PEERS);
+          return;
+        }
+      }
+      requests.forEach(this::requestBatch);
+    }
+
+    private Optional<Eth2Peer> selectPeer(final Batch batch) {
+      return network
+          .streamPeers()
+          .filter(peer -> !busyPeers.contains(peer.getId()))
+          .filter(peer -> !batch.hasFailedWith(peer))
+          .filter(peer -> canProvideBatch(peer, batch))
+          .max(
+              Comparator.comparing(Eth2Peer::getScore)
+                  .thenComparing(Eth2Peer::getOutstandingRequests, Comparator.reverseOrder()));
+    }
+
+    private boolean canProvideBatch(final Eth2Peer peer, final Batch batch) {
+      // Only use peers which have finalized the whole batch so they all agree on its blocks
+      final UnsignedLong peerFinalizedSlot =
+          compute_start_slot_at_epoch(peer.getStatus().getFinalizedEpoch());
+      return peerFinalizedSlot.compareTo(batch.getLastSlot()) >= 0;
+    }
+
+    private void requestBatch(final Batch batch, final Eth2Peer peer) {
+      LOG.debug(
+          "Request {} blocks starting at {} from peer {}",
+          batch.count,
+          batch.startSlot,
+          peer.getId());
+      peer.requestBlocksByRange(
+              batch.startSlot, batch.count, STEP, block -> onBlockReceived(batch, block))
+          .finish(
+              () -> onBatchDownloaded(batch, peer), error -> onBatchFailed(batch, peer, error));
+    }
+
+    private void onBlockReceived(final Batch batch, final SignedBeaconBlock block) {
+      if (stopped.get() || result.isDone()) {
+        throw new CancellationException("Range sync was cancelled");
+      }
+      batch.addBlock(block);
+    }
+
+    private void onBatchDownloaded(final Batch batch, final Eth2Peer peer) {
+      LOG.trace(
+          "Completed request for {} blocks starting at {} from peer {}",
+          batch.count,
+          batch.startSlot,
+          peer.getId());
+      synchronized (this) {
+        busyPeers.remove(peer.getId());
+        // Empty or short responses are checked against the parent of the next batch's first block
+        batch.onDownloaded();
+      }
+      importReadyBatches();
+      requestBatches();
+    }
+
+    private void onBatchFailed(final Batch batch, final Eth2Peer peer, final Throwable error) {
+      synchronized (this) {
+        busyPeers.remove(peer.getId());
+        if (Throwables.getRootCause(error) instanceof CancellationException) {
+          checkStopped();
+          return;
+        }
+        LOG.debug(
+            "Request for blocks starting at {} from peer {} failed: {}",
+            batch.startSlot,
+            peer.getId(),
+            error);
+        batch.onFailed();
+      }
+      requestBatches();
+    }
+
+    private void importReadyBatches() {
+      while (true) {
+        final Batch batch;
+        synchronized (this) {
+          if (importing
+              || checkStopped()
+              || batches.isEmpty()
+              || !batches.getFirst().isDownloaded()) {
+            return;
+          }
+          importing = true;
+          batch = batches.getFirst();
+        }
+
+        final List<BlockImportResult> results = importBlocks(batch);
+        final Optional<BlockImportResult> failure = getFailure(results);
+        final Optional<Batch> shortBatch =
+            isMissingParentOfFirstBlock(results) ? getShortPreviousBatch(batch) : Optional.empty();
+        if (shortBatch.isPresent()) {
+          final Eth2Peer shortBatchPeer = shortBatch.get().getPeer();
+          LOG.debug("Peer {} may have withheld blocks from {}", shortBatchPeer, shortBatch.get());
+          shortBatchPeer.recordFailedResponse();
+        } else if (failure.isPresent() && isInvalidBlock(failure.get())) {
+          final Eth2Peer peer = batch.getPeer();
+          LOG.debug("Disconnecting from peer ({}) who sent invalid blocks", peer);
+          peer.disconnectCleanly(DisconnectReason.REMOTE_FAULT);
+        }
+
+        synchronized (this) {
+          importing = false;
+          if (checkStopped()) {
+            return;
+          }
+          if (failure.isEmpty()) {
+            batches.removeFirst();
+            lastImportedBatch = Optional.of(batch);
+            if (batches.isEmpty() && nextBatchStartSlot.compareTo(targetSlot) > 0) {
+              result.complete(PeerSyncResult.SUCCESSFUL_SYNC);
+              return;
+            }
+          } else if (shortBatch.isPresent()) {
+            // Fetch the rest of the short batch from another peer, then retry importing this one
+            batch.onRemainderOfPreviousBatchRequested();
+            batches.addFirst(shortBatch.get().createRemainderBatch());
+            return;
+          } else if (isInvalidBlock(failure.get())) {
+            // Blocks from other peers may still be valid so try again elsewhere
+            batch.onFailed();
+          } else {
+            result.complete(PeerSyncResult.IMPORT_FAILED);
+            return;
+          }
+        }
+      }
+    }
+
+    private List<BlockImportResult> importBlocks(final Batch batch) {
+      if (stopped.get()) {
+        return List.of();
+      }
+      // Signatures for the whole batch are verified together
+      final List<SignedBeaconBlock> blocks = batch.getBlocks();
+      final List<BlockImportResult> results = blockImporter.importBlocks(blocks);
+      LOG.trace("Imported {} blocks starting at slot {}", results.size(), batch.startSlot);
+      getFailure(results)
+          .ifPresent(
+              __ ->
+                  LOG.warn(
+                      "Failed to import block from peer {}: {}",
+                      batch.getPeer(),
+                      blocks.get(results.size() - 1)));
+      return results;
+    }
+
+    private Optional<BlockImportResult> getFailure(final List<BlockImportResult> results) {
+      if (results.isEmpty() || results.get(results.size() - 1).isSuccessful()) {
+        return Optional.empty();
+      }
+      return Optional.of(results.get(results.size() - 1));
+    }
+
+    private boolean isMissingParentOfFirstBlock(final List<BlockImportResult> results) {
+      return results.size() == 1
+          && results.get(0).getFailureReason() == FailureReason.UNKNOWN_PARENT;
+    }
+
+    private synchronized Optional<Batch> getShortPreviousBatch(final Batch batch) {
+      // Only request the remainder once, after that the batch being imported is at fault
+      if (batch.hasRequestedRemainderOfPreviousBatch()) {
+        return Optional.empty();
+      }
+      return lastImportedBatch.filter(Batch::isShort);
+    }
+
+    private boolean isInvalidBlock(final BlockImportResult importResult) {
+      final FailureReason reason = importResult.getFailureReason();
+      return reason == FailureReason.FAILED_STATE_TRANSITION
+          || reason == FailureReason.UNKNOWN_PARENT;
+    }
+
+    private synchronized boolean checkStopped() {
+      if (stopped.get()) {
+        result.complete(PeerSyncResult.CANCELLED);
+      }
+      return result.isDone();
+    }
+  }
+
+  private static class Batch {
+    private final UnsignedLong startSlot;
+    private final UnsignedLong count;
+    private final Set<NodeId> failedPeers = new HashSet<>();
+    private final List<SignedBeaconBlock> blocks = new ArrayList<>();
+    private Optional<Eth2Peer> peer = Optional.empty();
+    private BatchState state = BatchState.AWAITING_REQUEST;
+    private boolean remainderOfPreviousBatchRequested = false;
+
+    private Batch(final UnsignedLong startSlot, final UnsignedLong count) {
+      this.startSlot = startSlot;
+      this.count = count;
+    }
+
+    public UnsignedLong getLastSlot() {
+      return startSlot.plus(count).minus(UnsignedLong.ONE);
+    }
+
+    public boolean isAwaitingRequest() {
+      return state == BatchState.AWAITING_REQUEST;
+    }
+
+    public boolean isRequested() {
+      return state == BatchState.REQUESTED;
+    }
+
+    public boolean isDownloaded() {
+      return state == BatchState.DOWNLOADED;
+    }
+
+    public boolean hasFailedWith(final Eth2Peer peer) {
+      return failedPeers.contains(peer.getId());
+    }
+
+    public Eth2Peer getPeer() {
+      return peer.orElseThrow();
+    }
+
+    public synchronized List<SignedBeaconBlock> getBlocks() {
+      return new ArrayList<>(blocks);
+    }
+
+    /** @return true if the downloaded blocks stop before the last slot of this batch */
+    public synchronized boolean isShort() {
+      return blocks.isEmpty()
+          || blocks.get(blocks.size() - 1).getSlot().compareTo(getLastSlot()) < 0;
+    }
+
+    /**
+     * Creates a batch for the slots after the last block downloaded for this batch, which won't be
+     * requested from the peer that provided this batch.
+     */
+    public synchronized Batch createRemainderBatch() {
+      final UnsignedLong remainderStartSlot =
+          blocks.isEmpty()
+              ? startSlot
+              : blocks.get(blocks.size() - 1).getSlot().plus(UnsignedLong.ONE);
+      final UnsignedLong remainderCount =
+          getLastSlot().minus(remainderStartSlot).plus(UnsignedLong.ONE);
+      final Batch remainder = new Batch(remainderStartSlot, remainderCount);
+      peer.ifPresent(shortPeer -> remainder.failedPeers.add(shortPeer.getId()));
+      return remainder;
+    }
+
+    public boolean hasRequestedRemainderOfPreviousBatch() {
+      return remainderOfPreviousBatchRequested;
+    }
+
+    public void onRemainderOfPreviousBatchRequested() {
+      remainderOfPreviousBatchRequested = true;
+    }
+
+    public synchronized void addBlock(final SignedBeaconBlock block) {
+      final UnsignedLong previousSlot =
+          blocks.isEmpty() ? null : blocks.get(blocks.size() - 1).getSlot();
+      if (block.getSlot().compareTo(startSlot) < 0
+          || block.getSlot().compareTo(getLastSlot()) > 0
+          || (previousSlot != null && block.getSlot().compareTo(previousSlot) <= 0)) {
+        throw new IllegalArgumentException(
+            "Received unexpected block at slot " + block.getSlot() + " for " + this);
+      }
+      blocks.add(block);
+    }
+
+    public void onRequested(final Eth2Peer peer) {
+      this.peer = Optional.of(peer);
+      state = BatchState.REQUESTED;
+    }
+
+    public void onDownloaded() {
+      state = BatchState.DOWNLOADED;
+    }
+
+    public synchronized void onFailed() {
+      peer.ifPresent(failedPeer -> failedPeers.add(failedPeer.getId()));
+      blocks.clear();
+      state = BatchState.AWAITING_REQUEST;
+    }
+
+    @Override
+    public String toString() {
+      return "batch of " + count + " slots starting at " + startSlot;
+    }
+  }
+
+  private enum BatchState {
+    AWAITING_REQUEST,
+    REQUESTED,
+    DOWNLOADED
+  }
+}
@@ -13,6 +13,7 @@
 
 package tech.pegasys.artemis.sync;
 
+import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
 import static tech.pegasys.artemis.util.async.SafeFuture.completedFuture;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -40,10 +41,13 @@ import tech.pegasys.artemis.util.events.Subscribers;
 public class SyncManager extends Service {
   private static final Duration SHORT_DELAY = Duration.ofSeconds(5);
   private static final Duration LONG_DELAY = Duration.ofSeconds(20);
+  // Peers whose scores fall in the same tier are treated as performing equally well
+  private static final double SCORE_TIER_SIZE = 0.1;
 
   private static final Logger LOG = LogManager.getLogger();
   private final P2PNetwork<Eth2Peer> network;
   private final RecentChainData storageClient;
+  private final RangeSync rangeSync;
   private final PeerSync peerSync;
   private final Subscribers<SyncSubscriber> syncSubscribers = Subscribers.create(true);
 
@@ -58,10 +62,12 @@ public class SyncManager extends Service {
       final AsyncRunner asyncRunner,
       final P2PNetwork<Eth2Peer> network,
       final RecentChainData storageClient,
+      final RangeSync rangeSync,
       final PeerSync peerSync) {
     this.asyncRunner = asyncRunner;
     this.network = network;
     this.storageClient = storageClient;
+    this.rangeSync = rangeSync;
     this.peerSync = peerSync;
   }
 
@@ -74,6 +80,7 @@ public class SyncManager extends Service {
         asyncRunner,
         network,
         storageClient,
+        new RangeSync(network, storageClient, blockImporter),
         new PeerSync(asyncRunner, storageClient, blockImporter));
   }
 
@@ -92,6 +99,7 @@ public class SyncManager extends Service {
     synchronized (this) {
       syncQueued = false;
     }
+    rangeSync.stop();
     peerSync.stop();
     return completedFuture(null);
   }
@@ -149,11 +157,16 @@ public class SyncManager extends Service {
   public SyncingStatus getSyncStatus() {
     final boolean isSyncActive = isSyncActive();
     if (isSyncActive) {
-      Optional<Eth2Peer> bestPeer = findBestSyncPeer();
-      if (bestPeer.isPresent()) {
-        UnsignedLong highestSlot = bestPeer.get().getStatus().getHeadSlot();
+      Optional<UnsignedLong> highestSlot =
+          network
+              .streamPeers()
+              .filter(this::isPeerSyncSuitable)
+              .map(peer -> peer.getStatus().getHeadSlot())
+              .max(Comparator.naturalOrder());
+      if (highestSlot.isPresent()) {
         final SyncStatus syncStatus =
-            new SyncStatus(peerSync.getStartingSlot(), storageClient.getBestSlot(), highestSlot);
+            new SyncStatus(
+                rangeSync.getStartingSlot(), storageClient.getBestSlot(), highestSlot.get());
         return new SyncingStatus(true, syncStatus);
       }
     }
@@ -176,8 +189,16 @@ public class SyncManager extends Service {
 
   private SafeFuture<Void> syncToPeer(final Eth2Peer syncPeer) {
     LOG.trace("Sync to peer {}", syncPeer.getId());
-    return peerSync
-        .sync(syncPeer)
+    // Download finalized blocks from all suitable peers, then the rest of the chain from syncPeer
+    final UnsignedLong finalizedSlot =
+        compute_start_slot_at_epoch(syncPeer.getStatus().getFinalizedEpoch());
+    return rangeSync
+        .sync(finalizedSlot)
+        .thenCompose(
+            result ->
+                result == PeerSyncResult.SUCCESSFUL_SYNC
+                    ? peerSync.sync(syncPeer)
+                    : completedFuture(result))
         .thenCompose(
             result -> {
               if (result != PeerSyncResult.SUCCESSFUL_SYNC) {
@@ -207,10 +228,19 @@ public class SyncManager extends Service {
   }
 
   Optional<Eth2Peer> findBestSyncPeer() {
+    // Any suitable peer moves us closer to the head, so prefer the one that will get us there
+    // fastest, and only then the one furthest ahead
     return network
         .streamPeers()
         .filter(this::isPeerSyncSuitable)
-        .max(Comparator.comparing(Eth2Peer::finalizedEpoch).thenComparing(p -> Math.random()));
+        .max(
+            Comparator.comparing(SyncManager::getScoreTier)
+                .thenComparing(Eth2Peer::finalizedEpoch)
+                .thenComparing(p -> Math.random()));
+  }
+
+  private static int getScoreTier(final Eth2Peer peer) {
+    return (int) (peer.getScore() / SCORE_TIER_SIZE);
   }
 
   private void onNewPeer(Eth2Peer peer) {
@@ -151,6 +151,27 @@ public class FetchBlockTaskTest {
     assertThat(fetchBlockResult.getBlock()).isEqualTo(block);
   }
 
+  @Test
+  public void run_prefersHigherScoringPeerWhenEquallyBusy() {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(10);
+    final Bytes32 blockRoot = block.getMessage().hash_tree_root();
+    FetchBlockTask task = FetchBlockTask.create(eth2Network, blockRoot);
+
+    final Eth2Peer peer = registerNewPeer(1);
+    when(peer.requestBlockByRoot(blockRoot))
+        .thenReturn(SafeFuture.failedFuture(new RuntimeException("whoops")));
+    when(peer.getScore()).thenReturn(0.2);
+    final Eth2Peer peer2 = registerNewPeer(2);
+    when(peer2.requestBlockByRoot(blockRoot)).thenReturn(SafeFuture.completedFuture(block));
+    when(peer2.getScore()).thenReturn(0.8);
+
+    final SafeFuture<FetchBlockResult> result = task.run();
+    assertThat(result).isDone();
+    final FetchBlockResult fetchBlockResult = result.getNow(null);
+    assertThat(fetchBlockResult.isSuccessful()).isTrue();
+    assertThat(fetchBlockResult.getBlock()).isEqualTo(block);
+  }
+
   @Test
   public void cancel() {
     final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(10);
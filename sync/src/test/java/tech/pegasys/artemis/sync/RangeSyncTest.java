@@ -0,0 +1,355 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.artemis.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import tech.pegasys.artemis.core.StateTransitionException;
+import tech.pegasys.artemis.core.results.BlockImportResult;
+import tech.pegasys.artemis.data.BlockProcessingRecord;
+import tech.pegasys.artemis.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.artemis.datastructures.networking.libp2p.rpc.StatusMessage;
+import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
+import tech.pegasys.artemis.networking.eth2.Eth2Network;
+import tech.pegasys.artemis.networking.eth2.peers.Eth2Peer;
+import tech.pegasys.artemis.networking.eth2.peers.PeerStatus;
+import tech.pegasys.artemis.networking.eth2.rpc.core.ResponseStream.ResponseListener;
+import tech.pegasys.artemis.networking.p2p.mock.MockNodeId;
+import tech.pegasys.artemis.networking.p2p.peer.DisconnectRequestHandler.DisconnectReason;
+import tech.pegasys.artemis.statetransition.blockimport.BlockImporter;
+import tech.pegasys.artemis.storage.client.RecentChainData;
+import tech.pegasys.artemis.util.async.SafeFuture;
+import tech.pegasys.artemis.util.config.Constants;
+
+public class RangeSyncTest {
+  private static final UnsignedLong BATCH_SIZE = UnsignedLong.valueOf(10);
+  private static final UnsignedLong TARGET_SLOT = UnsignedLong.valueOf(30);
+  private static final PeerStatus PEER_STATUS = createPeerStatus(UnsignedLong.valueOf(10));
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final Eth2Network network = mock(Eth2Network.class);
+  private final RecentChainData storageClient = mock(RecentChainData.class);
+  private final BlockImporter blockImporter = mock(BlockImporter.class);
+  private final Eth2Peer peer1 = mock(Eth2Peer.class);
+  private final Eth2Peer peer2 = mock(Eth2Peer.class);
+  private final List<Request> requests = new ArrayList<>();
+
+  private final RangeSync rangeSync =
+      new RangeSync(network, storageClient, blockImporter, BATCH_SIZE);
+
+  @BeforeEach
+  public void setUp() {
+    when(storageClient.getFinalizedEpoch()).thenReturn(UnsignedLong.ZERO);
+    when(network.streamPeers()).then(i -> Stream.of(peer1, peer2));
+    setupPeer(peer1, 1);
+    setupPeer(peer2, 2);
+    // By default set up block import to succeed
+    final BlockProcessingRecord processingRecord = mock(BlockProcessingRecord.class);
+    final BlockImportResult successfulResult = BlockImportResult.successful(processingRecord);
+    when(blockImporter.importBlocks(any()))
+        .then(
+            invocation -> {
+              final List<SignedBeaconBlock> blocks = invocation.getArgument(0);
+              return blocks.stream().map(block -> successfulResult).collect(Collectors.toList());
+            });
+  }
+
+  @Test
+  void sync_shouldRequestBatchesFromAllPeersConcurrently() {
+    final SafeFuture<PeerSyncResult> result = rangeSync.sync(TARGET_SLOT);
+
+    assertThat(result).isNotDone();
+    assertThat(requests).hasSize(2);
+    assertRequest(requests.get(0), peer1, 1);
+    assertRequest(requests.get(1), peer2, 11);
+  }
+
+  @Test
+  void sync_shouldRequestEarliestBatchFromHighestScoringPeer() {
+    when(peer1.getScore()).thenReturn(0.1);
+    when(peer2.getScore()).thenReturn(0.9);
+    rangeSync.sync(TARGET_SLOT);
+
+    assertThat(requests).hasSize(2);
+    assertRequest(requests.get(0), peer2, 1);
+    assertRequest(requests.get(1), peer1, 11);
+  }
+
+  @Test
+  void sync_shouldImportBatchesInOrder() {
+    rangeSync.sync(TARGET_SLOT);
+    final Request request1 = requests.get(0);
+    final Request request2 = requests.get(1);
+
+    final SignedBeaconBlock block11 = respondWithBlock(request2, 11);
+    request2.future.complete(null);
+    verify(blockImporter, never()).importBlocks(any());
+
+    final SignedBeaconBlock block1 = respondWithBlock(request1, 1);
+    request1.future.complete(null);
+
+    final InOrder inOrder = inOrder(blockImporter);
+    inOrder.verify(blockImporter).importBlocks(List.of(block1));
+    inOrder.verify(blockImporter).importBlocks(List.of(block11));
+  }
+
+  @Test
+  void sync_shouldCompleteWhenAllBatchesImported() {
+    final SafeFuture<PeerSyncResult> result = rangeSync.sync(TARGET_SLOT);
+
+    completeWithBlock(requests.get(0), 10);
+    completeWithBlock(requests.get(1), 20);
+    assertThat(requests).hasSize(3);
+    assertRequest(requests.get(2), peer1, 21);
+    assertThat(result).isNotDone();
+
+    completeWithBlock(requests.get(2), 30);
+    assertThat(result).isCompletedWithValue(PeerSyncResult.SUCCESSFUL_SYNC);
+  }
+
+  @Test
+  void sync_shouldRetryFailedBatchWithDifferentPeer() {
+    final SafeFuture<PeerSyncResult> result = rangeSync.sync(TARGET_SLOT);
+
+    requests.get(0).future.completeExceptionally(new RuntimeException("Nope"));
+    // peer1 moves on to the next batch but isn't asked for the failed batch again
+    assertThat(requests).hasSize(3);
+    assertRequest(requests.get(2), peer1, 21);
+
+    completeWithBlock(requests.get(1), 20);
+    assertThat(requests).hasSize(4);
+    assertRequest(requests.get(3), peer2, 1);
+    assertThat(result).isNotDone();
+  }
+
+  @Test
+  void sync_shouldAcceptEmptyBatchWhenOnlyOnePeerIsAvailable() {
+    when(network.streamPeers()).then(i -> Stream.of(peer1));
+    final SafeFuture<PeerSyncResult> result = rangeSync.sync(TARGET_SLOT);
+
+    // A run of empty slots is valid as long as the following blocks connect to earlier ones
+    requests.get(0).future.complete(null);
+    verify(peer1, never()).recordFailedResponse();
+    assertThat(requests).hasSize(2);
+    assertRequest(requests.get(1), peer1, 11);
+
+    completeWithBlock(requests.get(1), 20);
+    completeWithBlock(requests.get(2), 30);
+    assertThat(result).isCompletedWithValue(PeerSyncResult.SUCCESSFUL_SYNC);
+  }
+
+  @Test
+  void sync_shouldRequestEmptyBatchAgainWhenNextBatchDoesNotConnect() {
+    final SafeFuture<PeerSyncResult> result = rangeSync.sync(TARGET_SLOT);
+    requests.get(0).future.complete(null);
+    final SignedBeaconBlock block11 = respondWithBlock(requests.get(1), 11);
+    when(blockImporter.importBlocks(List.of(block11)))
+        .thenReturn(List.of(BlockImportResult.FAILED_UNKNOWN_PARENT));
+    requests.get(1).future.complete(null);
+
+    // peer1 withheld the blocks for the first batch
+    verify(peer1).recordFailedResponse();
+    final Request remainderRequest = requests.get(requests.size() - 1);
+    assertThat(remainderRequest.peer).isSameAs(peer2);
+    assertThat(remainderRequest.startSlot).isEqualTo(UnsignedLong.ONE);
+    assertThat(remainderRequest.count).isEqualTo(BATCH_SIZE);
+    assertThat(result).isNotDone();
+  }
+
+  @Test
+  void sync_shouldRequestRemainderOfShortBatchFromDifferentPeer() {
+    final SafeFuture<PeerSyncResult> result = rangeSync.sync(TARGET_SLOT);
+    // peer1 stops responding after slot 5 so the next batch doesn't connect
+    final SignedBeaconBlock block5 = completeWithBlock(requests.get(0), 5);
+    final SignedBeaconBlock block11 = respondWithBlock(requests.get(1), 11);
+    when(blockImporter.importBlocks(List.of(block11)))
+        .thenReturn(List.of(BlockImportResult.FAILED_UNKNOWN_PARENT))
+        .thenReturn(List.of(BlockImportResult.successful(mock(BlockProcessingRecord.class))));
+    requests.get(1).future.complete(null);
+
+    verify(blockImporter).importBlocks(List.of(block5));
+    verify(peer1).recordFailedResponse();
+    verify(peer2, never()).disconnectCleanly(any());
+    assertThat(requests).hasSize(4);
+    final Request remainderRequest = requests.get(3);
+    assertThat(remainderRequest.peer).isSameAs(peer2);
+    assertThat(remainderRequest.startSlot).isEqualTo(UnsignedLong.valueOf(6));
+    assertThat(remainderRequest.count).isEqualTo(UnsignedLong.valueOf(5));
+
+    // The downloaded batch is imported again once the missing blocks are available
+    final SignedBeaconBlock block8 = completeWithBlock(remainderRequest, 8);
+    final InOrder inOrder = inOrder(blockImporter);
+    inOrder.verify(blockImporter).importBlocks(List.of(block8));
+    inOrder.verify(blockImporter).importBlocks(List.of(block11));
+    verify(blockImporter, times(2)).importBlocks(List.of(block11));
+    assertThat(result).isNotDone();
+  }
+
+  @Test
+  void sync_shouldDisconnectPeerWhichSentInvalidBlocks() {
+    final SafeFuture<PeerSyncResult> result = rangeSync.sync(TARGET_SLOT);
+    final SignedBeaconBlock block = respondWithBlock(requests.get(0), 1);
+    when(blockImporter.importBlocks(List.of(block)))
+        .thenReturn(
+            List.of(BlockImportResult.failedStateTransition(new StateTransitionException())));
+
+    requests.get(0).future.complete(null);
+
+    verify(peer1).disconnectCleanly(DisconnectReason.REMOTE_FAULT);
+    verify(peer2, never()).disconnectCleanly(any());
+    assertThat(result).isNotDone();
+
+    // The batch is requested again from the other peer
+    completeWithBlock(requests.get(1), 20);
+    assertRequest(requests.get(requests.size() - 1), peer2, 1);
+  }
+
+  @Test
+  void sync_shouldFailWhenImportFailsForOtherReasons() {
+    final SafeFuture<PeerSyncResult> result = rangeSync.sync(TARGET_SLOT);
+    final SignedBeaconBlock block = respondWithBlock(requests.get(0), 1);
+    when(blockImporter.importBlocks(List.of(block)))
+        .thenReturn(List.of(BlockImportResult.FAILED_BLOCK_IS_FROM_FUTURE));
+
+    requests.get(0).future.complete(null);
+
+    assertThat(result).isCompletedWithValue(PeerSyncResult.IMPORT_FAILED);
+    verify(peer1, never()).disconnectCleanly(any());
+  }
+
+  @Test
+  void sync_shouldFailWhenNoPeersHaveFinalizedRange() {
+    when(peer1.getStatus()).thenReturn(createPeerStatus(UnsignedLong.ZERO));
+    when(peer2.getStatus()).thenReturn(createPeerStatus(UnsignedLong.ZERO));
+
+    final SafeFuture<PeerSyncResult> result = rangeSync.sync(TARGET_SLOT);
+
+    assertThat(result).isCompletedWithValue(PeerSyncResult.NO_SUITABLE_PEERS);
+    assertThat(requests).isEmpty();
+  }
+
+  @Test
+  void sync_shouldCancelWhenStopped() {
+    final SafeFuture<PeerSyncResult> result = rangeSync.sync(TARGET_SLOT);
+
+    rangeSync.stop();
+    requests.get(0).future.complete(null);
+
+    assertThat(result).isCompletedWithValue(PeerSyncResult.CANCELLED);
+    verify(blockImporter, never()).importBlocks(any());
+  }
+
+  @Test
+  void sync_shouldNotCancelSyncStartedAfterStop() {
+    final SafeFuture<PeerSyncResult> cancelledResult = rangeSync.sync(TARGET_SLOT);
+    rangeSync.stop();
+    assertThat(cancelledResult).isCompletedWithValue(PeerSyncResult.CANCELLED);
+    requests.clear();
+
+    final SafeFuture<PeerSyncResult> result = rangeSync.sync(TARGET_SLOT);
+    completeWithBlock(requests.get(0), 10);
+    completeWithBlock(requests.get(1), 20);
+    completeWithBlock(requests.get(2), 30);
+    assertThat(result).isCompletedWithValue(PeerSyncResult.SUCCESSFUL_SYNC);
+  }
+
+  @Test
+  void sync_shouldCompleteImmediatelyWhenTargetIsFinalized() {
+    when(storageClient.getFinalizedEpoch()).thenReturn(UnsignedLong.valueOf(10));
+
+    assertThat(rangeSync.sync(TARGET_SLOT)).isCompletedWithValue(PeerSyncResult.SUCCESSFUL_SYNC);
+    assertThat(requests).isEmpty();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void setupPeer(final Eth2Peer peer, final int id) {
+    when(peer.getId()).thenReturn(new MockNodeId(id));
+    when(peer.getStatus()).thenReturn(PEER_STATUS);
+    when(peer.requestBlocksByRange(any(), any(), any(), any()))
+        .then(
+            invocation -> {
+              final Request request =
+                  new Request(
+                      peer,
+                      invocation.getArgument(0),
+                      invocation.getArgument(1),
+                      invocation.getArgument(3));
+              requests.add(request);
+              return request.future;
+            });
+  }
+
+  private SignedBeaconBlock respondWithBlock(final Request request, final long slot) {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(slot);
+    request.listener.onResponse(block);
+    return block;
+  }
+
+  private SignedBeaconBlock completeWithBlock(final Request request, final long slot) {
+    final SignedBeaconBlock block = respondWithBlock(request, slot);
+    request.future.complete(null);
+    return block;
+  }
+
+  private void assertRequest(final Request request, final Eth2Peer peer, final long startSlot) {
+    assertThat(request.peer).isSameAs(peer);
+    assertThat(request.startSlot).isEqualTo(UnsignedLong.valueOf(startSlot));
+    assertThat(request.count).isEqualTo(BATCH_SIZE);
+  }
+
+  private static PeerStatus createPeerStatus(final UnsignedLong finalizedEpoch) {
+    return PeerStatus.fromStatusMessage(
+        new StatusMessage(
+            Constants.GENESIS_FORK_VERSION,
+            Bytes32.ZERO,
+            finalizedEpoch,
+            Bytes32.fromHexString("0x1234"),
+            UnsignedLong.valueOf(500)));
+  }
+
+  private static class Request {
+    private final Eth2Peer peer;
+    private final UnsignedLong startSlot;
+    private final UnsignedLong count;
+    private final ResponseListener<SignedBeaconBlock> listener;
+    private final SafeFuture<Void> future = new SafeFuture<>();
+
+    private Request(
+        final Eth2Peer peer,
+        final UnsignedLong startSlot,
+        final UnsignedLong count,
+        final ResponseListener<SignedBeaconBlock> listener) {
+      this.peer = peer;
+      this.startSlot = startSlot;
+      this.count = count;
+      this.listener = listener;
+    }
+  }
+}
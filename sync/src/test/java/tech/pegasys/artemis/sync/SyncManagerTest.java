@@ -16,6 +16,7 @@ package tech.pegasys.artemis.sync;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -55,9 +56,11 @@ public class SyncManagerTest {
 
   private RecentChainData storageClient = mock(RecentChainData.class);
   private Eth2Network network = mock(Eth2Network.class);
+  private final RangeSync rangeSync = mock(RangeSync.class);
   private final PeerSync peerSync = mock(PeerSync.class);
   private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
-  private SyncManager syncManager = new SyncManager(asyncRunner, network, storageClient, peerSync);
+  private SyncManager syncManager =
+      new SyncManager(asyncRunner, network, storageClient, rangeSync, peerSync);
   private final Eth2Peer peer = mock(Eth2Peer.class);
   private final SyncSubscriber syncSubscriber = mock(SyncSubscriber.class);
 
@@ -70,6 +73,8 @@ public class SyncManagerTest {
     when(network.subscribeConnect(any())).thenReturn(SUBSCRIPTION_ID);
     when(storageClient.getFinalizedEpoch()).thenReturn(UnsignedLong.ZERO);
     when(peer.getStatus()).thenReturn(PEER_STATUS);
+    when(rangeSync.sync(any()))
+        .thenReturn(SafeFuture.completedFuture(PeerSyncResult.SUCCESSFUL_SYNC));
   }
 
   @Test
@@ -115,6 +120,38 @@ public class SyncManagerTest {
     assertThat(syncManager.isSyncQueued()).isFalse();
   }
 
+  @Test
+  void sync_prefersHighestScoringPeer() {
+    final Eth2Peer peer2 = mock(Eth2Peer.class);
+    when(peer2.getStatus()).thenReturn(PEER_STATUS);
+    when(peer.getScore()).thenReturn(0.2);
+    when(peer2.getScore()).thenReturn(0.7);
+    when(network.streamPeers()).thenReturn(Stream.of(peer, peer2));
+    when(peerSync.sync(peer2)).thenReturn(new SafeFuture<>());
+
+    assertThat(syncManager.start()).isCompleted();
+
+    verify(peerSync).sync(peer2);
+    verify(peerSync, never()).sync(peer);
+  }
+
+  @Test
+  void sync_prefersFurthestAheadPeerWhenScoresAreSimilar() {
+    final Eth2Peer peer2 = mock(Eth2Peer.class);
+    when(peer2.getStatus()).thenReturn(PEER_STATUS);
+    when(peer.getScore()).thenReturn(0.75);
+    when(peer2.getScore()).thenReturn(0.72);
+    when(peer.finalizedEpoch()).thenReturn(PEER_FINALIZED_EPOCH);
+    when(peer2.finalizedEpoch()).thenReturn(PEER_FINALIZED_EPOCH.plus(UnsignedLong.ONE));
+    when(network.streamPeers()).thenReturn(Stream.of(peer, peer2));
+    when(peerSync.sync(peer2)).thenReturn(new SafeFuture<>());
+
+    assertThat(syncManager.start()).isCompleted();
+
+    verify(peerSync).sync(peer2);
+    verify(peerSync, never()).sync(peer);
+  }
+
   @Test
   void sync_retrySyncIfNotSuccessful() {
     when(network.streamPeers()).thenReturn(Stream.of(peer));
@@ -192,6 +229,7 @@ public class SyncManagerTest {
     assertThat(syncManager.stop()).isCompleted();
     assertThat(syncManager.isSyncQueued()).isFalse();
     assertThat(syncManager.isSyncActive()).isFalse();
+    verify(rangeSync).stop();
     verify(peerSync).stop();
     verify(network).unsubscribeConnect(SUBSCRIPTION_ID);
   }
@@ -204,7 +242,7 @@ public class SyncManagerTest {
     final SafeFuture<PeerSyncResult> syncFuture = new SafeFuture<>();
     when(peerSync.sync(peer)).thenReturn(syncFuture);
     UnsignedLong startingSlot = UnsignedLong.valueOf(11);
-    when(peerSync.getStartingSlot()).thenReturn(startingSlot);
+    when(rangeSync.getStartingSlot()).thenReturn(startingSlot);
 
     assertThat(syncManager.start()).isCompleted();
     assertThat(syncManager.isSyncActive()).isTrue();
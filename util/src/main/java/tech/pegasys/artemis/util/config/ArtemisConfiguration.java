@@ -26,6 +26,10 @@ import tech.pegasys.artemis.bls.BLSPublicKey;
 
 /** Configuration of an instance of Artemis. */
 public class ArtemisConfiguration {
+  public static final int DEFAULT_DATA_ARCHIVE_SNAPSHOT_FREQUENCY = 32;
+  public static final int DEFAULT_DATA_HOT_STATE_CACHE_SIZE = 64;
+  public static final int DEFAULT_DATA_WRITE_BEHIND_INTERVAL_MILLIS = 500;
+
   // Network
   private final String constants;
   private final String initialState;
@@ -90,6 +94,9 @@ public class ArtemisConfiguration {
   // Database
   private final String dataPath;
   private final StateStorageMode dataStorageMode;
+  private final int dataArchiveSnapshotFrequency;
+  private final int dataHotStateCacheSize;
+  private final int dataWriteBehindIntervalMillis;
 
   // Beacon REST API
   private final int restApiPort;
@@ -148,6 +155,9 @@ public class ArtemisConfiguration {
       final List<String> metricsCategories,
       final String dataPath,
       final StateStorageMode dataStorageMode,
+      final int dataArchiveSnapshotFrequency,
+      final int dataHotStateCacheSize,
+      final int dataWriteBehindIntervalMillis,
       final int restApiPort,
       final boolean restApiDocsEnabled,
       final boolean restApiEnabled,
@@ -198,6 +208,9 @@ public class ArtemisConfiguration {
     this.metricsCategories = metricsCategories;
     this.dataPath = dataPath;
     this.dataStorageMode = dataStorageMode;
+    this.dataArchiveSnapshotFrequency = dataArchiveSnapshotFrequency;
+    this.dataHotStateCacheSize = dataHotStateCacheSize;
+    this.dataWriteBehindIntervalMillis = dataWriteBehindIntervalMillis;
     this.restApiPort = restApiPort;
     this.restApiDocsEnabled = restApiDocsEnabled;
     this.restApiEnabled = restApiEnabled;
@@ -405,6 +418,18 @@ public class ArtemisConfiguration {
     return dataStorageMode;
   }
 
+  public int getDataArchiveSnapshotFrequency() {
+    return dataArchiveSnapshotFrequency;
+  }
+
+  public int getDataHotStateCacheSize() {
+    return dataHotStateCacheSize;
+  }
+
+  public int getDataWriteBehindIntervalMillis() {
+    return dataWriteBehindIntervalMillis;
+  }
+
   public int getRestApiPort() {
     return restApiPort;
   }
@@ -65,6 +65,11 @@ public class ArtemisConfigurationBuilder {
   private List<String> metricsCategories;
   private String dataPath;
   private StateStorageMode dataStorageMode;
+  private int dataArchiveSnapshotFrequency =
+      ArtemisConfiguration.DEFAULT_DATA_ARCHIVE_SNAPSHOT_FREQUENCY;
+  private int dataHotStateCacheSize = ArtemisConfiguration.DEFAULT_DATA_HOT_STATE_CACHE_SIZE;
+  private int dataWriteBehindIntervalMillis =
+      ArtemisConfiguration.DEFAULT_DATA_WRITE_BEHIND_INTERVAL_MILLIS;
   private int restApiPort;
   private boolean restApiDocsEnabled;
   private boolean restApiEnabled;
@@ -315,6 +320,23 @@ public class ArtemisConfigurationBuilder {
     return this;
   }
 
+  public ArtemisConfigurationBuilder setDataArchiveSnapshotFrequency(
+      final int dataArchiveSnapshotFrequency) {
+    this.dataArchiveSnapshotFrequency = dataArchiveSnapshotFrequency;
+    return this;
+  }
+
+  public ArtemisConfigurationBuilder setDataHotStateCacheSize(final int dataHotStateCacheSize) {
+    this.dataHotStateCacheSize = dataHotStateCacheSize;
+    return this;
+  }
+
+  public ArtemisConfigurationBuilder setDataWriteBehindIntervalMillis(
+      final int dataWriteBehindIntervalMillis) {
+    this.dataWriteBehindIntervalMillis = dataWriteBehindIntervalMillis;
+    return this;
+  }
+
   public ArtemisConfigurationBuilder setRestApiPort(final int restApiPort) {
     this.restApiPort = restApiPort;
     return this;
@@ -404,6 +426,9 @@ public class ArtemisConfigurationBuilder {
         metricsCategories,
         dataPath,
         dataStorageMode,
+        dataArchiveSnapshotFrequency,
+        dataHotStateCacheSize,
+        dataWriteBehindIntervalMillis,
         restApiPort,
         restApiDocsEnabled,
         restApiEnabled,
@@ -64,7 +64,7 @@ public class BlockFactory {
     BeaconState newState = stateTransition.process_slots(previousState, newSlot);
 
     // Collect attestations to include
-    SSZList<Attestation> attestations = attestationPool.getAttestationsForBlock(newSlot);
+    SSZList<Attestation> attestations = attestationPool.getAttestationsForBlock(newState);
     // Collect slashing to include
     final SSZList<ProposerSlashing> slashingsInBlock =
         BeaconBlockBodyLists.createProposerSlashings();
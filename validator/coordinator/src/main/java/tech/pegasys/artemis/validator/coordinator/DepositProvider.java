@@ -20,6 +20,7 @@ import static tech.pegasys.artemis.util.config.Constants.MAX_DEPOSITS;
 import com.google.common.primitives.UnsignedLong;
 import java.util.List;
 import java.util.NavigableMap;
+import java.util.Optional;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
@@ -30,25 +31,53 @@ import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.Checkpoint;
 import tech.pegasys.artemis.datastructures.util.DepositUtil;
 import tech.pegasys.artemis.datastructures.util.MerkleTree;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
 import tech.pegasys.artemis.datastructures.util.OptimizedMerkleTree;
 import tech.pegasys.artemis.pow.api.Eth1EventsChannel;
 import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.artemis.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.artemis.ssz.SSZTypes.SSZList;
 import tech.pegasys.artemis.storage.api.FinalizedCheckpointChannel;
+import tech.pegasys.artemis.storage.api.StorageUpdateChannel;
 import tech.pegasys.artemis.storage.client.RecentChainData;
 
 public class DepositProvider implements Eth1EventsChannel, FinalizedCheckpointChannel {
 
   private static final Logger LOG = LogManager.getLogger();
+  // Minimum number of deposits added to the tree before a new snapshot of it is stored
+  static final int SNAPSHOT_DEPOSIT_INTERVAL = 1024;
 
   private final RecentChainData recentChainData;
-  private final MerkleTree depositMerkleTree = new OptimizedMerkleTree(DEPOSIT_CONTRACT_TREE_DEPTH);
+  private final StorageUpdateChannel storageUpdateChannel;
+  private final MerkleTree depositMerkleTree;
 
   private NavigableMap<UnsignedLong, DepositWithIndex> depositNavigableMap = new TreeMap<>();
+  // Deposits before this index have been processed by the finalized state and are never needed
+  private UnsignedLong finalizedDepositIndex = UnsignedLong.ZERO;
+  private int lastSnapshotLeafCount;
 
-  public DepositProvider(RecentChainData recentChainData) {
+  /**
+   * @param recentChainData The recent chain data
+   * @param storageUpdateChannel The channel used to store snapshots of the deposit Merkle tree
+   * @param depositTreeSnapshot A previously stored snapshot of the deposit Merkle tree to resume
+   *     from. Deposits already included in the snapshot are skipped when they are replayed.
+   */
+  public DepositProvider(
+      RecentChainData recentChainData,
+      StorageUpdateChannel storageUpdateChannel,
+      Optional<MerkleTreeSnapshot> depositTreeSnapshot) {
     this.recentChainData = recentChainData;
+    this.storageUpdateChannel = storageUpdateChannel;
+    this.depositMerkleTree =
+        depositTreeSnapshot
+            .<MerkleTree>map(OptimizedMerkleTree::fromSnapshot)
+            .orElseGet(() -> new OptimizedMerkleTree(DEPOSIT_CONTRACT_TREE_DEPTH));
+    this.lastSnapshotLeafCount = depositMerkleTree.getNumberOfLeaves();
+    if (!recentChainData.isPreGenesis()) {
+      recentChainData
+          .getBlockState(recentChainData.getFinalizedRoot())
+          .ifPresent(state -> finalizedDepositIndex = state.getEth1_deposit_index());
+    }
   }
 
   @Override
@@ -62,8 +91,13 @@ public class DepositProvider implements Eth1EventsChannel, FinalizedCheckpointCh
                   LOG.debug("About to process deposit: {}", deposit.getIndex());
                 }
 
-                depositNavigableMap.put(deposit.getIndex(), deposit);
-                depositMerkleTree.add(deposit.getData().hash_tree_root());
+                if (deposit.getIndex().compareTo(finalizedDepositIndex) >= 0) {
+                  depositNavigableMap.put(deposit.getIndex(), deposit);
+                }
+                // Deposits replayed after a restart may already be in the restored tree
+                if (deposit.getIndex().longValue() >= depositMerkleTree.getNumberOfLeaves()) {
+                  depositMerkleTree.add(deposit.getData().hash_tree_root());
+                }
               }
             });
   }
@@ -76,7 +110,14 @@ public class DepositProvider implements Eth1EventsChannel, FinalizedCheckpointCh
             .orElseThrow(
                 () -> new IllegalArgumentException("Finalized Checkpoint state can not be found."));
 
-    depositNavigableMap.headMap(finalizedState.getEth1_deposit_index()).clear();
+    finalizedDepositIndex = finalizedState.getEth1_deposit_index();
+    depositNavigableMap.headMap(finalizedDepositIndex).clear();
+
+    final int leafCount = depositMerkleTree.getNumberOfLeaves();
+    if (leafCount - lastSnapshotLeafCount >= SNAPSHOT_DEPOSIT_INTERVAL) {
+      storageUpdateChannel.onDepositTreeSnapshot(depositMerkleTree.getSnapshot());
+      lastSnapshotLeafCount = leafCount;
+    }
   }
 
   @Override
@@ -49,6 +49,7 @@ import tech.pegasys.artemis.datastructures.operations.SignedAggregateAndProof;
 import tech.pegasys.artemis.datastructures.state.BeaconState;
 import tech.pegasys.artemis.datastructures.state.CommitteeAssignment;
 import tech.pegasys.artemis.datastructures.state.ForkInfo;
+import tech.pegasys.artemis.datastructures.state.ValidatorPubKeyIndex;
 import tech.pegasys.artemis.datastructures.util.AttestationUtil;
 import tech.pegasys.artemis.datastructures.util.CommitteeUtil;
 import tech.pegasys.artemis.datastructures.util.ValidatorsUtil;
@@ -238,8 +239,13 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
       final Collection<BLSPublicKey> publicKeys) {
     final Map<Integer, List<UnsignedLong>> proposalSlotsByValidatorIndex =
         getBeaconProposalSlotsByValidatorIndex(state, epoch);
+    final Optional<ValidatorPubKeyIndex> validatorPubKeyIndex =
+        combinedChainDataClient.getValidatorPubKeyIndex();
     return publicKeys.stream()
-        .map(key -> getDutiesForValidator(key, state, epoch, proposalSlotsByValidatorIndex))
+        .map(
+            key ->
+                getDutiesForValidator(
+                    key, state, epoch, proposalSlotsByValidatorIndex, validatorPubKeyIndex))
         .collect(toList());
   }
 
@@ -247,8 +253,11 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
       final BLSPublicKey key,
       final BeaconState state,
       final UnsignedLong epoch,
-      final Map<Integer, List<UnsignedLong>> proposalSlotsByValidatorIndex) {
-    return ValidatorsUtil.getValidatorIndex(state, key)
+      final Map<Integer, List<UnsignedLong>> proposalSlotsByValidatorIndex,
+      final Optional<ValidatorPubKeyIndex> validatorPubKeyIndex) {
+    return validatorPubKeyIndex
+        .map(index -> index.getValidatorIndex(state, key))
+        .orElseGet(() -> ValidatorsUtil.getValidatorIndex(state, key))
         .map(
             index -> createValidatorDuties(proposalSlotsByValidatorIndex, key, state, epoch, index))
         .orElseGet(() -> ValidatorDuties.noDuties(key));
@@ -14,8 +14,12 @@
 package tech.pegasys.artemis.validator.coordinator;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.artemis.datastructures.util.BeaconStateUtil.is_valid_merkle_branch;
 
@@ -27,6 +31,7 @@ import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import tech.pegasys.artemis.datastructures.blocks.Eth1Data;
 import tech.pegasys.artemis.datastructures.operations.Deposit;
 import tech.pegasys.artemis.datastructures.operations.DepositData;
@@ -36,9 +41,11 @@ import tech.pegasys.artemis.datastructures.state.Checkpoint;
 import tech.pegasys.artemis.datastructures.util.DataStructureUtil;
 import tech.pegasys.artemis.datastructures.util.DepositUtil;
 import tech.pegasys.artemis.datastructures.util.MerkleTree;
+import tech.pegasys.artemis.datastructures.util.MerkleTreeSnapshot;
 import tech.pegasys.artemis.datastructures.util.OptimizedMerkleTree;
 import tech.pegasys.artemis.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.artemis.ssz.SSZTypes.SSZList;
+import tech.pegasys.artemis.storage.api.StorageUpdateChannel;
 import tech.pegasys.artemis.storage.client.RecentChainData;
 import tech.pegasys.artemis.util.config.Constants;
 
@@ -48,16 +55,18 @@ public class DepositProviderTest {
   private List<tech.pegasys.artemis.pow.event.Deposit> allSeenDepositsList;
   private DepositProvider depositProvider;
   private RecentChainData recentChainData;
+  private StorageUpdateChannel storageUpdateChannel;
   private BeaconState beaconState;
   private MerkleTree depositMerkleTree;
 
   @BeforeEach
   void setUp() {
     recentChainData = mock(RecentChainData.class);
+    storageUpdateChannel = mock(StorageUpdateChannel.class);
     beaconState = mock(BeaconState.class);
 
     depositMerkleTree = new OptimizedMerkleTree(Constants.DEPOSIT_CONTRACT_TREE_DEPTH);
-    depositProvider = new DepositProvider(recentChainData);
+    depositProvider = new DepositProvider(recentChainData, storageUpdateChannel, Optional.empty());
 
     createDepositEvents(40);
   }
@@ -117,6 +126,52 @@ public class DepositProviderTest {
     assertThat(depositProvider.getDepositMapSize()).isEqualTo(10);
   }
 
+  @Test
+  void depositTreeSnapshotIsStoredOnFinalizationAfterEnoughDeposits() {
+    Bytes32 finalizedBlockRoot = Bytes32.fromHexString("0x01");
+    createDepositEvents(DepositProvider.SNAPSHOT_DEPOSIT_INTERVAL);
+    mockStateEth1DepositIndex(10);
+    when(recentChainData.getBlockState(eq(finalizedBlockRoot)))
+        .thenReturn(Optional.ofNullable(beaconState));
+    final Checkpoint checkpoint = new Checkpoint(UnsignedLong.ONE, finalizedBlockRoot);
+
+    mockDepositsFromEth1Block(0, DepositProvider.SNAPSHOT_DEPOSIT_INTERVAL - 1);
+    depositProvider.onNewFinalizedCheckpoint(checkpoint);
+    verify(storageUpdateChannel, never()).onDepositTreeSnapshot(any());
+
+    mockDepositsFromEth1Block(DepositProvider.SNAPSHOT_DEPOSIT_INTERVAL - 1, 1);
+    depositProvider.onNewFinalizedCheckpoint(checkpoint);
+    depositProvider.onNewFinalizedCheckpoint(checkpoint);
+
+    final ArgumentCaptor<MerkleTreeSnapshot> snapshot =
+        ArgumentCaptor.forClass(MerkleTreeSnapshot.class);
+    verify(storageUpdateChannel, times(1)).onDepositTreeSnapshot(snapshot.capture());
+    assertThat(snapshot.getValue().getNumberOfLeaves())
+        .isEqualTo(DepositProvider.SNAPSHOT_DEPOSIT_INTERVAL);
+  }
+
+  @Test
+  void depositsAlreadyInSnapshotAreNotAddedToTreeAgainWhenReplayed() {
+    final MerkleTree snapshotTree = new OptimizedMerkleTree(Constants.DEPOSIT_CONTRACT_TREE_DEPTH);
+    allSeenDepositsList.subList(0, 10).stream()
+        .map(DepositUtil::convertDepositEventToOperationDeposit)
+        .map(Deposit::getData)
+        .map(DepositData::hash_tree_root)
+        .forEachOrdered(snapshotTree::add);
+    depositProvider =
+        new DepositProvider(
+            recentChainData, storageUpdateChannel, Optional.of(snapshotTree.getSnapshot()));
+
+    Constants.MAX_DEPOSITS = 16;
+    mockStateEth1DepositIndex(5);
+    mockEth1DataDepositCount(20);
+    mockDepositsFromEth1Block(0, 20);
+
+    SSZList<Deposit> deposits = depositProvider.getDeposits(beaconState);
+    assertThat(deposits).hasSize(15);
+    checkThatDepositProofIsValid(deposits);
+  }
+
   private void checkThatDepositProofIsValid(SSZList<Deposit> deposits) {
     deposits.forEach(
         deposit ->